@@ -31,6 +31,7 @@ import org.apache.hudi.client.embedded.EmbeddedTimelineService;
 import org.apache.hudi.client.heartbeat.HoodieHeartbeatClient;
 import org.apache.hudi.client.heartbeat.WriterHeartbeatUtils;
 import org.apache.hudi.client.timeline.HoodieTimelineArchiver;
+import org.apache.hudi.client.timeline.LSMTimelineCompactionService;
 import org.apache.hudi.client.timeline.TimelineArchivers;
 import org.apache.hudi.common.HoodiePendingRollbackInfo;
 import org.apache.hudi.common.engine.HoodieEngineContext;
@@ -121,6 +122,7 @@ public abstract class BaseHoodieTableServiceClient<I, T, O> extends BaseHoodieCl
 
   protected transient AsyncCleanerService asyncCleanerService;
   protected transient AsyncArchiveService asyncArchiveService;
+  protected transient LSMTimelineCompactionService timelineCompactionService;
 
   @Setter(AccessLevel.PROTECTED)
   protected Option<Pair<HoodieInstant, Map<String, String>>> lastCompletedTxnAndMetadata = Option.empty();
@@ -958,7 +960,7 @@ public abstract class BaseHoodieTableServiceClient<I, T, O> extends BaseHoodieCl
     HoodieTimelineArchiver archiver = null;
     try {
       // We cannot have unbounded commit files. Archive commits if we have to archive.
-      archiver = TimelineArchivers.getInstance(table.getMetaClient().getTimelineLayoutVersion(), config, table);
+      archiver = TimelineArchivers.getInstance(table.getMetaClient().getTimelineLayoutVersion(), config, table, getTimelineCompactionService());
       instantsToArchive = archiver.archiveIfRequired(context, true);
     } catch (IOException ioe) {
       throw new HoodieIOException("Failed to archive", ioe);
@@ -974,6 +976,19 @@ public abstract class BaseHoodieTableServiceClient<I, T, O> extends BaseHoodieCl
     }
   }
 
+  /**
+   * Returns the service of this client to compact the LSM timeline asynchronously, if enabled.
+   */
+  private synchronized Option<LSMTimelineCompactionService> getTimelineCompactionService() {
+    if (!config.isTimelineCompactionAsync()) {
+      return Option.empty();
+    }
+    if (timelineCompactionService == null) {
+      timelineCompactionService = new LSMTimelineCompactionService();
+    }
+    return Option.of(timelineCompactionService);
+  }
+
   /**
    * Get inflight timeline excluding compaction and clustering.
    *
@@ -1448,6 +1463,12 @@ public abstract class BaseHoodieTableServiceClient<I, T, O> extends BaseHoodieCl
     asyncArchiveService = null;
     AsyncCleanerService.forceShutdown(asyncCleanerService);
     asyncCleanerService = null;
+    synchronized (this) {
+      if (timelineCompactionService != null) {
+        timelineCompactionService.close();
+        timelineCompactionService = null;
+      }
+    }
     // Stop timeline-server if running
     super.close();
   }
@@ -39,6 +39,12 @@ public final class ArchivalMetrics {
   public static final String ARCHIVAL_NUM_ROLLBACK_COMMITS = "archivalNumRollbackCommits";
   public static final String ARCHIVAL_FAILURE = "archivalFailure";
   public static final String ARCHIVAL_STATUS = "archivalStatus";
+  public static final String ARCHIVAL_READ_PARALLELISM = "archivalReadParallelism";
+  public static final String ARCHIVAL_TIMELINE_COMPACTION_SCHEDULED = "archivalTimelineCompactionScheduled";
+  public static final String ARCHIVAL_TIMELINE_COMPACTION_SKIPPED = "archivalTimelineCompactionSkipped";
+  public static final String ARCHIVAL_TIMELINE_COMPACTION_DURATION_MS = "archivalTimelineCompactionDurationMs";
+  public static final String ARCHIVAL_TIMELINE_COMPACTION_NUM_FILES = "archivalTimelineCompactionNumFiles";
+  public static final String ARCHIVAL_TIMELINE_COMPACTION_FAILURE = "archivalTimelineCompactionFailure";
 
   private static final Set<String> WRITE_COMMIT_ACTIONS = CollectionUtils.createSet(
       HoodieTimeline.COMMIT_ACTION,
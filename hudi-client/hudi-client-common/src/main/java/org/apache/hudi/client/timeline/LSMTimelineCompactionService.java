@@ -0,0 +1,156 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.client.timeline;
+
+import org.apache.hudi.client.transaction.TransactionManager;
+import org.apache.hudi.common.engine.HoodieLocalEngineContext;
+import org.apache.hudi.common.engine.TaskContextSupplier;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.util.CustomizedThreadFactory;
+import org.apache.hudi.common.util.VisibleForTesting;
+import org.apache.hudi.config.HoodieWriteConfig;
+import org.apache.hudi.exception.HoodieException;
+import org.apache.hudi.table.HoodieTable;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Runs the compaction and cleaning of the LSM timeline in the background, so that the archiving does not wait for them,
+ * see {@link org.apache.hudi.config.HoodieArchivalConfig#TIMELINE_COMPACTION_ASYNC}.
+ *
+ * <p>The service is owned by a write client and stopped once the client is closed. It runs at most one compaction
+ * at a time, each with its own meta client and timeline writer. The compaction only holds the lock while committing
+ * each compacted file, see {@link LSMTimelineWriter#compactAndClean(org.apache.hudi.common.engine.HoodieEngineContext,
+ * TransactionManager)}, and shares the manifest lock of the service with the archiving of the client.
+ *
+ * <p>The metrics of a finished compaction are reported once by the next archiving, see {@link #drainMetrics(Map)}.
+ */
+@Slf4j
+public class LSMTimelineCompactionService implements AutoCloseable {
+
+  private static final long CLOSE_TIMEOUT_MS = 10_000L;
+
+  private final ExecutorService executor;
+  private final AtomicReference<Map<String, Long>> finishedMetrics = new AtomicReference<>();
+  private final Object manifestLock = new Object();
+  private Future<?> runningCompaction;
+
+  public LSMTimelineCompactionService() {
+    this.executor = Executors.newSingleThreadExecutor(new CustomizedThreadFactory("lsm-timeline-compaction", true));
+  }
+
+  /**
+   * Returns a timeline writer of the archiving which shares the manifest lock with the compaction.
+   */
+  public LSMTimelineWriter getTimelineWriter(HoodieWriteConfig config, HoodieTable<?, ?, ?, ?> table) {
+    return LSMTimelineWriter.getInstance(config, table.getTaskContextSupplier(), table.getMetaClient(), manifestLock);
+  }
+
+  /**
+   * Triggers a compaction of the LSM timeline unless the previous one is still running.
+   *
+   * @return whether the compaction is triggered
+   */
+  public synchronized boolean compactIfIdle(HoodieWriteConfig config, HoodieTableMetaClient metaClient, TaskContextSupplier taskContextSupplier) {
+    if (runningCompaction != null && !runningCompaction.isDone()) {
+      log.info("Skip the LSM timeline compaction as the previous one is still running for table {}", config.getBasePath());
+      return false;
+    }
+    runningCompaction = executor.submit(() -> compact(config, metaClient, taskContextSupplier));
+    return true;
+  }
+
+  private void compact(HoodieWriteConfig config, HoodieTableMetaClient metaClient, TaskContextSupplier taskContextSupplier) {
+    Map<String, Long> metrics = new HashMap<>();
+    long startMs = System.currentTimeMillis();
+    // the meta client of the archiving is not shared with the background thread
+    HoodieTableMetaClient compactionMetaClient = HoodieTableMetaClient.reload(metaClient);
+    LSMTimelineWriter timelineWriter = LSMTimelineWriter.getInstance(config, taskContextSupplier, compactionMetaClient, manifestLock);
+    // the lock scope of the compaction is separate from the archiving which triggers it
+    TransactionManager txnManager = new TransactionManager(config, compactionMetaClient.getStorage());
+    try {
+      int numCompactedFiles = timelineWriter.compactAndClean(new HoodieLocalEngineContext(compactionMetaClient.getStorageConf()), txnManager);
+      metrics.put(ArchivalMetrics.ARCHIVAL_TIMELINE_COMPACTION_NUM_FILES, (long) numCompactedFiles);
+      metrics.put(ArchivalMetrics.ARCHIVAL_TIMELINE_COMPACTION_DURATION_MS, System.currentTimeMillis() - startMs);
+    } catch (Exception e) {
+      // the compaction resumes from the last committed manifest on the next trigger
+      log.error("Failed to compact the LSM timeline of table {}", config.getBasePath(), e);
+      metrics.put(ArchivalMetrics.ARCHIVAL_TIMELINE_COMPACTION_FAILURE, 1L);
+    } finally {
+      txnManager.close();
+    }
+    finishedMetrics.set(metrics);
+  }
+
+  /**
+   * Moves the metrics of the last finished compaction to the given metrics, if not reported yet.
+   */
+  public void drainMetrics(Map<String, Long> metrics) {
+    Map<String, Long> finished = finishedMetrics.getAndSet(null);
+    if (finished != null) {
+      metrics.putAll(finished);
+    }
+  }
+
+  /**
+   * Waits for the running compaction to finish.
+   */
+  @VisibleForTesting
+  public void waitForCompletion(long timeoutMs) {
+    Future<?> compaction;
+    synchronized (this) {
+      compaction = runningCompaction;
+    }
+    if (compaction == null) {
+      return;
+    }
+    try {
+      compaction.get(timeoutMs, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new HoodieException("Interrupted while waiting for the LSM timeline compaction", e);
+    } catch (Exception e) {
+      throw new HoodieException("Failed to wait for the LSM timeline compaction", e);
+    }
+  }
+
+  /**
+   * Stops the service, interrupting the running compaction which resumes from the last committed manifest on the next
+   * trigger of a new service.
+   */
+  @Override
+  public void close() {
+    executor.shutdownNow();
+    try {
+      if (!executor.awaitTermination(CLOSE_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+        log.warn("The LSM timeline compaction did not stop within {} ms", CLOSE_TIMEOUT_MS);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -20,6 +20,7 @@
 package org.apache.hudi.client.timeline;
 
 import org.apache.hudi.avro.model.HoodieLSMTimelineInstant;
+import org.apache.hudi.client.transaction.TransactionManager;
 import org.apache.hudi.common.engine.HoodieEngineContext;
 import org.apache.hudi.common.engine.TaskContextSupplier;
 import org.apache.hudi.common.fs.FSUtils;
@@ -32,10 +33,12 @@ import org.apache.hudi.common.table.HoodieTableMetaClient;
 import org.apache.hudi.common.table.timeline.ActiveAction;
 import org.apache.hudi.common.table.timeline.LSMTimeline;
 import org.apache.hudi.common.table.timeline.MetadataConversionUtils;
+import org.apache.hudi.common.util.CustomizedThreadFactory;
 import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.ValidationUtils;
 import org.apache.hudi.common.util.VisibleForTesting;
 import org.apache.hudi.common.util.collection.ClosableIterator;
+import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.config.HoodieWriteConfig;
 import org.apache.hudi.core.io.storage.HoodieFileWriter;
 import org.apache.hudi.core.io.storage.HoodieFileWriterFactory;
@@ -52,11 +55,19 @@ import lombok.extern.slf4j.Slf4j;
 import org.apache.avro.generic.IndexedRecord;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -74,22 +85,26 @@ public class LSMTimelineWriter {
   private final TaskContextSupplier taskContextSupplier;
   private final HoodieTableMetaClient metaClient;
   private final StoragePath archivePath;
+  // serializes the manifest updates of the archiving and the asynchronous compaction of a write client
+  private final Object manifestLock;
 
   private HoodieWriteConfig writeConfig;
 
   private LSMTimelineWriter(HoodieWriteConfig config, HoodieTable<?, ?, ?, ?> table) {
-    this(config, table.getTaskContextSupplier(), table.getMetaClient(), Option.empty());
+    this(config, table.getTaskContextSupplier(), table.getMetaClient(), Option.empty(), new Object());
   }
 
   private LSMTimelineWriter(HoodieWriteConfig config, HoodieTable<?, ?, ?, ?> table, Option<StoragePath> archivePath) {
-    this(config, table.getTaskContextSupplier(), table.getMetaClient(), archivePath);
+    this(config, table.getTaskContextSupplier(), table.getMetaClient(), archivePath, new Object());
   }
 
-  private LSMTimelineWriter(HoodieWriteConfig config, TaskContextSupplier taskContextSupplier, HoodieTableMetaClient metaClient, Option<StoragePath> archivePath) {
+  private LSMTimelineWriter(HoodieWriteConfig config, TaskContextSupplier taskContextSupplier, HoodieTableMetaClient metaClient,
+                            Option<StoragePath> archivePath, Object manifestLock) {
     this.config = config;
     this.taskContextSupplier = taskContextSupplier;
     this.metaClient = metaClient;
     this.archivePath = archivePath.orElse(metaClient.getArchivePath());
+    this.manifestLock = manifestLock;
   }
 
   public static LSMTimelineWriter getInstance(HoodieWriteConfig config, HoodieTable<?, ?, ?, ?> table) {
@@ -101,7 +116,11 @@ public class LSMTimelineWriter {
   }
 
   public static LSMTimelineWriter getInstance(HoodieWriteConfig config, TaskContextSupplier taskContextSupplier, HoodieTableMetaClient metaClient) {
-    return new LSMTimelineWriter(config, taskContextSupplier, metaClient, Option.empty());
+    return new LSMTimelineWriter(config, taskContextSupplier, metaClient, Option.empty(), new Object());
+  }
+
+  static LSMTimelineWriter getInstance(HoodieWriteConfig config, TaskContextSupplier taskContextSupplier, HoodieTableMetaClient metaClient, Object manifestLock) {
+    return new LSMTimelineWriter(config, taskContextSupplier, metaClient, Option.empty(), manifestLock);
   }
 
   /**
@@ -135,18 +154,23 @@ public class LSMTimelineWriter {
     } catch (IOException ioe) {
       throw new HoodieIOException("Failed to check archiving file before write: " + filePath, ioe);
     }
+    int readParallelism = Math.min(config.getArchiveReadParallelism(), activeActions.size());
     try (HoodieFileWriter writer = openWriter(filePath)) {
       HoodieSchema schema = HoodieSchema.fromAvroSchema(HoodieLSMTimelineInstant.getClassSchema());
       log.info("Writing schema {}", schema);
-      for (ActiveAction activeAction : activeActions) {
-        try {
-          preWriteCallback.ifPresent(callback -> callback.accept(activeAction));
-          // in local FS and HDFS, there could be empty completed instants due to crash.
-          final HoodieLSMTimelineInstant metaEntry = MetadataConversionUtils.createLSMTimelineInstant(activeAction, metaClient);
-          writer.write(metaEntry.getInstantTime(), new HoodieAvroIndexedRecord(metaEntry), schema);
-        } catch (Exception e) {
-          log.error("Failed to write instant: {}", activeAction.getInstantTime(), e);
-          exceptionHandler.ifPresent(handler -> handler.accept(e));
+      if (readParallelism > 1) {
+        writeWithParallelRead(writer, schema, activeActions, preWriteCallback, exceptionHandler, readParallelism);
+      } else {
+        for (ActiveAction activeAction : activeActions) {
+          try {
+            preWriteCallback.ifPresent(callback -> callback.accept(activeAction));
+            // in local FS and HDFS, there could be empty completed instants due to crash.
+            final HoodieLSMTimelineInstant metaEntry = MetadataConversionUtils.createLSMTimelineInstant(activeAction, metaClient);
+            writer.write(metaEntry.getInstantTime(), new HoodieAvroIndexedRecord(metaEntry), schema);
+          } catch (Exception e) {
+            log.error("Failed to write instant: {}", activeAction.getInstantTime(), e);
+            exceptionHandler.ifPresent(handler -> handler.accept(e));
+          }
         }
       }
     } catch (Exception e) {
@@ -159,6 +183,60 @@ public class LSMTimelineWriter {
     }
   }
 
+  /**
+   * Writes the active actions with the instant details read by {@code readParallelism} threads.
+   *
+   * <p>The instants are written in the given order as soon as their details are read, at most
+   * {@code 2 * readParallelism} instants are read ahead so that the memory is bounded regardless of the number of
+   * instants to archive. The pre-write callback is invoked on the calling thread before the read of each action.
+   * The meta client is not thread-safe, so every reading thread reads the details with its own meta client.
+   */
+  private void writeWithParallelRead(
+      HoodieFileWriter writer,
+      HoodieSchema schema,
+      List<ActiveAction> activeActions,
+      Option<Consumer<ActiveAction>> preWriteCallback,
+      Option<Consumer<Exception>> exceptionHandler,
+      int readParallelism) throws IOException {
+    log.info("Reading the details of {} instants to archive with {} threads", activeActions.size(), readParallelism);
+    ThreadLocal<HoodieTableMetaClient> readerMetaClient = ThreadLocal.withInitial(() -> HoodieTableMetaClient.reload(metaClient));
+    ExecutorService executor = Executors.newFixedThreadPool(readParallelism, new CustomizedThreadFactory("lsm-timeline-archive-read", true));
+    try {
+      Deque<Pair<ActiveAction, Future<HoodieLSMTimelineInstant>>> readAhead = new ArrayDeque<>();
+      Iterator<ActiveAction> actionIterator = activeActions.iterator();
+      while (actionIterator.hasNext() || !readAhead.isEmpty()) {
+        while (actionIterator.hasNext() && readAhead.size() < 2 * readParallelism) {
+          ActiveAction activeAction = actionIterator.next();
+          try {
+            preWriteCallback.ifPresent(callback -> callback.accept(activeAction));
+            // in local FS and HDFS, there could be empty completed instants due to crash.
+            readAhead.add(Pair.of(activeAction, executor.submit(() -> MetadataConversionUtils.createLSMTimelineInstant(activeAction, readerMetaClient.get()))));
+          } catch (Exception e) {
+            log.error("Failed to write instant: {}", activeAction.getInstantTime(), e);
+            exceptionHandler.ifPresent(handler -> handler.accept(e));
+          }
+        }
+        Pair<ActiveAction, Future<HoodieLSMTimelineInstant>> next = readAhead.poll();
+        if (next == null) {
+          continue;
+        }
+        try {
+          final HoodieLSMTimelineInstant metaEntry = next.getRight().get();
+          writer.write(metaEntry.getInstantTime(), new HoodieAvroIndexedRecord(metaEntry), schema);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new HoodieException("Interrupted while reading instant: " + next.getLeft().getInstantTime(), e);
+        } catch (Exception e) {
+          Exception cause = e instanceof ExecutionException && e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+          log.error("Failed to write instant: {}", next.getLeft().getInstantTime(), cause);
+          exceptionHandler.ifPresent(handler -> handler.accept(cause));
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
   /**
    * Updates a manifest file.
    *
@@ -190,11 +268,13 @@ public class LSMTimelineWriter {
    * @param fileToAdd     New file name to add
    */
   public void updateManifest(List<String> filesToRemove, String fileToAdd) throws IOException {
-    int latestVersion = LSMTimeline.latestSnapshotVersion(metaClient, archivePath);
-    HoodieLSMTimelineManifest latestManifest = LSMTimeline.latestSnapshotManifest(metaClient, latestVersion, archivePath);
-    HoodieLSMTimelineManifest newManifest = latestManifest.copy(filesToRemove);
-    newManifest.addFile(getFileEntry(fileToAdd));
-    createManifestFile(newManifest, latestVersion);
+    synchronized (manifestLock) {
+      int latestVersion = LSMTimeline.latestSnapshotVersion(metaClient, archivePath);
+      HoodieLSMTimelineManifest latestManifest = LSMTimeline.latestSnapshotManifest(metaClient, latestVersion, archivePath);
+      HoodieLSMTimelineManifest newManifest = latestManifest.copy(filesToRemove);
+      newManifest.addFile(getFileEntry(fileToAdd));
+      createManifestFile(newManifest, latestVersion);
+    }
   }
 
   private void createManifestFile(HoodieLSMTimelineManifest manifest, int currentVersion) throws IOException {
@@ -248,26 +328,52 @@ public class LSMTimelineWriter {
    * A cleaning action is triggered right after the compaction.
    *
    * @param context HoodieEngineContext
+   * @return the number of source files compacted
    */
   @VisibleForTesting
-  public void compactAndClean(HoodieEngineContext context) throws IOException {
+  public int compactAndClean(HoodieEngineContext context) throws IOException {
+    return compactAndClean(context, Option.empty());
+  }
+
+  /**
+   * Compacts the small parquet files and cleans the obsolete files as {@link #compactAndClean(HoodieEngineContext)},
+   * w/o holding the lock of the archiving.
+   *
+   * <p>The source files are compacted w/o any lock, each compacted file is then committed to the manifest within its
+   * own lock scope of the given transaction manager, if the source files are still in the latest manifest, otherwise
+   * the compaction stops as the files had been compacted by another writer. Every layer is committed separately,
+   * so an interrupted compaction resumes from the last committed manifest. The cleaning only deletes the files
+   * replaced by the compaction, so that the files being written by a concurrent archiving are kept.
+   *
+   * @param context    HoodieEngineContext
+   * @param txnManager The transaction manager to commit the compacted files with
+   * @return the number of source files compacted
+   */
+  public int compactAndClean(HoodieEngineContext context, TransactionManager txnManager) throws IOException {
+    return compactAndClean(context, Option.of(txnManager));
+  }
+
+  private int compactAndClean(HoodieEngineContext context, Option<TransactionManager> txnManager) throws IOException {
     // 1. List all the latest snapshot files
     HoodieLSMTimelineManifest latestManifest = LSMTimeline.latestSnapshotManifest(metaClient, archivePath);
     int layer = 0;
+    int numCompactedFiles = 0;
     // 2. triggers the compaction for L0
-    Option<String> compactedFileName = doCompact(latestManifest, layer);
-    while (compactedFileName.isPresent()) {
+    Option<Pair<String, Integer>> compacted = doCompact(latestManifest, layer, txnManager);
+    while (compacted.isPresent()) {
       // 3. once a compaction had been executed for the current layer,
       // continues to trigger compaction for the next layer.
-      latestManifest.addFile(getFileEntry(compactedFileName.get()));
-      compactedFileName = doCompact(latestManifest, ++layer);
+      numCompactedFiles += compacted.get().getRight();
+      latestManifest.addFile(getFileEntry(compacted.get().getLeft()));
+      compacted = doCompact(latestManifest, ++layer, txnManager);
     }
 
     // cleaning
-    clean(context, layer);
+    clean(context, layer, txnManager.isPresent());
+    return numCompactedFiles;
   }
 
-  private Option<String> doCompact(HoodieLSMTimelineManifest manifest, int layer) throws IOException {
+  private Option<Pair<String, Integer>> doCompact(HoodieLSMTimelineManifest manifest, int layer, Option<TransactionManager> txnManager) throws IOException {
     // 1. list all the files that belong to current layer
     List<HoodieLSMTimelineManifest.LSMFileEntry> files = manifest.getFiles()
         .stream().filter(file -> LSMTimeline.isFileFromLayer(file.getFileName(), layer)).collect(Collectors.toList());
@@ -287,13 +393,43 @@ public class LSMTimelineWriter {
       // 3. compaction
       compactFiles(candidateFiles, compactedFileName);
       // 4. update the manifest file
-      updateManifest(candidateFiles, compactedFileName);
+      if (txnManager.isPresent()) {
+        if (!commitCompaction(candidateFiles, compactedFileName, txnManager.get())) {
+          return Option.empty();
+        }
+      } else {
+        updateManifest(candidateFiles, compactedFileName);
+      }
       log.info("Finishes compaction of source files: {}", candidateFiles);
-      return Option.of(compactedFileName);
+      return Option.of(Pair.of(compactedFileName, candidateFiles.size()));
     }
     return Option.empty();
   }
 
+  /**
+   * Commits the compacted file to the manifest within the lock scope of the given transaction manager.
+   *
+   * @return false if the source files are not in the latest manifest anymore
+   */
+  private boolean commitCompaction(List<String> candidateFiles, String compactedFileName, TransactionManager txnManager) throws IOException {
+    txnManager.beginStateChange(Option.empty(), Option.empty());
+    try {
+      synchronized (manifestLock) {
+        // the source files could have been compacted by another writer since the compaction was planned
+        Set<String> committedFiles = new HashSet<>(LSMTimeline.latestSnapshotManifest(metaClient, archivePath).getFileNames());
+        if (!committedFiles.containsAll(candidateFiles)) {
+          log.warn("Abort the compaction of source files {} which were already compacted by another writer", candidateFiles);
+          deleteIfExists(new StoragePath(archivePath, compactedFileName));
+          return false;
+        }
+        updateManifest(candidateFiles, compactedFileName);
+        return true;
+      }
+    } finally {
+      txnManager.endStateChange(Option.empty());
+    }
+  }
+
   public void compactFiles(List<String> candidateFiles, String compactedFileName) throws IOException {
     log.info("Starting to compact source files.");
     StoragePath compactedFilePath = new StoragePath(archivePath, compactedFileName);
@@ -327,6 +463,10 @@ public class LSMTimelineWriter {
    * @param context HoodieEngineContext used for parallelize to delete obsolete files if necessary.
    */
   public void clean(HoodieEngineContext context, int compactedVersions) throws IOException {
+    clean(context, compactedVersions, false);
+  }
+
+  private void clean(HoodieEngineContext context, int compactedVersions, boolean replacedFilesOnly) throws IOException {
     int versionRetained = config.getTimelineManifestRetainedVersions();
     log.info("Starting cleaning obsolete files, retaining latest ({} + {}) manifest versions.", versionRetained, compactedVersions);
     // if there are more than versionRetained version of snapshots, clean the oldest files.
@@ -338,6 +478,14 @@ public class LSMTimelineWriter {
       Set<String> filesToKeep = versionsToKeep.stream()
           .flatMap(version -> LSMTimeline.latestSnapshotManifest(metaClient, version, archivePath).getFileNames().stream())
           .collect(Collectors.toSet());
+      // the files which are not committed to any manifest yet are not replaced files,
+      // e.g. the file being written by a concurrent archiving
+      Set<String> replacedFiles = replacedFilesOnly
+          ? allSnapshotVersions.subList(numVersionsToKeep, allSnapshotVersions.size()).stream()
+              .flatMap(version -> LSMTimeline.latestSnapshotManifest(metaClient, version, archivePath).getFileNames().stream())
+              .filter(fileName -> !filesToKeep.contains(fileName))
+              .collect(Collectors.toSet())
+          : Collections.emptySet();
       // delete the manifest file first
       List<String> manifestFilesToClean = new ArrayList<>();
       LSMTimeline.listAllManifestFiles(metaClient, archivePath).forEach(fileStatus -> {
@@ -350,7 +498,9 @@ public class LSMTimelineWriter {
           false);
       // delete the data files
       List<String> dataFilesToClean = LSMTimeline.listAllMetaFiles(metaClient, archivePath).stream()
-          .filter(fileStatus -> !filesToKeep.contains(fileStatus.getPath().getName()))
+          .filter(fileStatus -> replacedFilesOnly
+              ? replacedFiles.contains(fileStatus.getPath().getName())
+              : !filesToKeep.contains(fileStatus.getPath().getName()))
           .map(fileStatus -> fileStatus.getPath().toString())
           .collect(Collectors.toList());
       FSUtils.deleteFilesParallelize(metaClient, dataFilesToClean, context,
@@ -396,7 +546,7 @@ public class LSMTimelineWriter {
         // stop once we reach the batch size
         break;
       }
-      if (totalFileLen > writeConfig.getTimelineCompactionTargetFileMaxBytes()) {
+      if (totalFileLen > config.getTimelineCompactionTargetFileMaxBytes()) {
         if (candidates.size() < 2) {
           // reset if we have not reached the minimum files num to compact
           totalFileLen = 0L;
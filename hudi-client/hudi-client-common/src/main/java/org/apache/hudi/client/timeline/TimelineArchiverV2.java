@@ -78,14 +78,25 @@ public class TimelineArchiverV2<T extends HoodieAvroPayload, I, K, O> implements
   private final TransactionManager txnManager;
 
   private final LSMTimelineWriter timelineWriter;
+  private final Option<LSMTimelineCompactionService> compactionService;
   private final Map<String, Long> metrics;
 
   public TimelineArchiverV2(HoodieWriteConfig config, HoodieTable<T, I, K, O> table) {
+    this(config, table, Option.empty());
+  }
+
+  /**
+   * @param compactionService the service of the write client to compact the LSM timeline asynchronously with,
+   *                          the timeline is compacted by the archiving if absent
+   */
+  public TimelineArchiverV2(HoodieWriteConfig config, HoodieTable<T, I, K, O> table, Option<LSMTimelineCompactionService> compactionService) {
     this.config = config;
     this.table = table;
     this.metaClient = table.getMetaClient();
     this.txnManager = new TransactionManager(config, table.getStorage());
-    this.timelineWriter = LSMTimelineWriter.getInstance(config, table);
+    this.compactionService = compactionService;
+    this.timelineWriter = compactionService.map(service -> service.getTimelineWriter(config, table))
+        .orElseGet(() -> LSMTimelineWriter.getInstance(config, table));
     Pair<Integer, Integer> minAndMaxInstants = getMinAndMaxInstantsToKeep(table, metaClient);
     this.minInstantsToKeep = minAndMaxInstants.getLeft();
     this.maxInstantsToKeep = minAndMaxInstants.getRight();
@@ -111,6 +122,7 @@ public class TimelineArchiverV2<T extends HoodieAvroPayload, I, K, O> implements
       boolean success = true;
       if (!instantsToArchive.isEmpty()) {
         log.info("Archiving and deleting instants {}", instantsToArchive);
+        metrics.put(ArchivalMetrics.ARCHIVAL_READ_PARALLELISM, (long) Math.min(config.getArchiveReadParallelism(), instantsToArchive.size()));
         Consumer<Exception> exceptionHandler = e -> {
           if (this.config.isFailOnTimelineArchivingEnabled()) {
             throw new HoodieException(e);
@@ -120,7 +132,13 @@ public class TimelineArchiverV2<T extends HoodieAvroPayload, I, K, O> implements
         log.debug("Deleting archived instants");
         success = deleteArchivedActions(instantsToArchive, context);
         // triggers compaction and cleaning only after archiving action
-        this.timelineWriter.compactAndClean(context);
+        if (config.isTimelineCompactionAsync() && compactionService.isPresent()) {
+          boolean scheduled = compactionService.get().compactIfIdle(config, metaClient, table.getTaskContextSupplier());
+          metrics.put(scheduled ? ArchivalMetrics.ARCHIVAL_TIMELINE_COMPACTION_SCHEDULED : ArchivalMetrics.ARCHIVAL_TIMELINE_COMPACTION_SKIPPED, 1L);
+          compactionService.get().drainMetrics(metrics);
+        } else {
+          this.timelineWriter.compactAndClean(context);
+        }
         Supplier<List<HoodieInstant>> archivedInstants = () -> instantsToArchive.stream()
             .flatMap(action -> Stream.concat(action.getCompletedInstants().stream(), action.getPendingInstants().stream()))
             .collect(Collectors.toList());
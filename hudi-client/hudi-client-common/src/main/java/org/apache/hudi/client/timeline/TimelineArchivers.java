@@ -21,6 +21,7 @@ package org.apache.hudi.client.timeline;
 
 import org.apache.hudi.common.model.HoodieAvroPayload;
 import org.apache.hudi.common.table.timeline.versioning.TimelineLayoutVersion;
+import org.apache.hudi.common.util.Option;
 import org.apache.hudi.config.HoodieWriteConfig;
 import org.apache.hudi.exception.HoodieException;
 import org.apache.hudi.table.HoodieTable;
@@ -30,10 +31,21 @@ public class TimelineArchivers<T extends HoodieAvroPayload, I, K, O>  {
   public static <T extends HoodieAvroPayload, I, K, O>  HoodieTimelineArchiver<T, I, K, O> getInstance(TimelineLayoutVersion layoutVersion,
                                                                                                        HoodieWriteConfig config,
                                                                                                        HoodieTable<T, I, K, O> table) {
+    return getInstance(layoutVersion, config, table, Option.empty());
+  }
+
+  /**
+   * Returns the archiver of the timeline layout, the archiver of the LSM timeline compacts it asynchronously with the
+   * given service of the write client if present.
+   */
+  public static <T extends HoodieAvroPayload, I, K, O>  HoodieTimelineArchiver<T, I, K, O> getInstance(TimelineLayoutVersion layoutVersion,
+                                                                                                       HoodieWriteConfig config,
+                                                                                                       HoodieTable<T, I, K, O> table,
+                                                                                                       Option<LSMTimelineCompactionService> compactionService) {
     if (layoutVersion.equals(TimelineLayoutVersion.LAYOUT_VERSION_0) || layoutVersion.equals(TimelineLayoutVersion.LAYOUT_VERSION_1)) {
       return new TimelineArchiverV1<>(config, table);
     } else if (layoutVersion.equals(TimelineLayoutVersion.LAYOUT_VERSION_2)) {
-      return new TimelineArchiverV2<>(config, table);
+      return new TimelineArchiverV2<>(config, table, compactionService);
     } else {
       throw new HoodieException("Unknown table layout version : " + layoutVersion.getVersion());
     }
@@ -103,6 +103,27 @@ public class HoodieArchivalConfig extends HoodieConfig {
       .markAdvanced()
       .withDocumentation("The number of small files to compact at once.");
 
+  public static final ConfigProperty<Integer> ARCHIVE_READ_PARALLELISM = ConfigProperty
+      .key("hoodie.archive.read.parallelism")
+      .defaultValue(1)
+      .markAdvanced()
+      .sinceVersion("1.3.0")
+      .withDocumentation("Number of threads reading the details of the instants to archive. The instants are written "
+          + "to the archived timeline file in order as they are read, with at most twice this number of instants "
+          + "buffered in memory. The default of 1 reads the instants one after another on the archiving thread.");
+
+  public static final ConfigProperty<Boolean> TIMELINE_COMPACTION_ASYNC = ConfigProperty
+      .key("hoodie.timeline.compaction.async")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.3.0")
+      .withDocumentation("When enabled, the compaction and cleaning of the archived timeline files run in a background "
+          + "thread of the write client after the archiving, instead of on the archiving writer. At most one compaction "
+          + "runs per write client, an archiving while it is still running skips triggering another one, and the "
+          + "compaction is stopped once the write client is closed. The lock is only "
+          + "held while committing each compacted file to the timeline manifest, and an interrupted compaction "
+          + "resumes from the last committed manifest on the next trigger.");
+
   public static final ConfigProperty<Boolean> ARCHIVE_BEYOND_SAVEPOINT = ConfigProperty
       .key("hoodie.archive.beyond.savepoint")
       .defaultValue(false)
@@ -215,6 +236,16 @@ public class HoodieArchivalConfig extends HoodieConfig {
       return this;
     }
 
+    public HoodieArchivalConfig.Builder withArchiveReadParallelism(int archiveReadParallelism) {
+      archivalConfig.setValue(ARCHIVE_READ_PARALLELISM, String.valueOf(archiveReadParallelism));
+      return this;
+    }
+
+    public HoodieArchivalConfig.Builder withAsyncTimelineCompaction(boolean asyncTimelineCompaction) {
+      archivalConfig.setValue(TIMELINE_COMPACTION_ASYNC, String.valueOf(asyncTimelineCompaction));
+      return this;
+    }
+
     public HoodieArchivalConfig.Builder withCommitsArchivalBatchSize(int batchSize) {
       archivalConfig.setValue(COMMITS_ARCHIVAL_BATCH_SIZE, String.valueOf(batchSize));
       return this;
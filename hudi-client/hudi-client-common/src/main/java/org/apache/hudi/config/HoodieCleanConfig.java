@@ -149,6 +149,16 @@ public class HoodieCleanConfig extends HoodieConfig {
           + "in the timeline, since the last cleaner run. This is much more efficient than obtaining listings for the full "
           + "table for each planning (even with a metadata table).");
 
+  public static final ConfigProperty<Boolean> CLEANER_INCREMENTAL_FILE_GROUP_MODE_ENABLE = ConfigProperty
+      .key("hoodie.clean.incremental.file.group.enabled")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.3.0")
+      .withDocumentation("Applicable when " + CLEANER_INCREMENTAL_MODE_ENABLE.key() + " is enabled and the clean policy is "
+          + "KEEP_LATEST_COMMITS or KEEP_LATEST_BY_HOURS. When enabled, the incremental clean planning derives the file groups "
+          + "to clean from the write stats of the commits since the last clean, and only builds the file slices of these "
+          + "file groups instead of all the file groups of the touched partitions.");
+
   public static final ConfigProperty<String> FAILED_WRITES_CLEANER_POLICY = ConfigProperty
       .key("hoodie.clean.failed.writes.policy")
       .defaultValue(HoodieFailedWritesCleaningPolicy.EAGER.name())
@@ -371,6 +381,11 @@ public class HoodieCleanConfig extends HoodieConfig {
       return this;
     }
 
+    public HoodieCleanConfig.Builder withIncrementalFileGroupCleaningMode(boolean incrementalFileGroupCleaningMode) {
+      cleanConfig.setValue(CLEANER_INCREMENTAL_FILE_GROUP_MODE_ENABLE, String.valueOf(incrementalFileGroupCleaningMode));
+      return this;
+    }
+
     public HoodieCleanConfig.Builder withCleaningTriggerStrategy(String cleaningTriggerStrategy) {
       cleanConfig.setValue(CLEAN_TRIGGER_STRATEGY, cleaningTriggerStrategy);
       return this;
@@ -65,6 +65,8 @@ public class HoodieClusteringConfig extends HoodieConfig {
       "org.apache.hudi.client.clustering.run.strategy.SparkSortAndSizeExecutionStrategy";
   public static final String SPARK_STREAM_COPY_CLUSTERING_EXECUTION_STRATEGY =
       "org.apache.hudi.client.clustering.run.strategy.SparkStreamCopyClusteringExecutionStrategy";
+  public static final String SPARK_AUTO_BINARY_COPY_CLUSTERING_EXECUTION_STRATEGY =
+      "org.apache.hudi.client.clustering.run.strategy.SparkAutoBinaryCopyClusteringExecutionStrategy";
   public static final String SPARK_CONSISTENT_BUCKET_EXECUTION_STRATEGY =
       "org.apache.hudi.client.clustering.run.strategy.SparkConsistentBucketClusteringExecutionStrategy";
   public static final String SINGLE_SPARK_JOB_CONSISTENT_HASHING_EXECUTION_STRATEGY =
@@ -419,6 +421,17 @@ public class HoodieClusteringConfig extends HoodieConfig {
           + "When disabled (default), only files with identical schemas will be clustered together, providing better performance "
           + "but requiring schema consistency across all files in a clustering group.");
 
+  public static final ConfigProperty<Boolean> BINARY_COPY_AUTO_ENABLE = ConfigProperty
+      .key("hoodie.clustering.binary.copy.auto.enable")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.3.0")
+      .withDocumentation("When enabled, the Spark size based clustering plan strategy chooses the binary copy execution "
+          + "for COW tables with parquet base files when no sort columns are configured, instead of the default "
+          + SPARK_SORT_AND_SIZE_EXECUTION_STRATEGY + ". The clustering groups with a single output file group whose "
+          + "files can be stitched are written by copying the row groups w/o decoding, the other groups are rewritten "
+          + "as usual. Only takes effect with the default execution strategy.");
+
   /**
    * @deprecated Use {@link #PLAN_STRATEGY_CLASS_NAME} and its methods instead
    */
@@ -702,6 +715,11 @@ public class HoodieClusteringConfig extends HoodieConfig {
       return this;
     }
 
+    public Builder withBinaryCopyAutoEnabled(Boolean enabled) {
+      clusteringConfig.setValue(BINARY_COPY_AUTO_ENABLE, String.valueOf(enabled));
+      return this;
+    }
+
     public Builder useLocalEngineContextForPlanGeneration(Boolean useLocal) {
       clusteringConfig.setValue(PLAN_GENERATION_USE_LOCAL_ENGINE_CONTEXT, String.valueOf(useLocal));
       return this;
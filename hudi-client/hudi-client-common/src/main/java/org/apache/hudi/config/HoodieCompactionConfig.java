@@ -24,6 +24,7 @@ import org.apache.hudi.common.config.ConfigProperty;
 import org.apache.hudi.common.config.HoodieConfig;
 import org.apache.hudi.common.config.HoodieReaderConfig;
 import org.apache.hudi.table.action.compact.CompactionTriggerStrategy;
+import org.apache.hudi.table.action.compact.LsmRunCompactionPolicy;
 import org.apache.hudi.table.action.compact.plan.generators.HoodieCompactionPlanGenerator;
 import org.apache.hudi.table.action.compact.strategy.CompactionStrategy;
 import org.apache.hudi.table.action.compact.strategy.LogFileSizeBasedCompactionStrategy;
@@ -139,6 +140,23 @@ public class HoodieCompactionConfig extends HoodieConfig {
       .withDocumentation("Only if the log file num is greater than the threshold,"
           + " the file group will be compacted.");
 
+  public static final ConfigProperty<Long> COMPACTION_READ_HEAT_HALF_LIFE_MINUTES = ConfigProperty
+      .key("hoodie.compaction.read.heat.half.life.minutes")
+      .defaultValue(24 * 60L)
+      .markAdvanced()
+      .sinceVersion("1.3.0")
+      .withDocumentation("Used by org.apache.hudi.table.action.compact.strategy.ReadHeatBasedCompactionStrategy, the read heat "
+          + "of the file groups persisted by the readers decays by half every half-life in minutes.");
+
+  public static final ConfigProperty<Double> COMPACTION_READ_HEAT_THRESHOLD = ConfigProperty
+      .key("hoodie.compaction.read.heat.threshold")
+      .defaultValue(0.0d)
+      .markAdvanced()
+      .sinceVersion("1.3.0")
+      .withDocumentation("Used by org.apache.hudi.table.action.compact.strategy.ReadHeatBasedCompactionStrategy, only if the "
+          + "decayed read heat of a file group is greater than or equal to the threshold, the file group will be compacted. "
+          + "The default 0 compacts the cold file groups as well, after the hot ones within the IO budget.");
+
   public static final ConfigProperty<String> COMPACTION_STRATEGY = ConfigProperty
       .key("hoodie.compaction.strategy")
       .defaultValue(LogFileSizeBasedCompactionStrategy.class.getName())
@@ -197,6 +215,31 @@ public class HoodieCompactionConfig extends HoodieConfig {
       .withDocumentation("Log compaction can be scheduled if the no. of log blocks crosses this threshold value. "
           + "This is effective only when log compaction is enabled via " + INLINE_LOG_COMPACT.key());
 
+  public static final ConfigProperty<String> LSM_RUN_COMPACTION_POLICY = ConfigProperty
+      .key("hoodie.compact.lsm.run.compaction.policy")
+      .defaultValue(LsmRunCompactionPolicy.SIZE_TIERED.name())
+      .markAdvanced()
+      .sinceVersion("1.3.0")
+      .withDocumentation(LsmRunCompactionPolicy.class);
+
+  public static final ConfigProperty<Integer> LSM_MAX_SORTED_RUNS = ConfigProperty
+      .key("hoodie.compact.lsm.max.sorted.runs")
+      .defaultValue(8)
+      .markAdvanced()
+      .sinceVersion("1.3.0")
+      .withDocumentation("For tables with the LSM tree layout, the log compaction of a file group is scheduled once it has "
+          + "at least this number of L0 sorted runs, and merges enough runs to bring the count under it. Each sorted run "
+          + "is a merge input of the readers, so this bounds the read fan-in of a file group between compactions.");
+
+  public static final ConfigProperty<Double> LSM_SIZE_TIER_RATIO = ConfigProperty
+      .key("hoodie.compact.lsm.size.tier.ratio")
+      .defaultValue(1.2d)
+      .markAdvanced()
+      .sinceVersion("1.3.0")
+      .withDocumentation("Used by the SIZE_TIERED run compaction policy, an older sorted run is merged with the newer runs "
+          + "selected if its size is no more than this ratio times their total size. A larger ratio merges more runs at a "
+          + "time, with lower read amplification and higher write amplification.");
+
   public static final ConfigProperty<String> COMPACTION_PLAN_GENERATOR = ConfigProperty
       .key("hoodie.compaction.plan.generator")
       .defaultValue(HoodieCompactionPlanGenerator.class.getName())
@@ -459,6 +502,16 @@ public class HoodieCompactionConfig extends HoodieConfig {
       return this;
     }
 
+    public Builder withCompactionReadHeatHalfLifeMinutes(long halfLifeMinutes) {
+      compactionConfig.setValue(COMPACTION_READ_HEAT_HALF_LIFE_MINUTES, String.valueOf(halfLifeMinutes));
+      return this;
+    }
+
+    public Builder withCompactionReadHeatThreshold(double readHeatThreshold) {
+      compactionConfig.setValue(COMPACTION_READ_HEAT_THRESHOLD, String.valueOf(readHeatThreshold));
+      return this;
+    }
+
     public Builder withCompactionLogFileNumThreshold(int logFileNumThreshold) {
       compactionConfig.setValue(COMPACTION_LOG_FILE_NUM_THRESHOLD, String.valueOf(logFileNumThreshold));
       return this;
@@ -474,6 +527,21 @@ public class HoodieCompactionConfig extends HoodieConfig {
       return this;
     }
 
+    public Builder withLsmRunCompactionPolicy(LsmRunCompactionPolicy policy) {
+      compactionConfig.setValue(LSM_RUN_COMPACTION_POLICY, policy.name());
+      return this;
+    }
+
+    public Builder withLsmMaxSortedRuns(int maxSortedRuns) {
+      compactionConfig.setValue(LSM_MAX_SORTED_RUNS, String.valueOf(maxSortedRuns));
+      return this;
+    }
+
+    public Builder withLsmSizeTierRatio(double sizeTierRatio) {
+      compactionConfig.setValue(LSM_SIZE_TIER_RATIO, String.valueOf(sizeTierRatio));
+      return this;
+    }
+
     public Builder withCompactionSpecifyPartitionPathRegex(String partitionPathRegex) {
       compactionConfig.setValue(COMPACTION_SPECIFY_PARTITION_PATH_REGEX, partitionPathRegex);
       return this;
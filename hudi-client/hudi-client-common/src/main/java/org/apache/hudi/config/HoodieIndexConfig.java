@@ -321,16 +321,18 @@ public class HoodieIndexConfig extends HoodieConfig {
       .noDefaultValue()
       .markAdvanced()
       .sinceVersion("0.13.0")
-      .withDocumentation("Only applies if bucket index engine is consistent hashing. Determine the upper bound of "
-          + "the number of buckets in the hudi table. Bucket resizing cannot be done higher than this max limit.");
+      .withDocumentation("Only applies if bucket index engine is consistent hashing, or when resizing the buckets of the "
+          + "partition level simple bucket index. Determine the upper bound of the number of buckets in the hudi table. "
+          + "Bucket resizing cannot be done higher than this max limit.");
 
   public static final ConfigProperty<String> BUCKET_INDEX_MIN_NUM_BUCKETS = ConfigProperty
       .key("hoodie.bucket.index.min.num.buckets")
       .noDefaultValue()
       .markAdvanced()
       .sinceVersion("0.13.0")
-      .withDocumentation("Only applies if bucket index engine is consistent hashing. Determine the lower bound of "
-          + "the number of buckets in the hudi table. Bucket resizing cannot be done lower than this min limit.");
+      .withDocumentation("Only applies if bucket index engine is consistent hashing, or when resizing the buckets of the "
+          + "partition level simple bucket index. Determine the lower bound of the number of buckets in the hudi table. "
+          + "Bucket resizing cannot be done lower than this min limit.");
 
   public static final ConfigProperty<String> BUCKET_INDEX_HASH_FIELD = ConfigProperty
       .key("hoodie.bucket.index.hash.field")
@@ -345,7 +347,9 @@ public class HoodieIndexConfig extends HoodieConfig {
       .markAdvanced()
       .sinceVersion("0.13.0")
       .withDocumentation("Control if the bucket should be split when using consistent hashing bucket index."
-          + "Specifically, if a file slice size reaches `hoodie.xxxx.max.file.size` * threshold, then split will be carried out.");
+          + "Specifically, if a file slice size reaches `hoodie.xxxx.max.file.size` * threshold, then split will be carried out. "
+          + "When resizing the buckets of the partition level simple bucket index, a partition is resized if its average "
+          + "bucket size reaches `hoodie.xxxx.max.file.size` * threshold.");
 
   public static final ConfigProperty<Double> BUCKET_MERGE_THRESHOLD = ConfigProperty
       .key("hoodie.bucket.index.merge.threshold")
@@ -354,7 +358,8 @@ public class HoodieIndexConfig extends HoodieConfig {
       .sinceVersion("0.13.0")
       .withDocumentation("Control if buckets should be merged when using consistent hashing bucket index"
           + "Specifically, if a file slice size is smaller than `hoodie.xxxx.max.file.size` * threshold, then it will be considered"
-          + "as a merge candidate.");
+          + "as a merge candidate. When resizing the buckets of the partition level simple bucket index, a partition is "
+          + "resized if its average bucket size is smaller than `hoodie.xxxx.max.file.size` * threshold.");
 
   public static final ConfigProperty<String> RECORD_INDEX_USE_CACHING = ConfigProperty
       .key("hoodie.record.index.use.caching")
@@ -373,6 +378,17 @@ public class HoodieIndexConfig extends HoodieConfig {
       .withDocumentation("Only applies when #recordIndexUseCaching is set. Determine what level of persistence is used to cache input RDDs. "
           + "Refer to org.apache.spark.storage.StorageLevel for different values");
 
+  public static final ConfigProperty<Integer> RECORD_INDEX_DRIVER_LOOKUP_MAX_RECORDS = ConfigProperty
+      .key("hoodie.record.index.driver.lookup.max.records")
+      .defaultValue(0)
+      .markAdvanced()
+      .sinceVersion("1.3.0")
+      .withDocumentation("Only applies if index type is RECORD_INDEX. When the input has at most this many records, "
+          + "the record keys are looked up in the record index on the driver, reading only the record index file groups "
+          + "that store them, instead of shuffling the keys across all the record index file groups. This makes small "
+          + "writes against large tables, e.g. MERGE INTO statements, cost in proportion to the input. Spark SQL MERGE INTO "
+          + "statements default it to 100000, 0 disables the driver side lookup.");
+
   public static final ConfigProperty<Boolean> BUCKET_QUERY_INDEX = ConfigProperty
       .key("hoodie.bucket.index.query.pruning")
       .defaultValue(true)
@@ -748,6 +764,11 @@ public class HoodieIndexConfig extends HoodieConfig {
       return this;
     }
 
+    public Builder withRecordIndexDriverLookupMaxRecords(int maxRecords) {
+      hoodieIndexConfig.setValue(RECORD_INDEX_DRIVER_LOOKUP_MAX_RECORDS, String.valueOf(maxRecords));
+      return this;
+    }
+
     public HoodieIndexConfig build() {
       hoodieIndexConfig.setDefaultValue(INDEX_TYPE, getDefaultIndexType(engineType));
       hoodieIndexConfig.setDefaults(HoodieIndexConfig.class.getName());
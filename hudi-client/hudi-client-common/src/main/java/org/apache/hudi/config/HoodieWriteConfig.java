@@ -88,6 +88,7 @@ import org.apache.hudi.table.RandomFileIdPrefixProvider;
 import org.apache.hudi.table.action.clean.CleaningTriggerStrategy;
 import org.apache.hudi.table.action.cluster.ClusteringPlanPartitionFilterMode;
 import org.apache.hudi.table.action.compact.CompactionTriggerStrategy;
+import org.apache.hudi.table.action.compact.LsmRunCompactionPolicy;
 import org.apache.hudi.table.action.compact.strategy.CompactionStrategy;
 import org.apache.hudi.table.action.compact.strategy.CompositeCompactionStrategy;
 import org.apache.hudi.table.storage.HoodieStorageLayout;
@@ -1789,6 +1790,18 @@ public class HoodieWriteConfig extends HoodieConfig {
     return getInt(HoodieCompactionConfig.LOG_COMPACTION_BLOCKS_THRESHOLD);
   }
 
+  public LsmRunCompactionPolicy getLsmRunCompactionPolicy() {
+    return LsmRunCompactionPolicy.valueOf(getString(HoodieCompactionConfig.LSM_RUN_COMPACTION_POLICY).toUpperCase());
+  }
+
+  public int getLsmMaxSortedRuns() {
+    return getInt(HoodieCompactionConfig.LSM_MAX_SORTED_RUNS);
+  }
+
+  public double getLsmSizeTierRatio() {
+    return getDouble(HoodieCompactionConfig.LSM_SIZE_TIER_RATIO);
+  }
+
   public HoodieCleaningPolicy getCleanerPolicy() {
     return HoodieCleaningPolicy.valueOf(getString(CLEANER_POLICY));
   }
@@ -1825,6 +1838,10 @@ public class HoodieWriteConfig extends HoodieConfig {
     return getLong(HoodieArchivalConfig.TIMELINE_COMPACTION_TARGET_FILE_MAX_BYTES);
   }
 
+  public boolean isTimelineCompactionAsync() {
+    return getBooleanOrDefault(HoodieArchivalConfig.TIMELINE_COMPACTION_ASYNC);
+  }
+
   public int getTimelineManifestRetainedVersions() {
     return getInt(HoodieArchivalConfig.TIMELINE_MANIFEST_RETAINED_VERSIONS);
   }
@@ -1905,6 +1922,10 @@ public class HoodieWriteConfig extends HoodieConfig {
     return getBoolean(HoodieCleanConfig.CLEANER_INCREMENTAL_MODE_ENABLE);
   }
 
+  public boolean incrementalFileGroupCleanerModeEnabled() {
+    return getBooleanOrDefault(HoodieCleanConfig.CLEANER_INCREMENTAL_FILE_GROUP_MODE_ENABLE);
+  }
+
   public String getCleanerPartitionFilterRegex() {
     return getString(HoodieCleanConfig.CLEAN_PARTITION_FILTER_REGEX);
   }
@@ -1961,6 +1982,14 @@ public class HoodieWriteConfig extends HoodieConfig {
     return getLong(HoodieCompactionConfig.COMPACTION_LOG_FILE_NUM_THRESHOLD);
   }
 
+  public long getCompactionReadHeatHalfLifeMinutes() {
+    return getLongOrDefault(HoodieCompactionConfig.COMPACTION_READ_HEAT_HALF_LIFE_MINUTES);
+  }
+
+  public double getCompactionReadHeatThreshold() {
+    return getDoubleOrDefault(HoodieCompactionConfig.COMPACTION_READ_HEAT_THRESHOLD);
+  }
+
   public Boolean getCompactionLazyBlockReadEnabled() {
     return getBoolean(HoodieReaderConfig.COMPACTION_LAZY_BLOCK_READ_ENABLE);
   }
@@ -1973,6 +2002,10 @@ public class HoodieWriteConfig extends HoodieConfig {
     return getInt(HoodieArchivalConfig.DELETE_ARCHIVED_INSTANT_PARALLELISM_VALUE);
   }
 
+  public int getArchiveReadParallelism() {
+    return getIntOrDefault(HoodieArchivalConfig.ARCHIVE_READ_PARALLELISM);
+  }
+
   public boolean inlineClusteringEnabled() {
     return getBoolean(HoodieClusteringConfig.INLINE_CLUSTERING);
   }
@@ -1998,6 +2031,10 @@ public class HoodieWriteConfig extends HoodieConfig {
     return getBooleanOrDefault(HoodieClusteringConfig.FILE_STITCHING_BINARY_COPY_SCHEMA_EVOLUTION_ENABLE);
   }
 
+  public boolean isClusteringBinaryCopyAutoEnabled() {
+    return getBooleanOrDefault(HoodieClusteringConfig.BINARY_COPY_AUTO_ENABLE);
+  }
+
   public boolean isClusteringPlanGenerationUseLocalEngineContext() {
     return getBoolean(HoodieClusteringConfig.PLAN_GENERATION_USE_LOCAL_ENGINE_CONTEXT);
   }
@@ -2385,6 +2422,10 @@ public class HoodieWriteConfig extends HoodieConfig {
     return getStringOrDefault(HoodieIndexConfig.RECORD_INDEX_INPUT_STORAGE_LEVEL_VALUE);
   }
 
+  public int getRecordIndexDriverLookupMaxRecords() {
+    return getIntOrDefault(HoodieIndexConfig.RECORD_INDEX_DRIVER_LOOKUP_MAX_RECORDS);
+  }
+
   public boolean isUsingRemotePartitioner() {
     return getBoolean(HoodieIndexConfig.BUCKET_PARTITIONER);
   }
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.index.bucket.partition;
+
+import org.apache.hudi.common.model.FileSlice;
+import org.apache.hudi.common.table.view.TableFileSystemView;
+import org.apache.hudi.common.util.StringUtils;
+import org.apache.hudi.common.util.VisibleForTesting;
+import org.apache.hudi.config.HoodieWriteConfig;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Proposes the bucket numbers of the partitions for the partition level simple bucket index, based on the size of the
+ * partitions.
+ *
+ * <p>A partition is resized when its average bucket size is above {@code max.file.size * hoodie.bucket.index.split.threshold}
+ * or below {@code max.file.size * hoodie.bucket.index.merge.threshold}, to the number of buckets of {@code max.file.size}
+ * bounded by {@code hoodie.bucket.index.min.num.buckets} and {@code hoodie.bucket.index.max.num.buckets}.
+ *
+ * <p>The proposed bucket numbers are prepended to the latest expressions as exact partition rules, so that the rewrite
+ * of the partitions commits a new hashing config together with the data, see {@link
+ * org.apache.hudi.common.model.PartitionBucketIndexHashingConfig}. The writers load the latest committed hashing config.
+ */
+@Slf4j
+public class PartitionBucketIndexResizer {
+
+  private static final String RULE_SEPARATOR = ";";
+  private static final String BUCKET_NUMBER_SEPARATOR = ",";
+
+  /**
+   * Returns the total size of the latest file slices of each partition.
+   */
+  public static Map<String, Long> getPartitionSizes(TableFileSystemView.SliceView sliceView, List<String> partitions) {
+    Map<String, Long> partitionSizes = new TreeMap<>();
+    for (String partition : partitions) {
+      partitionSizes.put(partition, sliceView.getLatestFileSlices(partition).mapToLong(FileSlice::getTotalFileSize).sum());
+    }
+    return partitionSizes;
+  }
+
+  /**
+   * Returns the partitions to resize with their new bucket numbers.
+   *
+   * @param config            The write config with the resizing thresholds and bounds
+   * @param targetBucketBytes The target size of a bucket, usually the max file size of the base file format
+   * @param numBucketsFunction The bucket numbers of the latest hashing config
+   * @param partitionSizes    The size of each partition
+   */
+  public static Map<String, Integer> proposeBucketNumbers(HoodieWriteConfig config,
+                                                          long targetBucketBytes,
+                                                          NumBucketsFunction numBucketsFunction,
+                                                          Map<String, Long> partitionSizes) {
+    Map<String, Integer> partitionToBuckets = new TreeMap<>();
+    partitionSizes.forEach((partition, partitionSize) -> {
+      if (partitionSize <= 0) {
+        // nothing to rewrite for an empty partition
+        return;
+      }
+      if (partition.contains(RULE_SEPARATOR) || partition.contains(BUCKET_NUMBER_SEPARATOR)) {
+        log.warn("Skip resizing the buckets of partition {} which can not be declared by the expressions", partition);
+        return;
+      }
+      int numBuckets = numBucketsFunction.getNumBuckets(partition);
+      int newNumBuckets = proposeBucketNumber(partitionSize, numBuckets, targetBucketBytes, config.getBucketSplitThreshold(),
+          config.getBucketMergeThreshold(), config.getBucketIndexMinNumBuckets(), config.getBucketIndexMaxNumBuckets());
+      if (newNumBuckets != numBuckets) {
+        log.info("Propose to resize the buckets of partition {} with {} bytes from {} to {}", partition, partitionSize, numBuckets, newNumBuckets);
+        partitionToBuckets.put(partition, newNumBuckets);
+      }
+    });
+    return partitionToBuckets;
+  }
+
+  @VisibleForTesting
+  static int proposeBucketNumber(long partitionSize, int numBuckets, long targetBucketBytes,
+                                 double splitThreshold, double mergeThreshold, int minNumBuckets, int maxNumBuckets) {
+    double avgBucketSize = (double) partitionSize / numBuckets;
+    if (avgBucketSize <= targetBucketBytes * splitThreshold && (avgBucketSize >= targetBucketBytes * mergeThreshold || numBuckets <= minNumBuckets)) {
+      return numBuckets;
+    }
+    long newNumBuckets = (partitionSize + targetBucketBytes - 1) / targetBucketBytes;
+    return (int) Math.max(minNumBuckets, Math.min(maxNumBuckets, newNumBuckets));
+  }
+
+  /**
+   * Returns the expressions with the exact rules of the given partitions followed by the latest expressions,
+   * the latest rules of the same partitions are replaced.
+   *
+   * @param partitionToBuckets The partitions to resize with their new bucket numbers
+   * @param latestExpressions  The expressions of the latest hashing config, can be empty
+   */
+  public static String buildExpressions(Map<String, Integer> partitionToBuckets, String latestExpressions) {
+    List<String> rules = new ArrayList<>();
+    Set<String> newPatterns = new HashSet<>();
+    partitionToBuckets.forEach((partition, numBuckets) -> {
+      String pattern = getExactPattern(partition);
+      newPatterns.add(pattern);
+      rules.add(pattern + BUCKET_NUMBER_SEPARATOR + numBuckets);
+    });
+    if (!StringUtils.isNullOrEmpty(latestExpressions)) {
+      for (String rule : latestExpressions.split(RULE_SEPARATOR)) {
+        String pattern = rule.trim().split(BUCKET_NUMBER_SEPARATOR)[0].trim();
+        if (!newPatterns.contains(pattern)) {
+          rules.add(rule.trim());
+        }
+      }
+    }
+    return rules.stream().filter(rule -> !rule.isEmpty()).collect(Collectors.joining(RULE_SEPARATOR));
+  }
+
+  private static String getExactPattern(String partition) {
+    return "^" + Pattern.quote(partition) + "$";
+  }
+}
@@ -33,6 +33,7 @@ import org.apache.hudi.common.schema.internal.utils.SerDeHelper;
 import org.apache.hudi.common.table.log.block.HoodieLogBlock;
 import org.apache.hudi.common.table.read.HoodieFileGroupReader;
 import org.apache.hudi.common.table.read.HoodieReadStats;
+import org.apache.hudi.common.table.read.lsm.HoodieLsmFileGroupReader;
 import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.StringUtils;
 import org.apache.hudi.common.util.collection.CloseableMappingIterator;
@@ -46,12 +47,16 @@ import javax.annotation.concurrent.NotThreadSafe;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.apache.hudi.common.config.HoodieReaderConfig.MERGE_USE_RECORD_POSITIONS;
 
 /**
  * File-group-reader based log-compaction append handle for native MOR log files.
+ *
+ * <p>For tables with the LSM tree layout, the sorted runs of the operation are merged with the
+ * {@link HoodieLsmFileGroupReader} instead, the output is a new sorted run.
  */
 @NotThreadSafe
 public class FileGroupReaderBasedNativeLogAppendHandle<T, I, K, O> extends HoodieNativeLogAppendHandle<T, I, K, O> {
@@ -81,6 +86,10 @@ public class FileGroupReaderBasedNativeLogAppendHandle<T, I, K, O> extends Hoodi
     Stream<HoodieLogFile> logFiles = operation.getDeltaFileNames().stream().map(logFileName ->
         new HoodieLogFile(new StoragePath(FSUtils.constructAbsolutePath(
             config.getBasePath(), operation.getPartitionPath()), logFileName)));
+    if (hoodieTable.getMetaClient().getTableConfig().isLSMTreeStorageLayout()) {
+      doAppendSortedRuns(logFiles.collect(Collectors.toList()), internalSchemaOption, props);
+      return;
+    }
     try (HoodieFileGroupReader<T> fileGroupReader = HoodieFileGroupReader.<T>builder()
         .withReaderContext(readerContext)
         .withHoodieTableMetaClient(hoodieTable.getMetaClient())
@@ -111,6 +120,39 @@ public class FileGroupReaderBasedNativeLogAppendHandle<T, I, K, O> extends Hoodi
     }
   }
 
+  /**
+   * Merges the selected sorted runs of a table with the LSM tree layout into a new sorted run, the merged runs
+   * are listed in the header of the new run so that the readers skip them.
+   */
+  private void doAppendSortedRuns(List<HoodieLogFile> logFiles, Option<InternalSchema> internalSchemaOption, TypedProperties props) {
+    try (HoodieLsmFileGroupReader<T> fileGroupReader = HoodieLsmFileGroupReader.<T>builder()
+        .withReaderContext(readerContext)
+        .withHoodieTableMetaClient(hoodieTable.getMetaClient())
+        .withLatestCommitTime(instantTime)
+        .withPartitionPath(partitionPath)
+        .withLogFiles(logFiles.stream())
+        .withBaseFileOption(Option.empty())
+        .withDataSchema(writeSchemaWithMetaFields)
+        .withRequestedSchema(writeSchemaWithMetaFields)
+        .withInternalSchemaOpt(internalSchemaOption)
+        .withProps(props)
+        // the deletes must be kept to shadow the records of the base file
+        .withEmitDelete(true)
+        .build()) {
+      recordItr = new CloseableMappingIterator<>(fileGroupReader.getLogRecordsOnly(), record -> {
+        HoodieRecord<T> hoodieRecord = readerContext.getRecordContext().constructHoodieRecord(record);
+        hoodieRecord.setCurrentLocation(newRecordLocation);
+        return hoodieRecord;
+      });
+      header.put(HoodieLogBlock.HeaderMetadataType.COMPACTED_BLOCK_TIMES,
+          logFiles.stream().map(HoodieLogFile::getDeltaCommitTime).distinct().collect(Collectors.joining(",")));
+      super.doAppend();
+      this.readStats = fileGroupReader.getReadStats();
+    } catch (IOException e) {
+      throw new HoodieIOException("Failed to initialize LSM file group reader for " + fileId, e);
+    }
+  }
+
   @Override
   public List<WriteStatus> close() {
     try {
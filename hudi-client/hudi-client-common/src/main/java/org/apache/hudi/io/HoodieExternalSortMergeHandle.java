@@ -0,0 +1,186 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.io;
+
+import org.apache.hudi.client.WriteStatus;
+import org.apache.hudi.common.engine.TaskContextSupplier;
+import org.apache.hudi.common.model.HoodieBaseFile;
+import org.apache.hudi.common.model.HoodieRecord;
+import org.apache.hudi.common.serialization.DefaultSerializer;
+import org.apache.hudi.common.util.HoodieRecordSizeEstimator;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.StringUtils;
+import org.apache.hudi.common.util.collection.ClosableIterator;
+import org.apache.hudi.common.util.collection.ExternalSorter;
+import org.apache.hudi.config.HoodieWriteConfig;
+import org.apache.hudi.exception.HoodieUpsertException;
+import org.apache.hudi.keygen.BaseKeyGenerator;
+import org.apache.hudi.table.HoodieTable;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Hoodie merge handle which merges the incoming records with a base file sorted by record key in a single sequential
+ * pass, with bounded memory.
+ *
+ * <p>Different from {@link HoodieWriteMergeHandle} which loads the incoming records into a spillable map and probes it
+ * for each record of the base file, the incoming records are sorted by key with an {@link ExternalSorter}: the records
+ * beyond the memory for merge are spilled as sorted runs and read back sequentially through a loser tree merge. The
+ * sorted incoming records are then merge-joined with the base file, the inserts are written in between the existing
+ * records so the output is also sorted by key.
+ *
+ * <p>The base file must be sorted by record key, e.g. for tables requiring sorted records, or base files written by
+ * this handle or {@link HoodieSortedMergeHandle}. The merge fails if a record of the base file is out of order.
+ */
+@NotThreadSafe
+@Slf4j
+public class HoodieExternalSortMergeHandle<T, I, K, O> extends HoodieWriteMergeHandle<T, I, K, O> {
+
+  // NOTE: the fields are initialized in #populateIncomingRecordsMap called by the super constructor,
+  //       so they must not have initializers
+  private ExternalSorter<HoodieRecord<T>> sorter;
+  private ClosableIterator<HoodieRecord<T>> sortedNewRecords;
+  // the next incoming record to merge and the record following it
+  private HoodieRecord<T> nextNewRecord;
+  private HoodieRecord<T> lookaheadNewRecord;
+  private String lastOldRecordKey;
+
+  public HoodieExternalSortMergeHandle(HoodieWriteConfig config, String instantTime, HoodieTable<T, I, K, O> hoodieTable,
+                                       Iterator<HoodieRecord<T>> recordItr, String partitionPath, String fileId,
+                                       TaskContextSupplier taskContextSupplier, Option<BaseKeyGenerator> keyGeneratorOpt) {
+    super(config, instantTime, hoodieTable, recordItr, partitionPath, fileId, taskContextSupplier, keyGeneratorOpt);
+  }
+
+  public HoodieExternalSortMergeHandle(HoodieWriteConfig config, String instantTime, HoodieTable<T, I, K, O> hoodieTable,
+                                       Iterator<HoodieRecord<T>> recordItr, String partitionPath, String fileId,
+                                       TaskContextSupplier taskContextSupplier, HoodieBaseFile baseFile, Option<BaseKeyGenerator> keyGeneratorOpt) {
+    super(config, instantTime, hoodieTable, recordItr, partitionPath, fileId, taskContextSupplier, baseFile, keyGeneratorOpt);
+  }
+
+  /**
+   * Sorts the incoming records by key instead of loading them in a map.
+   */
+  @Override
+  protected void populateIncomingRecordsMap(Iterator<HoodieRecord<T>> newRecordsItr) {
+    long memoryForMerge = MergeUtils.getMaxMemoryPerPartitionMerge(taskContextSupplier, config);
+    log.info("MaxMemoryPerPartitionMerge => {}", memoryForMerge);
+    this.sorter = new ExternalSorter<>(memoryForMerge, config.getSpillableMapBasePath(),
+        new HoodieRecordSizeEstimator<>(writeSchema), new DefaultSerializer<>(),
+        (record1, record2) -> StringUtils.compareUtf8Bytes(record1.getRecordKey(), record2.getRecordKey()));
+    while (newRecordsItr.hasNext()) {
+      HoodieRecord<T> record = newRecordsItr.next();
+      // update the new location of the record, so we know where to find it next
+      if (needsUpdateLocation()) {
+        record.unseal();
+        record.setNewLocation(newRecordLocation);
+        record.seal();
+      }
+      sorter.add(record);
+    }
+    log.info("Number of incoming records => {}, Number of spilled sorted runs => {}, Size of files spilled to disk => {}",
+        sorter.getNumRecords(), sorter.getNumSpilledRuns(), sorter.getSpilledBytes());
+    this.sortedNewRecords = sorter.sortedIterator();
+    this.lookaheadNewRecord = sortedNewRecords.hasNext() ? sortedNewRecords.next() : null;
+    this.nextNewRecord = pollNewRecord();
+    // only holds the incoming record of the key being merged
+    this.keyToNewRecords = new HashMap<>();
+  }
+
+  /**
+   * Returns the next incoming record, the last one wins if there are multiple records with the same key.
+   */
+  private HoodieRecord<T> pollNewRecord() {
+    HoodieRecord<T> record = lookaheadNewRecord;
+    lookaheadNewRecord = sortedNewRecords.hasNext() ? sortedNewRecords.next() : null;
+    while (record != null && lookaheadNewRecord != null && lookaheadNewRecord.getRecordKey().equals(record.getRecordKey())) {
+      record = lookaheadNewRecord;
+      lookaheadNewRecord = sortedNewRecords.hasNext() ? sortedNewRecords.next() : null;
+    }
+    return record;
+  }
+
+  /**
+   * Writes the incoming records with keys less than the key of the old record as inserts, then merges the old record
+   * with the incoming record of the same key if any.
+   */
+  @Override
+  public void write(HoodieRecord<T> oldRecord) {
+    String key = oldRecord.getRecordKey(writeSchemaWithMetaFields, keyGeneratorOpt);
+    if (lastOldRecordKey != null && StringUtils.compareUtf8Bytes(lastOldRecordKey, key) > 0) {
+      throw new HoodieUpsertException("Base file " + getOldFilePath() + " is not sorted by record key, key " + key
+          + " follows " + lastOldRecordKey + ", the merge handle " + getClass().getSimpleName() + " requires sorted base files");
+    }
+    lastOldRecordKey = key;
+
+    try {
+      while (nextNewRecord != null && StringUtils.compareUtf8Bytes(nextNewRecord.getRecordKey(), key) < 0) {
+        writeInsertRecord(nextNewRecord);
+        nextNewRecord = pollNewRecord();
+      }
+    } catch (IOException e) {
+      throw new HoodieUpsertException("Failed to write records", e);
+    }
+
+    if (nextNewRecord != null && nextNewRecord.getRecordKey().equals(key)) {
+      keyToNewRecords.put(key, nextNewRecord);
+      nextNewRecord = pollNewRecord();
+    }
+    super.write(oldRecord);
+    // the keys are merged in order, there is no need to track the written keys
+    keyToNewRecords.clear();
+    writtenRecordKeys.clear();
+  }
+
+  @Override
+  protected void writeIncomingRecords() throws IOException {
+    // write out the incoming records with keys greater than the last key of the base file
+    while (nextNewRecord != null) {
+      writeInsertRecord(nextNewRecord);
+      nextNewRecord = pollNewRecord();
+    }
+    closeSorter();
+  }
+
+  @Override
+  public List<WriteStatus> close() {
+    try {
+      return super.close();
+    } finally {
+      closeSorter();
+    }
+  }
+
+  private void closeSorter() {
+    if (sortedNewRecords != null) {
+      sortedNewRecords.close();
+      sortedNewRecords = null;
+    }
+    if (sorter != null) {
+      sorter.close();
+      sorter = null;
+    }
+  }
+}
@@ -191,7 +191,7 @@ public class HoodieInlineLogAppendHandle<T, I, K, O> extends HoodieAppendHandle<
       try {
         Map<String, HoodieColumnRangeMetadata<Comparable>> columnRangeMetadataMap =
             collectColumnRangeMetadata(recordList.iterator(), fieldsToIndex, stat.getPath(), writeSchemaWithMetaFields, storage.getConf(),
-                indexVersion);
+                indexVersion, HoodieTableMetadataUtil.getDistinctCountSketchPrecision(hoodieTable.getMetaClient(), config.getMetadataConfig()));
         stat.putRecordsStats(columnRangeMetadataMap);
       } catch (HoodieException e) {
         throw new HoodieAppendException("Failed to extract append result", e);
@@ -176,7 +176,10 @@ public class HoodieMergeHandleFactory {
         fallbackMergeHandleClass = HoodieWriteConfig.CONCAT_HANDLE_CLASS_NAME.defaultValue();
       }
     } else if (table.requireSortedRecords() || table.getMetaClient().getTableConfig().isCDCEnabled()) {
-      if (writeConfig.getMergeHandleClassName().equals(FileGroupReaderBasedMergeHandle.class.getName())) {
+      // the external sort merge handle also keeps the records sorted, but does not write the change logs
+      boolean useExternalSortMergeHandle = !table.getMetaClient().getTableConfig().isCDCEnabled()
+          && writeConfig.getMergeHandleClassName().equals(HoodieExternalSortMergeHandle.class.getName());
+      if (writeConfig.getMergeHandleClassName().equals(FileGroupReaderBasedMergeHandle.class.getName()) || useExternalSortMergeHandle) {
         mergeHandleClass = writeConfig.getMergeHandleClassName();
         if (!mergeHandleClass.equals(HoodieWriteConfig.MERGE_HANDLE_CLASS_NAME.defaultValue())) {
           fallbackMergeHandleClass = HoodieWriteConfig.MERGE_HANDLE_CLASS_NAME.defaultValue();
@@ -27,6 +27,7 @@ import org.apache.hudi.avro.model.HoodieRollbackMetadata;
 import org.apache.hudi.client.BaseHoodieWriteClient;
 import org.apache.hudi.client.RunsTableService;
 import org.apache.hudi.client.WriteStatus;
+import org.apache.hudi.common.config.HoodieMetadataConfig;
 import org.apache.hudi.common.data.HoodieData;
 import org.apache.hudi.common.data.HoodieListData;
 import org.apache.hudi.common.engine.EngineType;
@@ -686,6 +687,15 @@ public abstract class HoodieBackedTableMetadataWriter<I, O> implements HoodieTab
    */
   private void initializeFileGroups(HoodieTableMetaClient dataMetaClient, MetadataPartitionType metadataPartition, String instantTime,
                                     int fileGroupCount, String relativePartitionPath, Option<String> dataPartitionName) throws IOException {
+    initializeFileGroups(dataMetaClient, metadataPartition, instantTime, 0, fileGroupCount, relativePartitionPath, dataPartitionName);
+  }
+
+  /**
+   * Initialize the file groups with index in range [fromIndex, toIndex) for a partition.
+   */
+  private void initializeFileGroups(HoodieTableMetaClient dataMetaClient, MetadataPartitionType metadataPartition, String instantTime,
+                                    int fromIndex, int toIndex, String relativePartitionPath, Option<String> dataPartitionName) throws IOException {
+    final int fileGroupCount = toIndex - fromIndex;
 
     // Archival of data table has a dependency on compaction(base files) in metadata table.
     // It is assumed that as of time Tx of base instant (/compaction time) in metadata table,
@@ -699,7 +709,7 @@ public abstract class HoodieBackedTableMetadataWriter<I, O> implements HoodieTab
     final String msg = String.format("Creating %d file groups for partition %s with base fileId %s at instant time %s",
         fileGroupCount, relativePartitionPath, metadataPartition.getFileIdPrefix(), instantTime);
     LOG.info(msg);
-    final List<String> fileGroupFileIds = IntStream.range(0, fileGroupCount)
+    final List<String> fileGroupFileIds = IntStream.range(fromIndex, toIndex)
         .mapToObj(i -> HoodieTableMetadataUtil.getFileIDForFileGroup(metadataPartition, i, relativePartitionPath, dataPartitionName))
         .collect(Collectors.toList());
     ValidationUtils.checkArgument(fileGroupFileIds.size() == fileGroupCount);
@@ -1458,7 +1468,8 @@ public abstract class HoodieBackedTableMetadataWriter<I, O> implements HoodieTab
           // For isNonGlobalRLI, new partitions added to the data table will cause new filegroups that are not yet committed
           // therefore, we always need to look for inflight filegroups
           fileSlices = getPartitionLatestFileSlicesIncludingInflight(metadataMetaClient, Option.ofNullable(fsView), partitionPath);
-        } else if (fileSlices.isEmpty()) {
+        } else if (fileSlices.isEmpty() || isInitializing) {
+          // the bulk commit of resharding adds new file groups to the committed ones
           ValidationUtils.checkState(isInitializing || dataMetaClient.getTableConfig().getMetadataPartitionsInflight().contains(partitionPath),
               String.format("Partition %s should be part of inflight metadata partitions here %s", partitionPath, dataMetaClient.getTableConfig().getMetadataPartitionsInflight()));
           fileSlices = getPartitionLatestFileSlicesIncludingInflight(metadataMetaClient, Option.ofNullable(fsView), partitionPath);
@@ -1531,6 +1542,42 @@ public abstract class HoodieBackedTableMetadataWriter<I, O> implements HoodieTab
    */
   @Override
   public void performTableServices(Option<String> inFlightInstantTimestamp, boolean requiresTimelineRefresh) {
+    if (dataWriteConfig.getMetadataConfig().isTableServicesAsyncEnabled()) {
+      // the writers only append delta commits, as long as the out of band table services keep up
+      checkNumDeltaCommitsSinceCompaction(requiresTimelineRefresh);
+      LOG.debug("Skipping the table services on MDT as they are run out of band");
+      return;
+    }
+    runTableServices(inFlightInstantTimestamp, requiresTimelineRefresh);
+  }
+
+  @Override
+  public void performTableServicesOutOfBand() {
+    ValidationUtils.checkState(dataWriteConfig.getMetadataConfig().isTableServicesAsyncEnabled(),
+        () -> HoodieMetadataConfig.TABLE_SERVICES_ASYNC_ENABLE.key() + " must be enabled to run the table services on MDT out of band");
+    runTableServices(Option.empty(), true);
+  }
+
+  /**
+   * Fails the writer if the number of delta commits since the last compaction of the MDT exceeds
+   * {@link HoodieMetadataConfig#METADATA_MAX_NUM_DELTACOMMITS_WHEN_PENDING}, which bounds the log files to merge by the readers.
+   */
+  private void checkNumDeltaCommitsSinceCompaction(boolean requiresTimelineRefresh) {
+    HoodieActiveTimeline activeTimeline = requiresTimelineRefresh ? metadataMetaClient.reloadActiveTimeline() : metadataMetaClient.getActiveTimeline();
+    Option<HoodieInstant> lastCompaction = activeTimeline.getCommitAndReplaceTimeline().filterCompletedInstants().lastInstant();
+    int numDeltaCommits = lastCompaction.isPresent()
+        ? activeTimeline.getDeltaCommitTimeline().findInstantsAfter(lastCompaction.get().requestedTime()).countInstants()
+        : activeTimeline.getDeltaCommitTimeline().countInstants();
+    int maxNumDeltaCommits = dataWriteConfig.getMetadataConfig().getMaxNumDeltacommitsWhenPending();
+    if (numDeltaCommits > maxNumDeltaCommits) {
+      throw new HoodieMetadataException(String.format("Metadata table's deltacommits since the last compaction exceeded %d: "
+              + "the table services on the metadata table run out of band are not keeping up. Check the table service job "
+              + "or adjust `%s`, then restart the pipeline.",
+          maxNumDeltaCommits, HoodieMetadataConfig.METADATA_MAX_NUM_DELTACOMMITS_WHEN_PENDING.key()));
+    }
+  }
+
+  private void runTableServices(Option<String> inFlightInstantTimestamp, boolean requiresTimelineRefresh) {
     HoodieTimer metadataTableServicesTimer = HoodieTimer.start();
     boolean allTableServicesExecutedSuccessfullyOrSkipped = true;
     BaseHoodieWriteClient<?, I, ?, O> writeClient = getWriteClient();
@@ -1552,6 +1599,7 @@ public abstract class HoodieBackedTableMetadataWriter<I, O> implements HoodieTab
         String latestDeltacommitTime = lastInstant.get().requestedTime();
         LOG.info("Latest deltacommit time found is {}, running compaction operations.", latestDeltacommitTime);
         compactIfNecessary(writeClient, Option.of(latestDeltacommitTime));
+        reshardRecordIndexIfNecessary(writeClient, inFlightInstantTimestamp);
       }
       writeClient.archive();
       LOG.info("All the table services operations on MDT completed successfully");
@@ -1679,6 +1727,93 @@ public abstract class HoodieBackedTableMetadataWriter<I, O> implements HoodieTab
     }
   }
 
+  /**
+   * Reshard the record index online once its largest file group grows beyond the max file group size, see {@link RecordIndexReshardPlanner}.
+   * <p>
+   * The new file groups are created with empty log files, and the live records of the resharded file groups are re-written as new base
+   * files of both the existing and the new file groups within a single delta commit. The writers and readers resolve the keys against
+   * the new layout once the delta commit completes, while the previous file slices are left to the cleaner.
+   * <p>
+   * A write that tagged its records against the previous layout would log them to the wrong file groups, so the resharding only runs
+   * with the inline table services of a single writer, which are invoked under the lock of the data table, and is skipped while any
+   * other write to the data table or the metadata table is inflight.
+   *
+   * @param inFlightInstantTimestamp the inflight instant of the data table that runs the table services, if any
+   */
+  void reshardRecordIndexIfNecessary(BaseHoodieWriteClient<?, I, ?, O> writeClient, Option<String> inFlightInstantTimestamp) {
+    HoodieMetadataConfig metadataConfig = dataWriteConfig.getMetadataConfig();
+    if (!metadataConfig.isRecordIndexReshardEnabled()
+        || !dataMetaClient.getTableConfig().isMetadataPartitionAvailable(RECORD_INDEX)
+        || dataMetaClient.getTableConfig().getTableVersion().lesserThan(HoodieTableVersion.EIGHT)) {
+      return;
+    }
+    if (dataWriteConfig.getWriteConcurrencyMode().supportsMultiWriter() || metadataConfig.isTableServicesAsyncEnabled()) {
+      LOG.info("Not resharding the record index, since it requires the inline table services of a single writer under the lock of the data table");
+      return;
+    }
+    Option<HoodieInstant> pendingDataInstant = dataMetaClient.reloadActiveTimeline().getWriteTimeline().filterInflightsAndRequested()
+        .filter(instant -> !inFlightInstantTimestamp.isPresent() || !instant.requestedTime().equals(inFlightInstantTimestamp.get()))
+        .firstInstant();
+    if (pendingDataInstant.isPresent()) {
+      LOG.info("Not resharding the record index, since there is a pending instant {} on the data table", pendingDataInstant.get());
+      return;
+    }
+    HoodieActiveTimeline metadataTimeline = metadataMetaClient.reloadActiveTimeline();
+    if (!metadataTimeline.filterPendingCompactionTimeline().empty() || !metadataTimeline.filterPendingLogCompactionTimeline().empty()) {
+      LOG.info("Not resharding the record index, since there are pending compactions on the metadata table");
+      return;
+    }
+    Option<HoodieInstant> pendingMetadataInstant = metadataTimeline.getDeltaCommitTimeline().filterInflightsAndRequested().firstInstant();
+    if (pendingMetadataInstant.isPresent()) {
+      LOG.info("Not resharding the record index, since there is a pending delta commit {} on the metadata table", pendingMetadataInstant.get());
+      return;
+    }
+    final String partitionPath = RECORD_INDEX.getPartitionPath();
+    final boolean isPartitioned = dataWriteConfig.isRecordLevelIndexEnabled();
+    List<FileSlice> fileSlices;
+    try (HoodieTableFileSystemView fsView = HoodieTableMetadataUtil.getFileSystemViewForMetadataTable(metadataMetaClient)) {
+      fileSlices = HoodieTableMetadataUtil.getPartitionLatestMergedFileSlices(metadataMetaClient, fsView, partitionPath);
+    }
+    List<RecordIndexReshardPlanner.ReshardGroup> reshardGroups = RecordIndexReshardPlanner.plan(fileSlices, isPartitioned,
+        metadataConfig.getRecordIndexMaxFileGroupSizeBytes(), metadataConfig.getRecordIndexGrowthFactor(),
+        isPartitioned ? metadataConfig.getRecordLevelIndexMaxFileGroupCount() : metadataConfig.getGlobalRecordLevelIndexMaxFileGroupCount());
+    if (reshardGroups.isEmpty()) {
+      return;
+    }
+
+    HoodieTimer reshardTimer = HoodieTimer.start();
+    String instantTime = writeClient.createNewInstantTime(false);
+    try {
+      MetadataTableFileGroupIndexParser indexParser;
+      if (isPartitioned) {
+        Map<String, Integer> partitionSizes = new HashMap<>();
+        reshardGroups.forEach(group -> partitionSizes.put(group.getDataPartition().get(), group.getTargetFileGroupCount()));
+        indexParser = new BucketizedMetadataTableFileGroupIndexParser(partitionSizes);
+      } else {
+        indexParser = new DefaultMetadataTableFileGroupIndexParser(reshardGroups.get(0).getTargetFileGroupCount());
+      }
+      for (RecordIndexReshardPlanner.ReshardGroup group : reshardGroups) {
+        initializeFileGroups(dataMetaClient, RECORD_INDEX, instantTime, group.getFileGroupCount(), group.getTargetFileGroupCount(),
+            partitionPath, group.getDataPartition());
+      }
+      // scan the live records of the record index with an empty key prefix
+      initMetadataReader();
+      final Set<String> dataPartitions = reshardGroups.stream()
+          .filter(group -> group.getDataPartition().isPresent())
+          .map(group -> group.getDataPartition().get())
+          .collect(Collectors.toCollection(HashSet::new));
+      HoodieData<HoodieRecord> records = metadata.getRecordsByKeyPrefixes(
+              HoodieListData.eager(Collections.singletonList(new RecordIndexRawKey(""))), partitionPath, false)
+          .filter(record -> !isPartitioned || dataPartitions.contains(record.getData().getDataPartition()))
+          .map(record -> (HoodieRecord) record);
+      bulkCommit(instantTime, partitionPath, records, indexParser);
+      initMetadataReader();
+      LOG.info("Resharded the record index at {} with {} in {} ms", instantTime, reshardGroups, reshardTimer.endTimer());
+    } catch (IOException e) {
+      throw new HoodieMetadataException("Failed to reshard the record index at " + instantTime, e);
+    }
+  }
+
   protected void cleanIfNecessary(BaseHoodieWriteClient writeClient, String instantTime) {
     Option<HoodieInstant> lastCompletedCompactionInstant = metadataMetaClient.getActiveTimeline()
         .getCommitAndReplaceTimeline().filterCompletedInstants().lastInstant();
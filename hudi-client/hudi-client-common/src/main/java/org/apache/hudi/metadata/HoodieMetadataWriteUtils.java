@@ -78,7 +78,6 @@ import org.apache.hudi.core.io.storage.HoodieFileWriterFactory;
 import org.apache.hudi.core.transaction.lock.InProcessLockProvider;
 import org.apache.hudi.exception.HoodieException;
 import org.apache.hudi.exception.HoodieMetadataException;
-import org.apache.hudi.metadata.stats.HoodieColumnRangeMetadata;
 import org.apache.hudi.storage.HoodieStorage;
 import org.apache.hudi.storage.StoragePath;
 import org.apache.hudi.storage.StoragePathInfo;
@@ -101,7 +100,6 @@ import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
-import static java.util.stream.Collectors.toList;
 import static org.apache.hudi.common.config.HoodieMetadataConfig.DEFAULT_METADATA_ASYNC_CLEAN;
 import static org.apache.hudi.common.config.HoodieMetadataConfig.DEFAULT_METADATA_CLEANER_COMMITS_RETAINED;
 import static org.apache.hudi.common.config.HoodieMetadataConfig.DEFAULT_METADATA_POPULATE_META_FIELDS;
@@ -109,7 +107,6 @@ import static org.apache.hudi.common.model.LogExtensions.DATA_LOG_EXTENSION;
 import static org.apache.hudi.common.util.StringUtils.nonEmpty;
 import static org.apache.hudi.common.util.ValidationUtils.checkState;
 import static org.apache.hudi.metadata.HoodieTableMetadata.METADATA_TABLE_NAME_SUFFIX;
-import static org.apache.hudi.metadata.HoodieTableMetadataUtil.translateWriteStatToFileStats;
 
 /**
  * Metadata table write utils.
@@ -482,9 +479,7 @@ public class HoodieMetadataWriteUtils {
                                                        String partitionName,
                                                        String maxInstantTime,
                                                        String instantTime,
-                                                       Map<String, Set<String>> fileGroupIdsToReplaceMap,
-                                                       List<String> colsToIndex,
-                                                       HoodieIndexVersion partitionStatsIndexVersion) {
+                                                       Map<String, Set<String>> fileGroupIdsToReplaceMap) {
     // Get the latest merged file slices based on the committed files part of the latest snapshot and the new files of the current commit metadata
     List<StoragePathInfo> consolidatedPathInfos = new ArrayList<>();
     partitionedWriteStat.forEach(
@@ -505,9 +500,6 @@ public class HoodieMetadataWriteUtils {
         tableMetadata, dataMetaClient, dataMetaClient.getActiveTimeline(),
         consolidatedPathInfos, dataWriteConfig.getViewStorageConfig(), dataWriteConfig.getCommonConfig());
 
-    // Collect column metadata for each file part of the latest merged file slice before the current instant time
-    List<HoodieColumnRangeMetadata<Comparable>> fileColumnMetadata = partitionedWriteStat.stream()
-        .flatMap(writeStat -> translateWriteStatToFileStats(writeStat, dataMetaClient, colsToIndex, partitionStatsIndexVersion).stream()).collect(toList());
     Set<String> fileGroupIdsToReplace = fileGroupIdsToReplaceMap.getOrDefault(partitionName, Collections.emptySet());
     Set<String> filesWithColumnStats = partitionedWriteStat.stream()
         .map(stat -> new StoragePath(stat.getPath()).getName()).collect(Collectors.toSet());
@@ -160,6 +160,7 @@ public interface HoodieTableMetadataWriter<I,O> extends Serializable, AutoClosea
 
   /**
    * Perform various table services like compaction, cleaning, archiving on the MDT if required.
+   * The write clients invoke it under the lock of the data table.
    *
    * @param inFlightInstantTimestamp Timestamp of an instant which is in-progress. This instant is ignored while
    *                                 deciding if optimizations can be performed.
@@ -170,6 +171,7 @@ public interface HoodieTableMetadataWriter<I,O> extends Serializable, AutoClosea
 
   /**
    * Perform various table services like compaction, cleaning, archiving on the MDT if required.
+   * The write clients invoke it under the lock of the data table.
    *
    * @param inFlightInstantTimestamp Timestamp of an instant which is in-progress. This instant is ignored while
    *                                 deciding if optimizations can be performed.
@@ -178,6 +180,13 @@ public interface HoodieTableMetadataWriter<I,O> extends Serializable, AutoClosea
     performTableServices(inFlightInstantTimestamp, false);
   }
 
+  /**
+   * Perform the table services like compaction, cleaning, archiving on the MDT if required, out of band of the data
+   * table writers. Only used when {@link org.apache.hudi.common.config.HoodieMetadataConfig#TABLE_SERVICES_ASYNC_ENABLE}
+   * is enabled, in which case {@link #performTableServices(Option)} does not run them.
+   */
+  void performTableServicesOutOfBand();
+
   /**
    * This returns true if the metadata table's partitions state is changed.
    */
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.metadata;
+
+import org.apache.hudi.common.model.FileSlice;
+import org.apache.hudi.common.util.Option;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Plans the online resharding of the record index in the metadata table.
+ * <p>
+ * Record keys are mapped to the file groups by {@code hash(key) % N}, see {@link HoodieTableMetadataUtil#mapRecordKeyToFileGroupIndex}.
+ * When the number of file groups grows from N to k * N, the keys of file group i are spread over the file groups
+ * {i, i + N, ..., i + (k - 1) * N} and no key moves between file groups of a different residue. So every file group is split
+ * into the same number of file groups, which keeps the writers and readers resolving the keys by the number of file groups
+ * w/o any change of the layout. For the partitioned record index, the file groups of each data partition are planned separately.
+ * <p>
+ * A layout is resharded once its largest file group exceeds the max file group size, the target number of file groups is
+ * estimated from the total size of the file groups multiplied by the growth factor, and bounded by the max file group count.
+ */
+@Slf4j
+public class RecordIndexReshardPlanner {
+
+  private RecordIndexReshardPlanner() {
+  }
+
+  /**
+   * The file groups of the global record index, or of a data partition of the partitioned record index, to reshard.
+   */
+  @Value
+  public static class ReshardGroup {
+    Option<String> dataPartition;
+    int fileGroupCount;
+    int targetFileGroupCount;
+  }
+
+  /**
+   * Plans the file groups to reshard from the latest merged file slices of the record index partition.
+   *
+   * @param fileSlices            latest merged file slices of the record index partition
+   * @param isPartitioned         whether the record index is partitioned by the data partitions
+   * @param maxFileGroupSizeBytes max size of a file group
+   * @param growthFactor          expected growth of the records
+   * @param maxFileGroupCount     max number of file groups, per data partition for the partitioned record index
+   * @return the file groups to reshard, empty if no file group is oversized
+   */
+  public static List<ReshardGroup> plan(List<FileSlice> fileSlices, boolean isPartitioned, long maxFileGroupSizeBytes,
+                                        float growthFactor, int maxFileGroupCount) {
+    if (fileSlices.isEmpty() || maxFileGroupSizeBytes <= 0) {
+      return Collections.emptyList();
+    }
+    Map<String, List<FileSlice>> fileSlicesByDataPartition = isPartitioned
+        ? fileSlices.stream().collect(Collectors.groupingBy(
+            slice -> HoodieTableMetadataUtil.getDataTablePartitionNameFromFileGroupName(slice.getFileId()), TreeMap::new, Collectors.toList()))
+        : Collections.singletonMap("", fileSlices);
+    List<ReshardGroup> plan = new ArrayList<>();
+    fileSlicesByDataPartition.forEach((dataPartition, slices) -> {
+      Option<String> dataPartitionOpt = isPartitioned ? Option.of(dataPartition) : Option.empty();
+      String layout = isPartitioned ? "data partition " + dataPartition : "the global record index";
+      if (!isContiguous(slices)) {
+        log.warn("Skip resharding the record index file groups of {} since the file group indexes are not contiguous", layout);
+        return;
+      }
+      long maxSize = slices.stream().mapToLong(FileSlice::getTotalFileSize).max().getAsLong();
+      if (maxSize <= maxFileGroupSizeBytes) {
+        return;
+      }
+      long totalSize = slices.stream().mapToLong(FileSlice::getTotalFileSize).sum();
+      int splitFactor = computeSplitFactor(slices.size(), totalSize, maxFileGroupSizeBytes, growthFactor, maxFileGroupCount);
+      if (splitFactor < 2) {
+        log.warn("Skip resharding the record index file groups of {} with the largest file group of {} bytes, since {} file groups "
+            + "can not be split within the max file group count {}", layout, maxSize, slices.size(), maxFileGroupCount);
+        return;
+      }
+      log.info("Planning to reshard the record index file groups of {} from {} to {}, the largest file group has {} bytes of {} bytes in total",
+          layout, slices.size(), slices.size() * splitFactor, maxSize, totalSize);
+      plan.add(new ReshardGroup(dataPartitionOpt, slices.size(), slices.size() * splitFactor));
+    });
+    return plan;
+  }
+
+  /**
+   * Computes the number of file groups each of the {@code fileGroupCount} file groups is split into.
+   */
+  static int computeSplitFactor(int fileGroupCount, long totalSize, long maxFileGroupSizeBytes, float growthFactor, int maxFileGroupCount) {
+    long expectedSize = (long) Math.ceil((double) totalSize * Math.max(growthFactor, 1.0f));
+    long targetFileGroupCount = (expectedSize + maxFileGroupSizeBytes - 1) / maxFileGroupSizeBytes;
+    // at least split into two since the largest file group is oversized
+    long splitFactor = Math.max(2, (targetFileGroupCount + fileGroupCount - 1) / fileGroupCount);
+    return (int) Math.min(splitFactor, maxFileGroupCount / fileGroupCount);
+  }
+
+  private static boolean isContiguous(List<FileSlice> slices) {
+    // the file slices are sorted by the file id
+    for (int i = 0; i < slices.size(); i++) {
+      if (HoodieTableMetadataUtil.getFileGroupIndexFromFileId(slices.get(i).getFileId()) != i) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
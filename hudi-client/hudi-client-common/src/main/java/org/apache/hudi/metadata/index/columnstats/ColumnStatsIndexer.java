@@ -61,10 +61,12 @@ import java.util.stream.Stream;
 
 import static org.apache.hudi.common.fs.FSUtils.getFileNameFromPath;
 import static org.apache.hudi.index.HoodieIndexUtils.register;
+import static org.apache.hudi.metadata.HoodieTableMetadataUtil.COLUMN_STATS_DISTINCT_COUNT_SKETCH_PRECISION_OPTION;
 import static org.apache.hudi.metadata.HoodieTableMetadataUtil.PARTITION_NAME_COLUMN_STATS;
 import static org.apache.hudi.metadata.HoodieTableMetadataUtil.existingIndexVersionOrDefault;
 import static org.apache.hudi.metadata.HoodieTableMetadataUtil.getColumnStatsRecords;
 import static org.apache.hudi.metadata.HoodieTableMetadataUtil.getColumnsToIndex;
+import static org.apache.hudi.metadata.HoodieTableMetadataUtil.getDistinctCountSketchPrecision;
 import static org.apache.hudi.metadata.MetadataPartitionType.COLUMN_STATS;
 
 /**
@@ -104,7 +106,7 @@ public class ColumnStatsIndexer extends BaseIndexer {
         engineContext, Collections.emptyMap(), partitionToAllFilesMap,
         dataTableMetaClient, dataTableWriteConfig.getColumnStatsIndexParallelism(),
         dataTableWriteConfig.getMetadataConfig().getMaxReaderBufferSize(),
-        columnsToIndex.get());
+        columnsToIndex.get(), getDistinctCountSketchPrecision(dataTableMetaClient, dataTableWriteConfig.getMetadataConfig()));
     return Collections.singletonList(IndexInitializationPlan.of(fileGroupCount, COLUMN_STATS.getPartitionPath(), records));
   }
 
@@ -154,6 +156,10 @@ public class ColumnStatsIndexer extends BaseIndexer {
   @Override
   public void postInitialization(HoodieTableMetaClient metadataMetaClient, HoodieData<HoodieRecord> records, int fileGroupCount, String relativePartitionPath) {
     List<String> indexColumns = records.isEmpty() ? Collections.emptyList() : columnsToIndex.get();
+    // the sketch precision is fixed once the index is built, so that the sketches of all the files can be merged
+    Map<String, String> indexOptions = getDistinctCountSketchPrecision(dataTableMetaClient, dataTableWriteConfig.getMetadataConfig())
+        .map(precision -> Collections.singletonMap(COLUMN_STATS_DISTINCT_COUNT_SKETCH_PRECISION_OPTION, String.valueOf(precision)))
+        .orElseGet(Collections::emptyMap);
     HoodieIndexDefinition indexDefinition = HoodieIndexDefinition.newBuilder()
         .withIndexName(PARTITION_NAME_COLUMN_STATS)
         .withIndexType(PARTITION_NAME_COLUMN_STATS)
@@ -161,7 +167,7 @@ public class ColumnStatsIndexer extends BaseIndexer {
         .withSourceFields(indexColumns)
         // Use the existing version if exists, otherwise fall back to the default version.
         .withVersion(existingIndexVersionOrDefault(PARTITION_NAME_COLUMN_STATS, dataTableMetaClient))
-        .withIndexOptions(Collections.emptyMap())
+        .withIndexOptions(indexOptions)
         .build();
     log.info("Registering or updating index: {} of type: {}", indexDefinition.getIndexName(), indexDefinition.getIndexType());
     register(dataTableMetaClient, indexDefinition);
@@ -190,9 +196,10 @@ public class ColumnStatsIndexer extends BaseIndexer {
       }
       List<String> columnsToIndex = new ArrayList<>(columnsToIndexSchemaMap.keySet());
       int parallelism = Math.max(Math.min(allWriteStats.size(), metadataConfig.getColumnStatsIndexParallelism()), 1);
+      Option<Integer> distinctCountSketchPrecision = getDistinctCountSketchPrecision(dataMetaClient);
       return engineContext.parallelize(allWriteStats, parallelism)
           .flatMap(writeStat ->
-              translateWriteStatToColumnStats(writeStat, dataMetaClient, columnsToIndex).iterator());
+              translateWriteStatToColumnStats(writeStat, dataMetaClient, columnsToIndex, distinctCountSketchPrecision).iterator());
     } catch (Exception e) {
       throw new HoodieException("Failed to generate column stats records for metadata table", e);
     }
@@ -239,14 +246,15 @@ public class ColumnStatsIndexer extends BaseIndexer {
         .flatMap(deleteFileInfoPair -> {
           String partitionPath = deleteFileInfoPair.getLeft();
           String fileName = deleteFileInfoPair.getRight();
-          return getColumnStatsRecords(partitionPath, fileName, dataMetaClient, columnsToIndex, true).iterator();
+          return getColumnStatsRecords(partitionPath, fileName, dataMetaClient, columnsToIndex, true, Option.empty()).iterator();
         });
   }
 
   private static Stream<HoodieRecord> translateWriteStatToColumnStats(
       HoodieWriteStat writeStat,
       HoodieTableMetaClient datasetMetaClient,
-      List<String> columnsToIndex) {
+      List<String> columnsToIndex,
+      Option<Integer> distinctCountSketchPrecision) {
     if (writeStat.getColumnStats().isPresent()) {
       Map<String, HoodieColumnRangeMetadata<Comparable>> columnRangeMap = writeStat.getColumnStats().get();
       Collection<HoodieColumnRangeMetadata<Comparable>> columnRangeMetadataList = columnRangeMap.values();
@@ -254,6 +262,6 @@ public class ColumnStatsIndexer extends BaseIndexer {
     }
 
     String filePath = writeStat.getPath();
-    return getColumnStatsRecords(writeStat.getPartitionPath(), getFileNameFromPath(filePath), datasetMetaClient, columnsToIndex, false);
+    return getColumnStatsRecords(writeStat.getPartitionPath(), getFileNameFromPath(filePath), datasetMetaClient, columnsToIndex, false, distinctCountSketchPrecision);
   }
 }
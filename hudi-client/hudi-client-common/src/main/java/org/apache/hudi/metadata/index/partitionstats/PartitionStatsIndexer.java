@@ -74,6 +74,7 @@ import static org.apache.hudi.metadata.HoodieTableMetadataUtil.PARTITION_NAME_PA
 import static org.apache.hudi.metadata.HoodieTableMetadataUtil.existingIndexVersionOrDefault;
 import static org.apache.hudi.metadata.HoodieTableMetadataUtil.generateColumnStatsKeys;
 import static org.apache.hudi.metadata.HoodieTableMetadataUtil.getColumnsToIndex;
+import static org.apache.hudi.metadata.HoodieTableMetadataUtil.getDistinctCountSketchPrecision;
 import static org.apache.hudi.metadata.HoodieTableMetadataUtil.translateWriteStatToFileStats;
 import static org.apache.hudi.metadata.MetadataPartitionType.PARTITION_STATS;
 
@@ -194,6 +195,7 @@ public class PartitionStatsIndexer extends BaseIndexer {
 
       int parallelism = Math.max(Math.min(partitionedWriteStats.size(), metadataConfig.getPartitionStatsIndexParallelism()), 1);
       String maxInstantTime = getMaxInstantTime(dataMetaClient, instantTime);
+      Option<Integer> distinctCountSketchPrecision = getDistinctCountSketchPrecision(dataMetaClient);
       HoodiePairData<String, List<HoodieColumnRangeMetadata<Comparable>>> columnRangeMetadata =
           engineContext.parallelize(partitionedWriteStats, parallelism).mapToPair(partitionedWriteStat -> {
             final String partitionName = partitionedWriteStat.get(0).getPartitionPath();
@@ -201,10 +203,10 @@ public class PartitionStatsIndexer extends BaseIndexer {
 
             // Collect column metadata for each file part of the latest merged file slice before the current instant time
             List<HoodieColumnRangeMetadata<Comparable>> fileColumnMetadata = partitionedWriteStat.stream()
-                .flatMap(writeStat -> translateWriteStatToFileStats(writeStat, dataMetaClient, colsToIndex, partitionStatsIndexVersion).stream()).collect(toList());
+                .flatMap(writeStat -> translateWriteStatToFileStats(writeStat, dataMetaClient, colsToIndex, partitionStatsIndexVersion, distinctCountSketchPrecision).stream()).collect(toList());
             // Collect column metadata of each file that does not have column stats provided by the write stat in the commit metadata
             Set<String> filesToFetchColumnStats = getFilesToFetchColumnStats(partitionedWriteStat, dataMetaClient, tableMetadata, dataWriteConfig, partitionName, maxInstantTime,
-                instantTime, fileGroupIdsToReplaceMap, colsToIndex, partitionStatsIndexVersion);
+                instantTime, fileGroupIdsToReplaceMap);
             // Fetch metadata table COLUMN_STATS partition records for the above files
             List<HoodieColumnRangeMetadata<Comparable>> partitionColumnMetadata = tableMetadata
                 .getRecordsByKeyPrefixes(
@@ -40,10 +40,10 @@ public abstract class BucketSortBulkInsertPartitioner<T> implements BulkInsertPa
   }
 
   /**
-   * Check if the records can be sorted by custom columns
+   * Check if the records can be sorted by custom columns, the tables requiring sorted records are always sorted by record key
    */
   protected boolean isCustomSorted() {
-    return sortColumnNames != null && sortColumnNames.length > 0;
+    return sortColumnNames != null && sortColumnNames.length > 0 && !table.requireSortedRecords();
   }
 
   /**
@@ -33,6 +33,7 @@ import org.apache.hudi.common.model.HoodieFileGroupId;
 import org.apache.hudi.common.model.HoodieLogFile;
 import org.apache.hudi.common.model.HoodieReplaceCommitMetadata;
 import org.apache.hudi.common.model.HoodieTableType;
+import org.apache.hudi.common.model.HoodieWriteStat;
 import org.apache.hudi.common.model.WriteOperationType;
 import org.apache.hudi.common.table.timeline.HoodieInstant;
 import org.apache.hudi.common.table.timeline.HoodieTimeline;
@@ -61,9 +62,12 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -97,6 +101,8 @@ public class CleanPlanner<T, I, K, O> implements Serializable {
   private Option<HoodieInstant> earliestCommitToRetain = Option.empty();
   private Option<HoodieInstant> lastCompletedClean = Option.empty();
   private Option<HoodieCleanMetadata> lastCleanMetadata = Option.empty();
+  // file ids touched by the commits since the last clean per partition, present if the file groups are planned incrementally
+  private Option<Map<String, Set<String>>> fileIdsToCleanByPartition = Option.empty();
 
   public CleanPlanner(HoodieEngineContext context, HoodieTable<T, I, K, O> hoodieTable, HoodieWriteConfig config) {
     this.context = context;
@@ -238,12 +244,43 @@ public class CleanPlanner<T, I, K, O> implements Serializable {
           cleanMetadata.getEarliestCommitToRetain(),
           newInstantToRetain);
 
-      return hoodieTable.getCompletedCommitsTimeline().getInstantsAsStream()
+      List<HoodieInstant> instantsSinceLastClean = hoodieTable.getCompletedCommitsTimeline().getInstantsAsStream()
           .filter(instant -> compareTimestamps(instant.requestedTime(), GREATER_THAN_OR_EQUALS,
               cleanMetadata.getEarliestCommitToRetain()) && compareTimestamps(instant.requestedTime(),
               LESSER_THAN, newInstantToRetain.get().requestedTime()))
-          .flatMap(this::getPartitionsForInstants).distinct().collect(Collectors.toList());
+          .collect(Collectors.toList());
+      if (config.incrementalFileGroupCleanerModeEnabled()) {
+        return getPartitionPathsForIncrementalFileGroupCleaning(instantsSinceLastClean);
+      }
+      return instantsSinceLastClean.stream().flatMap(this::getPartitionsForInstants).distinct().collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * Use Incremental Mode for finding the file groups to clean, the file groups touched by the given instants are collected
+   * from the write stats in parallel, so that only these file groups are built when getting the files to clean of a partition.
+   *
+   * @param instants instants completed since the last clean
+   * @return list of partitions of the touched file groups
+   */
+  private List<String> getPartitionPathsForIncrementalFileGroupCleaning(List<HoodieInstant> instants) {
+    Map<String, Set<String>> fileIdsByPartition = new HashMap<>();
+    if (!instants.isEmpty()) {
+      context.flatMap(instants, this::getFileGroupsForInstant, Math.min(instants.size(), config.getCleanerParallelism()))
+          .forEach(fileGroupId -> fileIdsByPartition.computeIfAbsent(fileGroupId.getPartitionPath(), k -> new HashSet<>()).add(fileGroupId.getFileId()));
     }
+    log.info("Incremental file group cleaning mode is enabled. Found {} file groups in {} partitions touched by {} instants since last clean.",
+        fileIdsByPartition.values().stream().mapToInt(Set::size).sum(), fileIdsByPartition.size(), instants.size());
+    fileIdsToCleanByPartition = Option.of(fileIdsByPartition);
+    return new ArrayList<>(fileIdsByPartition.keySet());
+  }
+
+  /**
+   * Returns whether the file groups to clean are planned incrementally, i.e. only the file groups touched since the last clean
+   * are built for the partitions to clean.
+   */
+  public boolean isFileGroupCleaningIncremental() {
+    return fileIdsToCleanByPartition.isPresent();
   }
 
   private boolean isAnySavepointDeleted(HoodieCleanMetadata cleanMetadata) {
@@ -291,6 +328,43 @@ public class CleanPlanner<T, I, K, O> implements Serializable {
     }
   }
 
+  /**
+   * Fetch file groups updated as part of a HoodieInstant, same as {@link #getPartitionsForInstants} but in file group granularity.
+   * @param instant {@link HoodieInstant} of interest.
+   * @return file groups that were part of {@link HoodieInstant} given.
+   */
+  private Stream<HoodieFileGroupId> getFileGroupsForInstant(HoodieInstant instant) {
+    try {
+      if (HoodieTimeline.REPLACE_COMMIT_ACTION.equals(instant.getAction())) {
+        HoodieReplaceCommitMetadata replaceCommitMetadata =
+            hoodieTable.getActiveTimeline().readReplaceCommitMetadata(instant);
+        return Stream.concat(
+            replaceCommitMetadata.getPartitionToReplaceFileIds().entrySet().stream()
+                .flatMap(entry -> entry.getValue().stream().map(fileId -> new HoodieFileGroupId(entry.getKey(), fileId))),
+            getFileGroupsForWriteStats(replaceCommitMetadata, false));
+      } else {
+        HoodieCommitMetadata commitMetadata =
+            hoodieTable.getActiveTimeline().readCommitMetadata(instant);
+        WriteOperationType operationType = commitMetadata.getOperationType();
+        // Same as the partitions, for COW upsert/insert, only the file groups with an older file slice to clean are returned.
+        boolean onlyUpdatedFileGroups = (WriteOperationType.isUpsert(operationType) || WriteOperationType.isInsertWithoutReplace(operationType))
+            && HoodieTimeline.COMMIT_ACTION.equals(instant.getAction())
+            && hoodieTable.getMetaClient().getTableType().equals(HoodieTableType.COPY_ON_WRITE);
+        return getFileGroupsForWriteStats(commitMetadata, onlyUpdatedFileGroups);
+      }
+    } catch (IOException e) {
+      throw new HoodieIOException(e.getMessage(), e);
+    }
+  }
+
+  private static Stream<HoodieFileGroupId> getFileGroupsForWriteStats(HoodieCommitMetadata commitMetadata, boolean onlyUpdatedFileGroups) {
+    return commitMetadata.getPartitionToWriteStats().entrySet().stream()
+        .flatMap(entry -> entry.getValue().stream()
+            .filter(writeStat -> !onlyUpdatedFileGroups
+                || !Option.ofNullable(writeStat.getPrevCommit()).orElse(HoodieWriteStat.NULL_COMMIT).equalsIgnoreCase(HoodieWriteStat.NULL_COMMIT))
+            .map(writeStat -> new HoodieFileGroupId(entry.getKey(), writeStat.getFileId())));
+  }
+
   /**
    * Scan and list all partitions for cleaning.
    * @return all partitions paths for the dataset.
@@ -448,7 +522,7 @@ public class CleanPlanner<T, I, K, O> implements Serializable {
       // all replaced file groups before earliestCommitToRetain are eligible to clean
       deletePaths.addAll(getReplacedFilesEligibleToClean(savepointedFiles, partitionPath, earliestCommitToRetain));
       // add active files
-      List<HoodieFileGroup> fileGroups = hoodieTable.getHoodieView().getAllFileGroupsStateless(partitionPath).collect(Collectors.toList());
+      List<HoodieFileGroup> fileGroups = getFileGroupsToClean(partitionPath);
       for (HoodieFileGroup fileGroup : fileGroups) {
         List<FileSlice> fileSliceList = fileGroup.getAllFileSlices().collect(Collectors.toList());
 
@@ -500,6 +574,8 @@ public class CleanPlanner<T, I, K, O> implements Serializable {
       // and no pending data files under the partition [IMPORTANT],
       // and no subsequent replace commit after the earliest retained commit
       // mark it to be deleted
+      // NOTE: the listing of the pending data files also includes the committed file groups, which guards
+      // the file groups not touched since the last clean if the file groups are planned incrementally
       if (fileGroups.isEmpty()
           && !hasPendingFiles(partitionPath)
           && noSubsequentReplaceCommit(earliestInstant.requestedTime(), partitionPath)) {
@@ -509,6 +585,18 @@ public class CleanPlanner<T, I, K, O> implements Serializable {
     return Pair.of(toDeletePartition, deletePaths);
   }
 
+  /**
+   * Returns the active file groups of the partition, only the file groups touched since the last clean are returned
+   * if the file groups are planned incrementally.
+   */
+  private List<HoodieFileGroup> getFileGroupsToClean(String partitionPath) {
+    if (fileIdsToCleanByPartition.isPresent()) {
+      Set<String> fileIds = fileIdsToCleanByPartition.get().getOrDefault(partitionPath, Collections.emptySet());
+      return hoodieTable.getHoodieView().getFileGroupsStateless(partitionPath, fileIds).collect(Collectors.toList());
+    }
+    return hoodieTable.getHoodieView().getAllFileGroupsStateless(partitionPath).collect(Collectors.toList());
+  }
+
   /**
    * Returns whether there are uncommitted data files under the given partition,
    * the pending files are generated by the inflight instants and maybe ready to commit,
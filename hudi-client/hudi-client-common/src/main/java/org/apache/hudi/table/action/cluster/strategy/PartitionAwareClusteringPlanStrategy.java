@@ -241,7 +241,7 @@ public abstract class PartitionAwareClusteringPlanStrategy<T,I,K,O> extends Clus
     }
 
     HoodieClusteringStrategy strategy = HoodieClusteringStrategy.newBuilder()
-        .setStrategyClassName(getWriteConfig().getClusteringExecutionStrategyClass())
+        .setStrategyClassName(getExecutionStrategyClassName())
         .setStrategyParams(getStrategyParams())
         .build();
 
@@ -255,6 +255,13 @@ public abstract class PartitionAwareClusteringPlanStrategy<T,I,K,O> extends Clus
         .build());
   }
 
+  /**
+   * Returns the class name of the execution strategy of the clustering plan, the configured one by default.
+   */
+  protected String getExecutionStrategyClassName() {
+    return getWriteConfig().getClusteringExecutionStrategyClass();
+  }
+
   public List<String> getRegexPatternMatchedPartitions(HoodieWriteConfig config, List<String> partitionPaths) {
     String pattern = config.getClusteringPartitionFilterRegexPattern();
     if (!StringUtils.isNullOrEmpty(pattern)) {
@@ -56,6 +56,15 @@ public class CompactHelpers<T, I, K, O> {
 
   private static final CompactHelpers SINGLETON_INSTANCE = new CompactHelpers();
 
+  // commit metadata of the compactions of tables with the LSM tree layout
+  public static final String LSM_RUN_COMPACTION_POLICY_KEY = "lsm.run.compaction.policy";
+  public static final String LSM_LIVE_RUNS_KEY = "lsm.l0.live.runs";
+  public static final String LSM_SELECTED_RUNS_KEY = "lsm.l0.selected.runs";
+  public static final String LSM_COMPACTED_FILES_KEY_FORMAT = "lsm.%s.compacted.files";
+  public static final String LSM_COMPACTED_BYTES_KEY_FORMAT = "lsm.%s.compacted.bytes";
+  public static final String LSM_WRITTEN_BYTES_KEY_FORMAT = "lsm.%s.written.bytes";
+  public static final String LSM_WRITE_AMPLIFICATION_KEY_FORMAT = "lsm.%s.write.amplification";
+
   public static CompactHelpers getInstance() {
     return SINGLETON_INSTANCE;
   }
@@ -84,9 +93,35 @@ public class CompactHelpers<T, I, K, O> {
     if (compactionPlan.getExtraMetadata() != null) {
       compactionPlan.getExtraMetadata().forEach(metadata::addMetadata);
     }
+    if (table.getMetaClient().getTableConfig().isLSMTreeStorageLayout()) {
+      // log compaction merges L0 sorted runs into a new L0 run, compaction merges them into the L1 base file
+      addWriteAmplification(metadata, updateStatusMap, operationType == WriteOperationType.COMPACT ? "l1" : "l0");
+    }
     return metadata;
   }
 
+  /**
+   * Adds the write amplification of the level written by the compaction, that is the bytes written to the level
+   * divided by the bytes of the log files compacted into it.
+   */
+  private static void addWriteAmplification(HoodieCommitMetadata metadata, List<HoodieWriteStat> writeStats, String level) {
+    long compactedFiles = 0;
+    long compactedBytes = 0;
+    long writtenBytes = 0;
+    for (HoodieWriteStat stat : writeStats) {
+      compactedFiles += stat.getTotalLogFilesCompacted();
+      compactedBytes += stat.getTotalLogSizeCompacted();
+      writtenBytes += stat.getTotalWriteBytes();
+    }
+    metadata.addMetadata(String.format(LSM_COMPACTED_FILES_KEY_FORMAT, level), String.valueOf(compactedFiles));
+    metadata.addMetadata(String.format(LSM_COMPACTED_BYTES_KEY_FORMAT, level), String.valueOf(compactedBytes));
+    metadata.addMetadata(String.format(LSM_WRITTEN_BYTES_KEY_FORMAT, level), String.valueOf(writtenBytes));
+    if (compactedBytes > 0) {
+      metadata.addMetadata(String.format(LSM_WRITE_AMPLIFICATION_KEY_FORMAT, level),
+          String.format("%.2f", (double) writtenBytes / compactedBytes));
+    }
+  }
+
   public void completeInflightCompaction(HoodieTable table, String compactionCommitTime, HoodieCommitMetadata commitMetadata) {
     HoodieActiveTimeline activeTimeline = table.getActiveTimeline();
     try {
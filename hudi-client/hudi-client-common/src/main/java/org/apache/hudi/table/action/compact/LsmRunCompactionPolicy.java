@@ -0,0 +1,33 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.table.action.compact;
+
+import org.apache.hudi.common.config.EnumDescription;
+import org.apache.hudi.common.config.EnumFieldDescription;
+
+@EnumDescription("Controls which L0 sorted runs of a file group are merged by the log compaction of LSM tables.")
+public enum LsmRunCompactionPolicy {
+
+    @EnumFieldDescription("merges the newest sorted runs of similar size, an older run is merged if its size is no more "
+        + "than hoodie.compact.lsm.size.tier.ratio times the total size of the newer runs selected.")
+    SIZE_TIERED,
+
+    @EnumFieldDescription("merges all the L0 sorted runs into a single run.")
+    LEVELED
+}
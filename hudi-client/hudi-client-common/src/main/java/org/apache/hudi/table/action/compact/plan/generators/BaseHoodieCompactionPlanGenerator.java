@@ -146,16 +146,12 @@ public abstract class BaseHoodieCompactionPlanGenerator<T extends HoodieRecordPa
           return s.filterLogFiles(logFile -> completionTimeQueryView.isCompletedBefore(compactionInstant, logFile.getDeltaCommitTime()));
         })
         .filter(FileSlice::hasLogFiles) // compaction is not needed if there is no log file.
-        .map(s -> {
-          List<HoodieLogFile> logFiles = s.getLogFiles().sorted(HoodieLogFile.getLogFileComparator()).collect(toList());
-          totalLogFiles.add(logFiles.size());
+        .map(s -> buildCompactionOperation(partitionPath, s))
+        .filter(Option::isPresent)
+        .map(op -> {
+          totalLogFiles.add(op.get().getDeltaFileNames().size());
           totalFileSlices.add(1L);
-          // Avro generated classes are not inheriting Serializable. Using CompactionOperation POJO
-          // for Map operations and collecting them finally in Avro generated classes for storing
-          // into meta files.
-          Option<HoodieBaseFile> dataFile = s.getBaseFile();
-          return new CompactionOperation(dataFile, partitionPath, logFiles,
-              writeConfig.getCompactionStrategy().captureMetrics(writeConfig, s));
+          return op.get();
         }), partitionPaths.size()).stream()
         .map(CompactionUtils::buildHoodieCompactionOperation).collect(toList());
 
@@ -203,6 +199,19 @@ public abstract class BaseHoodieCompactionPlanGenerator<T extends HoodieRecordPa
     return fileSlice.getLogFiles().count() > 0 && !pendingFileGroupIds.contains(fileSlice.getFileGroupId());
   }
 
+  /**
+   * Builds the compaction operation of a file slice with log files, returns empty if there is nothing to compact.
+   */
+  protected Option<CompactionOperation> buildCompactionOperation(String partitionPath, FileSlice fileSlice) {
+    List<HoodieLogFile> logFiles = fileSlice.getLogFiles().sorted(HoodieLogFile.getLogFileComparator()).collect(toList());
+    // Avro generated classes are not inheriting Serializable. Using CompactionOperation POJO
+    // for Map operations and collecting them finally in Avro generated classes for storing
+    // into meta files.
+    Option<HoodieBaseFile> dataFile = fileSlice.getBaseFile();
+    return Option.of(new CompactionOperation(dataFile, partitionPath, logFiles,
+        writeConfig.getCompactionStrategy().captureMetrics(writeConfig, fileSlice)));
+  }
+
   protected Map<String, String> getStrategyParams() {
     return Collections.emptyMap();
   }
@@ -52,6 +52,7 @@ public class HoodieCompactionPlanGenerator<T extends HoodieRecordPayload, I, K,
 
   @Override
   protected HoodieCompactionPlan getCompactionPlan(HoodieTableMetaClient metaClient, List<HoodieCompactionOperation> operations, Pair<List<String>, List<String>> partitionPair) {
+    compactionStrategy.captureTableMetrics(metaClient, writeConfig, operations);
     // Filter the compactions with the passed in filter. This lets us choose most effective
     // compactions only
     return compactionStrategy.generateCompactionPlan(writeConfig, operations,
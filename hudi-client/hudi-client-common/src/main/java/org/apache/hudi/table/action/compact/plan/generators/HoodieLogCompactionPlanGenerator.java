@@ -22,6 +22,7 @@ import org.apache.hudi.avro.model.HoodieCompactionOperation;
 import org.apache.hudi.avro.model.HoodieCompactionPlan;
 import org.apache.hudi.avro.model.HoodieCompactionStrategy;
 import org.apache.hudi.common.engine.HoodieEngineContext;
+import org.apache.hudi.common.model.CompactionOperation;
 import org.apache.hudi.common.model.FileSlice;
 import org.apache.hudi.common.model.HoodieFileGroupId;
 import org.apache.hudi.common.model.HoodieLogFile;
@@ -30,22 +31,31 @@ import org.apache.hudi.common.model.TableServiceType;
 import org.apache.hudi.common.table.HoodieTableMetaClient;
 import org.apache.hudi.common.table.log.HoodieLogBlockMetadataScanner;
 import org.apache.hudi.common.table.log.InstantRange;
+import org.apache.hudi.common.table.read.lsm.LsmReaderUtils;
 import org.apache.hudi.common.util.CompactionUtils;
 import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.config.HoodieWriteConfig;
 import org.apache.hudi.table.HoodieTable;
 import org.apache.hudi.table.action.BaseTableServicePlanActionExecutor;
+import org.apache.hudi.table.action.compact.CompactHelpers;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
 @Slf4j
 public class HoodieLogCompactionPlanGenerator<T extends HoodieRecordPayload, I, K, O> extends BaseHoodieCompactionPlanGenerator<T, I, K, O> {
+  private static final String LSM_LIVE_RUNS = "LSM_LIVE_RUNS";
+  private static final String LSM_SELECTED_RUNS = "LSM_SELECTED_RUNS";
+  private static final String LSM_SELECTED_BYTES = "LSM_SELECTED_BYTES";
+
   private final HoodieCompactionStrategy compactionStrategy;
+  private final boolean isLsmTable;
 
   public HoodieLogCompactionPlanGenerator(HoodieTable table, HoodieEngineContext engineContext, HoodieWriteConfig writeConfig,
                                           BaseTableServicePlanActionExecutor executor) {
@@ -54,6 +64,7 @@ public class HoodieLogCompactionPlanGenerator<T extends HoodieRecordPayload, I,
         .setStrategyParams(getStrategyParams())
         .setCompactorClassName("org.apache.hudi.table.action.compact.LogCompactionExecutionHelper") // added for compatibility between releases
         .build();
+    this.isLsmTable = hoodieTable.getMetaClient().getTableConfig().isLSMTreeStorageLayout();
   }
 
   @Override
@@ -75,8 +86,59 @@ public class HoodieLogCompactionPlanGenerator<T extends HoodieRecordPayload, I,
   @Override
   protected boolean filterFileSlice(FileSlice fileSlice, String lastCompletedInstantTime,
                                     Set<HoodieFileGroupId> pendingFileGroupIds, Option<InstantRange> instantRange) {
-    return super.filterFileSlice(fileSlice, lastCompletedInstantTime, pendingFileGroupIds, instantRange)
-        && isFileSliceEligibleForLogCompaction(fileSlice, lastCompletedInstantTime, instantRange);
+    if (!super.filterFileSlice(fileSlice, lastCompletedInstantTime, pendingFileGroupIds, instantRange)) {
+      return false;
+    }
+    if (isLsmTable) {
+      // cheap check before reading the log file footers, the live runs are no more than the instants
+      return fileSlice.getLogFiles().map(HoodieLogFile::getDeltaCommitTime).distinct().count() >= writeConfig.getLsmMaxSortedRuns();
+    }
+    return isFileSliceEligibleForLogCompaction(fileSlice, lastCompletedInstantTime, instantRange);
+  }
+
+  /**
+   * For tables with the LSM tree layout, only the sorted runs selected by the run compaction policy are merged.
+   */
+  @Override
+  protected Option<CompactionOperation> buildCompactionOperation(String partitionPath, FileSlice fileSlice) {
+    if (!isLsmTable) {
+      return super.buildCompactionOperation(partitionPath, fileSlice);
+    }
+    List<HoodieLogFile> logFiles = fileSlice.getLogFiles().sorted(HoodieLogFile.getLogFileComparator()).collect(Collectors.toList());
+    LsmRunCompactionSelector.Selection selection = new LsmRunCompactionSelector(writeConfig.getLsmRunCompactionPolicy(),
+        writeConfig.getLsmMaxSortedRuns(), writeConfig.getLsmSizeTierRatio())
+        .select(logFiles, LsmReaderUtils.getCompactedInstants(hoodieTable.getStorage(), logFiles));
+    if (selection.isEmpty()) {
+      return Option.empty();
+    }
+    log.info("Selected {} of {} sorted runs with {} bytes to compact for file group {}", selection.getSelectedRuns().size(),
+        selection.getNumLiveRuns(), selection.getSelectedBytes(), fileSlice.getFileGroupId());
+    Map<String, Double> metrics = writeConfig.getCompactionStrategy().captureMetrics(writeConfig, fileSlice);
+    metrics.put(LSM_LIVE_RUNS, (double) selection.getNumLiveRuns());
+    metrics.put(LSM_SELECTED_RUNS, (double) selection.getSelectedRuns().size());
+    metrics.put(LSM_SELECTED_BYTES, (double) selection.getSelectedBytes());
+    return Option.of(new CompactionOperation(fileSlice.getBaseFile(), partitionPath, selection.getLogFiles(), metrics));
+  }
+
+  @Override
+  protected Map<String, String> getExtraMetadata(List<HoodieCompactionOperation> operationsBeforeApplyingStrategy, HoodieCompactionPlan compactionPlan) {
+    if (!isLsmTable) {
+      return super.getExtraMetadata(operationsBeforeApplyingStrategy, compactionPlan);
+    }
+    long liveRuns = 0;
+    long selectedRuns = 0;
+    for (HoodieCompactionOperation operation : compactionPlan.getOperations()) {
+      Map<String, Double> metrics = operation.getMetrics();
+      if (metrics != null) {
+        liveRuns += metrics.getOrDefault(LSM_LIVE_RUNS, 0d).longValue();
+        selectedRuns += metrics.getOrDefault(LSM_SELECTED_RUNS, 0d).longValue();
+      }
+    }
+    Map<String, String> extraMetadata = new HashMap<>();
+    extraMetadata.put(CompactHelpers.LSM_RUN_COMPACTION_POLICY_KEY, writeConfig.getLsmRunCompactionPolicy().name());
+    extraMetadata.put(CompactHelpers.LSM_LIVE_RUNS_KEY, String.valueOf(liveRuns));
+    extraMetadata.put(CompactHelpers.LSM_SELECTED_RUNS_KEY, String.valueOf(selectedRuns));
+    return extraMetadata;
   }
 
   @Override
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.table.action.compact.plan.generators;
+
+import org.apache.hudi.common.model.HoodieLogFile;
+import org.apache.hudi.table.action.compact.LsmRunCompactionPolicy;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Selects the L0 sorted runs of a file group to merge by the log compaction of tables with the LSM tree layout.
+ *
+ * <p>The native log files written by the same instant form one sorted run, e.g. a data log and a delete log. The runs
+ * merged by a previous run compaction are not live, they are listed in the header of the merged run and skipped by the
+ * readers, see {@link org.apache.hudi.common.table.read.lsm.LsmReaderUtils#getLiveLogFiles}.
+ *
+ * <p>The runs are selected once the number of live runs reaches {@code hoodie.compact.lsm.max.sorted.runs}. The
+ * selected runs are always the newest ones, so the merged run written with a newer instant takes the place of the
+ * selected runs in the commit time order of the runs. With {@link LsmRunCompactionPolicy#SIZE_TIERED}, an older run is
+ * selected as long as its size is no more than {@code hoodie.compact.lsm.size.tier.ratio} times the total size of the
+ * newer runs selected, and at least enough runs are selected to bring the count under the max. With
+ * {@link LsmRunCompactionPolicy#LEVELED}, all the live runs are selected.
+ */
+public class LsmRunCompactionSelector {
+
+  private final LsmRunCompactionPolicy policy;
+  private final int maxSortedRuns;
+  private final double sizeTierRatio;
+
+  public LsmRunCompactionSelector(LsmRunCompactionPolicy policy, int maxSortedRuns, double sizeTierRatio) {
+    this.policy = policy;
+    this.maxSortedRuns = Math.max(2, maxSortedRuns);
+    this.sizeTierRatio = sizeTierRatio;
+  }
+
+  /**
+   * Selects the runs to merge.
+   *
+   * @param logFiles          All the log files of the file slice
+   * @param compactedInstants The instants of the runs merged by previous run compactions, mapped to the instant of the
+   *                          run they are merged into
+   */
+  public Selection select(List<HoodieLogFile> logFiles, Map<String, String> compactedInstants) {
+    // the size of each live run ordered by instant, oldest first
+    TreeMap<String, Long> liveRuns = new TreeMap<>();
+    for (HoodieLogFile logFile : logFiles) {
+      if (!compactedInstants.containsKey(logFile.getDeltaCommitTime())) {
+        liveRuns.merge(logFile.getDeltaCommitTime(), Math.max(0, logFile.getFileSize()), Long::sum);
+      }
+    }
+    if (liveRuns.size() < maxSortedRuns) {
+      return new Selection(liveRuns.size(), Collections.emptySet(), 0, Collections.emptyList());
+    }
+
+    Set<String> selectedRuns = new HashSet<>();
+    long selectedBytes = 0;
+    int minRunsToSelect = liveRuns.size() - maxSortedRuns + 2;
+    for (Map.Entry<String, Long> run : liveRuns.descendingMap().entrySet()) {
+      if (policy == LsmRunCompactionPolicy.SIZE_TIERED && selectedRuns.size() >= minRunsToSelect
+          && run.getValue() > sizeTierRatio * selectedBytes) {
+        break;
+      }
+      selectedRuns.add(run.getKey());
+      selectedBytes += run.getValue();
+    }
+
+    // the runs merged into the selected runs are included, so the new run replaces all of them
+    List<HoodieLogFile> selectedFiles = logFiles.stream()
+        .filter(logFile -> selectedRuns.contains(getLiveInstant(logFile.getDeltaCommitTime(), compactedInstants)))
+        .sorted(HoodieLogFile.getLogFileComparator())
+        .collect(Collectors.toList());
+    return new Selection(liveRuns.size(), selectedRuns, selectedBytes, selectedFiles);
+  }
+
+  private static String getLiveInstant(String instant, Map<String, String> compactedInstants) {
+    String liveInstant = instant;
+    // bounded by the number of compacted instants in case of a malformed header
+    for (int i = 0; i <= compactedInstants.size() && compactedInstants.containsKey(liveInstant); i++) {
+      liveInstant = compactedInstants.get(liveInstant);
+    }
+    return liveInstant;
+  }
+
+  /**
+   * The runs selected for a file slice.
+   */
+  @Getter
+  public static class Selection {
+    private final int numLiveRuns;
+    private final Set<String> selectedRuns;
+    private final long selectedBytes;
+    // the log files to read, the selected runs and the runs merged into them
+    private final List<HoodieLogFile> logFiles;
+
+    Selection(int numLiveRuns, Set<String> selectedRuns, long selectedBytes, List<HoodieLogFile> logFiles) {
+      this.numLiveRuns = numLiveRuns;
+      this.selectedRuns = selectedRuns;
+      this.selectedBytes = selectedBytes;
+      this.logFiles = new ArrayList<>(logFiles);
+    }
+
+    public boolean isEmpty() {
+      return selectedRuns.isEmpty();
+    }
+  }
+}
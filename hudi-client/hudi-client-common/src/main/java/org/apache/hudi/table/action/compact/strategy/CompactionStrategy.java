@@ -21,6 +21,7 @@ package org.apache.hudi.table.action.compact.strategy;
 import org.apache.hudi.avro.model.HoodieCompactionOperation;
 import org.apache.hudi.avro.model.HoodieCompactionPlan;
 import org.apache.hudi.common.model.FileSlice;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
 import org.apache.hudi.common.util.CompactionUtils;
 import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.config.HoodieWriteConfig;
@@ -63,6 +64,18 @@ public abstract class CompactionStrategy implements IncrementalPartitionAwareStr
     return metrics;
   }
 
+  /**
+   * Callback hook before the compaction operations are ordered and filtered, individual strategies can capture the metrics
+   * of the table they need to decide on the priority, e.g. the metrics persisted in the table, into the metrics of the operations.
+   *
+   * @param metaClient meta client of the table to compact.
+   * @param writeConfig write configuration.
+   * @param operations compaction operations to capture metrics for.
+   */
+  public void captureTableMetrics(HoodieTableMetaClient metaClient, HoodieWriteConfig writeConfig, List<HoodieCompactionOperation> operations) {
+    // no-op by default
+  }
+
   /**
    * Generate Compaction plan. Allows clients to order and filter the list of compactions to be set. The default
    * implementation takes care of setting compactor Id from configuration allowing subclasses to only worry about
@@ -21,6 +21,7 @@ package org.apache.hudi.table.action.compact.strategy;
 
 import org.apache.hudi.avro.model.HoodieCompactionOperation;
 import org.apache.hudi.avro.model.HoodieCompactionPlan;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
 import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.config.HoodieWriteConfig;
 
@@ -41,6 +42,11 @@ public class CompositeCompactionStrategy extends CompactionStrategy {
     this.strategies = strategies;
   }
 
+  @Override
+  public void captureTableMetrics(HoodieTableMetaClient metaClient, HoodieWriteConfig writeConfig, List<HoodieCompactionOperation> operations) {
+    strategies.forEach(strategy -> strategy.captureTableMetrics(metaClient, writeConfig, operations));
+  }
+
   @Override
   public Pair<List<HoodieCompactionOperation>, List<String>> orderAndFilter(HoodieWriteConfig writeConfig,
                                                                             List<HoodieCompactionOperation> operations,
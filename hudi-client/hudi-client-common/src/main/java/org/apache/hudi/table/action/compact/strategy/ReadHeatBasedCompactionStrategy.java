@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.table.action.compact.strategy;
+
+import org.apache.hudi.avro.model.HoodieCompactionOperation;
+import org.apache.hudi.avro.model.HoodieCompactionPlan;
+import org.apache.hudi.common.model.HoodieFileGroupId;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.read.heat.FileGroupReadHeat;
+import org.apache.hudi.common.table.timeline.TimelineUtils;
+import org.apache.hudi.common.util.collection.Pair;
+import org.apache.hudi.config.HoodieWriteConfig;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * ReadHeatBasedCompactionStrategy orders the compactions by the reader CPU saved per byte rewritten, filters the file
+ * groups which read heat is below the threshold and limits the compactions within a configured IO bound.
+ *
+ * <p>The read heat is the decayed number of reads merging the log files of the file group, persisted by the readers
+ * with {@code hoodie.read.heat.tracking.enable}, see {@link FileGroupReadHeat}. Every read after the compaction saves
+ * merging the log files, so the score of an operation is the read heat multiplied by the total log files size, divided
+ * by the IO of the compaction. Operations with the same score are ordered by the total log files size. The reads before the
+ * last compaction of the file group, i.e. the base instant of the file slice, are not counted.
+ *
+ * @see BoundedIOCompactionStrategy
+ * @see CompactionStrategy
+ */
+@Slf4j
+public class ReadHeatBasedCompactionStrategy extends BoundedIOCompactionStrategy
+    implements Comparator<HoodieCompactionOperation> {
+
+  public static final String READ_HEAT = "READ_HEAT";
+  public static final String READ_HEAT_SCORE = "READ_HEAT_SCORE";
+
+  @Override
+  public void captureTableMetrics(HoodieTableMetaClient metaClient, HoodieWriteConfig writeConfig, List<HoodieCompactionOperation> operations) {
+    // the heat of a file group is reset by its last compaction, i.e. the base instant of the file slice to compact
+    Map<HoodieFileGroupId, Long> resetTimesMs = new HashMap<>();
+    for (HoodieCompactionOperation operation : operations) {
+      if (operation.getBaseInstantTime() != null) {
+        TimelineUtils.parseDateFromInstantTimeSafely(operation.getBaseInstantTime()).ifPresent(baseInstantDate ->
+            resetTimesMs.put(new HoodieFileGroupId(operation.getPartitionPath(), operation.getFileId()), baseInstantDate.getTime()));
+      }
+    }
+    Map<HoodieFileGroupId, Double> readHeat = FileGroupReadHeat.load(metaClient.getStorage(),
+        FileGroupReadHeat.getReadHeatFolder(metaClient.getMetaAuxiliaryPath()), System.currentTimeMillis(),
+        TimeUnit.MINUTES.toMillis(writeConfig.getCompactionReadHeatHalfLifeMinutes()), resetTimesMs);
+    log.info("Loaded the read heat of {} file groups for {} compaction operations", readHeat.size(), operations.size());
+    for (HoodieCompactionOperation operation : operations) {
+      Map<String, Double> metrics = operation.getMetrics() == null ? new HashMap<>() : new HashMap<>(operation.getMetrics());
+      double heat = readHeat.getOrDefault(new HoodieFileGroupId(operation.getPartitionPath(), operation.getFileId()), 0d);
+      metrics.put(READ_HEAT, heat);
+      metrics.put(READ_HEAT_SCORE, score(heat, metrics));
+      operation.setMetrics(metrics);
+    }
+  }
+
+  @Override
+  public Pair<List<HoodieCompactionOperation>, List<String>> orderAndFilter(HoodieWriteConfig writeConfig,
+                                                                            List<HoodieCompactionOperation> operations, List<HoodieCompactionPlan> pendingCompactionPlans) {
+    // Filter the file group which read heat is greater than the threshold.
+    // Order the operations based on the reverse score and limit them by the IO
+    double threshold = writeConfig.getCompactionReadHeatThreshold();
+    ArrayList<String> missingPartitions = new ArrayList<>();
+    boolean incrementalTableServiceEnabled = writeConfig.isIncrementalTableServiceEnabled();
+    List<HoodieCompactionOperation> filterOperator = operations.stream()
+        .filter(e -> {
+          if (incrementalTableServiceEnabled && e.getMetrics().getOrDefault(READ_HEAT, 0d) < threshold) {
+            missingPartitions.add(e.getPartitionPath());
+          }
+          return e.getMetrics().getOrDefault(READ_HEAT, 0d) >= threshold;
+        }).sorted(this).collect(Collectors.toList());
+
+    if (incrementalTableServiceEnabled) {
+      Pair<List<HoodieCompactionOperation>, List<String>> resPair = super.orderAndFilter(writeConfig, filterOperator, pendingCompactionPlans);
+      missingPartitions.addAll(resPair.getRight());
+      return Pair.of(resPair.getLeft(), missingPartitions);
+    } else {
+      return super.orderAndFilter(writeConfig, filterOperator, pendingCompactionPlans);
+    }
+  }
+
+  @Override
+  public int compare(HoodieCompactionOperation op1, HoodieCompactionOperation op2) {
+    // Reverse the comparison order - so that the higher score is compacted first
+    int result = Double.compare(op2.getMetrics().getOrDefault(READ_HEAT_SCORE, 0d), op1.getMetrics().getOrDefault(READ_HEAT_SCORE, 0d));
+    if (result != 0) {
+      return result;
+    }
+    return Double.compare(op2.getMetrics().getOrDefault(TOTAL_LOG_FILE_SIZE, 0d), op1.getMetrics().getOrDefault(TOTAL_LOG_FILE_SIZE, 0d));
+  }
+
+  static double score(double readHeat, Map<String, Double> metrics) {
+    double mergedBytes = metrics.getOrDefault(TOTAL_LOG_FILE_SIZE, 0d);
+    double rewrittenBytes = Math.max(1d, metrics.getOrDefault(TOTAL_IO_MB, 0d)) * 1024 * 1024;
+    return readHeat * mergedBytes / rewrittenBytes;
+  }
+}
@@ -20,6 +20,8 @@
 package org.apache.hudi.common.table.timeline;
 
 import org.apache.hudi.DummyActiveAction;
+import org.apache.hudi.client.timeline.ArchivalMetrics;
+import org.apache.hudi.client.timeline.LSMTimelineCompactionService;
 import org.apache.hudi.client.timeline.LSMTimelineWriter;
 import org.apache.hudi.common.engine.HoodieEngineContext;
 import org.apache.hudi.common.engine.HoodieLocalEngineContext;
@@ -30,6 +32,7 @@ import org.apache.hudi.common.table.HoodieTableMetaClient;
 import org.apache.hudi.common.testutils.HoodieCommonTestHarness;
 import org.apache.hudi.common.testutils.HoodieTestTable;
 import org.apache.hudi.common.util.Option;
+import org.apache.hudi.config.HoodieArchivalConfig;
 import org.apache.hudi.config.HoodieIndexConfig;
 import org.apache.hudi.config.HoodieWriteConfig;
 import org.apache.hudi.index.HoodieIndex;
@@ -41,7 +44,11 @@ import org.junit.jupiter.api.Test;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
 
 import static org.apache.hudi.common.testutils.HoodieTestUtils.INSTANT_GENERATOR;
 import static org.apache.hudi.common.testutils.HoodieTestUtils.TIMELINE_FACTORY;
@@ -50,8 +57,11 @@ import static org.apache.hudi.common.testutils.HoodieTestUtils.getDefaultStorage
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Test cases for {@link org.apache.hudi.common.table.timeline.versioning.v2.ArchivedTimelineV2}.
@@ -130,6 +140,69 @@ public class TestArchivedTimelineV2 extends HoodieCommonTestHarness {
     assertArrayEquals(commitMetadata, archivedTimeline.getInstantDetails(archivedInstant).get());
   }
 
+  @Test
+  void testWriteWithParallelRead() throws Exception {
+    HoodieWriteConfig writeConfig = createWriteConfig(HoodieArchivalConfig.newBuilder().withArchiveReadParallelism(4).build());
+    LSMTimelineWriter writer = LSMTimelineWriter.getInstance(writeConfig, new LocalTaskContextSupplier(), metaClient);
+    List<ActiveAction> activeActions = new ArrayList<>();
+    for (int i = 1; i <= 20; i++) {
+      String instantTime = String.valueOf(10000000 + i);
+      HoodieInstant completed = INSTANT_GENERATOR.createNewInstant(
+          HoodieInstant.State.COMPLETED, HoodieTimeline.COMMIT_ACTION, instantTime, String.valueOf(10000100 + i));
+      activeActions.add(new DummyActiveAction(completed, new byte[] {(byte) i}));
+    }
+    List<String> callbackInstants = new ArrayList<>();
+    writer.write(activeActions, Option.of(action -> callbackInstants.add(action.getInstantTime())), Option.empty());
+
+    List<String> expectedInstants = activeActions.stream().map(ActiveAction::getInstantTime).collect(Collectors.toList());
+    assertEquals(expectedInstants, callbackInstants);
+    HoodieArchivedTimeline archivedTimeline = metaClient.getArchivedTimeline();
+    archivedTimeline.loadCompletedInstantDetailsInMemory(expectedInstants.get(0), expectedInstants.get(expectedInstants.size() - 1));
+    assertEquals(expectedInstants, archivedTimeline.getInstantsAsStream().map(HoodieInstant::requestedTime).collect(Collectors.toList()));
+    for (int i = 1; i <= 20; i++) {
+      assertArrayEquals(new byte[] {(byte) i}, archivedTimeline.getInstantDetails(archivedTimeline.getInstants().get(i - 1)).get());
+    }
+  }
+
+  @Test
+  void testAsyncTimelineCompaction() throws Exception {
+    writeArchivedTimeline(10, 10000000, false);
+    assertEquals(5, LSMTimeline.latestSnapshotManifest(metaClient, metaClient.getArchivePath()).getFiles().size());
+
+    HoodieWriteConfig writeConfig = createWriteConfig(HoodieArchivalConfig.newBuilder()
+        .withTimelineCompactionBatchSize(5).withAsyncTimelineCompaction(true).build());
+    Map<String, Long> metrics = new HashMap<>();
+    try (LSMTimelineCompactionService compactionService = new LSMTimelineCompactionService()) {
+      assertTrue(compactionService.compactIfIdle(writeConfig, metaClient, new LocalTaskContextSupplier()));
+      compactionService.waitForCompletion(60_000L);
+
+      compactionService.drainMetrics(metrics);
+      assertEquals(5L, metrics.get(ArchivalMetrics.ARCHIVAL_TIMELINE_COMPACTION_NUM_FILES));
+      assertFalse(metrics.containsKey(ArchivalMetrics.ARCHIVAL_TIMELINE_COMPACTION_FAILURE));
+      // the metrics are reported once
+      metrics.clear();
+      compactionService.drainMetrics(metrics);
+      assertTrue(metrics.isEmpty());
+    }
+
+    List<String> files = LSMTimeline.latestSnapshotManifest(metaClient, metaClient.getArchivePath()).getFileNames();
+    assertEquals(Collections.singletonList("10000001_10000050_1.parquet"), files);
+    HoodieArchivedTimeline archivedTimeline = metaClient.getArchivedTimeline("10000001");
+    assertEquals(50, archivedTimeline.countInstants());
+  }
+
+  @Test
+  void testAsyncTimelineCompactionStopsOnClose() throws Exception {
+    writeArchivedTimeline(10, 10000000, false);
+    HoodieWriteConfig writeConfig = createWriteConfig(HoodieArchivalConfig.newBuilder()
+        .withTimelineCompactionBatchSize(5).withAsyncTimelineCompaction(true).build());
+    LSMTimelineCompactionService compactionService = new LSMTimelineCompactionService();
+    compactionService.close();
+    // the service of a closed write client does not compact anymore
+    assertThrows(RejectedExecutionException.class, () -> compactionService.compactIfIdle(writeConfig, metaClient, new LocalTaskContextSupplier()));
+    assertEquals(5, LSMTimeline.latestSnapshotManifest(metaClient, metaClient.getArchivePath()).getFiles().size());
+  }
+
   @Test
   void getInstantReaderReferencesSelf() {
     HoodieArchivedTimeline timeline = TIMELINE_FACTORY.createArchivedTimeline(metaClient);
@@ -140,6 +213,10 @@ public class TestArchivedTimelineV2 extends HoodieCommonTestHarness {
   // -------------------------------------------------------------------------
 
   private void writeArchivedTimeline(int batchSize, long startTs) throws Exception {
+    writeArchivedTimeline(batchSize, startTs, true);
+  }
+
+  private void writeArchivedTimeline(int batchSize, long startTs, boolean compact) throws Exception {
     HoodieTestTable testTable = HoodieTestTable.of(this.metaClient);
     LSMTimelineWriter writer = createTimelineWriter();
     HoodieEngineContext engineContext = new HoodieLocalEngineContext(getDefaultStorageConf());
@@ -155,17 +232,23 @@ public class TestArchivedTimelineV2 extends HoodieCommonTestHarness {
       if (i % batchSize == 0) {
         // archive 10 instants each time
         writer.write(instantBuffer, Option.empty(), Option.empty());
-        writer.compactAndClean(engineContext);
+        if (compact) {
+          writer.compactAndClean(engineContext);
+        }
         instantBuffer.clear();
       }
     }
   }
 
   private LSMTimelineWriter createTimelineWriter() {
-    HoodieWriteConfig writeConfig = HoodieWriteConfig.newBuilder().withPath(this.metaClient.getBasePath())
+    return LSMTimelineWriter.getInstance(createWriteConfig(HoodieArchivalConfig.newBuilder().build()), new LocalTaskContextSupplier(), metaClient);
+  }
+
+  private HoodieWriteConfig createWriteConfig(HoodieArchivalConfig archivalConfig) {
+    return HoodieWriteConfig.newBuilder().withPath(this.metaClient.getBasePath())
         .withIndexConfig(HoodieIndexConfig.newBuilder().withIndexType(HoodieIndex.IndexType.INMEMORY).build())
+        .withArchivalConfig(archivalConfig)
         .withMarkersType("DIRECT")
         .build();
-    return LSMTimelineWriter.getInstance(writeConfig, new LocalTaskContextSupplier(), metaClient);
   }
 }
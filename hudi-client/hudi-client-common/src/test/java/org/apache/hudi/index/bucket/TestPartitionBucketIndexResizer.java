@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.index.bucket;
+
+import org.apache.hudi.config.HoodieIndexConfig;
+import org.apache.hudi.config.HoodieWriteConfig;
+import org.apache.hudi.index.HoodieIndex;
+import org.apache.hudi.index.bucket.partition.NumBucketsFunction;
+import org.apache.hudi.index.bucket.partition.PartitionBucketIndexCalculator;
+import org.apache.hudi.index.bucket.partition.PartitionBucketIndexResizer;
+import org.apache.hudi.keygen.constant.KeyGeneratorOptions;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestPartitionBucketIndexResizer {
+
+  private static final String DEFAULT_RULE = "regex";
+  private static final long TARGET_BUCKET_BYTES = 100L;
+
+  private final HoodieWriteConfig writeConfig = createWriteConfig();
+
+  private static HoodieWriteConfig createWriteConfig() {
+    Properties props = new Properties();
+    props.setProperty(KeyGeneratorOptions.RECORDKEY_FIELD_NAME.key(), "uuid");
+    return HoodieWriteConfig.newBuilder()
+        .withPath("/tmp/test_table")
+        .withIndexConfig(HoodieIndexConfig.newBuilder()
+            .fromProperties(props)
+            .withIndexType(HoodieIndex.IndexType.BUCKET)
+            .withBucketIndexEngineType(HoodieIndex.BucketIndexEngineType.SIMPLE)
+            .withBucketNum("4")
+            .withBucketMinNum(1)
+            .withBucketMaxNum(64)
+            .build())
+        .build();
+  }
+
+  @AfterEach
+  void cleanup() {
+    PartitionBucketIndexCalculator.getInstance("dummy,1", DEFAULT_RULE, 1).cleanCache();
+  }
+
+  @Test
+  void testProposeBucketNumbers() {
+    Map<String, Long> partitionSizes = new HashMap<>();
+    // 4 buckets of 100 bytes, within the thresholds
+    partitionSizes.put("2025-01-01", 400L);
+    // 4 buckets of 1000 bytes, above the split threshold
+    partitionSizes.put("2025-01-02", 4000L);
+    // 4 buckets of 10 bytes, below the merge threshold
+    partitionSizes.put("2025-01-03", 40L);
+    // bounded by the max number of buckets
+    partitionSizes.put("2025-01-04", 100000L);
+    // empty partition is not resized
+    partitionSizes.put("2025-01-05", 0L);
+
+    Map<String, Integer> partitionToBuckets = PartitionBucketIndexResizer.proposeBucketNumbers(
+        writeConfig, TARGET_BUCKET_BYTES, new NumBucketsFunction(4), partitionSizes);
+    assertEquals(3, partitionToBuckets.size());
+    assertEquals(40, partitionToBuckets.get("2025-01-02"));
+    assertEquals(1, partitionToBuckets.get("2025-01-03"));
+    assertEquals(64, partitionToBuckets.get("2025-01-04"));
+
+    // the bucket numbers of the latest expressions are taken as the current bucket numbers
+    String expressions = PartitionBucketIndexResizer.buildExpressions(partitionToBuckets, null);
+    Map<String, Long> resizedSizes = new HashMap<>();
+    resizedSizes.put("2025-01-02", 4000L);
+    resizedSizes.put("2025-01-03", 40L);
+    assertTrue(PartitionBucketIndexResizer.proposeBucketNumbers(writeConfig, TARGET_BUCKET_BYTES,
+        new NumBucketsFunction(expressions, DEFAULT_RULE, 4), resizedSizes).isEmpty());
+  }
+
+  @Test
+  void testBuildExpressions() {
+    String latestExpressions = "^\\Q2025-01-02\\E$,8;2025-02-\\d{2},16";
+    Map<String, Integer> partitionToBuckets = new HashMap<>();
+    partitionToBuckets.put("2025-01-02", 40);
+    partitionToBuckets.put("2025-02-01", 2);
+
+    String expressions = PartitionBucketIndexResizer.buildExpressions(partitionToBuckets, latestExpressions);
+    assertEquals("^\\Q2025-01-02\\E$,40;^\\Q2025-02-01\\E$,2;2025-02-\\d{2},16", expressions);
+
+    PartitionBucketIndexCalculator calc = PartitionBucketIndexCalculator.getInstance(expressions, DEFAULT_RULE, 4);
+    assertEquals(40, calc.computeNumBuckets("2025-01-02"));
+    assertEquals(2, calc.computeNumBuckets("2025-02-01"));
+    assertEquals(16, calc.computeNumBuckets("2025-02-02"));
+    // the exact rules do not match the partitions sharing the prefix
+    assertEquals(4, calc.computeNumBuckets("2025-01-021"));
+  }
+}
@@ -143,6 +143,16 @@ public class TestHoodieMergeHandleFactory {
     propsWithDups.setProperty(HoodieWriteConfig.MERGE_HANDLE_CLASS_NAME.key(), CUSTOM_MERGE_HANDLE);
     mergeHandleClasses = HoodieMergeHandleFactory.getMergeHandleClassesWrite(WriteOperationType.UPSERT, getWriterConfig(properties), mockHoodieTable);
     validateMergeClasses(mergeHandleClasses, FileGroupReaderBasedMergeHandle.class.getName(), null);
+
+    // external sort merge handle class is kept for sorted tables w/o CDC
+    when(mockHoodieTable.requireSortedRecords()).thenReturn(true);
+    properties.setProperty(HoodieWriteConfig.MERGE_HANDLE_CLASS_NAME.key(), HoodieExternalSortMergeHandle.class.getName());
+    mergeHandleClasses = HoodieMergeHandleFactory.getMergeHandleClassesWrite(WriteOperationType.UPSERT, getWriterConfig(properties), mockHoodieTable);
+    validateMergeClasses(mergeHandleClasses, FileGroupReaderBasedMergeHandle.class.getName());
+    when(mockHoodieTableConfig.isCDCEnabled()).thenReturn(false);
+    mergeHandleClasses = HoodieMergeHandleFactory.getMergeHandleClassesWrite(WriteOperationType.UPSERT, getWriterConfig(properties), mockHoodieTable);
+    validateMergeClasses(mergeHandleClasses, HoodieExternalSortMergeHandle.class.getName(), FileGroupReaderBasedMergeHandle.class.getName());
+    when(mockHoodieTable.requireSortedRecords()).thenReturn(false);
   }
 
   @Test
@@ -117,6 +117,43 @@ public class TestSortedAndChangeLogMergeHandles {
     }
   }
 
+  @Test
+  public void testExternalSortMergeWritesSortedInsertsAroundExistingRecordsAndOnClose() throws Exception {
+    HoodieWriteConfig config = config();
+    TestContext context = new TestContext(config);
+    List<HoodieRecord> records = Arrays.asList(record("f"), record("b"), record("d"), record("a"));
+
+    try (MockedStatic<WriteMarkersFactory> markers = mockStatic(WriteMarkersFactory.class);
+         MockedStatic<HoodieFileWriterFactory> writers = mockStatic(HoodieFileWriterFactory.class)) {
+      context.stubWriters(markers, writers);
+      TestableExternalSortMergeHandle handle = new TestableExternalSortMergeHandle(config, context.table, records);
+      handle.write(record("c"));
+      assertEquals(Arrays.asList("a", "b", "c"), handle.writtenKeys);
+      handle.write(record("e"));
+      assertEquals(Arrays.asList("a", "b", "c", "d", "e"), handle.writtenKeys);
+
+      List<WriteStatus> statuses = handle.close();
+      assertEquals(Arrays.asList("a", "b", "c", "d", "e", "f"), handle.writtenKeys);
+      assertEquals(1, statuses.size());
+      verify(context.fileWriter).close();
+    }
+  }
+
+  @Test
+  public void testExternalSortMergeRejectsUnsortedBaseFile() throws Exception {
+    HoodieWriteConfig config = config();
+    TestContext context = new TestContext(config);
+
+    try (MockedStatic<WriteMarkersFactory> markers = mockStatic(WriteMarkersFactory.class);
+         MockedStatic<HoodieFileWriterFactory> writers = mockStatic(HoodieFileWriterFactory.class)) {
+      context.stubWriters(markers, writers);
+      TestableExternalSortMergeHandle handle = new TestableExternalSortMergeHandle(
+          config, context.table, Collections.singletonList(record("b")));
+      handle.write(record("c"));
+      assertThrows(HoodieUpsertException.class, () -> handle.write(record("a")));
+    }
+  }
+
   @Test
   public void testChangeLogHandleWritesUpdateAndInsertCDCAndPublishesStats() throws Exception {
     HoodieWriteConfig config = config();
@@ -326,6 +363,24 @@ public class TestSortedAndChangeLogMergeHandles {
     }
   }
 
+  private static class TestableExternalSortMergeHandle extends HoodieExternalSortMergeHandle {
+    private final List<String> writtenKeys = new ArrayList<>();
+
+    private TestableExternalSortMergeHandle(
+        HoodieWriteConfig config, HoodieTable table, List<HoodieRecord> records) {
+      super(config, "100", table, records.iterator(), "partition", "file-1",
+          new LocalTaskContextSupplier(), null, Option.empty());
+    }
+
+    @Override
+    protected void writeToFile(
+        HoodieKey key, HoodieRecord record, HoodieSchema schema, Properties props,
+        boolean shouldPreserveRecordMetadata) {
+      // The test targets merge ordering; the physical writer is covered separately.
+      writtenKeys.add(key.getRecordKey());
+    }
+  }
+
   private static class TestableWriteMergeHandle extends HoodieWriteMergeHandle {
     private final List<String> writtenKeys = new ArrayList<>();
 
@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.metadata;
+
+import org.apache.hudi.common.model.FileSlice;
+import org.apache.hudi.common.model.HoodieBaseFile;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.storage.StoragePath;
+import org.apache.hudi.storage.StoragePathInfo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.apache.hudi.metadata.MetadataPartitionType.RECORD_INDEX;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestRecordIndexReshardPlanner {
+
+  private static final long MAX_SIZE = 100;
+
+  @Test
+  public void testSplitKeepsKeysWithinResidue() {
+    for (int i = 0; i < 1000; i++) {
+      String key = "key_" + i;
+      assertEquals(HoodieTableMetadataUtil.mapRecordKeyToFileGroupIndex(key, 4),
+          HoodieTableMetadataUtil.mapRecordKeyToFileGroupIndex(key, 12) % 4);
+    }
+  }
+
+  @Test
+  public void testPlanGlobalRecordIndex() {
+    // no file group is oversized
+    assertTrue(RecordIndexReshardPlanner.plan(fileSlices(Option.empty(), 90, 100, 50), false, MAX_SIZE, 2.0f, 100).isEmpty());
+
+    // 300 bytes in total grows to 600 bytes, which needs 6 file groups, i.e. each of the 3 file groups is split into 2
+    List<RecordIndexReshardPlanner.ReshardGroup> plan = RecordIndexReshardPlanner.plan(fileSlices(Option.empty(), 90, 160, 50), false, MAX_SIZE, 2.0f, 100);
+    assertEquals(1, plan.size());
+    assertEquals(new RecordIndexReshardPlanner.ReshardGroup(Option.empty(), 3, 6), plan.get(0));
+
+    // 1500 bytes in total grows to 3000 bytes, which needs 30 file groups
+    plan = RecordIndexReshardPlanner.plan(fileSlices(Option.empty(), 500, 500, 500), false, MAX_SIZE, 2.0f, 100);
+    assertEquals(new RecordIndexReshardPlanner.ReshardGroup(Option.empty(), 3, 30), plan.get(0));
+
+    // bounded by the max file group count
+    plan = RecordIndexReshardPlanner.plan(fileSlices(Option.empty(), 500, 500, 500), false, MAX_SIZE, 2.0f, 20);
+    assertEquals(new RecordIndexReshardPlanner.ReshardGroup(Option.empty(), 3, 18), plan.get(0));
+    assertTrue(RecordIndexReshardPlanner.plan(fileSlices(Option.empty(), 500, 500, 500), false, MAX_SIZE, 2.0f, 5).isEmpty());
+  }
+
+  @Test
+  public void testPlanPartitionedRecordIndex() {
+    List<FileSlice> fileSlices = new ArrayList<>();
+    fileSlices.addAll(fileSlices(Option.of("2024/01/01"), 10, 20));
+    fileSlices.addAll(fileSlices(Option.of("2024/01/02"), 150, 50));
+    List<RecordIndexReshardPlanner.ReshardGroup> plan = RecordIndexReshardPlanner.plan(fileSlices, true, MAX_SIZE, 1.0f, 10);
+    assertEquals(1, plan.size());
+    assertEquals(new RecordIndexReshardPlanner.ReshardGroup(Option.of("2024/01/02"), 2, 4), plan.get(0));
+  }
+
+  @Test
+  public void testSkipNonContiguousFileGroups() {
+    List<FileSlice> fileSlices = fileSlices(Option.empty(), 500, 500, 500);
+    fileSlices.remove(1);
+    assertTrue(RecordIndexReshardPlanner.plan(fileSlices, false, MAX_SIZE, 2.0f, 100).isEmpty());
+  }
+
+  @Test
+  public void testComputeSplitFactor() {
+    assertEquals(2, RecordIndexReshardPlanner.computeSplitFactor(10, 1010, MAX_SIZE, 1.0f, 100));
+    assertEquals(3, RecordIndexReshardPlanner.computeSplitFactor(10, 1010, MAX_SIZE, 2.5f, 100));
+    // bounded by the max file group count
+    assertEquals(1, RecordIndexReshardPlanner.computeSplitFactor(10, 1010, MAX_SIZE, 2.5f, 19));
+  }
+
+  private static List<FileSlice> fileSlices(Option<String> dataPartition, long... sizes) {
+    List<FileSlice> fileSlices = new ArrayList<>();
+    for (int i = 0; i < sizes.length; i++) {
+      String fileId = HoodieTableMetadataUtil.getFileIDForFileGroup(RECORD_INDEX, i, RECORD_INDEX.getPartitionPath(), dataPartition);
+      FileSlice fileSlice = new FileSlice(RECORD_INDEX.getPartitionPath(), "001", fileId);
+      StoragePath path = new StoragePath("/tmp/.hoodie/metadata/record_index/" + fileId + "_0-0-0_001.hfile");
+      fileSlice.setBaseFile(new HoodieBaseFile(new StoragePathInfo(path, sizes[i], false, (short) 1, 1024, 0), fileId, "001", null));
+      fileSlices.add(fileSlice);
+    }
+    return fileSlices;
+  }
+}
@@ -229,7 +229,7 @@ class TestColumnStatsIndexer {
       columns.put("c1", new Object());
       mockedUtil.when(() -> HoodieTableMetadataUtil.getColumnsToIndex(any(), any(), any(), eq(true), eq(Option.of(HoodieRecord.HoodieRecordType.AVRO)), any()))
           .thenReturn(columns);
-      mockedUtil.when(() -> HoodieTableMetadataUtil.convertFilesToColumnStatsRecords(any(), any(), any(), any(), anyInt(), anyInt(), any()))
+      mockedUtil.when(() -> HoodieTableMetadataUtil.convertFilesToColumnStatsRecords(any(), any(), any(), any(), anyInt(), anyInt(), any(), any()))
           .thenReturn(records);
 
       ColumnStatsIndexer indexer = new ColumnStatsIndexer(engineContext, writeConfig, metaClient);
@@ -321,7 +321,7 @@ class TestColumnStatsIndexer {
           commitMetadata));
 
       mockedUtil.verify(() -> HoodieTableMetadataUtil.getColumnStatsRecords(
-          eq("p1"), any(), eq(metaClient), eq(Collections.singletonList("c1")), eq(false)), never());
+          eq("p1"), any(), eq(metaClient), eq(Collections.singletonList("c1")), eq(false), any()), never());
     }
 
     assertEquals(1, result.size());
@@ -33,7 +33,9 @@ import org.apache.hudi.common.model.HoodieCleaningPolicy;
 import org.apache.hudi.common.model.HoodieCommitMetadata;
 import org.apache.hudi.common.model.HoodieFileGroup;
 import org.apache.hudi.common.model.HoodieFileGroupId;
+import org.apache.hudi.common.model.HoodieTableType;
 import org.apache.hudi.common.model.HoodieWriteStat;
+import org.apache.hudi.common.model.WriteOperationType;
 import org.apache.hudi.common.table.HoodieTableConfig;
 import org.apache.hudi.common.table.HoodieTableMetaClient;
 import org.apache.hudi.common.table.timeline.HoodieActiveTimeline;
@@ -56,6 +58,7 @@ import org.apache.hudi.table.HoodieTable;
 import org.apache.hudi.table.action.clean.CleanPlanner;
 
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -81,7 +84,10 @@ import static org.apache.hudi.common.testutils.HoodieTestUtils.getDefaultStorage
 import static org.apache.hudi.common.util.CleanerUtils.CLEAN_METADATA_VERSION_2;
 import static org.apache.hudi.common.util.CleanerUtils.SAVEPOINTED_TIMESTAMPS;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class TestCleanPlanner {
@@ -213,6 +219,71 @@ public class TestCleanPlanner {
     assertEquals(expectedPartitions, partitionsToClean);
   }
 
+  @Test
+  void testFileGroupsForIncrFileGroupCleaning() throws IOException {
+    String earliestInstant = "20231204194919610";
+    String lastCleanInstant = "20231206194919610";
+    String earliestInstantInLastClean = "20231128194919610";
+    String olderInstant = "20231127194919610";
+    String updateInstant = "20231201194919610";
+    String insertInstant = "20231202194919610";
+    HoodieWriteConfig config = HoodieWriteConfig.newBuilder().withPath("/tmp")
+        .withCleanConfig(HoodieCleanConfig.newBuilder()
+            .cleanerNumHoursRetained(24)
+            .withCleanerPolicy(HoodieCleaningPolicy.KEEP_LATEST_BY_HOURS)
+            .withIncrementalFileGroupCleaningMode(true)
+            .build())
+        .build();
+
+    HoodieActiveTimeline activeTimeline = mock(HoodieActiveTimeline.class);
+    when(mockHoodieTable.getActiveTimeline()).thenReturn(activeTimeline);
+    when(mockHoodieTable.getSavepointTimestamps()).thenReturn(Collections.emptySet());
+    when(mockHoodieTable.getMetaClient().getTableType()).thenReturn(HoodieTableType.COPY_ON_WRITE);
+    HoodieCleanMetadata cleanMetadata = getCleanCommitMetadata(Collections.singletonList(PARTITION1), lastCleanInstant, earliestInstantInLastClean,
+        earliestInstantInLastClean, Collections.emptySet(), Option.empty());
+    mockLastCleanCommit(mockHoodieTable, lastCleanInstant, earliestInstantInLastClean, activeTimeline, cleanMetadata, Collections.emptySet());
+
+    // the upsert updates a file group of partition1 and the insert only creates a new file group in partition2
+    HoodieFileGroup updatedFileGroup = buildFileGroup(Arrays.asList(olderInstant, updateInstant), PARTITION1);
+    HoodieInstant update = INSTANT_GENERATOR.createNewInstant(COMPLETED, HoodieTimeline.COMMIT_ACTION, updateInstant);
+    HoodieInstant insert = INSTANT_GENERATOR.createNewInstant(COMPLETED, HoodieTimeline.COMMIT_ACTION, insertInstant);
+    when(activeTimeline.readCommitMetadata(update)).thenReturn(
+        getCommitMetadata(PARTITION1, updatedFileGroup.getFileGroupId().getFileId(), olderInstant));
+    when(activeTimeline.readCommitMetadata(insert)).thenReturn(
+        getCommitMetadata(PARTITION2, UUID.randomUUID().toString(), HoodieWriteStat.NULL_COMMIT));
+    BaseTimelineV2 commitsTimeline = new BaseTimelineV2();
+    commitsTimeline.setInstants(Arrays.asList(update, insert));
+    when(mockHoodieTable.getCompletedCommitsTimeline()).thenReturn(commitsTimeline);
+
+    CleanPlanner<?, ?, ?, ?> cleanPlanner = new CleanPlanner<>(context, mockHoodieTable, config);
+    HoodieInstant earliestCommitToRetain = INSTANT_GENERATOR.createNewInstant(COMPLETED, "COMMIT", earliestInstant);
+    assertEquals(Collections.singletonList(PARTITION1), cleanPlanner.getPartitionPathsToClean(Option.of(earliestCommitToRetain)));
+    assertTrue(cleanPlanner.isFileGroupCleaningIncremental());
+
+    // only the touched file groups are built
+    SyncableFileSystemView mockFsView = mock(SyncableFileSystemView.class);
+    when(mockHoodieTable.getHoodieView()).thenReturn(mockFsView);
+    when(mockFsView.getReplacedFileGroupsBefore(earliestInstant, PARTITION1)).thenReturn(Stream.empty());
+    when(mockFsView.getFileGroupsStateless(PARTITION1, Collections.singleton(updatedFileGroup.getFileGroupId().getFileId())))
+        .thenReturn(Stream.of(updatedFileGroup));
+    Pair<Boolean, List<CleanFileInfo>> actual = cleanPlanner.getDeletePaths(PARTITION1, Option.of(earliestCommitToRetain));
+    String olderBaseFile = updatedFileGroup.getAllBaseFiles().filter(baseFile -> baseFile.getCommitTime().equals(olderInstant))
+        .findFirst().get().getPath();
+    assertEquals(Pair.of(false, Collections.singletonList(new CleanFileInfo(olderBaseFile, false))), actual);
+    verify(mockFsView, never()).getAllFileGroupsStateless(PARTITION1);
+  }
+
+  private static HoodieCommitMetadata getCommitMetadata(String partition, String fileId, String prevCommit) {
+    HoodieCommitMetadata commitMetadata = new HoodieCommitMetadata();
+    commitMetadata.setOperationType(WriteOperationType.UPSERT);
+    HoodieWriteStat writeStat = new HoodieWriteStat();
+    writeStat.setPartitionPath(partition);
+    writeStat.setFileId(fileId);
+    writeStat.setPrevCommit(prevCommit);
+    commitMetadata.addWriteStat(partition, writeStat);
+    return commitMetadata;
+  }
+
   static Stream<Arguments> testCases() {
     return Stream.concat(keepLatestByHoursOrCommitsArgs(), keepLatestVersionsArgs());
   }
@@ -0,0 +1,128 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.table.action.compact.plan.generators;
+
+import org.apache.hudi.common.fs.FSUtils;
+import org.apache.hudi.common.model.HoodieFileFormat;
+import org.apache.hudi.common.model.HoodieLogFile;
+import org.apache.hudi.common.model.LogExtensions;
+import org.apache.hudi.storage.StoragePath;
+import org.apache.hudi.table.action.compact.LsmRunCompactionPolicy;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestLsmRunCompactionSelector {
+
+  private static final String FILE_ID = "f1";
+  private static final StoragePath PARTITION_PATH = new StoragePath("/tmp/test_table/2025-01-01");
+
+  @Test
+  void testSizeTieredSelection() {
+    // runs of 1000, 500, 50, 10, 10 bytes, oldest first
+    List<HoodieLogFile> logFiles = Arrays.asList(
+        logFile("001", LogExtensions.DATA_LOG_EXTENSION, 1000),
+        logFile("002", LogExtensions.DATA_LOG_EXTENSION, 500),
+        logFile("003", LogExtensions.DATA_LOG_EXTENSION, 50),
+        logFile("004", LogExtensions.DATA_LOG_EXTENSION, 5),
+        logFile("004", LogExtensions.DELETE_LOG_EXTENSION, 5),
+        logFile("005", LogExtensions.DATA_LOG_EXTENSION, 10));
+
+    // under the max number of runs
+    assertTrue(new LsmRunCompactionSelector(LsmRunCompactionPolicy.SIZE_TIERED, 6, 1.2)
+        .select(logFiles, Collections.emptyMap()).isEmpty());
+
+    // the run of 50 bytes is more than 1.2 times the 20 bytes of the newer runs
+    LsmRunCompactionSelector.Selection selection = new LsmRunCompactionSelector(LsmRunCompactionPolicy.SIZE_TIERED, 5, 1.2)
+        .select(logFiles, Collections.emptyMap());
+    assertEquals(5, selection.getNumLiveRuns());
+    assertEquals(new HashSet<>(Arrays.asList("004", "005")), selection.getSelectedRuns());
+    assertEquals(20, selection.getSelectedBytes());
+    assertEquals(Arrays.asList("004", "004", "005"), getInstants(selection.getLogFiles()));
+
+    // a larger ratio merges more runs
+    selection = new LsmRunCompactionSelector(LsmRunCompactionPolicy.SIZE_TIERED, 5, 3)
+        .select(logFiles, Collections.emptyMap());
+    assertEquals(new HashSet<>(Arrays.asList("003", "004", "005")), selection.getSelectedRuns());
+
+    // enough runs are merged to bring the count under the max regardless of the sizes
+    selection = new LsmRunCompactionSelector(LsmRunCompactionPolicy.SIZE_TIERED, 2, 1.2)
+        .select(logFiles, Collections.emptyMap());
+    assertEquals(new HashSet<>(Arrays.asList("001", "002", "003", "004", "005")), selection.getSelectedRuns());
+  }
+
+  @Test
+  void testLeveledSelection() {
+    List<HoodieLogFile> logFiles = Arrays.asList(
+        logFile("001", LogExtensions.DATA_LOG_EXTENSION, 1000),
+        logFile("002", LogExtensions.DATA_LOG_EXTENSION, 10),
+        logFile("003", LogExtensions.DATA_LOG_EXTENSION, 10));
+    LsmRunCompactionSelector.Selection selection = new LsmRunCompactionSelector(LsmRunCompactionPolicy.LEVELED, 3, 1.2)
+        .select(logFiles, Collections.emptyMap());
+    assertEquals(new HashSet<>(Arrays.asList("001", "002", "003")), selection.getSelectedRuns());
+    assertEquals(1020, selection.getSelectedBytes());
+  }
+
+  @Test
+  void testSelectionWithCompactedRuns() {
+    List<HoodieLogFile> logFiles = new ArrayList<>(Arrays.asList(
+        logFile("001", LogExtensions.DATA_LOG_EXTENSION, 1000),
+        logFile("002", LogExtensions.DATA_LOG_EXTENSION, 10),
+        logFile("003", LogExtensions.DATA_LOG_EXTENSION, 10),
+        // merges 002 and 003
+        logFile("004", LogExtensions.DATA_LOG_EXTENSION, 20),
+        logFile("005", LogExtensions.DATA_LOG_EXTENSION, 10),
+        logFile("006", LogExtensions.DATA_LOG_EXTENSION, 10)));
+    Map<String, String> compactedInstants = new HashMap<>();
+    compactedInstants.put("002", "004");
+    compactedInstants.put("003", "004");
+
+    // the merged runs are not counted
+    assertTrue(new LsmRunCompactionSelector(LsmRunCompactionPolicy.SIZE_TIERED, 5, 1.2)
+        .select(logFiles, compactedInstants).isEmpty());
+
+    LsmRunCompactionSelector.Selection selection = new LsmRunCompactionSelector(LsmRunCompactionPolicy.SIZE_TIERED, 4, 1.2)
+        .select(logFiles, compactedInstants);
+    assertEquals(4, selection.getNumLiveRuns());
+    assertEquals(new HashSet<>(Arrays.asList("004", "005", "006")), selection.getSelectedRuns());
+    assertEquals(40, selection.getSelectedBytes());
+    // the runs merged into the selected runs are read as well
+    assertEquals(Arrays.asList("002", "003", "004", "005", "006"), getInstants(selection.getLogFiles()));
+  }
+
+  private static HoodieLogFile logFile(String instant, String extension, long size) {
+    String fileName = FSUtils.makeNativeLogFileName(FILE_ID, "1-0-1", instant, 1, extension, HoodieFileFormat.PARQUET);
+    return new HoodieLogFile(new StoragePath(PARTITION_PATH, fileName), size);
+  }
+
+  private static List<String> getInstants(List<HoodieLogFile> logFiles) {
+    return logFiles.stream().map(HoodieLogFile::getDeltaCommitTime).collect(Collectors.toList());
+  }
+}
@@ -23,8 +23,10 @@ import org.apache.hudi.client.WriteStatus;
 import org.apache.hudi.common.engine.HoodieEngineContext;
 import org.apache.hudi.common.model.FileSlice;
 import org.apache.hudi.common.model.HoodieBaseFile;
+import org.apache.hudi.common.model.HoodieFileFormat;
 import org.apache.hudi.common.model.HoodieKey;
 import org.apache.hudi.common.model.HoodieRecord;
+import org.apache.hudi.common.model.HoodieTableType;
 import org.apache.hudi.common.util.StringUtils;
 import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.config.HoodieWriteConfig;
@@ -40,6 +42,8 @@ import java.util.Map;
 import java.util.stream.Stream;
 
 import static org.apache.hudi.config.HoodieClusteringConfig.PLAN_STRATEGY_SORT_COLUMNS;
+import static org.apache.hudi.config.HoodieClusteringConfig.SPARK_AUTO_BINARY_COPY_CLUSTERING_EXECUTION_STRATEGY;
+import static org.apache.hudi.config.HoodieClusteringConfig.SPARK_SORT_AND_SIZE_EXECUTION_STRATEGY;
 
 /**
  * Clustering Strategy based on following.
@@ -70,6 +74,22 @@ public class SparkSizeBasedClusteringPlanStrategy<T>
     return params;
   }
 
+  @Override
+  protected String getExecutionStrategyClassName() {
+    HoodieWriteConfig writeConfig = getWriteConfig();
+    String executionStrategyClassName = super.getExecutionStrategyClassName();
+    if (writeConfig.isClusteringBinaryCopyAutoEnabled()
+        && SPARK_SORT_AND_SIZE_EXECUTION_STRATEGY.equals(executionStrategyClassName)
+        && StringUtils.isNullOrEmpty(writeConfig.getClusteringSortColumns())
+        && getHoodieTable().getMetaClient().getTableType() == HoodieTableType.COPY_ON_WRITE
+        && getHoodieTable().getMetaClient().getTableConfig().getBaseFileFormat() == HoodieFileFormat.PARQUET) {
+      // stitching the small files does not need to decode the records w/o sort columns
+      log.info("Choosing the binary copy execution strategy for clustering table {}", writeConfig.getBasePath());
+      return SPARK_AUTO_BINARY_COPY_CLUSTERING_EXECUTION_STRATEGY;
+    }
+    return executionStrategyClassName;
+  }
+
   @Override
   protected Stream<FileSlice> getFileSlicesEligibleForClustering(final String partition) {
     return super.getFileSlicesEligibleForClustering(partition)
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.client.clustering.run.strategy;
+
+import org.apache.hudi.avro.model.HoodieClusteringGroup;
+import org.apache.hudi.avro.model.HoodieClusteringPlan;
+import org.apache.hudi.client.WriteStatus;
+import org.apache.hudi.client.common.HoodieSparkEngineContext;
+import org.apache.hudi.common.data.HoodieData;
+import org.apache.hudi.common.engine.HoodieEngineContext;
+import org.apache.hudi.common.model.ClusteringGroupInfo;
+import org.apache.hudi.common.model.ClusteringOperation;
+import org.apache.hudi.common.schema.HoodieSchema;
+import org.apache.hudi.common.util.StringUtils;
+import org.apache.hudi.common.util.collection.Pair;
+import org.apache.hudi.config.HoodieWriteConfig;
+import org.apache.hudi.data.HoodieJavaRDD;
+import org.apache.hudi.parquet.io.ParquetBinaryCopyChecker;
+import org.apache.hudi.storage.StorageConfiguration;
+import org.apache.hudi.table.HoodieTable;
+import org.apache.hudi.table.action.HoodieWriteMetadata;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.spark.api.java.JavaRDD;
+import org.apache.spark.api.java.JavaSparkContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Clustering execution strategy chosen by the size based plan strategy when
+ * {@link org.apache.hudi.config.HoodieClusteringConfig#BINARY_COPY_AUTO_ENABLE} is on.
+ *
+ * <p>Different from {@link SparkBinaryCopyClusteringExecutionStrategy} which falls back to rewriting the whole plan
+ * if any of the files can not be copied, this strategy decides per clustering group:
+ * <ul>
+ *   <li>the groups with a single output file group, whose files can be stitched, are written by copying the row groups
+ *   w/o decoding. The bloom filters and the record key ranges of the files are merged into the footer of the output
+ *   file, and the column statistics of the copied column chunks are kept;</li>
+ *   <li>the other groups, e.g. with files of different schemas while the binary copy schema evolution is disabled,
+ *   or with incompatible list or decimal encodings, are rewritten by {@link SparkSortAndSizeExecutionStrategy}.</li>
+ * </ul>
+ */
+@Slf4j
+public class SparkAutoBinaryCopyClusteringExecutionStrategy<T> extends SparkBinaryCopyClusteringExecutionStrategy<T> {
+
+  public SparkAutoBinaryCopyClusteringExecutionStrategy(
+      HoodieTable table,
+      HoodieEngineContext engineContext,
+      HoodieWriteConfig writeConfig) {
+    super(table, engineContext, writeConfig);
+  }
+
+  @Override
+  public HoodieWriteMetadata<HoodieData<WriteStatus>> performClustering(
+      HoodieClusteringPlan clusteringPlan,
+      HoodieSchema schema,
+      String instantTime) {
+    if (!supportBinaryStreamCopyForTable(clusteringPlan.getStrategy().getStrategyParams())) {
+      return performRewriteClustering(clusteringPlan, schema, instantTime);
+    }
+
+    List<HoodieClusteringGroup> inputGroups = clusteringPlan.getInputGroups();
+    List<Boolean> copyable = getCopyableGroups(inputGroups);
+    List<HoodieClusteringGroup> groupsToCopy = new ArrayList<>();
+    List<HoodieClusteringGroup> groupsToRewrite = new ArrayList<>();
+    for (int i = 0; i < inputGroups.size(); i++) {
+      if (copyable.get(i)) {
+        groupsToCopy.add(inputGroups.get(i));
+      } else {
+        groupsToRewrite.add(inputGroups.get(i));
+      }
+    }
+    log.info("Clustering {} groups by binary copy and rewriting {} groups", groupsToCopy.size(), groupsToRewrite.size());
+
+    if (groupsToCopy.isEmpty()) {
+      return performRewriteClustering(clusteringPlan, schema, instantTime);
+    }
+    JavaRDD<WriteStatus> writeStatusRDD = performBinaryCopyClustering(
+        groupsToCopy.stream().map(ClusteringGroupInfo::create).collect(Collectors.toList()), instantTime);
+    if (!groupsToRewrite.isEmpty()) {
+      HoodieClusteringPlan rewritePlan = HoodieClusteringPlan.newBuilder(clusteringPlan)
+          .setInputGroups(groupsToRewrite)
+          .build();
+      HoodieWriteMetadata<HoodieData<WriteStatus>> rewriteMetadata = performRewriteClustering(rewritePlan, schema, instantTime);
+      writeStatusRDD = writeStatusRDD.union(HoodieJavaRDD.getJavaRDD(rewriteMetadata.getWriteStatuses()));
+    }
+
+    HoodieWriteMetadata<HoodieData<WriteStatus>> writeMetadata = new HoodieWriteMetadata<>();
+    writeMetadata.setWriteStatuses(HoodieJavaRDD.of(writeStatusRDD));
+    return writeMetadata;
+  }
+
+  /**
+   * Returns whether each of the clustering groups can be clustered by binary copy, by reading the footers
+   * of all the files in a single job.
+   */
+  private List<Boolean> getCopyableGroups(List<HoodieClusteringGroup> inputGroups) {
+    List<Pair<Integer, String>> filesToCheck = new ArrayList<>();
+    for (int i = 0; i < inputGroups.size(); i++) {
+      HoodieClusteringGroup group = inputGroups.get(i);
+      // the binary copy writes a single file per group, which is only expected for stitching small files
+      if (group.getNumOutputFileGroups() != 1) {
+        continue;
+      }
+      for (ClusteringOperation operation : ClusteringGroupInfo.create(group).getOperations()) {
+        if (StringUtils.isNullOrEmpty(operation.getDataFilePath())
+            || (operation.getDeltaFilePaths() != null && !operation.getDeltaFilePaths().isEmpty())) {
+          // a log-only file slice or a file slice with log files to merge can not be copied
+          filesToCheck.add(Pair.of(i, null));
+        } else {
+          filesToCheck.add(Pair.of(i, operation.getDataFilePath()));
+        }
+      }
+    }
+
+    List<Boolean> copyable = IntStream.range(0, inputGroups.size()).mapToObj(i -> false).collect(Collectors.toList());
+    if (filesToCheck.isEmpty()) {
+      return copyable;
+    }
+    JavaSparkContext engineContext = HoodieSparkEngineContext.getSparkContext(getEngineContext());
+    StorageConfiguration<?> storageConf = getHoodieTable().getStorageConf();
+    Map<Integer, List<ParquetBinaryCopyChecker.ParquetFileInfo>> fileInfosByGroup = engineContext
+        .parallelize(filesToCheck, Math.min(filesToCheck.size(), getWriteConfig().getClusteringMaxParallelism()))
+        .map(file -> Pair.of(file.getLeft(), file.getRight() == null
+            ? new ParquetBinaryCopyChecker.ParquetFileInfo(false, null, null)
+            : ParquetBinaryCopyChecker.collectFileInfo(storageConf.unwrapAs(Configuration.class), file.getRight())))
+        .collect()
+        .stream()
+        .collect(Collectors.groupingBy(Pair::getLeft, Collectors.mapping(Pair::getRight, Collectors.toList())));
+
+    boolean schemaEvolutionEnabled = getWriteConfig().isBinaryCopySchemaEvolutionEnabled();
+    fileInfosByGroup.forEach((groupIndex, fileInfos) ->
+        copyable.set(groupIndex, ParquetBinaryCopyChecker.verifyFiles(fileInfos, schemaEvolutionEnabled)));
+    return copyable;
+  }
+}
@@ -85,13 +85,32 @@ public class SparkBinaryCopyClusteringExecutionStrategy<T> extends SparkSortAndS
         .collect(Collectors.toList());
     if (!supportBinaryStreamCopy(clusteringGroupInfos, clusteringPlan.getStrategy().getStrategyParams())) {
       log.info("Required conditions for binary stream copy are currently not satisfied, falling back to default clustering behavior");
-      // reset write config
-      this.writeConfig = HoodieWriteConfig.newBuilder().withProperties(writeConfig.getProps())
-          .withStorageConfig(HoodieStorageConfig.newBuilder().parquetWriteLegacyFormat("false").build()).build();
-      return super.performClustering(clusteringPlan, schema, instantTime);
+      return performRewriteClustering(clusteringPlan, schema, instantTime);
     }
     log.info("Required conditions are currently satisfied, enabling the optimization of using binary stream copy ");
 
+    HoodieWriteMetadata<HoodieData<WriteStatus>> writeMetadata = new HoodieWriteMetadata<>();
+    writeMetadata.setWriteStatuses(HoodieJavaRDD.of(performBinaryCopyClustering(clusteringGroupInfos, instantTime)));
+    return writeMetadata;
+  }
+
+  /**
+   * Rewrites the clustering groups of the plan by reading and writing the records, as the default clustering behavior.
+   */
+  protected HoodieWriteMetadata<HoodieData<WriteStatus>> performRewriteClustering(
+      HoodieClusteringPlan clusteringPlan,
+      HoodieSchema schema,
+      String instantTime) {
+    // reset write config
+    this.writeConfig = HoodieWriteConfig.newBuilder().withProperties(writeConfig.getProps())
+        .withStorageConfig(HoodieStorageConfig.newBuilder().parquetWriteLegacyFormat("false").build()).build();
+    return super.performClustering(clusteringPlan, schema, instantTime);
+  }
+
+  /**
+   * Stitches the files of each clustering group into a single file by binary copy, with one task per group.
+   */
+  protected JavaRDD<WriteStatus> performBinaryCopyClustering(List<ClusteringGroupInfo> clusteringGroupInfos, String instantTime) {
     JavaSparkContext engineContext = HoodieSparkEngineContext.getSparkContext(getEngineContext());
     TaskContextSupplier taskContextSupplier = getEngineContext().getTaskContextSupplier();
     JavaRDD<ClusteringGroupInfo> groupInfoJavaRDD = engineContext.parallelize(clusteringGroupInfos, clusteringGroupInfos.size());
@@ -107,10 +126,7 @@ public class SparkBinaryCopyClusteringExecutionStrategy<T> extends SparkSortAndS
                       instantTime))
               .iterator();
         });
-
-    HoodieWriteMetadata<HoodieData<WriteStatus>> writeMetadata = new HoodieWriteMetadata<>();
-    writeMetadata.setWriteStatuses(HoodieJavaRDD.of(writeStatusRDD));
-    return writeMetadata;
+    return writeStatusRDD;
   }
 
   /**
@@ -148,6 +164,26 @@ public class SparkBinaryCopyClusteringExecutionStrategy<T> extends SparkSortAndS
    * 4. Check Schema Optional or Required consistency for the same field
    */
   public boolean supportBinaryStreamCopy(List<ClusteringGroupInfo> inputGroups, Map<String, String> strategyParams) {
+    if (!supportBinaryStreamCopyForTable(strategyParams)) {
+      return false;
+    }
+
+    JavaSparkContext engineContext = HoodieSparkEngineContext.getSparkContext(getEngineContext());
+
+    List<ParquetBinaryCopyChecker.ParquetFileInfo> fileStatus = engineContext.parallelize(inputGroups, inputGroups.size())
+        .flatMap(group -> group.getOperations().iterator())
+        .map(op -> {
+          String filePath = op.getDataFilePath();
+          return ParquetBinaryCopyChecker.collectFileInfo(getHoodieTable().getStorageConf().unwrapAs(Configuration.class), filePath);
+        })
+        .collect();
+    return ParquetBinaryCopyChecker.verifyFiles(fileStatus);
+  }
+
+  /**
+   * Checks the table type, the sort columns and the base file format, regardless of the files to copy.
+   */
+  protected boolean supportBinaryStreamCopyForTable(Map<String, String> strategyParams) {
     if (getHoodieTable().getMetaClient().getTableType() != COPY_ON_WRITE) {
       log.warn("SparkBinaryCopyClusteringExecutionStrategy is only supported for COW tables. Will fall back to common clustering execution strategy.");
       return false;
@@ -165,16 +201,6 @@ public class SparkBinaryCopyClusteringExecutionStrategy<T> extends SparkSortAndS
       log.warn("SparkBinaryCopyClusteringExecutionStrategy only supports parquet base files. Will fall back to common clustering execution strategy.");
       return false;
     }
-
-    JavaSparkContext engineContext = HoodieSparkEngineContext.getSparkContext(getEngineContext());
-
-    List<ParquetBinaryCopyChecker.ParquetFileInfo> fileStatus = engineContext.parallelize(inputGroups, inputGroups.size())
-        .flatMap(group -> group.getOperations().iterator())
-        .map(op -> {
-          String filePath = op.getDataFilePath();
-          return ParquetBinaryCopyChecker.collectFileInfo(getHoodieTable().getStorageConf().unwrapAs(Configuration.class), filePath);
-        })
-        .collect();
-    return ParquetBinaryCopyChecker.verifyFiles(fileStatus);
+    return true;
   }
 }
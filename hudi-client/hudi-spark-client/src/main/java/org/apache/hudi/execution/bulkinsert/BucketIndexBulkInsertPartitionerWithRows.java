@@ -30,26 +30,41 @@ import org.apache.spark.sql.Row;
 
 /**
  * Bulk_insert partitioner of Spark row using bucket index.
+ *
+ * <p>The rows of each bucket are sorted by record key if {@code sortByRecordKey} is true, which is required by the tables
+ * with sorted records, e.g. the LSM tree layout where each bucket is written as a sorted run.
  */
 public class BucketIndexBulkInsertPartitionerWithRows implements BulkInsertPartitioner<Dataset<Row>> {
 
   private final String indexKeyFields;
   private final NumBucketsFunction numBucketsFunction;
   private final HoodieWriteConfig writeConfig;
+  private final boolean sortByRecordKey;
   private FileSystemViewStorageConfig viewConfig;
 
   public BucketIndexBulkInsertPartitionerWithRows(String indexKeyFields, HoodieWriteConfig writeConfig) {
-    this(writeConfig, NumBucketsFunction.fromWriteConfig(writeConfig), indexKeyFields);
+    this(indexKeyFields, writeConfig, false);
+  }
+
+  public BucketIndexBulkInsertPartitionerWithRows(String indexKeyFields, HoodieWriteConfig writeConfig, boolean sortByRecordKey) {
+    this(writeConfig, NumBucketsFunction.fromWriteConfig(writeConfig), indexKeyFields, sortByRecordKey);
   }
 
   public BucketIndexBulkInsertPartitionerWithRows(HoodieWriteConfig writeConfig, String expressions, String rule, int bucketNumber) {
-    this(writeConfig, new NumBucketsFunction(expressions, rule, bucketNumber), writeConfig.getBucketIndexHashFieldWithDefault());
+    this(writeConfig, expressions, rule, bucketNumber, false);
+  }
+
+  public BucketIndexBulkInsertPartitionerWithRows(HoodieWriteConfig writeConfig, String expressions, String rule, int bucketNumber,
+                                                  boolean sortByRecordKey) {
+    this(writeConfig, new NumBucketsFunction(expressions, rule, bucketNumber), writeConfig.getBucketIndexHashFieldWithDefault(), sortByRecordKey);
   }
 
-  private BucketIndexBulkInsertPartitionerWithRows(HoodieWriteConfig writeConfig, NumBucketsFunction numBucketsFunction, String indexKeyFields) {
+  private BucketIndexBulkInsertPartitionerWithRows(HoodieWriteConfig writeConfig, NumBucketsFunction numBucketsFunction, String indexKeyFields,
+                                                   boolean sortByRecordKey) {
     this.indexKeyFields = indexKeyFields;
     this.numBucketsFunction = numBucketsFunction;
     this.writeConfig = writeConfig;
+    this.sortByRecordKey = sortByRecordKey;
     if (writeConfig.isUsingRemotePartitioner()) {
       this.viewConfig = writeConfig.getViewStorageConfig();
     }
@@ -60,7 +75,7 @@ public class BucketIndexBulkInsertPartitionerWithRows implements BulkInsertParti
     Partitioner partitioner = writeConfig.isUsingRemotePartitioner() && writeConfig.isEmbeddedTimelineServerEnabled()
         ? BucketPartitionUtils$.MODULE$.getRemotePartitioner(viewConfig, numBucketsFunction, outputPartitions) 
         : BucketPartitionUtils$.MODULE$.getLocalePartitioner(numBucketsFunction, outputPartitions);
-    return BucketPartitionUtils$.MODULE$.createDataFrame(rows, indexKeyFields, numBucketsFunction, partitioner);
+    return BucketPartitionUtils$.MODULE$.createDataFrame(rows, indexKeyFields, numBucketsFunction, partitioner, sortByRecordKey);
   }
 
   @Override
@@ -23,6 +23,7 @@ import org.apache.hudi.common.model.HoodieKey;
 import org.apache.hudi.common.model.HoodieRecord;
 import org.apache.hudi.common.schema.HoodieSchema;
 import org.apache.hudi.common.schema.HoodieSchemaUtils;
+import org.apache.hudi.common.util.StringUtils;
 import org.apache.hudi.common.util.collection.FlatLists;
 import org.apache.hudi.table.BucketIndexBulkInsertPartitioner;
 import org.apache.hudi.table.HoodieTable;
@@ -57,7 +58,8 @@ public abstract class RDDBucketIndexPartitioner<T> extends BucketIndexBulkInsert
    * Execute partition using the given partitioner.
    * If sorting is required, will do it within each data partition:
    * - if sortColumnNames is specified, apply sort to the column (the behaviour is the same as `RDDCustomColumnsSortPartitioner`)
-   * - if table requires sort or BulkInsertSortMode is not None, then sort by record key within partition.
+   * - if table requires sort or BulkInsertSortMode is not None, then sort by record key within partition,
+   *   the tables requiring sorted records ignore the sort columns.
    * By default, do partition only.
    *
    * @param records
@@ -121,7 +123,11 @@ public abstract class RDDBucketIndexPartitioner<T> extends BucketIndexBulkInsert
       LOG.warn("Bucket index does not support global sort mode, the sort will only be done within each data partition");
     }
 
-    Comparator<HoodieKey> comparator = (Comparator<HoodieKey> & Serializable) (t1, t2) -> t1.getRecordKey().compareTo(t2.getRecordKey());
+    // the tables requiring sorted records, i.e. HFile base files and the LSM tree layout, order keys by UTF-8 bytes,
+    // not String (UTF-16) order, so sort with the matching comparator.
+    Comparator<HoodieKey> comparator = table.requireSortedRecords()
+        ? (Comparator<HoodieKey> & Serializable) (t1, t2) -> StringUtils.compareUtf8Bytes(t1.getRecordKey(), t2.getRecordKey())
+        : (Comparator<HoodieKey> & Serializable) (t1, t2) -> t1.getRecordKey().compareTo(t2.getRecordKey());
 
     return records.mapToPair(record -> new Tuple2<>(record.getKey(), record))
         .repartitionAndSortWithinPartitions(partitioner, comparator)
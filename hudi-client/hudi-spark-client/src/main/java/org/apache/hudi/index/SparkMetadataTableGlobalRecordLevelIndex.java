@@ -28,6 +28,7 @@ import org.apache.hudi.common.model.HoodieRecord;
 import org.apache.hudi.common.model.HoodieRecordGlobalLocation;
 import org.apache.hudi.common.util.Either;
 import org.apache.hudi.common.util.HoodieDataUtils;
+import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.ValidationUtils;
 import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.config.HoodieIndexConfig;
@@ -49,6 +50,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import scala.Tuple2;
 
@@ -92,7 +94,8 @@ public class SparkMetadataTableGlobalRecordLevelIndex extends HoodieIndex<Object
       records.persist(config.getRecordIndexInputStorageLevel());
     }
 
-    HoodiePairData<String, HoodieRecordGlobalLocation> keyAndExistingLocations = lookupRecords(records, context, hoodieTable, fileGroupSize);
+    HoodiePairData<String, HoodieRecordGlobalLocation> keyAndExistingLocations = lookupRecordsOnDriverIfSmall(records, context, hoodieTable, fileGroupSize)
+        .orElseGet(() -> lookupRecords(records, context, hoodieTable, fileGroupSize));
 
     // Tag the incoming records, as inserts or updates, by joining with existing record keys
     HoodieData<HoodieRecord<R>> taggedRecords = tagGlobalLocationBackToRecords(records, keyAndExistingLocations,
@@ -133,6 +136,41 @@ public class SparkMetadataTableGlobalRecordLevelIndex extends HoodieIndex<Object
     return HoodieJavaPairRDD.of(partitionedKeyRDD.mapPartitionsToPair(new RecordIndexFileGroupLookupFunction(hoodieTable)));
   }
 
+  /**
+   * Looks up the records on the driver if there are at most {@link HoodieIndexConfig#RECORD_INDEX_DRIVER_LOOKUP_MAX_RECORDS}
+   * of them, so that only the record index file groups storing the keys are read, w/o shuffling the keys to all the
+   * file groups of the record index.
+   */
+  private <R> Option<HoodiePairData<String, HoodieRecordGlobalLocation>> lookupRecordsOnDriverIfSmall(
+      HoodieData<HoodieRecord<R>> records, HoodieEngineContext context, HoodieTable hoodieTable, Either<Integer, Map<String, Integer>> fileGroupSize) {
+    int maxRecords = config.getRecordIndexDriverLookupMaxRecords();
+    if (maxRecords <= 0) {
+      return Option.empty();
+    }
+    // take() stops scanning the input once more records than the limit are found
+    List<Pair<String, String>> partitionPathAndKeys = HoodieJavaRDD.getJavaRDD(records)
+        .map(record -> Pair.of(record.getPartitionPath(), record.getRecordKey()))
+        .take(maxRecords + 1);
+    if (partitionPathAndKeys.size() > maxRecords) {
+      return Option.empty();
+    }
+    List<Pair<String, HoodieRecordGlobalLocation>> keyAndLocations = lookupKeysOnDriver(partitionPathAndKeys, hoodieTable, fileGroupSize);
+    log.info("Looked up {} records on the driver, found {} existing locations", partitionPathAndKeys.size(), keyAndLocations.size());
+    return Option.of(context.parallelize(keyAndLocations, 1).mapToPair(keyAndLocation -> keyAndLocation));
+  }
+
+  protected List<Pair<String, HoodieRecordGlobalLocation>> lookupKeysOnDriver(List<Pair<String, String>> partitionPathAndKeys, HoodieTable hoodieTable,
+                                                                             Either<Integer, Map<String, Integer>> fileGroupSize) {
+    List<String> keysToLookup = partitionPathAndKeys.stream().map(Pair::getRight).distinct().collect(Collectors.toList());
+    HoodiePairData<String, HoodieRecordGlobalLocation> recordIndexData =
+        hoodieTable.getTableMetadata().readRecordIndexLocationsWithKeys(HoodieListData.eager(keysToLookup));
+    try {
+      return HoodieDataUtils.dedupeAndCollectAsList(recordIndexData);
+    } finally {
+      recordIndexData.unpersistWithDependencies();
+    }
+  }
+
   protected Either<Integer, Map<String, Integer>> fetchFileGroupSize(HoodieTable hoodieTable) {
     return Either.left(hoodieTable.getTableMetadata().getNumFileGroupsForPartition(RECORD_INDEX));
   }
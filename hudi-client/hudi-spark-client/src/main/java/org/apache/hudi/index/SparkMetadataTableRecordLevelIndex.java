@@ -20,12 +20,14 @@
 package org.apache.hudi.index;
 
 import org.apache.hudi.common.data.HoodieData;
+import org.apache.hudi.common.data.HoodieListData;
 import org.apache.hudi.common.data.HoodiePairData;
 import org.apache.hudi.common.engine.HoodieEngineContext;
 import org.apache.hudi.common.model.FileSlice;
 import org.apache.hudi.common.model.HoodieRecord;
 import org.apache.hudi.common.model.HoodieRecordGlobalLocation;
 import org.apache.hudi.common.util.Either;
+import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.ValidationUtils;
 import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.config.HoodieWriteConfig;
@@ -38,9 +40,11 @@ import org.apache.hudi.table.HoodieTable;
 
 import org.apache.spark.api.java.JavaRDD;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * Index to be used with RLI. Queries the record index for tables with non-global record keys
@@ -81,6 +85,26 @@ public class SparkMetadataTableRecordLevelIndex extends SparkMetadataTableGlobal
     return HoodieJavaPairRDD.of(partitionedKeyRDD.mapPartitionsToPair(new PartitionedRecordIndexFileGroupLookupFunction(hoodieTable.getTableMetadata())));
   }
 
+  @Override
+  protected List<Pair<String, HoodieRecordGlobalLocation>> lookupKeysOnDriver(List<Pair<String, String>> partitionPathAndKeys, HoodieTable hoodieTable,
+                                                                             Either<Integer, Map<String, Integer>> fileGroupSize) {
+    Map<String, Integer> fileGroupCountPerDataPartition = fileGroupSize.asRight();
+    Map<String, List<String>> partitionToKeys = partitionPathAndKeys.stream()
+        .filter(partitionPathAndKey -> fileGroupCountPerDataPartition.containsKey(partitionPathAndKey.getLeft()))
+        .collect(Collectors.groupingBy(Pair::getLeft, Collectors.mapping(Pair::getRight, Collectors.toList())));
+    List<Pair<String, HoodieRecordGlobalLocation>> keyAndLocations = new ArrayList<>();
+    partitionToKeys.forEach((partitionPath, keys) -> {
+      HoodiePairData<String, HoodieRecordGlobalLocation> recordIndexData = hoodieTable.getTableMetadata()
+          .readRecordIndexLocationsWithKeys(HoodieListData.eager(keys.stream().distinct().collect(Collectors.toList())), Option.of(partitionPath));
+      try {
+        keyAndLocations.addAll(recordIndexData.collectAsList());
+      } finally {
+        recordIndexData.unpersistWithDependencies();
+      }
+    });
+    return keyAndLocations;
+  }
+
   @Override
   protected Either<Integer, Map<String, Integer>> fetchFileGroupSize(HoodieTable hoodieTable) {
     Map<String, Integer> partitionSizes = new HashMap<>();
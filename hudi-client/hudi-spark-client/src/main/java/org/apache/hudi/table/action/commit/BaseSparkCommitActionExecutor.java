@@ -327,8 +327,9 @@ public abstract class BaseSparkCommitActionExecutor<T> extends
     if (table.requireSortedRecords()) {
       // Partition and sort within each partition as a single step. This is faster than partitioning first and then
       // applying a sort.
-      // requireSortedRecords() is true only for HFile base files, which order keys by UTF-8 bytes,
-      // not String (UTF-16) order, so sort with the matching comparator.
+      // requireSortedRecords() is true for HFile base files and the LSM tree layout, which order keys by UTF-8 bytes,
+      // not String (UTF-16) order, so sort with the matching comparator. For the LSM tree layout, the records of
+      // each file group are then appended as a sorted run.
       Comparator<Tuple2<HoodieKey, Option<HoodieRecordLocation>>> comparator = (Comparator<Tuple2<HoodieKey, Option<HoodieRecordLocation>>> & Serializable) (t1, t2) -> {
         HoodieKey key1 = t1._1;
         HoodieKey key2 = t2._1;
@@ -97,7 +97,10 @@ public class SparkUpsertDeltaCommitPartitioner<T> extends UpsertPartitioner<T> {
               .collect(Collectors.toList());
     }
 
-    if (config.getParquetSmallFileLimit() <= 0) {
+    // NOTE: The inserts padded into a small base file are merged with it through the merge handle, for the LSM tree
+    //       layout the updates are always appended as sorted runs instead, so the inserts go to new file groups and
+    //       the small file groups are left for the compaction and clustering.
+    if (config.getParquetSmallFileLimit() <= 0 || table.getMetaClient().getTableConfig().isLSMTreeStorageLayout()) {
       return Collections.emptyList();
     }
 
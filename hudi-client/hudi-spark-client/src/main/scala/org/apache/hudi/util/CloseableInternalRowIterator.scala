@@ -19,6 +19,7 @@
 
 package org.apache.hudi.util
 
+import org.apache.hudi.common.util.ValidationUtils
 import org.apache.hudi.common.util.collection.ClosableIterator
 
 import org.apache.spark.sql.catalyst.InternalRow
@@ -46,6 +47,15 @@ class CloseableInternalRowIterator(iterator: Iterator[_]) extends ClosableIterat
     }
   }
 
+  /**
+   * Returns the entries as they are returned by the Spark reader, i.e. the [[ColumnarBatch]]es of the vectorized
+   * reader, for the caller processing the batches on its own. Must be called before any row is consumed.
+   */
+  def entryIterator: Iterator[_] = {
+    ValidationUtils.checkState(!entryTypeKnown, "Rows have already been consumed from the iterator")
+    iterator
+  }
+
   override def hasNext: Boolean = {
     seqInBatch >= 0 || iterator.hasNext
   }
@@ -21,7 +21,7 @@ package org.apache.spark.sql
 import org.apache.hudi.SparkAdapterSupport
 import org.apache.hudi.common.model.HoodieRecord
 import org.apache.hudi.common.table.view.FileSystemViewStorageConfig
-import org.apache.hudi.common.util.{Functions, RemotePartitionHelper}
+import org.apache.hudi.common.util.{Functions, RemotePartitionHelper, StringUtils}
 import org.apache.hudi.common.util.hash.BucketIndexUtil
 import org.apache.hudi.index.bucket.BucketIdentifier
 import org.apache.hudi.index.bucket.partition.NumBucketsFunction
@@ -32,6 +32,15 @@ import org.apache.spark.sql.catalyst.InternalRow
 
 object BucketPartitionUtils extends SparkAdapterSupport {
   def createDataFrame(df: DataFrame, indexKeyFields: String, numBucketsFunction: NumBucketsFunction, partitioner: Partitioner): DataFrame = {
+    createDataFrame(df, indexKeyFields, numBucketsFunction, partitioner, sortByRecordKey = false)
+  }
+
+  /**
+   * Repartitions the rows by bucket, the rows of each bucket are also sorted by record key in UTF-8 byte order
+   * if `sortByRecordKey` is true, e.g. for the sorted runs of the LSM tree layout.
+   */
+  def createDataFrame(df: DataFrame, indexKeyFields: String, numBucketsFunction: NumBucketsFunction, partitioner: Partitioner,
+                      sortByRecordKey: Boolean): DataFrame = {
     // parse the comma-separated config once outside the per-row closure; the list is a
     // serializable java.util.List, safe to capture
     val indexKeyFieldList = KeyGenUtils.getIndexKeyFields(indexKeyFields)
@@ -49,13 +58,51 @@ object BucketPartitionUtils extends SparkAdapterSupport {
 
     val getPartitionKey = getPartitionKeyExtractor()
     // use internalRow to avoid extra convert.
-    val reRdd = df.queryExecution.toRdd
-      .keyBy(row => getPartitionKey(row))
-      .repartitionAndSortWithinPartitions(partitioner)
-      .values
+    val reRdd = if (sortByRecordKey) {
+      implicit val ordering: Ordering[(String, Int, String)] = bucketAndRecordKeyOrdering
+      df.queryExecution.toRdd
+        .keyBy(row => {
+          val (partition, bucketId) = getPartitionKey(row)
+          (partition, bucketId, row.getString(HoodieRecord.RECORD_KEY_META_FIELD_ORD))
+        })
+        .repartitionAndSortWithinPartitions(getRecordKeyPartitioner(partitioner))
+        .values
+    } else {
+      df.queryExecution.toRdd
+        .keyBy(row => getPartitionKey(row))
+        .repartitionAndSortWithinPartitions(partitioner)
+        .values
+    }
     sparkAdapter.internalCreateDataFrame(df.sparkSession, reRdd, df.schema)
   }
 
+  private val bucketAndRecordKeyOrdering: Ordering[(String, Int, String)] = new Ordering[(String, Int, String)] {
+    override def compare(x: (String, Int, String), y: (String, Int, String)): Int = {
+      val partitionCompare = x._1.compareTo(y._1)
+      if (partitionCompare != 0) {
+        partitionCompare
+      } else if (x._2 != y._2) {
+        Integer.compare(x._2, y._2)
+      } else {
+        StringUtils.compareUtf8Bytes(x._3, y._3)
+      }
+    }
+  }
+
+  /**
+   * Wraps the bucket partitioner to accept the keys suffixed with the record key.
+   */
+  private def getRecordKeyPartitioner(partitioner: Partitioner): Partitioner = {
+    new Partitioner {
+      override def numPartitions: Int = partitioner.numPartitions
+
+      override def getPartition(value: Any): Int = {
+        val key = value.asInstanceOf[(String, Int, String)]
+        partitioner.getPartition((key._1, key._2))
+      }
+    }
+  }
+
   def getRemotePartitioner(viewConf: FileSystemViewStorageConfig, numBucketsFunction: NumBucketsFunction, partitionNum: Int): Partitioner = {
     new Partitioner {
       private val helper = new RemotePartitionHelper(viewConf)
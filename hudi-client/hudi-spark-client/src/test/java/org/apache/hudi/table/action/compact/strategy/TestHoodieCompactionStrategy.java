@@ -24,15 +24,24 @@ import org.apache.hudi.common.model.FileSlice;
 import org.apache.hudi.common.model.HoodieBaseFile;
 import org.apache.hudi.common.model.HoodieFileGroupId;
 import org.apache.hudi.common.model.HoodieLogFile;
+import org.apache.hudi.common.model.HoodieTableType;
 import org.apache.hudi.common.table.HoodieTableConfig;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.read.heat.FileGroupReadHeat;
+import org.apache.hudi.common.table.timeline.TimelineUtils;
+import org.apache.hudi.common.testutils.HoodieTestUtils;
 import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.config.HoodieCompactionConfig;
 import org.apache.hudi.config.HoodieWriteConfig;
+import org.apache.hudi.storage.StoragePath;
 
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -43,6 +52,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -140,6 +150,83 @@ public class TestHoodieCompactionStrategy {
         "Should chose the first 2 compactions which should result in a total IO of 1594 MB");
   }
 
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  public void testReadHeatBasedCompactionSimple(boolean enableIncrTableService) {
+    Map<Long, List<Long>> sizesMap = new HashMap<>();
+    sizesMap.put(120 * MB, Arrays.asList(60 * MB, 10 * MB, 80 * MB));
+    sizesMap.put(110 * MB, new ArrayList<>());
+    sizesMap.put(100 * MB, Collections.singletonList(MB));
+    sizesMap.put(90 * MB, Collections.singletonList(1024 * MB));
+    Map<Long, Double> readHeat = new HashMap<>();
+    readHeat.put(120L, 1.0);
+    readHeat.put(110L, 0.0);
+    readHeat.put(100L, 100.0);
+    readHeat.put(90L, 0.5);
+    ReadHeatBasedCompactionStrategy strategy = new ReadHeatBasedCompactionStrategy();
+    HoodieWriteConfig writeConfig = HoodieWriteConfig.newBuilder().withPath("/tmp")
+        .withIncrementalTableServiceEnabled(enableIncrTableService)
+        .withCompactionConfig(
+            HoodieCompactionConfig.newBuilder().withCompactionStrategy(strategy).withTargetIOPerCompactionInMB(1400)
+                .withCompactionReadHeatThreshold(0.5).build())
+        .build();
+    Pair<List<HoodieCompactionOperation>, Map<Long, String>> operationAndPartition = createCompactionOperations(writeConfig, sizesMap);
+    List<HoodieCompactionOperation> operations = operationAndPartition.getLeft();
+    // the read heat captured from the table, keyed by the base file size in MB
+    operations.forEach(op -> {
+      Map<String, Double> metrics = new HashMap<>(op.getMetrics());
+      double heat = readHeat.get(metrics.get(CompactionStrategy.TOTAL_IO_WRITE_MB).longValue());
+      metrics.put(ReadHeatBasedCompactionStrategy.READ_HEAT, heat);
+      metrics.put(ReadHeatBasedCompactionStrategy.READ_HEAT_SCORE, ReadHeatBasedCompactionStrategy.score(heat, metrics));
+      op.setMetrics(metrics);
+    });
+    Pair<List<HoodieCompactionOperation>, List<String>> resPair = writeConfig.getCompactionStrategy().orderAndFilter(writeConfig, operations, new ArrayList<>());
+    List<HoodieCompactionOperation> returned = resPair.getLeft();
+    List<String> missingPartitions = resPair.getRight();
+    if (enableIncrTableService) {
+      assertTrue(missingPartitions.contains(operationAndPartition.getRight().get(110 * MB)));
+    }
+    // scores: 100MB -> 100 * 1MB / 201MB, 90MB -> 0.5 * 1024MB / 1204MB, 120MB -> 1 * 150MB / 390MB
+    assertEquals(2, returned.size(), "ReadHeatBasedCompactionStrategy should have resulted in 2 compactions within the IO bound");
+    assertEquals(100L, returned.get(0).getMetrics().get(CompactionStrategy.TOTAL_IO_WRITE_MB).longValue());
+    assertEquals(90L, returned.get(1).getMetrics().get(CompactionStrategy.TOTAL_IO_WRITE_MB).longValue());
+  }
+
+  @Test
+  public void testReadHeatCaptureTableMetrics(@TempDir Path tempDir) throws IOException {
+    HoodieTableMetaClient metaClient = HoodieTestUtils.init(tempDir.toString(), HoodieTableType.MERGE_ON_READ);
+    HoodieWriteConfig writeConfig = HoodieWriteConfig.newBuilder().withPath(metaClient.getBasePath().toString())
+        .withCompactionConfig(HoodieCompactionConfig.newBuilder().withCompactionStrategy(new ReadHeatBasedCompactionStrategy())
+            .withCompactionReadHeatHalfLifeMinutes(Integer.MAX_VALUE).build())
+        .build();
+    long nowMs = System.currentTimeMillis();
+    // fg1 is compacted an hour ago, fg2 is never compacted
+    HoodieCompactionOperation fg1 = readHeatOperation("p1", "fg1", TimelineUtils.formatDate(new Date(nowMs - TimeUnit.HOURS.toMillis(1))));
+    HoodieCompactionOperation fg2 = readHeatOperation("p2", "fg2", "100");
+    StoragePath heatFolder = FileGroupReadHeat.getReadHeatFolder(metaClient.getMetaAuxiliaryPath());
+    Map<HoodieFileGroupId, Double> oldReads = new HashMap<>();
+    oldReads.put(new HoodieFileGroupId("p1", "fg1"), 5.0);
+    oldReads.put(new HoodieFileGroupId("p2", "fg2"), 3.0);
+    FileGroupReadHeat.write(metaClient.getStorage(), heatFolder, nowMs - TimeUnit.HOURS.toMillis(2), oldReads);
+    FileGroupReadHeat.write(metaClient.getStorage(), heatFolder, nowMs - TimeUnit.MINUTES.toMillis(30),
+        Collections.singletonMap(new HoodieFileGroupId("p1", "fg1"), 2.0));
+
+    writeConfig.getCompactionStrategy().captureTableMetrics(metaClient, writeConfig, Arrays.asList(fg1, fg2));
+    // the reads of fg1 before its last compaction are reset
+    assertEquals(2.0, fg1.getMetrics().get(ReadHeatBasedCompactionStrategy.READ_HEAT), 1e-3);
+    assertEquals(3.0, fg2.getMetrics().get(ReadHeatBasedCompactionStrategy.READ_HEAT), 1e-3);
+    assertEquals(ReadHeatBasedCompactionStrategy.score(fg1.getMetrics().get(ReadHeatBasedCompactionStrategy.READ_HEAT), fg1.getMetrics()),
+        fg1.getMetrics().get(ReadHeatBasedCompactionStrategy.READ_HEAT_SCORE), 1e-9);
+    // the metrics captured per file slice are kept
+    assertEquals(10.0, fg1.getMetrics().get(CompactionStrategy.TOTAL_LOG_FILE_SIZE), 1e-9);
+  }
+
+  private static HoodieCompactionOperation readHeatOperation(String partitionPath, String fileId, String baseInstantTime) {
+    Map<String, Double> metrics = new HashMap<>();
+    metrics.put(CompactionStrategy.TOTAL_LOG_FILE_SIZE, 10.0);
+    return new HoodieCompactionOperation(baseInstantTime, Collections.emptyList(), null, fileId, partitionPath, metrics, null);
+  }
+
   @ParameterizedTest
   @ValueSource(booleans = {true, false})
   public void testDayBasedCompactionSimple(boolean enableIncrTableService) {
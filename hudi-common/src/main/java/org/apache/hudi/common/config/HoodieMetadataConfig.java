@@ -110,6 +110,18 @@ public final class HoodieMetadataConfig extends HoodieConfig {
       .withDocumentation("Comma-separated list of table service actions on the metadata table "
           + "that should be delegated to the table service manager. Currently supported actions are: compaction, logcompaction.");
 
+  public static final ConfigProperty<Boolean> TABLE_SERVICES_ASYNC_ENABLE = ConfigProperty
+      .key(METADATA_PREFIX + ".table.services.async.enable")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.3.0")
+      .withDocumentation("If true, the data table writers do not run the compaction, log compaction, clean and archive of the "
+          + "metadata table, they only append the delta commits. The table services are run out of band by a separate job, "
+          + "e.g. org.apache.hudi.utilities.HoodieMetadataTableServiceJob, which coordinates with the writers through the lock "
+          + "of the data table, so " + METADATA_WRITE_CONCURRENCY_MODE.key() + " must be a multi-writer mode. A writer fails "
+          + "if the delta commits since the last compaction of the metadata table exceed " + METADATA_PREFIX
+          + ".max.deltacommits.when_pending, i.e. the table services fall behind.");
+
   public static final ConfigProperty<Integer> STREAMING_WRITE_DATATABLE_WRITE_STATUSES_COALESCE_DIVISOR = ConfigProperty
       .key(METADATA_PREFIX + ".streaming.write.datatable.write.statuses.coalesce.divisor")
       .defaultValue(5000)
@@ -297,6 +309,27 @@ public final class HoodieMetadataConfig extends HoodieConfig {
           + "the column stats of the first `n` columns (`n` defined by this config) in the "
           + "table schema are generated.");
 
+  public static final ConfigProperty<Boolean> COLUMN_STATS_INDEX_DISTINCT_COUNT_SKETCH_ENABLE = ConfigProperty
+      .key(METADATA_PREFIX + ".index.column.stats.distinct.count.sketch.enable")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.3.0")
+      .withDocumentation("Whether to collect mergeable sketches of the distinct values of the indexed columns into the column stats "
+          + "and partition stats index, so that the query engines can estimate the number of distinct values of the columns for "
+          + "the cost based optimization. The sketches of the log files are collected from the records the write handles "
+          + "already see. The parquet footers carry no distinct count though, so the indexed columns of every new base file are "
+          + "read back once when the file is indexed: enabling it adds a read of the indexed columns per written base file to the "
+          + "commits, and a full read of the indexed columns of the table to the index initialization. "
+          + "Takes effect when the column stats index is initialized.");
+
+  public static final ConfigProperty<Integer> COLUMN_STATS_INDEX_DISTINCT_COUNT_SKETCH_PRECISION = ConfigProperty
+      .key(METADATA_PREFIX + ".index.column.stats.distinct.count.sketch.precision")
+      .defaultValue(11)
+      .markAdvanced()
+      .sinceVersion("1.3.0")
+      .withDocumentation("Precision of the sketches of the distinct values, between 4 and 16. A sketch holds up to 2^precision "
+          + "one byte registers, with a relative standard error of 1.04 / sqrt(2^precision), about 2.3% for the default precision.");
+
   public static final String COLUMN_STATS_INDEX_PROCESSING_MODE_IN_MEMORY = "in-memory";
   public static final String COLUMN_STATS_INDEX_PROCESSING_MODE_ENGINE = "engine";
 
@@ -319,6 +352,34 @@ public final class HoodieMetadataConfig extends HoodieConfig {
           + " threshold (counted by the # of rows), it will be attempted to be loaded \"in-memory\" (ie not using the execution engine"
           + " like Spark, Flink, etc). If the value is above the threshold execution engine will be used to compose the projection.");
 
+  public static final ConfigProperty<Boolean> COLUMN_STATS_INDEX_LOCAL_PRUNING_ENABLE = ConfigProperty
+      .key(METADATA_PREFIX + ".index.column.stats.local.pruning.enable")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.3.0")
+      .withDocumentation("When enabled, the min/max/null-count statistics of the Column Stats Index are loaded into primitive "
+          + "arrays on the driver, cached across the queries by the metadata table instant, and the data skipping filter is "
+          + "evaluated over them locally w/o launching any job of the execution engine. The distributed evaluation is used "
+          + "when the projection of the index exceeds " + METADATA_PREFIX + ".index.column.stats.local.pruning.max.entries.");
+
+  public static final ConfigProperty<Long> COLUMN_STATS_INDEX_LOCAL_PRUNING_MAX_ENTRIES = ConfigProperty
+      .key(METADATA_PREFIX + ".index.column.stats.local.pruning.max.entries")
+      .defaultValue(2_000_000L)
+      .markAdvanced()
+      .sinceVersion("1.3.0")
+      .withDocumentation("Max number of the (file, column) statistics entries of the Column Stats Index projection that "
+          + "are evaluated locally when " + METADATA_PREFIX + ".index.column.stats.local.pruning.enable is true. The entries "
+          + "are collected onto the driver to be loaded, the collection stops once the limit is exceeded and the distributed "
+          + "evaluation is used instead, for the following queries as well until the metadata table is updated.");
+
+  public static final ConfigProperty<Long> COLUMN_STATS_INDEX_LOCAL_PRUNING_CACHE_MAX_SIZE = ConfigProperty
+      .key(METADATA_PREFIX + ".index.column.stats.local.pruning.cache.max.size")
+      .defaultValue(512 * 1024 * 1024L)
+      .markAdvanced()
+      .sinceVersion("1.3.0")
+      .withDocumentation("Max memory in bytes of the Column Stats Index arrays cached on the driver for the local pruning, "
+          + "the least recently used ones are evicted when exceeded.");
+
   public static final ConfigProperty<String> BLOOM_FILTER_INDEX_FOR_COLUMNS = ConfigProperty
       .key(METADATA_PREFIX + ".index.bloom.filter.column.list")
       .noDefaultValue()
@@ -422,6 +483,19 @@ public final class HoodieMetadataConfig extends HoodieConfig {
       .withDocumentation("The current number of records are multiplied by this number when estimating the number of "
           + "file groups to create automatically. This helps account for growth in the number of records in the dataset.");
 
+  public static final ConfigProperty<Boolean> RECORD_INDEX_RESHARD_ENABLE_PROP = ConfigProperty
+      .key(METADATA_PREFIX + ".record.index.reshard.enable")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.3.0")
+      .withDocumentation("When enabled, the table services of the metadata table reshard the record index online once the largest "
+          + "file group (per data partition for the partitioned record index) grows beyond " + RECORD_INDEX_MAX_FILE_GROUP_SIZE_BYTES_PROP.key()
+          + ". Every file group is split into the same number of file groups, estimated with " + RECORD_INDEX_GROWTH_FACTOR_PROP.key()
+          + " and bounded by the max file group count, so that the records of a file group only move to the file groups of the same "
+          + "hash residue. The new layout is written in a single delta commit of the metadata table w/o re-initializing the index. "
+          + "The resharding only runs with the inline table services of a single writer, under the lock of the data table, and is "
+          + "skipped while any write to the data table or the metadata table is inflight.");
+
   public static final ConfigProperty<Boolean> DEFER_RLI_INIT_FOR_FRESH_TABLE = ConfigProperty
       .key(METADATA_PREFIX + ".record.level.index.defer.init")
       .defaultValue(false)
@@ -750,6 +824,10 @@ public final class HoodieMetadataConfig extends HoodieConfig {
     return getString(TABLE_SERVICE_MANAGER_ACTIONS);
   }
 
+  public boolean isTableServicesAsyncEnabled() {
+    return getBooleanOrDefault(TABLE_SERVICES_ASYNC_ENABLE);
+  }
+
   public int getStreamingWritesCoalesceDivisorForDataTableWrites() {
     return getInt(HoodieMetadataConfig.STREAMING_WRITE_DATATABLE_WRITE_STATUSES_COALESCE_DIVISOR);
   }
@@ -790,6 +868,18 @@ public final class HoodieMetadataConfig extends HoodieConfig {
     return getIntOrDefault(COLUMN_STATS_INDEX_IN_MEMORY_PROJECTION_THRESHOLD);
   }
 
+  public boolean isColumnStatsIndexLocalPruningEnabled() {
+    return getBooleanOrDefault(COLUMN_STATS_INDEX_LOCAL_PRUNING_ENABLE);
+  }
+
+  public long getColumnStatsIndexLocalPruningMaxEntries() {
+    return getLongOrDefault(COLUMN_STATS_INDEX_LOCAL_PRUNING_MAX_ENTRIES);
+  }
+
+  public long getColumnStatsIndexLocalPruningCacheMaxSize() {
+    return getLongOrDefault(COLUMN_STATS_INDEX_LOCAL_PRUNING_CACHE_MAX_SIZE);
+  }
+
   public List<String> getColumnsEnabledForBloomFilterIndex() {
     return StringUtils.split(getString(BLOOM_FILTER_INDEX_FOR_COLUMNS), CONFIG_VALUES_DELIMITER);
   }
@@ -810,6 +900,14 @@ public final class HoodieMetadataConfig extends HoodieConfig {
     return getIntOrDefault(COLUMN_STATS_INDEX_PARALLELISM);
   }
 
+  public boolean isColumnStatsDistinctCountSketchEnabled() {
+    return getBooleanOrDefault(COLUMN_STATS_INDEX_DISTINCT_COUNT_SKETCH_ENABLE);
+  }
+
+  public int getColumnStatsDistinctCountSketchPrecision() {
+    return getIntOrDefault(COLUMN_STATS_INDEX_DISTINCT_COUNT_SKETCH_PRECISION);
+  }
+
   public int getIndexingCheckTimeoutSeconds() {
     return getIntOrDefault(METADATA_INDEX_CHECK_TIMEOUT_SECONDS);
   }
@@ -862,6 +960,10 @@ public final class HoodieMetadataConfig extends HoodieConfig {
     return getLong(RECORD_INDEX_MAX_FILE_GROUP_SIZE_BYTES_PROP);
   }
 
+  public boolean isRecordIndexReshardEnabled() {
+    return getBooleanOrDefault(RECORD_INDEX_RESHARD_ENABLE_PROP);
+  }
+
   public String getSplliableMapDir() {
     return getString(SPILLABLE_MAP_DIR_PROP);
   }
@@ -1143,6 +1245,17 @@ public final class HoodieMetadataConfig extends HoodieConfig {
       return this;
     }
 
+    public Builder withColumnStatsDistinctCountSketch(boolean enable, int precision) {
+      metadataConfig.setValue(COLUMN_STATS_INDEX_DISTINCT_COUNT_SKETCH_ENABLE, String.valueOf(enable));
+      metadataConfig.setValue(COLUMN_STATS_INDEX_DISTINCT_COUNT_SKETCH_PRECISION, String.valueOf(precision));
+      return this;
+    }
+
+    public Builder withColumnStatsIndexLocalPruning(boolean enable) {
+      metadataConfig.setValue(COLUMN_STATS_INDEX_LOCAL_PRUNING_ENABLE, String.valueOf(enable));
+      return this;
+    }
+
     public Builder withColumnStatsIndexForColumns(String columns) {
       metadataConfig.setValue(COLUMN_STATS_INDEX_FOR_COLUMNS, columns);
       return this;
@@ -1275,6 +1388,11 @@ public final class HoodieMetadataConfig extends HoodieConfig {
       return this;
     }
 
+    public Builder withRecordIndexReshardEnabled(boolean enabled) {
+      metadataConfig.setValue(RECORD_INDEX_RESHARD_ENABLE_PROP, String.valueOf(enabled));
+      return this;
+    }
+
     public Builder withSpillableMapDir(String dir) {
       metadataConfig.setValue(SPILLABLE_MAP_DIR_PROP, dir);
       return this;
@@ -1392,6 +1510,11 @@ public final class HoodieMetadataConfig extends HoodieConfig {
       return this;
     }
 
+    public Builder withAsyncTableServices(boolean asyncTableServices) {
+      metadataConfig.setValue(TABLE_SERVICES_ASYNC_ENABLE, String.valueOf(asyncTableServices));
+      return this;
+    }
+
     public Builder setFailOnTableServiceFailures(boolean failOnTableServiceFailures) {
       metadataConfig.setValue(FAIL_ON_TABLE_SERVICE_FAILURES, String.valueOf(failOnTableServiceFailures));
       return this;
@@ -1425,6 +1548,12 @@ public final class HoodieMetadataConfig extends HoodieConfig {
             + TABLE_SERVICE_MANAGER_ACTIONS.key() + " is empty. Specify at least one action to delegate"
             + " (supported: " + SUPPORTED_TABLE_SERVICE_MANAGER_ACTIONS + ").");
       }
+      if (metadataConfig.getBoolean(TABLE_SERVICES_ASYNC_ENABLE)
+          && !WriteConcurrencyMode.valueOf(metadataConfig.getString(METADATA_WRITE_CONCURRENCY_MODE).toUpperCase()).supportsMultiWriter()) {
+        throw new IllegalArgumentException(TABLE_SERVICES_ASYNC_ENABLE.key() + " is set to true but "
+            + METADATA_WRITE_CONCURRENCY_MODE.key() + " is " + metadataConfig.getString(METADATA_WRITE_CONCURRENCY_MODE)
+            + ". Use a multi-writer mode so that the out of band table services and the writers are coordinated by the lock.");
+      }
       return metadataConfig;
     }
 
@@ -59,6 +59,16 @@ public class HoodieReaderConfig extends HoodieConfig {
       .sinceVersion("1.0.0")
       .withDocumentation("Whether to use positions in the block header for data blocks containing updates and delete blocks for merging.");
 
+  public static final ConfigProperty<Boolean> MERGE_USE_COLUMNAR_BATCH = ConfigProperty
+      .key("hoodie.merge.use.columnar.batch")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.3.0")
+      .withDocumentation("Whether to keep the base file records in columnar batches when merging them with the log records "
+          + "by positions for the snapshot query on merge on read table. Only the rows touched by the log files are overwritten "
+          + "in the column vectors, so the vectorized execution is kept for the rest of the rows. Only effective for the Parquet "
+          + "base files with flat schema, and when " + MERGE_USE_RECORD_POSITIONS.key() + " is enabled.");
+
   public static final ConfigProperty<Integer> LSM_SORT_MERGE_SPILL_THRESHOLD = ConfigProperty
       .key("hoodie.lsm.sort.merge.spill.threshold")
       .defaultValue(16)
@@ -66,6 +76,16 @@ public class HoodieReaderConfig extends HoodieConfig {
       .withDocumentation("Maximum number of sorted LSM input files to keep as direct readers during sort merge. "
           + "When the fan-in is larger, remaining inputs are drained to sequential local spill files and read back during merge.");
 
+  public static final ConfigProperty<Boolean> READ_HEAT_TRACKING_ENABLE = ConfigProperty
+      .key("hoodie.read.heat.tracking.enable")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.3.0")
+      .withDocumentation("Whether the file group readers of the Spark queries track the reads of the file slices with log files to merge, "
+          + "and persist them per task as the read heat of the file groups under the auxiliary folder of the table. The read heat is used "
+          + "by the ReadHeatBasedCompactionStrategy to prioritize compacting the file groups that are read the most. Enable it on the "
+          + "query side only.");
+
   public static final String REALTIME_SKIP_MERGE = "skip_merge";
   public static final String REALTIME_PAYLOAD_COMBINE = "payload_combine";
   public static final ConfigProperty<String> MERGE_TYPE = ConfigProperty
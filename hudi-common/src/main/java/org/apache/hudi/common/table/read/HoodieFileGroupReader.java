@@ -34,6 +34,7 @@ import org.apache.hudi.common.table.HoodieTableMetaClient;
 import org.apache.hudi.common.table.PartitionPathParser;
 import org.apache.hudi.common.table.read.buffer.FileGroupRecordBufferLoader;
 import org.apache.hudi.common.table.read.buffer.HoodieFileGroupRecordBuffer;
+import org.apache.hudi.common.table.read.heat.ReadHeatTracker;
 import org.apache.hudi.common.util.ConfigUtils;
 import org.apache.hudi.common.util.HoodieRecordUtils;
 import org.apache.hudi.common.util.Option;
@@ -83,6 +84,7 @@ public final class HoodieFileGroupReader<T> implements HoodieRecordReader<T> {
   // Core structure to store and process records.
   private HoodieFileGroupRecordBuffer<T> recordBuffer;
   private ClosableIterator<T> baseFileIterator;
+  @Getter
   private final Option<UnaryOperator<T>> outputConverter;
   @Getter
   private final HoodieReadStats readStats;
@@ -92,6 +94,8 @@ public final class HoodieFileGroupReader<T> implements HoodieRecordReader<T> {
   @Getter
   private List<String> validBlockInstants = Collections.emptyList();
   private BufferedRecordConverter<T> bufferedRecordConverter;
+  // Tracks the read heat of the file group if provided by the caller, only the reads with log files to merge are tracked
+  private Option<ReadHeatTracker> readHeatTracker;
 
   @Builder(setterPrefix = "with")
   private HoodieFileGroupReader(
@@ -113,7 +117,8 @@ public final class HoodieFileGroupReader<T> implements HoodieRecordReader<T> {
       Boolean emitDelete,
       Boolean sortOutput,
       Option<BaseFileUpdateCallback<T>> fileGroupUpdateCallback,
-      FileGroupRecordBufferLoader<T> recordBufferLoader) {
+      FileGroupRecordBufferLoader<T> recordBufferLoader,
+      Option<ReadHeatTracker> readHeatTracker) {
 
     // Validations
     ValidationUtils.checkArgument(readerContext != null, "Reader context is required");
@@ -152,6 +157,9 @@ public final class HoodieFileGroupReader<T> implements HoodieRecordReader<T> {
     if (fileGroupUpdateCallback == null) {
       fileGroupUpdateCallback = Option.empty();
     }
+    if (readHeatTracker == null) {
+      readHeatTracker = Option.empty();
+    }
 
     // Derive tablePath
     String tablePath = hoodieTableMetaClient.getBasePath().toString();
@@ -212,6 +220,7 @@ public final class HoodieFileGroupReader<T> implements HoodieRecordReader<T> {
     this.outputConverter = readerContext.getSchemaHandler().getOutputConverter();
     this.orderingFieldNames = HoodieRecordUtils.getOrderingFieldNames(readerContext.getMergeMode(), hoodieTableMetaClient);
     this.readStats = new HoodieReadStats();
+    this.readHeatTracker = inputSplit.hasLogFiles() ? readHeatTracker : Option.empty();
   }
 
   /**
@@ -367,6 +376,8 @@ public final class HoodieFileGroupReader<T> implements HoodieRecordReader<T> {
     }
     if (recordBuffer != null) {
       recordBuffer.close();
+      readHeatTracker.ifPresent(tracker -> tracker.recordRead(inputSplit.getPartitionPath(), inputSplit.getLogFiles().get(0).getFileId()));
+      readHeatTracker = Option.empty();
     }
   }
 
@@ -399,6 +410,18 @@ public final class HoodieFileGroupReader<T> implements HoodieRecordReader<T> {
     return new CloseableMappingIterator<>(getBufferedRecordIterator(IteratorMode.RECORD_KEY), BufferedRecord::getRecordKey);
   }
 
+  /**
+   * Returns the base file iterator and the record buffer loaded with the log records w/o merging them, for the engine
+   * that merges the base file records on its own, e.g, in columnar batches. The buffer is null if there is no
+   * log record to merge. Merged records are in the layout of the required schema, the {@link #getOutputConverter()}
+   * should be applied to them.
+   */
+  public Pair<ClosableIterator<T>, HoodieFileGroupRecordBuffer<T>> getBaseFileIteratorAndRecordBuffer() throws IOException {
+    this.readerContext.setIteratorMode(IteratorMode.ENGINE_RECORD);
+    initRecordIterators();
+    return Pair.of(baseFileIterator, recordBuffer);
+  }
+
   public ClosableIterator<BufferedRecord<T>> getLogRecordsOnly() throws IOException {
     initRecordIterators();
     return recordBuffer.getLogRecordIterator();
@@ -36,6 +36,7 @@ import org.apache.hudi.common.table.read.BufferedRecords;
 import org.apache.hudi.common.table.read.UpdateProcessor;
 import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.StringUtils;
+import org.apache.hudi.common.util.ValidationUtils;
 import org.apache.hudi.common.util.collection.ClosableIterator;
 import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.exception.HoodieException;
@@ -226,6 +227,37 @@ public class PositionBasedFileGroupRecordBuffer<T> extends KeyBasedFileGroupReco
     }
   }
 
+  /**
+   * Whether the log records are buffered by the positions of the base file records, in which case the base file
+   * records without any log record at the same position can be emitted as they are, e.g, by the engine that reads
+   * the base file in columnar batches and only merges the records touched by the log files.
+   */
+  public boolean isMergingByPosition() {
+    return readerContext.getShouldMergeUseRecordPosition();
+  }
+
+  /**
+   * Returns the sorted positions of the buffered log records, only valid if {@link #isMergingByPosition()}.
+   */
+  public long[] getSortedRecordPositions() {
+    ValidationUtils.checkState(isMergingByPosition(), "The log records are not buffered by the record positions");
+    return records.keySet().stream().mapToLong(position -> (Long) position).sorted().toArray();
+  }
+
+  /**
+   * Merges the base record at provided position with the log record buffered at the same position. The log record
+   * is removed from the buffer, so it is not emitted again as a log-only record once the base file is exhausted.
+   *
+   * @param baseRecord The base file record at the position, it should not be reused by the caller
+   * @param position   The position of the record in the base file
+   *
+   * @return the merged record, or null if the record is deleted
+   */
+  public BufferedRecord<T> mergeWithBaseRecord(T baseRecord, long position) throws IOException {
+    BufferedRecord<T> logRecordInfo = records.remove(position);
+    return hasNextBaseRecord(baseRecord, logRecordInfo) ? next() : null;
+  }
+
   @Override
   public boolean containsLogRecord(String recordKey) {
     return records.values().stream()
@@ -0,0 +1,204 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.table.read.heat;
+
+import org.apache.hudi.common.model.HoodieFileGroupId;
+import org.apache.hudi.exception.HoodieIOException;
+import org.apache.hudi.storage.HoodieStorage;
+import org.apache.hudi.storage.StoragePath;
+import org.apache.hudi.storage.StoragePathInfo;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * The read heat of the file groups, i.e. how many times the file slices of a file group are read with log files to merge.
+ *
+ * <p>The heat is persisted by the readers as heat files under {@code .hoodie/.aux/.read_heat}, see {@link ReadHeatTracker}.
+ * A heat file is named {@code <flush time in millis>_<uuid>.heat}, the first line is the header {@code <version>,<count>},
+ * followed by the lines {@code <partition path>\t<file id>\t<reads>}. A heat file with an unexpected header or a line count
+ * that does not match the header, e.g. a partially written one, is ignored.
+ *
+ * <p>The heat decays exponentially with the age of the heat file, by half every half-life. Heat files that decayed below
+ * {@link #MIN_WEIGHT} are deleted on load, and the remaining ones are consolidated into a single heat file once there are
+ * more than {@link #MAX_HEAT_FILES}, so that the number of heat files is bounded. The reads of a file group flushed before
+ * its last compaction are not counted, since the log files they merged are compacted.
+ */
+@Slf4j
+public class FileGroupReadHeat {
+
+  public static final String READ_HEAT_FOLDER_NAME = ".read_heat";
+  private static final String HEAT_FILE_SUFFIX = ".heat";
+  private static final String VERSION = "1";
+  private static final String HEADER_SEPARATOR = ",";
+  private static final String FIELD_SEPARATOR = "\t";
+  static final double MIN_WEIGHT = 1.0 / 1024;
+  static final int MAX_HEAT_FILES = 64;
+
+  private FileGroupReadHeat() {
+  }
+
+  public static StoragePath getReadHeatFolder(String metaAuxiliaryPath) {
+    return new StoragePath(metaAuxiliaryPath, READ_HEAT_FOLDER_NAME);
+  }
+
+  /**
+   * Writes the reads of the file groups as a new heat file flushed at {@code timestampMs}.
+   */
+  public static StoragePath write(HoodieStorage storage, StoragePath heatFolder, long timestampMs, Map<HoodieFileGroupId, Double> reads) {
+    StoragePath heatFile = new StoragePath(heatFolder, timestampMs + "_" + UUID.randomUUID() + HEAT_FILE_SUFFIX);
+    try (OutputStream outputStream = storage.create(heatFile, false);
+         BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))) {
+      writer.write(String.join(HEADER_SEPARATOR, VERSION, String.valueOf(reads.size())));
+      writer.write("\n");
+      for (Map.Entry<HoodieFileGroupId, Double> entry : reads.entrySet()) {
+        writer.write(String.join(FIELD_SEPARATOR, entry.getKey().getPartitionPath(), entry.getKey().getFileId(), String.valueOf(entry.getValue())));
+        writer.write("\n");
+      }
+    } catch (IOException e) {
+      throw new HoodieIOException("Failed to write the read heat file " + heatFile, e);
+    }
+    return heatFile;
+  }
+
+  /**
+   * Loads the decayed read heat of the file groups as of {@code nowMs}.
+   *
+   * @param storage    storage of the table
+   * @param heatFolder folder of the heat files
+   * @param nowMs      time to decay the heat to
+   * @param halfLifeMs half-life of the heat
+   * @return the read heat per file group, empty if no heat is persisted
+   */
+  public static Map<HoodieFileGroupId, Double> load(HoodieStorage storage, StoragePath heatFolder, long nowMs, long halfLifeMs) {
+    return load(storage, heatFolder, nowMs, halfLifeMs, Collections.emptyMap());
+  }
+
+  /**
+   * Loads the decayed read heat of the file groups as of {@code nowMs}, ignoring the reads of a file group flushed before its
+   * reset time, e.g. the reads of the file slices before its last compaction that merged log files compacted since.
+   *
+   * @param storage      storage of the table
+   * @param heatFolder   folder of the heat files
+   * @param nowMs        time to decay the heat to
+   * @param halfLifeMs   half-life of the heat
+   * @param resetTimesMs time the heat of the file group is reset at, per file group
+   * @return the read heat per file group, empty if no heat is persisted
+   */
+  public static Map<HoodieFileGroupId, Double> load(HoodieStorage storage, StoragePath heatFolder, long nowMs, long halfLifeMs,
+                                                    Map<HoodieFileGroupId, Long> resetTimesMs) {
+    List<StoragePathInfo> heatFiles;
+    try {
+      heatFiles = storage.listDirectEntries(heatFolder, path -> path.getName().endsWith(HEAT_FILE_SUFFIX));
+    } catch (FileNotFoundException e) {
+      return Collections.emptyMap();
+    } catch (IOException e) {
+      throw new HoodieIOException("Failed to list the read heat files under " + heatFolder, e);
+    }
+
+    Map<HoodieFileGroupId, Double> heat = new HashMap<>();
+    List<StoragePath> loadedFiles = new ArrayList<>();
+    for (StoragePathInfo heatFile : heatFiles) {
+      StoragePath path = heatFile.getPath();
+      long timestampMs;
+      try {
+        timestampMs = Long.parseLong(path.getName().substring(0, path.getName().indexOf('_')));
+      } catch (RuntimeException e) {
+        log.warn("Ignoring the read heat file {} with unexpected name", path);
+        continue;
+      }
+      double weight = Math.pow(0.5, (double) Math.max(0L, nowMs - timestampMs) / Math.max(1L, halfLifeMs));
+      if (weight < MIN_WEIGHT) {
+        deleteQuietly(storage, path);
+        continue;
+      }
+      Map<HoodieFileGroupId, Double> reads = read(storage, path);
+      if (reads != null) {
+        reads.forEach((fileGroupId, count) -> {
+          if (timestampMs >= resetTimesMs.getOrDefault(fileGroupId, Long.MIN_VALUE)) {
+            heat.merge(fileGroupId, count * weight, Double::sum);
+          }
+        });
+        loadedFiles.add(path);
+      }
+    }
+
+    if (loadedFiles.size() > MAX_HEAT_FILES) {
+      // the consolidated heat file is flushed at now, so the decayed heat keeps decaying from now on
+      write(storage, heatFolder, nowMs, heat);
+      loadedFiles.forEach(path -> deleteQuietly(storage, path));
+      log.info("Consolidated {} read heat files under {}", loadedFiles.size(), heatFolder);
+    }
+    return heat;
+  }
+
+  private static Map<HoodieFileGroupId, Double> read(HoodieStorage storage, StoragePath heatFile) {
+    try (InputStream inputStream = storage.open(heatFile);
+         BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+      String header = reader.readLine();
+      String[] headerFields = header == null ? new String[0] : header.split(HEADER_SEPARATOR, -1);
+      if (headerFields.length != 2 || !VERSION.equals(headerFields[0])) {
+        log.warn("Ignoring the read heat file {} with unexpected header: {}", heatFile, header);
+        return null;
+      }
+      long expectedCount = Long.parseLong(headerFields[1]);
+      Map<HoodieFileGroupId, Double> reads = new HashMap<>();
+      String line;
+      while ((line = reader.readLine()) != null) {
+        String[] fields = line.split(FIELD_SEPARATOR, -1);
+        if (fields.length != 3) {
+          log.warn("Ignoring the read heat file {} with unexpected line: {}", heatFile, line);
+          return null;
+        }
+        reads.merge(new HoodieFileGroupId(fields[0], fields[1]), Double.parseDouble(fields[2]), Double::sum);
+      }
+      if (reads.size() != expectedCount) {
+        log.warn("Ignoring the incomplete read heat file {}, expected {} file groups, found {}", heatFile, expectedCount, reads.size());
+        return null;
+      }
+      return reads;
+    } catch (IOException | NumberFormatException e) {
+      log.warn("Failed to read the read heat file {}, ignoring it", heatFile, e);
+      return null;
+    }
+  }
+
+  private static void deleteQuietly(HoodieStorage storage, StoragePath path) {
+    try {
+      storage.deleteFile(path);
+    } catch (IOException e) {
+      log.warn("Failed to delete the read heat file {}", path, e);
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.table.read.heat;
+
+import org.apache.hudi.common.model.HoodieFileGroupId;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.util.CustomizedThreadFactory;
+import org.apache.hudi.common.util.VisibleForTesting;
+import org.apache.hudi.storage.HoodieStorage;
+import org.apache.hudi.storage.StoragePath;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the reads of the file groups with log files to merge, and flushes them as heat files of {@link FileGroupReadHeat}
+ * every {@link #FLUSH_READS} reads or {@link #FLUSH_INTERVAL_MS}, whichever comes first, and on {@link #close()}.
+ *
+ * <p>A tracker is owned by the engine component that creates the file group readers of a table, e.g. a task, and passed to
+ * the readers, see {@code HoodieFileGroupReader.Builder#withReadHeatTracker}. The owner closes it at the end of its lifecycle.
+ *
+ * <p>The heat files are written by a flusher thread, the readers only hand over the pending reads through a queue of at most
+ * {@link #MAX_PENDING_FLUSHES} flushes. The heat is a best-effort signal: the reads are dropped w/o failing the reads when the
+ * queue is full or a flush fails, and the reads pending on JVM exit are lost.
+ */
+@Slf4j
+public class ReadHeatTracker implements AutoCloseable {
+
+  static final int FLUSH_READS = 1000;
+  static final long FLUSH_INTERVAL_MS = 60_000L;
+  static final int MAX_PENDING_FLUSHES = 4;
+
+  private final HoodieStorage storage;
+  private final StoragePath heatFolder;
+  private final ThreadPoolExecutor flusher;
+  private Map<HoodieFileGroupId, Double> pendingReads = new HashMap<>();
+  private long pendingReadCount = 0L;
+  private long lastFlushMs;
+  private boolean closed = false;
+  // the last flush handed over to the flusher, which completes after all the previous ones
+  private Future<?> lastFlush = CompletableFuture.completedFuture(null);
+
+  @VisibleForTesting
+  ReadHeatTracker(HoodieStorage storage, StoragePath heatFolder, long nowMs) {
+    this(storage, heatFolder, nowMs, new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+        new ArrayBlockingQueue<>(MAX_PENDING_FLUSHES), new CustomizedThreadFactory("read-heat-flusher", true)));
+  }
+
+  @VisibleForTesting
+  ReadHeatTracker(HoodieStorage storage, StoragePath heatFolder, long nowMs, ThreadPoolExecutor flusher) {
+    this.storage = storage;
+    this.heatFolder = heatFolder;
+    this.lastFlushMs = nowMs;
+    this.flusher = flusher;
+  }
+
+  /**
+   * Creates a tracker of the reads of the table, to be closed by the caller.
+   */
+  public static ReadHeatTracker create(HoodieTableMetaClient metaClient) {
+    return new ReadHeatTracker(metaClient.getStorage(), FileGroupReadHeat.getReadHeatFolder(metaClient.getMetaAuxiliaryPath()),
+        System.currentTimeMillis());
+  }
+
+  /**
+   * Records a read of the file slice of the given file group with log files to merge.
+   */
+  public void recordRead(String partitionPath, String fileId) {
+    recordRead(partitionPath, fileId, System.currentTimeMillis());
+  }
+
+  @VisibleForTesting
+  synchronized void recordRead(String partitionPath, String fileId, long nowMs) {
+    if (closed) {
+      return;
+    }
+    pendingReads.merge(new HoodieFileGroupId(partitionPath, fileId), 1.0d, Double::sum);
+    pendingReadCount++;
+    if (pendingReadCount >= FLUSH_READS || nowMs - lastFlushMs >= FLUSH_INTERVAL_MS) {
+      flush(nowMs);
+    }
+  }
+
+  @VisibleForTesting
+  synchronized void flush(long nowMs) {
+    lastFlushMs = nowMs;
+    if (pendingReads.isEmpty()) {
+      return;
+    }
+    Map<HoodieFileGroupId, Double> reads = pendingReads;
+    pendingReads = new HashMap<>();
+    pendingReadCount = 0L;
+    try {
+      lastFlush = flusher.submit(() -> {
+        try {
+          FileGroupReadHeat.write(storage, heatFolder, nowMs, reads);
+        } catch (Exception e) {
+          log.warn("Failed to flush the read heat of {} file groups under {}, dropping it", reads.size(), heatFolder, e);
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      log.warn("Dropping the read heat of {} file groups under {} since the queue of pending flushes is full", reads.size(), heatFolder);
+    }
+  }
+
+  /**
+   * Flushes the pending reads and stops the tracker, the pending flushes are written asynchronously.
+   */
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    flush(System.currentTimeMillis());
+    closed = true;
+    flusher.shutdown();
+  }
+
+  @VisibleForTesting
+  void awaitFlushes(long timeoutMs) throws Exception {
+    Future<?> flush;
+    synchronized (this) {
+      flush = lastFlush;
+    }
+    flush.get(timeoutMs, TimeUnit.MILLISECONDS);
+  }
+}
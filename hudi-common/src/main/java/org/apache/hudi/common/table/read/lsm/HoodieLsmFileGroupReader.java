@@ -201,12 +201,32 @@ public final class HoodieLsmFileGroupReader<T> implements HoodieRecordReader<T>
           inputSplit.getStart(), inputSplit.getLength(), orderingFieldNames, true);
     } else {
       this.bufferedRecordIterator = new LsmFileGroupRecordIterator<>(
-          readerContext, storage, inputSplit, orderingFieldNames, metaClient, props,
+          readerContext, storage, getLiveRunsSplit(), orderingFieldNames, metaClient, props,
           readerParameters, readStats, fileGroupUpdateCallback, includeBaseFile);
     }
     return new HoodieLsmFileGroupReaderIterator<>(this);
   }
 
+  /**
+   * Returns the split without the sorted runs merged by a run compaction, their records are read from the merged run.
+   */
+  private InputSplit getLiveRunsSplit() {
+    if (!inputSplit.hasLogFiles()) {
+      return inputSplit;
+    }
+    List<HoodieLogFile> liveLogFiles = LsmReaderUtils.getLiveLogFiles(storage, inputSplit.getLogFiles());
+    if (liveLogFiles.size() == inputSplit.getLogFiles().size()) {
+      return inputSplit;
+    }
+    return InputSplit.builder()
+        .baseFileOption(inputSplit.getBaseFileOption())
+        .logFileStream(liveLogFiles.stream())
+        .partitionPath(inputSplit.getPartitionPath())
+        .start(inputSplit.getStart())
+        .length(inputSplit.getLength())
+        .build();
+  }
+
   @Override
   public ClosableIterator<BufferedRecord<T>> getClosableBufferedRecordIterator() throws IOException {
     return getBufferedRecordIterator(IteratorMode.HOODIE_RECORD, true);
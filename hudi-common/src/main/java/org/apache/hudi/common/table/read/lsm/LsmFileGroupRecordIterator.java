@@ -91,6 +91,7 @@ public class LsmFileGroupRecordIterator<T> implements ClosableIterator<BufferedR
   private final boolean readBaseFile;
   private final BufferedRecordMerger<T> bufferedRecordMerger;
   private final UpdateProcessor<T> updateProcessor;
+  private final HoodieReadStats readStats;
   private final LoserTree<T> readers;
   private final int spillThreshold;
   private final String spillBasePath;
@@ -141,6 +142,7 @@ public class LsmFileGroupRecordIterator<T> implements ClosableIterator<BufferedR
         readerContext, readerContext.getMergeMode(), false, readerContext.getRecordMerger(),
         readerSchema, readerContext.getPayloadClasses(props), props, metaClient.getTableConfig().getPartialUpdateMode());
     this.updateProcessor = UpdateProcessor.create(readStats, readerContext, readerParameters.isEmitDeletes(), fileGroupUpdateCallback, props);
+    this.readStats = readStats;
     this.readers = new LoserTree<>(initializeReaders());
   }
 
@@ -166,9 +168,13 @@ public class LsmFileGroupRecordIterator<T> implements ClosableIterator<BufferedR
 
     List<LogReaderSpec> logReaderSpecs = new ArrayList<>();
     if (!inputSplit.hasRecordIterator()) {
+      long totalLogSize = 0;
       for (HoodieLogFile logFile : inputSplit.getLogFiles()) {
         logReaderSpecs.add(new LogReaderSpec(mergeOrder++, logFile));
+        totalLogSize += Math.max(0, logFile.getFileSize());
       }
+      readStats.setTotalLogFilesCompacted(logReaderSpecs.size());
+      readStats.setTotalLogSizeCompacted(totalLogSize);
     }
     Set<Integer> directLogMergeOrders = selectDirectLogMergeOrders(logReaderSpecs, readBaseFile);
     for (LogReaderSpec spec : logReaderSpecs) {
@@ -19,10 +19,22 @@
 package org.apache.hudi.common.table.read.lsm;
 
 import org.apache.hudi.common.config.HoodieReaderConfig;
+import org.apache.hudi.common.model.HoodieFileFormat;
+import org.apache.hudi.common.model.HoodieLogFile;
 import org.apache.hudi.common.table.HoodieTableConfig;
+import org.apache.hudi.common.table.log.NativeLogFooterMetadata;
+import org.apache.hudi.common.table.log.block.HoodieLogBlock.HeaderMetadataType;
+import org.apache.hudi.common.util.StringUtils;
+import org.apache.hudi.core.io.storage.HoodieIOFactory;
+import org.apache.hudi.storage.HoodieStorage;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
- * Utilities for selecting the LSM file group reader.
+ * Utilities for selecting the LSM file group reader and the sorted runs to read.
  */
 public final class LsmReaderUtils {
 
@@ -38,4 +50,49 @@ public final class LsmReaderUtils {
     return !HoodieReaderConfig.REALTIME_SKIP_MERGE.equalsIgnoreCase(mergeType)
         && tableConfig.isLSMTreeStorageLayout();
   }
+
+  /**
+   * Returns the native log files that are not merged into another sorted run of the given log files.
+   *
+   * <p>A run compaction merges some L0 sorted runs of a file group into a new native log file, whose
+   * {@link HeaderMetadataType#COMPACTED_BLOCK_TIMES} header lists the instants of the merged runs. The
+   * merged runs stay in the file slice until the next compaction, so they are skipped by the readers.
+   */
+  public static List<HoodieLogFile> getLiveLogFiles(HoodieStorage storage, List<HoodieLogFile> logFiles) {
+    Map<String, String> compactedInstants = getCompactedInstants(storage, logFiles);
+    if (compactedInstants.isEmpty()) {
+      return logFiles;
+    }
+    return logFiles.stream()
+        .filter(logFile -> !compactedInstants.containsKey(logFile.getDeltaCommitTime()))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Returns the instants of the sorted runs merged by a run compaction, mapped to the instant of the
+   * log file they are merged into.
+   */
+  public static Map<String, String> getCompactedInstants(HoodieStorage storage, List<HoodieLogFile> logFiles) {
+    Map<String, String> compactedInstants = new HashMap<>();
+    // a sorted run can only be merged into a log file of another instant
+    if (logFiles.stream().map(HoodieLogFile::getDeltaCommitTime).distinct().count() <= 1) {
+      return compactedInstants;
+    }
+    for (HoodieLogFile logFile : logFiles) {
+      if (!logFile.isNativeLogFile()) {
+        continue;
+      }
+      HoodieFileFormat fileFormat = HoodieFileFormat.fromFileExtension("." + logFile.getSuffix());
+      Map<String, String> footer = HoodieIOFactory.getIOFactory(storage)
+          .getFileFormatUtils(fileFormat)
+          .readFooter(storage, false, logFile.getPath(), NativeLogFooterMetadata.FOOTER_METADATA_KEY);
+      String instants = NativeLogFooterMetadata.fromFooterMetadata(footer).get(HeaderMetadataType.COMPACTED_BLOCK_TIMES);
+      if (!StringUtils.isNullOrEmpty(instants)) {
+        for (String instant : instants.split(",")) {
+          compactedInstants.put(instant.trim(), logFile.getDeltaCommitTime());
+        }
+      }
+    }
+    return compactedInstants;
+  }
 }
@@ -1181,12 +1181,26 @@ public abstract class AbstractTableFileSystemView implements SyncableFileSystemV
 
   @Override
   public final Stream<HoodieFileGroup> getAllFileGroupsStateless(String partitionStr) {
+    return buildFileGroupsStateless(partitionStr, fileId -> true);
+  }
+
+  @Override
+  public final Stream<HoodieFileGroup> getFileGroupsStateless(String partitionStr, Set<String> fileIds) {
+    return buildFileGroupsStateless(partitionStr, fileIds::contains);
+  }
+
+  private Stream<HoodieFileGroup> buildFileGroupsStateless(String partitionStr, Predicate<String> fileIdFilter) {
     String partition = formatPartitionKey(partitionStr);
     if (isPartitionAvailableInStore(partition)) {
-      return getAllFileGroups(partition);
+      return getAllFileGroups(partition).filter(fg -> fileIdFilter.test(fg.getFileGroupId().getFileId()));
     } else {
       try {
-        Stream<HoodieFileGroup> fileGroupStream = buildFileGroups(partition, getAllFilesInPartition(partition), visibleCommitsAndCompactionTimeline, true).stream()
+        // only the files of the filtered file groups are converted to build the file groups
+        List<StoragePathInfo> pathInfoList = getAllFilesInPartition(partition);
+        Stream<HoodieFileGroup> fileGroupStream = buildFileGroups(partition,
+            convertFileStatusesToBaseFiles(pathInfoList).filter(baseFile -> fileIdFilter.test(baseFile.getFileId())),
+            convertFileStatusesToLogFiles(pathInfoList).filter(logFile -> fileIdFilter.test(logFile.getFileId())),
+            visibleCommitsAndCompactionTimeline, true).stream()
             .filter(fg -> !isFileGroupReplaced(fg));
         if (bootstrapIndex.useIndex()) {
           final Map<HoodieFileGroupId, BootstrapBaseFileMapping> bootstrapBaseFileMappings = getBootstrapBaseFileMappings(partition);
@@ -43,6 +43,7 @@ import org.apache.http.client.HttpResponseException;
 import java.io.Serializable;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
@@ -279,6 +280,11 @@ public class PriorityBasedFileSystemView implements SyncableFileSystemView, Seri
     return execute(partitionPath, preferredView::getAllFileGroupsStateless, (path) -> getSecondaryView().getAllFileGroupsStateless(path));
   }
 
+  @Override
+  public Stream<HoodieFileGroup> getFileGroupsStateless(String partitionPath, Set<String> fileIds) {
+    return execute(partitionPath, fileIds, preferredView::getFileGroupsStateless, (path, ids) -> getSecondaryView().getFileGroupsStateless(path, ids));
+  }
+
   @Override
   public Stream<HoodieFileGroup> getReplacedFileGroupsBeforeOrOn(String maxCommitTime, String partitionPath) {
     return execute(maxCommitTime, partitionPath, preferredView::getReplacedFileGroupsBeforeOrOn, (commitTime, path) -> getSecondaryView().getReplacedFileGroupsBeforeOrOn(commitTime, path));
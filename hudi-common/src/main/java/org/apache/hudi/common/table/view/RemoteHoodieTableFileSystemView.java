@@ -53,6 +53,7 @@ import java.io.Serializable;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -95,6 +96,7 @@ public class RemoteHoodieTableFileSystemView implements SyncableFileSystemView,
 
   public static final String ALL_FILEGROUPS_FOR_PARTITION_URL = String.format("%s/%s", BASE_URL, "filegroups/all/partition/");
   public static final String ALL_FILEGROUPS_FOR_PARTITION_STATELESS_URL = String.format("%s/%s", BASE_URL, "filegroups/all/partition/stateless/");
+  public static final String FILEGROUPS_FOR_PARTITION_STATELESS_URL = String.format("%s/%s", BASE_URL, "filegroups/partition/stateless/");
   public static final String ALL_REPLACED_FILEGROUPS_BEFORE_OR_ON_URL = String.format("%s/%s", BASE_URL, "filegroups/replaced/beforeoron/");
   public static final String ALL_REPLACED_FILEGROUPS_BEFORE_URL = String.format("%s/%s", BASE_URL, "filegroups/replaced/before/");
   public static final String ALL_REPLACED_FILEGROUPS_AFTER_OR_ON_URL = String.format("%s/%s", BASE_URL, "filegroups/replaced/afteroron/");
@@ -121,12 +123,15 @@ public class RemoteHoodieTableFileSystemView implements SyncableFileSystemView,
   public static final String MIN_INSTANT_PARAM = "mininstant";
   public static final String INSTANTS_PARAM = "instants";
   public static final String FILEID_PARAM = "fileid";
+  public static final String FILEIDS_PARAM = "fileids";
   public static final String LAST_INSTANT_TS = "lastinstantts";
   public static final String TIMELINE_HASH = "timelinehash";
   public static final String REFRESH_OFF = "refreshoff";
   public static final String INCLUDE_FILES_IN_PENDING_COMPACTION_PARAM = "includependingcompaction";
 
   public static final String MULTI_VALUE_SEPARATOR = ",";
+  // max number of file ids of a request, the file ids are passed in the query string
+  private static final int MAX_FILE_IDS_PER_REQUEST = 100;
   private static final TypeReference<List<FileSliceDTO>> FILE_SLICE_DTOS_REFERENCE = new TypeReference<List<FileSliceDTO>>() {};
   private static final TypeReference<List<FileGroupDTO>> FILE_GROUP_DTOS_REFERENCE = new TypeReference<List<FileGroupDTO>>() {};
   private static final TypeReference<Boolean> BOOLEAN_TYPE_REFERENCE = new TypeReference<Boolean>() {};
@@ -404,6 +409,16 @@ public class RemoteHoodieTableFileSystemView implements SyncableFileSystemView,
     return getAllFileGroupsForPartitionFromParams(ALL_FILEGROUPS_FOR_PARTITION_STATELESS_URL, paramsMap);
   }
 
+  @Override
+  public Stream<HoodieFileGroup> getFileGroupsStateless(String partitionPath, Set<String> fileIds) {
+    if (fileIds.size() > MAX_FILE_IDS_PER_REQUEST) {
+      // keeps the request within the length limit of the query string
+      return getAllFileGroupsStateless(partitionPath).filter(fg -> fileIds.contains(fg.getFileGroupId().getFileId()));
+    }
+    Map<String, String> paramsMap = getParamsWithAdditionalParam(partitionPath, FILEIDS_PARAM, String.join(MULTI_VALUE_SEPARATOR, fileIds));
+    return getAllFileGroupsForPartitionFromParams(FILEGROUPS_FOR_PARTITION_STATELESS_URL, paramsMap);
+  }
+
   @Override
   public Stream<HoodieFileGroup> getReplacedFileGroupsBeforeOrOn(String maxCommitTime, String partitionPath) {
     Map<String, String> paramsMap = getParamsWithAdditionalParam(partitionPath, MAX_INSTANT_PARAM, maxCommitTime);
@@ -30,6 +30,7 @@ import org.apache.hudi.common.util.collection.Pair;
 
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Stream;
 
 /**
@@ -229,6 +230,14 @@ public interface TableFileSystemView {
    */
   Stream<HoodieFileGroup> getAllFileGroupsStateless(String partitionPath);
 
+  /**
+   * Stream the file groups of the given file ids for a given partition without caching the file group mappings.
+   *
+   * <p>Same as {@link #getAllFileGroupsStateless(String)}, except that only the file groups of the given file ids are built,
+   * this is useful for the table services planning off the file groups touched by the recent commits, e.g. the incremental cleaning.
+   */
+  Stream<HoodieFileGroup> getFileGroupsStateless(String partitionPath, Set<String> fileIds);
+
   /**
    * Return Pending Compaction Operations.
    *
@@ -90,7 +90,7 @@ public abstract class FileFormatUtils {
             T maxValue = (T) valueMetadata.standardizeJavaTypeAndPromote(e.getMaxValue());
             return HoodieColumnRangeMetadata.create(
                 relativePartitionPath, e.getColumnName(), minValue, maxValue, e.getNullCount(), e.getValueCount(), e.getTotalSize(),
-                e.getTotalUncompressedSize(), valueMetadata);
+                e.getTotalUncompressedSize(), valueMetadata).withDistinctCountSketch(e.getDistinctCountSketch());
           }).reduce(HoodieColumnRangeMetadata::merge).orElseThrow(() -> new HoodieException("MergingColumnRanges failed."));
     }
 
@@ -118,7 +118,7 @@ public abstract class FileFormatUtils {
         .map(e -> HoodieColumnRangeMetadata.create(
             relativePartitionPath, e.getColumnName(), e.getMinValue(), e.getMaxValue(),
             e.getNullCount(), e.getValueCount(), e.getTotalSize(), e.getTotalUncompressedSize(),
-            e.getValueMetadata()))
+            e.getValueMetadata()).withDistinctCountSketch(e.getDistinctCountSketch()))
         .reduce((a,b) -> {
           if (colsWithSchemaEvolved.isEmpty() || colsToIndexSchemaMap.isEmpty()
               || a.getMinValue() == null || a.getMaxValue() == null || b.getMinValue() == null || b.getMaxValue() == null
@@ -130,11 +130,11 @@ public abstract class FileFormatUtils {
             HoodieColumnRangeMetadata<T> left = HoodieColumnRangeMetadata.create(a.getFilePath(), a.getColumnName(),
                 (T) HoodieTableMetadataUtil.coerceToComparable(schema, a.getMinValue()),
                 (T) HoodieTableMetadataUtil.coerceToComparable(schema, a.getMaxValue()), a.getNullCount(),
-                a.getValueCount(), a.getTotalSize(), a.getTotalUncompressedSize(), a.getValueMetadata());
+                a.getValueCount(), a.getTotalSize(), a.getTotalUncompressedSize(), a.getValueMetadata()).withDistinctCountSketch(a.getDistinctCountSketch());
             HoodieColumnRangeMetadata<T> right = HoodieColumnRangeMetadata.create(b.getFilePath(), b.getColumnName(),
                 (T) HoodieTableMetadataUtil.coerceToComparable(schema, b.getMinValue()),
                 (T) HoodieTableMetadataUtil.coerceToComparable(schema, b.getMaxValue()), b.getNullCount(),
-                b.getValueCount(), b.getTotalSize(), b.getTotalUncompressedSize(), b.getValueMetadata());
+                b.getValueCount(), b.getTotalSize(), b.getTotalUncompressedSize(), b.getValueMetadata()).withDistinctCountSketch(b.getDistinctCountSketch());
             return HoodieColumnRangeMetadata.merge(left, right);
           }
         }).orElseThrow(() -> new HoodieException("MergingColumnRanges failed."));
@@ -324,6 +324,12 @@ public final class BitCaskDiskMap<T extends Serializable, R> extends DiskMap<T,
     return valueMetadataMap.values().stream().sorted().map(valueMetaData -> get(valueMetaData, file, valueSerializer, isCompressionEnabled));
   }
 
+  @Override
+  Iterator<Entry<T, R>> entryIterator() {
+    return new MappingIterator<T, Entry<T, R>>(valueMetadataMap.keySet().iterator(),
+        key -> new AbstractMap.SimpleImmutableEntry<>(key, get(key)));
+  }
+
   @Override
   public Set<Entry<T, R>> entrySet() {
     Set<Entry<T, R>> entrySet = new HashSet<>();
@@ -27,6 +27,7 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
@@ -75,6 +76,11 @@ public abstract class DiskMap<T extends Serializable, R> implements Map<T, R>, K
    */
   abstract Stream<R> valueStream();
 
+  /**
+   * Returns an iterator over the entries stored in the disk, the entries are read lazily.
+   */
+  abstract Iterator<Entry<T, R>> entryIterator();
+
   /**
    * Number of bytes spilled to disk.
    */
@@ -0,0 +1,315 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.util.collection;
+
+import org.apache.hudi.common.serialization.CustomSerializer;
+import org.apache.hudi.common.util.SizeEstimator;
+import org.apache.hudi.common.util.ValidationUtils;
+import org.apache.hudi.exception.HoodieIOException;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Sorts records with bounded memory.
+ *
+ * <p>The records are buffered in memory until the estimated size reaches the configured limit, then the buffer is sorted
+ * and spilled to a local file as a sorted run. The sorted iterator merges the spilled runs and the in-memory run with
+ * a loser tree, reading each spilled run sequentially. Records that compare equal are returned in the order they are
+ * added, as the in-memory sort is stable and the runs are merged by their creation order on ties.
+ *
+ * @param <R> Type of the records
+ */
+@Slf4j
+public class ExternalSorter<R> implements Closeable {
+
+  // Find the actual estimated record size after adding N records
+  private static final int NUMBER_OF_RECORDS_TO_ESTIMATE_RECORD_SIZE = 100;
+  private static final int BUFFER_SIZE = 128 * 1024;
+  private static final String SPILL_FILE_PREFIX = "hudi-sort-";
+  private static final String SPILL_FILE_SUFFIX = ".run";
+
+  private final long maxInMemorySizeInBytes;
+  private final Path spillDirectory;
+  private final SizeEstimator<R> sizeEstimator;
+  private final CustomSerializer<R> serializer;
+  private final Comparator<R> comparator;
+  private final List<SpilledRun<R>> spilledRuns = new ArrayList<>();
+  private List<R> inMemoryRun = new ArrayList<>();
+  private long estimatedRecordSize = 0;
+  private long currentInMemorySize = 0;
+  @Getter
+  private long numRecords = 0;
+  @Getter
+  private long spilledBytes = 0;
+  private boolean sorted;
+
+  public ExternalSorter(long maxInMemorySizeInBytes, String spillBasePath, SizeEstimator<R> sizeEstimator,
+                        CustomSerializer<R> serializer, Comparator<R> comparator) {
+    this.maxInMemorySizeInBytes = maxInMemorySizeInBytes;
+    this.spillDirectory = Paths.get(spillBasePath);
+    this.sizeEstimator = sizeEstimator;
+    this.serializer = serializer;
+    this.comparator = comparator;
+  }
+
+  /**
+   * Adds a record, spilling the in-memory records as a sorted run if the memory limit is reached.
+   */
+  public void add(R record) {
+    ValidationUtils.checkState(!sorted, "Can not add records after the sorted iterator is created");
+    if (estimatedRecordSize == 0) {
+      // Note, the estimator may over-estimate the size of a record in the JVM
+      estimatedRecordSize = Math.max(1, sizeEstimator.sizeEstimate(record));
+    } else if (inMemoryRun.size() % NUMBER_OF_RECORDS_TO_ESTIMATE_RECORD_SIZE == 0) {
+      estimatedRecordSize = Math.max(1, (long) (estimatedRecordSize * 0.9 + sizeEstimator.sizeEstimate(record) * 0.1));
+      currentInMemorySize = inMemoryRun.size() * estimatedRecordSize;
+    }
+    inMemoryRun.add(record);
+    currentInMemorySize += estimatedRecordSize;
+    numRecords++;
+    if (currentInMemorySize >= maxInMemorySizeInBytes) {
+      spill();
+    }
+  }
+
+  public int getNumSpilledRuns() {
+    return spilledRuns.size();
+  }
+
+  /**
+   * Returns the records in sorted order. No record can be added afterwards.
+   */
+  public ClosableIterator<R> sortedIterator() {
+    ValidationUtils.checkState(!sorted, "The sorted iterator can only be created once");
+    sorted = true;
+    inMemoryRun.sort(comparator);
+    if (spilledRuns.isEmpty()) {
+      return ClosableIterator.wrap(inMemoryRun.iterator());
+    }
+    log.info("Merging {} records from {} spilled runs of {} bytes and {} in-memory records",
+        numRecords, spilledRuns.size(), spilledBytes, inMemoryRun.size());
+    List<Iterator<R>> runs = new ArrayList<>(spilledRuns);
+    // the in-memory run holds the latest records, so it goes last on ties
+    runs.add(inMemoryRun.iterator());
+    return new LoserTreeIterator<>(runs, comparator);
+  }
+
+  private void spill() {
+    inMemoryRun.sort(comparator);
+    SpilledRun<R> run;
+    try {
+      Files.createDirectories(spillDirectory);
+      run = new SpilledRun<>(Files.createTempFile(spillDirectory, SPILL_FILE_PREFIX, SPILL_FILE_SUFFIX).toFile(), serializer);
+    } catch (IOException e) {
+      throw new HoodieIOException("Failed to create the spill file under " + spillDirectory, e);
+    }
+    spilledRuns.add(run);
+    run.write(inMemoryRun);
+    spilledBytes += run.file.length();
+    log.info("Spilled a sorted run of {} records to {}, {} runs spilled", inMemoryRun.size(), run.file, spilledRuns.size());
+    inMemoryRun = new ArrayList<>();
+    currentInMemorySize = 0;
+  }
+
+  @Override
+  public void close() {
+    spilledRuns.forEach(SpilledRun::close);
+    spilledRuns.clear();
+    inMemoryRun = new ArrayList<>();
+  }
+
+  /**
+   * A sorted run spilled to a length-prefixed local file, read back sequentially.
+   */
+  private static class SpilledRun<R> implements Iterator<R> {
+    private final File file;
+    private final CustomSerializer<R> serializer;
+    private long numRecords;
+    private long recordsRead;
+    private DataInputStream inputStream;
+
+    SpilledRun(File file, CustomSerializer<R> serializer) {
+      this.file = file;
+      this.serializer = serializer;
+    }
+
+    void write(List<R> records) {
+      try (DataOutputStream outputStream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath()), BUFFER_SIZE))) {
+        for (R record : records) {
+          byte[] bytes = serializer.serialize(record);
+          outputStream.writeInt(bytes.length);
+          outputStream.write(bytes);
+        }
+      } catch (IOException e) {
+        throw new HoodieIOException("Failed to spill sorted run to " + file, e);
+      }
+      numRecords = records.size();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return recordsRead < numRecords;
+    }
+
+    @Override
+    public R next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      try {
+        if (inputStream == null) {
+          inputStream = new DataInputStream(new BufferedInputStream(Files.newInputStream(file.toPath()), BUFFER_SIZE));
+        }
+        byte[] bytes = new byte[inputStream.readInt()];
+        inputStream.readFully(bytes);
+        recordsRead++;
+        return serializer.deserialize(bytes);
+      } catch (IOException e) {
+        throw new HoodieIOException("Failed to read sorted run from " + file, e);
+      }
+    }
+
+    void close() {
+      try {
+        if (inputStream != null) {
+          inputStream.close();
+        }
+        Files.deleteIfExists(file.toPath());
+      } catch (IOException e) {
+        throw new HoodieIOException("Failed to delete sorted run " + file, e);
+      }
+    }
+  }
+
+  /**
+   * K-way merge of sorted runs with a loser tree. Each leaf keeps the head record of one run, {@code tree[0]} stores
+   * the current champion and the internal nodes store the loser of the corresponding match. Ties are won by the run
+   * with the lower index.
+   */
+  private static class LoserTreeIterator<R> implements ClosableIterator<R> {
+    private final List<Iterator<R>> runs;
+    private final Comparator<R> comparator;
+    private final Object[] heads;
+    private final int leafBase;
+    private final int[] tree;
+    private final int[] winners;
+
+    LoserTreeIterator(List<Iterator<R>> runs, Comparator<R> comparator) {
+      this.runs = runs;
+      this.comparator = comparator;
+      this.heads = new Object[runs.size()];
+      int base = 1;
+      while (base < runs.size()) {
+        base <<= 1;
+      }
+      this.leafBase = base;
+      this.tree = new int[leafBase];
+      this.winners = new int[leafBase << 1];
+      Arrays.fill(tree, -1);
+      Arrays.fill(winners, -1);
+      for (int i = 0; i < runs.size(); i++) {
+        winners[leafBase + i] = advance(i) ? i : -1;
+      }
+      if (leafBase == 1) {
+        tree[0] = winners[leafBase];
+      } else {
+        for (int node = leafBase - 1; node > 0; node--) {
+          replay(node);
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return tree[0] >= 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public R next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      int winnerIndex = tree[0];
+      R record = (R) heads[winnerIndex];
+      winners[leafBase + winnerIndex] = advance(winnerIndex) ? winnerIndex : -1;
+      if (leafBase == 1) {
+        tree[0] = winners[leafBase];
+      } else {
+        for (int node = (leafBase + winnerIndex) >> 1; node > 0; node >>= 1) {
+          replay(node);
+        }
+      }
+      return record;
+    }
+
+    private boolean advance(int runIndex) {
+      Iterator<R> run = runs.get(runIndex);
+      heads[runIndex] = run.hasNext() ? run.next() : null;
+      return heads[runIndex] != null;
+    }
+
+    private void replay(int node) {
+      int left = winners[node << 1];
+      int right = winners[(node << 1) + 1];
+      if (left < 0 || right < 0) {
+        winners[node] = left < 0 ? right : left;
+        tree[node] = -1;
+      } else if (compare(left, right) <= 0) {
+        winners[node] = left;
+        tree[node] = right;
+      } else {
+        winners[node] = right;
+        tree[node] = left;
+      }
+      if (node == 1) {
+        tree[0] = winners[node];
+      }
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(int leftIndex, int rightIndex) {
+      int result = comparator.compare((R) heads[leftIndex], (R) heads[rightIndex]);
+      return result != 0 ? result : Integer.compare(leftIndex, rightIndex);
+    }
+
+    @Override
+    public void close() {
+      Arrays.fill(heads, null);
+    }
+  }
+}
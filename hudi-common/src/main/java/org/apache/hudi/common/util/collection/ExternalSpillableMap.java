@@ -31,6 +31,7 @@ import java.io.Closeable;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -143,6 +144,15 @@ public class ExternalSpillableMap<T extends Serializable, R> implements Map<T, R
     return diskBasedMap == null ? inMemoryMapIterator(filter) : new IteratorWrapper<>(inMemoryMapIterator(filter), diskBasedMap.iterator(filter));
   }
 
+  /**
+   * Returns an iterator over the entries of the in-memory map followed by the entries spilled to disk,
+   * unlike {@link #entrySet()} the entries spilled to disk are not copied onto heap.
+   */
+  public Iterator<Entry<T, R>> entryIterator() {
+    Iterator<Entry<T, R>> inMemoryIterator = inMemoryMap.entrySet().iterator();
+    return diskBasedMap == null ? inMemoryIterator : new ConcatenatingIterator<>(Arrays.asList(inMemoryIterator, diskBasedMap.entryIterator()));
+  }
+
   /**
    * In-memory map iterator with a key filter.
    */
@@ -153,6 +153,12 @@ public final class RocksDbDiskMap<T extends Serializable, R> extends DiskMap<T,
     return new MappingIterator<Pair<T, R>, R>(new FilterIterator<>(getRocksDb().iterator(ROCKSDB_COL_FAMILY), pair -> filter.test(pair.getKey())), Pair::getValue);
   }
 
+  @Override
+  Iterator<Entry<T, R>> entryIterator() {
+    return new MappingIterator<Pair<T, R>, Entry<T, R>>(getRocksDb().iterator(ROCKSDB_COL_FAMILY),
+        pair -> new AbstractMap.SimpleImmutableEntry<>(pair.getKey(), pair.getValue()));
+  }
+
   @Override
   public Stream<R> valueStream() {
     return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator(), 0), false);
@@ -158,6 +158,7 @@ public class HoodieMetadataPayload implements HoodieRecordPayload<HoodieMetadata
   public static final String COLUMN_STATS_FIELD_VALUE_TYPE = "valueType";
   public static final String COLUMN_STATS_FIELD_VALUE_TYPE_ORDINAL = "typeOrdinal";
   public static final String COLUMN_STATS_FIELD_VALUE_TYPE_ADDITIONAL_INFO = "additionalInfo";
+  public static final String COLUMN_STATS_FIELD_DISTINCT_COUNT_SKETCH = "distinctCountSketch";
 
   /**
    * HoodieMetadata record index payload field ids
@@ -596,6 +597,7 @@ public class HoodieMetadataPayload implements HoodieRecordPayload<HoodieMetadata
             .setTotalUncompressedSize(columnRangeMetadata.getTotalUncompressedSize())
             .setIsDeleted(isDeleted)
             .setValueType(columnRangeMetadata.getValueMetadata().getValueTypeInfo())
+            .setDistinctCountSketch(columnRangeMetadata.getDistinctCountSketchSerialized())
             .build(),
         recordType);
 
@@ -631,6 +633,7 @@ public class HoodieMetadataPayload implements HoodieRecordPayload<HoodieMetadata
               .setIsDeleted(isDeleted)
               .setIsTightBound(isTightBound)
               .setValueType(columnRangeMetadata.getValueMetadata().getValueTypeInfo())
+              .setDistinctCountSketch(columnRangeMetadata.getDistinctCountSketchSerialized())
               .build(),
           MetadataPartitionType.PARTITION_STATS.getRecordType());
 
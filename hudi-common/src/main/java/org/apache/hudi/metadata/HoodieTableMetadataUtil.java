@@ -113,6 +113,7 @@ import org.apache.hudi.metadata.model.FileInfo;
 import org.apache.hudi.metadata.model.FileInfoAndPartition;
 import org.apache.hudi.metadata.model.FileSliceAndPartition;
 import org.apache.hudi.metadata.stats.HoodieColumnRangeMetadata;
+import org.apache.hudi.metadata.stats.HoodieDistinctCountSketch;
 import org.apache.hudi.metadata.stats.ValueMetadata;
 import org.apache.hudi.storage.HoodieStorage;
 import org.apache.hudi.storage.StorageConfiguration;
@@ -203,6 +204,9 @@ public class HoodieTableMetadataUtil {
   public static final String PARTITION_NAME_SECONDARY_INDEX = "secondary_index";
   public static final String PARTITION_NAME_SECONDARY_INDEX_PREFIX = "secondary_index_";
 
+  // option of the column stats index definition holding the precision of the sketches of the distinct values
+  public static final String COLUMN_STATS_DISTINCT_COUNT_SKETCH_PRECISION_OPTION = "distinctCountSketchPrecision";
+
   // Average size of a record saved within the record index.
   // Record index has a fixed size schema. This has been calculated based on experiments with default settings
   // for block size (1MB), compression (GZ) and disabling the hudi metadata fields.
@@ -244,9 +248,11 @@ public class HoodieTableMetadataUtil {
     long nullCount;
     long valueCount;
     final ValueMetadata valueMetadata;
+    final HoodieDistinctCountSketch distinctCountSketch;
 
-    ColumnStats(ValueMetadata valueMetadata) {
+    ColumnStats(ValueMetadata valueMetadata, Option<Integer> distinctCountSketchPrecision) {
       this.valueMetadata = valueMetadata;
+      this.distinctCountSketch = distinctCountSketchPrecision.map(HoodieDistinctCountSketch::create).orElse(null);
     }
   }
 
@@ -268,6 +274,21 @@ public class HoodieTableMetadataUtil {
       HoodieSchema recordSchema,
       StorageConfiguration<?> storageConfig,
       HoodieIndexVersion indexVersion) {
+    return collectColumnRangeMetadata(records, targetFields, filePath, recordSchema, storageConfig, indexVersion, Option.empty());
+  }
+
+  /**
+   * Collects {@link HoodieColumnRangeMetadata} for the provided collection of records, along with the
+   * sketches of the distinct values of the given precision if present.
+   */
+  public static Map<String, HoodieColumnRangeMetadata<Comparable>> collectColumnRangeMetadata(
+      Iterator<HoodieRecord> records,
+      List<Pair<String, HoodieSchemaField>> targetFields,
+      String filePath,
+      HoodieSchema recordSchema,
+      StorageConfiguration<?> storageConfig,
+      HoodieIndexVersion indexVersion,
+      Option<Integer> distinctCountSketchPrecision) {
     HashMap<String, ColumnStats> allColumnStats = new HashMap<>();
     final Properties properties = new Properties();
     properties.setProperty(HoodieStorageConfig.WRITE_UTC_TIMEZONE.key(),
@@ -288,7 +309,8 @@ public class HoodieTableMetadataUtil {
         if (!isColumnTypeSupported(fieldSchema, Option.of(record.getRecordType()), indexVersion)) {
           return;
         }
-        ColumnStats colStats = allColumnStats.computeIfAbsent(fieldName, ignored -> new ColumnStats(getValueMetadata(fieldSchema, indexVersion)));
+        ColumnStats colStats = allColumnStats.computeIfAbsent(fieldName,
+            ignored -> new ColumnStats(getValueMetadata(fieldSchema, indexVersion), distinctCountSketchPrecision));
         Object fieldValue = collectColumnRangeFieldValue(record, colStats.valueMetadata, fieldName, fieldSchema, recordSchema, properties);
 
         colStats.valueCount++;
@@ -302,6 +324,9 @@ public class HoodieTableMetadataUtil {
           if (colStats.maxValue == null || ConvertingGenericData.INSTANCE.compare(fieldValue, colStats.maxValue, fieldSchema.toAvroSchema()) > 0) {
             colStats.maxValue = fieldValue;
           }
+          if (colStats.distinctCountSketch != null) {
+            colStats.distinctCountSketch.add(fieldValue);
+          }
         } else {
           colStats.nullCount++;
         }
@@ -355,9 +380,9 @@ public class HoodieTableMetadataUtil {
     if (colStats == null) {
       return HoodieColumnRangeMetadata.createEmpty(filePath, fieldName, indexVersion);
     } else if (colStats.valueMetadata.isV1()) {
-      return colStatsToColRangeMetadataV1(fieldName, fieldSchema, colStats, filePath);
+      return colStatsToColRangeMetadataV1(fieldName, fieldSchema, colStats, filePath).withDistinctCountSketch(colStats.distinctCountSketch);
     } else {
-      return colStatsToColRangeMetadataV2(fieldName, colStats, filePath);
+      return colStatsToColRangeMetadataV2(fieldName, colStats, filePath).withDistinctCountSketch(colStats.distinctCountSketch);
     }
   }
 
@@ -878,6 +903,24 @@ public class HoodieTableMetadataUtil {
                                                                           int columnStatsIndexParallelism,
                                                                           int maxReaderBufferSize,
                                                                           List<String> columnsToIndex) {
+    // the deleted files are turned into stubs, there is no sketch to collect for them
+    Option<Integer> distinctCountSketchPrecision = partitionToAppendedFiles.isEmpty() ? Option.empty() : getDistinctCountSketchPrecision(dataMetaClient);
+    return convertFilesToColumnStatsRecords(engineContext, partitionToDeletedFiles, partitionToAppendedFiles, dataMetaClient, columnStatsIndexParallelism,
+        maxReaderBufferSize, columnsToIndex, distinctCountSketchPrecision);
+  }
+
+  /**
+   * Convert added and deleted action metadata to column stats index records, collecting the sketches of the distinct values
+   * of the given precision if present.
+   */
+  public static HoodieData<HoodieRecord> convertFilesToColumnStatsRecords(HoodieEngineContext engineContext,
+                                                                          Map<String, List<String>> partitionToDeletedFiles,
+                                                                          Map<String, List<FileInfo>> partitionToAppendedFiles,
+                                                                          HoodieTableMetaClient dataMetaClient,
+                                                                          int columnStatsIndexParallelism,
+                                                                          int maxReaderBufferSize,
+                                                                          List<String> columnsToIndex,
+                                                                          Option<Integer> distinctCountSketchPrecision) {
     if ((partitionToAppendedFiles.isEmpty() && partitionToDeletedFiles.isEmpty())) {
       return engineContext.emptyHoodieData();
     }
@@ -892,7 +935,7 @@ public class HoodieTableMetadataUtil {
       final String partitionPath = partitionFileFlagTuple.partitionPath();
       final String filename = partitionFileFlagTuple.fileName();
       final boolean isDeleted = partitionFileFlagTuple.isDeleted();
-      return getColumnStatsRecords(partitionPath, filename, dataMetaClient, columnsToIndex, isDeleted, maxReaderBufferSize).iterator();
+      return getColumnStatsRecords(partitionPath, filename, dataMetaClient, columnsToIndex, isDeleted, maxReaderBufferSize, distinctCountSketchPrecision).iterator();
     });
   }
 
@@ -1209,7 +1252,23 @@ public class HoodieTableMetadataUtil {
                                                             HoodieTableMetaClient datasetMetaClient,
                                                             List<String> columnsToIndex,
                                                             boolean isDeleted) {
-    return getColumnStatsRecords(partitionPath, fileName, datasetMetaClient, columnsToIndex, isDeleted, -1);
+    // the deleted files are turned into stubs, there is no sketch to collect for them
+    return getColumnStatsRecords(partitionPath, fileName, datasetMetaClient, columnsToIndex, isDeleted,
+        isDeleted ? Option.empty() : getDistinctCountSketchPrecision(datasetMetaClient));
+  }
+
+  /**
+   * Returns the column stats records of the file, collecting the sketches of the distinct values of the given precision if present.
+   * The precision is expected to be resolved once by the caller through {@link #getDistinctCountSketchPrecision(HoodieTableMetaClient)}
+   * instead of per file.
+   */
+  public static Stream<HoodieRecord> getColumnStatsRecords(String partitionPath,
+                                                            String fileName,
+                                                            HoodieTableMetaClient datasetMetaClient,
+                                                            List<String> columnsToIndex,
+                                                            boolean isDeleted,
+                                                            Option<Integer> distinctCountSketchPrecision) {
+    return getColumnStatsRecords(partitionPath, fileName, datasetMetaClient, columnsToIndex, isDeleted, -1, distinctCountSketchPrecision);
   }
 
   private static Stream<HoodieRecord> getColumnStatsRecords(String partitionPath,
@@ -1217,7 +1276,8 @@ public class HoodieTableMetadataUtil {
                                                             HoodieTableMetaClient datasetMetaClient,
                                                             List<String> columnsToIndex,
                                                             boolean isDeleted,
-                                                            int maxBufferSize) {
+                                                            int maxBufferSize,
+                                                            Option<Integer> distinctCountSketchPrecision) {
 
     HoodieIndexVersion indexVersion = existingIndexVersionOrDefault(PARTITION_NAME_COLUMN_STATS, datasetMetaClient);
     if (isDeleted) {
@@ -1228,7 +1288,7 @@ public class HoodieTableMetadataUtil {
       return HoodieMetadataPayload.createColumnStatsRecords(partitionPath, columnRangeMetadataList, true);
     }
     List<HoodieColumnRangeMetadata<Comparable>> columnRangeMetadata =
-        readColumnRangeMetadataFrom(partitionPath, fileName, datasetMetaClient, columnsToIndex, maxBufferSize, indexVersion);
+        readColumnRangeMetadataFrom(partitionPath, fileName, datasetMetaClient, columnsToIndex, maxBufferSize, indexVersion, distinctCountSketchPrecision);
 
     return HoodieMetadataPayload.createColumnStatsRecords(partitionPath, columnRangeMetadata, false);
   }
@@ -1238,7 +1298,8 @@ public class HoodieTableMetadataUtil {
                                                                                          HoodieTableMetaClient datasetMetaClient,
                                                                                          List<String> columnsToIndex,
                                                                                          int maxBufferSize,
-                                                                                         HoodieIndexVersion indexVersion) {
+                                                                                         HoodieIndexVersion indexVersion,
+                                                                                         Option<Integer> distinctCountSketchPrecision) {
     String partitionPathFileName = (partitionPath.equals(EMPTY_PARTITION_NAME) || partitionPath.equals(NON_PARTITIONED_NAME)) ? fileName
         : partitionPath + "/" + fileName;
     try {
@@ -1249,13 +1310,17 @@ public class HoodieTableMetadataUtil {
             .collect(Collectors.toList());
       }
       if (partitionPathFileName.endsWith(HoodieFileFormat.PARQUET.getFileExtension())) {
-        return HoodieIOFactory.getIOFactory(datasetMetaClient.getStorage())
+        List<HoodieColumnRangeMetadata<Comparable>> columnRanges = HoodieIOFactory.getIOFactory(datasetMetaClient.getStorage())
             .getFileFormatUtils(HoodieFileFormat.PARQUET)
             .readColumnStatsFromMetadata(datasetMetaClient.getStorage(), fullFilePath, columnsToIndex, indexVersion);
+        return distinctCountSketchPrecision.isPresent()
+            ? withDistinctCountSketches(columnRanges, fullFilePath, datasetMetaClient, columnsToIndex, distinctCountSketchPrecision.get(), indexVersion)
+            : columnRanges;
       } else if (FSUtils.isLogFile(fileName)) {
         Option<HoodieSchema> writerSchemaOpt = tryResolveSchemaForTable(datasetMetaClient);
         log.info("Reading log file: {}, to build column range metadata.", partitionPathFileName);
-        return getLogFileColumnRangeMetadata(fullFilePath.toString(), partitionPath, datasetMetaClient, columnsToIndex, writerSchemaOpt, maxBufferSize);
+        return getLogFileColumnRangeMetadata(fullFilePath.toString(), partitionPath, datasetMetaClient, columnsToIndex, writerSchemaOpt, maxBufferSize,
+            distinctCountSketchPrecision);
       }
       log.warn("Column range index not supported for: {}", partitionPathFileName);
       return Collections.emptyList();
@@ -1267,6 +1332,69 @@ public class HoodieTableMetadataUtil {
     }
   }
 
+  /**
+   * Reads the values of the indexed columns from the base file to build the sketches of the distinct values,
+   * which can not be derived from the file footer, and attaches them to the column ranges read from the footer.
+   */
+  @SuppressWarnings("unchecked")
+  private static List<HoodieColumnRangeMetadata<Comparable>> withDistinctCountSketches(List<HoodieColumnRangeMetadata<Comparable>> columnRanges,
+                                                                                      StoragePath filePath,
+                                                                                      HoodieTableMetaClient datasetMetaClient,
+                                                                                      List<String> columnsToIndex,
+                                                                                      int distinctCountSketchPrecision,
+                                                                                      HoodieIndexVersion indexVersion) throws IOException {
+    HoodieStorage storage = datasetMetaClient.getStorage();
+    try (HoodieFileReader fileReader = HoodieIOFactory.getIOFactory(storage).getReaderFactory(HoodieRecordType.AVRO)
+        .getFileReader(getReaderConfigs(storage.getConf()), filePath)) {
+      HoodieSchema fileSchema = fileReader.getSchema();
+      List<String> columnsInFile = columnsToIndex.stream()
+          .filter(column -> HoodieSchemaUtils.getNestedField(fileSchema, column).isPresent())
+          .collect(Collectors.toList());
+      HoodieSchema requestedSchema = HoodieSchemaUtils.projectSchema(fileSchema, columnsInFile);
+      List<Pair<String, HoodieSchemaField>> fieldsToIndex = columnsInFile.stream()
+          .map(column -> HoodieSchemaUtils.getNestedField(requestedSchema, column))
+          .filter(Option::isPresent)
+          .map(Option::get)
+          .collect(Collectors.toList());
+      Map<String, HoodieColumnRangeMetadata<Comparable>> columnRangesWithSketches;
+      try (ClosableIterator<HoodieRecord> recordIterator = (ClosableIterator<HoodieRecord>) fileReader.getRecordIterator(fileSchema, requestedSchema)) {
+        columnRangesWithSketches = collectColumnRangeMetadata(recordIterator, fieldsToIndex, filePath.getName(), requestedSchema, storage.getConf(),
+            indexVersion, Option.of(distinctCountSketchPrecision));
+      }
+      return columnRanges.stream()
+          .map(columnRange -> {
+            HoodieColumnRangeMetadata<Comparable> withSketch = columnRangesWithSketches.get(columnRange.getColumnName());
+            return withSketch == null ? columnRange : columnRange.withDistinctCountSketch(withSketch.getDistinctCountSketch());
+          })
+          .collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * Returns the precision of the sketches of the distinct values collected with the column stats index,
+   * or empty if the index has been built w/o the sketches.
+   */
+  public static Option<Integer> getDistinctCountSketchPrecision(HoodieTableMetaClient dataTableMetaClient) {
+    return dataTableMetaClient.getIndexForMetadataPartition(PARTITION_NAME_COLUMN_STATS)
+        .flatMap(indexDefinition -> indexDefinition.getIndexOptions() == null
+            ? Option.empty()
+            : Option.ofNullable(indexDefinition.getIndexOptions().get(COLUMN_STATS_DISTINCT_COUNT_SKETCH_PRECISION_OPTION)))
+        .map(Integer::parseInt);
+  }
+
+  /**
+   * Returns the precision of the sketches of the distinct values to collect with the column stats index,
+   * falls back to the metadata config when the index definition is not registered yet, i.e. during the initialization.
+   */
+  public static Option<Integer> getDistinctCountSketchPrecision(HoodieTableMetaClient dataTableMetaClient, HoodieMetadataConfig metadataConfig) {
+    if (dataTableMetaClient.getIndexForMetadataPartition(PARTITION_NAME_COLUMN_STATS).isPresent()) {
+      return getDistinctCountSketchPrecision(dataTableMetaClient);
+    }
+    return metadataConfig.isColumnStatsDistinctCountSketchEnabled()
+        ? Option.of(metadataConfig.getColumnStatsDistinctCountSketchPrecision())
+        : Option.empty();
+  }
+
   /**
    * Read column range metadata from log file.
    */
@@ -1275,6 +1403,14 @@ public class HoodieTableMetadataUtil {
                                                                                           HoodieTableMetaClient datasetMetaClient,
                                                                                           List<String> columnsToIndex, Option<HoodieSchema> writerSchemaOpt,
                                                                                           int maxBufferSize) throws IOException {
+    return getLogFileColumnRangeMetadata(filePath, partitionPath, datasetMetaClient, columnsToIndex, writerSchemaOpt, maxBufferSize, Option.empty());
+  }
+
+  private static List<HoodieColumnRangeMetadata<Comparable>> getLogFileColumnRangeMetadata(String filePath, String partitionPath,
+                                                                                           HoodieTableMetaClient datasetMetaClient,
+                                                                                           List<String> columnsToIndex, Option<HoodieSchema> writerSchemaOpt,
+                                                                                           int maxBufferSize,
+                                                                                           Option<Integer> distinctCountSketchPrecision) throws IOException {
     if (writerSchemaOpt.isPresent()) {
       List<Pair<String, HoodieSchemaField>> fieldsToIndex = columnsToIndex.stream()
           .map(fieldName -> HoodieSchemaUtils.getNestedField(writerSchemaOpt.get(), fieldName))
@@ -1308,7 +1444,8 @@ public class HoodieTableMetadataUtil {
         // TODO: maybe get the actual mdt partition path
         HoodieIndexVersion indexVersion = existingIndexVersionOrDefault(PARTITION_NAME_COLUMN_STATS, datasetMetaClient);
         Map<String, HoodieColumnRangeMetadata<Comparable>> columnRangeMetadataMap =
-            collectColumnRangeMetadata(recordIterator, fieldsToIndex, getFileNameFromPath(filePath), writerSchemaOpt.get(), datasetMetaClient.getStorage().getConf(), indexVersion);
+            collectColumnRangeMetadata(recordIterator, fieldsToIndex, getFileNameFromPath(filePath), writerSchemaOpt.get(), datasetMetaClient.getStorage().getConf(), indexVersion,
+                distinctCountSketchPrecision);
         return new ArrayList<>(columnRangeMetadataMap.values());
       }
     }
@@ -2168,7 +2305,8 @@ public class HoodieTableMetadataUtil {
       iterable.forEach(e -> {
         HoodieColumnRangeMetadata<Comparable> rangeMetadata = HoodieColumnRangeMetadata.create(
             partitionName, e.getColumnName(), e.getMinValue(), e.getMaxValue(),
-            e.getNullCount(), e.getValueCount(), e.getTotalSize(), e.getTotalUncompressedSize(), e.getValueMetadata());
+            e.getNullCount(), e.getValueCount(), e.getTotalSize(), e.getTotalUncompressedSize(), e.getValueMetadata())
+            .withDistinctCountSketch(e.getDistinctCountSketch());
         finalMetadata[0] = HoodieColumnRangeMetadata.merge(finalMetadata[0], rangeMetadata);
       });
       return HoodieMetadataPayload.createPartitionStatsRecords(partitionName, Collections.singletonList(finalMetadata[0]), false, isTightBound, indexPartitionOpt)
@@ -2188,6 +2326,7 @@ public class HoodieTableMetadataUtil {
     HoodieIndexVersion partitionStatsIndexVersion = existingIndexVersionOrDefault(PARTITION_NAME_PARTITION_STATS, dataTableMetaClient);
     final Map<String, HoodieSchema> columnsToIndexSchemaMap = getColumnsToIndex(dataTableMetaClient.getTableConfig(), metadataConfig, lazyWriterSchemaOpt,
         dataTableMetaClient.getActiveTimeline().getWriteTimeline().filterCompletedInstants().empty(), recordTypeOpt, partitionStatsIndexVersion);
+    final Option<Integer> distinctCountSketchPrecision = getDistinctCountSketchPrecision(dataTableMetaClient, metadataConfig);
     if (columnsToIndexSchemaMap.isEmpty()) {
       log.warn("No columns to index for partition stats index");
       return engineContext.emptyHoodieData();
@@ -2210,7 +2349,7 @@ public class HoodieTableMetadataUtil {
       // Step 1: Collect Column Metadata for Each File
       List<List<HoodieColumnRangeMetadata<Comparable>>> fileColumnMetadata = partitionInfo.getValue().stream()
           .map(fileName -> getFileStatsRangeMetadata(partitionPath, fileName, dataTableMetaClient, new ArrayList<>(columnsToIndexSchemaMap.keySet()), false,
-              metadataConfig.getMaxReaderBufferSize(), partitionStatsIndexVersion))
+              metadataConfig.getMaxReaderBufferSize(), partitionStatsIndexVersion, distinctCountSketchPrecision))
           .collect(Collectors.toList());
 
       return collectAndProcessColumnMetadata(fileColumnMetadata, partitionPath, true, columnsToIndexSchemaMap, partitionStatsIndexVersion).iterator();
@@ -2231,13 +2370,14 @@ public class HoodieTableMetadataUtil {
                                                                                        List<String> columnsToIndex,
                                                                                        boolean isDeleted,
                                                                                        int maxBufferSize,
-                                                                                       HoodieIndexVersion indexVersion) {
+                                                                                       HoodieIndexVersion indexVersion,
+                                                                                       Option<Integer> distinctCountSketchPrecision) {
     if (isDeleted) {
       return columnsToIndex.stream()
           .map(entry -> HoodieColumnRangeMetadata.stub(fileName, entry, indexVersion))
           .collect(Collectors.toList());
     }
-    return readColumnRangeMetadataFrom(partitionPath, fileName, datasetMetaClient, columnsToIndex, maxBufferSize, indexVersion);
+    return readColumnRangeMetadataFrom(partitionPath, fileName, datasetMetaClient, columnsToIndex, maxBufferSize, indexVersion, distinctCountSketchPrecision);
   }
 
   public static HoodieData<HoodieRecord> convertMetadataToPartitionStatsRecords(HoodiePairData<String, List<HoodieColumnRangeMetadata<Comparable>>> columnRangeMetadataPartitionPair,
@@ -2324,14 +2464,16 @@ public class HoodieTableMetadataUtil {
   public static List<HoodieColumnRangeMetadata<Comparable>> translateWriteStatToFileStats(HoodieWriteStat writeStat,
                                                                                            HoodieTableMetaClient datasetMetaClient,
                                                                                            List<String> columnsToIndex,
-                                                                                           HoodieIndexVersion indexVersion) {
+                                                                                           HoodieIndexVersion indexVersion,
+                                                                                           Option<Integer> distinctCountSketchPrecision) {
     if (writeStat instanceof HoodieDeltaWriteStat && ((HoodieDeltaWriteStat) writeStat).getColumnStats().isPresent()) {
       Map<String, HoodieColumnRangeMetadata<Comparable>> columnRangeMap = ((HoodieDeltaWriteStat) writeStat).getColumnStats().get();
       return new ArrayList<>(columnRangeMap.values());
     }
 
     String filePath = writeStat.getPath();
-    return getFileStatsRangeMetadata(writeStat.getPartitionPath(), getFileNameFromPath(filePath), datasetMetaClient, columnsToIndex, false, -1, indexVersion);
+    return getFileStatsRangeMetadata(writeStat.getPartitionPath(), getFileNameFromPath(filePath), datasetMetaClient, columnsToIndex, false, -1, indexVersion,
+        distinctCountSketchPrecision);
   }
 
   public static String getPartitionStatsIndexKey(String partitionPath, String columnName) {
@@ -2392,13 +2534,30 @@ public class HoodieTableMetadataUtil {
         .setTotalSize(prevColumnStats.getTotalSize() + newColumnStats.getTotalSize())
         .setTotalUncompressedSize(prevColumnStats.getTotalUncompressedSize() + newColumnStats.getTotalUncompressedSize())
         .setValueType(newColumnStats.getValueType())
-        .setIsDeleted(newColumnStats.getIsDeleted());
+        .setIsDeleted(newColumnStats.getIsDeleted())
+        .setDistinctCountSketch(mergeDistinctCountSketches(prevColumnStats, newColumnStats));
     if (newColumnStats.hasField(COLUMN_STATS_FIELD_IS_TIGHT_BOUND)) {
       columnStatsBuilder.setIsTightBound(newColumnStats.getIsTightBound());
     }
     return columnStatsBuilder.build();
   }
 
+  private static ByteBuffer mergeDistinctCountSketches(HoodieMetadataColumnStats prevColumnStats, HoodieMetadataColumnStats newColumnStats) {
+    // stats w/o any non-null value add no distinct value, whether the sketch has been collected or not
+    if (prevColumnStats.getValueCount() <= prevColumnStats.getNullCount()) {
+      return newColumnStats.getDistinctCountSketch();
+    }
+    if (newColumnStats.getValueCount() <= newColumnStats.getNullCount()) {
+      return prevColumnStats.getDistinctCountSketch();
+    }
+    if (prevColumnStats.getDistinctCountSketch() == null || newColumnStats.getDistinctCountSketch() == null) {
+      return null;
+    }
+    return HoodieDistinctCountSketch.fromByteBuffer(prevColumnStats.getDistinctCountSketch())
+        .merge(HoodieDistinctCountSketch.fromByteBuffer(newColumnStats.getDistinctCountSketch()))
+        .toByteBuffer();
+  }
+
   public static Map<String, HoodieMetadataFileInfo> combineFileSystemMetadata(HoodieMetadataPayload older, HoodieMetadataPayload newer) {
     Map<String, HoodieMetadataFileInfo> combinedFileInfo = new HashMap<>();
     // First, add all files listed in the previous record
@@ -55,6 +55,7 @@ import static org.apache.hudi.metadata.HoodieMetadataPayload.BLOOM_FILTER_FIELD_
 import static org.apache.hudi.metadata.HoodieMetadataPayload.BLOOM_FILTER_FIELD_TIMESTAMP;
 import static org.apache.hudi.metadata.HoodieMetadataPayload.BLOOM_FILTER_FIELD_TYPE;
 import static org.apache.hudi.metadata.HoodieMetadataPayload.COLUMN_STATS_FIELD_COLUMN_NAME;
+import static org.apache.hudi.metadata.HoodieMetadataPayload.COLUMN_STATS_FIELD_DISTINCT_COUNT_SKETCH;
 import static org.apache.hudi.metadata.HoodieMetadataPayload.COLUMN_STATS_FIELD_FILE_NAME;
 import static org.apache.hudi.metadata.HoodieMetadataPayload.COLUMN_STATS_FIELD_IS_DELETED;
 import static org.apache.hudi.metadata.HoodieMetadataPayload.COLUMN_STATS_FIELD_IS_TIGHT_BOUND;
@@ -335,6 +336,9 @@ public enum MetadataPartitionType {
       if (columnStatsRecord.hasField(COLUMN_STATS_FIELD_IS_TIGHT_BOUND)) {
         columnStatsBuilder.setIsTightBound((Boolean) columnStatsRecord.get(COLUMN_STATS_FIELD_IS_TIGHT_BOUND));
       }
+      if (columnStatsRecord.hasField(COLUMN_STATS_FIELD_DISTINCT_COUNT_SKETCH)) {
+        columnStatsBuilder.setDistinctCountSketch((ByteBuffer) columnStatsRecord.get(COLUMN_STATS_FIELD_DISTINCT_COUNT_SKETCH));
+      }
       payload.columnStatMetadata = columnStatsBuilder.build();
     }
   }
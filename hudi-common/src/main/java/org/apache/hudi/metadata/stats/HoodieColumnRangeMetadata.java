@@ -26,10 +26,12 @@ import org.apache.hudi.metadata.HoodieIndexVersion;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
 import lombok.Value;
+import lombok.With;
 
 import javax.annotation.Nullable;
 
 import java.io.Serializable;
+import java.nio.ByteBuffer;
 
 import static org.apache.hudi.metadata.stats.ValueMetadata.getEmptyValueMetadata;
 
@@ -57,6 +59,12 @@ public class HoodieColumnRangeMetadata<T extends Comparable> implements Serializ
   @EqualsAndHashCode.Exclude
   @ToString.Exclude
   ValueMetadata valueMetadata;
+  // sketch of the distinct values, null if not collected for the file
+  @Nullable
+  @With
+  @EqualsAndHashCode.Exclude
+  @ToString.Exclude
+  HoodieDistinctCountSketch distinctCountSketch;
 
   public Object getMinValueWrapped() {
     return getValueMetadata().wrapValue(getMinValue());
@@ -66,6 +74,10 @@ public class HoodieColumnRangeMetadata<T extends Comparable> implements Serializ
     return getValueMetadata().wrapValue(getMaxValue());
   }
 
+  public ByteBuffer getDistinctCountSketchSerialized() {
+    return distinctCountSketch == null ? null : distinctCountSketch.toByteBuffer();
+  }
+
   public static <T extends Comparable<T>> HoodieColumnRangeMetadata<T> create(String filePath,
                                                                               String columnName,
                                                                               @Nullable T minValue,
@@ -76,7 +88,7 @@ public class HoodieColumnRangeMetadata<T extends Comparable> implements Serializ
                                                                               long totalUncompressedSize,
                                                                               ValueMetadata valueMetadata) throws IllegalArgumentException {
     valueMetadata.validate(minValue, maxValue);
-    return new HoodieColumnRangeMetadata<>(filePath, columnName, minValue, maxValue, nullCount, valueCount, totalSize, totalUncompressedSize, valueMetadata);
+    return new HoodieColumnRangeMetadata<>(filePath, columnName, minValue, maxValue, nullCount, valueCount, totalSize, totalUncompressedSize, valueMetadata, null);
   }
 
   /**
@@ -93,20 +105,21 @@ public class HoodieColumnRangeMetadata<T extends Comparable> implements Serializ
         columnStats.getValueCount(),
         columnStats.getTotalSize(),
         columnStats.getTotalUncompressedSize(),
-        valueMetadata);
+        valueMetadata)
+        .withDistinctCountSketch(columnStats.getDistinctCountSketch() == null ? null : HoodieDistinctCountSketch.fromByteBuffer(columnStats.getDistinctCountSketch()));
   }
 
   @SuppressWarnings("rawtype")
   public static HoodieColumnRangeMetadata<Comparable> stub(String filePath,
                                                            String columnName,
                                                            HoodieIndexVersion indexVersion) {
-    return new HoodieColumnRangeMetadata<>(filePath, columnName, null, null, -1, -1, -1, -1, getEmptyValueMetadata(indexVersion));
+    return new HoodieColumnRangeMetadata<>(filePath, columnName, null, null, -1, -1, -1, -1, getEmptyValueMetadata(indexVersion), null);
   }
 
   public static HoodieColumnRangeMetadata<Comparable> createEmpty(String filePath,
                                                                   String columnName,
                                                                   HoodieIndexVersion indexVersion) {
-    return new HoodieColumnRangeMetadata(filePath, columnName, null, null, 0L, 0L, 0L, 0L, getEmptyValueMetadata(indexVersion));
+    return new HoodieColumnRangeMetadata(filePath, columnName, null, null, 0L, 0L, 0L, 0L, getEmptyValueMetadata(indexVersion), null);
   }
 
   /**
@@ -139,8 +152,21 @@ public class HoodieColumnRangeMetadata<T extends Comparable> implements Serializ
     long valueCount = left.getValueCount() + right.getValueCount();
     long totalSize = left.getTotalSize() + right.getTotalSize();
     long totalUncompressedSize = left.getTotalUncompressedSize() + right.getTotalUncompressedSize();
+    HoodieDistinctCountSketch distinctCountSketch = mergeDistinctCountSketches(left, right);
 
-    return new HoodieColumnRangeMetadata<>(filePath, columnName, min, max, nullCount, valueCount, totalSize, totalUncompressedSize, left.getValueMetadata());
+    return new HoodieColumnRangeMetadata<>(filePath, columnName, min, max, nullCount, valueCount, totalSize, totalUncompressedSize, left.getValueMetadata(),
+        distinctCountSketch);
+  }
+
+  private static HoodieDistinctCountSketch mergeDistinctCountSketches(HoodieColumnRangeMetadata<?> left, HoodieColumnRangeMetadata<?> right) {
+    // a side w/o any non-null value adds no distinct value, whether its sketch has been collected or not
+    if (left.getValueCount() <= left.getNullCount()) {
+      return right.getDistinctCountSketch();
+    }
+    if (right.getValueCount() <= right.getNullCount()) {
+      return left.getDistinctCountSketch();
+    }
+    return HoodieDistinctCountSketch.mergeNullable(left.getDistinctCountSketch(), right.getDistinctCountSketch());
   }
 
   private static <T extends Comparable<T>> T minVal(T val1, T val2) {
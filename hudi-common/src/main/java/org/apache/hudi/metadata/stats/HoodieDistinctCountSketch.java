@@ -0,0 +1,258 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.metadata.stats;
+
+import org.apache.hudi.common.util.ValidationUtils;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import net.jpountz.xxhash.XXHash64;
+import net.jpountz.xxhash.XXHashFactory;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+
+import static org.apache.hudi.common.util.StringUtils.getUTF8Bytes;
+
+/**
+ * A mergeable HyperLogLog sketch estimating the number of distinct values of a column.
+ *
+ * <p>The sketches are collected per file together with the column ranges and merged into the
+ * partition and table level statistics, the merge of two sketches estimates the distinct count
+ * of the union of their values. Sketches of different precisions are merged by folding the more
+ * precise one down to the lower precision.
+ *
+ * <p>The values are hashed by their logical value, the integral numbers by their {@code long}
+ * value and the floating point numbers by their {@code double} value, so that the sketches of the
+ * files written with promoted types stay mergeable.
+ */
+@EqualsAndHashCode
+public class HoodieDistinctCountSketch implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  public static final int MIN_PRECISION = 4;
+  public static final int MAX_PRECISION = 16;
+
+  private static final byte SERDE_VERSION = 1;
+  private static final byte DENSE_ENCODING = 0;
+  private static final byte SPARSE_ENCODING = 1;
+  // index (2 bytes) and rank (1 byte) of each non-empty register in the sparse encoding
+  private static final int SPARSE_ENTRY_SIZE = 3;
+  private static final long HASH_SEED = 0x5f3759dfL;
+  private static final XXHash64 XX_HASH_64 = XXHashFactory.fastestInstance().hash64();
+
+  @Getter
+  private final int precision;
+  private final byte[] registers;
+
+  private HoodieDistinctCountSketch(int precision, byte[] registers) {
+    this.precision = precision;
+    this.registers = registers;
+  }
+
+  public static HoodieDistinctCountSketch create(int precision) {
+    ValidationUtils.checkArgument(precision >= MIN_PRECISION && precision <= MAX_PRECISION,
+        () -> String.format("Precision of the distinct count sketch should be in [%d, %d], found %d", MIN_PRECISION, MAX_PRECISION, precision));
+    return new HoodieDistinctCountSketch(precision, new byte[1 << precision]);
+  }
+
+  /**
+   * Adds a non-null value to the sketch.
+   */
+  public void add(Object value) {
+    addHash(hash(value));
+  }
+
+  void addHash(long hash) {
+    int index = (int) (hash >>> (Long.SIZE - precision));
+    // the trailing guard bit bounds the rank when all the remaining bits are zero
+    long remaining = (hash << precision) | (1L << (precision - 1));
+    byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+    if (rank > registers[index]) {
+      registers[index] = rank;
+    }
+  }
+
+  /**
+   * Returns the estimated number of distinct values added to the sketch.
+   */
+  public long estimate() {
+    int m = registers.length;
+    double sum = 0;
+    int emptyRegisters = 0;
+    for (byte register : registers) {
+      sum += 1.0 / (1L << register);
+      if (register == 0) {
+        emptyRegisters++;
+      }
+    }
+    double estimate = alpha(m) * m * m / sum;
+    if (estimate <= 2.5 * m && emptyRegisters > 0) {
+      // linear counting is more accurate for the small cardinalities
+      estimate = m * Math.log((double) m / emptyRegisters);
+    }
+    return Math.round(estimate);
+  }
+
+  /**
+   * Returns a new sketch of the union of the values of both sketches, at the lower of both precisions.
+   */
+  public HoodieDistinctCountSketch merge(HoodieDistinctCountSketch other) {
+    int mergedPrecision = Math.min(precision, other.precision);
+    byte[] merged = fold(mergedPrecision);
+    byte[] otherFolded = other.fold(mergedPrecision);
+    for (int i = 0; i < merged.length; i++) {
+      if (otherFolded[i] > merged[i]) {
+        merged[i] = otherFolded[i];
+      }
+    }
+    return new HoodieDistinctCountSketch(mergedPrecision, merged);
+  }
+
+  /**
+   * Merges two nullable sketches, the result is unknown as soon as one side is unknown.
+   */
+  public static HoodieDistinctCountSketch mergeNullable(HoodieDistinctCountSketch left, HoodieDistinctCountSketch right) {
+    if (left == null || right == null) {
+      return null;
+    }
+    return left.merge(right);
+  }
+
+  public ByteBuffer toByteBuffer() {
+    int nonEmptyRegisters = 0;
+    for (byte register : registers) {
+      if (register != 0) {
+        nonEmptyRegisters++;
+      }
+    }
+    boolean sparse = nonEmptyRegisters * SPARSE_ENTRY_SIZE < registers.length;
+    ByteBuffer buffer = ByteBuffer.allocate(3 + (sparse ? Integer.BYTES + nonEmptyRegisters * SPARSE_ENTRY_SIZE : registers.length));
+    buffer.put(SERDE_VERSION);
+    buffer.put((byte) precision);
+    if (sparse) {
+      buffer.put(SPARSE_ENCODING);
+      buffer.putInt(nonEmptyRegisters);
+      for (int i = 0; i < registers.length; i++) {
+        if (registers[i] != 0) {
+          buffer.putShort((short) i);
+          buffer.put(registers[i]);
+        }
+      }
+    } else {
+      buffer.put(DENSE_ENCODING);
+      buffer.put(registers);
+    }
+    buffer.flip();
+    return buffer;
+  }
+
+  public static HoodieDistinctCountSketch fromByteBuffer(ByteBuffer byteBuffer) {
+    ByteBuffer buffer = byteBuffer.duplicate();
+    byte version = buffer.get();
+    ValidationUtils.checkArgument(version == SERDE_VERSION, "Unsupported version of the distinct count sketch: " + version);
+    HoodieDistinctCountSketch sketch = create(buffer.get());
+    byte encoding = buffer.get();
+    if (encoding == SPARSE_ENCODING) {
+      int entries = buffer.getInt();
+      for (int i = 0; i < entries; i++) {
+        int index = Short.toUnsignedInt(buffer.getShort());
+        sketch.registers[index] = buffer.get();
+      }
+    } else {
+      buffer.get(sketch.registers);
+    }
+    return sketch;
+  }
+
+  /**
+   * Returns the registers of the sketch at the given lower precision. The index bits dropped by the
+   * fold become the leading bits of the remaining hash, which decides the rank at the new precision.
+   */
+  private byte[] fold(int targetPrecision) {
+    if (targetPrecision == precision) {
+      return registers.clone();
+    }
+    int droppedBits = precision - targetPrecision;
+    int droppedMask = (1 << droppedBits) - 1;
+    byte[] folded = new byte[1 << targetPrecision];
+    for (int i = 0; i < registers.length; i++) {
+      if (registers[i] == 0) {
+        continue;
+      }
+      int droppedIndexBits = i & droppedMask;
+      byte rank = droppedIndexBits != 0
+          ? (byte) (Integer.numberOfLeadingZeros(droppedIndexBits) - (Integer.SIZE - droppedBits) + 1)
+          : (byte) (registers[i] + droppedBits);
+      int index = i >>> droppedBits;
+      if (rank > folded[index]) {
+        folded[index] = rank;
+      }
+    }
+    return folded;
+  }
+
+  private static double alpha(int m) {
+    switch (m) {
+      case 16:
+        return 0.673;
+      case 32:
+        return 0.697;
+      case 64:
+        return 0.709;
+      default:
+        return 0.7213 / (1 + 1.079 / m);
+    }
+  }
+
+  static long hash(Object value) {
+    if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      return mix(((Number) value).longValue());
+    } else if (value instanceof Double || value instanceof Float) {
+      double doubleValue = ((Number) value).doubleValue();
+      // -0.0 and 0.0 are the same value
+      return mix(Double.doubleToLongBits(doubleValue == 0.0 ? 0.0 : doubleValue));
+    } else if (value instanceof Boolean) {
+      return mix((Boolean) value ? 1L : 0L);
+    } else if (value instanceof ByteBuffer) {
+      ByteBuffer buffer = (ByteBuffer) value;
+      return XX_HASH_64.hash(buffer, buffer.position(), buffer.remaining(), HASH_SEED);
+    } else if (value instanceof byte[]) {
+      byte[] bytes = (byte[]) value;
+      return XX_HASH_64.hash(bytes, 0, bytes.length, HASH_SEED);
+    }
+    byte[] bytes = getUTF8Bytes(value.toString());
+    return XX_HASH_64.hash(bytes, 0, bytes.length, HASH_SEED);
+  }
+
+  /**
+   * The finalizer of MurmurHash3, spreading the bits of the integral values over the whole hash.
+   */
+  private static long mix(long value) {
+    long hash = value ^ HASH_SEED;
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
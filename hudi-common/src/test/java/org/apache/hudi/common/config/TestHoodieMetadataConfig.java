@@ -270,6 +270,24 @@ class TestHoodieMetadataConfig {
             .build());
   }
 
+  @Test
+  void testAsyncTableServices() {
+    assertFalse(HoodieMetadataConfig.newBuilder().build().isTableServicesAsyncEnabled());
+
+    HoodieMetadataConfig config = HoodieMetadataConfig.newBuilder()
+        .withAsyncTableServices(true)
+        .withWriteConcurrencyMode(WriteConcurrencyMode.OPTIMISTIC_CONCURRENCY_CONTROL)
+        .build();
+    assertTrue(config.isTableServicesAsyncEnabled());
+
+    // the out of band table services require the lock
+    assertThrows(IllegalArgumentException.class, () ->
+        HoodieMetadataConfig.newBuilder()
+            .withAsyncTableServices(true)
+            .withWriteConcurrencyMode(WriteConcurrencyMode.SINGLE_WRITER)
+            .build());
+  }
+
   @Test
   void testMetricsConfig() {
     // Test default value
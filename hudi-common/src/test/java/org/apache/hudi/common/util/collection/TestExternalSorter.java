@@ -0,0 +1,90 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.util.collection;
+
+import org.apache.hudi.common.serialization.DefaultSerializer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestExternalSorter {
+
+  private static final long RECORD_SIZE = 10L;
+
+  @TempDir
+  File spillDir;
+
+  @ParameterizedTest
+  @ValueSource(ints = {0, 1, 7, 10, 1000})
+  void testSortWithSpilledRuns(int numRecords) {
+    // spills every 10 records
+    try (ExternalSorter<Pair<String, Integer>> sorter = createSorter(10 * RECORD_SIZE)) {
+      Random random = new Random(numRecords);
+      List<Pair<String, Integer>> expected = new ArrayList<>();
+      for (int i = 0; i < numRecords; i++) {
+        // duplicate keys keep the order they are added
+        Pair<String, Integer> record = Pair.of(String.format("key%03d", random.nextInt(100)), i);
+        expected.add(record);
+        sorter.add(record);
+      }
+      expected.sort(Comparator.comparing(Pair::getLeft));
+
+      assertEquals(numRecords, sorter.getNumRecords());
+      assertEquals(numRecords / 10, sorter.getNumSpilledRuns());
+      List<Pair<String, Integer>> actual = new ArrayList<>();
+      try (ClosableIterator<Pair<String, Integer>> iterator = sorter.sortedIterator()) {
+        iterator.forEachRemaining(actual::add);
+      }
+      assertEquals(expected, actual);
+    }
+    // the spilled runs are deleted on close
+    assertEquals(0, spillDir.listFiles().length);
+  }
+
+  @Test
+  void testAddAfterSorting() {
+    try (ExternalSorter<Pair<String, Integer>> sorter = createSorter(Long.MAX_VALUE)) {
+      sorter.add(Pair.of("b", 1));
+      sorter.add(Pair.of("a", 2));
+      ClosableIterator<Pair<String, Integer>> iterator = sorter.sortedIterator();
+      assertEquals("a", iterator.next().getLeft());
+      assertThrows(IllegalStateException.class, () -> sorter.add(Pair.of("c", 3)));
+      assertThrows(IllegalStateException.class, sorter::sortedIterator);
+      assertEquals(0, sorter.getNumSpilledRuns());
+      assertTrue(iterator.hasNext());
+    }
+  }
+
+  private ExternalSorter<Pair<String, Integer>> createSorter(long maxInMemorySizeInBytes) {
+    return new ExternalSorter<>(maxInMemorySizeInBytes, spillDir.getAbsolutePath(), record -> RECORD_SIZE,
+        new DefaultSerializer<>(), Comparator.comparing(Pair::getLeft));
+  }
+}
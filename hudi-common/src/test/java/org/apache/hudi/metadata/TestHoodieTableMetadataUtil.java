@@ -63,6 +63,8 @@ import org.apache.hudi.exception.HoodieMetadataException;
 import org.apache.hudi.exception.HoodieNotSupportedException;
 import org.apache.hudi.metadata.model.FileInfoAndPartition;
 import org.apache.hudi.metadata.stats.HoodieColumnRangeMetadata;
+import org.apache.hudi.metadata.stats.HoodieDistinctCountSketch;
+import org.apache.hudi.metadata.stats.ValueMetadata;
 import org.apache.hudi.storage.HoodieStorage;
 import org.apache.hudi.storage.StorageConfiguration;
 import org.apache.hudi.storage.StoragePath;
@@ -792,6 +794,42 @@ class TestHoodieTableMetadataUtil {
     assertEquals(previous, HoodieTableMetadataUtil.mergeColumnStatsRecords(tombstone, previous));
   }
 
+  @Test
+  void testMergeColumnStatsDistinctCountSketches() {
+    HoodieDistinctCountSketch prevSketch = distinctCountSketch(0, 600);
+    HoodieDistinctCountSketch newSketch = distinctCountSketch(400, 1000);
+    HoodieMetadataColumnStats merged = HoodieTableMetadataUtil.mergeColumnStatsRecords(
+        columnStats(0, 599, 0, 600, prevSketch), columnStats(400, 999, 0, 600, newSketch));
+    assertEquals(prevSketch.merge(newSketch), HoodieDistinctCountSketch.fromByteBuffer(merged.getDistinctCountSketch()));
+    assertEquals(1200, merged.getValueCount());
+
+    // stats w/o any non-null value add no distinct value, even w/o a sketch
+    HoodieMetadataColumnStats nullsOnly = columnStats(null, null, 10, 10, null);
+    assertEquals(prevSketch, HoodieDistinctCountSketch.fromByteBuffer(
+        HoodieTableMetadataUtil.mergeColumnStatsRecords(columnStats(0, 599, 0, 600, prevSketch), nullsOnly).getDistinctCountSketch()));
+    assertEquals(prevSketch, HoodieDistinctCountSketch.fromByteBuffer(
+        HoodieTableMetadataUtil.mergeColumnStatsRecords(nullsOnly, columnStats(0, 599, 0, 600, prevSketch)).getDistinctCountSketch()));
+
+    // the distinct values of the stats w/o a sketch are unknown, so is the merged count
+    assertNull(HoodieTableMetadataUtil.mergeColumnStatsRecords(
+        columnStats(0, 599, 0, 600, prevSketch), columnStats(600, 699, 0, 100, null)).getDistinctCountSketch());
+  }
+
+  private static HoodieDistinctCountSketch distinctCountSketch(int start, int end) {
+    HoodieDistinctCountSketch sketch = HoodieDistinctCountSketch.create(11);
+    for (int i = start; i < end; i++) {
+      sketch.add(i);
+    }
+    return sketch;
+  }
+
+  private static HoodieMetadataColumnStats columnStats(Integer minValue, Integer maxValue, long nullCount, long valueCount, HoodieDistinctCountSketch sketch) {
+    HoodieColumnRangeMetadata<Comparable> columnRange = HoodieColumnRangeMetadata.<Comparable>create("file.parquet", "c1", minValue, maxValue,
+        nullCount, valueCount, 1024, 1024, ValueMetadata.V1EmptyMetadata.get()).withDistinctCountSketch(sketch);
+    return ((HoodieMetadataPayload) HoodieMetadataPayload.createColumnStatsRecords("p1", Collections.singletonList(columnRange), false)
+        .findFirst().get().getData()).getColumnStatMetadata().get();
+  }
+
   @Test
   void testFileSliceAndSchemaResolutionEdge() {
     HoodieTableMetaClient metaClient = mock(HoodieTableMetaClient.class);
@@ -891,7 +929,8 @@ class TestHoodieTableMetadataUtil {
         List.class,
         boolean.class,
         int.class,
-        HoodieIndexVersion.class);
+        HoodieIndexVersion.class,
+        Option.class);
     method.setAccessible(true);
 
     List<HoodieColumnRangeMetadata<Comparable>> stats =
@@ -903,7 +942,8 @@ class TestHoodieTableMetadataUtil {
             Arrays.asList("c1", "c2"),
             true,
             1024,
-            HoodieIndexVersion.V1);
+            HoodieIndexVersion.V1,
+            Option.empty());
     assertEquals(2, stats.size());
   }
 
@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.metadata.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class TestHoodieColumnRangeMetadata {
+
+  @Test
+  public void testMergeDistinctCountSketches() {
+    HoodieDistinctCountSketch leftSketch = sketch(0, 600);
+    HoodieDistinctCountSketch rightSketch = sketch(400, 1000);
+    HoodieColumnRangeMetadata<Comparable> merged = HoodieColumnRangeMetadata.merge(
+        columnRange("f1", 0, 599, 0, 600, leftSketch),
+        columnRange("f2", 400, 999, 0, 600, rightSketch));
+
+    assertEquals(0, merged.getMinValue());
+    assertEquals(999, merged.getMaxValue());
+    assertEquals(1200, merged.getValueCount());
+    assertEquals(leftSketch.merge(rightSketch), merged.getDistinctCountSketch());
+    // the sketches of the inputs are left intact
+    assertEquals(sketch(0, 600), leftSketch);
+  }
+
+  @Test
+  public void testMergeDistinctCountSketchWithNullsOnlySide() {
+    HoodieDistinctCountSketch sketch = sketch(0, 100);
+    // a side w/o any non-null value adds no distinct value, even w/o a sketch
+    HoodieColumnRangeMetadata<Comparable> nullsOnly = columnRange("f2", null, null, 10, 10, null);
+
+    assertEquals(sketch, HoodieColumnRangeMetadata.merge(columnRange("f1", 0, 99, 0, 100, sketch), nullsOnly).getDistinctCountSketch());
+    assertEquals(sketch, HoodieColumnRangeMetadata.merge(nullsOnly, columnRange("f1", 0, 99, 0, 100, sketch)).getDistinctCountSketch());
+  }
+
+  @Test
+  public void testMergeDistinctCountSketchWithUnsketchedSide() {
+    // the distinct values of the file w/o a sketch are unknown, so is the merged count
+    HoodieColumnRangeMetadata<Comparable> merged = HoodieColumnRangeMetadata.merge(
+        columnRange("f1", 0, 99, 0, 100, sketch(0, 100)),
+        columnRange("f2", 100, 199, 0, 100, null));
+
+    assertNull(merged.getDistinctCountSketch());
+    assertEquals(200, merged.getValueCount());
+  }
+
+  private static HoodieDistinctCountSketch sketch(int start, int end) {
+    HoodieDistinctCountSketch sketch = HoodieDistinctCountSketch.create(11);
+    for (int i = start; i < end; i++) {
+      sketch.add(i);
+    }
+    return sketch;
+  }
+
+  private static HoodieColumnRangeMetadata<Comparable> columnRange(String fileName, Integer minValue, Integer maxValue, long nullCount, long valueCount,
+                                                                   HoodieDistinctCountSketch sketch) {
+    return HoodieColumnRangeMetadata.<Comparable>create(fileName, "c1", minValue, maxValue, nullCount, valueCount, 1024, 1024,
+        ValueMetadata.V1EmptyMetadata.get()).withDistinctCountSketch(sketch);
+  }
+}
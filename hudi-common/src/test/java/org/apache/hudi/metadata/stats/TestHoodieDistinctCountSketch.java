@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.metadata.stats;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestHoodieDistinctCountSketch {
+
+  @ParameterizedTest
+  @ValueSource(ints = {10, 1000, 100000})
+  public void testEstimate(int distinctCount) {
+    HoodieDistinctCountSketch sketch = HoodieDistinctCountSketch.create(14);
+    // every value is added 3 times
+    for (int round = 0; round < 3; round++) {
+      for (int i = 0; i < distinctCount; i++) {
+        sketch.add("key_" + i);
+      }
+    }
+    assertWithinError(distinctCount, sketch.estimate(), 0.05);
+  }
+
+  @Test
+  public void testMerge() {
+    HoodieDistinctCountSketch left = HoodieDistinctCountSketch.create(14);
+    HoodieDistinctCountSketch right = HoodieDistinctCountSketch.create(14);
+    for (long i = 0; i < 60000; i++) {
+      left.add(i);
+    }
+    for (long i = 40000; i < 100000; i++) {
+      right.add(i);
+    }
+    HoodieDistinctCountSketch merged = left.merge(right);
+    assertEquals(14, merged.getPrecision());
+    assertWithinError(100000, merged.estimate(), 0.05);
+    // merging is idempotent
+    assertEquals(merged, merged.merge(left));
+  }
+
+  @Test
+  public void testMergeDifferentPrecisions() {
+    HoodieDistinctCountSketch precise = HoodieDistinctCountSketch.create(14);
+    HoodieDistinctCountSketch coarse = HoodieDistinctCountSketch.create(10);
+    HoodieDistinctCountSketch expected = HoodieDistinctCountSketch.create(10);
+    for (int i = 0; i < 50000; i++) {
+      precise.add(i);
+      expected.add(i);
+    }
+    for (int i = 50000; i < 80000; i++) {
+      coarse.add(i);
+      expected.add(i);
+    }
+    // folding keeps the same registers as if the values had been added at the lower precision
+    assertEquals(expected, precise.merge(coarse));
+    assertEquals(expected, coarse.merge(precise));
+  }
+
+  @Test
+  public void testMergeNullable() {
+    HoodieDistinctCountSketch sketch = HoodieDistinctCountSketch.create(8);
+    sketch.add("a");
+    assertNull(HoodieDistinctCountSketch.mergeNullable(sketch, null));
+    assertNull(HoodieDistinctCountSketch.mergeNullable(null, sketch));
+    assertEquals(sketch, HoodieDistinctCountSketch.mergeNullable(sketch, sketch));
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = {5, 10000})
+  public void testSerDe(int distinctCount) {
+    HoodieDistinctCountSketch sketch = HoodieDistinctCountSketch.create(11);
+    for (int i = 0; i < distinctCount; i++) {
+      sketch.add(ByteBuffer.wrap(("value_" + i).getBytes()));
+    }
+    ByteBuffer serialized = sketch.toByteBuffer();
+    // few distinct values are serialized sparsely
+    assertTrue(distinctCount > 100 || serialized.remaining() < 1 << 11);
+    HoodieDistinctCountSketch deserialized = HoodieDistinctCountSketch.fromByteBuffer(serialized);
+    assertEquals(sketch, deserialized);
+    assertEquals(sketch.estimate(), deserialized.estimate());
+  }
+
+  @Test
+  public void testPromotedTypesHashTheSame() {
+    assertEquals(HoodieDistinctCountSketch.hash(42), HoodieDistinctCountSketch.hash(42L));
+    assertEquals(HoodieDistinctCountSketch.hash((short) 42), HoodieDistinctCountSketch.hash(42L));
+    assertEquals(HoodieDistinctCountSketch.hash(1.5f), HoodieDistinctCountSketch.hash(1.5d));
+    assertEquals(HoodieDistinctCountSketch.hash(0.0d), HoodieDistinctCountSketch.hash(-0.0d));
+    assertEquals(HoodieDistinctCountSketch.hash("abc"), HoodieDistinctCountSketch.hash("abc".getBytes()));
+  }
+
+  @Test
+  public void testInvalidPrecision() {
+    assertThrows(IllegalArgumentException.class, () -> HoodieDistinctCountSketch.create(HoodieDistinctCountSketch.MIN_PRECISION - 1));
+    assertThrows(IllegalArgumentException.class, () -> HoodieDistinctCountSketch.create(HoodieDistinctCountSketch.MAX_PRECISION + 1));
+  }
+
+  private static void assertWithinError(long expected, long actual, double relativeError) {
+    assertTrue(Math.abs(actual - expected) <= expected * relativeError,
+        () -> String.format("Estimate %d is not within %.0f%% of %d", actual, relativeError * 100, expected));
+  }
+}
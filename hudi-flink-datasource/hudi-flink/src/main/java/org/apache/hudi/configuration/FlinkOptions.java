@@ -311,8 +311,8 @@ public class FlinkOptions extends HoodieConfig {
       .longType()
       .defaultValue(256L) // default 256 MB
       .withDescription("Maximum memory allocated for the record level index cache per bucket-assign task.\n"
-          + "The memory size of each individual cache within a checkpoint interval is dynamically calculated based on the \n"
-          + "average memory size of caches for historical checkpoints.");
+          + "Half of the memory is used by the mutable caches of the inflight checkpoints, the other half is used by the \n"
+          + "compacted cache that the committed checkpoints are merged into, which spills to local disk when it is full.");
 
   @AdvancedConfig
   public static final ConfigOption<Integer> INDEX_RLI_CACHE_CONCURRENT_PARTITIONS_NUM = ConfigOptions
@@ -799,7 +799,8 @@ public class FlinkOptions extends HoodieConfig {
           + "NONE (no buffer sort, default), "
           + "BOUNDED_IN_MEMORY (double buffer with async write), "
           + "DISRUPTOR (ring buffer with async write, recommended for better throughput), "
-          + "CONTINUOUS_SORT (TreeMap-based continuous sorting with incremental draining)");
+          + "CONTINUOUS_SORT (TreeMap-based continuous sorting with incremental draining), "
+          + "EXTERNAL_SORT (managed memory sort with spilling to local disk, requires write.buffer.memory.type=MANAGED)");
 
   @AdvancedConfig
   public static final ConfigOption<Integer> WRITE_BUFFER_DISRUPTOR_RING_SIZE = ConfigOptions
@@ -974,6 +975,16 @@ public class FlinkOptions extends HoodieConfig {
       .defaultValue(true)
       .withDescription("Whether the compaction operation should be executed asynchronously on compact operator, default enabled.");
 
+  @AdvancedConfig
+  public static final ConfigOption<Integer> COMPACTION_OPERATION_EXECUTE_CONCURRENCY = ConfigOptions
+      .key("compaction.operation.execute.concurrency")
+      .intType()
+      .defaultValue(1)
+      .withDescription("Max number of compaction operations executed concurrently by each compact task, "
+          + "only works when the compaction operation is executed asynchronously, default 1.\n"
+          + "The memory configured by 'compaction.max_memory' is shared by the concurrent operations of one task, "
+          + "increase it accordingly to avoid more spilling of the file group record buffers.");
+
   public static final String NUM_COMMITS = "num_commits";
   public static final String TIME_ELAPSED = "time_elapsed";
   public static final String NUM_AND_TIME = "num_and_time";
@@ -1016,7 +1027,7 @@ public class FlinkOptions extends HoodieConfig {
       .key("compaction.max_memory")
       .intType()
       .defaultValue(100) // default 100 MB
-      .withDescription("Max memory in MB for compaction spillable map, default 100MB");
+      .withDescription("Max memory in MB for compaction spillable map of each compact task, default 100MB");
 
   @AdvancedConfig
   public static final ConfigOption<Long> COMPACTION_TARGET_IO = ConfigOptions
@@ -371,6 +371,17 @@ public class OptionsResolver {
     return OptionsResolver.isMorTable(conf) && areTableServicesEnabled(conf) && conf.get(FlinkOptions.COMPACTION_ASYNC_ENABLED);
   }
 
+  /**
+   * Returns the number of compaction operations executed concurrently by each compact task.
+   *
+   * @param conf The flink configuration.
+   */
+  public static int getCompactionOperationConcurrency(Configuration conf) {
+    return conf.get(FlinkOptions.COMPACTION_OPERATION_EXECUTE_ASYNC_ENABLED)
+        ? Math.max(1, conf.get(FlinkOptions.COMPACTION_OPERATION_EXECUTE_CONCURRENCY))
+        : 1;
+  }
+
   /**
    * Returns whether there is need to schedule the async metadata compaction.
    *
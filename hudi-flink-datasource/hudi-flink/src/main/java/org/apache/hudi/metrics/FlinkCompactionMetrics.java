@@ -32,6 +32,8 @@ import org.apache.flink.metrics.MetricGroup;
 import java.text.ParseException;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Metrics for flink compaction.
@@ -39,11 +41,6 @@ import java.time.Instant;
 @Slf4j
 public class FlinkCompactionMetrics extends FlinkWriteMetrics {
 
-  /**
-   * Key for compaction timer.
-   */
-  private static final String COMPACTION_KEY = "compaction";
-
   /**
    * Number of pending compaction instants.
    *
@@ -64,7 +61,28 @@ public class FlinkCompactionMetrics extends FlinkWriteMetrics {
    *
    * @see CompactOperator
    */
-  private long compactionCost;
+  private volatile long compactionCost;
+
+  /**
+   * Max cost among the consumed compaction operations in milliseconds.
+   *
+   * @see CompactOperator
+   */
+  private volatile long maxCompactionCost;
+
+  /**
+   * Number of compaction operations under execution, the operations may execute concurrently.
+   *
+   * @see CompactOperator
+   */
+  private final AtomicInteger runningCompactionOperations = new AtomicInteger();
+
+  /**
+   * Number of compaction operations consumed.
+   *
+   * @see CompactOperator
+   */
+  private final AtomicLong completedCompactionOperations = new AtomicLong();
 
   /**
    * Flag saying whether the compaction is completed or been rolled back.
@@ -82,6 +100,9 @@ public class FlinkCompactionMetrics extends FlinkWriteMetrics {
     metricGroup.gauge(getMetricsName(actionType, "pendingCompactionCount"), () -> pendingCompactionCount);
     metricGroup.gauge(getMetricsName(actionType, "compactionDelay"), () -> compactionDelay);
     metricGroup.gauge(getMetricsName(actionType, "compactionCost"), () -> compactionCost);
+    metricGroup.gauge(getMetricsName(actionType, "maxCompactionCost"), () -> maxCompactionCost);
+    metricGroup.gauge(getMetricsName(actionType, "runningCompactionOperations"), runningCompactionOperations::get);
+    metricGroup.gauge(getMetricsName(actionType, "completedCompactionOperations"), completedCompactionOperations::get);
     metricGroup.gauge(getMetricsName(actionType, "compactionStateSignal"), () -> compactionStateSignal);
   }
 
@@ -98,12 +119,27 @@ public class FlinkCompactionMetrics extends FlinkWriteMetrics {
     }
   }
 
-  public void startCompaction() {
-    startTimer(COMPACTION_KEY);
+  /**
+   * Marks the start of a compaction operation, the operations may execute concurrently.
+   *
+   * @return the start time in milliseconds, that should be passed to {@link #endCompaction(long)}
+   */
+  public long startCompaction() {
+    runningCompactionOperations.incrementAndGet();
+    return System.currentTimeMillis();
   }
 
-  public void endCompaction() {
-    this.compactionCost = stopTimer(COMPACTION_KEY);
+  /**
+   * Marks the end of a compaction operation, whether it succeeds or fails.
+   *
+   * @param startTimeMs the start time returned by {@link #startCompaction()}
+   */
+  public synchronized void endCompaction(long startTimeMs) {
+    long cost = System.currentTimeMillis() - startTimeMs;
+    this.compactionCost = cost;
+    this.maxCompactionCost = Math.max(maxCompactionCost, cost);
+    runningCompactionOperations.decrementAndGet();
+    completedCompactionOperations.incrementAndGet();
   }
 
   public void markCompactionCompleted() {
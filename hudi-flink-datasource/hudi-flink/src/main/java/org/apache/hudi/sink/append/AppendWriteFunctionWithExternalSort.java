@@ -0,0 +1,183 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.sink.append;
+
+import org.apache.hudi.common.util.ValidationUtils;
+import org.apache.hudi.common.util.VisibleForTesting;
+import org.apache.hudi.configuration.FlinkOptions;
+import org.apache.hudi.configuration.OptionsResolver;
+import org.apache.hudi.exception.HoodieException;
+import org.apache.hudi.exception.HoodieIOException;
+import org.apache.hudi.sink.StreamWriteOperatorCoordinator;
+import org.apache.hudi.sink.buffer.BufferMemoryType;
+import org.apache.hudi.sink.buffer.BufferType;
+import org.apache.hudi.sink.bulk.sort.SortOperatorGen;
+import org.apache.hudi.util.MutableIteratorWrapperIterator;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.runtime.generated.GeneratedNormalizedKeyComputer;
+import org.apache.flink.table.runtime.generated.GeneratedRecordComparator;
+import org.apache.flink.table.runtime.operators.sort.BinaryExternalSorter;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.util.Collector;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Sink function to write the data to the underneath filesystem with an external sort buffer
+ * backed by Flink managed memory to improve the parquet compression rate.
+ *
+ * <p>Records are serialized into managed memory segments and sorted by the normalized key prefix,
+ * when the memory is exhausted the sorted runs are spilled to the local disk, on flush all the runs are
+ * k-way merged so that the files written for each checkpoint stay sorted without any heap pressure.
+ *
+ * <p>The function writes base files directly for each checkpoint,
+ * the file may roll over when its size hits the configured threshold.
+ *
+ * @param <T> Type of the input record
+ * @see StreamWriteOperatorCoordinator
+ * @see BufferType#EXTERNAL_SORT
+ */
+@Slf4j
+public class AppendWriteFunctionWithExternalSort<T> extends AppendWriteFunction<T> {
+
+  private transient GeneratedNormalizedKeyComputer keyComputer;
+  private transient GeneratedRecordComparator recordComparator;
+  // the sorter is created lazily for each checkpoint and released after flushing
+  private transient BinaryExternalSorter sorter;
+
+  @VisibleForTesting
+  @Getter
+  private transient long numSpillFiles;
+  private transient long spillInBytes;
+
+  public AppendWriteFunctionWithExternalSort(Configuration config, RowType rowType) {
+    super(config, rowType);
+  }
+
+  @Override
+  public void open(Configuration parameters) throws Exception {
+    // fail fast on the misconfiguration instead of on the first record
+    ValidationUtils.checkArgument(OptionsResolver.isManagedMemoryBufferEnabled(config),
+        String.format("Buffer type %s requires Flink managed memory, set '%s' as '%s'.", BufferType.EXTERNAL_SORT.name(),
+            FlinkOptions.WRITE_BUFFER_MEMORY_TYPE.key(), BufferMemoryType.MANAGED.name()));
+    super.open(parameters);
+
+    // Resolve sort keys (defaults to record key if not specified)
+    List<String> sortKeyList = AppendWriteFunctions.resolveSortKeys(config);
+    SortOperatorGen sortOperatorGen = new SortOperatorGen(rowType, sortKeyList.toArray(new String[0]));
+    this.keyComputer = sortOperatorGen.generateNormalizedKeyComputer("SortComputer");
+    this.recordComparator = sortOperatorGen.generateRecordComparator("SortComparator");
+    registerSorterMetrics();
+
+    log.info("{} initialized with external sort buffer, sort keys: {}",
+        getClass().getSimpleName(), sortKeyList);
+  }
+
+  @Override
+  public void processElement(T value, Context ctx, Collector<RowData> out) throws Exception {
+    if (sorter == null) {
+      ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+      this.sorter = this.memorySegmentPoolFactory.createExternalSorter(config, rowType,
+          keyComputer.newInstance(classLoader), recordComparator.newInstance(classLoader));
+    }
+    sorter.write((RowData) value);
+  }
+
+  @Override
+  public void snapshotState() {
+    try {
+      sortAndSend();
+    } catch (IOException e) {
+      throw new HoodieIOException("Fail to sort and flush data in buffer during snapshot state.", e);
+    }
+    super.snapshotState();
+  }
+
+  @Override
+  public void endInput() {
+    try {
+      sortAndSend();
+    } catch (IOException e) {
+      throw new HoodieIOException("Fail to sort and flush data in buffer during endInput.", e);
+    }
+    super.endInput();
+  }
+
+  /**
+   * Merges the in-memory and spilled sorted runs and writes the records in order, the sorter
+   * and its managed memory are released afterwards.
+   */
+  private void sortAndSend() throws IOException {
+    if (sorter == null) {
+      return;
+    }
+    try {
+      if (this.writerHelper == null) {
+        initWriterHelper();
+      }
+      Iterator<BinaryRowData> iterator = new MutableIteratorWrapperIterator<>(
+          sorter.getIterator(),
+          () -> new BinaryRowData(rowType.getFieldCount()));
+      while (iterator.hasNext()) {
+        writerHelper.write(iterator.next());
+      }
+      this.numSpillFiles = sorter.getNumSpillFiles();
+      this.spillInBytes = sorter.getSpillInBytes();
+      log.info("Flushed external sort buffer of subtask [{}], spilled files: {}, spilled bytes: {}",
+          taskID, numSpillFiles, spillInBytes);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new HoodieException("Interrupted while merging the sorted runs of external sort buffer.", e);
+    } finally {
+      closeSorter();
+    }
+  }
+
+  private void registerSorterMetrics() {
+    MetricGroup metrics = getRuntimeContext().getMetricGroup();
+    metrics.gauge("sortBufferMemoryUsedSizeInBytes", (Gauge<Long>) () -> sorter == null ? 0L : sorter.getUsedMemoryInBytes());
+    metrics.gauge("sortBufferNumSpillFiles", (Gauge<Long>) () -> numSpillFiles);
+    metrics.gauge("sortBufferSpillInBytes", (Gauge<Long>) () -> spillInBytes);
+  }
+
+  private void closeSorter() {
+    if (sorter != null) {
+      sorter.close();
+      sorter = null;
+    }
+  }
+
+  @Override
+  public void close() throws Exception {
+    try {
+      closeSorter();
+    } finally {
+      super.close();
+    }
+  }
+}
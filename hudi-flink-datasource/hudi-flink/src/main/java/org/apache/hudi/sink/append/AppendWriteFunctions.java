@@ -57,6 +57,8 @@ public abstract class AppendWriteFunctions {
       return new AppendWriteFunctionWithDisruptorBufferSort<>(conf, rowType);
     } else if (BufferType.BOUNDED_IN_MEMORY.name().equalsIgnoreCase(bufferType)) {
       return new AppendWriteFunctionWithBIMBufferSort<>(conf, rowType);
+    } else if (BufferType.EXTERNAL_SORT.name().equalsIgnoreCase(bufferType)) {
+      return new AppendWriteFunctionWithExternalSort<>(conf, rowType);
     }
     return new AppendWriteFunction<>(conf, rowType);
   }
@@ -40,5 +40,10 @@ public enum BufferType {
 
   @EnumFieldDescription("Continuous sorting using a TreeMap. Provides O(log n) inserts and incremental draining "
       + "for predictable latency without sort spikes.")
-  CONTINUOUS_SORT
+  CONTINUOUS_SORT,
+
+  @EnumFieldDescription("External sort backed by Flink managed memory. Records are sorted by normalized key prefix in "
+      + "memory segments, sorted runs are spilled to local disk when the memory is exhausted and k-way merged on flush. "
+      + "Requires write.buffer.memory.type=MANAGED.")
+  EXTERNAL_SORT
 }
@@ -18,14 +18,22 @@
 
 package org.apache.hudi.sink.buffer;
 
+import org.apache.hudi.adapter.Utils;
 import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.ValidationUtils;
 import org.apache.hudi.configuration.FlinkOptions;
 
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.runtime.io.disk.iomanager.IOManager;
 import org.apache.flink.runtime.memory.MemoryManager;
+import org.apache.flink.table.runtime.generated.NormalizedKeyComputer;
+import org.apache.flink.table.runtime.generated.RecordComparator;
+import org.apache.flink.table.runtime.operators.sort.BinaryExternalSorter;
+import org.apache.flink.table.runtime.typeutils.BinaryRowDataSerializer;
+import org.apache.flink.table.runtime.typeutils.RowDataSerializer;
 import org.apache.flink.table.runtime.util.LazyMemorySegmentPool;
 import org.apache.flink.table.runtime.util.MemorySegmentPool;
+import org.apache.flink.table.types.logical.RowType;
 
 import javax.annotation.Nullable;
 
@@ -37,15 +45,28 @@ import javax.annotation.Nullable;
  *   <li>Heap-based memory pool ({@code HeapMemorySegmentPool}) - uses JVM heap memory</li>
  *   <li>Flink managed memory pool ({@code LazyMemorySegmentPool}) - uses Flink's managed memory</li>
  * </ul>
+ *
+ * <p>With Flink managed memory and an {@code IOManager}, it can also create a {@code BinaryExternalSorter}
+ * which spills sorted runs to the local disk when the managed memory is exhausted.
  */
 public class MemorySegmentPoolFactory {
   private final Option<Object> owner;
   private final Option<MemoryManager> memoryManager;
+  private final Option<IOManager> ioManager;
   private final long managedMemorySize;
 
   public MemorySegmentPoolFactory(@Nullable Object owner, @Nullable MemoryManager memoryManager, long managedMemorySize) {
+    this(owner, memoryManager, null, managedMemorySize);
+  }
+
+  public MemorySegmentPoolFactory(
+      @Nullable Object owner,
+      @Nullable MemoryManager memoryManager,
+      @Nullable IOManager ioManager,
+      long managedMemorySize) {
     this.owner = Option.ofNullable(owner);
     this.memoryManager = Option.ofNullable(memoryManager);
+    this.ioManager = Option.ofNullable(ioManager);
     this.managedMemorySize = managedMemorySize;
   }
 
@@ -93,4 +114,37 @@ public class MemorySegmentPoolFactory {
     }
     return pools;
   }
+
+  /**
+   * Creates an external sorter backed by the Flink managed memory, the sorted runs are spilled
+   * to the local disk through the {@code IOManager} and k-way merged when the iterator is requested.
+   *
+   * <p>The returned sorter has been started, the caller is responsible for closing it.
+   *
+   * @param conf the configuration
+   * @param rowType the row type of the records to sort
+   * @param keyComputer the normalized key computer
+   * @param comparator the record comparator
+   */
+  public BinaryExternalSorter createExternalSorter(
+      Configuration conf,
+      RowType rowType,
+      NormalizedKeyComputer keyComputer,
+      RecordComparator comparator) {
+    ValidationUtils.checkArgument(memoryManager.isPresent() && ioManager.isPresent(),
+        String.format("External sort buffer requires Flink managed memory, set '%s' as '%s'.",
+            FlinkOptions.WRITE_BUFFER_MEMORY_TYPE.key(), BufferMemoryType.MANAGED.name()));
+    BinaryExternalSorter sorter = Utils.getBinaryExternalSorter(
+        owner.get(),
+        memoryManager.get(),
+        managedMemorySize,
+        ioManager.get(),
+        new RowDataSerializer(rowType),
+        new BinaryRowDataSerializer(rowType.getFieldCount()),
+        keyComputer,
+        comparator,
+        conf);
+    sorter.startThreads();
+    return sorter;
+  }
 }
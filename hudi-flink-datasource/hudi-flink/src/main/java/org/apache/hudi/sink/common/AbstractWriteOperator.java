@@ -55,7 +55,8 @@ public abstract class AbstractWriteOperator<I>
 
     MemorySegmentPoolFactory memoryPoolFactory =
         OptionsResolver.isManagedMemoryBufferEnabled(this.function.getConfig())
-            ? new MemorySegmentPoolFactory(containingTask, containingTask.getEnvironment().getMemoryManager(), Utils.computeManagedMemory(this))
+            ? new MemorySegmentPoolFactory(containingTask, containingTask.getEnvironment().getMemoryManager(),
+                containingTask.getEnvironment().getIOManager(), Utils.computeManagedMemory(this))
             : new MemorySegmentPoolFactory(null, null, -1);
     this.function.setMemorySegmentPoolFactory(memoryPoolFactory);
   }
@@ -20,6 +20,7 @@ package org.apache.hudi.sink.compact;
 
 import org.apache.hudi.adapter.MaskingOutputAdapter;
 import org.apache.hudi.configuration.FlinkOptions;
+import org.apache.hudi.configuration.OptionsResolver;
 import org.apache.hudi.sink.compact.handler.CompactHandler;
 import org.apache.hudi.sink.compact.handler.TableServiceHandlerFactory;
 import org.apache.hudi.sink.utils.NonThrownExecutor;
@@ -36,10 +37,19 @@ import org.apache.flink.streaming.runtime.tasks.ProcessingTimeService;
 import org.apache.flink.streaming.runtime.tasks.StreamTask;
 import org.apache.flink.table.runtime.operators.TableStreamOperator;
 import org.apache.flink.table.runtime.util.StreamRecordCollector;
+import org.apache.flink.util.Collector;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Operator to execute the actual compaction task assigned by the compaction plan task.
  * In order to execute scalable, the input should shuffle by the compact event {@link CompactionPlanEvent}.
+ *
+ * <p>When {@link FlinkOptions#COMPACTION_OPERATION_EXECUTE_CONCURRENCY} is greater than 1, each task executes
+ * a bounded set of compaction operations concurrently, so that the CPU is not idle while an operation waits
+ * on the reads of the file group, the compaction memory budget of the task is shared by the concurrent operations.
+ * The in-flight operations are drained before the checkpoint barrier is emitted.
  */
 @Slf4j
 public class CompactOperator extends TableStreamOperator<CompactionCommitEvent>
@@ -58,13 +68,23 @@ public class CompactOperator extends TableStreamOperator<CompactionCommitEvent>
   /**
    * Output records collector.
    */
-  private transient StreamRecordCollector<CompactionCommitEvent> collector;
+  private transient Collector<CompactionCommitEvent> collector;
 
   /**
    * Previous compact instant time.
    */
   private transient String prevCompactInstant = "";
 
+  /**
+   * Number of compaction operations executed concurrently.
+   */
+  private transient int concurrency;
+
+  /**
+   * Slots for the concurrent compaction operations, null if the operations execute sequentially.
+   */
+  private transient Semaphore compactionSlots;
+
   private transient CompactHandler compactHandler;
 
   public CompactOperator(Configuration conf) {
@@ -93,11 +113,15 @@ public class CompactOperator extends TableStreamOperator<CompactionCommitEvent>
   public void open() throws Exception {
     // ID of current subtask
     int taskID = RuntimeContextUtils.getIndexOfThisSubtask(getRuntimeContext());
+    this.concurrency = OptionsResolver.getCompactionOperationConcurrency(conf);
     if (conf.get(FlinkOptions.COMPACTION_OPERATION_EXECUTE_ASYNC_ENABLED)) {
       // executes compaction asynchronously.
-      this.executor = NonThrownExecutor.builder(log).build();
+      this.executor = NonThrownExecutor.builder(log).numThreads(concurrency).build();
     }
     this.collector = new StreamRecordCollector<>(output);
+    if (concurrency > 1) {
+      this.compactionSlots = new Semaphore(concurrency);
+    }
     this.compactHandler = TableServiceHandlerFactory.createCompactHandler(conf, getRuntimeContext(), taskID);
     this.compactHandler.registerMetrics(getRuntimeContext().getMetricGroup());
   }
@@ -109,7 +133,34 @@ public class CompactOperator extends TableStreamOperator<CompactionCommitEvent>
     boolean needReloadMetaClient = !instantTime.equals(prevCompactInstant);
     prevCompactInstant = instantTime;
 
-    compactHandler.compact(executor, event, collector, needReloadMetaClient);
+    if (compactionSlots == null) {
+      compactHandler.compact(executor, event, collector, needReloadMetaClient);
+      return;
+    }
+    if (needReloadMetaClient) {
+      // waits for the operations of the previous instant to finish before the meta client is reloaded
+      drainCompactionSlots();
+    }
+    // blocks until there is a free slot, the slot is released when the commit event is emitted
+    compactionSlots.acquire();
+    compactHandler.compact(executor, event, new SlotReleasingCollector(collector, compactionSlots), needReloadMetaClient);
+  }
+
+  @Override
+  public void prepareSnapshotPreBarrier(long checkpointId) throws Exception {
+    super.prepareSnapshotPreBarrier(checkpointId);
+    if (compactionSlots != null) {
+      // the commit events of the in-flight operations are emitted before the barrier
+      drainCompactionSlots();
+    }
+  }
+
+  /**
+   * Waits for all the in-flight compaction operations to finish.
+   */
+  private void drainCompactionSlots() throws InterruptedException {
+    compactionSlots.acquire(concurrency);
+    compactionSlots.release(concurrency);
   }
 
   @VisibleForTesting
@@ -122,6 +173,16 @@ public class CompactOperator extends TableStreamOperator<CompactionCommitEvent>
     this.collector = new StreamRecordCollector<>(output);
   }
 
+  @VisibleForTesting
+  public void setCompactHandler(CompactHandler compactHandler) {
+    this.compactHandler = compactHandler;
+  }
+
+  @VisibleForTesting
+  public int getAvailableCompactionSlots() {
+    return compactionSlots == null ? 0 : compactionSlots.availablePermits();
+  }
+
   @Override
   public void close() throws Exception {
     if (null != this.executor) {
@@ -129,4 +190,49 @@ public class CompactOperator extends TableStreamOperator<CompactionCommitEvent>
     }
     compactHandler.close();
   }
+
+  // -------------------------------------------------------------------------
+  //  Inner Class
+  // -------------------------------------------------------------------------
+
+  /**
+   * Collector that emits the commit event of one compaction operation executed concurrently with the others.
+   *
+   * <p>The operation emits exactly one commit event whether it succeeds or fails, the slot of the operation
+   * is released after the event is emitted. The failure hook of the executor may collect a failed event
+   * after the operation has emitted its event, e.g. when the emission itself throws, the later events are
+   * dropped so that the slot is never released twice.
+   */
+  private static class SlotReleasingCollector implements Collector<CompactionCommitEvent> {
+    private final Collector<CompactionCommitEvent> collector;
+    private final Semaphore slots;
+    private final AtomicBoolean collected = new AtomicBoolean(false);
+
+    SlotReleasingCollector(Collector<CompactionCommitEvent> collector, Semaphore slots) {
+      this.collector = collector;
+      this.slots = slots;
+    }
+
+    @Override
+    public void collect(CompactionCommitEvent event) {
+      if (!collected.compareAndSet(false, true)) {
+        log.warn("Drop the duplicate commit event of compaction instant {} for file group {}",
+            event.getInstant(), event.getFileId());
+        return;
+      }
+      try {
+        // the underlying collector is shared by the concurrent operations
+        synchronized (collector) {
+          collector.collect(event);
+        }
+      } finally {
+        slots.release();
+      }
+    }
+
+    @Override
+    public void close() {
+      collector.close();
+    }
+  }
 }
@@ -42,7 +42,6 @@ import javax.annotation.Nullable;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.function.Supplier;
 
 /**
  * Handler for executing compaction operations in compaction sub-pipeline.
@@ -72,6 +71,10 @@ public class DataTableCompactHandler implements CompactHandler {
    * InternalSchema manager used for handling schema evolution.
    */
   private transient InternalSchemaManager internalSchemaManager;
+  /**
+   * The compaction instant that the states shared by the operations are prepared for.
+   */
+  private transient String preparedInstant;
 
   public DataTableCompactHandler(HoodieFlinkWriteClient writeClient, int taskId) {
     this.table = writeClient.getHoodieTable();
@@ -121,30 +124,51 @@ public class DataTableCompactHandler implements CompactHandler {
    *
    * @param event The compaction plan event containing operation details
    * @param collector The collector for emitting compaction commit events
-   * @param needReloadMetaClient Whether to reload the meta client before compaction
+   * @param needReloadMetaClient Whether the compaction instant changed since the previous operation
    * @throws Exception If compaction fails
    */
   protected void doCompaction(CompactionPlanEvent event,
                               Collector<CompactionCommitEvent> collector,
                               boolean needReloadMetaClient) throws Exception {
-    compactionMetrics.startCompaction();
-    HoodieFlinkMergeOnReadTableCompactor<?> compactor = new HoodieFlinkMergeOnReadTableCompactor<>();
-    HoodieTableMetaClient metaClient = table.getMetaClient();
-    if (needReloadMetaClient) {
-      // reload the timeline
-      metaClient.reload();
+    long startTimeMs = compactionMetrics.startCompaction();
+    List<WriteStatus> writeStatuses;
+    try {
+      HoodieFlinkMergeOnReadTableCompactor<?> compactor = new HoodieFlinkMergeOnReadTableCompactor<>();
+      prepareCompaction(event.getCompactionInstantTime());
+      writeStatuses = compactor.compact(
+          writeClient.getConfig(),
+          event.getOperation(),
+          event.getCompactionInstantTime(),
+          table.getTaskContextSupplier(),
+          createReaderContext(),
+          table);
+    } finally {
+      compactionMetrics.endCompaction(startTimeMs);
+    }
+    collector.collect(createCommitEvent(event, writeStatuses));
+  }
+
+  /**
+   * Prepares the states shared by the compaction operations of the instant, i.e. the timeline of the meta client,
+   * the write schema and the internal schema manager.
+   *
+   * <p>The operations of one instant may execute concurrently, the states are prepared only once by the first
+   * operation of the instant under the lock of the handler, the other operations wait for it and then reuse the states.
+   *
+   * @param instantTime The compaction instant time
+   * @throws Exception If the table schema can not be resolved
+   */
+  protected synchronized void prepareCompaction(String instantTime) throws Exception {
+    if (instantTime.equals(preparedInstant)) {
+      return;
     }
+    HoodieTableMetaClient metaClient = table.getMetaClient();
+    // reload the timeline
+    metaClient.reload();
     // schema evolution
     CompactionUtil.setAvroSchema(writeClient.getConfig(), metaClient);
-    List<WriteStatus> writeStatuses = compactor.compact(
-        writeClient.getConfig(),
-        event.getOperation(),
-        event.getCompactionInstantTime(),
-        table.getTaskContextSupplier(),
-        createReaderContext(needReloadMetaClient),
-        table);
-    compactionMetrics.endCompaction();
-    collector.collect(createCommitEvent(event, writeStatuses));
+    internalSchemaManager = null;
+    preparedInstant = instantTime;
   }
 
   /**
@@ -171,26 +195,30 @@ public class DataTableCompactHandler implements CompactHandler {
   /**
    * Creates a reader context for reading data during compaction.
    *
-   * <p>The internal schema manager is instantiated lazily and reused across operations
-   * unless the meta client needs to be reloaded.
+   * <p>The internal schema manager is instantiated lazily and reused across the operations of the same instant.
    *
-   * @param needReloadMetaClient whether to reload the meta client and schema manager
    * @return a new Flink row data reader context
    */
-  protected HoodieReaderContext<?> createReaderContext(boolean needReloadMetaClient) {
+  protected HoodieReaderContext<?> createReaderContext() {
     HoodieTableMetaClient metaClient = table.getMetaClient();
-    // CAUTION: InternalSchemaManager will scan timeline, reusing the meta client so that the timeline is updated.
-    // Instantiate internalSchemaManager lazily here since it may not be needed for FG reader, e.g., schema evolution
-    // for log files in FG reader do not use internalSchemaManager.
-    Supplier<InternalSchemaManager> internalSchemaManagerSupplier = () -> {
-      if (internalSchemaManager == null || needReloadMetaClient) {
-        internalSchemaManager = InternalSchemaManager.get(metaClient.getStorageConf(), metaClient);
-      }
-      return internalSchemaManager;
-    };
     // initialize storage conf lazily.
     StorageConfiguration<?> readerConf = writeClient.getEngineContext().getStorageConf();
-    return new FlinkRowDataReaderContext(readerConf, internalSchemaManagerSupplier, Collections.emptyList(), metaClient.getTableConfig(), Option.empty());
+    return new FlinkRowDataReaderContext(readerConf, this::getInternalSchemaManager, Collections.emptyList(), metaClient.getTableConfig(), Option.empty());
+  }
+
+  /**
+   * Returns the internal schema manager of the prepared compaction instant.
+   *
+   * <p>CAUTION: InternalSchemaManager will scan timeline, reusing the meta client so that the timeline is updated.
+   * Instantiate internalSchemaManager lazily here since it may not be needed for FG reader, e.g., schema evolution
+   * for log files in FG reader do not use internalSchemaManager.
+   */
+  private synchronized InternalSchemaManager getInternalSchemaManager() {
+    if (internalSchemaManager == null) {
+      HoodieTableMetaClient metaClient = table.getMetaClient();
+      internalSchemaManager = InternalSchemaManager.get(metaClient.getStorageConf(), metaClient);
+    }
+    return internalSchemaManager;
   }
 
   /**
@@ -30,6 +30,7 @@ import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.metrics.FlinkCompactionMetrics;
 import org.apache.hudi.sink.compact.CompactionPlanEvent;
 import org.apache.hudi.table.HoodieFlinkTable;
+import org.apache.hudi.table.action.compact.strategy.CompactionStrategy;
 import org.apache.hudi.table.marker.WriteMarkersFactory;
 import org.apache.hudi.util.CompactionUtil;
 
@@ -38,6 +39,7 @@ import org.apache.flink.metrics.MetricGroup;
 import org.apache.flink.streaming.api.operators.Output;
 import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
 
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -162,7 +164,7 @@ public class DataTableCompactionPlanHandler implements CompactionPlanHandler {
    * <ul>
    *   <li>Transitions the compaction instant from REQUESTED to INFLIGHT;</li>
    *   <li>Deletes any existing marker directories;</li>
-   *   <li>Creates a compaction plan event for each operation;</li>
+   *   <li>Creates a compaction plan event for each operation, in descending order of the estimated IO;</li>
    *   <li>Assigns operation indices to ensure proper task distribution;</li>
    * </ul>
    *
@@ -180,8 +182,12 @@ public class DataTableCompactionPlanHandler implements CompactionPlanHandler {
     metaClient.getActiveTimeline().transitionCompactionRequestedToInflight(instant);
     metaClient.reloadActiveTimeline();
 
+    // the operations with larger estimated IO are distributed first, so that the heavy ones start early
+    // and they are spread evenly among the compact tasks, the small ones fill up the idle task slots in the end.
     List<CompactionOperation> operations = compactionPlan.getOperations().stream()
-        .map(CompactionOperation::convertFromAvroRecordInstance).collect(toList());
+        .map(CompactionOperation::convertFromAvroRecordInstance)
+        .sorted(Comparator.comparingDouble(DataTableCompactionPlanHandler::getEstimatedIO).reversed())
+        .collect(toList());
     log.info("Execute compaction plan for instant {} as {} file groups", compactionInstantTime, operations.size());
 
     WriteMarkersFactory
@@ -203,6 +209,14 @@ public class DataTableCompactionPlanHandler implements CompactionPlanHandler {
     }
   }
 
+  /**
+   * Returns the estimated IO in MB of the compaction operation from the plan, 0 if the metrics is missing.
+   */
+  private static double getEstimatedIO(CompactionOperation operation) {
+    Double totalIO = operation.getMetrics() == null ? null : operation.getMetrics().get(CompactionStrategy.TOTAL_IO_MB);
+    return totalIO == null ? 0D : totalIO;
+  }
+
   /**
    * Creates a compaction plan event for a single compaction operation.
    *
@@ -68,12 +68,10 @@ public class MetadataTableCompactHandler extends DataTableCompactHandler {
    * <p>This method is overridden to create an Avro-based reader context
    * adapted for metadata table file reading, which has a custom payload class.
    *
-   * @param needReloadMetaClient Whether the meta client needs to be reloaded
-   *
    * @return A reader context configured for metadata table file reading
    */
   @Override
-  protected HoodieReaderContext<?> createReaderContext(boolean needReloadMetaClient) {
+  protected HoodieReaderContext<?> createReaderContext() {
     String payloadClass = ConfigUtils.getPayloadClass(writeClient.getConfig().getProps());
     AvroReaderContextFactory readerContextFactory = new AvroReaderContextFactory(table.getMetaClient(), payloadClass, writeClient.getConfig().getProps());
     return readerContextFactory.getContext();
@@ -87,7 +85,7 @@ public class MetadataTableCompactHandler extends DataTableCompactHandler {
    *
    * @param event                The compaction plan event containing the operation details
    * @param collector            Collector for emitting compaction commit events
-   * @param needReloadMetaClient Whether the meta client needs to be reloaded
+   * @param needReloadMetaClient Whether the compaction instant changed since the previous operation
    */
   @Override
   protected void doCompaction(CompactionPlanEvent event,
@@ -96,26 +94,27 @@ public class MetadataTableCompactHandler extends DataTableCompactHandler {
     if (!event.isLogCompaction()) {
       super.doCompaction(event, collector, needReloadMetaClient);
     } else {
-      compactionMetrics.startCompaction();
-      // Create a write client specifically for the metadata table
-      HoodieFlinkMergeOnReadTableCompactor<?> compactor = new HoodieFlinkMergeOnReadTableCompactor<>();
-      HoodieTableMetaClient metaClient = table.getMetaClient();
-      if (needReloadMetaClient) {
-        // reload the timeline
-        metaClient.reload();
+      long startTimeMs = compactionMetrics.startCompaction();
+      List<WriteStatus> writeStatuses;
+      try {
+        // Create a write client specifically for the metadata table
+        HoodieFlinkMergeOnReadTableCompactor<?> compactor = new HoodieFlinkMergeOnReadTableCompactor<>();
+        prepareCompaction(event.getCompactionInstantTime());
+        HoodieTableMetaClient metaClient = table.getMetaClient();
+        Option<InstantRange> instantRange = CompactHelpers.getInstance().getInstantRange(metaClient);
+        String payloadClass = ConfigUtils.getPayloadClass(writeClient.getConfig().getProps());
+        AvroReaderContextFactory readerContextFactory = new AvroReaderContextFactory(
+            metaClient, payloadClass, instantRange, writeClient.getConfig().getProps());
+        writeStatuses = compactor.logCompact(
+            writeClient.getConfig(),
+            event.getOperation(),
+            event.getCompactionInstantTime(),
+            table,
+            table.getTaskContextSupplier(),
+            readerContextFactory.getContext());
+      } finally {
+        compactionMetrics.endCompaction(startTimeMs);
       }
-      Option<InstantRange> instantRange = CompactHelpers.getInstance().getInstantRange(metaClient);
-      String payloadClass = ConfigUtils.getPayloadClass(writeClient.getConfig().getProps());
-      AvroReaderContextFactory readerContextFactory = new AvroReaderContextFactory(
-          metaClient, payloadClass, instantRange, writeClient.getConfig().getProps());
-      List<WriteStatus> writeStatuses = compactor.logCompact(
-          writeClient.getConfig(),
-          event.getOperation(),
-          event.getCompactionInstantTime(),
-          table,
-          table.getTaskContextSupplier(),
-          readerContextFactory.getContext());
-      compactionMetrics.endCompaction();
       collector.collect(createCommitEvent(event, writeStatuses));
     }
   }
@@ -0,0 +1,350 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.sink.partitioner.index;
+
+import org.apache.hudi.common.bloom.BloomFilter;
+import org.apache.hudi.common.bloom.BloomFilterFactory;
+import org.apache.hudi.common.bloom.BloomFilterTypeCode;
+import org.apache.hudi.common.util.ValidationUtils;
+import org.apache.hudi.common.util.collection.Pair;
+import org.apache.hudi.exception.HoodieIOException;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.UUID;
+
+/**
+ * Immutable, key-sorted tier of the {@link RecordIndexCache}.
+ *
+ * <p>The entries are laid out as a sequence of blocks, each block holds consecutive
+ * {@code [keyLen][key][valueLen][value]} entries in ascending key order, the value is the
+ * binary encoded record location. A sparse index with the first key of each block and a bloom filter
+ * over all the keys are kept on heap, the blocks themselves are kept on heap while their total size is
+ * under the in-memory threshold and are written to a local run file otherwise, so that a probe costs one
+ * bloom filter check plus at most one block read.
+ *
+ * <p>This class is not thread-safe.
+ */
+@Slf4j
+public class CompactedRecordIndexTier implements Closeable {
+  /**
+   * Target size of one block, a point lookup reads exactly one block.
+   */
+  private static final int BLOCK_SIZE = 16 * 1024;
+  private static final double BLOOM_FILTER_FPP = 0.01;
+
+  private final String[] blockFirstKeys;
+  private final long[] blockOffsets;
+  private final int[] blockSizes;
+  // null if the blocks are spilled to the run file
+  private final List<byte[]> inMemoryBlocks;
+  // null if the blocks are kept in memory
+  private final File runFile;
+  private final BloomFilter bloomFilter;
+  private final long bloomFilterSizeInBytes;
+  private final DataInputDeserializer blockReader = new DataInputDeserializer();
+  private RandomAccessFile runFileReader;
+
+  @Getter
+  private final long numEntries;
+  @Getter
+  private final long dataSizeInBytes;
+
+  private CompactedRecordIndexTier(
+      List<String> blockFirstKeys,
+      List<Long> blockOffsets,
+      List<Integer> blockSizes,
+      List<byte[]> inMemoryBlocks,
+      File runFile,
+      BloomFilter bloomFilter,
+      long bloomFilterSizeInBytes,
+      long numEntries,
+      long dataSizeInBytes) {
+    this.blockFirstKeys = blockFirstKeys.toArray(new String[0]);
+    this.blockOffsets = blockOffsets.stream().mapToLong(Long::longValue).toArray();
+    this.blockSizes = blockSizes.stream().mapToInt(Integer::intValue).toArray();
+    this.inMemoryBlocks = inMemoryBlocks;
+    this.runFile = runFile;
+    this.bloomFilter = bloomFilter;
+    this.bloomFilterSizeInBytes = bloomFilterSizeInBytes;
+    this.numEntries = numEntries;
+    this.dataSizeInBytes = dataSizeInBytes;
+  }
+
+  /**
+   * Returns a writer to build a new tier from entries appended in ascending key order.
+   *
+   * @param spillDir              the local directory for the run file
+   * @param expectedNumEntries    the expected number of entries, used to size the bloom filter
+   * @param maxInMemorySizeInBytes the maximum size of the blocks that can be kept on heap
+   */
+  public static Writer writer(String spillDir, int expectedNumEntries, long maxInMemorySizeInBytes) {
+    return new Writer(spillDir, expectedNumEntries, maxInMemorySizeInBytes);
+  }
+
+  /**
+   * Returns the encoded location for the given record key, or null if the key does not exist in this tier.
+   */
+  public byte[] get(String recordKey) {
+    if (numEntries == 0 || !bloomFilter.mightContain(recordKey)) {
+      return null;
+    }
+    int blockIdx = Arrays.binarySearch(blockFirstKeys, recordKey);
+    if (blockIdx < 0) {
+      // the insertion point minus one is the block whose key range may cover the record key
+      blockIdx = -blockIdx - 2;
+      if (blockIdx < 0) {
+        return null;
+      }
+    }
+    try {
+      blockReader.setBuffer(readBlock(blockIdx));
+      while (blockReader.available() > 0) {
+        String key = readString(blockReader);
+        int cmp = key.compareTo(recordKey);
+        if (cmp == 0) {
+          return readBytes(blockReader);
+        } else if (cmp > 0) {
+          return null;
+        }
+        blockReader.skipBytesToRead(blockReader.readInt());
+      }
+      return null;
+    } catch (IOException e) {
+      throw new HoodieIOException("Failed to read compacted record index tier for key: " + recordKey, e);
+    }
+  }
+
+  /**
+   * Returns an iterator over all the entries of this tier in ascending key order,
+   * the blocks are read sequentially.
+   */
+  public Iterator<Pair<String, byte[]>> iterator() {
+    return new Iterator<Pair<String, byte[]>>() {
+      private final DataInputDeserializer reader = new DataInputDeserializer();
+      private int nextBlockIdx = 0;
+
+      @Override
+      public boolean hasNext() {
+        while (reader.available() == 0) {
+          if (nextBlockIdx >= blockFirstKeys.length) {
+            return false;
+          }
+          try {
+            reader.setBuffer(readBlock(nextBlockIdx++));
+          } catch (IOException e) {
+            throw new HoodieIOException("Failed to read compacted record index tier block", e);
+          }
+        }
+        return true;
+      }
+
+      @Override
+      public Pair<String, byte[]> next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        try {
+          return Pair.of(readString(reader), readBytes(reader));
+        } catch (IOException e) {
+          throw new HoodieIOException("Failed to read compacted record index tier entry", e);
+        }
+      }
+    };
+  }
+
+  /**
+   * Returns the estimated heap size occupied by this tier.
+   */
+  public long getInMemorySizeInBytes() {
+    long size = bloomFilterSizeInBytes;
+    for (String key : blockFirstKeys) {
+      size += 40 + key.length() + 12;
+    }
+    if (inMemoryBlocks != null) {
+      size += dataSizeInBytes;
+    }
+    return size;
+  }
+
+  public boolean isSpilled() {
+    return runFile != null;
+  }
+
+  private byte[] readBlock(int blockIdx) throws IOException {
+    if (inMemoryBlocks != null) {
+      return inMemoryBlocks.get(blockIdx);
+    }
+    if (runFileReader == null) {
+      runFileReader = new RandomAccessFile(runFile, "r");
+    }
+    byte[] block = new byte[blockSizes[blockIdx]];
+    runFileReader.seek(blockOffsets[blockIdx]);
+    runFileReader.readFully(block);
+    return block;
+  }
+
+  private static String readString(DataInputDeserializer reader) throws IOException {
+    return new String(readBytes(reader), StandardCharsets.UTF_8);
+  }
+
+  private static byte[] readBytes(DataInputDeserializer reader) throws IOException {
+    byte[] bytes = new byte[reader.readInt()];
+    reader.readFully(bytes);
+    return bytes;
+  }
+
+  @Override
+  public void close() {
+    try {
+      if (runFileReader != null) {
+        runFileReader.close();
+        runFileReader = null;
+      }
+    } catch (IOException e) {
+      log.warn("Failed to close the run file reader of compacted record index tier", e);
+    }
+    if (runFile != null && runFile.exists() && !runFile.delete()) {
+      log.warn("Failed to delete the run file of compacted record index tier: {}", runFile);
+    }
+  }
+
+  // -------------------------------------------------------------------------
+  //  Inner Class
+  // -------------------------------------------------------------------------
+
+  /**
+   * Writer to build a {@link CompactedRecordIndexTier} from entries in ascending key order.
+   */
+  public static class Writer {
+    private final String spillDir;
+    private final long maxInMemorySizeInBytes;
+    private final BloomFilter bloomFilter;
+    private final long bloomFilterSizeInBytes;
+    private final DataOutputSerializer blockWriter = new DataOutputSerializer(BLOCK_SIZE);
+
+    private final List<String> blockFirstKeys = new ArrayList<>();
+    private final List<Long> blockOffsets = new ArrayList<>();
+    private final List<Integer> blockSizes = new ArrayList<>();
+    private List<byte[]> inMemoryBlocks = new ArrayList<>();
+    private File runFile;
+    private FileOutputStream runFileWriter;
+
+    private String lastKey;
+    private String blockFirstKey;
+    private long numEntries = 0;
+    private long dataSizeInBytes = 0;
+
+    private Writer(String spillDir, int expectedNumEntries, long maxInMemorySizeInBytes) {
+      this.spillDir = spillDir;
+      this.maxInMemorySizeInBytes = maxInMemorySizeInBytes;
+      int numEntries = Math.max(expectedNumEntries, 1);
+      this.bloomFilter = BloomFilterFactory.createBloomFilter(
+          numEntries, BLOOM_FILTER_FPP, numEntries, BloomFilterTypeCode.SIMPLE.name());
+      // optimal number of bits for the simple bloom filter: -n * ln(p) / (ln(2) ^ 2)
+      this.bloomFilterSizeInBytes = (long) Math.ceil(-numEntries * Math.log(BLOOM_FILTER_FPP) / (Math.log(2) * Math.log(2)) / 8);
+    }
+
+    /**
+     * Appends an entry, the keys must be appended in strictly ascending order.
+     */
+    public void append(String recordKey, byte[] location) throws IOException {
+      ValidationUtils.checkArgument(lastKey == null || lastKey.compareTo(recordKey) < 0,
+          () -> "Keys of the compacted record index tier should be appended in ascending order, last key: "
+              + lastKey + ", current key: " + recordKey);
+      if (blockFirstKey == null) {
+        blockFirstKey = recordKey;
+      }
+      byte[] keyBytes = recordKey.getBytes(StandardCharsets.UTF_8);
+      blockWriter.writeInt(keyBytes.length);
+      blockWriter.write(keyBytes);
+      blockWriter.writeInt(location.length);
+      blockWriter.write(location);
+      bloomFilter.add(recordKey);
+      lastKey = recordKey;
+      numEntries++;
+      if (blockWriter.length() >= BLOCK_SIZE) {
+        flushBlock();
+      }
+    }
+
+    /**
+     * Finishes the writing and returns the immutable tier.
+     */
+    public CompactedRecordIndexTier finish() throws IOException {
+      flushBlock();
+      if (runFileWriter != null) {
+        runFileWriter.close();
+        log.info("Spilled compacted record index tier with {} entries ({} bytes) to file: {}", numEntries, dataSizeInBytes, runFile);
+      }
+      return new CompactedRecordIndexTier(blockFirstKeys, blockOffsets, blockSizes, inMemoryBlocks, runFile,
+          bloomFilter, bloomFilterSizeInBytes, numEntries, dataSizeInBytes);
+    }
+
+    private void flushBlock() throws IOException {
+      if (blockWriter.length() == 0) {
+        return;
+      }
+      byte[] block = blockWriter.getCopyOfBuffer();
+      blockWriter.clear();
+      blockFirstKeys.add(blockFirstKey);
+      blockOffsets.add(dataSizeInBytes);
+      blockSizes.add(block.length);
+      blockFirstKey = null;
+      dataSizeInBytes += block.length;
+
+      if (inMemoryBlocks != null && dataSizeInBytes > maxInMemorySizeInBytes) {
+        spillInMemoryBlocks();
+      }
+      if (inMemoryBlocks != null) {
+        inMemoryBlocks.add(block);
+      } else {
+        runFileWriter.write(block);
+      }
+    }
+
+    private void spillInMemoryBlocks() throws IOException {
+      File dir = new File(spillDir);
+      if (!dir.exists() && !dir.mkdirs() && !dir.exists()) {
+        throw new IOException("Failed to create the spill directory: " + spillDir);
+      }
+      runFile = new File(dir, "record-index-compacted-" + UUID.randomUUID() + ".run");
+      runFile.deleteOnExit();
+      runFileWriter = new FileOutputStream(runFile);
+      for (byte[] block : inMemoryBlocks) {
+        runFileWriter.write(block);
+      }
+      inMemoryBlocks = null;
+    }
+  }
+}
@@ -41,6 +41,8 @@ public class RecordGlobalLocationSerializer implements CustomSerializer<HoodieRe
   // Initial buffer size: 128 bytes is sufficient for most serialized data
   // Typical size: 4(partitionLen) + ~30(partition) + 4(instantLen) + ~20(instant) + 8+8+4(UUID+index) ≈ 78 bytes
   private static final int INITIAL_BUFFER_SIZE = 128;
+  // Marker of the file index for file ids that are not in UUID form, the raw file id is written after it.
+  private static final int RAW_FILE_ID_MARKER = Integer.MIN_VALUE;
   // Reusable stream objects (single-threaded use only)
   protected final DataOutputSerializer outputSerializer = new DataOutputSerializer(INITIAL_BUFFER_SIZE);
   protected final DataInputDeserializer inputDeserializer = new DataInputDeserializer();
@@ -63,17 +65,27 @@ public class RecordGlobalLocationSerializer implements CustomSerializer<HoodieRe
     final int fileIndex;
     final UUID uuid;
     if (fileId.length() == 36) {
-      uuid = UUID.fromString(fileId);
+      uuid = parseUUID(fileId);
       fileIndex = RECORD_INDEX_MISSING_FILEINDEX_FALLBACK;
     } else {
       final int index = fileId.lastIndexOf("-");
-      uuid = UUID.fromString(fileId.substring(0, index));
-      fileIndex = Integer.parseInt(fileId.substring(index + 1));
+      uuid = index > 0 ? parseUUID(fileId.substring(0, index)) : null;
+      fileIndex = uuid != null ? parseFileIndex(fileId.substring(index + 1)) : RAW_FILE_ID_MARKER;
     }
 
-    outputSerializer.writeLong(uuid.getMostSignificantBits());
-    outputSerializer.writeLong(uuid.getLeastSignificantBits());
-    outputSerializer.writeInt(fileIndex);
+    if (uuid == null || fileIndex == RAW_FILE_ID_MARKER) {
+      // fallback for the file ids not generated by hudi writers
+      outputSerializer.writeLong(0L);
+      outputSerializer.writeLong(0L);
+      outputSerializer.writeInt(RAW_FILE_ID_MARKER);
+      byte[] fileIdBytes = fileId.getBytes(StandardCharsets.UTF_8);
+      outputSerializer.writeInt(fileIdBytes.length);
+      outputSerializer.write(fileIdBytes);
+    } else {
+      outputSerializer.writeLong(uuid.getMostSignificantBits());
+      outputSerializer.writeLong(uuid.getLeastSignificantBits());
+      outputSerializer.writeInt(fileIndex);
+    }
 
     return outputSerializer.getCopyOfBuffer();
   }
@@ -97,10 +109,16 @@ public class RecordGlobalLocationSerializer implements CustomSerializer<HoodieRe
       long fileIdHighBits = inputDeserializer.readLong();
       long fileIdLowBits = inputDeserializer.readLong();
       int fileIndex = inputDeserializer.readInt();
-      UUID uuid = new UUID(fileIdHighBits, fileIdLowBits);
-      String fileId = uuid.toString();
-      if (fileIndex != RECORD_INDEX_MISSING_FILEINDEX_FALLBACK) {
-        fileId += "-" + fileIndex;
+      String fileId;
+      if (fileIndex == RAW_FILE_ID_MARKER) {
+        byte[] fileIdBytes = new byte[inputDeserializer.readInt()];
+        inputDeserializer.readFully(fileIdBytes);
+        fileId = new String(fileIdBytes, StandardCharsets.UTF_8);
+      } else {
+        fileId = new UUID(fileIdHighBits, fileIdLowBits).toString();
+        if (fileIndex != RECORD_INDEX_MISSING_FILEINDEX_FALLBACK) {
+          fileId += "-" + fileIndex;
+        }
       }
 
       return new HoodieRecordGlobalLocation(partitionPath, instantTime, fileId);
@@ -109,6 +127,30 @@ public class RecordGlobalLocationSerializer implements CustomSerializer<HoodieRe
     }
   }
 
+  /**
+   * Parses the UUID, returns null if the string is not a UUID in canonical form.
+   */
+  private static UUID parseUUID(String str) {
+    try {
+      UUID uuid = UUID.fromString(str);
+      return uuid.toString().equals(str) ? uuid : null;
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Parses the file index, returns {@link #RAW_FILE_ID_MARKER} if the string is not a canonical non-negative integer.
+   */
+  private static int parseFileIndex(String str) {
+    try {
+      int fileIndex = Integer.parseInt(str);
+      return fileIndex >= 0 && String.valueOf(fileIndex).equals(str) ? fileIndex : RAW_FILE_ID_MARKER;
+    } catch (NumberFormatException e) {
+      return RAW_FILE_ID_MARKER;
+    }
+  }
+
   protected void writePartitionPath(String partitionPath) throws IOException {
     byte[] partitionBytes = partitionPath.getBytes(StandardCharsets.UTF_8);
     outputSerializer.writeInt(partitionBytes.length);
@@ -21,12 +21,14 @@ package org.apache.hudi.sink.partitioner.index;
 import org.apache.hudi.common.config.HoodieCommonConfig;
 import org.apache.hudi.common.model.HoodieRecordGlobalLocation;
 import org.apache.hudi.common.serialization.DefaultSerializer;
-import org.apache.hudi.common.util.DefaultSizeEstimator;
+import org.apache.hudi.common.util.SizeEstimator;
 import org.apache.hudi.common.util.ValidationUtils;
 import org.apache.hudi.common.util.VisibleForTesting;
 import org.apache.hudi.common.util.collection.ExternalSpillableMap;
+import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.config.HoodieWriteConfig;
 import org.apache.hudi.configuration.FlinkOptions;
+import org.apache.hudi.exception.HoodieIOException;
 import org.apache.hudi.util.FlinkWriteClients;
 
 import lombok.Getter;
@@ -35,41 +37,87 @@ import org.apache.flink.configuration.Configuration;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.NavigableMap;
+import java.util.PriorityQueue;
 import java.util.TreeMap;
+import java.util.stream.Collectors;
 
 /**
- * Cache to hold the in-flight record level index entries which are not committed to metadata table yet.
- * <p>
- * todo: use map backed by flink managed memory.
+ * Tiered cache to hold the in-flight record level index entries which are not committed to metadata table yet.
+ *
+ * <p>The cache is organized in two tiers:
+ * <ul>
+ *   <li>Active tiers: one mutable spillable map per checkpoint whose instant is not committed yet,
+ *   the tier with the largest checkpoint id receives all the updates;</li>
+ *   <li>Compacted tiers: immutable {@link CompactedRecordIndexTier}s sorted by record key, from the newest to the oldest.
+ *   When a checkpoint completes, the active tiers of the committed instants are flushed into a new compacted tier
+ *   with a bounded external sort, and adjacent compacted tiers of similar sizes are merged (size-tiered), so each entry
+ *   is rewritten a logarithmic number of times instead of once per checkpoint.</li>
+ * </ul>
+ *
+ * <p>The record locations are kept in the compact binary form of {@link CodedRecordGlobalLocationSerializer},
+ * so the memory footprint of each entry is known exactly instead of being estimated from the java object graph.
  */
 @Slf4j
 public class RecordIndexCache implements Closeable {
-  @VisibleForTesting
-  @Getter
-  private final TreeMap<Long, ExternalSpillableMap<String, HoodieRecordGlobalLocation>> caches;
-  private final HoodieWriteConfig writeConfig;
-  @VisibleForTesting
-  @Getter
-  private final long maxCacheSizeInBytes;
-  // the minimum checkpoint id retained in the cache.
-  private long minRetainedCheckpointId;
-  private long recordCnt = 0;
+  /**
+   * Estimated overhead of a key in the active tier: object header, hash and array reference of the string.
+   */
+  private static final long STRING_OVERHEAD_IN_BYTES = 40;
 
   /**
-   * Step size to check the total memory size of the cache.
+   * Estimated overhead of an encoded location in the active tier: object header and length of the array.
    */
-  private static final int NUMBER_OF_RECORDS_TO_CHECK_MEMORY_SIZE = 1000;
+  private static final long BYTES_OVERHEAD_IN_BYTES = 16;
 
   /**
-   * Factor for estimating the real size of memory used by a spilled map.
+   * The minimum fraction of the active tiers memory budget assigned to a new active tier.
    */
+  private static final int MIN_ACTIVE_TIER_MEMORY_FRACTION = 8;
+
+  /**
+   * The fraction of MAX_MEM used as the sort buffer when flushing the active tiers into a compacted tier.
+   */
+  private static final int SORT_BUFFER_MEMORY_FRACTION = 8;
+
+  /**
+   * Estimated overhead of an entry in the sort buffer: the pair object and the references in the buffer.
+   */
+  private static final long SORT_ENTRY_OVERHEAD_IN_BYTES = 32;
+
+  /**
+   * Two adjacent compacted tiers are merged if the older one is at most this times the size of the newer one.
+   */
+  private static final int COMPACTED_TIERS_SIZE_RATIO = 2;
+
+  private static final SizeEstimator<String> KEY_SIZE_ESTIMATOR = key -> STRING_OVERHEAD_IN_BYTES + key.length();
+  private static final SizeEstimator<byte[]> VALUE_SIZE_ESTIMATOR = value -> BYTES_OVERHEAD_IN_BYTES + value.length;
+
   @VisibleForTesting
-  public static final double FACTOR_FOR_MEMORY_SIZE_OF_SPILLED_MAP = 0.8;
+  @Getter
+  private final TreeMap<Long, ExternalSpillableMap<String, byte[]>> caches;
+  // the compacted tiers, from the newest to the oldest.
+  @VisibleForTesting
+  @Getter
+  private final List<CompactedRecordIndexTier> compactedTiers;
+  private final RecordGlobalLocationSerializer serializer;
+  private final HoodieWriteConfig writeConfig;
+  @VisibleForTesting
+  @Getter
+  private final long maxCacheSizeInBytes;
+  // the minimum checkpoint id retained in the active tiers.
+  private long minRetainedCheckpointId;
 
   public RecordIndexCache(Configuration conf, long initCheckpointId) {
     this.caches = new TreeMap<>(Comparator.reverseOrder());
+    this.compactedTiers = new ArrayList<>();
+    this.serializer = new CodedRecordGlobalLocationSerializer();
     this.writeConfig = FlinkWriteClients.getHoodieClientConfig(conf, false, false);
     this.maxCacheSizeInBytes = conf.get(FlinkOptions.INDEX_RLI_CACHE_SIZE) * 1024 * 1024;
     this.minRetainedCheckpointId = Integer.MIN_VALUE;
@@ -77,74 +125,68 @@ public class RecordIndexCache implements Closeable {
   }
 
   /**
-   * Add a new checkpoint cache for the given checkpoint ID.
+   * Add a new active tier for the given checkpoint ID.
    *
    * @param checkpointId the checkpoint ID
    */
   public void addCheckpointCache(long checkpointId) {
     try {
-      long inferredCacheSize = inferMemorySizeForCache();
-      // clean the caches to ensure enough memory for the new cache
-      cleanIfNecessary(inferredCacheSize);
-      // create a new map cache for this checkpoint
-      ExternalSpillableMap<String, HoodieRecordGlobalLocation> newCache =
+      ExternalSpillableMap<String, byte[]> newCache =
           new ExternalSpillableMap<>(
-              inferredCacheSize,
+              inferMemorySizeForCache(),
               writeConfig.getSpillableMapBasePath(),
-              new DefaultSizeEstimator<>(),
-              new DefaultSizeEstimator<>(),
+              KEY_SIZE_ESTIMATOR,
+              VALUE_SIZE_ESTIMATOR,
               // using ROCKS_DB disk map always. As BITCASK disk map get extra memory
               // cost for each key during spilling: key -> ValueMetadata(filePath, valueSize, position, ts).
               // so it's redundant to use BITCASK disk map since the map is used to store
-              // HoodieRecordGlobalLocation which has similar size as ValueMetadata.
+              // encoded locations which have similar size as ValueMetadata.
               ExternalSpillableMap.DiskMapType.ROCKS_DB,
               new DefaultSerializer<>(),
               writeConfig.getBoolean(HoodieCommonConfig.DISK_MAP_BITCASK_COMPRESSION_ENABLED),
               "RecordIndexCache-" + checkpointId);
       caches.put(checkpointId, newCache);
     } catch (IOException e) {
-      throw new RuntimeException("Failed to create checkpoint cache for checkpoint ID: " + checkpointId, e);
+      throw new HoodieIOException("Failed to create checkpoint cache for checkpoint ID: " + checkpointId, e);
     }
   }
 
   /**
-   * Infer the size of memory for the cache:
-   * - The memory size for the first spillable map is MAX_MEM / 2
-   * - The memory size for the following checkpoint cache is the average used memory of all existed caches.
-   * - Clean caches for committed instants if the remaining memory is not enough for the new cache.
+   * Infer the size of memory for a new active tier:
+   * - Half of the MAX_MEM is reserved for the active tiers, the other half is for the compacted tiers;
+   * - A new active tier takes the memory that is not used by the existing active tiers,
+   * but no less than 1/8 of the active tiers memory budget.
    */
   @VisibleForTesting
   long inferMemorySizeForCache() {
-    if (caches.isEmpty()) {
-      return maxCacheSizeInBytes / 2;
-    }
-
-    long totalUsedMemory = caches.values().stream()
-        .map(
-            // if the cache is spilled, adjust the actual used memory by multiplying a factor
-            m -> m.getSizeOfFileOnDiskInBytes() > 0
-                ? (long) (m.getCurrentInMemoryMapSize() / FACTOR_FOR_MEMORY_SIZE_OF_SPILLED_MAP)
-                : m.getCurrentInMemoryMapSize())
-        .reduce(Long::sum).orElse(0L);
-    long avgUsedMemorySize = totalUsedMemory / caches.size();
-
-    if (avgUsedMemorySize <= 0) {
-      avgUsedMemorySize = maxCacheSizeInBytes / 2;
-    }
-    return avgUsedMemorySize;
+    long activeTiersMemory = maxCacheSizeInBytes / 2;
+    long usedMemory = caches.values().stream().mapToLong(ExternalSpillableMap::getCurrentInMemoryMapSize).sum();
+    return Math.max(activeTiersMemory - usedMemory, activeTiersMemory / MIN_ACTIVE_TIER_MEMORY_FRACTION);
   }
 
   /**
-   * Search the record location from caches with larger checkpoint id to that with smaller checkpoint id,
-   * return early if the record location is found for the record key, return null otherwise.
+   * Search the record location from active tiers with larger checkpoint id to that with smaller checkpoint id,
+   * then the compacted tiers from the newest to the oldest, return early if the record location is found for the record key,
+   * return null otherwise.
    *
    * @param recordKey the record key for querying the location.
    * @return the record location.
    */
   public HoodieRecordGlobalLocation get(String recordKey) {
-    // Iterate through the caches in descending order of checkpoint ID (larger to smaller)
-    for (ExternalSpillableMap<String, HoodieRecordGlobalLocation> cache : caches.values()) {
-      HoodieRecordGlobalLocation location = cache.get(recordKey);
+    byte[] location = getEncoded(recordKey);
+    return location == null ? null : serializer.deserialize(location);
+  }
+
+  private byte[] getEncoded(String recordKey) {
+    // Iterate through the active tiers in descending order of checkpoint ID (larger to smaller)
+    for (ExternalSpillableMap<String, byte[]> cache : caches.values()) {
+      byte[] location = cache.get(recordKey);
+      if (location != null) {
+        return location;
+      }
+    }
+    for (CompactedRecordIndexTier compactedTier : compactedTiers) {
+      byte[] location = compactedTier.get(recordKey);
       if (location != null) {
         return location;
       }
@@ -153,24 +195,23 @@ public class RecordIndexCache implements Closeable {
   }
 
   /**
-   * Put the updated record location to the sub cache with the largest checkpoint id.
+   * Put the updated record location to the active tier with the largest checkpoint id.
    *
    * @param recordKey the record key for querying the location.
    * @param recordGlobalLocation the record location.
    */
   public void update(String recordKey, HoodieRecordGlobalLocation recordGlobalLocation) {
     ValidationUtils.checkArgument(!caches.isEmpty(), "Record index cache should not be empty.");
-    // get the cache with the largest checkpoint ID (first entry in the reverse-ordered TreeMap).
-    caches.firstEntry().getValue().put(recordKey, recordGlobalLocation);
-
-    if ((++recordCnt) % NUMBER_OF_RECORDS_TO_CHECK_MEMORY_SIZE == 0) {
-      cleanIfNecessary(0L);
-      recordCnt = 0;
+    try {
+      // get the cache with the largest checkpoint ID (first entry in the reverse-ordered TreeMap).
+      caches.firstEntry().getValue().put(recordKey, serializer.serialize(recordGlobalLocation));
+    } catch (IOException e) {
+      throw new HoodieIOException("Failed to encode the record location for key: " + recordKey, e);
     }
   }
 
   /**
-   * Marks the historical cache entries as evictable.
+   * Marks the historical active tiers as evictable and flushes them into the compacted tiers.
    *
    * @param checkpointId The minimum retained checkpoint id
    */
@@ -179,24 +220,178 @@ public class RecordIndexCache implements Closeable {
         String.format("The checkpoint id for minium inflight instant should be increased,"
             + " ckpIdForMinInflightInstant: %s, received checkpointId: %s", minRetainedCheckpointId, checkpointId));
     minRetainedCheckpointId = checkpointId;
+    compactIfNecessary();
   }
 
   /**
-   * Performs the actual cleaning to release memory for new caches.
+   * Flushes the active tiers whose checkpoint id is smaller than the minimum retained checkpoint id
+   * into a new compacted tier, the active tier with the largest checkpoint id is always kept for updates.
+   */
+  private void compactIfNecessary() {
+    if (caches.isEmpty()) {
+      return;
+    }
+    // checkpoint ids smaller than the bound, in descending order.
+    long bound = Math.min(minRetainedCheckpointId, caches.firstKey());
+    NavigableMap<Long, ExternalSpillableMap<String, byte[]>> evictable = caches.tailMap(bound, false);
+    if (evictable.isEmpty()) {
+      return;
+    }
+    List<ExternalSpillableMap<String, byte[]>> tiers = new ArrayList<>(evictable.values());
+    List<Long> checkpointIds = new ArrayList<>(evictable.keySet());
+    try {
+      compactedTiers.add(0, flush(tiers));
+      checkpointIds.forEach(ckpId -> caches.remove(ckpId).close());
+      dropOldestTiersIfNecessary();
+      mergeCompactedTiersIfNecessary();
+    } catch (IOException e) {
+      throw new HoodieIOException("Failed to compact record index cache for checkpoints: " + checkpointIds, e);
+    }
+    log.info("Compacted record index cache for checkpoints: {}, compacted tiers entries: {}, size: {} bytes",
+        checkpointIds, compactedTiers.stream().map(CompactedRecordIndexTier::getNumEntries).collect(Collectors.toList()),
+        compactedTiers.stream().mapToLong(CompactedRecordIndexTier::getDataSizeInBytes).sum());
+  }
+
+  /**
+   * Flushes the given active tiers (in descending order of checkpoint ID) into a new compacted tier.
    *
-   * @param nextCacheSize the size for the next new cache
-   */
-  private void cleanIfNecessary(long nextCacheSize) {
-    while (!caches.isEmpty() && caches.lastKey() < minRetainedCheckpointId
-        && getInMemoryMapSize() + nextCacheSize > this.maxCacheSizeInBytes) {
-      NavigableMap.Entry<Long, ExternalSpillableMap<String, HoodieRecordGlobalLocation>> lastEntry = caches.pollLastEntry();
-      lastEntry.getValue().close();
-      log.info("Clean record index cache for checkpoint: {}", lastEntry.getKey());
+   * <p>The entries are streamed from the active tiers, including the ones spilled to disk, into a sort buffer
+   * bounded by 1/8 of MAX_MEM. Each full buffer is sorted and written as a spilled run, then the runs are merged into
+   * the new compacted tier, so the memory used by the flush does not depend on the number of entries.
+   */
+  private CompactedRecordIndexTier flush(List<ExternalSpillableMap<String, byte[]>> tiers) throws IOException {
+    long numEntries = tiers.stream().mapToLong(ExternalSpillableMap::size).sum();
+    long sortBufferSize = maxCacheSizeInBytes / SORT_BUFFER_MEMORY_FRACTION;
+    // the runs hold the entries of the newer tiers first, since the tiers are iterated from the newest to the oldest
+    List<CompactedRecordIndexTier> runs = new ArrayList<>();
+    List<Pair<String, byte[]>> sortBuffer = new ArrayList<>();
+    long bufferedSize = 0;
+    try {
+      for (ExternalSpillableMap<String, byte[]> tier : tiers) {
+        Iterator<Map.Entry<String, byte[]>> entries = tier.entryIterator();
+        while (entries.hasNext()) {
+          Map.Entry<String, byte[]> entry = entries.next();
+          sortBuffer.add(Pair.of(entry.getKey(), entry.getValue()));
+          bufferedSize += SORT_ENTRY_OVERHEAD_IN_BYTES + KEY_SIZE_ESTIMATOR.sizeEstimate(entry.getKey())
+              + VALUE_SIZE_ESTIMATOR.sizeEstimate(entry.getValue());
+          if (bufferedSize >= sortBufferSize) {
+            runs.add(writeRun(sortBuffer));
+            sortBuffer.clear();
+            bufferedSize = 0;
+          }
+        }
+      }
+      if (runs.isEmpty()) {
+        // all the entries fit in the sort buffer
+        CompactedRecordIndexTier.Writer writer = newCompactedTierWriter(numEntries, Collections.emptyList());
+        appendSorted(sortBuffer, writer);
+        return writer.finish();
+      }
+      if (!sortBuffer.isEmpty()) {
+        runs.add(writeRun(sortBuffer));
+      }
+      return merge(runs, newCompactedTierWriter(numEntries, Collections.emptyList()));
+    } finally {
+      runs.forEach(CompactedRecordIndexTier::close);
+    }
+  }
+
+  /**
+   * Sorts the buffered entries and writes them as a run spilled to disk.
+   */
+  private CompactedRecordIndexTier writeRun(List<Pair<String, byte[]>> sortBuffer) throws IOException {
+    CompactedRecordIndexTier.Writer writer = CompactedRecordIndexTier.writer(writeConfig.getSpillableMapBasePath(), sortBuffer.size(), 0);
+    appendSorted(sortBuffer, writer);
+    return writer.finish();
+  }
+
+  /**
+   * Sorts the buffered entries by record key and appends them to the writer, the buffer is sorted stably
+   * so the first entry of a duplicated key, which comes from the newest tier, is kept.
+   */
+  private static void appendSorted(List<Pair<String, byte[]>> sortBuffer, CompactedRecordIndexTier.Writer writer) throws IOException {
+    sortBuffer.sort(Comparator.comparing(Pair::getKey));
+    String lastKey = null;
+    for (Pair<String, byte[]> entry : sortBuffer) {
+      if (!entry.getKey().equals(lastKey)) {
+        writer.append(entry.getKey(), entry.getValue());
+        lastKey = entry.getKey();
+      }
+    }
+  }
+
+  /**
+   * Merges the sorted tiers (from the newest to the oldest) into the writer, the entry of the newest tier
+   * is kept for a duplicated key.
+   */
+  private static CompactedRecordIndexTier merge(List<CompactedRecordIndexTier> tiers, CompactedRecordIndexTier.Writer writer) throws IOException {
+    // the heads of the tiers ordered by record key, then by the index of the tier
+    PriorityQueue<Pair<Integer, Pair<String, byte[]>>> heads = new PriorityQueue<>(
+        Comparator.<Pair<Integer, Pair<String, byte[]>>, String>comparing(head -> head.getValue().getKey()).thenComparing(Pair::getKey));
+    List<Iterator<Pair<String, byte[]>>> iterators = new ArrayList<>(tiers.size());
+    for (int i = 0; i < tiers.size(); i++) {
+      iterators.add(tiers.get(i).iterator());
+      if (iterators.get(i).hasNext()) {
+        heads.add(Pair.of(i, iterators.get(i).next()));
+      }
+    }
+    String lastKey = null;
+    while (!heads.isEmpty()) {
+      Pair<Integer, Pair<String, byte[]>> head = heads.poll();
+      Pair<String, byte[]> entry = head.getValue();
+      if (!entry.getKey().equals(lastKey)) {
+        writer.append(entry.getKey(), entry.getValue());
+        lastKey = entry.getKey();
+      }
+      Iterator<Pair<String, byte[]>> iterator = iterators.get(head.getKey());
+      if (iterator.hasNext()) {
+        heads.add(Pair.of(head.getKey(), iterator.next()));
+      }
+    }
+    return writer.finish();
+  }
+
+  /**
+   * Returns a writer for a new compacted tier, the half of MAX_MEM reserved for the compacted tiers is shared
+   * by all of them, so the new tier can only keep on heap what is not used by the other retained tiers.
+   */
+  private CompactedRecordIndexTier.Writer newCompactedTierWriter(long expectedNumEntries, List<CompactedRecordIndexTier> replacedTiers) {
+    long usedMemory = compactedTiers.stream()
+        .filter(tier -> !tier.isSpilled() && !replacedTiers.contains(tier))
+        .mapToLong(CompactedRecordIndexTier::getDataSizeInBytes)
+        .sum();
+    return CompactedRecordIndexTier.writer(writeConfig.getSpillableMapBasePath(),
+        (int) Math.min(Integer.MAX_VALUE, expectedNumEntries), Math.max(maxCacheSizeInBytes / 2 - usedMemory, 0));
+  }
+
+  /**
+   * Drops the oldest compacted tiers while the total size exceeds MAX_MEM, which is safe since all of them
+   * have been committed to the metadata table. The newest compacted tier is always kept.
+   */
+  private void dropOldestTiersIfNecessary() {
+    long totalSize = compactedTiers.stream().mapToLong(CompactedRecordIndexTier::getDataSizeInBytes).sum();
+    while (compactedTiers.size() > 1 && totalSize > maxCacheSizeInBytes) {
+      CompactedRecordIndexTier oldest = compactedTiers.remove(compactedTiers.size() - 1);
+      totalSize -= oldest.getDataSizeInBytes();
+      log.info("Drop the oldest compacted record index tier with {} entries to bound the cache size", oldest.getNumEntries());
+      oldest.close();
     }
   }
 
-  private long getInMemoryMapSize() {
-    return caches.values().stream().map(ExternalSpillableMap::getCurrentInMemoryMapSize).reduce(Long::sum).orElse(0L);
+  /**
+   * Merges the newest compacted tier with the next one while the latter is at most twice as large,
+   * so the sizes of the compacted tiers grow geometrically from the newest to the oldest.
+   */
+  private void mergeCompactedTiersIfNecessary() throws IOException {
+    while (compactedTiers.size() > 1
+        && compactedTiers.get(1).getDataSizeInBytes() <= COMPACTED_TIERS_SIZE_RATIO * compactedTiers.get(0).getDataSizeInBytes()) {
+      List<CompactedRecordIndexTier> merged = new ArrayList<>(compactedTiers.subList(0, 2));
+      long numEntries = merged.get(0).getNumEntries() + merged.get(1).getNumEntries();
+      CompactedRecordIndexTier mergedTier = merge(merged, newCompactedTierWriter(numEntries, merged));
+      compactedTiers.subList(0, 2).clear();
+      compactedTiers.add(0, mergedTier);
+      merged.forEach(CompactedRecordIndexTier::close);
+    }
   }
 
   @Override
@@ -204,5 +399,7 @@ public class RecordIndexCache implements Closeable {
     // Close all the map instances before removing them
     caches.values().forEach(ExternalSpillableMap::close);
     caches.clear();
+    compactedTiers.forEach(CompactedRecordIndexTier::close);
+    compactedTiers.clear();
   }
 }
@@ -43,7 +43,8 @@ public class NonThrownExecutor implements AutoCloseable {
   private final Logger logger;
 
   /**
-   * A single-thread executor to handle all the asynchronous jobs.
+   * A single-thread executor (or a fixed-size thread pool if configured)
+   * to handle all the asynchronous jobs.
    */
   private final ExecutorService executor;
 
@@ -60,7 +61,21 @@ public class NonThrownExecutor implements AutoCloseable {
 
   @VisibleForTesting
   protected NonThrownExecutor(Logger logger, @Nullable ThreadFactory threadFactory, @Nullable ExceptionHook exceptionHook, boolean waitForTasksFinish) {
-    this.executor = threadFactory == null ? Executors.newSingleThreadExecutor() : Executors.newSingleThreadExecutor(threadFactory);
+    this(logger, threadFactory, exceptionHook, waitForTasksFinish, 1);
+  }
+
+  @VisibleForTesting
+  protected NonThrownExecutor(
+      Logger logger,
+      @Nullable ThreadFactory threadFactory,
+      @Nullable ExceptionHook exceptionHook,
+      boolean waitForTasksFinish,
+      int numThreads) {
+    if (numThreads > 1) {
+      this.executor = threadFactory == null ? Executors.newFixedThreadPool(numThreads) : Executors.newFixedThreadPool(numThreads, threadFactory);
+    } else {
+      this.executor = threadFactory == null ? Executors.newSingleThreadExecutor() : Executors.newSingleThreadExecutor(threadFactory);
+    }
     this.logger = logger;
     this.exceptionHook = exceptionHook;
     this.waitForTasksFinish = waitForTasksFinish;
@@ -172,13 +187,14 @@ public class NonThrownExecutor implements AutoCloseable {
     private ThreadFactory threadFactory;
     private ExceptionHook exceptionHook;
     private boolean waitForTasksFinish = false;
+    private int numThreads = 1;
 
     private Builder(Logger logger) {
       this.logger = Objects.requireNonNull(logger);
     }
 
     public NonThrownExecutor build() {
-      return new NonThrownExecutor(logger, threadFactory, exceptionHook, waitForTasksFinish);
+      return new NonThrownExecutor(logger, threadFactory, exceptionHook, waitForTasksFinish, numThreads);
     }
 
     public Builder threadFactory(ThreadFactory threadFactory) {
@@ -195,5 +211,13 @@ public class NonThrownExecutor implements AutoCloseable {
       this.waitForTasksFinish = waitForTasksFinish;
       return this;
     }
+
+    /**
+     * Sets up the number of threads, the actions may run concurrently if it is greater than 1.
+     */
+    public Builder numThreads(int numThreads) {
+      this.numThreads = numThreads;
+      return this;
+    }
   }
 }
@@ -221,7 +221,8 @@ public class FlinkWriteClients {
                 HoodieMemoryConfig.newBuilder()
                     .withMaxMemoryMaxSize(
                         conf.get(FlinkOptions.WRITE_MERGE_MAX_MEMORY) * 1024 * 1024L,
-                        conf.get(FlinkOptions.COMPACTION_MAX_MEMORY) * 1024 * 1024L
+                        // the compaction memory budget is shared by the concurrent operations of one compact task
+                        conf.get(FlinkOptions.COMPACTION_MAX_MEMORY) * 1024 * 1024L / OptionsResolver.getCompactionOperationConcurrency(conf)
                     ).build())
             .forTable(conf.get(FlinkOptions.TABLE_NAME))
             .withStorageConfig(HoodieStorageConfig.newBuilder()
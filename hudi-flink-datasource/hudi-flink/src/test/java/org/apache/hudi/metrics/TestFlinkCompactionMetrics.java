@@ -18,10 +18,15 @@
 
 package org.apache.hudi.metrics;
 
+import org.apache.flink.metrics.Gauge;
 import org.apache.flink.metrics.groups.UnregisteredMetricsGroup;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class TestFlinkCompactionMetrics {
 
@@ -37,6 +42,43 @@ class TestFlinkCompactionMetrics {
         new ExposedFlinkMdtCompactionMetrics().metricsName("compaction", "pendingCompactionCount"));
   }
 
+  @Test
+  void testConcurrentCompactionOperationMetrics() throws Exception {
+    CapturingMetricGroup metricGroup = new CapturingMetricGroup();
+    FlinkCompactionMetrics metrics = new FlinkCompactionMetrics(metricGroup);
+    metrics.registerMetrics();
+
+    long startTime1 = metrics.startCompaction();
+    long startTime2 = metrics.startCompaction();
+    assertEquals(2, metricGroup.getGauge("compaction.runningCompactionOperations").getValue());
+
+    Thread.sleep(10);
+    metrics.endCompaction(startTime1);
+    assertEquals(1, metricGroup.getGauge("compaction.runningCompactionOperations").getValue());
+    metrics.endCompaction(startTime2);
+    assertEquals(0, metricGroup.getGauge("compaction.runningCompactionOperations").getValue());
+    assertEquals(2L, metricGroup.getGauge("compaction.completedCompactionOperations").getValue());
+
+    long cost = (long) metricGroup.getGauge("compaction.compactionCost").getValue();
+    long maxCost = (long) metricGroup.getGauge("compaction.maxCompactionCost").getValue();
+    assertTrue(cost >= 10);
+    assertTrue(maxCost >= cost);
+  }
+
+  private static class CapturingMetricGroup extends UnregisteredMetricsGroup {
+    private final Map<String, Gauge<?>> gauges = new HashMap<>();
+
+    @Override
+    public <T, G extends Gauge<T>> G gauge(String name, G gauge) {
+      gauges.put(name, gauge);
+      return gauge;
+    }
+
+    Gauge<?> getGauge(String name) {
+      return gauges.get(name);
+    }
+  }
+
   private static class ExposedFlinkCompactionMetrics extends FlinkCompactionMetrics {
     private ExposedFlinkCompactionMetrics() {
       super(new UnregisteredMetricsGroup());
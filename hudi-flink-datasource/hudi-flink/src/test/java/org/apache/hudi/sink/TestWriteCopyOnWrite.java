@@ -946,8 +946,8 @@ public class TestWriteCopyOnWrite extends TestWriteBase {
         .assertInflightCachesOfBucketAssigner(2)
         .assertNextEvent(4, "par1,par2,par3,par4")
         .checkpointComplete(1)
-        // the first inflight cache will not be cleaned, since the current total memory size does not exceed the limit.
-        .assertInflightCachesOfBucketAssigner(2)
+        // the first inflight cache is merged into the compacted tier since its instant has been committed.
+        .assertInflightCachesOfBucketAssigner(1)
         .checkWrittenData(EXPECTED1);
   }
 
@@ -124,6 +124,9 @@ public class TestAppendWriteFunctionWithBufferSort {
       case BOUNDED_IN_MEMORY:
         assertInstanceOf(AppendWriteFunctionWithBIMBufferSort.class, function);
         break;
+      case EXTERNAL_SORT:
+        assertInstanceOf(AppendWriteFunctionWithExternalSort.class, function);
+        break;
       case NONE:
         assertEquals(AppendWriteFunction.class, function.getClass());
         break;
@@ -0,0 +1,142 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.sink.append;
+
+import org.apache.hudi.configuration.FlinkOptions;
+import org.apache.hudi.sink.buffer.BufferMemoryType;
+import org.apache.hudi.sink.buffer.BufferType;
+import org.apache.hudi.sink.utils.TestWriteBase;
+import org.apache.hudi.utils.TestConfigurations;
+import org.apache.hudi.utils.TestData;
+
+import org.apache.avro.generic.GenericRecord;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.table.data.RowData;
+import org.apache.flink.table.data.StringData;
+import org.apache.flink.table.data.TimestampData;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.avro.AvroParquetReader;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link AppendWriteFunctionWithExternalSort}.
+ */
+public class TestAppendWriteFunctionWithExternalSort {
+
+  private Configuration conf;
+
+  @TempDir
+  File tempFile;
+
+  @BeforeEach
+  void setUp() {
+    conf = TestConfigurations.getDefaultConf(tempFile.getAbsolutePath());
+    conf.set(FlinkOptions.OPERATION, "insert");
+    conf.set(FlinkOptions.METADATA_ENABLED, false);
+    conf.set(FlinkOptions.WRITE_BUFFER_TYPE, BufferType.EXTERNAL_SORT.name());
+    conf.set(FlinkOptions.WRITE_BUFFER_SORT_KEYS, "name");
+  }
+
+  @Test
+  public void testOpenRequiresManagedMemory() {
+    conf.set(FlinkOptions.WRITE_BUFFER_MEMORY_TYPE, BufferMemoryType.ON_HEAP.name());
+
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> TestWriteBase.TestHarness.instance().preparePipeline(tempFile, conf));
+    assertTrue(exception.getMessage().contains(FlinkOptions.WRITE_BUFFER_MEMORY_TYPE.key()));
+  }
+
+  @Test
+  public void testFlushSortedRecordsAcrossSpillOnCheckpoint() throws Exception {
+    conf.set(FlinkOptions.WRITE_BUFFER_MEMORY_TYPE, BufferMemoryType.MANAGED.name());
+
+    TestWriteBase.TestHarness harness = TestWriteBase.TestHarness.instance().preparePipeline(tempFile, conf);
+    try {
+      AppendWriteFunctionWithExternalSort<?> function =
+          assertInstanceOf(AppendWriteFunctionWithExternalSort.class, harness.getWriteFunction());
+      // the records exceed the 2MB managed memory of the test task, so the sorted runs are spilled
+      harness
+          .consume(randomRows(0, 50_000))
+          .checkpoint(1)
+          .assertNextEvent(1, "par1")
+          .checkpointComplete(1);
+      assertTrue(function.getNumSpillFiles() > 0, "The sorted runs should be spilled to disk");
+      assertSortedFiles(1, 50_000);
+
+      // the buffer is flushed on each checkpoint, the records of the next checkpoint are sorted in a new file
+      harness
+          .consume(randomRows(50_000, 1_000))
+          .checkpoint(2)
+          .assertNextEvent(1, "par1")
+          .checkpointComplete(2);
+      assertEquals(0, function.getNumSpillFiles());
+      assertSortedFiles(2, 51_000);
+    } finally {
+      harness.end();
+    }
+  }
+
+  private static List<RowData> randomRows(int start, int numRows) {
+    Random random = new Random(start);
+    List<RowData> rows = new ArrayList<>(numRows);
+    for (int i = start; i < start + numRows; i++) {
+      rows.add(TestData.insertRow(StringData.fromString("id" + i), StringData.fromString("name" + random.nextInt(100_000)),
+          random.nextInt(100), TimestampData.fromEpochMillis(i), StringData.fromString("par1")));
+    }
+    return rows;
+  }
+
+  /**
+   * Asserts each data file of the partition is sorted by the name field.
+   */
+  private void assertSortedFiles(int expectedNumFiles, int expectedNumRecords) throws IOException {
+    File[] dataFiles = new File(tempFile, "par1").listFiles(file -> file.getName().endsWith(".parquet"));
+    assertNotNull(dataFiles);
+    assertEquals(expectedNumFiles, dataFiles.length);
+    int numRecords = 0;
+    for (File dataFile : dataFiles) {
+      try (ParquetReader<GenericRecord> reader = AvroParquetReader.<GenericRecord>builder(new Path(dataFile.getAbsolutePath())).build()) {
+        String previous = null;
+        for (GenericRecord record = reader.read(); record != null; record = reader.read()) {
+          String name = record.get("name").toString();
+          assertTrue(previous == null || previous.compareTo(name) <= 0,
+              "Records should be written in the order of the sort key: " + previous + ", " + name);
+          previous = name;
+          numRecords++;
+        }
+      }
+    }
+    assertEquals(expectedNumRecords, numRecords);
+  }
+}
@@ -19,15 +19,31 @@
 package org.apache.hudi.sink.buffer;
 
 import org.apache.hudi.configuration.FlinkOptions;
+import org.apache.hudi.sink.bulk.sort.SortOperatorGen;
+import org.apache.hudi.sink.utils.NaturalOrderKeyComputer;
+import org.apache.hudi.sink.utils.NaturalOrderRecordComparator;
 
 import org.apache.flink.configuration.Configuration;
+import org.apache.flink.runtime.io.disk.iomanager.IOManager;
+import org.apache.flink.runtime.io.disk.iomanager.IOManagerAsync;
 import org.apache.flink.runtime.memory.MemoryManager;
+import org.apache.flink.table.data.GenericRowData;
+import org.apache.flink.table.data.binary.BinaryRowData;
+import org.apache.flink.table.runtime.operators.sort.BinaryExternalSorter;
 import org.apache.flink.table.runtime.util.LazyMemorySegmentPool;
 import org.apache.flink.table.runtime.util.MemorySegmentPool;
+import org.apache.flink.table.types.logical.IntType;
+import org.apache.flink.table.types.logical.RowType;
+import org.apache.flink.util.MutableObjectIterator;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -37,6 +53,9 @@ import static org.mockito.Mockito.when;
  */
 public class TestMemorySegmentPoolFactory {
 
+  @TempDir
+  File tempDir;
+
   @Test
   public void testCreateHeapMemoryPool() {
     Configuration conf = new Configuration();
@@ -104,5 +123,51 @@ public class TestMemorySegmentPoolFactory {
       assertTrue(pool instanceof LazyMemorySegmentPool);
     }
   }
-}
 
+  @Test
+  public void testCreateExternalSorterRequiresManagedMemory() {
+    MemorySegmentPoolFactory factory = new MemorySegmentPoolFactory(null, null, 0);
+    assertThrows(IllegalArgumentException.class,
+        () -> factory.createExternalSorter(new Configuration(), RowType.of(new IntType()),
+            new NaturalOrderKeyComputer(), new NaturalOrderRecordComparator()));
+  }
+
+  @Test
+  public void testExternalSorterSpillsAndMergesSortedRuns() throws Exception {
+    RowType rowType = RowType.of(new IntType());
+    SortOperatorGen sortOperatorGen = new SortOperatorGen(rowType, new String[] {"f0"});
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    long managedMemorySize = 2 * 1024 * 1024L;
+    MemoryManager memoryManager = MemoryManager.create(managedMemorySize, 32 * 1024);
+    int numRecords = 200_000;
+
+    try (IOManager ioManager = new IOManagerAsync(tempDir.getAbsolutePath())) {
+      MemorySegmentPoolFactory factory = new MemorySegmentPoolFactory(new Object(), memoryManager, ioManager, managedMemorySize);
+      BinaryExternalSorter sorter = factory.createExternalSorter(new Configuration(), rowType,
+          sortOperatorGen.generateNormalizedKeyComputer("SortComputer").newInstance(classLoader),
+          sortOperatorGen.generateRecordComparator("SortComparator").newInstance(classLoader));
+      try {
+        Random random = new Random(42);
+        for (int i = 0; i < numRecords; i++) {
+          sorter.write(GenericRowData.of(random.nextInt()));
+        }
+        MutableObjectIterator<BinaryRowData> iterator = sorter.getIterator();
+        BinaryRowData row = new BinaryRowData(1);
+        int count = 0;
+        int previous = Integer.MIN_VALUE;
+        while ((row = iterator.next(row)) != null) {
+          assertTrue(previous <= row.getInt(0), "Records should be merged in ascending order");
+          previous = row.getInt(0);
+          count++;
+        }
+        assertEquals(numRecords, count);
+        // the records exceed the managed memory, so the sorted runs are spilled to disk
+        assertTrue(sorter.getNumSpillFiles() > 0);
+      } finally {
+        sorter.close();
+      }
+    } finally {
+      memoryManager.shutdown();
+    }
+  }
+}
@@ -0,0 +1,229 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.sink.compact;
+
+import org.apache.hudi.adapter.CollectOutputAdapter;
+import org.apache.hudi.client.HoodieFlinkWriteClient;
+import org.apache.hudi.common.model.CompactionOperation;
+import org.apache.hudi.common.model.HoodieTableType;
+import org.apache.hudi.common.table.view.FileSystemViewStorageConfig;
+import org.apache.hudi.common.table.view.FileSystemViewStorageType;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.configuration.FlinkOptions;
+import org.apache.hudi.exception.HoodieException;
+import org.apache.hudi.sink.compact.handler.DataTableCompactHandler;
+import org.apache.hudi.util.FlinkWriteClients;
+import org.apache.hudi.util.StreamerUtil;
+import org.apache.hudi.util.ViewStorageProperties;
+import org.apache.hudi.utils.TestConfigurations;
+
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.runtime.jobgraph.OperatorID;
+import org.apache.flink.runtime.operators.testutils.MockEnvironment;
+import org.apache.flink.runtime.operators.testutils.MockEnvironmentBuilder;
+import org.apache.flink.streaming.api.graph.StreamConfig;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.tasks.TestProcessingTimeService;
+import org.apache.flink.streaming.util.MockStreamTask;
+import org.apache.flink.streaming.util.MockStreamTaskBuilder;
+import org.apache.flink.util.Collector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link CompactOperator} executing the compaction operations concurrently.
+ */
+public class TestCompactOperator {
+
+  private static final int CONCURRENCY = 2;
+
+  @TempDir
+  File tempFile;
+
+  private CompactOperator compactOperator;
+  private CollectOutputAdapter<CompactionCommitEvent> output;
+  private TestingCompactHandler compactHandler;
+
+  @BeforeEach
+  void beforeEach() throws Exception {
+    Configuration conf = TestConfigurations.getDefaultConf(tempFile.getAbsolutePath());
+    conf.set(FlinkOptions.TABLE_TYPE, HoodieTableType.MERGE_ON_READ.name());
+    conf.set(FlinkOptions.COMPACTION_OPERATION_EXECUTE_ASYNC_ENABLED, true);
+    conf.set(FlinkOptions.COMPACTION_OPERATION_EXECUTE_CONCURRENCY, CONCURRENCY);
+    StreamerUtil.initTableIfNotExists(conf);
+    ViewStorageProperties.createProperties(
+        conf.get(FlinkOptions.PATH),
+        FileSystemViewStorageConfig.newBuilder()
+            .withStorageType(FileSystemViewStorageType.SPILLABLE_DISK)
+            .build(),
+        conf);
+
+    MockEnvironment environment = new MockEnvironmentBuilder().setTaskName("mockTask").build();
+    StreamConfig streamConfig = new StreamConfig(conf);
+    streamConfig.setOperatorID(new OperatorID());
+    MockStreamTask streamTask = new MockStreamTaskBuilder(environment)
+        .setConfig(new StreamConfig(conf))
+        .setExecutionConfig(new ExecutionConfig().enableObjectReuse())
+        .build();
+
+    compactOperator = new CompactOperator(conf);
+    compactOperator.setProcessingTimeService(new TestProcessingTimeService());
+    output = new CollectOutputAdapter<>();
+    compactOperator.setup(streamTask, streamConfig, output);
+    compactOperator.open();
+    compactHandler = new TestingCompactHandler(FlinkWriteClients.createWriteClient(conf));
+    compactOperator.setCompactHandler(compactHandler);
+  }
+
+  @AfterEach
+  void afterEach() throws Exception {
+    compactOperator.close();
+  }
+
+  @Test
+  void testExecuteOperationsConcurrently() throws Exception {
+    CountDownLatch blocker = compactHandler.block();
+    compactOperator.processElement(planEvent("fg1"));
+    compactOperator.processElement(planEvent("fg2"));
+    // both of the slots are taken by the blocked operations
+    assertTrue(compactHandler.awaitRunning(CONCURRENCY));
+    assertEquals(0, compactOperator.getAvailableCompactionSlots());
+    blocker.countDown();
+
+    compactOperator.prepareSnapshotPreBarrier(1);
+    assertEquals(CONCURRENCY, compactHandler.maxRunning.get());
+    assertEquals(CONCURRENCY, compactOperator.getAvailableCompactionSlots());
+    Map<String, CompactionCommitEvent> events = collectedEvents();
+    assertEquals(2, events.size());
+    assertFalse(events.get("fg1").isFailed());
+    assertFalse(events.get("fg2").isFailed());
+  }
+
+  @Test
+  void testFailedOperationsReleaseSlotOnce() throws Exception {
+    // fails before the commit event is emitted
+    compactOperator.processElement(planEvent("fail_before_emit"));
+    // fails after the commit event is emitted, the failed event collected by the failure hook is dropped
+    compactOperator.processElement(planEvent("fail_after_emit"));
+    compactOperator.processElement(planEvent("fg1"));
+
+    compactOperator.prepareSnapshotPreBarrier(1);
+    // each operation releases its slot exactly once
+    assertEquals(CONCURRENCY, compactOperator.getAvailableCompactionSlots());
+    Map<String, CompactionCommitEvent> events = collectedEvents();
+    assertEquals(3, events.size());
+    assertTrue(events.get("fail_before_emit").isFailed());
+    assertFalse(events.get("fail_after_emit").isFailed());
+    assertFalse(events.get("fg1").isFailed());
+  }
+
+  @Test
+  void testDrainOperationsBeforeCheckpointBarrier() throws Exception {
+    CountDownLatch blocker = compactHandler.block();
+    compactOperator.processElement(planEvent("fg1"));
+    assertTrue(compactHandler.awaitRunning(1));
+
+    CompletableFuture<Void> barrier = CompletableFuture.runAsync(() -> {
+      try {
+        compactOperator.prepareSnapshotPreBarrier(1);
+      } catch (Exception e) {
+        throw new HoodieException(e);
+      }
+    });
+    Thread.sleep(200);
+    assertFalse(barrier.isDone(), "The barrier should wait for the in-flight operation");
+    assertTrue(output.getRecords().isEmpty());
+
+    blocker.countDown();
+    barrier.get(10, TimeUnit.SECONDS);
+    assertEquals(1, output.getRecords().size());
+    assertEquals(CONCURRENCY, compactOperator.getAvailableCompactionSlots());
+  }
+
+  private static StreamRecord<CompactionPlanEvent> planEvent(String fileId) {
+    CompactionOperation operation = new CompactionOperation(fileId, "par1", "001", Option.empty(),
+        Collections.emptyList(), Option.empty(), Option.empty(), Collections.emptyMap());
+    return new StreamRecord<>(new CompactionPlanEvent("002", operation));
+  }
+
+  private Map<String, CompactionCommitEvent> collectedEvents() {
+    return output.getRecords().stream().collect(toMap(CompactionCommitEvent::getFileId, Function.identity()));
+  }
+
+  /**
+   * Compact handler that simulates the compaction operations.
+   */
+  private static class TestingCompactHandler extends DataTableCompactHandler {
+    private final AtomicInteger running = new AtomicInteger();
+    private final AtomicInteger maxRunning = new AtomicInteger();
+    private volatile CountDownLatch blocker = new CountDownLatch(0);
+
+    TestingCompactHandler(HoodieFlinkWriteClient writeClient) {
+      super(writeClient, 0);
+    }
+
+    CountDownLatch block() {
+      blocker = new CountDownLatch(1);
+      return blocker;
+    }
+
+    boolean awaitRunning(int expected) throws InterruptedException {
+      long deadline = System.currentTimeMillis() + 10_000;
+      while (running.get() < expected && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      return running.get() >= expected;
+    }
+
+    @Override
+    protected void doCompaction(CompactionPlanEvent event, Collector<CompactionCommitEvent> collector, boolean needReloadMetaClient) throws Exception {
+      maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+      try {
+        String fileId = event.getOperation().getFileId();
+        if (fileId.equals("fail_before_emit")) {
+          throw new HoodieException("Compaction failure of " + fileId);
+        }
+        blocker.await();
+        collector.collect(createCommitEvent(event, Collections.emptyList()));
+        if (fileId.equals("fail_after_emit")) {
+          throw new HoodieException("Compaction failure of " + fileId);
+        }
+      } finally {
+        running.decrementAndGet();
+      }
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.sink.partitioner.index;
+
+import org.apache.hudi.common.util.collection.Pair;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test cases for {@link CompactedRecordIndexTier}.
+ */
+public class TestCompactedRecordIndexTier {
+  @TempDir
+  File tempDir;
+
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  void testGetAndIterate(boolean spilled) throws IOException {
+    int numEntries = 10000;
+    CompactedRecordIndexTier.Writer writer =
+        CompactedRecordIndexTier.writer(tempDir.getAbsolutePath(), numEntries, spilled ? 1024L : Long.MAX_VALUE);
+    for (int i = 0; i < numEntries; i++) {
+      writer.append(key(i), value(i));
+    }
+    try (CompactedRecordIndexTier tier = writer.finish()) {
+      assertEquals(spilled, tier.isSpilled());
+      assertEquals(numEntries, tier.getNumEntries());
+      assertEquals(spilled ? 1 : 0, Objects.requireNonNull(tempDir.listFiles()).length);
+
+      for (int i = 0; i < numEntries; i++) {
+        assertArrayEquals(value(i), tier.get(key(i)));
+      }
+      // keys out of range and keys between the existing keys
+      assertNull(tier.get("a"));
+      assertNull(tier.get("z"));
+      assertNull(tier.get(key(100) + "_0"));
+
+      Iterator<Pair<String, byte[]>> iterator = tier.iterator();
+      for (int i = 0; i < numEntries; i++) {
+        assertTrue(iterator.hasNext());
+        Pair<String, byte[]> entry = iterator.next();
+        assertEquals(key(i), entry.getKey());
+        assertArrayEquals(value(i), entry.getValue());
+      }
+      assertFalse(iterator.hasNext());
+    }
+    // the run file is deleted on close
+    assertEquals(0, Objects.requireNonNull(tempDir.listFiles()).length);
+  }
+
+  @Test
+  void testEmptyTier() throws IOException {
+    try (CompactedRecordIndexTier tier = CompactedRecordIndexTier.writer(tempDir.getAbsolutePath(), 0, 1024L).finish()) {
+      assertEquals(0, tier.getNumEntries());
+      assertNull(tier.get("key"));
+      assertFalse(tier.iterator().hasNext());
+    }
+  }
+
+  @Test
+  void testAppendOutOfOrder() throws IOException {
+    CompactedRecordIndexTier.Writer writer = CompactedRecordIndexTier.writer(tempDir.getAbsolutePath(), 2, 1024L);
+    writer.append("key2", value(2));
+    assertThrows(IllegalArgumentException.class, () -> writer.append("key1", value(1)));
+    assertThrows(IllegalArgumentException.class, () -> writer.append("key2", value(2)));
+  }
+
+  private static String key(int i) {
+    return String.format("key_%08d", i);
+  }
+
+  private static byte[] value(int i) {
+    return ("location_" + i).getBytes(StandardCharsets.UTF_8);
+  }
+}
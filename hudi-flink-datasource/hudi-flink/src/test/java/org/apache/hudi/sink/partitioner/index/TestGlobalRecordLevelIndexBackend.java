@@ -123,7 +123,9 @@ public class TestGlobalRecordLevelIndexBackend {
       inflightInstants.put(1L, "0001");
       when(correspondent.requestInflightInstants()).thenReturn(inflightInstants);
       globalRecordLevelIndexBackend.onCheckpointComplete(correspondent, 1);
-      assertEquals(2, globalRecordLevelIndexBackend.getRecordIndexCache().getCaches().size());
+      // the cache for checkpoint -1 is compacted
+      assertEquals(1, globalRecordLevelIndexBackend.getRecordIndexCache().getCaches().size());
+      assertEquals(1, globalRecordLevelIndexBackend.getRecordIndexCache().getCompactedTiers().size());
       // the cache contains 'new_key', and other old locations
       location = globalRecordLevelIndexBackend.getRecordIndexCache().get("new_key");
       assertEquals(newLocation, location);
@@ -170,8 +172,9 @@ public class TestGlobalRecordLevelIndexBackend {
             new HoodieRecordGlobalLocation("par1", "000000001", UUID.randomUUID().toString(), -1));
       }
 
-      // the cache for the first instant is evicted
-      assertEquals(2, globalRecordLevelIndexBackend.getRecordIndexCache().getCaches().size());
+      // the caches for the committed instants are compacted
+      assertEquals(1, globalRecordLevelIndexBackend.getRecordIndexCache().getCaches().size());
+      assertEquals(3500, globalRecordLevelIndexBackend.getRecordIndexCache().getCompactedTiers().get(0).getNumEntries());
 
       // new checkpoint
       globalRecordLevelIndexBackend.onCheckpoint(3);
@@ -181,23 +184,17 @@ public class TestGlobalRecordLevelIndexBackend {
       when(correspondent.requestInflightInstants()).thenReturn(inflightInstants);
       globalRecordLevelIndexBackend.onCheckpointComplete(correspondent, 3);
 
-      for (int i = 0; i < 500; i++) {
+      for (int i = 0; i < 1500; i++) {
         globalRecordLevelIndexBackend.update("id4_" + i,
             new HoodieRecordGlobalLocation("par1", "000000001", UUID.randomUUID().toString(), -1));
       }
 
-      assertEquals(3, globalRecordLevelIndexBackend.getRecordIndexCache().getCaches().size());
-
-      // insert another batch of records, which will trigger the cleaning of the cache.
-      // another cache clean is triggered
-      for (int i = 500; i < 1500; i++) {
-        globalRecordLevelIndexBackend.update("id4_" + i,
-            new HoodieRecordGlobalLocation("par1", "000000001", UUID.randomUUID().toString(), -1));
-      }
-      assertEquals(3, globalRecordLevelIndexBackend.getRecordIndexCache().getCaches().size());
-      // cache for the oldest ckp id will be cleaned
+      assertEquals(1, globalRecordLevelIndexBackend.getRecordIndexCache().getCaches().size());
+      // cache for the oldest ckp id has been merged into the compacted tier
       assertNull(globalRecordLevelIndexBackend.getRecordIndexCache().getCaches().get(-1L));
-      // caches for the latest 3 ckp id still in the cache
+      assertEquals(5500, globalRecordLevelIndexBackend.getRecordIndexCache().getCompactedTiers().get(0).getNumEntries());
+      assertEquals("par1", globalRecordLevelIndexBackend.get(Collections.singletonList("id1_0")).get("id1_0").getPartitionPath());
+      // entries of the active tier and the compacted tier are both in the cache
       assertEquals("par1", globalRecordLevelIndexBackend.get(Collections.singletonList("id2_0")).get("id2_0").getPartitionPath());
       assertEquals("par1", globalRecordLevelIndexBackend.get(Collections.singletonList("id3_0")).get("id3_0").getPartitionPath());
       assertEquals("par1", globalRecordLevelIndexBackend.get(Collections.singletonList("id4_0")).get("id4_0").getPartitionPath());
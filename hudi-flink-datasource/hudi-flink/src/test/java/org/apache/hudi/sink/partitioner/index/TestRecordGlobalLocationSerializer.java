@@ -22,6 +22,8 @@ import org.apache.hudi.common.model.HoodieRecordGlobalLocation;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 
 import java.io.IOException;
 import java.util.UUID;
@@ -82,6 +84,18 @@ public class TestRecordGlobalLocationSerializer {
     assertEquals(original.getFileId(), deserialized.getFileId());
   }
 
+  @ParameterizedTest
+  @ValueSource(strings = {"file_id1", "00000001-0", "1-1-1-1-1", "not-a-uuid-1"})
+  public void testSerializeDeserializeWithNonUUIDFileId(String fileId) throws IOException {
+    // Test with file ids that are not in UUID form, which are written as raw strings
+    HoodieRecordGlobalLocation original = new HoodieRecordGlobalLocation("partition/path", "20240315120000", fileId);
+
+    HoodieRecordGlobalLocation deserialized = serializer.deserialize(serializer.serialize(original));
+
+    assertEquals(original, deserialized);
+    assertEquals(fileId, deserialized.getFileId());
+  }
+
   @Test
   public void testSerializeDeserializeWithEmptyPartition() throws IOException {
     // Test with empty partition path
@@ -28,12 +28,12 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
-import org.mockito.Mockito;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -41,12 +41,14 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.Mockito.when;
 
 /**
  * Test cases for {@link RecordIndexCache}.
  */
 public class TestRecordIndexCache {
+  private static final String FILE_ID1 = UUID.randomUUID() + "-0";
+  private static final String FILE_ID2 = UUID.randomUUID() + "-0";
+
   @TempDir
   File tempDir;
   private RecordIndexCache cache;
@@ -59,7 +61,7 @@ public class TestRecordIndexCache {
   }
 
   @AfterEach
-  void markAsEvictable() throws IOException {
+  void afterEach() throws IOException {
     this.cache.close();
   }
 
@@ -69,17 +71,18 @@ public class TestRecordIndexCache {
     assertNotNull(cache.getCaches());
     assertEquals(1, cache.getCaches().size());
     assertTrue(cache.getCaches().containsKey(1L));
+    assertTrue(cache.getCompactedTiers().isEmpty());
   }
 
   @Test
   void testAddCheckpointCache() {
     // Add another checkpoint cache
     cache.addCheckpointCache(2L);
-    
+
     assertEquals(2, cache.getCaches().size());
     assertTrue(cache.getCaches().containsKey(1L));
     assertTrue(cache.getCaches().containsKey(2L));
-    
+
     // Check that checkpoints are stored in reverse order (2L should be first in reverse-ordered TreeMap)
     assertEquals(Long.valueOf(2L), cache.getCaches().firstKey());
     assertEquals(Long.valueOf(1L), cache.getCaches().lastKey());
@@ -88,17 +91,16 @@ public class TestRecordIndexCache {
   @Test
   void testUpdateAndGet() {
     String recordKey = "key1";
-    HoodieRecordGlobalLocation location = new HoodieRecordGlobalLocation("partition1", "1001", "file_id1");
-    
+    HoodieRecordGlobalLocation location = new HoodieRecordGlobalLocation("partition1", "1001", FILE_ID1);
+
     // Initially should return null
     assertNull(cache.get(recordKey));
-    
+
     // Update the cache with a record location
     cache.update(recordKey, location);
-    
+
     // Should now return the location
-    HoodieRecordGlobalLocation retrievedLocation = cache.get(recordKey);
-    assertEquals(location, retrievedLocation);
+    assertEquals(location, cache.get(recordKey));
   }
 
   @Test
@@ -106,111 +108,187 @@ public class TestRecordIndexCache {
     cache.addCheckpointCache(2L);
 
     String recordKey = "key1";
-    HoodieRecordGlobalLocation location1 = new HoodieRecordGlobalLocation("partition1", "1001", "file_id1");
-    HoodieRecordGlobalLocation location2 = new HoodieRecordGlobalLocation("partition2", "1002", "file_id2");
-    
+    HoodieRecordGlobalLocation location1 = new HoodieRecordGlobalLocation("partition1", "1001", FILE_ID1);
+    HoodieRecordGlobalLocation location2 = new HoodieRecordGlobalLocation("partition2", "1002", FILE_ID2);
+
     // Update in checkpoint 2
     cache.update(recordKey, location1);
-    
-    // Check that it's in the highest checkpoint cache (2L)
-    HoodieRecordGlobalLocation retrieved = cache.get(recordKey);
-    assertEquals(location1, retrieved);
-    
+    assertEquals(location1, cache.get(recordKey));
+
     // Add to checkpoint 3 and update again
     cache.addCheckpointCache(3L);
     cache.update(recordKey, location2);
-    
-    // Should now return the updated location
-    retrieved = cache.get(recordKey);
-    assertEquals(location2, retrieved);
-  }
 
-  @Test
-  void testGetFromMultipleCheckpoints() {
-    cache.addCheckpointCache(2L);
-    
-    String recordKey1 = "key1";
-    String recordKey2 = "key2";
-    HoodieRecordGlobalLocation location1 = new HoodieRecordGlobalLocation("partition1", "1001", "file_id1");
-    HoodieRecordGlobalLocation location2 = new HoodieRecordGlobalLocation("partition2", "1002", "file_id2");
-    
-    // Add to checkpoint 1
-    cache.getCaches().get(1L).put(recordKey1, location1);
-
-    cache.getCaches().get(1L).put(recordKey2, location1);
-
-    // Add to checkpoint 2 (higher checkpoint should take precedence)
-    cache.getCaches().get(2L).put(recordKey1, location2);
-    
-    // Should return from higher checkpoint (2L) first
-    HoodieRecordGlobalLocation retrieved = cache.get(recordKey1);
-    assertEquals(location2, retrieved);
-
-    // Should return from previous checkpoint (1L)
-    retrieved = cache.get(recordKey2);
-    assertEquals(location1, retrieved);
+    // Should now return the updated location
+    assertEquals(location2, cache.get(recordKey));
   }
 
   @Test
-  void testMarkAsEvictable() {
-    Configuration conf = TestConfigurations.getDefaultConf(tempDir.getAbsolutePath());
-    conf.set(FlinkOptions.INDEX_RLI_CACHE_SIZE, 1L); // 100MB cache size
-    cache = new RecordIndexCache(conf, 1L);
-
-    HoodieRecordGlobalLocation location1 = new HoodieRecordGlobalLocation("partition1", "1001", "file_id1");
-    HoodieRecordGlobalLocation location2 = new HoodieRecordGlobalLocation("partition2", "1002", "file_id2");
-    // Add records to different checkpoints
-    for (int i = 0; i < 5000; i++) {
+  void testMarkAsEvictableCompactsCommittedTiers() {
+    HoodieRecordGlobalLocation location1 = new HoodieRecordGlobalLocation("partition1", "1001", FILE_ID1);
+    HoodieRecordGlobalLocation location2 = new HoodieRecordGlobalLocation("partition2", "1002", FILE_ID2);
+    for (int i = 0; i < 1000; i++) {
       cache.update("k1_" + i, location1);
     }
     cache.addCheckpointCache(2L);
-    for (int i = 0; i < 5000; i++) {
-      cache.update("k2_" + i, location2);
+    // overwrite half of the keys
+    for (int i = 0; i < 500; i++) {
+      cache.update("k1_" + i, location2);
     }
+    cache.addCheckpointCache(3L);
 
-    // Verify records exist before cleaning
-    assertNotNull(cache.get("k1_0"));
-    assertNotNull(cache.get("k2_0"));
+    // the instant of checkpoint 3 is still inflight, checkpoints 1 and 2 are compacted
+    cache.markAsEvictable(3L);
+    assertEquals(1, cache.getCaches().size());
+    assertTrue(cache.getCaches().containsKey(3L));
+    assertEquals(1, cache.getCompactedTiers().size());
+    // duplicated keys are collapsed
+    assertEquals(1000, cache.getCompactedTiers().get(0).getNumEntries());
 
-    cache.addCheckpointCache(3L);
-    for (int i = 0; i < 800; i++) {
-      cache.update("k3_" + i, location2);
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(i < 500 ? location2 : location1, cache.get("k1_" + i));
     }
 
+    // the active tier takes precedence over the compacted tier
+    cache.update("k1_999", location2);
+    assertEquals(location2, cache.get("k1_999"));
+
+    // the small compacted tier of the active tier is not merged with the much larger previous one
     cache.addCheckpointCache(4L);
-    // mark 1,2 as cleanable
-    cache.markAsEvictable(3L);
-    // write another batch of records to trigger cleaning
-    for (int i = 0; i < 800; i++) {
-      cache.update("k4_" + i, location2);
-    }
+    cache.markAsEvictable(4L);
+    assertEquals(1, cache.getCaches().size());
+    assertEquals(2, cache.getCompactedTiers().size());
+    assertEquals(1, cache.getCompactedTiers().get(0).getNumEntries());
+    assertEquals(1000, cache.getCompactedTiers().get(1).getNumEntries());
+    assertEquals(location2, cache.get("k1_999"));
+    assertEquals(location1, cache.get("k1_998"));
+  }
 
-    // Check that checkpoint 1 are removed
-    assertEquals(3, cache.getCaches().size()); // Should have checkpoints 2, 3 and 4
+  @Test
+  void testMarkAsEvictableKeepsLatestTier() {
+    HoodieRecordGlobalLocation location = new HoodieRecordGlobalLocation("partition1", "1001", FILE_ID1);
+    cache.update("key1", location);
+    cache.addCheckpointCache(2L);
+    // no instant inflight, the completed checkpoint id is larger than all the active tiers
+    cache.markAsEvictable(5L);
 
-    assertFalse(cache.getCaches().containsKey(1L));
+    assertEquals(1, cache.getCaches().size());
     assertTrue(cache.getCaches().containsKey(2L));
-    assertTrue(cache.getCaches().containsKey(3L));
-    assertTrue(cache.getCaches().containsKey(4L));
+    assertEquals(location, cache.get("key1"));
+
+    // the checkpoint id should not decrease
+    assertThrows(IllegalArgumentException.class, () -> cache.markAsEvictable(4L));
+  }
+
+  @Test
+  void testCompactedTierBoundedBySize() throws IOException {
+    Configuration conf = TestConfigurations.getDefaultConf(tempDir.getAbsolutePath());
+    conf.set(FlinkOptions.INDEX_RLI_CACHE_SIZE, 1L); // 1MB cache size
+
+    try (RecordIndexCache smallCache = new RecordIndexCache(conf, 1L)) {
+      HoodieRecordGlobalLocation location = new HoodieRecordGlobalLocation("partition1", "1001", FILE_ID1);
+      for (int i = 0; i < 20000; i++) {
+        smallCache.update("k1_" + i, location);
+      }
+      smallCache.addCheckpointCache(2L);
+      smallCache.markAsEvictable(2L);
+      assertEquals(20000, smallCache.getCompactedTiers().get(0).getNumEntries());
+
+      for (int i = 0; i < 20000; i++) {
+        smallCache.update("k2_" + i, location);
+      }
+      smallCache.addCheckpointCache(3L);
+      smallCache.markAsEvictable(3L);
+
+      // the entries of the previous compacted tier are dropped since they exceed the cache size
+      assertEquals(1, smallCache.getCompactedTiers().size());
+      assertEquals(20000, smallCache.getCompactedTiers().get(0).getNumEntries());
+      assertNull(smallCache.get("k1_0"));
+      assertEquals(location, smallCache.get("k2_0"));
+    }
+  }
+
+  @Test
+  void testFlushWithMultipleSortedRuns() throws IOException {
+    Configuration conf = TestConfigurations.getDefaultConf(tempDir.getAbsolutePath());
+    conf.set(FlinkOptions.INDEX_RLI_CACHE_SIZE, 1L); // 1MB cache size, the sort buffer holds less than 1000 entries
+
+    try (RecordIndexCache smallCache = new RecordIndexCache(conf, 1L)) {
+      HoodieRecordGlobalLocation location1 = new HoodieRecordGlobalLocation("partition1", "1001", FILE_ID1);
+      HoodieRecordGlobalLocation location2 = new HoodieRecordGlobalLocation("partition2", "1002", FILE_ID2);
+      for (int i = 0; i < 5000; i++) {
+        smallCache.update("k_" + i, location1);
+      }
+      smallCache.addCheckpointCache(2L);
+      // overwrite the keys with even index in the newer tier
+      for (int i = 0; i < 5000; i += 2) {
+        smallCache.update("k_" + i, location2);
+      }
+      smallCache.addCheckpointCache(3L);
+      smallCache.markAsEvictable(3L);
+
+      // the runs of both tiers are merged with the duplicated keys collapsed to the newest location
+      assertEquals(1, smallCache.getCompactedTiers().size());
+      assertEquals(5000, smallCache.getCompactedTiers().get(0).getNumEntries());
+      for (int i = 0; i < 5000; i++) {
+        assertEquals(i % 2 == 0 ? location2 : location1, smallCache.get("k_" + i));
+      }
+    }
+  }
+
+  @Test
+  void testCompactedTiersMergedBySize() {
+    HoodieRecordGlobalLocation location1 = new HoodieRecordGlobalLocation("partition1", "1001", FILE_ID1);
+    HoodieRecordGlobalLocation location2 = new HoodieRecordGlobalLocation("partition2", "1002", FILE_ID2);
+    for (int round = 0; round < 8; round++) {
+      // each round overwrites the first key of the previous rounds
+      cache.update("k0_0", round % 2 == 0 ? location1 : location2);
+      for (int i = 1; i < 1000; i++) {
+        cache.update("k" + round + "_" + i, location1);
+      }
+      cache.addCheckpointCache(round + 2L);
+      cache.markAsEvictable(round + 2L);
+      if (round == 1) {
+        // the two tiers of the same size are merged with the duplicated key collapsed
+        assertEquals(1, cache.getCompactedTiers().size());
+        assertEquals(1999, cache.getCompactedTiers().get(0).getNumEntries());
+      }
+      // the sizes of the compacted tiers grow geometrically from the newest to the oldest
+      List<CompactedRecordIndexTier> compactedTiers = cache.getCompactedTiers();
+      for (int i = 1; i < compactedTiers.size(); i++) {
+        assertTrue(compactedTiers.get(i).getDataSizeInBytes() > 2 * compactedTiers.get(i - 1).getDataSizeInBytes());
+      }
+    }
+    assertTrue(cache.getCompactedTiers().size() < 8);
+    assertEquals(location2, cache.get("k0_0"));
+    for (int round = 0; round < 8; round++) {
+      for (int i = 1; i < 1000; i++) {
+        assertEquals(location1, cache.get("k" + round + "_" + i));
+      }
+    }
   }
 
   @Test
   void testClose() throws IOException {
     cache.addCheckpointCache(2L);
-    
+
     String recordKey = "key1";
-    HoodieRecordGlobalLocation location = new HoodieRecordGlobalLocation("partition1", "1001", "file_id1");
+    HoodieRecordGlobalLocation location = new HoodieRecordGlobalLocation("partition1", "1001", FILE_ID1);
     cache.update(recordKey, location);
-    
+    cache.addCheckpointCache(3L);
+    cache.markAsEvictable(3L);
+
     // Verify cache has entries before closing
-    assertEquals(2, cache.getCaches().size());
+    assertEquals(1, cache.getCaches().size());
+    assertEquals(1, cache.getCompactedTiers().size());
     assertNotNull(cache.get(recordKey));
-    
+
     // Close the cache
     cache.close();
-    
+
     // After closing, the cache should be empty
     assertEquals(0, cache.getCaches().size());
+    assertTrue(cache.getCompactedTiers().isEmpty());
   }
 
   @Test
@@ -219,7 +297,7 @@ public class TestRecordIndexCache {
     cache.getCaches().clear();
 
     String recordKey = "key1";
-    HoodieRecordGlobalLocation location = new HoodieRecordGlobalLocation("partition1", "1001", "file_id");
+    HoodieRecordGlobalLocation location = new HoodieRecordGlobalLocation("partition1", "1001", FILE_ID1);
 
     // Should throw an exception when trying to update an empty cache
     assertThrows(IllegalArgumentException.class, () -> {
@@ -236,112 +314,38 @@ public class TestRecordIndexCache {
     try (RecordIndexCache smallCache = new RecordIndexCache(conf, 1L)) {
       String recordKeyPrefix = "key";
       List<HoodieRecordGlobalLocation> locations = new ArrayList<>();
-      for (int i = 0; i < 5000; i++) {
-        HoodieRecordGlobalLocation location = new HoodieRecordGlobalLocation("partition1", "1001", "file_id1", i);
+      for (int i = 0; i < 20000; i++) {
+        HoodieRecordGlobalLocation location = new HoodieRecordGlobalLocation("partition1", "1001", FILE_ID1, i);
         locations.add(location);
         // Update the cache with a record location
         smallCache.update(recordKeyPrefix + i, location);
       }
 
       // Verify that the data has been spilled to disk by checking the underlying ExternalSpillableMap
-      ExternalSpillableMap<String, HoodieRecordGlobalLocation> spillableMap = smallCache.getCaches().get(1L);
+      ExternalSpillableMap<String, byte[]> spillableMap = smallCache.getCaches().get(1L);
       assertTrue(spillableMap.getDiskBasedMapNumEntries() > 0, "Data should be spilled to disk");
 
-      for (int i = 0; i < 5000; i++) {
-        HoodieRecordGlobalLocation retrievedLocation = smallCache.get(recordKeyPrefix + i);
-        assertEquals(locations.get(i), retrievedLocation);
-      }
-    }
-  }
-
-  @Test
-  void testSpillWithMultipleCheckpoints() throws IOException {
-    // Create a new cache with a very small size to force spilling
-    Configuration conf = TestConfigurations.getDefaultConf(tempDir.getAbsolutePath());
-    conf.set(FlinkOptions.INDEX_RLI_CACHE_SIZE, 1L); // 1MB cache size to force spilling
-
-    try (RecordIndexCache smallCache = new RecordIndexCache(conf, 1L)) {
-      // Add records to multiple checkpoints
-      String recordKeyPrefix = "key";
-      for (int i = 0; i < 5000; i++) {
-        HoodieRecordGlobalLocation location = new HoodieRecordGlobalLocation("partition1", "1001", "file_id1", i);
-        // Update the cache with a record location
-        smallCache.update(recordKeyPrefix + i, location);
+      for (int i = 0; i < 20000; i++) {
+        assertEquals(locations.get(i), smallCache.get(recordKeyPrefix + i));
       }
-      // Verify that the data has been spilled to disk by checking the underlying ExternalSpillableMap
-      ExternalSpillableMap<String, HoodieRecordGlobalLocation> spillableMap = smallCache.getCaches().get(1L);
-      assertTrue(spillableMap.getDiskBasedMapNumEntries() > 0, "Data should be spilled to disk");
 
-      // Add another checkpoint
+      // the spilled active tier is compacted
       smallCache.addCheckpointCache(2L);
-      List<HoodieRecordGlobalLocation> locations = new ArrayList<>();
-      for (int i = 0; i < 5000; i++) {
-        HoodieRecordGlobalLocation location = new HoodieRecordGlobalLocation("partition1", "1001", "file_id2", i);
-        locations.add(location);
-        // Update the cache with a record location
-        smallCache.update(recordKeyPrefix + i, location);
-      }
-      // Verify that the data has been spilled to disk by checking the underlying ExternalSpillableMap
-      spillableMap = smallCache.getCaches().get(1L);
-      assertTrue(spillableMap.getDiskBasedMapNumEntries() > 0, "Data should be spilled to disk");
-
-      for (int i = 0; i < 5000; i++) {
-        HoodieRecordGlobalLocation retrievedLocation = smallCache.get(recordKeyPrefix + i);
-        assertEquals(locations.get(i), retrievedLocation);
+      smallCache.markAsEvictable(2L);
+      assertFalse(smallCache.getCaches().containsKey(1L));
+      for (int i = 0; i < 20000; i++) {
+        assertEquals(locations.get(i), smallCache.get(recordKeyPrefix + i));
       }
     }
   }
 
   @Test
-  void testInferMemorySizeForCacheWithEmptyCaches() {
-    cache.getCaches().clear();
-
-    // infer the cache for the first checkpoint
-    long inferredSize = cache.inferMemorySizeForCache();
-    assertEquals(cache.getMaxCacheSizeInBytes() / 2, inferredSize);
+  void testInferMemorySizeForCache() {
+    long activeTiersMemory = cache.getMaxCacheSizeInBytes() / 2;
+    // the first active tier is empty
+    assertEquals(activeTiersMemory, cache.inferMemorySizeForCache());
 
-    // cache for the first checkpoint is empty
-    ExternalSpillableMap<String, HoodieRecordGlobalLocation> map1 = Mockito.mock(ExternalSpillableMap.class);
-    when(map1.getSizeOfFileOnDiskInBytes()).thenReturn(0L);
-    when(map1.getCurrentInMemoryMapSize()).thenReturn(0L);
-    cache.getCaches().put(1L, map1);
-
-    inferredSize = cache.inferMemorySizeForCache();
-    assertEquals(cache.getMaxCacheSizeInBytes() / 2, inferredSize);
-  }
-
-  @Test
-  void testInferMemorySizeForCacheUsesAverageInMemorySize() {
-    cache.getCaches().clear();
-
-    ExternalSpillableMap<String, HoodieRecordGlobalLocation> map1 = Mockito.mock(ExternalSpillableMap.class);
-    ExternalSpillableMap<String, HoodieRecordGlobalLocation> map2 = Mockito.mock(ExternalSpillableMap.class);
-    when(map1.getSizeOfFileOnDiskInBytes()).thenReturn(0L);
-    when(map2.getSizeOfFileOnDiskInBytes()).thenReturn(0L);
-    when(map1.getCurrentInMemoryMapSize()).thenReturn(100L);
-    when(map2.getCurrentInMemoryMapSize()).thenReturn(300L);
-
-    cache.getCaches().put(1L, map1);
-    cache.getCaches().put(2L, map2);
-
-    assertEquals(200L, cache.inferMemorySizeForCache());
-  }
-
-  @Test
-  void testInferMemorySizeForCacheAdjustsForSpilledMaps() {
     cache.getCaches().clear();
-
-    ExternalSpillableMap<String, HoodieRecordGlobalLocation> spilledMap = Mockito.mock(ExternalSpillableMap.class);
-    ExternalSpillableMap<String, HoodieRecordGlobalLocation> inMemoryMap = Mockito.mock(ExternalSpillableMap.class);
-    when(spilledMap.getSizeOfFileOnDiskInBytes()).thenReturn(200L);
-    when(spilledMap.getCurrentInMemoryMapSize()).thenReturn(800L);
-    when(inMemoryMap.getSizeOfFileOnDiskInBytes()).thenReturn(0L);
-    when(inMemoryMap.getCurrentInMemoryMapSize()).thenReturn(500L);
-
-    cache.getCaches().put(2L, spilledMap);
-    cache.getCaches().put(1L, inMemoryMap);
-
-    long expected = (long) ((800L / RecordIndexCache.FACTOR_FOR_MEMORY_SIZE_OF_SPILLED_MAP) + 500L) / 2;
-    assertEquals(expected, cache.inferMemorySizeForCache());
+    assertEquals(activeTiersMemory, cache.inferMemorySizeForCache());
   }
 }
@@ -68,6 +68,7 @@ public class InsertFunctionWrapper<I> implements TestFunctionWrapper<I> {
   private final MockSubtaskGateway subtaskGateway;
   private final MockOperatorCoordinatorContext coordinatorContext;
   private final IOManager ioManager;
+  private final MockEnvironment environment;
   @Getter
   private StreamWriteOperatorCoordinator coordinator;
   private final MockStateInitializationContext stateInitializationContext;
@@ -87,9 +88,9 @@ public class InsertFunctionWrapper<I> implements TestFunctionWrapper<I> {
 
   public InsertFunctionWrapper(String tablePath, Configuration conf, ExecutionConfig executionConfig) throws Exception {
     this.ioManager = new IOManagerAsync();
-    MockEnvironment environment = new MockEnvironmentBuilder()
+    this.environment = new MockEnvironmentBuilder()
         .setTaskName("mockTask")
-        .setManagedMemorySize(4 * MemoryManager.DEFAULT_PAGE_SIZE)
+        .setManagedMemorySize(64 * MemoryManager.DEFAULT_PAGE_SIZE)
         .setIOManager(this.ioManager)
         .setExecutionConfig(executionConfig)
         .build();
@@ -231,7 +232,9 @@ public class InsertFunctionWrapper<I> implements TestFunctionWrapper<I> {
     writeFunction.setRuntimeContext(runtimeContext);
     writeFunction.setOperatorEventGateway(gateway);
     writeFunction.initializeState(this.stateInitializationContext);
-    writeFunction.setMemorySegmentPoolFactory(new MemorySegmentPoolFactory(null, null, -1));
+    writeFunction.setMemorySegmentPoolFactory(OptionsResolver.isManagedMemoryBufferEnabled(conf)
+        ? new MemorySegmentPoolFactory(new Object(), environment.getMemoryManager(), ioManager, environment.getMemoryManager().getMemorySize())
+        : new MemorySegmentPoolFactory(null, null, -1));
     writeFunction.open(conf);
     writeFunction.setCorrespondent(new MockCorrespondent(this.coordinator));
     // set up subtask gateway
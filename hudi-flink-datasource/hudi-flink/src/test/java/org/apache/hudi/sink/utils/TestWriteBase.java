@@ -35,6 +35,7 @@ import org.apache.hudi.configuration.FlinkOptions;
 import org.apache.hudi.configuration.OptionsResolver;
 import org.apache.hudi.exception.HoodieException;
 import org.apache.hudi.metadata.HoodieTableMetadata;
+import org.apache.hudi.sink.common.AbstractWriteFunction;
 import org.apache.hudi.sink.event.CommitAckEvent;
 import org.apache.hudi.sink.event.WriteMetadataEvent;
 import org.apache.hudi.sink.partitioner.index.GlobalRecordLevelIndexBackend;
@@ -205,6 +206,10 @@ public class TestWriteBase {
       return this;
     }
 
+    public AbstractWriteFunction getWriteFunction() {
+      return this.pipeline.getWriteFunction();
+    }
+
     public TestHarness assertConsumeThrows(List<RowData> inputs, String message) {
       assertThrows(HoodieException.class, () -> consume(inputs), message);
       return this;
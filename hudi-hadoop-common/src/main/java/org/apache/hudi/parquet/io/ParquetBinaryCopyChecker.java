@@ -78,6 +78,22 @@ public class ParquetBinaryCopyChecker {
     return fieldsMap.values().stream().allMatch(reps -> reps.size() == 1);
   }
 
+  /**
+   * Verify whether a set of files meet the conditions for binary stream copying as {@link #verifyFiles(List)},
+   * and all the files have the same schema if the schema evolution of binary copy is disabled, because
+   * the missing columns can not be filled with nulls then.
+   *
+   * @param files
+   * @param schemaEvolutionEnabled whether the schema evolution of binary copy is enabled
+   * @return
+   */
+  public static boolean verifyFiles(List<ParquetFileInfo> files, boolean schemaEvolutionEnabled) {
+    if (!verifyFiles(files)) {
+      return false;
+    }
+    return schemaEvolutionEnabled || files.stream().map(ParquetFileInfo::getSchema).distinct().count() <= 1;
+  }
+
   private static Map<String, Set<String>> collectRepetitions(List<ParquetFileInfo> files) {
     Map<String, Set<String>> fieldsMap = new HashMap<>();
     for (ParquetFileInfo file : files) {
@@ -96,6 +96,9 @@ import java.util.stream.Stream;
  *       file IDs, clustering input slices, clean delete patterns, rollback delete files).</li>
  *   <li>{@code --commit-stats} — per-ingestion-commit records/files/bytes breakdown for a
  *       time range, with a totals + per-commit-average footer.</li>
+ *   <li>{@code --timeline-stats [--window hour|day|month]} — per-window, per-action instant
+ *       counts, records/files/bytes written, write amplification and requested-to-completion
+ *       durations, streamed over the archived LSM files (see {@link TimelineStatsAnalyzer}).</li>
  *   <li>{@code --phase-timings} — per-ingestion-instant wall-clock split (source read +
  *       indexing + small-file handling, data write, MDT prep, MDT write, MDT-tail) derived
  *       from {@code .hoodie/} state-marker file mtimes on the active timeline, with
@@ -204,6 +207,9 @@ public class TimelineInspector {
       case PHASE_TIMINGS:
         inspector.phaseTimings(metaClient, parsed);
         break;
+      case TIMELINE_STATS:
+        inspector.timelineStats(metaClient, parsed);
+        break;
       default:
         throw new IllegalStateException("unknown mode " + parsed.mode);
     }
@@ -547,6 +553,108 @@ public class TimelineInspector {
     return CommitStatsRow.fromJson(instant, timelineType, JSON_MAPPER.readTree(raw), isReplace);
   }
 
+  // ---- timeline-stats -------------------------------------------------------
+
+  /**
+   * Prints per-window, per-action aggregates computed by {@link TimelineStatsAnalyzer}. The rows
+   * are ordered by window (per {@code --sort}) and action, {@code --limit} caps the rows.
+   */
+  private void timelineStats(HoodieTableMetaClient metaClient, Args parsed) throws IOException {
+    TimelineStatsAnalyzer.Result result = new TimelineStatsAnalyzer(metaClient, parsed.window,
+        parsed.startInstant, parsed.endInstant, parsed.actionFilter, parsed.includeArchived,
+        parsed.useStatsCache).analyze();
+
+    List<String> windowKeys = new ArrayList<>(parsed.sortDescending
+        ? result.windows.descendingKeySet() : result.windows.keySet());
+    List<Map<String, Object>> rows = new ArrayList<>();
+    int totalRows = 0;
+    for (String windowKey : windowKeys) {
+      for (Map.Entry<String, TimelineStatsAnalyzer.WindowStats> e : result.windows.get(windowKey).entrySet()) {
+        totalRows++;
+        if (rows.size() >= parsed.limit) {
+          continue;
+        }
+        TimelineStatsAnalyzer.WindowStats s = e.getValue();
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("window", windowKey);
+        m.put("action", e.getKey());
+        m.put("instants", s.instants);
+        m.put("recordsWritten", s.recordsWritten);
+        m.put("inserts", s.inserts);
+        m.put("updates", s.updates);
+        m.put("deletes", s.deletes);
+        m.put("writeAmplification", s.writeAmplification());
+        m.put("filesWritten", s.filesWritten);
+        m.put("bytesWritten", s.bytesWritten);
+        m.put("avgDurationMs", s.avgDurationMs());
+        m.put("maxDurationMs", s.maxDurationMs());
+        rows.add(m);
+      }
+    }
+
+    if (!parsed.quiet) {
+      if (result.archivedTimelineNotSupported) {
+        System.err.println("WARN: archived timeline of layout version 1 is not supported by --timeline-stats,"
+            + " only the active timeline is aggregated (use --commit-stats instead)");
+      }
+      if (result.failedInstants > 0) {
+        System.err.println("WARN: failed to read " + result.failedInstants + " instants, first: "
+            + result.firstFailure);
+      }
+    }
+
+    if (parsed.output == OutputFormat.JSON) {
+      Map<String, Object> root = new LinkedHashMap<>();
+      root.put("window", parsed.window.name());
+      root.put("startInstant", parsed.startInstant);
+      root.put("endInstant", parsed.endInstant);
+      root.put("actions", new ArrayList<>(parsed.actionFilter));
+      root.put("totalRows", totalRows);
+      root.put("returnedRows", rows.size());
+      root.put("rows", rows);
+      Map<String, Object> scan = new LinkedHashMap<>();
+      scan.put("archivedFiles", result.archivedFiles);
+      scan.put("archivedFilesPruned", result.archivedFilesPruned);
+      scan.put("archivedFilesRead", result.archivedFilesRead);
+      scan.put("archivedFilesFromCache", result.archivedFilesFromCache);
+      scan.put("activeInstants", result.activeInstants);
+      scan.put("failedInstants", result.failedInstants);
+      root.put("scan", scan);
+      System.out.println(JSON_MAPPER.writeValueAsString(root));
+      return;
+    }
+
+    if (rows.isEmpty()) {
+      System.out.println("(no completed instants in range)");
+    } else {
+      String[] headers = {"window", "action", "instants", "recordsWritten", "inserts", "updates",
+          "deletes", "writeAmp", "filesWritten", "bytesWritten", "avgDuration_ms", "maxDuration_ms"};
+      List<String[]> tableRows = new ArrayList<>(rows.size());
+      for (Map<String, Object> m : rows) {
+        Double writeAmplification = (Double) m.get("writeAmplification");
+        tableRows.add(new String[] {
+            (String) m.get("window"), (String) m.get("action"), String.valueOf(m.get("instants")),
+            String.valueOf(m.get("recordsWritten")), String.valueOf(m.get("inserts")),
+            String.valueOf(m.get("updates")), String.valueOf(m.get("deletes")),
+            writeAmplification == null ? "-" : String.format(Locale.ROOT, "%.2f", writeAmplification),
+            String.valueOf(m.get("filesWritten")), String.valueOf(m.get("bytesWritten")),
+            m.get("avgDurationMs") == null ? "-" : String.valueOf(m.get("avgDurationMs")),
+            m.get("maxDurationMs") == null ? "-" : String.valueOf(m.get("maxDurationMs"))
+        });
+      }
+      printRowsWithHeaders(headers, tableRows);
+      if (totalRows > rows.size()) {
+        System.out.println();
+        System.out.println("(showing first " + rows.size() + " of " + totalRows
+            + " rows; raise with --limit to see more)");
+      }
+    }
+    System.out.println();
+    System.out.printf("scanned: archivedFiles=%d pruned=%d read=%d fromCache=%d activeInstants=%d%n",
+        result.archivedFiles, result.archivedFilesPruned, result.archivedFilesRead,
+        result.archivedFilesFromCache, result.activeInstants);
+  }
+
   // ---- phase-timings --------------------------------------------------------
 
   /**
@@ -1927,7 +2035,7 @@ public class TimelineInspector {
 
   // ---- args + types ---------------------------------------------------------
 
-  enum Mode { SHOW_INSTANT, FIND_FILE_ID, PARSE_FILENAME, RAW_ARCHIVE, COMMIT_STATS, PHASE_TIMINGS }
+  enum Mode { SHOW_INSTANT, FIND_FILE_ID, PARSE_FILENAME, RAW_ARCHIVE, COMMIT_STATS, PHASE_TIMINGS, TIMELINE_STATS }
 
   enum OutputFormat { TABLE, JSON }
 
@@ -2311,6 +2419,10 @@ public class TimelineInspector {
     boolean sortDescending = true;
     // phase-timings: opt-in inclusion of replacecommit instants (default off).
     boolean includeReplacecommit = false;
+    // timeline-stats: aggregation window and whether to use the per archived file summaries.
+    TimelineStatsAnalyzer.Window window = TimelineStatsAnalyzer.Window.DAY;
+    boolean windowSpecified = false;
+    boolean useStatsCache = true;
     boolean helpRequested = false;
 
     static Args parse(String[] argv) {
@@ -2346,6 +2458,22 @@ public class TimelineInspector {
           case "--include-replacecommit":
             a.includeReplacecommit = true;
             break;
+          case "--timeline-stats":
+            a.mode = Mode.TIMELINE_STATS;
+            break;
+          case "--window": {
+            String raw = require(argv, ++i, k).toUpperCase(Locale.ROOT);
+            try {
+              a.window = TimelineStatsAnalyzer.Window.valueOf(raw);
+            } catch (IllegalArgumentException ex) {
+              throw new IllegalArgumentException("--window must be one of HOUR|DAY|MONTH (got " + raw + ")");
+            }
+            a.windowSpecified = true;
+            break;
+          }
+          case "--no-stats-cache":
+            a.useStatsCache = false;
+            break;
           case "--lifecycle":
             a.lifecycle = true;
             break;
@@ -2415,7 +2543,7 @@ public class TimelineInspector {
       }
       if (a.mode == null) {
         throw new IllegalArgumentException(
-            "specify --show-instant <ts>, --find-file-id <id>, --commit-stats, "
+            "specify --show-instant <ts>, --find-file-id <id>, --commit-stats, --timeline-stats, "
                 + "--parse-filename <name>, or --raw-archive <ts>");
       }
       if (a.mode != Mode.PARSE_FILENAME && a.basePath == null) {
@@ -2428,6 +2556,9 @@ public class TimelineInspector {
         throw new IllegalArgumentException(
             "--include-replacecommit is only valid with --phase-timings");
       }
+      if ((a.windowSpecified || !a.useStatsCache) && a.mode != Mode.TIMELINE_STATS) {
+        throw new IllegalArgumentException("--window and --no-stats-cache are only valid with --timeline-stats");
+      }
       // Restrict action filter to a known set; reject typos early.
       Set<String> validActions = new HashSet<>(Arrays.asList(
           HoodieTimeline.COMMIT_ACTION, HoodieTimeline.DELTA_COMMIT_ACTION,
@@ -2470,6 +2601,15 @@ public class TimelineInspector {
       System.err.println("       bytes written, partitions. Footer prints totals + per-commit averages");
       System.err.println("       for inserts/updates/deletes. Honors --actions, --start/end-instant,");
       System.err.println("       --no-archived, --output, --limit.");
+      System.err.println("  --base-path <path> --timeline-stats [--window hour|day|month]");
+      System.err.println("       per-window, per-action instant count, records/files/bytes written, write");
+      System.err.println("       amplification (records written per changed record) and requested-to-");
+      System.err.println("       completion duration. Streams the archived LSM files one at a time with");
+      System.err.println("       the time range and action filters pushed down, so the memory does not");
+      System.err.println("       grow with the history; per archived file summaries are cached under");
+      System.err.println("       .hoodie/.aux/" + TimelineStatsAnalyzer.STATS_CACHE_FOLDER_NAME
+          + ". Honors --actions, --start/end-instant,");
+      System.err.println("       --no-archived, --output, --limit, --sort.");
       System.err.println("  --base-path <path> --phase-timings [--include-replacecommit]");
       System.err.println("       per-ingestion-instant wall-clock split derived from .hoodie/ state-marker");
       System.err.println("       file mtimes on the active timeline. Phases: sourceReadIndexSfh,");
@@ -2501,6 +2641,9 @@ public class TimelineInspector {
       System.err.println("  --include-replacecommit   in --phase-timings, also report replacecommit");
       System.err.println("                            instants (clustering / insert-overwrite); off by");
       System.err.println("                            default since the focus is ingest cadence");
+      System.err.println("  --window <window>         in --timeline-stats, HOUR, DAY (default) or MONTH");
+      System.err.println("  --no-stats-cache          in --timeline-stats, neither read nor write the");
+      System.err.println("                            per archived file summaries");
       System.err.println("  --quiet (-q)              suppress per-instant deserialization warnings");
     }
   }
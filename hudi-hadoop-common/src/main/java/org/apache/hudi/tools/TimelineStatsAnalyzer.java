@@ -0,0 +1,462 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.tools;
+
+import org.apache.hudi.avro.model.HoodieLSMTimelineInstant;
+import org.apache.hudi.common.model.HoodieCommitMetadata;
+import org.apache.hudi.common.model.HoodieRecord;
+import org.apache.hudi.common.model.HoodieReplaceCommitMetadata;
+import org.apache.hudi.common.schema.HoodieSchema;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.timeline.HoodieArchivedTimeline;
+import org.apache.hudi.common.table.timeline.HoodieInstant;
+import org.apache.hudi.common.table.timeline.HoodieInstantTimeGenerator;
+import org.apache.hudi.common.table.timeline.HoodieTimeline;
+import org.apache.hudi.common.table.timeline.LSMTimeline;
+import org.apache.hudi.common.table.timeline.versioning.TimelineLayoutVersion;
+import org.apache.hudi.common.util.JsonUtils;
+import org.apache.hudi.common.util.collection.ClosableIterator;
+import org.apache.hudi.core.io.storage.HoodieAvroFileReader;
+import org.apache.hudi.core.io.storage.HoodieIOFactory;
+import org.apache.hudi.storage.HoodieStorage;
+import org.apache.hudi.storage.StoragePath;
+import org.apache.hudi.storage.StoragePathInfo;
+
+import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.IndexedRecord;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.text.ParseException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.apache.hudi.common.util.ConfigUtils.DEFAULT_HUDI_CONFIG_FOR_READER;
+
+/**
+ * Streaming per-window timeline analytics: throughput, write amplification and the lag from
+ * requested to completion time of each action, bucketed by hour, day or month of the instant time.
+ *
+ * <p>Unlike {@code --commit-stats}, nothing is loaded into the archived timeline. The archived
+ * LSM parquet files listed in the latest manifest are read one at a time with the metadata read
+ * schema: files whose instant time range does not overlap {@code [startInstant, endInstant]} are
+ * pruned by their names, the time range and action filters are applied to every record before its
+ * commit metadata is deserialized, and each instant is folded into the aggregates of its window
+ * right away. The memory is thus bounded by the number of windows, not by the number of instants.
+ *
+ * <p>Since archived files are immutable, the hourly aggregates of every action of a file are cached
+ * as a summary under {@code .hoodie/.aux/.timeline_stats}, named after the archived file. A file
+ * fully covered by the time range is answered from its summary w/o being read again, summaries of
+ * files compacted away by the LSM timeline are removed. Instants of the active timeline are always
+ * read from the timeline.
+ */
+public class TimelineStatsAnalyzer {
+
+  public static final String STATS_CACHE_FOLDER_NAME = ".timeline_stats";
+  private static final String SUMMARY_FILE_SUFFIX = ".json";
+  private static final int SUMMARY_VERSION = 1;
+
+  private static final String INSTANT_TIME_FIELD = "instantTime";
+  private static final String COMPLETION_TIME_FIELD = "completionTime";
+  private static final String ACTION_FIELD = "action";
+  private static final String METADATA_FIELD = "metadata";
+
+  /**
+   * The granularity of the aggregation, as the length of the instant time prefix it buckets by.
+   */
+  public enum Window {
+    HOUR(10), DAY(8), MONTH(6);
+
+    private final int prefixLength;
+
+    Window(int prefixLength) {
+      this.prefixLength = prefixLength;
+    }
+
+    String of(String instantTime) {
+      return instantTime.length() > prefixLength ? instantTime.substring(0, prefixLength) : instantTime;
+    }
+  }
+
+  private final HoodieTableMetaClient metaClient;
+  private final Window window;
+  private final String startInstant;
+  private final String endInstant;
+  private final Set<String> actions;
+  private final boolean includeArchived;
+  private final boolean useSummaryCache;
+
+  /**
+   * @param startInstant    inclusive lower bound of the instant times, null for unbounded
+   * @param endInstant      inclusive upper bound of the instant times, null for unbounded
+   * @param actions         the actions to aggregate, all actions if empty
+   * @param useSummaryCache whether to read and write the per archived file summaries
+   */
+  public TimelineStatsAnalyzer(HoodieTableMetaClient metaClient, Window window, String startInstant, String endInstant,
+                               Set<String> actions, boolean includeArchived, boolean useSummaryCache) {
+    this.metaClient = metaClient;
+    this.window = window;
+    this.startInstant = startInstant;
+    this.endInstant = endInstant;
+    this.actions = actions;
+    this.includeArchived = includeArchived;
+    this.useSummaryCache = useSummaryCache;
+  }
+
+  public Result analyze() throws IOException {
+    Result result = new Result();
+    if (includeArchived) {
+      if (metaClient.getTimelineLayoutVersion().getVersion() < TimelineLayoutVersion.VERSION_2) {
+        // archived instants of the layout version 1 are in log files w/o an instant time range per file
+        result.archivedTimelineNotSupported = true;
+      } else {
+        aggregateArchived(result);
+      }
+    }
+    aggregateActive(result);
+    return result;
+  }
+
+  // ---- archived timeline ----------------------------------------------------
+
+  private void aggregateArchived(Result result) throws IOException {
+    StoragePath archivePath = metaClient.getArchivePath();
+    List<String> fileNames = LSMTimeline.latestSnapshotManifest(metaClient, archivePath).getFileNames();
+    for (String fileName : fileNames) {
+      result.archivedFiles++;
+      String minInstant = LSMTimeline.getMinInstantTime(fileName);
+      String maxInstant = LSMTimeline.getMaxInstantTime(fileName);
+      if ((startInstant != null && maxInstant.compareTo(startInstant) < 0)
+          || (endInstant != null && minInstant.compareTo(endInstant) > 0)) {
+        result.archivedFilesPruned++;
+        continue;
+      }
+      boolean fullyInRange = (startInstant == null || minInstant.compareTo(startInstant) >= 0)
+          && (endInstant == null || maxInstant.compareTo(endInstant) <= 0);
+      if (useSummaryCache && fullyInRange) {
+        ArchivedFileSummary summary = readSummary(fileName);
+        if (summary != null) {
+          result.archivedFilesFromCache++;
+          summary.stats.forEach((hour, byAction) -> byAction.forEach((action, stats) -> {
+            if (actions.isEmpty() || actions.contains(action)) {
+              result.add(window.of(hour), action, stats);
+            }
+          }));
+          continue;
+        }
+      }
+      result.archivedFilesRead++;
+      readArchivedFile(fileName, result);
+    }
+    if (useSummaryCache) {
+      removeStaleSummaries(new HashSet<>(fileNames));
+    }
+  }
+
+  /**
+   * Streams the records of one archived file into the result. When the summary cache is enabled, all
+   * the records are summarized per hour and action for the following runs, regardless of the filters.
+   */
+  private void readArchivedFile(String fileName, Result result) throws IOException {
+    ArchivedFileSummary summary = useSummaryCache ? new ArchivedFileSummary(fileName) : null;
+    boolean complete = true;
+    try (ClosableIterator<IndexedRecord> iterator = getArchivedInstantIterator(fileName)) {
+      while (iterator.hasNext()) {
+        GenericRecord record = (GenericRecord) iterator.next();
+        String instantTime = record.get(INSTANT_TIME_FIELD).toString();
+        String action = record.get(ACTION_FIELD).toString();
+        boolean matches = isInRange(instantTime) && (actions.isEmpty() || actions.contains(action));
+        if (!matches && summary == null) {
+          continue;
+        }
+        Object completionTime = record.get(COMPLETION_TIME_FIELD);
+        HoodieInstant instant = metaClient.getInstantGenerator().createNewInstant(HoodieInstant.State.COMPLETED, action,
+            instantTime, completionTime == null ? null : completionTime.toString());
+        WindowStats stats;
+        try {
+          stats = toStats(instant, (ByteBuffer) record.get(METADATA_FIELD));
+        } catch (IOException | RuntimeException e) {
+          result.recordFailure(instant, e);
+          complete = false;
+          continue;
+        }
+        if (summary != null) {
+          summary.add(Window.HOUR.of(instantTime), action, stats);
+        }
+        if (matches) {
+          result.add(window.of(instantTime), action, stats);
+        }
+      }
+    }
+    if (summary != null && complete) {
+      writeSummary(summary);
+    }
+  }
+
+  private ClosableIterator<IndexedRecord> getArchivedInstantIterator(String fileName) throws IOException {
+    HoodieAvroFileReader reader = (HoodieAvroFileReader) HoodieIOFactory.getIOFactory(metaClient.getStorage())
+        .getReaderFactory(HoodieRecord.HoodieRecordType.AVRO)
+        .getFileReader(DEFAULT_HUDI_CONFIG_FOR_READER, new StoragePath(metaClient.getArchivePath(), fileName));
+    return reader.getIndexedRecordIterator(HoodieSchema.fromAvroSchema(HoodieLSMTimelineInstant.getClassSchema()),
+        HoodieSchema.fromAvroSchema(LSMTimeline.getReadSchema(HoodieArchivedTimeline.LoadMode.METADATA)));
+  }
+
+  private WindowStats toStats(HoodieInstant instant, ByteBuffer metadata) throws IOException {
+    WindowStats stats = WindowStats.of(instant);
+    Class<? extends HoodieCommitMetadata> clazz = getCommitMetadataClass(instant.getAction());
+    if (clazz != null && metadata != null && metadata.hasRemaining()) {
+      byte[] bytes = metadata.array();
+      try (InputStream inputStream = new ByteArrayInputStream(bytes)) {
+        stats.addWrites(metaClient.getCommitMetadataSerDe().deserialize(instant, inputStream, () -> bytes.length == 0, clazz));
+      }
+    }
+    return stats;
+  }
+
+  // ---- active timeline ------------------------------------------------------
+
+  private void aggregateActive(Result result) {
+    HoodieTimeline timeline = metaClient.reloadActiveTimeline().filterCompletedInstants();
+    timeline.getInstantsAsStream()
+        .filter(instant -> isInRange(instant.requestedTime()))
+        .filter(instant -> actions.isEmpty() || actions.contains(instant.getAction()))
+        .forEach(instant -> {
+          try {
+            WindowStats stats = WindowStats.of(instant);
+            Class<? extends HoodieCommitMetadata> clazz = getCommitMetadataClass(instant.getAction());
+            if (clazz != null) {
+              stats.addWrites(timeline.readInstantContent(instant, clazz));
+            }
+            result.activeInstants++;
+            result.add(window.of(instant.requestedTime()), instant.getAction(), stats);
+          } catch (IOException | RuntimeException e) {
+            result.recordFailure(instant, e);
+          }
+        });
+  }
+
+  private boolean isInRange(String instantTime) {
+    return (startInstant == null || instantTime.compareTo(startInstant) >= 0)
+        && (endInstant == null || instantTime.compareTo(endInstant) <= 0);
+  }
+
+  private static Class<? extends HoodieCommitMetadata> getCommitMetadataClass(String action) {
+    switch (action) {
+      case HoodieTimeline.COMMIT_ACTION:
+      case HoodieTimeline.DELTA_COMMIT_ACTION:
+        return HoodieCommitMetadata.class;
+      case HoodieTimeline.REPLACE_COMMIT_ACTION:
+      case HoodieTimeline.CLUSTERING_ACTION:
+        return HoodieReplaceCommitMetadata.class;
+      default:
+        // table services other than compaction (completed as commit) only contribute counts and durations
+        return null;
+    }
+  }
+
+  // ---- summary cache --------------------------------------------------------
+
+  static StoragePath getSummaryFolder(HoodieTableMetaClient metaClient) {
+    return new StoragePath(metaClient.getMetaAuxiliaryPath(), STATS_CACHE_FOLDER_NAME);
+  }
+
+  private StoragePath getSummaryPath(String fileName) {
+    return new StoragePath(getSummaryFolder(metaClient), fileName + SUMMARY_FILE_SUFFIX);
+  }
+
+  /**
+   * Reads the summary of the archived file, null if absent or unreadable, so that the file is read instead.
+   */
+  private ArchivedFileSummary readSummary(String fileName) {
+    StoragePath summaryPath = getSummaryPath(fileName);
+    HoodieStorage storage = metaClient.getStorage();
+    try {
+      if (!storage.exists(summaryPath)) {
+        return null;
+      }
+      try (InputStream inputStream = storage.open(summaryPath)) {
+        ArchivedFileSummary summary = JsonUtils.getObjectMapper().readValue(inputStream, ArchivedFileSummary.class);
+        return summary.version == SUMMARY_VERSION && fileName.equals(summary.fileName) && summary.stats != null ? summary : null;
+      }
+    } catch (IOException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  private void writeSummary(ArchivedFileSummary summary) {
+    // best effort, e.g. the tool may only have read access to the table
+    try (OutputStream outputStream = metaClient.getStorage().create(getSummaryPath(summary.fileName), true)) {
+      JsonUtils.getObjectMapper().writeValue(outputStream, summary);
+    } catch (IOException | RuntimeException e) {
+      // the file is read again by the next run
+    }
+  }
+
+  private void removeStaleSummaries(Set<String> liveFileNames) {
+    HoodieStorage storage = metaClient.getStorage();
+    StoragePath summaryFolder = getSummaryFolder(metaClient);
+    try {
+      if (!storage.exists(summaryFolder)) {
+        return;
+      }
+      for (StoragePathInfo pathInfo : storage.listDirectEntries(summaryFolder)) {
+        String name = pathInfo.getPath().getName();
+        if (name.endsWith(SUMMARY_FILE_SUFFIX)
+            && !liveFileNames.contains(name.substring(0, name.length() - SUMMARY_FILE_SUFFIX.length()))) {
+          storage.deleteFile(pathInfo.getPath());
+        }
+      }
+    } catch (IOException | RuntimeException e) {
+      // stale summaries are never read since their archived files are not in the manifest
+    }
+  }
+
+  /**
+   * The hourly aggregates of all the instants of one archived file, serialized as JSON.
+   */
+  static class ArchivedFileSummary {
+    int version;
+    String fileName;
+    // hour -> action -> stats
+    Map<String, Map<String, WindowStats>> stats;
+
+    ArchivedFileSummary() {
+    }
+
+    ArchivedFileSummary(String fileName) {
+      this.version = SUMMARY_VERSION;
+      this.fileName = fileName;
+      this.stats = new TreeMap<>();
+    }
+
+    void add(String hour, String action, WindowStats instantStats) {
+      stats.computeIfAbsent(hour, k -> new TreeMap<>()).computeIfAbsent(action, k -> new WindowStats()).merge(instantStats);
+    }
+  }
+
+  // ---- aggregates -----------------------------------------------------------
+
+  /**
+   * The aggregates of the instants of one action within one window.
+   */
+  static class WindowStats {
+    long instants;
+    long recordsWritten;
+    long inserts;
+    long updates;
+    long deletes;
+    long filesWritten;
+    long bytesWritten;
+    // requested time to completion time, only of the instants with a parsable completion time
+    long timedInstants;
+    long totalDurationMs;
+    long maxDurationMs;
+
+    static WindowStats of(HoodieInstant instant) {
+      WindowStats stats = new WindowStats();
+      stats.instants = 1;
+      String completionTime = instant.getCompletionTime();
+      if (completionTime != null) {
+        try {
+          long durationMs = HoodieInstantTimeGenerator.parseDateFromInstantTime(completionTime).getTime()
+              - HoodieInstantTimeGenerator.parseDateFromInstantTime(instant.requestedTime()).getTime();
+          if (durationMs >= 0) {
+            stats.timedInstants = 1;
+            stats.totalDurationMs = durationMs;
+            stats.maxDurationMs = durationMs;
+          }
+        } catch (ParseException e) {
+          // e.g. the bootstrap instants, counted w/o a duration
+        }
+      }
+      return stats;
+    }
+
+    void addWrites(HoodieCommitMetadata metadata) {
+      recordsWritten += metadata.fetchTotalRecordsWritten();
+      inserts += metadata.fetchTotalInsertRecordsWritten();
+      updates += metadata.fetchTotalUpdateRecordsWritten();
+      deletes += metadata.getTotalRecordsDeleted();
+      filesWritten += metadata.fetchTotalFiles();
+      bytesWritten += metadata.fetchTotalBytesWritten();
+    }
+
+    void merge(WindowStats other) {
+      instants += other.instants;
+      recordsWritten += other.recordsWritten;
+      inserts += other.inserts;
+      updates += other.updates;
+      deletes += other.deletes;
+      filesWritten += other.filesWritten;
+      bytesWritten += other.bytesWritten;
+      timedInstants += other.timedInstants;
+      totalDurationMs += other.totalDurationMs;
+      maxDurationMs = Math.max(maxDurationMs, other.maxDurationMs);
+    }
+
+    /**
+     * Records written (including the untouched records rewritten along) per inserted, updated or
+     * deleted record, null if no record changed.
+     */
+    Double writeAmplification() {
+      long changed = inserts + updates + deletes;
+      return changed == 0 ? null : (double) recordsWritten / changed;
+    }
+
+    Long avgDurationMs() {
+      return timedInstants == 0 ? null : totalDurationMs / timedInstants;
+    }
+
+    Long maxDurationMs() {
+      return timedInstants == 0 ? null : maxDurationMs;
+    }
+  }
+
+  /**
+   * The aggregates per window and action, plus how the archived files were served.
+   */
+  public static class Result {
+    // window -> action -> stats
+    final TreeMap<String, TreeMap<String, WindowStats>> windows = new TreeMap<>();
+    boolean archivedTimelineNotSupported = false;
+    int archivedFiles;
+    int archivedFilesPruned;
+    int archivedFilesRead;
+    int archivedFilesFromCache;
+    long activeInstants;
+    long failedInstants;
+    String firstFailure;
+
+    void add(String windowKey, String action, WindowStats stats) {
+      windows.computeIfAbsent(windowKey, k -> new TreeMap<>()).computeIfAbsent(action, k -> new WindowStats()).merge(stats);
+    }
+
+    void recordFailure(HoodieInstant instant, Exception e) {
+      if (failedInstants++ == 0) {
+        firstFailure = instant + ": " + e.getMessage();
+      }
+    }
+  }
+}
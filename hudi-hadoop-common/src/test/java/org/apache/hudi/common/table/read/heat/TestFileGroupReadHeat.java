@@ -0,0 +1,191 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.table.read.heat;
+
+import org.apache.hudi.common.model.HoodieFileGroupId;
+import org.apache.hudi.common.testutils.HoodieTestUtils;
+import org.apache.hudi.storage.HoodieStorage;
+import org.apache.hudi.storage.StoragePath;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TestFileGroupReadHeat {
+
+  private static final long HALF_LIFE_MS = 60_000L;
+  private static final HoodieFileGroupId FG1 = new HoodieFileGroupId("p1", "fg1");
+  private static final HoodieFileGroupId FG2 = new HoodieFileGroupId("p2", "fg2");
+
+  @TempDir
+  Path tempDir;
+
+  private HoodieStorage storage;
+  private StoragePath heatFolder;
+
+  @BeforeEach
+  void setUp() {
+    storage = HoodieTestUtils.getStorage(tempDir.toString());
+    heatFolder = FileGroupReadHeat.getReadHeatFolder(new StoragePath(tempDir.toString(), ".aux").toString());
+  }
+
+  @Test
+  void testLoadWithoutHeatFiles() {
+    assertTrue(FileGroupReadHeat.load(storage, heatFolder, 0L, HALF_LIFE_MS).isEmpty());
+  }
+
+  @Test
+  void testDecay() throws IOException {
+    FileGroupReadHeat.write(storage, heatFolder, 0L, reads(8.0, 4.0));
+    FileGroupReadHeat.write(storage, heatFolder, HALF_LIFE_MS, Collections.singletonMap(FG1, 2.0));
+
+    Map<HoodieFileGroupId, Double> heat = FileGroupReadHeat.load(storage, heatFolder, 2 * HALF_LIFE_MS, HALF_LIFE_MS);
+    assertEquals(8.0 / 4 + 2.0 / 2, heat.get(FG1), 1e-9);
+    assertEquals(4.0 / 4, heat.get(FG2), 1e-9);
+
+    // the heat files decayed below the min weight are deleted
+    heat = FileGroupReadHeat.load(storage, heatFolder, 11 * HALF_LIFE_MS, HALF_LIFE_MS);
+    assertEquals(2.0 / 1024, heat.get(FG1), 1e-12);
+    assertEquals(1, storage.listDirectEntries(heatFolder).size());
+  }
+
+  @Test
+  void testIgnoreIncompleteHeatFile() throws IOException {
+    FileGroupReadHeat.write(storage, heatFolder, 0L, Collections.singletonMap(FG1, 1.0));
+    try (OutputStream outputStream = storage.create(new StoragePath(heatFolder, "0_partial.heat"), false)) {
+      outputStream.write("1,2\np2\tfg2\t3.0\n".getBytes(StandardCharsets.UTF_8));
+    }
+    try (OutputStream outputStream = storage.create(new StoragePath(heatFolder, "0_corrupted.heat"), false)) {
+      outputStream.write("1,1\np2\tfg2\n".getBytes(StandardCharsets.UTF_8));
+    }
+
+    Map<HoodieFileGroupId, Double> heat = FileGroupReadHeat.load(storage, heatFolder, 0L, HALF_LIFE_MS);
+    assertEquals(Collections.singletonMap(FG1, 1.0), heat);
+  }
+
+  @Test
+  void testConsolidate() throws IOException {
+    for (int i = 0; i <= FileGroupReadHeat.MAX_HEAT_FILES; i++) {
+      FileGroupReadHeat.write(storage, heatFolder, 0L, reads(1.0, 2.0));
+    }
+    Map<HoodieFileGroupId, Double> heat = FileGroupReadHeat.load(storage, heatFolder, HALF_LIFE_MS, HALF_LIFE_MS);
+    assertEquals(1, storage.listDirectEntries(heatFolder).size());
+    assertEquals((FileGroupReadHeat.MAX_HEAT_FILES + 1) * 0.5, heat.get(FG1), 1e-9);
+
+    // the consolidated heat keeps decaying from the consolidation
+    assertEquals(heat, FileGroupReadHeat.load(storage, heatFolder, HALF_LIFE_MS, HALF_LIFE_MS));
+    assertEquals((FileGroupReadHeat.MAX_HEAT_FILES + 1) * 0.5,
+        FileGroupReadHeat.load(storage, heatFolder, 2 * HALF_LIFE_MS, HALF_LIFE_MS).get(FG2), 1e-9);
+  }
+
+  @Test
+  void testLoadWithResetTimes() throws IOException {
+    FileGroupReadHeat.write(storage, heatFolder, 0L, reads(8.0, 4.0));
+    FileGroupReadHeat.write(storage, heatFolder, 10L, reads(2.0, 1.0));
+
+    // the reads of fg1 before its reset are not counted
+    Map<HoodieFileGroupId, Double> heat = FileGroupReadHeat.load(storage, heatFolder, 10L, Long.MAX_VALUE, Collections.singletonMap(FG1, 5L));
+    assertEquals(2.0, heat.get(FG1), 1e-9);
+    assertEquals(5.0, heat.get(FG2), 1e-9);
+    assertEquals(Collections.singletonMap(FG2, 5.0),
+        FileGroupReadHeat.load(storage, heatFolder, 10L, Long.MAX_VALUE, Collections.singletonMap(FG1, 20L)));
+  }
+
+  @Test
+  void testTrackerFlush() throws Exception {
+    try (ReadHeatTracker tracker = new ReadHeatTracker(storage, heatFolder, 0L)) {
+      tracker.recordRead("p1", "fg1", 0L);
+      tracker.recordRead("p1", "fg1", 0L);
+      tracker.awaitFlushes(10_000L);
+      assertTrue(FileGroupReadHeat.load(storage, heatFolder, 0L, HALF_LIFE_MS).isEmpty());
+
+      // flushed once the flush interval elapsed
+      tracker.recordRead("p2", "fg2", ReadHeatTracker.FLUSH_INTERVAL_MS);
+      tracker.awaitFlushes(10_000L);
+      assertEquals(reads(2.0, 1.0), FileGroupReadHeat.load(storage, heatFolder, ReadHeatTracker.FLUSH_INTERVAL_MS, HALF_LIFE_MS));
+
+      // flushed once the pending reads reach the flush reads
+      for (int i = 0; i < ReadHeatTracker.FLUSH_READS; i++) {
+        tracker.recordRead("p2", "fg2", ReadHeatTracker.FLUSH_INTERVAL_MS);
+      }
+      tracker.awaitFlushes(10_000L);
+      assertEquals(2, storage.listDirectEntries(heatFolder).size());
+      tracker.flush(ReadHeatTracker.FLUSH_INTERVAL_MS);
+      tracker.awaitFlushes(10_000L);
+      assertEquals(2, storage.listDirectEntries(heatFolder).size());
+    }
+  }
+
+  @Test
+  void testTrackerClose() throws Exception {
+    ReadHeatTracker tracker = new ReadHeatTracker(storage, heatFolder, System.currentTimeMillis());
+    tracker.recordRead("p1", "fg1");
+    // the pending reads are flushed on close, and the reads after close are ignored
+    tracker.close();
+    tracker.recordRead("p1", "fg1");
+    tracker.close();
+    tracker.awaitFlushes(10_000L);
+    assertEquals(Collections.singletonMap(FG1, 1.0), FileGroupReadHeat.load(storage, heatFolder, 0L, HALF_LIFE_MS));
+  }
+
+  @Test
+  void testTrackerDropsReadsWhenFlushesPending() throws Exception {
+    CountDownLatch blocker = new CountDownLatch(1);
+    ThreadPoolExecutor flusher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+    flusher.execute(() -> {
+      try {
+        blocker.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+    try (ReadHeatTracker tracker = new ReadHeatTracker(storage, heatFolder, 0L, flusher)) {
+      // the readers never wait for the blocked flusher, the first flush is queued and the second one is dropped
+      tracker.recordRead("p1", "fg1", 0L);
+      tracker.flush(0L);
+      tracker.recordRead("p2", "fg2", 0L);
+      tracker.flush(0L);
+      blocker.countDown();
+      tracker.awaitFlushes(10_000L);
+      assertEquals(Collections.singletonMap(FG1, 1.0), FileGroupReadHeat.load(storage, heatFolder, 0L, HALF_LIFE_MS));
+    }
+  }
+
+  private static Map<HoodieFileGroupId, Double> reads(double fg1Reads, double fg2Reads) {
+    Map<HoodieFileGroupId, Double> reads = new HashMap<>();
+    reads.put(FG1, fg1Reads);
+    reads.put(FG2, fg2Reads);
+    return reads;
+  }
+}
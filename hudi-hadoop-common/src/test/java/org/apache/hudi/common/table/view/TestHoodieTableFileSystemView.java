@@ -437,6 +437,48 @@ public class TestHoodieTableFileSystemView extends HoodieCommonTestHarness {
     }
   }
 
+  @Test
+  public void testViewForGetFileGroupsStateless() throws Exception {
+    String partitionPath = "2023/11/22";
+    new File(basePath + "/" + partitionPath).mkdirs();
+    new File(basePath + "/" + partitionPath + "/"
+        + HOODIE_PARTITION_METAFILE_PREFIX + ".parquet").mkdirs();
+
+    // create 3 fileId in the partition, the first one with 2 file slices
+    String fileId1 = UUID.randomUUID().toString();
+    String fileId2 = UUID.randomUUID().toString();
+    String fileId3 = UUID.randomUUID().toString();
+    String commitTime1 = "1";
+    String commitTime2 = "2";
+    new File(basePath + "/" + partitionPath + "/" + FSUtils.makeBaseFileName(commitTime1, TEST_WRITE_TOKEN, fileId1, BASE_FILE_EXTENSION)).createNewFile();
+    new File(basePath + "/" + partitionPath + "/" + FSUtils.makeBaseFileName(commitTime1, TEST_WRITE_TOKEN, fileId2, BASE_FILE_EXTENSION)).createNewFile();
+    new File(basePath + "/" + partitionPath + "/" + FSUtils.makeBaseFileName(commitTime1, TEST_WRITE_TOKEN, fileId3, BASE_FILE_EXTENSION)).createNewFile();
+    new File(basePath + "/" + partitionPath + "/" + FSUtils.makeBaseFileName(commitTime2, TEST_WRITE_TOKEN, fileId1, BASE_FILE_EXTENSION)).createNewFile();
+
+    HoodieActiveTimeline commitTimeline = metaClient.getActiveTimeline();
+    saveAsComplete(commitTimeline, INSTANT_GENERATOR.createNewInstant(State.INFLIGHT, HoodieTimeline.COMMIT_ACTION, commitTime1), new HoodieCommitMetadata());
+    saveAsComplete(commitTimeline, INSTANT_GENERATOR.createNewInstant(State.INFLIGHT, HoodieTimeline.COMMIT_ACTION, commitTime2), new HoodieCommitMetadata());
+
+    fsView.sync();
+    Set<String> fileIds = new HashSet<>(Arrays.asList(fileId1, fileId3));
+    // invokes the stateless API first then the normal API, only the file groups of the given file ids are returned
+    List<HoodieFileGroup> actual = fsView.getFileGroupsStateless(partitionPath, fileIds)
+        .sorted(Comparator.comparing(HoodieFileGroup::getFileGroupId)).collect(Collectors.toList());
+    List<HoodieFileGroup> expected = fsView.getAllFileGroups(partitionPath)
+        .filter(fg -> fileIds.contains(fg.getFileGroupId().getFileId()))
+        .sorted(Comparator.comparing(HoodieFileGroup::getFileGroupId)).collect(Collectors.toList());
+    assertEquals(2, actual.size());
+    for (int i = 0; i < expected.size(); i++) {
+      assertThat("The stateless API should return the same result", actual.get(i).toString(),
+          is(expected.get(i).toString()));
+      assertNotSame(actual.get(i), expected.get(i), "The stateless API does not cache");
+    }
+    assertEquals(2, fsView.getFileGroupsStateless(partitionPath, Collections.singleton(fileId1)).findFirst().get().getAllFileSlices().count());
+    // served by the loaded partition afterwards
+    assertEquals(Collections.singletonList(fileId3), fsView.getFileGroupsStateless(partitionPath, Collections.singleton(fileId3))
+        .map(fg -> fg.getFileGroupId().getFileId()).collect(Collectors.toList()));
+  }
+
   @Test
   public void testViewForGetLatestFileSlicesStateless() throws Exception {
     String partitionPath1 = "2023/11/22";
@@ -53,14 +53,17 @@ import java.io.UncheckedIOException;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
@@ -115,6 +118,32 @@ public class TestExternalSpillableMap extends HoodieCommonTestHarness {
     }
   }
 
+  @ParameterizedTest
+  @MethodSource("testArguments")
+  public void testEntryIterator(ExternalSpillableMap.DiskMapType diskMapType, boolean isCompressionEnabled) throws IOException {
+    try (ExternalSpillableMap<String, String> records =
+        new ExternalSpillableMap<>(1024L, basePath, new DefaultSizeEstimator<>(),
+            new DefaultSizeEstimator<>(), diskMapType, new DefaultSerializer<>(), isCompressionEnabled, TEST_LOGGING_CONTEXT)) {
+      for (int i = 0; i < 100; i++) {
+        records.put("key_" + i, "value_" + i);
+      }
+      assertTrue(records.getInMemoryMapNumEntries() > 0);
+      assertTrue(records.getDiskBasedMapNumEntries() > 0);
+
+      // the entries in memory and on disk are both iterated
+      Map<String, String> entries = new HashMap<>();
+      Iterator<Map.Entry<String, String>> itr = records.entryIterator();
+      while (itr.hasNext()) {
+        Map.Entry<String, String> entry = itr.next();
+        assertNull(entries.put(entry.getKey(), entry.getValue()));
+      }
+      assertEquals(100, entries.size());
+      for (int i = 0; i < 100; i++) {
+        assertEquals("value_" + i, entries.get("key_" + i));
+      }
+    }
+  }
+
   @ParameterizedTest
   @MethodSource("testArguments")
   public void testSimpleUpsert(ExternalSpillableMap.DiskMapType diskMapType, boolean isCompressionEnabled) throws IOException, URISyntaxException {
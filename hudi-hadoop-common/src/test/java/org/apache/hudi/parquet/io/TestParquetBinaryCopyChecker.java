@@ -142,6 +142,30 @@ public class TestParquetBinaryCopyChecker {
     assertFalse(ParquetBinaryCopyChecker.verifyFiles(files));
   }
 
+  @Test
+  public void testVerifyFilesBySchemaEvolution() {
+    String schema = Types.buildMessage()
+        .addField(required(BINARY).named("field1"))
+        .named("schema")
+        .toString();
+    String evolvedSchema = Types.buildMessage()
+        .addField(required(BINARY).named("field1"))
+        .addField(optional(BINARY).named("field2"))
+        .named("schema")
+        .toString();
+    ParquetFileInfo file1 = makeFileInfo(true, "simple", schema);
+    ParquetFileInfo file2 = makeFileInfo(true, "simple", schema);
+    ParquetFileInfo file3 = makeFileInfo(true, "simple", evolvedSchema);
+
+    // files with the same schema can be copied w/o schema evolution
+    assertTrue(ParquetBinaryCopyChecker.verifyFiles(makeFileInfos(file1, file2), false));
+    // files with different schemas can only be copied with schema evolution
+    assertFalse(ParquetBinaryCopyChecker.verifyFiles(makeFileInfos(file1, file3), false));
+    assertTrue(ParquetBinaryCopyChecker.verifyFiles(makeFileInfos(file1, file3), true));
+    // the other conditions still apply with schema evolution
+    assertFalse(ParquetBinaryCopyChecker.verifyFiles(makeFileInfos(file1, makeSchemaNotSupportFileInfo()), true));
+  }
+
   @Test
   public void testVerifyFilesByRepetition() {
     List<ParquetFileInfo> files;
@@ -21,20 +21,35 @@ package org.apache.hudi.tools;
 import org.apache.hudi.avro.model.HoodieCleanMetadata;
 import org.apache.hudi.avro.model.HoodieCleanPartitionMetadata;
 import org.apache.hudi.avro.model.HoodieInstantInfo;
+import org.apache.hudi.avro.model.HoodieLSMTimelineInstant;
 import org.apache.hudi.avro.model.HoodieRollbackMetadata;
 import org.apache.hudi.avro.model.HoodieRollbackPartitionMetadata;
+import org.apache.hudi.common.config.HoodieConfig;
+import org.apache.hudi.common.engine.LocalTaskContextSupplier;
+import org.apache.hudi.common.model.HoodieAvroIndexedRecord;
 import org.apache.hudi.common.model.HoodieCommitMetadata;
+import org.apache.hudi.common.model.HoodieLSMTimelineManifest;
+import org.apache.hudi.common.model.HoodieRecord;
 import org.apache.hudi.common.model.HoodieReplaceCommitMetadata;
 import org.apache.hudi.common.model.HoodieTableType;
 import org.apache.hudi.common.model.HoodieWriteStat;
 import org.apache.hudi.common.model.WriteOperationType;
+import org.apache.hudi.common.schema.HoodieSchema;
+import org.apache.hudi.common.table.HoodieTableConfig;
 import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.timeline.ActiveAction;
 import org.apache.hudi.common.table.timeline.HoodieActiveTimeline;
 import org.apache.hudi.common.table.timeline.HoodieInstant;
 import org.apache.hudi.common.table.timeline.HoodieTimeline;
+import org.apache.hudi.common.table.timeline.LSMTimeline;
+import org.apache.hudi.common.table.timeline.MetadataConversionUtils;
 import org.apache.hudi.common.testutils.FileCreateUtils;
 import org.apache.hudi.common.testutils.HoodieTestUtils;
 import org.apache.hudi.common.util.Option;
+import org.apache.hudi.core.io.storage.HoodieFileWriter;
+import org.apache.hudi.core.io.storage.HoodieFileWriterFactory;
+import org.apache.hudi.storage.StoragePath;
+import org.apache.hudi.storage.StoragePathInfo;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.junit.jupiter.api.AfterEach;
@@ -43,12 +58,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 
 import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
 import java.io.PrintStream;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -476,6 +495,86 @@ class TestTimelineInspector {
         capturedAsString());
   }
 
+  // ---- timeline-stats -------------------------------------------------------
+
+  @Test
+  void timelineStatsAggregatesPerWindowAndAction() throws Exception {
+    runMain("--base-path", basePath, "--timeline-stats", "--window", "month", "--no-archived",
+        "--output", "json", "--quiet");
+    String out = capturedAsString();
+    // Every action of the harness lands in the single 202606 window.
+    assertTrue(out.contains("\"totalRows\" : 4"), out);
+    assertTrue(out.contains("\"window\" : \"202606\""), out);
+    assertFalse(out.contains("\"window\" : \"20260601\""), out);
+    // ingest: 100 records written for 100 inserts; replace: 50 for 50.
+    assertTrue(out.contains("\"recordsWritten\" : 100"), out);
+    assertTrue(out.contains("\"recordsWritten\" : 50"), out);
+    assertTrue(out.contains("\"writeAmplification\" : 1.0"), out);
+    assertTrue(out.contains("\"action\" : \"clean\""), out);
+    assertTrue(out.contains("\"action\" : \"rollback\""), out);
+    assertTrue(out.contains("\"activeInstants\" : 4"), out);
+  }
+
+  @Test
+  void timelineStatsRespectsActionsAndDailyWindow() throws Exception {
+    runMain("--base-path", basePath, "--timeline-stats", "--actions", "commit,replacecommit",
+        "--no-archived", "--quiet");
+    String out = capturedAsString();
+    assertTrue(lineContaining(out, "20260601").contains("commit"), out);
+    assertTrue(lineContaining(out, "20260604").contains("replacecommit"), out);
+    assertFalse(out.contains("20260602"), out);
+    assertFalse(out.contains("rollback"), out);
+  }
+
+  @Test
+  void timelineStatsStreamsArchivedFilesAndCachesSummaries(@TempDir Path tempDir) throws Exception {
+    String tablePath = tempDir.resolve("ts_table").toString();
+    HoodieTableMetaClient meta = HoodieTestUtils.init(tablePath, HoodieTableType.COPY_ON_WRITE);
+    List<String> instants = Arrays.asList("20260601000000000", "20260601010000000", "20260602000000000");
+    for (String instant : instants) {
+      writeInsertCommit(meta, instant, 10);
+    }
+    archiveInstants(meta, instants.subList(0, 2));
+
+    runMain("--base-path", tablePath, "--timeline-stats", "--window", "month", "--output", "json", "--quiet");
+    String out = capturedAsString();
+    assertTrue(out.contains("\"instants\" : 3"), out);
+    assertTrue(out.contains("\"recordsWritten\" : 30"), out);
+    assertTrue(out.contains("\"archivedFilesRead\" : 1"), out);
+    assertTrue(out.contains("\"activeInstants\" : 1"), out);
+    StoragePath summaryFolder = TimelineStatsAnalyzer.getSummaryFolder(meta);
+    assertTrue(meta.getStorage().listDirectEntries(summaryFolder).size() == 1);
+
+    // The archived file is answered from its summary by the next run.
+    runMain("--base-path", tablePath, "--timeline-stats", "--window", "month", "--output", "json", "--quiet");
+    out = capturedAsString();
+    assertTrue(out.contains("\"instants\" : 3"), out);
+    assertTrue(out.contains("\"recordsWritten\" : 30"), out);
+    assertTrue(out.contains("\"archivedFilesRead\" : 0"), out);
+    assertTrue(out.contains("\"archivedFilesFromCache\" : 1"), out);
+
+    // A file partially in range is read again, filtering its records.
+    runMain("--base-path", tablePath, "--timeline-stats", "--window", "month", "--output", "json",
+        "--start-instant", instants.get(1), "--quiet");
+    out = capturedAsString();
+    assertTrue(out.contains("\"instants\" : 2"), out);
+    assertTrue(out.contains("\"archivedFilesRead\" : 1"), out);
+
+    // Out of range files are pruned w/o being read.
+    runMain("--base-path", tablePath, "--timeline-stats", "--output", "json",
+        "--start-instant", instants.get(2), "--no-stats-cache", "--quiet");
+    out = capturedAsString();
+    assertTrue(out.contains("\"instants\" : 1"), out);
+    assertTrue(out.contains("\"archivedFilesPruned\" : 1"), out);
+  }
+
+  @Test
+  void windowWithoutTimelineStatsPrintsRejection() {
+    runMainExpectingExit("--base-path", basePath, "--commit-stats", "--window", "day");
+    assertTrue(capturedAsString().contains("--window and --no-stats-cache are only valid with --timeline-stats"),
+        capturedAsString());
+  }
+
   // ---- phase-timings --------------------------------------------------------
 
   @Test
@@ -739,6 +838,67 @@ class TestTimelineInspector {
     setMtime(fs, meta.getTimelinePath() + "/" + completedName, mtimes[5]);
   }
 
+  private static void writeInsertCommit(HoodieTableMetaClient meta, String instantTime, long numInserts)
+      throws Exception {
+    HoodieCommitMetadata commit = new HoodieCommitMetadata();
+    commit.setOperationType(WriteOperationType.INSERT);
+    HoodieWriteStat stat = new HoodieWriteStat();
+    stat.setFileId(FILE_ID_KEEP);
+    stat.setPath(PARTITION + "/" + FILE_ID_KEEP + "_0-1-1_" + instantTime + ".parquet");
+    stat.setPartitionPath(PARTITION);
+    stat.setNumWrites(numInserts);
+    stat.setNumInserts(numInserts);
+    stat.setPrevCommit("null");
+    commit.addWriteStat(PARTITION, stat);
+    HoodieActiveTimeline timeline = meta.reloadActiveTimeline();
+    HoodieInstant requested = meta.getInstantGenerator().createNewInstant(
+        HoodieInstant.State.REQUESTED, HoodieTimeline.COMMIT_ACTION, instantTime);
+    timeline.createNewInstant(requested);
+    timeline.transitionRequestedToInflight(requested, Option.empty());
+    timeline.saveAsComplete(meta.getInstantGenerator().createNewInstant(
+        HoodieInstant.State.INFLIGHT, HoodieTimeline.COMMIT_ACTION, instantTime), Option.of(commit));
+  }
+
+  /**
+   * Moves the given completed instants into one LSM timeline file the same way the archiver does:
+   * writes the parquet file, publishes it in a new manifest and removes the instant files from the
+   * active timeline.
+   */
+  private static void archiveInstants(HoodieTableMetaClient meta, List<String> instantTimes) throws Exception {
+    HoodieActiveTimeline active = meta.reloadActiveTimeline();
+    StoragePath archivePath = meta.getArchivePath();
+    String fileName = instantTimes.get(0) + "_" + instantTimes.get(instantTimes.size() - 1) + "_0.parquet";
+    StoragePath filePath = new StoragePath(archivePath, fileName);
+    HoodieConfig writerConfig = new HoodieConfig();
+    writerConfig.setValue(HoodieTableConfig.POPULATE_META_FIELDS, "false");
+    HoodieSchema schema = HoodieSchema.fromAvroSchema(HoodieLSMTimelineInstant.getClassSchema());
+    try (HoodieFileWriter writer = HoodieFileWriterFactory.getFileWriter("", filePath, meta.getStorage(),
+        writerConfig, schema, new LocalTaskContextSupplier(), HoodieRecord.HoodieRecordType.AVRO)) {
+      for (String instantTime : instantTimes) {
+        List<HoodieInstant> instants = active.getInstantsAsStream()
+            .filter(i -> i.requestedTime().equals(instantTime)).collect(Collectors.toList());
+        HoodieLSMTimelineInstant entry = MetadataConversionUtils.createLSMTimelineInstant(
+            ActiveAction.fromInstants(instants), meta);
+        writer.write(instantTime, new HoodieAvroIndexedRecord(entry), schema);
+      }
+    }
+    HoodieLSMTimelineManifest manifest = new HoodieLSMTimelineManifest();
+    manifest.addFile(fileName, meta.getStorage().getPathInfo(filePath).getLength());
+    writeString(meta, LSMTimeline.getManifestFilePath(1, archivePath), manifest.toJsonString());
+    writeString(meta, LSMTimeline.getVersionFilePath(archivePath), "1");
+    for (StoragePathInfo pathInfo : meta.getStorage().listDirectEntries(meta.getTimelinePath())) {
+      if (instantTimes.stream().anyMatch(t -> pathInfo.getPath().getName().startsWith(t))) {
+        meta.getStorage().deleteFile(pathInfo.getPath());
+      }
+    }
+  }
+
+  private static void writeString(HoodieTableMetaClient meta, StoragePath path, String content) throws Exception {
+    try (OutputStream outputStream = meta.getStorage().create(path, true)) {
+      outputStream.write(content.getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
   /**
    * Hand-writes the three MDT state files under {@code <base>/.hoodie/metadata/.hoodie/}
    * for the given instant and forces their mtimes. We bypass the real MDT writer because
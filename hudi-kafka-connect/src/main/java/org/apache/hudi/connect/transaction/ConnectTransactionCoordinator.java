@@ -51,6 +51,12 @@ import java.util.stream.Collectors;
  * Implementation of the Coordinator that
  * coordinates the Hudi write transactions
  * across all the Kafka partitions for a single Kafka Topic.
+ *
+ * <p>With {@link KafkaConnectConfigs#PIPELINED_COMMIT_ENABLE}, the next commit is started right after
+ * the current one is ended, so that the participants keep writing while the ended commit waits for
+ * the write statuses and gets committed. At most one commit is being committed at a time, the next commit
+ * is ended only after the previous one is acked, and it is aborted if the previous one fails,
+ * the participants then restart from the globally committed kafka offsets.
  */
 @Slf4j
 public class ConnectTransactionCoordinator implements TransactionCoordinator, Runnable {
@@ -76,11 +82,19 @@ public class ConnectTransactionCoordinator implements TransactionCoordinator, Ru
   private final BlockingQueue<CoordinatorEvent> events;
   private final ExecutorService executorService;
   private final ScheduledExecutorService scheduler;
+  private final boolean pipelinedCommit;
+  private final int tableServicesInterval;
 
   private String currentCommitTime;
+  // The commit that is ended and waits for the write statuses,
+  // it differs from the current commit if the next commit is pipelined.
+  private String committingCommitTime;
+  private int committingNumPartitions;
   private Map<Integer, Long> globalCommittedKafkaOffsets;
   private State currentState;
   private int numPartitions;
+  // The number of pipelined commits since the table services run
+  private int numCommitsSinceTableServices;
 
   public ConnectTransactionCoordinator(KafkaConnectConfigs configs,
                                        TopicPartition partition,
@@ -107,7 +121,10 @@ public class ConnectTransactionCoordinator implements TransactionCoordinator, Ru
     executorService = Executors.newSingleThreadExecutor();
 
 
+    this.pipelinedCommit = configs.isPipelinedCommitEnabled();
+    this.tableServicesInterval = configs.getPipelinedCommitTableServicesInterval();
     this.currentCommitTime = StringUtils.EMPTY_STRING;
+    this.committingCommitTime = StringUtils.EMPTY_STRING;
     this.partitionsWriteStatusReceived = new HashMap<>();
     this.globalCommittedKafkaOffsets = new HashMap<>();
     this.currentConsumedKafkaOffsets = new HashMap<>();
@@ -198,9 +215,7 @@ public class ConnectTransactionCoordinator implements TransactionCoordinator, Ru
   private void processCoordinatorEvent(CoordinatorEvent event) {
     try {
       // Ignore NULL and STALE events, unless its one to start a new COMMIT
-      if (event == null
-          || (!event.getEventType().equals(CoordinatorEvent.CoordinatorEventType.START_COMMIT)
-          && (!event.getCommitTime().equals(currentCommitTime)))) {
+      if (event == null || isStaleEvent(event)) {
         return;
       }
 
@@ -234,13 +249,29 @@ public class ConnectTransactionCoordinator implements TransactionCoordinator, Ru
     }
   }
 
+  private boolean isStaleEvent(CoordinatorEvent event) {
+    switch (event.getEventType()) {
+      case START_COMMIT:
+        return false;
+      case END_COMMIT:
+        return !event.getCommitTime().equals(currentCommitTime);
+      default:
+        // the other events are all for the commit that waits for the write statuses
+        return !event.getCommitTime().equals(committingCommitTime);
+    }
+  }
+
   private void startNewCommit() {
     numPartitions = partitionProvider.getLatestNumPartitions(configs.getString(BOOTSTRAP_SERVERS_CFG), partition.topic());
-    partitionsWriteStatusReceived.clear();
+    // In the pipelined mode, the participants continue writing the new commit
+    // from the kafka offsets where the committing commit ends.
+    String previousCommitTime = pipelinedCommit ? committingCommitTime : StringUtils.EMPTY_STRING;
     try {
       currentCommitTime = transactionServices.startCommit();
-      kafkaControlClient.publishMessage(buildControlMessage(ControlMessage.EventType.START_COMMIT));
-      currentState = State.STARTED_COMMIT;
+      kafkaControlClient.publishMessage(buildControlMessage(ControlMessage.EventType.START_COMMIT, currentCommitTime, previousCommitTime));
+      if (previousCommitTime.isEmpty()) {
+        currentState = State.STARTED_COMMIT;
+      }
       // schedule a timeout for ending the current commit
       submitEvent(new CoordinatorEvent(CoordinatorEvent.CoordinatorEventType.END_COMMIT,
               partition.topic(),
@@ -256,20 +287,37 @@ public class ConnectTransactionCoordinator implements TransactionCoordinator, Ru
   }
 
   private void endExistingCommit() {
+    if (pipelinedCommit && !committingCommitTime.isEmpty()) {
+      // bounds the lag, the current commit is ended only after the previous one is committed
+      submitEvent(new CoordinatorEvent(CoordinatorEvent.CoordinatorEventType.END_COMMIT,
+              partition.topic(),
+              currentCommitTime),
+          RESTART_COMMIT_DELAY_MS, TimeUnit.MILLISECONDS);
+      return;
+    }
     try {
       kafkaControlClient.publishMessage(buildControlMessage(ControlMessage.EventType.END_COMMIT));
     } catch (Exception exception) {
       log.warn("Could not send END_COMMIT message for partition {} and commitTime {}",
           partition, currentCommitTime, exception);
     }
+    committingCommitTime = currentCommitTime;
+    committingNumPartitions = numPartitions;
+    partitionsWriteStatusReceived.clear();
     currentConsumedKafkaOffsets.clear();
     currentState = State.ENDED_COMMIT;
 
     // schedule a timeout for receiving all write statuses
     submitEvent(new CoordinatorEvent(CoordinatorEvent.CoordinatorEventType.WRITE_STATUS_TIMEOUT,
             partition.topic(),
-            currentCommitTime),
+            committingCommitTime),
         configs.getCoordinatorWriteTimeoutSecs(), TimeUnit.SECONDS);
+
+    // the pipeline is drained periodically to run the deferred table services,
+    // the next commit is started when the current one is acked.
+    if (pipelinedCommit && ++numCommitsSinceTableServices < tableServicesInterval) {
+      startNewCommit();
+    }
   }
 
   private void onReceiveWriteStatus(ControlMessage message) {
@@ -277,7 +325,7 @@ public class ConnectTransactionCoordinator implements TransactionCoordinator, Ru
     int partitionId = message.getSenderPartition();
     partitionsWriteStatusReceived.put(partitionId, KafkaConnectUtils.getWriteStatuses(participantInfo));
     currentConsumedKafkaOffsets.put(partitionId, participantInfo.getKafkaOffset());
-    if (partitionsWriteStatusReceived.size() >= numPartitions
+    if (partitionsWriteStatusReceived.size() >= committingNumPartitions
         && currentState.equals(State.ENDED_COMMIT)) {
       // Commit the kafka offsets to the commit file
       try {
@@ -289,20 +337,20 @@ public class ConnectTransactionCoordinator implements TransactionCoordinator, Ru
         boolean hasErrors = totalErrorRecords > 0;
 
         if (!hasErrors || configs.allowCommitOnErrors()) {
-          boolean success = transactionServices.endCommit(currentCommitTime,
+          boolean success = transactionServices.endCommit(committingCommitTime,
               allWriteStatuses,
               transformKafkaOffsets(currentConsumedKafkaOffsets));
 
           if (success) {
-            log.info("Commit {} successful!", currentCommitTime);
+            log.info("Commit {} successful!", committingCommitTime);
             currentState = State.WRITE_STATUS_RCVD;
             globalCommittedKafkaOffsets.putAll(currentConsumedKafkaOffsets);
             submitEvent(new CoordinatorEvent(CoordinatorEvent.CoordinatorEventType.ACK_COMMIT,
                 message.getTopicName(),
-                currentCommitTime));
+                committingCommitTime));
             return;
           } else {
-            log.error("Commit {} failed!", currentCommitTime);
+            log.error("Commit {} failed!", committingCommitTime);
           }
         } else if (hasErrors) {
           log.error("Coordinator found errors when writing. Errors/Total={}/{}", totalErrorRecords, totalRecords);
@@ -318,11 +366,8 @@ public class ConnectTransactionCoordinator implements TransactionCoordinator, Ru
         // Submit the next start commit, that will rollback the current commit.
         currentState = State.FAILED_COMMIT;
         log.warn("Current commit {} failed. Starting a new commit after recovery delay of {} {}",
-            currentCommitTime, RESTART_COMMIT_DELAY_MS, TimeUnit.MILLISECONDS.name());
-        submitEvent(new CoordinatorEvent(CoordinatorEvent.CoordinatorEventType.START_COMMIT,
-                partition.topic(),
-                StringUtils.EMPTY_STRING),
-            RESTART_COMMIT_DELAY_MS, TimeUnit.MILLISECONDS);
+            committingCommitTime, RESTART_COMMIT_DELAY_MS, TimeUnit.MILLISECONDS.name());
+        restartAfterFailedCommit();
       } catch (Exception exception) {
         log.error("Fatal error while committing file", exception);
       }
@@ -334,28 +379,56 @@ public class ConnectTransactionCoordinator implements TransactionCoordinator, Ru
     if (currentState.equals(State.ENDED_COMMIT)) {
       currentState = State.WRITE_STATUS_TIMEDOUT;
       log.warn("Current commit {} failed after a write status timeout. Starting a new commit after recovery delay of {} {}",
-          currentCommitTime, RESTART_COMMIT_DELAY_MS, TimeUnit.MILLISECONDS.name());
-      // Submit the next start commit
-      submitEvent(new CoordinatorEvent(CoordinatorEvent.CoordinatorEventType.START_COMMIT,
-              partition.topic(),
-              StringUtils.EMPTY_STRING),
-          RESTART_COMMIT_DELAY_MS, TimeUnit.MILLISECONDS);
+          committingCommitTime, RESTART_COMMIT_DELAY_MS, TimeUnit.MILLISECONDS.name());
+      restartAfterFailedCommit();
     }
   }
 
+  private void restartAfterFailedCommit() {
+    if (!currentCommitTime.equals(committingCommitTime)) {
+      // The pipelined commit contains the records after the failed commit, abort it
+      // so that the participants restart from the globally committed kafka offsets.
+      log.warn("Aborting the pipelined commit {} that is started after the failed commit {}", currentCommitTime, committingCommitTime);
+      transactionServices.abortCommit(currentCommitTime);
+      currentCommitTime = StringUtils.EMPTY_STRING;
+    }
+    committingCommitTime = StringUtils.EMPTY_STRING;
+    // Submit the next start commit
+    submitEvent(new CoordinatorEvent(CoordinatorEvent.CoordinatorEventType.START_COMMIT,
+            partition.topic(),
+            StringUtils.EMPTY_STRING),
+        RESTART_COMMIT_DELAY_MS, TimeUnit.MILLISECONDS);
+  }
+
   private void submitAckCommit() {
     try {
-      kafkaControlClient.publishMessage(buildControlMessage(ControlMessage.EventType.ACK_COMMIT));
+      kafkaControlClient.publishMessage(buildControlMessage(ControlMessage.EventType.ACK_COMMIT, committingCommitTime, StringUtils.EMPTY_STRING));
     } catch (Exception exception) {
-      log.warn("Could not send ACK_COMMIT message for partition {} and commitTime {}", partition, currentCommitTime, exception);
+      log.warn("Could not send ACK_COMMIT message for partition {} and commitTime {}", partition, committingCommitTime, exception);
     }
     currentState = State.ACKED_COMMIT;
+    boolean hasInflightCommit = pipelinedCommit && !currentCommitTime.equals(committingCommitTime);
+    committingCommitTime = StringUtils.EMPTY_STRING;
 
-    // Submit the next start commit
-    submitEvent(new CoordinatorEvent(CoordinatorEvent.CoordinatorEventType.START_COMMIT,
-            partition.topic(),
-            StringUtils.EMPTY_STRING),
-        START_COMMIT_INIT_DELAY_MS, TimeUnit.MILLISECONDS);
+    if (!hasInflightCommit) {
+      if (pipelinedCommit) {
+        runTableServices();
+      }
+      // Submit the next start commit, the pipelined commit has been started when the current commit ends.
+      submitEvent(new CoordinatorEvent(CoordinatorEvent.CoordinatorEventType.START_COMMIT,
+              partition.topic(),
+              StringUtils.EMPTY_STRING),
+          START_COMMIT_INIT_DELAY_MS, TimeUnit.MILLISECONDS);
+    }
+  }
+
+  private void runTableServices() {
+    try {
+      transactionServices.runTableServices();
+    } catch (Exception exception) {
+      log.warn("Failed to run the table services after commit {}", currentCommitTime, exception);
+    }
+    numCommitsSinceTableServices = 0;
   }
 
   private void initializeGlobalCommittedKafkaOffsets() {
@@ -403,6 +476,10 @@ public class ConnectTransactionCoordinator implements TransactionCoordinator, Ru
   }
 
   private ControlMessage buildControlMessage(ControlMessage.EventType eventType) {
+    return buildControlMessage(eventType, currentCommitTime, StringUtils.EMPTY_STRING);
+  }
+
+  private ControlMessage buildControlMessage(ControlMessage.EventType eventType, String commitTime, String previousCommitTime) {
     return ControlMessage.newBuilder()
         .setProtocolVersion(KafkaConnectConfigs.CURRENT_PROTOCOL_VERSION)
         .setType(eventType)
@@ -410,10 +487,11 @@ public class ConnectTransactionCoordinator implements TransactionCoordinator, Ru
         .setSenderType(ControlMessage.EntityType.COORDINATOR)
         .setSenderPartition(partition.partition())
         .setReceiverType(ControlMessage.EntityType.PARTICIPANT)
-        .setCommitTime(currentCommitTime)
+        .setCommitTime(commitTime)
         .setCoordinatorInfo(
             ControlMessage.CoordinatorInfo.newBuilder()
                 .putAllGlobalKafkaCommitOffsets(globalCommittedKafkaOffsets)
+                .setPreviousCommitTime(previousCommitTime)
                 .build()
         ).build();
   }
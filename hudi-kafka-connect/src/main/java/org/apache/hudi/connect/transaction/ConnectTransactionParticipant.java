@@ -35,6 +35,7 @@ import org.apache.kafka.connect.sink.SinkRecord;
 import org.apache.kafka.connect.sink.SinkTaskContext;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
@@ -43,6 +44,11 @@ import java.util.concurrent.LinkedBlockingQueue;
 /**
  * Implementation of the {@link TransactionParticipant} that coordinates the Hudi write transactions
  * based on events from the {@link TransactionCoordinator} and manages the Hudi Writes for a specific Kafka Partition.
+ *
+ * <p>After END_COMMIT the transaction waits for the ACK_COMMIT as the committing transaction, a pipelined
+ * START_COMMIT whose previous commit is the committing transaction continues writing from the kafka offset
+ * where the committing transaction ends, any other START_COMMIT discards both transactions and restarts from
+ * the kafka offset committed by the coordinator.
  */
 @Slf4j
 public class ConnectTransactionParticipant implements TransactionParticipant {
@@ -56,6 +62,8 @@ public class ConnectTransactionParticipant implements TransactionParticipant {
   private final ConnectWriterProvider<WriteStatus> writerProvider;
 
   private TransactionInfo<WriteStatus> ongoingTransactionInfo;
+  // the transaction that has been ended and waits for the ACK_COMMIT
+  private TransactionInfo<WriteStatus> committingTransactionInfo;
   private long committedKafkaOffset;
 
   public ConnectTransactionParticipant(KafkaConnectConfigs configs,
@@ -76,6 +84,7 @@ public class ConnectTransactionParticipant implements TransactionParticipant {
     this.writerProvider = writerProvider;
     this.kafkaControlAgent = kafkaControlAgent;
     this.ongoingTransactionInfo = null;
+    this.committingTransactionInfo = null;
     this.committedKafkaOffset = 0;
   }
 
@@ -89,6 +98,7 @@ public class ConnectTransactionParticipant implements TransactionParticipant {
   @Override
   public void stop() {
     this.kafkaControlAgent.deregisterTransactionParticipant(this);
+    committingTransactionInfo = null;
     cleanupOngoingTransaction();
   }
 
@@ -137,14 +147,25 @@ public class ConnectTransactionParticipant implements TransactionParticipant {
     // but it failed globally since we received another START_COMMIT instead of an END_COMMIT or ACK_COMMIT,
     // so close it and start new transaction
     cleanupOngoingTransaction();
-    // Resync the last committed Kafka offset from the leader
-    syncKafkaOffsetWithLeader(message);
+    long startKafkaOffset;
+    String previousCommitTime = message.getCoordinatorInfo().getPreviousCommitTime();
+    if (committingTransactionInfo != null && committingTransactionInfo.getCommitTime().equals(previousCommitTime)) {
+      // Pipelined commit, continue from where the committing transaction ends,
+      // the committed offset is updated once the committing transaction is acked.
+      startKafkaOffset = committingTransactionInfo.getExpectedKafkaOffset();
+    } else {
+      // The committing transaction, if any, failed globally
+      committingTransactionInfo = null;
+      // Resync the last committed Kafka offset from the leader
+      syncKafkaOffsetWithLeader(message);
+      startKafkaOffset = committedKafkaOffset;
+    }
     context.resume(partition);
     String currentCommitTime = message.getCommitTime();
-    log.info("Started a new transaction after receiving START_COMMIT for commit {}", currentCommitTime);
+    log.info("Started a new transaction after receiving START_COMMIT for commit {} from kafka offset {}", currentCommitTime, startKafkaOffset);
     try {
       ongoingTransactionInfo = new TransactionInfo<>(currentCommitTime, writerProvider.getWriter(currentCommitTime));
-      ongoingTransactionInfo.setExpectedKafkaOffset(committedKafkaOffset);
+      ongoingTransactionInfo.setExpectedKafkaOffset(startKafkaOffset);
     } catch (Exception exception) {
       log.warn("Failed to start a new transaction", exception);
     }
@@ -188,6 +209,9 @@ public class ConnectTransactionParticipant implements TransactionParticipant {
           ).build();
 
       kafkaControlAgent.publishMessage(writeStatusEvent);
+      // the writer is closed, wait for the ACK_COMMIT as the committing transaction
+      committingTransactionInfo = ongoingTransactionInfo;
+      ongoingTransactionInfo = null;
     } catch (Exception exception) {
       log.error("Error writing records and ending commit {} for partition {}", message.getCommitTime(), partition.partition(), exception);
       throw new HoodieIOException(String.format("Error writing records and ending commit %s for partition %s", message.getCommitTime(), partition.partition()),
@@ -196,36 +220,72 @@ public class ConnectTransactionParticipant implements TransactionParticipant {
   }
 
   private void handleAckCommit(ControlMessage message) {
-    // Update committedKafkaOffset that tracks the last committed kafka offset locally.
-    if (ongoingTransactionInfo != null && committedKafkaOffset < ongoingTransactionInfo.getExpectedKafkaOffset()) {
-      committedKafkaOffset = ongoingTransactionInfo.getExpectedKafkaOffset();
+    if (committingTransactionInfo != null && committingTransactionInfo.getCommitTime().equals(message.getCommitTime())) {
+      // Update committedKafkaOffset that tracks the last committed kafka offset locally.
+      if (committedKafkaOffset < committingTransactionInfo.getExpectedKafkaOffset()) {
+        committedKafkaOffset = committingTransactionInfo.getExpectedKafkaOffset();
+      }
+      committingTransactionInfo = null;
+    } else if (ongoingTransactionInfo != null && ongoingTransactionInfo.getCommitTime().equals(message.getCommitTime())) {
+      // ACK_COMMIT for an ongoing transaction that never ended locally
+      cleanupOngoingTransaction();
     }
     syncKafkaOffsetWithLeader(message);
-    cleanupOngoingTransaction();
   }
 
   private void writeRecords() {
     if (ongoingTransactionInfo != null && !ongoingTransactionInfo.isCommitInitiated()) {
+      // collects the records with contiguous kafka offsets so that they are converted and written as one batch
+      List<SinkRecord> batch = new ArrayList<>(buffer.size());
       while (!buffer.isEmpty()) {
-        try {
-          SinkRecord record = buffer.peek();
-          if (record != null
-              && record.kafkaOffset() == ongoingTransactionInfo.getExpectedKafkaOffset()) {
-            ongoingTransactionInfo.getWriter().writeRecord(record);
-            ongoingTransactionInfo.setExpectedKafkaOffset(record.kafkaOffset() + 1);
-          } else if (record != null && record.kafkaOffset() > ongoingTransactionInfo.getExpectedKafkaOffset()) {
-            log.warn("Received a kafka record with offset {} above the next expected kafka offset {} for partition {}. "
-                + "Resetting the kafka offset to {}", record.kafkaOffset(), ongoingTransactionInfo.getExpectedKafkaOffset(), partition, ongoingTransactionInfo.getExpectedKafkaOffset());
-            context.offset(partition, ongoingTransactionInfo.getExpectedKafkaOffset());
-          } else if (record != null && record.kafkaOffset() < ongoingTransactionInfo.getExpectedKafkaOffset()) {
-            log.info("Received a kafka record with offset {} below the next expected kafka offset {} for partition {}. "
-                + "No action will be taken but this record will be ignored since its already written", record.kafkaOffset(), ongoingTransactionInfo.getExpectedKafkaOffset(), partition);
-          }
-          buffer.poll();
-        } catch (Exception exception) {
-          log.warn("Failed to write records for transaction [{}] in partition [{}]",
-              ongoingTransactionInfo.getCommitTime(), partition.partition(), exception);
+        SinkRecord record = buffer.poll();
+        if (record == null) {
+          continue;
+        }
+        if (record.kafkaOffset() == ongoingTransactionInfo.getExpectedKafkaOffset()) {
+          batch.add(record);
+          ongoingTransactionInfo.setExpectedKafkaOffset(record.kafkaOffset() + 1);
+        } else if (record.kafkaOffset() > ongoingTransactionInfo.getExpectedKafkaOffset()) {
+          log.warn("Received a kafka record with offset {} above the next expected kafka offset {} for partition {}. "
+              + "Resetting the kafka offset to {}", record.kafkaOffset(), ongoingTransactionInfo.getExpectedKafkaOffset(), partition, ongoingTransactionInfo.getExpectedKafkaOffset());
+          context.offset(partition, ongoingTransactionInfo.getExpectedKafkaOffset());
+        } else {
+          log.info("Received a kafka record with offset {} below the next expected kafka offset {} for partition {}. "
+              + "No action will be taken but this record will be ignored since its already written", record.kafkaOffset(), ongoingTransactionInfo.getExpectedKafkaOffset(), partition);
+        }
+      }
+      writeBatch(batch);
+    }
+  }
+
+  /**
+   * Writes the batch of records, falls back to writing the records one by one if the batch fails.
+   * The records starting from the first failed one are put back to the buffer to retry on the next round.
+   */
+  private void writeBatch(List<SinkRecord> batch) {
+    if (batch.isEmpty()) {
+      return;
+    }
+    try {
+      ongoingTransactionInfo.getWriter().writeRecords(batch);
+      return;
+    } catch (Exception exception) {
+      log.warn("Failed to write a batch of {} records for transaction [{}] in partition [{}], write the records one by one",
+          batch.size(), ongoingTransactionInfo.getCommitTime(), partition.partition(), exception);
+    }
+    for (int i = 0; i < batch.size(); i++) {
+      SinkRecord record = batch.get(i);
+      try {
+        ongoingTransactionInfo.getWriter().writeRecord(record);
+      } catch (Exception exception) {
+        log.warn("Failed to write records for transaction [{}] in partition [{}]",
+            ongoingTransactionInfo.getCommitTime(), partition.partition(), exception);
+        ongoingTransactionInfo.setExpectedKafkaOffset(record.kafkaOffset());
+        List<SinkRecord> remaining = batch.subList(i, batch.size());
+        for (int j = remaining.size() - 1; j >= 0; j--) {
+          buffer.addFirst(remaining.get(j));
         }
+        return;
       }
     }
   }
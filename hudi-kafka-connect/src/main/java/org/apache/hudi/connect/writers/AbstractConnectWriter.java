@@ -35,6 +35,7 @@ import org.apache.kafka.connect.sink.SinkRecord;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -75,6 +76,23 @@ public abstract class AbstractConnectWriter implements ConnectWriter<WriteStatus
 
   @Override
   public void writeRecord(SinkRecord record) throws IOException {
+    writeHudiRecord(toHoodieRecord(record));
+  }
+
+  /**
+   * Converts the whole batch before handing it over to the derived writers,
+   * so that they can deduplicate and buffer the records in bulk.
+   */
+  @Override
+  public void writeRecords(List<SinkRecord> records) throws IOException {
+    List<HoodieRecord<?>> hoodieRecords = new ArrayList<>(records.size());
+    for (SinkRecord record : records) {
+      hoodieRecords.add(toHoodieRecord(record));
+    }
+    writeHudiRecords(hoodieRecords);
+  }
+
+  private HoodieRecord<?> toHoodieRecord(SinkRecord record) throws IOException {
     Option<GenericRecord> avroRecord;
     switch (kafkaValueConverter) {
       case KAFKA_AVRO_CONVERTER:
@@ -104,7 +122,7 @@ public abstract class AbstractConnectWriter implements ConnectWriter<WriteStatus
     hoodieRecord.setCurrentLocation(new HoodieRecordLocation(instantTime, fileId));
     hoodieRecord.setNewLocation(new HoodieRecordLocation(instantTime, fileId));
     hoodieRecord.seal();
-    writeHudiRecord(hoodieRecord);
+    return hoodieRecord;
   }
 
   @Override
@@ -114,5 +132,12 @@ public abstract class AbstractConnectWriter implements ConnectWriter<WriteStatus
 
   protected abstract void writeHudiRecord(HoodieRecord<?> record);
 
+  /**
+   * Writes a batch of converted records, in the order of the kafka offsets.
+   */
+  protected void writeHudiRecords(List<HoodieRecord<?>> records) {
+    records.forEach(this::writeHudiRecord);
+  }
+
   protected abstract List<WriteStatus> flushRecords();
 }
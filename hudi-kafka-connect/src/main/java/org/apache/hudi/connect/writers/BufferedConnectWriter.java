@@ -40,15 +40,24 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Specific implementation of a Hudi Writer that buffers all incoming records,
  * and writes them to Hudi files on the end of a transaction using Bulk Insert.
+ *
+ * <p>The records are deduplicated by record key per batch before buffering,
+ * and sorted by partition path and record key before the bulk insert.
  */
 @Slf4j
 public class BufferedConnectWriter extends AbstractConnectWriter {
 
+  private static final Comparator<HoodieRecord<?>> RECORD_COMPARATOR =
+      Comparator.<HoodieRecord<?>, String>comparing(HoodieRecord::getPartitionPath).thenComparing(HoodieRecord::getRecordKey);
+
   private final HoodieEngineContext context;
   private final HoodieJavaWriteClient writeClient;
   private final HoodieWriteConfig config;
@@ -91,6 +100,17 @@ public class BufferedConnectWriter extends AbstractConnectWriter {
     bufferedRecords.put(record.getRecordKey(), record);
   }
 
+  @Override
+  public void writeHudiRecords(List<HoodieRecord<?>> records) {
+    // deduplicate the batch in memory first, the latest record of each key wins,
+    // so that the superseded records never go through the spillable map.
+    Map<String, HoodieRecord<?>> latestRecords = new HashMap<>(records.size() * 2);
+    for (HoodieRecord<?> record : records) {
+      latestRecords.put(record.getRecordKey(), record);
+    }
+    latestRecords.forEach(bufferedRecords::put);
+  }
+
   @Override
   public List<WriteStatus> flushRecords() {
     try {
@@ -106,14 +126,13 @@ public class BufferedConnectWriter extends AbstractConnectWriter {
 
       // Write out all records if non-empty
       if (!bufferedRecords.isEmpty()) {
+        List<HoodieRecord<?>> records = new ArrayList<>(bufferedRecords.values());
         if (isMorTable) {
-          writeStatuses = writeClient.upsertPreppedRecords(
-              new ArrayList<>(bufferedRecords.values()),
-              instantTime);
+          writeStatuses = writeClient.upsertPreppedRecords(records, instantTime);
         } else {
-          writeStatuses = writeClient.bulkInsertPreppedRecords(
-              new ArrayList<>(bufferedRecords.values()),
-              instantTime, Option.empty());
+          // pre-sort the records so that the bulk inserted files are ordered by record key within each partition
+          records.sort(RECORD_COMPARATOR);
+          writeStatuses = writeClient.bulkInsertPreppedRecords(records, instantTime, Option.empty());
         }
       }
       bufferedRecords.close();
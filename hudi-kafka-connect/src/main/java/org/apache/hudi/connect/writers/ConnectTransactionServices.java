@@ -35,4 +35,19 @@ public interface ConnectTransactionServices {
   boolean endCommit(String commitTime, List<WriteStatus> writeStatuses, Map<String, String> extraMetadata);
 
   Map<String, String> fetchLatestExtraCommitMetadata();
+
+  /**
+   * Aborts a started commit that is never going to be ended, e.g. the pipelined commit
+   * that is started while its previous commit fails.
+   */
+  default void abortCommit(String commitTime) {
+    // no-op by default
+  }
+
+  /**
+   * Runs the table services deferred by the pipelined commits, it is called when no commit is inflight.
+   */
+  default void runTableServices() {
+    // no-op by default
+  }
 }
@@ -27,5 +27,14 @@ public interface ConnectWriter<T> {
 
   void writeRecord(SinkRecord record) throws IOException;
 
+  /**
+   * Writes a batch of records with contiguous kafka offsets, the records are written one by one by default.
+   */
+  default void writeRecords(List<SinkRecord> records) throws IOException {
+    for (SinkRecord record : records) {
+      writeRecord(record);
+    }
+  }
+
   List<T> close();
 }
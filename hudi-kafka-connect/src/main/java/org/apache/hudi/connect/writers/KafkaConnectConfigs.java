@@ -83,6 +83,23 @@ public class KafkaConnectConfigs extends HoodieConfig {
       .markAdvanced()
       .withDocumentation("Controls whether async compaction should be turned on for MOR table writing.");
 
+  public static final ConfigProperty<Boolean> PIPELINED_COMMIT_ENABLE = ConfigProperty
+      .key("hoodie.kafka.commit.pipelined.enable")
+      .defaultValue(false)
+      .markAdvanced()
+      .withDocumentation("Controls whether the participants keep writing the next commit while the previous commit "
+          + "is being committed by the coordinator. At most one commit is being committed at a time, "
+          + "the next commit is ended only after the previous one is acked, and it is aborted if the previous one fails. "
+          + "A lock provider must be configured with `hoodie.write.lock.provider`, since the commits overlap.");
+
+  public static final ConfigProperty<Integer> PIPELINED_COMMIT_TABLE_SERVICES_INTERVAL = ConfigProperty
+      .key("hoodie.kafka.commit.pipelined.table.services.interval")
+      .defaultValue(10)
+      .markAdvanced()
+      .withDocumentation("With pipelined commits, the number of commits after which the coordinator does not start the next commit "
+          + "until the current one is committed, so that the table services, i.e. clean, archive and the scheduling of "
+          + "compaction and clustering, run with no commit inflight. The table services are deferred in between.");
+
   public static final ConfigProperty<String> META_SYNC_ENABLE = ConfigProperty
       .key("hoodie.meta.sync.enable")
       .defaultValue("false")
@@ -154,6 +171,14 @@ public class KafkaConnectConfigs extends HoodieConfig {
     return getBoolean(ASYNC_COMPACT_ENABLE);
   }
 
+  public Boolean isPipelinedCommitEnabled() {
+    return getBoolean(PIPELINED_COMMIT_ENABLE);
+  }
+
+  public Integer getPipelinedCommitTableServicesInterval() {
+    return getInt(PIPELINED_COMMIT_TABLE_SERVICES_INTERVAL);
+  }
+
   public Boolean isMetaSyncEnabled() {
     return getBoolean(META_SYNC_ENABLE);
   }
@@ -214,6 +239,16 @@ public class KafkaConnectConfigs extends HoodieConfig {
       return this;
     }
 
+    public Builder withPipelinedCommitEnabled(Boolean pipelinedCommitEnabled) {
+      connectConfigs.setValue(PIPELINED_COMMIT_ENABLE, String.valueOf(pipelinedCommitEnabled));
+      return this;
+    }
+
+    public Builder withPipelinedCommitTableServicesInterval(Integer tableServicesInterval) {
+      connectConfigs.setValue(PIPELINED_COMMIT_TABLE_SERVICES_INTERVAL, String.valueOf(tableServicesInterval));
+      return this;
+    }
+
     public Builder withAllowCommitOnErrors(Boolean allowCommitOnErrors) {
       connectConfigs.setValue(ALLOW_COMMIT_ON_ERRORS, String.valueOf(allowCommitOnErrors));
       return this;
@@ -25,10 +25,15 @@ import org.apache.hudi.common.engine.EngineType;
 import org.apache.hudi.common.engine.HoodieEngineContext;
 import org.apache.hudi.common.model.HoodieAvroPayload;
 import org.apache.hudi.common.model.HoodieCommitMetadata;
+import org.apache.hudi.common.model.HoodieFailedWritesCleaningPolicy;
 import org.apache.hudi.common.model.HoodieTableType;
 import org.apache.hudi.common.table.HoodieTableConfig;
 import org.apache.hudi.common.table.HoodieTableMetaClient;
 import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.ValidationUtils;
+import org.apache.hudi.config.HoodieArchivalConfig;
+import org.apache.hudi.config.HoodieCleanConfig;
+import org.apache.hudi.config.HoodieLockConfig;
 import org.apache.hudi.config.HoodieWriteConfig;
 import org.apache.hudi.connect.transaction.TransactionCoordinator;
 import org.apache.hudi.connect.utils.KafkaConnectUtils;
@@ -72,10 +77,28 @@ public class KafkaConnectTransactionServices implements ConnectTransactionServic
   public KafkaConnectTransactionServices(KafkaConnectConfigs connectConfigs) throws HoodieException {
     this.connectConfigs = connectConfigs;
     // This is the writeConfig for the Transaction Coordinator
-    this.writeConfig = HoodieWriteConfig.newBuilder()
+    HoodieWriteConfig.Builder writeConfigBuilder = HoodieWriteConfig.newBuilder()
         .withEngineType(EngineType.JAVA)
-        .withProperties(connectConfigs.getProps())
-        .build();
+        .withProperties(connectConfigs.getProps());
+    if (connectConfigs.isPipelinedCommitEnabled()) {
+      // the commit being committed is still inflight when the next commit starts,
+      // it should not be rolled back eagerly as a failed write.
+      // the table services are deferred until no commit is inflight, see #runTableServices.
+      writeConfigBuilder
+          .withCleanConfig(HoodieCleanConfig.newBuilder()
+              .fromProperties(connectConfigs.getProps())
+              .withFailedWritesCleaningPolicy(HoodieFailedWritesCleaningPolicy.LAZY)
+              .withAutoClean(false)
+              .build())
+          .withArchivalConfig(HoodieArchivalConfig.newBuilder()
+              .fromProperties(connectConfigs.getProps())
+              .withAutoArchive(false)
+              .build());
+    }
+    this.writeConfig = writeConfigBuilder.build();
+    ValidationUtils.checkArgument(!connectConfigs.isPipelinedCommitEnabled() || writeConfig.getLockProviderClass() != null,
+        () -> String.format("The pipelined commits overlap, a lock provider must be configured with %s when %s is enabled",
+            HoodieLockConfig.LOCK_PROVIDER_CLASS_NAME.key(), KafkaConnectConfigs.PIPELINED_COMMIT_ENABLE.key()));
 
     tableBasePath = writeConfig.getBasePath();
     tableName = writeConfig.getTableName();
@@ -122,21 +145,56 @@ public class KafkaConnectTransactionServices implements ConnectTransactionServic
     boolean success = javaClient.commit(commitTime, writeStatuses, Option.of(extraMetadata));
     if (success) {
       log.info("Ending Hudi commit {}", commitTime);
-
-      // Schedule clustering and compaction as needed.
-      if (writeConfig.isAsyncClusteringEnabled()) {
-        javaClient.scheduleClustering(Option.empty()).ifPresent(
-            instantTs -> log.info("Scheduled clustering at instant time:{}", instantTs));
-      }
-      if (isAsyncCompactionEnabled()) {
-        javaClient.scheduleCompaction(Option.empty()).ifPresent(
-            instantTs -> log.info("Scheduled compaction at instant time:{}", instantTs));
+      // With pipelined commits the next commit is inflight, the table services are deferred.
+      if (!connectConfigs.isPipelinedCommitEnabled()) {
+        scheduleTableServices();
       }
       syncMeta();
     }
     return success;
   }
 
+  @Override
+  public void abortCommit(String commitTime) {
+    javaClient.releaseResources(commitTime);
+    try {
+      javaClient.rollback(commitTime);
+      log.info("Aborted Hudi commit {}", commitTime);
+    } catch (Exception exception) {
+      // the heartbeat is stopped, the commit is rolled back lazily as a failed write
+      log.warn("Failed to roll back the aborted Hudi commit {}", commitTime, exception);
+    }
+  }
+
+  @Override
+  public void runTableServices() {
+    if (!connectConfigs.isPipelinedCommitEnabled()) {
+      return;
+    }
+    // the write config turns off the inline services, the user settings are honored here
+    if (connectConfigs.getBooleanOrDefault(HoodieCleanConfig.AUTO_CLEAN)) {
+      javaClient.clean();
+    }
+    if (connectConfigs.getBooleanOrDefault(HoodieArchivalConfig.AUTO_ARCHIVE)) {
+      javaClient.archive();
+    }
+    scheduleTableServices();
+  }
+
+  /**
+   * Schedules clustering and compaction as needed.
+   */
+  private void scheduleTableServices() {
+    if (writeConfig.isAsyncClusteringEnabled()) {
+      javaClient.scheduleClustering(Option.empty()).ifPresent(
+          instantTs -> log.info("Scheduled clustering at instant time:{}", instantTs));
+    }
+    if (isAsyncCompactionEnabled()) {
+      javaClient.scheduleCompaction(Option.empty()).ifPresent(
+          instantTs -> log.info("Scheduled compaction at instant time:{}", instantTs));
+    }
+  }
+
   @Override
   public Map<String, String> fetchLatestExtraCommitMetadata() {
     if (tableMetaClient.isPresent()) {
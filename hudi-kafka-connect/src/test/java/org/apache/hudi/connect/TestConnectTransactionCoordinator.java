@@ -21,6 +21,8 @@ package org.apache.hudi.connect;
 import org.apache.hudi.client.WriteStatus;
 import org.apache.hudi.common.model.HoodieRecord;
 import org.apache.hudi.common.util.Option;
+import org.apache.hudi.config.HoodieLockConfig;
+import org.apache.hudi.config.HoodieWriteConfig;
 import org.apache.hudi.connect.transaction.ConnectTransactionCoordinator;
 import org.apache.hudi.connect.transaction.TransactionCoordinator;
 import org.apache.hudi.connect.transaction.TransactionParticipant;
@@ -34,6 +36,7 @@ import lombok.Getter;
 import org.apache.kafka.common.TopicPartition;
 import org.apache.kafka.connect.sink.SinkRecord;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
@@ -46,6 +49,9 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 
 public class TestConnectTransactionCoordinator {
@@ -101,6 +107,191 @@ public class TestConnectTransactionCoordinator {
     participant.stop();
   }
 
+  @Test
+  public void testPipelinedCommit() throws InterruptedException {
+    PipelinedMockParticipant pipelinedParticipant = runPipelinedCommits(3, -1);
+
+    // the pipeline is drained every 3 commits to run the deferred table services
+    assertTrue(transactionServices.getNumTableServicesRuns() >= 1);
+    assertTrue(pipelinedParticipant.getNumDrainedCommits() >= 1);
+    assertTrue(transactionServices.getAbortedCommits().isEmpty());
+  }
+
+  @Test
+  public void testPipelinedCommitFailureWithInflightCommit() throws InterruptedException {
+    // the second commit fails while the third one is inflight
+    PipelinedMockParticipant pipelinedParticipant = runPipelinedCommits(Integer.MAX_VALUE, 2);
+
+    assertEquals(Collections.singletonList(pipelinedParticipant.getInflightCommitOfFailure()), transactionServices.getAbortedCommits());
+    assertEquals(0, transactionServices.getNumTableServicesRuns());
+  }
+
+  @Test
+  public void testPipelinedCommitRequiresLockProvider() {
+    Map<String, String> props = new HashMap<>();
+    props.put(HoodieWriteConfig.BASE_PATH.key(), "/tmp/" + TOPIC_NAME);
+    props.put(HoodieWriteConfig.TBL_NAME.key(), TOPIC_NAME);
+    KafkaConnectConfigs pipelinedConfigs = KafkaConnectConfigs.newBuilder()
+        .withPipelinedCommitEnabled(true)
+        .withProperties(props)
+        .build();
+    IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> new ConnectTransactionCoordinator(pipelinedConfigs, new TopicPartition(TOPIC_NAME, 0), new MockKafkaControlAgent()));
+    assertTrue(exception.getMessage().contains(HoodieLockConfig.LOCK_PROVIDER_CLASS_NAME.key()));
+  }
+
+  private PipelinedMockParticipant runPipelinedCommits(int tableServicesInterval, int failedCommitRound) throws InterruptedException {
+    kafkaControlAgent = new MockKafkaControlAgent();
+    PipelinedMockParticipant pipelinedParticipant = new PipelinedMockParticipant(
+        kafkaControlAgent, latch, MAX_COMMIT_ROUNDS, tableServicesInterval, failedCommitRound);
+    pipelinedParticipant.start();
+
+    configs = KafkaConnectConfigs.newBuilder()
+        .withCommitIntervalSecs(1L)
+        .withCoordinatorWriteTimeoutSecs(1L)
+        .withAllowCommitOnErrors(false)
+        .withPipelinedCommitEnabled(true)
+        .withPipelinedCommitTableServicesInterval(tableServicesInterval)
+        .build();
+
+    TransactionCoordinator coordinator = new ConnectTransactionCoordinator(
+        configs,
+        new TopicPartition(TOPIC_NAME, 0),
+        kafkaControlAgent,
+        transactionServices,
+        (bootstrapServers, topicName) -> TOTAL_KAFKA_PARTITIONS);
+    coordinator.start();
+
+    latch.await(TEST_TIMEOUT_SECS, TimeUnit.SECONDS);
+
+    if (latch.getCount() > 0) {
+      throw new HoodieException("Test timedout resulting in failure");
+    }
+    coordinator.stop();
+    pipelinedParticipant.stop();
+    return pipelinedParticipant;
+  }
+
+  /**
+   * A mock Transaction Participant that validates the pipelined commits, the next commit
+   * should start right after the current commit ends, before the current commit is acked,
+   * except for the commits that drain the pipeline for the table services or fail.
+   */
+  private static class PipelinedMockParticipant implements TransactionParticipant {
+
+    private final MockKafkaControlAgent kafkaControlAgent;
+    @Getter
+    private final TopicPartition partition;
+    private final CountDownLatch latch;
+    private final int maxNumberCommitRounds;
+    private final int tableServicesInterval;
+    private final int failedCommitRound;
+
+    private String startedCommitTime = "";
+    private String endedCommitTime = "";
+    private long kafkaOffset;
+    private long committedKafkaOffset;
+    private int numberEndedCommits;
+    private int numberCommitsSinceDrain;
+    private int numberAckedCommits;
+    private boolean failed;
+    @Getter
+    private volatile int numDrainedCommits;
+    @Getter
+    private volatile String inflightCommitOfFailure;
+
+    public PipelinedMockParticipant(MockKafkaControlAgent kafkaControlAgent, CountDownLatch latch, int maxNumberCommitRounds,
+                                    int tableServicesInterval, int failedCommitRound) {
+      this.kafkaControlAgent = kafkaControlAgent;
+      this.latch = latch;
+      this.maxNumberCommitRounds = maxNumberCommitRounds;
+      this.tableServicesInterval = tableServicesInterval;
+      this.failedCommitRound = failedCommitRound;
+      this.partition = new TopicPartition(TOPIC_NAME, (TOTAL_KAFKA_PARTITIONS - 1));
+    }
+
+    @Override
+    public void start() {
+      kafkaControlAgent.registerTransactionParticipant(this);
+    }
+
+    @Override
+    public void stop() {
+      kafkaControlAgent.deregisterTransactionParticipant(this);
+    }
+
+    @Override
+    public void buffer(SinkRecord record) {
+    }
+
+    @Override
+    public void processRecords() {
+    }
+
+    @Override
+    public void processControlEvent(ControlMessage message) {
+      switch (message.getType()) {
+        case START_COMMIT:
+          String previousCommitTime = message.getCoordinatorInfo().getPreviousCommitTime();
+          if (failed && previousCommitTime.isEmpty()) {
+            // the commit started while the failed commit is committing is aborted,
+            // the coordinator restarts without pipelining from the committed offsets
+            inflightCommitOfFailure = startedCommitTime;
+            failed = false;
+            endedCommitTime = "";
+            kafkaOffset = committedKafkaOffset;
+          } else {
+            // the commits are pipelined after the ended commit, unless the pipeline is drained
+            assertEquals(endedCommitTime, previousCommitTime);
+          }
+          startedCommitTime = message.getCommitTime();
+          break;
+        case END_COMMIT:
+          assertEquals(startedCommitTime, message.getCommitTime());
+          // the previous commit should have been acked
+          assertEquals("", endedCommitTime);
+          endedCommitTime = message.getCommitTime();
+          numberCommitsSinceDrain++;
+          failed = ++numberEndedCommits == failedCommitRound;
+          kafkaOffset += 100;
+          for (int i = 1; i <= TOTAL_KAFKA_PARTITIONS; i++) {
+            try {
+              kafkaControlAgent.publishMessage(MockParticipant.composeWriteStatusResponse(
+                  endedCommitTime, new TopicPartition(TOPIC_NAME, i), kafkaOffset, failed, false));
+            } catch (Exception exception) {
+              throw new HoodieException("Fatal error sending control event to Coordinator");
+            }
+          }
+          break;
+        case ACK_COMMIT:
+          assertEquals(endedCommitTime, message.getCommitTime());
+          assertEquals(kafkaOffset, message.getCoordinatorInfo().getGlobalKafkaCommitOffsetsMap().get(1));
+          committedKafkaOffset = kafkaOffset;
+          if (numberCommitsSinceDrain >= tableServicesInterval) {
+            // the next commit is started after the table services run
+            assertEquals(startedCommitTime, endedCommitTime);
+            numberCommitsSinceDrain = 0;
+            numDrainedCommits++;
+          } else {
+            // the pipelined commit has been started before the ack
+            assertNotEquals(startedCommitTime, endedCommitTime);
+          }
+          endedCommitTime = "";
+          if (++numberAckedCommits >= maxNumberCommitRounds) {
+            latch.countDown();
+          }
+          break;
+        default:
+          throw new HoodieException("Illegal control message type " + message.getType());
+      }
+    }
+
+    @Override
+    public long getLastKafkaCommittedOffset() {
+      return 0;
+    }
+  }
+
   /**
    * A mock Transaction Participant, that exercises all the test scenarios
    * for the coordinator as mentioned in {@link TestScenarios}.
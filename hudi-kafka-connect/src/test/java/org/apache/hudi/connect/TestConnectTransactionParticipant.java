@@ -31,6 +31,7 @@ import org.apache.hudi.helper.TestHudiWriterProvider;
 import lombok.Getter;
 import org.apache.kafka.common.TopicPartition;
 import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
@@ -136,6 +137,32 @@ public class TestConnectTransactionParticipant {
     }
   }
 
+  @Test
+  public void testPipelinedCommit() {
+    triggerAndProcessStartCommit();
+    triggerAndProcessEndCommit();
+    // the next commit starts while the previous commit is not acked yet
+    mockCoordinator.sendPipelinedStartCommit();
+    mockKafkaConnect.publishBatchRecordsToParticipant(NUM_RECORDS_BATCH);
+    assertTrue(mockKafkaConnect.isResumed());
+    // continue writing from where the previous commit ends
+    assertEquals(NUM_RECORDS_BATCH, testHudiWriterProvider.getLatestNumberWrites());
+    assertEquals(0, participant.getLastKafkaCommittedOffset());
+
+    // ack the previous commit while the current commit is still writing
+    mockCoordinator.sendEventFromCoordinator(ControlMessage.EventType.ACK_COMMIT, -1);
+    mockKafkaConnect.publishBatchRecordsToParticipant(0);
+    assertTrue(mockKafkaConnect.isResumed());
+    assertEquals(NUM_RECORDS_BATCH, participant.getLastKafkaCommittedOffset());
+
+    triggerAndProcessEndCommit();
+    triggerAndProcessAckCommit();
+    assertEquals(2 * NUM_RECORDS_BATCH, mockKafkaConnect.getCurrentKafkaOffset());
+    assertEquals(2 * NUM_RECORDS_BATCH, participant.getLastKafkaCommittedOffset());
+    assertEquals(participant.getLastKafkaCommittedOffset(), mockCoordinator.getCommittedKafkaOffset());
+    participant.stop();
+  }
+
   private void initializeParticipant() {
     testHudiWriterProvider = new TestHudiWriterProvider();
     participant = new ConnectTransactionParticipant(
@@ -211,6 +238,21 @@ public class TestConnectTransactionParticipant {
     }
 
     public void sendEventFromCoordinator(ControlMessage.EventType type) {
+      sendEventFromCoordinator(type, 0);
+    }
+
+    /**
+     * Sends the event for the commit with the given delta to the current commit time.
+     */
+    public void sendEventFromCoordinator(ControlMessage.EventType type, int commitTimeDelta) {
+      sendEventFromCoordinator(type, commitTimeDelta, "");
+    }
+
+    public void sendPipelinedStartCommit() {
+      sendEventFromCoordinator(ControlMessage.EventType.START_COMMIT, 0, String.valueOf(currentCommitTime));
+    }
+
+    private void sendEventFromCoordinator(ControlMessage.EventType type, int commitTimeDelta, String previousCommitTime) {
       try {
         if (type.equals(ControlMessage.EventType.START_COMMIT)) {
           ++currentCommitTime;
@@ -222,10 +264,11 @@ public class TestConnectTransactionParticipant {
                 .setSenderType(ControlMessage.EntityType.COORDINATOR)
                 .setSenderPartition(partition.partition())
                 .setReceiverType(ControlMessage.EntityType.PARTICIPANT)
-                .setCommitTime(String.valueOf(currentCommitTime))
+                .setCommitTime(String.valueOf(currentCommitTime + commitTimeDelta))
                 .setCoordinatorInfo(
                     ControlMessage.CoordinatorInfo.newBuilder()
                         .putAllGlobalKafkaCommitOffsets(Collections.singletonMap(PARTITION_NUMBER, committedKafkaOffset))
+                        .setPreviousCommitTime(previousCommitTime)
                         .build()
                 ).build());
       } catch (Exception exception) {
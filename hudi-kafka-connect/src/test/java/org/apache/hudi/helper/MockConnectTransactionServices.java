@@ -21,11 +21,16 @@ package org.apache.hudi.helper;
 import org.apache.hudi.client.WriteStatus;
 import org.apache.hudi.connect.writers.ConnectTransactionServices;
 
+import lombok.Getter;
+
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Helper class for {@link ConnectTransactionServices} to generate
@@ -34,9 +39,14 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 public class MockConnectTransactionServices implements ConnectTransactionServices {
 
   private int commitTime;
+  private int lastEndedCommitTime;
+  @Getter
+  private final List<String> abortedCommits = new CopyOnWriteArrayList<>();
+  private final AtomicInteger numTableServicesRuns = new AtomicInteger();
 
   public MockConnectTransactionServices() {
     commitTime = 100;
+    lastEndedCommitTime = commitTime;
   }
 
   @Override
@@ -47,10 +57,29 @@ public class MockConnectTransactionServices implements ConnectTransactionService
 
   @Override
   public boolean endCommit(String commitTime, List<WriteStatus> writeStatuses, Map<String, String> extraMetadata) {
-    assertEquals(String.valueOf(this.commitTime), commitTime);
+    // with pipelined commits, the next commit may have been started before the current one ends
+    int endedCommitTime = Integer.parseInt(commitTime);
+    assertTrue(endedCommitTime > lastEndedCommitTime && endedCommitTime <= this.commitTime);
+    lastEndedCommitTime = endedCommitTime;
     return true;
   }
 
+  @Override
+  public void abortCommit(String commitTime) {
+    abortedCommits.add(commitTime);
+  }
+
+  @Override
+  public void runTableServices() {
+    // the table services run only when the latest started commit is ended
+    assertEquals(commitTime, lastEndedCommitTime);
+    numTableServicesRuns.incrementAndGet();
+  }
+
+  public int getNumTableServicesRuns() {
+    return numTableServicesRuns.get();
+  }
+
   @Override
   public Map<String, String> fetchLatestExtraCommitMetadata() {
     return new HashMap<>();
@@ -114,9 +114,15 @@ public class TestAbstractConnectWriter {
         keyGenerator,
         schemaProvider);
 
-    for (int i = 0; i < NUM_RECORDS; i++) {
+    for (int i = 0; i < NUM_RECORDS / 2; i++) {
       writer.writeRecord(getNextKafkaRecord(inputRecords.get(i)));
     }
+    // the rest records are written as one batch
+    List<SinkRecord> batch = new ArrayList<>();
+    for (int i = NUM_RECORDS / 2; i < NUM_RECORDS; i++) {
+      batch.add(getNextKafkaRecord(inputRecords.get(i)));
+    }
+    writer.writeRecords(batch);
 
     validateRecords(writer.getWrittenRecords(), expectedRecords);
   }
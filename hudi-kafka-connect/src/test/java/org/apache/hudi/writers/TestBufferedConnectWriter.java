@@ -36,6 +36,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
@@ -101,4 +102,36 @@ public class TestBufferedConnectWriter {
 
     assertEquals(records, actualRecords.getValue());
   }
+
+  @Test
+  public void testBatchWriteDeduplicatesAndSortsRecords() throws Exception {
+    HoodieTestDataGenerator dataGen = new HoodieTestDataGenerator();
+    List<HoodieRecord> inserts = dataGen.generateInserts(COMMIT_TIME, NUM_RECORDS);
+    List<HoodieRecord> updates = dataGen.generateUpdates(COMMIT_TIME, inserts.subList(0, NUM_RECORDS / 2));
+
+    BufferedConnectWriter writer = new BufferedConnectWriter(
+        javaEngineContext,
+        mockHoodieJavaWriteClient,
+        COMMIT_TIME,
+        configs,
+        writeConfig,
+        null,
+        schemaProvider);
+
+    List<HoodieRecord<?>> batch = new ArrayList<>();
+    inserts.forEach(batch::add);
+    updates.forEach(batch::add);
+    writer.writeHudiRecords(batch);
+    writer.flushRecords();
+
+    final ArgumentCaptor<List<HoodieRecord>> actualRecords = ArgumentCaptor.forClass(List.class);
+    Mockito.verify(mockHoodieJavaWriteClient, times(1))
+        .bulkInsertPreppedRecords(actualRecords.capture(), eq(COMMIT_TIME), eq(Option.empty()));
+
+    List<HoodieRecord> expectedRecords = new ArrayList<>(updates);
+    expectedRecords.addAll(inserts.subList(NUM_RECORDS / 2, NUM_RECORDS));
+    expectedRecords.sort(Comparator.comparing((HoodieRecord record) -> record.getPartitionPath()).thenComparing(HoodieRecord::getRecordKey));
+    // the latest record of each key is kept and the records are sorted by partition path and record key
+    assertEquals(expectedRecords, actualRecords.getValue());
+  }
 }
@@ -19,16 +19,18 @@
 
 package org.apache.hudi
 
-import org.apache.hudi.HoodieConversionUtils.toScalaOption
 import org.apache.hudi.common.config.HoodieMetadataConfig
 import org.apache.hudi.common.model.FileSlice
 import org.apache.hudi.common.table.HoodieTableMetaClient
+import org.apache.hudi.common.util.collection.Pair
 import org.apache.hudi.core.read.BaseHoodieTableFileIndex
 import org.apache.hudi.metadata.HoodieTableMetadataUtil
 
 import org.apache.spark.sql.SparkSession
 import org.apache.spark.sql.catalyst.expressions.Expression
 
+import scala.collection.JavaConverters._
+
 class BloomFiltersIndexSupport(spark: SparkSession,
                                metadataConfig: HoodieMetadataConfig,
                                metaClient: HoodieTableMetaClient) extends SparkBaseIndexSupport(spark, metadataConfig, metaClient) {
@@ -63,9 +65,12 @@ class BloomFiltersIndexSupport(spark: SparkSession,
   }
 
   private def getCandidateFilesForSecondaryKeys(prunedPartitionAndFileNames: Seq[(String, String)], recordKeys: List[String]): Set[String] = {
-    val candidateFiles = prunedPartitionAndFileNames.filter { partitionAndFileName =>
-      val bloomFilterOpt = toScalaOption(metadataTable.getBloomFilter(partitionAndFileName._1, partitionAndFileName._2))
-      bloomFilterOpt match {
+    // the bloom filters of all the files are read with a single lookup of the metadata table, instead of one
+    // lookup per file, since the key sets of IN lists may span many files
+    val bloomFilters = metadataTable.getBloomFilters(
+      prunedPartitionAndFileNames.map { case (partitionPath, fileName) => Pair.of(partitionPath, fileName) }.distinct.asJava)
+    val candidateFiles = prunedPartitionAndFileNames.filter { case (partitionPath, fileName) =>
+      Option(bloomFilters.get(Pair.of(partitionPath, fileName))) match {
         case Some(bloomFilter) =>
           recordKeys.exists(bloomFilter.mightContain)
         case None =>
@@ -44,6 +44,7 @@ import org.apache.avro.generic.GenericData
 import org.apache.spark.sql.{DataFrame, Row, SparkSession}
 import org.apache.spark.sql.catalyst.InternalRow
 import org.apache.spark.sql.catalyst.expressions.Expression
+import org.apache.spark.sql.catalyst.expressions.Literal.TrueLiteral
 import org.apache.spark.sql.catalyst.util.DateTimeUtils
 import org.apache.spark.sql.functions.col
 import org.apache.spark.sql.types._
@@ -98,14 +99,71 @@ class ColumnStatsIndexSupport(spark: SparkSession,
       val getValidIndexedColumnsFunc: HoodieIndexDefinition => Seq[String] = { indexDefinition =>
         getValidIndexedColumns(indexDefinition, schema, metaClient.getTableConfig).asScala.toSeq
       }
-      loadTransposed(queryReferencedColumns, readInMemory, Some(prunedPartitions), prunedFileNamesOpt) { transposedColStatsDF =>
-        Some(getCandidateFiles(transposedColStatsDF, queryFilters, prunedFileNames, getValidIndexedColumnsFunc))
-      }
+      computeCandidateFileNamesLocally(fileIndex, queryFilters, queryReferencedColumns, prunedFileNames, getValidIndexedColumnsFunc)
+        .orElse {
+          loadTransposed(queryReferencedColumns, readInMemory, Some(prunedPartitions), prunedFileNamesOpt) { transposedColStatsDF =>
+            Some(getCandidateFiles(transposedColStatsDF, queryFilters, prunedFileNames, getValidIndexedColumnsFunc))
+          }
+        }
     } else {
       Option.empty
     }
   }
 
+  /**
+   * Evaluates the data skipping filter over the [[LocalColumnStatsIndex]] cached on the driver, w/o launching
+   * any Spark job. Returns [[None]] if local pruning is disabled, the projection of the index exceeds the configured
+   * threshold, or the filter could not be evaluated locally, in which case it has to be evaluated through Spark.
+   */
+  private[hudi] def computeCandidateFileNamesLocally(fileIndex: HoodieFileIndex,
+                                                     queryFilters: Seq[Expression],
+                                                     queryReferencedColumns: Seq[String],
+                                                     fileNamesFromPrunedPartitions: Set[String],
+                                                     getValidIndexedColumnsFunc: HoodieIndexDefinition => Seq[String]): Option[Set[String]] = {
+    val maxEntries = metadataConfig.getColumnStatsIndexLocalPruningMaxEntries
+    lazy val instantTimeOpt = metadataTable.getSyncedInstantTime
+    if (!metadataConfig.isColumnStatsIndexLocalPruningEnabled
+      || fileIndex.getFileSlicesCount.toLong * queryReferencedColumns.length > maxEntries
+      || !instantTimeOpt.isPresent) {
+      None
+    } else {
+      val indexFilter = translateIntoIndexFilter(queryFilters, getValidIndexedColumnsFunc)
+      if (indexFilter.equals(TrueLiteral)) {
+        Some(fileNamesFromPrunedPartitions)
+      } else {
+        // NOTE: Index is loaded for all the files (w/o applying partition pruning) to be shared across the queries
+        val targetColumns = TreeSet(queryReferencedColumns: _*).toSeq
+        val localIndexOpt = LocalColumnStatsIndex.getOrLoad(metaClient.getBasePath.toString, instantTimeOpt.get, targetColumns,
+          metadataConfig.getColumnStatsIndexLocalPruningCacheMaxSize) {
+          val readInMemory = shouldReadInMemory(fileIndex, targetColumns, inMemoryProjectionThreshold)
+          val targetColumnTypes = targetColumns.filter(indexedColumns.contains)
+            .map(colName => (colName, HoodieSchemaUtils.getSchemaForField(tableSchema, colName).getValue.dataType))
+          collectAtMost(loadColumnStatsIndexRecords(targetColumns, None, readInMemory), maxEntries)
+            .map(records => LocalColumnStatsIndex.fromRecords(records, targetColumnTypes))
+        }
+
+        localIndexOpt.flatMap(localIndex => localIndex.filter(indexFilter).map { matchedFileNames =>
+          // NOTE: Files not indexed by the Column Stats Index have to be included (see [[getCandidateFiles]])
+          matchedFileNames.filter(fileNamesFromPrunedPartitions.contains).toSet ++
+            fileNamesFromPrunedPartitions.filterNot(localIndex.containsFile)
+        })
+      }
+    }
+  }
+
+  /**
+   * Collects the records onto the driver, unless there are more than provided number of them, in which case
+   * [[None]] is returned w/o collecting the rest of the records.
+   */
+  private def collectAtMost(records: HoodieData[HoodieMetadataColumnStats], maxRecords: Long): Option[Seq[HoodieMetadataColumnStats]] = {
+    val limit = math.min(maxRecords, Int.MaxValue - 1).toInt
+    val collected = records match {
+      case rdd: HoodieJavaRDD[HoodieMetadataColumnStats @unchecked] => HoodieJavaRDD.getJavaRDD(rdd).take(limit + 1)
+      case _ => records.collectAsList()
+    }
+    if (collected.size() > limit) None else Some(collected.asScala.toSeq)
+  }
+
   override def invalidateCaches(): Unit = {
     cachedColumnStatsIndexViews.foreach { case (_, df) => df.unpersist() }
     cachedColumnStatsIndexViews.clear()
@@ -660,6 +660,17 @@ object DataSourceWriteOptions {
       + "compaction in a different process/job altogether. Some users may wish to run it separately to manage resources "
       + "across table services and regular ingestion pipeline and so this could be preferred on such cases.")
 
+  val STREAMING_PIPELINED_META_SYNC: ConfigProperty[String] = ConfigProperty
+    .key("hoodie.datasource.write.streaming.pipelined.meta.sync")
+    .defaultValue("false")
+    .markAdvanced()
+    .sinceVersion("1.3.0")
+    .withDocumentation("Whether the streaming sink runs the meta sync of a micro batch in the background, overlapping "
+      + "with the write of the next micro batch, instead of before the micro batch completes. The micro batch is still "
+      + "committed, with its checkpoint, before it completes, so the exactly-once semantics are kept. The meta syncs "
+      + "run one at a time, the micro batches committed while a meta sync is running are synced together by the next one. "
+      + "A failed meta sync that is not followed by a successful one fails the next micro batch before it writes any data.")
+
   val META_SYNC_CLIENT_TOOL_CLASS_NAME: ConfigProperty[String] = ConfigProperty
     .key("hoodie.meta.sync.client.tool.class")
     .defaultValue(classOf[HiveSyncTool].getName)
@@ -0,0 +1,295 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi
+
+import org.apache.hudi.HoodieColumnarBatchMergeIterator.writeValue
+import org.apache.hudi.SparkAdapterSupport.sparkAdapter
+import org.apache.hudi.common.engine.HoodieReaderContext
+import org.apache.hudi.common.table.read.{HoodieFileGroupReader, HoodieRecordReader}
+import org.apache.hudi.common.table.read.buffer.HoodieFileGroupRecordBuffer
+import org.apache.hudi.common.table.read.buffer.PositionBasedFileGroupRecordBuffer
+import org.apache.hudi.common.table.read.buffer.PositionBasedFileGroupRecordBuffer.ROW_INDEX_TEMPORARY_COLUMN_NAME
+import org.apache.hudi.common.util.{Option => HOption}
+import org.apache.hudi.common.util.collection.ClosableIterator
+import org.apache.hudi.exception.HoodieNotSupportedException
+import org.apache.hudi.util.CloseableInternalRowIterator
+
+import org.apache.spark.sql.HoodieInternalRowUtils
+import org.apache.spark.sql.catalyst.InternalRow
+import org.apache.spark.sql.execution.vectorized.{OnHeapColumnVector, WritableColumnVector}
+import org.apache.spark.sql.types._
+import org.apache.spark.sql.vectorized.{ColumnarBatch, ColumnarBatchUtils, ColumnVector}
+
+import java.io.Closeable
+import java.util.BitSet
+import java.util.function.UnaryOperator
+
+import scala.collection.mutable.ArrayBuffer
+
+/**
+ * Iterator of the merged records of a file slice in [[ColumnarBatch]]es, so that the snapshot query on
+ * merge on read table keeps the vectorized execution when the file slices have log files.
+ *
+ * When the log records are buffered by the positions of the base file records, the base file is read
+ * in [[ColumnarBatch]]es by the vectorized reader, and only the rows with a log record at the same position
+ * are merged. The batches w/o any merged row are passed through as is. Otherwise, since [[ColumnarBatch]] has
+ * no selection vector, the surviving rows are copied into the [[WritableColumnVector]]s owned by the iterator
+ * with the updated rows in place of the base file rows, the vectors of the reader are never written as the
+ * reader reuses them for the next batch. The log records not merged with any base file record are emitted in
+ * extra batches at the end.
+ *
+ * Otherwise, i.e. the log blocks have no valid record positions or the reader is not a [[HoodieFileGroupReader]],
+ * the records merged row by row by the reader are converted into batches.
+ *
+ * NOTE: Only the flat schema is supported, please check out [[HoodieColumnarBatchMergeIterator.isSupportedType]].
+ *
+ * @param reader          reader of the file slice
+ * @param readerContext   reader context of the file group reader, with the vectorized base file reader
+ * @param requestedSchema schema of the records requested from the file group reader
+ * @param partitionSchema schema of the partition values appended to the records
+ * @param partitionValues partition values appended to the records
+ * @param outputSchema    schema of the output batches
+ * @param batchSize       max number of rows of the batches converted from the merged rows
+ */
+class HoodieColumnarBatchMergeIterator(reader: HoodieRecordReader[InternalRow],
+                                       readerContext: HoodieReaderContext[InternalRow],
+                                       requestedSchema: StructType,
+                                       partitionSchema: StructType,
+                                       partitionValues: InternalRow,
+                                       outputSchema: StructType,
+                                       batchSize: Int) extends Iterator[ColumnarBatch] with Closeable {
+
+  private val (baseFileIterator, recordBuffer, outputConverter): (ClosableIterator[InternalRow],
+    HoodieFileGroupRecordBuffer[InternalRow], HOption[UnaryOperator[InternalRow]]) = reader match {
+    case fileGroupReader: HoodieFileGroupReader[InternalRow @unchecked] =>
+      val iteratorAndBuffer = fileGroupReader.getBaseFileIteratorAndRecordBuffer
+      (iteratorAndBuffer.getLeft, iteratorAndBuffer.getRight, fileGroupReader.getOutputConverter)
+    case _ =>
+      // records are already merged and in the layout of the requested schema
+      (reader.getClosableIterator, null, HOption.empty[UnaryOperator[InternalRow]]())
+  }
+
+  private lazy val requiredSchema = HoodieInternalRowUtils.getCachedSchema(readerContext.getSchemaHandler.getRequiredSchema)
+
+  private val positionBasedBuffer: PositionBasedFileGroupRecordBuffer[InternalRow] = (recordBuffer, baseFileIterator) match {
+    case (buffer: PositionBasedFileGroupRecordBuffer[InternalRow @unchecked], _: CloseableInternalRowIterator)
+      if buffer.isMergingByPosition && requiredSchema.fieldNames.contains(ROW_INDEX_TEMPORARY_COLUMN_NAME) => buffer
+    case _ => null
+  }
+
+  private val baseFileEntries: BufferedIterator[_] = if (positionBasedBuffer != null) {
+    baseFileIterator.asInstanceOf[CloseableInternalRowIterator].entryIterator.buffered
+  } else {
+    Iterator.empty.buffered
+  }
+
+  private val mergeByPosition: Boolean = positionBasedBuffer != null &&
+    (!baseFileEntries.hasNext || baseFileEntries.head.isInstanceOf[ColumnarBatch])
+
+  if (positionBasedBuffer != null && !mergeByPosition) {
+    // the base file reader returns rows, they are merged by the buffer row by row
+    recordBuffer.setBaseFileIterator(new CloseableInternalRowIterator(baseFileEntries))
+  }
+
+  private lazy val sortedPositions: Array[Long] = positionBasedBuffer.getSortedRecordPositions
+  private var nextPositionIndex = 0
+  private lazy val rowIndexOrdinal = requiredSchema.fieldIndex(ROW_INDEX_TEMPORARY_COLUMN_NAME)
+
+  private lazy val requestedProjection = ColumnarBatchUtils.generateProjection(requiredSchema, requestedSchema)
+  private val outputProjection = ColumnarBatchUtils.generateProjection(StructType(requestedSchema.fields ++ partitionSchema.fields), outputSchema)
+
+  private var partitionVectors: Array[OnHeapColumnVector] = Array.empty
+  private var partitionVectorsCapacity = 0
+  private lazy val rowBatchVectors: Array[OnHeapColumnVector] = OnHeapColumnVector.allocateColumns(batchSize, requestedSchema)
+  // NOTE: the vectors are reused across the merged batches, the same as the vectorized reader does
+  private lazy val mergedBatchVectors: Array[OnHeapColumnVector] = OnHeapColumnVector.allocateColumns(batchSize, requestedSchema)
+
+  // merged rows to be converted into batches, for the position based merging these are the log records
+  // that are not merged with any base file record, thus it should only be consumed after the base file
+  private val mergedRows: Iterator[InternalRow] = new Iterator[InternalRow] {
+    override def hasNext: Boolean = if (recordBuffer != null) recordBuffer.hasNext else baseFileIterator.hasNext
+
+    override def next(): InternalRow = {
+      val row = if (recordBuffer != null) recordBuffer.next().getRecord else baseFileIterator.next()
+      toRequested(row)
+    }
+  }
+
+  private var nextBatch: ColumnarBatch = _
+
+  override def hasNext: Boolean = {
+    while (nextBatch == null && mergeByPosition && baseFileEntries.hasNext) {
+      val batch = mergeBatch(baseFileEntries.next().asInstanceOf[ColumnarBatch])
+      if (batch.numRows() > 0) {
+        nextBatch = batch
+      }
+    }
+    if (nextBatch == null && mergedRows.hasNext) {
+      nextBatch = toBatch(mergedRows)
+    }
+    nextBatch != null
+  }
+
+  override def next(): ColumnarBatch = {
+    if (!hasNext) {
+      throw new NoSuchElementException("No more batches of the file slice")
+    }
+    val batch = nextBatch
+    nextBatch = null
+    batch
+  }
+
+  override def close(): Unit = reader.close()
+
+  private def toRequested(row: InternalRow): InternalRow = {
+    if (outputConverter.isPresent) outputConverter.get.apply(row) else row
+  }
+
+  /**
+   * Merges the rows of the base file batch with the log records at the same positions.
+   */
+  private def mergeBatch(batch: ColumnarBatch): ColumnarBatch = {
+    val numRows = batch.numRows()
+    val rowIndexes = batch.column(rowIndexOrdinal)
+    val updatedRows = ArrayBuffer[(Int, InternalRow)]()
+    val deletedRows = new BitSet(numRows)
+    var rowId = 0
+    while (rowId < numRows && nextPositionIndex < sortedPositions.length) {
+      val position = rowIndexes.getLong(rowId)
+      // positions of the base file records filtered out by the reader are skipped,
+      // the log records are emitted as log-only records the same way as merging row by row
+      while (nextPositionIndex < sortedPositions.length && sortedPositions(nextPositionIndex) < position) {
+        nextPositionIndex += 1
+      }
+      if (nextPositionIndex < sortedPositions.length && sortedPositions(nextPositionIndex) == position) {
+        val mergedRecord = positionBasedBuffer.mergeWithBaseRecord(batch.getRow(rowId).copy(), position)
+        if (mergedRecord == null) {
+          deletedRows.set(rowId)
+        } else {
+          updatedRows += ((rowId, toRequested(mergedRecord.getRecord).copy()))
+        }
+        nextPositionIndex += 1
+      }
+      rowId += 1
+    }
+
+    val requestedBatch = requestedProjection(batch)
+    if (updatedRows.isEmpty && deletedRows.isEmpty) {
+      appendPartitionValues(requestedBatch)
+    } else {
+      appendPartitionValues(applyChanges(requestedBatch, updatedRows, deletedRows))
+    }
+  }
+
+  /**
+   * Copies the surviving rows of the batch into the vectors owned by the iterator, with the updated rows
+   * in place of the rows of the base file.
+   */
+  private def applyChanges(batch: ColumnarBatch,
+                           updatedRows: Seq[(Int, InternalRow)],
+                           deletedRows: BitSet): ColumnarBatch = {
+    val numRows = batch.numRows()
+    mergedBatchVectors.foreach { vector =>
+      vector.reset()
+      vector.reserve(numRows)
+    }
+    // NOTE: the updated rows are ordered by the row id
+    val updates = updatedRows.iterator.buffered
+    var numSurvivingRows = 0
+    var rowId = 0
+    while (rowId < numRows) {
+      if (!deletedRows.get(rowId)) {
+        val row = if (updates.hasNext && updates.head._1 == rowId) updates.next()._2 else batch.getRow(rowId)
+        writeRow(mergedBatchVectors, numSurvivingRows, row)
+        numSurvivingRows += 1
+      }
+      rowId += 1
+    }
+    new ColumnarBatch(mergedBatchVectors.toArray[ColumnVector], numSurvivingRows)
+  }
+
+  private def writeRow(vectors: Array[_ <: WritableColumnVector], rowId: Int, row: InternalRow): Unit = {
+    var i = 0
+    while (i < vectors.length) {
+      writeValue(vectors(i), rowId, row, i, requestedSchema(i).dataType)
+      i += 1
+    }
+  }
+
+  private def toBatch(rows: Iterator[InternalRow]): ColumnarBatch = {
+    rowBatchVectors.foreach(_.reset())
+    var numRows = 0
+    while (numRows < batchSize && rows.hasNext) {
+      writeRow(rowBatchVectors, numRows, rows.next())
+      numRows += 1
+    }
+    appendPartitionValues(new ColumnarBatch(rowBatchVectors.toArray[ColumnVector], numRows))
+  }
+
+  private def appendPartitionValues(batch: ColumnarBatch): ColumnarBatch = {
+    if (partitionSchema.isEmpty) {
+      outputProjection(batch)
+    } else {
+      val numRows = batch.numRows()
+      if (numRows > partitionVectorsCapacity) {
+        partitionVectorsCapacity = math.max(numRows, batchSize)
+        partitionVectors = OnHeapColumnVector.allocateColumns(partitionVectorsCapacity, partitionSchema)
+        for (i <- partitionVectors.indices; rowId <- 0 until partitionVectorsCapacity) {
+          writeValue(partitionVectors(i), rowId, partitionValues, i, partitionSchema(i).dataType)
+        }
+      }
+      val columns = (0 until batch.numCols()).map(batch.column) ++ partitionVectors
+      outputProjection(new ColumnarBatch(columns.toArray, numRows))
+    }
+  }
+}
+
+object HoodieColumnarBatchMergeIterator {
+
+  /**
+   * Returns true if the values of provided type could be overwritten in the [[WritableColumnVector]].
+   */
+  def isSupportedType(dataType: DataType): Boolean = dataType match {
+    case BooleanType | ByteType | ShortType | IntegerType | LongType | FloatType | DoubleType
+         | DateType | TimestampType | BinaryType | _: StringType | _: DecimalType => true
+    case dt => sparkAdapter.isTimestampNTZType(dt)
+  }
+
+  private def writeValue(vector: WritableColumnVector, rowId: Int, row: InternalRow, ordinal: Int, dataType: DataType): Unit = {
+    if (row.isNullAt(ordinal)) {
+      vector.putNull(rowId)
+    } else {
+      vector.putNotNull(rowId)
+      dataType match {
+        case BooleanType => vector.putBoolean(rowId, row.getBoolean(ordinal))
+        case ByteType => vector.putByte(rowId, row.getByte(ordinal))
+        case ShortType => vector.putShort(rowId, row.getShort(ordinal))
+        case IntegerType | DateType => vector.putInt(rowId, row.getInt(ordinal))
+        case LongType | TimestampType => vector.putLong(rowId, row.getLong(ordinal))
+        case FloatType => vector.putFloat(rowId, row.getFloat(ordinal))
+        case DoubleType => vector.putDouble(rowId, row.getDouble(ordinal))
+        // NOTE: bytes are copied before being put, since the put could reallocate the memory the string points to
+        case _: StringType => vector.putByteArray(rowId, row.getUTF8String(ordinal).getBytes)
+        case BinaryType => vector.putByteArray(rowId, row.getBinary(ordinal))
+        case d: DecimalType => vector.putDecimal(rowId, row.getDecimal(ordinal, d.precision, d.scale), d.precision)
+        case dt if sparkAdapter.isTimestampNTZType(dt) => vector.putLong(rowId, row.getLong(ordinal))
+        case dt => throw new HoodieNotSupportedException(s"Unsupported type $dt for the columnar batch merging")
+      }
+    }
+  }
+}
@@ -208,6 +208,12 @@ abstract class HoodieBaseHadoopFsRelationFactory(val sqlContext: SQLContext,
 
   private lazy val shouldUseRecordPosition: Boolean = checkIfPositionalMergingEnabled()
 
+  private lazy val shouldUseColumnarMerge: Boolean = shouldUseRecordPosition && {
+    val configKey = HoodieReaderConfig.MERGE_USE_COLUMNAR_BATCH.key
+    optParams.getOrElse(configKey,
+      sqlContext.getConf(configKey, HoodieReaderConfig.MERGE_USE_COLUMNAR_BATCH.defaultValue.toString)).toBoolean
+  }
+
   private lazy val queryTimestamp: Option[String] =
     specifiedQueryTimestamp.orElse(toScalaOption(timeline.lastInstant()).map(_.requestedTime))
 
@@ -240,7 +246,7 @@ abstract class HoodieBaseHadoopFsRelationFactory(val sqlContext: SQLContext,
     new HoodieFileGroupReaderBasedFileFormat(basePath.toString,
       HoodieTableSchema(tableStructSchema, tableSchema, internalSchemaOpt),
       tableConfig.getTableName, queryTimestamp.get, getMandatoryFields, isMOR, isBootstrap,
-      isIncremental, validCommits, shouldUseRecordPosition, getRequiredFilters,
+      isIncremental, validCommits, shouldUseRecordPosition, shouldUseColumnarMerge, getRequiredFilters,
       tableConfig.isMultipleBaseFileFormatsEnabled, tableConfig.getBaseFileFormat)
   }
 
@@ -87,7 +87,8 @@ object HoodieSparkSqlWriter {
   case class StreamingWriteParams(hoodieTableConfigOpt: Option[HoodieTableConfig] = Option.empty,
                                   asyncCompactionTriggerFn: Option[SparkRDDWriteClient[_] => Unit] = Option.empty,
                                   asyncClusteringTriggerFn: Option[SparkRDDWriteClient[_] => Unit] = Option.empty,
-                                  extraPreCommitFn: Option[BiConsumer[HoodieTableMetaClient, HoodieCommitMetadata]] = Option.empty)
+                                  extraPreCommitFn: Option[BiConsumer[HoodieTableMetaClient, HoodieCommitMetadata]] = Option.empty,
+                                  pipelinedMetaSyncFn: Option[(() => Boolean) => Unit] = Option.empty)
 
   /**
    * Controls whether incoming batch's schema's nullability constraints should be canonicalized
@@ -514,7 +515,8 @@ class HoodieSparkSqlWriterInternal {
             // Short-circuit if bulk_insert via row is enabled.
             // scalastyle:off
             if (hoodieConfig.getBoolean(ENABLE_ROW_WRITER) && operation == WriteOperationType.BULK_INSERT) {
-              return bulkInsertAsRow(client, parameters, hoodieConfig, df, mode, tblName, basePath, writerSchema, tableConfig)
+              return bulkInsertAsRow(client, parameters, hoodieConfig, df, mode, tblName, basePath, writerSchema, tableConfig,
+                streamingWritesParamsOpt.flatMap(_.pipelinedMetaSyncFn))
             }
             // scalastyle:on
 
@@ -558,7 +560,7 @@ class HoodieSparkSqlWriterInternal {
           commitAndPerformPostOperations(sparkSession, df.schema,
             writeResult, parameters, writeClient, tableConfig, jsc,
             TableInstantInfo(basePath, instantTime, commitActionType, operation), streamingWritesParamsOpt.map(_.extraPreCommitFn)
-              .orElse(Option.apply(Option.empty)).get)
+              .orElse(Option.apply(Option.empty)).get, streamingWritesParamsOpt.flatMap(_.pipelinedMetaSyncFn))
 
         (writeSuccessful, common.util.Option.ofNullable(instantTime), compactionInstant, clusteringInstant, writeClient, tableConfig)
       } finally {
@@ -823,7 +825,8 @@ class HoodieSparkSqlWriterInternal {
                       tblName: String,
                       basePath: Path,
                       writerSchema: HoodieSchema,
-                      tableConfig: HoodieTableConfig):
+                      tableConfig: HoodieTableConfig,
+                      pipelinedMetaSyncFn: Option[(() => Boolean) => Unit] = Option.empty):
   (Boolean, HOption[String], HOption[String], HOption[String], SparkRDDWriteClient[_], HoodieTableConfig) = {
     if (hoodieConfig.getBoolean(INSERT_DROP_DUPS)) {
       throw new HoodieException("Dropping duplicates with bulk_insert in row writer path is not supported yet")
@@ -858,7 +861,8 @@ class HoodieSparkSqlWriterInternal {
     try {
       val (writeSuccessful, compactionInstant, clusteringInstant) = commitAndPerformPostOperations(
         sqlContext.sparkSession, df.schema, writeResult, parameters, writeClient, tableConfig, jsc,
-        TableInstantInfo(basePath, instantTime, executor.getCommitActionType, executor.getWriteOperationType), Option.empty)
+        TableInstantInfo(basePath, instantTime, executor.getCommitActionType, executor.getWriteOperationType), Option.empty,
+        pipelinedMetaSyncFn)
       (writeSuccessful, HOption.ofNullable(instantTime), compactionInstant, clusteringInstant, writeClient, tableConfig)
     } finally {
       closeWriteClient(writeClient, tableConfig, parameters, jsc.hadoopConfiguration())
@@ -990,7 +994,8 @@ class HoodieSparkSqlWriterInternal {
                                              tableConfig: HoodieTableConfig,
                                              jsc: JavaSparkContext,
                                              tableInstantInfo: TableInstantInfo,
-                                             extraPreCommitFn: Option[BiConsumer[HoodieTableMetaClient, HoodieCommitMetadata]]
+                                             extraPreCommitFn: Option[BiConsumer[HoodieTableMetaClient, HoodieCommitMetadata]],
+                                             pipelinedMetaSyncFn: Option[(() => Boolean) => Unit] = Option.empty
                                             ): (Boolean, HOption[java.lang.String], HOption[java.lang.String]) = {
     val hasErrors = new AtomicBoolean(false)
     log.debug("Proceeding to commit the write.")
@@ -1034,8 +1039,15 @@ class HoodieSparkSqlWriterInternal {
 
       log.debug(s"Clustering Scheduled is $clusteringInstant")
 
-      val metaSyncSuccess = metaSync(spark, HoodieWriterUtils.convertMapToHoodieConfig(parameters),
-        tableInstantInfo.basePath, schema)
+      val hoodieConfig = HoodieWriterUtils.convertMapToHoodieConfig(parameters)
+      val metaSyncSuccess = pipelinedMetaSyncFn match {
+        case Some(fn) if commitSuccess =>
+          // the meta sync runs in the background of the streaming sink, overlapping with the next micro batch
+          fn(() => metaSync(spark, hoodieConfig, tableInstantInfo.basePath, schema))
+          true
+        case _ =>
+          metaSync(spark, hoodieConfig, tableInstantInfo.basePath, schema)
+      }
 
       log.debug(s"Is Async Compaction Enabled ? $asyncCompactionEnabled")
       (commitSuccess && metaSyncSuccess, compactionInstant, clusteringInstant)
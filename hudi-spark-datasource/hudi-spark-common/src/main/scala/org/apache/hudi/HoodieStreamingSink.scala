@@ -29,7 +29,7 @@ import org.apache.hudi.common.table.timeline.HoodieInstant
 import org.apache.hudi.common.util.{ClusteringUtils, CommitUtils, CompactionUtils}
 import org.apache.hudi.common.util.ValidationUtils.checkArgument
 import org.apache.hudi.config.HoodieWriteConfig
-import org.apache.hudi.exception.{HoodieCorruptedDataException, HoodieException, TableNotFoundException}
+import org.apache.hudi.exception.{HoodieCorruptedDataException, HoodieException, HoodieMetaSyncException, TableNotFoundException}
 import org.apache.hudi.hadoop.fs.HadoopFSUtils
 
 import org.apache.spark.api.java.JavaSparkContext
@@ -39,6 +39,8 @@ import org.apache.spark.sql.streaming.OutputMode
 import org.slf4j.LoggerFactory
 
 import java.lang
+import java.util.concurrent.{Executors, ExecutorService, Future, ThreadFactory}
+import java.util.concurrent.atomic.AtomicReference
 import java.util.function.{BiConsumer, Function}
 
 import scala.collection.JavaConverters._
@@ -78,6 +80,8 @@ class HoodieStreamingSink(sqlContext: SQLContext,
     STREAMING_IGNORE_FAILED_BATCH.defaultValue).toBoolean
   private val disableCompaction = options.getOrElse(STREAMING_DISABLE_COMPACTION.key,
     STREAMING_DISABLE_COMPACTION.defaultValue).toBoolean
+  private val pipelinedMetaSync = options.getOrElse(STREAMING_PIPELINED_META_SYNC.key,
+    STREAMING_PIPELINED_META_SYNC.defaultValue).toBoolean
 
   private var isAsyncCompactorServiceShutdownAbnormally = false
   private var isAsyncClusteringServiceShutdownAbnormally = false
@@ -94,6 +98,12 @@ class HoodieStreamingSink(sqlContext: SQLContext,
   private var writeClient: Option[SparkRDDWriteClient[_]] = Option.empty
   private var hoodieTableConfig: Option[HoodieTableConfig] = Option.empty
 
+  // the meta syncs of the committed micro batches, run one at a time in the order of the micro batches
+  @transient private var metaSyncExecutor: ExecutorService = _
+  @transient private var pendingMetaSync: Option[Future[_]] = Option.empty
+  @transient private lazy val queuedMetaSync = new AtomicReference[(Long, () => Boolean)]()
+  @volatile private var metaSyncFailure: Option[Throwable] = Option.empty
+
   override def addBatch(batchId: Long, data: DataFrame): Unit = this.synchronized {
     if (isAsyncCompactorServiceShutdownAbnormally) {
       throw new IllegalStateException("Async Compactor shutdown unexpectedly")
@@ -102,6 +112,16 @@ class HoodieStreamingSink(sqlContext: SQLContext,
       log.error("Async clustering service shutdown unexpectedly")
       throw new IllegalStateException("Async clustering service shutdown unexpectedly")
     }
+    if (metaSyncFailure.isDefined) {
+      // the meta sync of a committed micro batch failed w/o being superseded by a later one
+      val failure = metaSyncFailure.get
+      metaSyncFailure = Option.empty
+      if (ignoreFailedBatch) {
+        log.warn(s"Ignore the failed meta sync and move on streaming as per ${STREAMING_IGNORE_FAILED_BATCH.key} configuration", failure)
+      } else {
+        throw new HoodieMetaSyncException(s"Meta sync of the previous micro batch failed, failing micro batch id=$batchId", failure)
+      }
+    }
 
     val queryId = sqlContext.sparkContext.getLocalProperty(QUERY_ID_KEY)
     checkArgument(queryId != null, "queryId is null")
@@ -136,7 +156,8 @@ class HoodieStreamingSink(sqlContext: SQLContext,
                 val identifier = options.getOrElse(STREAMING_CHECKPOINT_IDENTIFIER.key(), STREAMING_CHECKPOINT_IDENTIFIER.defaultValue())
                 newCommitMetadata.addMetadata(SINK_CHECKPOINT_KEY, CommitUtils.getCheckpointValueAsString(identifier, String.valueOf(batchId)))
               }
-            }))), writeClient)
+            }),
+            pipelinedMetaSyncFn = if (pipelinedMetaSync) Some(metaSyncFn => submitMetaSync(batchId, metaSyncFn)) else None)), writeClient)
       )
       match {
         case Success((true, commitOps, compactionInstantOps, clusteringInstant, client, tableConfig)) =>
@@ -288,6 +309,58 @@ class HoodieStreamingSink(sqlContext: SQLContext,
     }
   }
 
+  /**
+   * Submits the meta sync of the committed micro batch to run in the background. The meta sync is cumulative, so
+   * it is coalesced with the queued one that has not started yet, and its failure supersedes the failure of the
+   * previous one.
+   */
+  private def submitMetaSync(batchId: Long, metaSyncFn: () => Boolean): Unit = {
+    if (metaSyncExecutor == null) {
+      metaSyncExecutor = Executors.newSingleThreadExecutor(new ThreadFactory {
+        override def newThread(r: Runnable): Thread = {
+          val thread = new Thread(r, s"hudi-streaming-meta-sync-${options("path")}")
+          thread.setDaemon(true)
+          thread
+        }
+      })
+      // let the meta sync of the last micro batch finish when the application exits
+      Runtime.getRuntime.addShutdownHook(new Thread(new Runnable {
+        override def run(): Unit = awaitPendingMetaSync()
+      }))
+    }
+    if (queuedMetaSync.getAndSet((batchId, metaSyncFn)) != null) {
+      log.info(s"Meta sync of micro batch id=$batchId is coalesced with the queued one")
+      // scalastyle:off return
+      return
+      // scalastyle:on return
+    }
+    pendingMetaSync = Some(metaSyncExecutor.submit(new Runnable {
+      override def run(): Unit = {
+        // the batch is committed before its meta sync is queued, so the latest one syncs all the queued batches
+        val (syncedBatchId, syncFn) = queuedMetaSync.getAndSet(null)
+        try {
+          syncFn()
+          metaSyncFailure = Option.empty
+          log.info(s"Meta sync of micro batch id=$syncedBatchId succeeded")
+        } catch {
+          case e: Throwable =>
+            log.error(s"Meta sync of micro batch id=$syncedBatchId failed", e)
+            metaSyncFailure = Some(e)
+        }
+      }
+    }))
+  }
+
+  private def awaitPendingMetaSync(): Unit = {
+    pendingMetaSync.foreach(future => {
+      try {
+        future.get()
+      } catch {
+        case e: Exception => log.warn("Failed to wait for the pending meta sync", e)
+      }
+    })
+  }
+
   private def reset(force: Boolean): Unit = this.synchronized {
     if (asyncCompactorService != null) {
       asyncCompactorService.shutdown(force)
@@ -303,6 +376,17 @@ class HoodieStreamingSink(sqlContext: SQLContext,
       writeClient.get.close()
       writeClient = Option.empty
     }
+
+    if (metaSyncExecutor != null) {
+      if (force) {
+        metaSyncExecutor.shutdownNow()
+      } else {
+        metaSyncExecutor.shutdown()
+        awaitPendingMetaSync()
+      }
+      metaSyncExecutor = null
+      pendingMetaSync = Option.empty
+    }
   }
 
   private def canSkipBatch(incomingBatchId: Long, operationType: String): Boolean = {
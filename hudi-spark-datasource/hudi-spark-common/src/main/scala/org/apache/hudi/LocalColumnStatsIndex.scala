@@ -0,0 +1,495 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi
+
+import org.apache.hudi.ColumnStatsIndexSupport.{extractColStatsValue, getMaxColumnNameFor, getMinColumnNameFor, getNullCountColumnNameFor}
+import org.apache.hudi.SparkAdapterSupport.sparkAdapter
+import org.apache.hudi.avro.model.HoodieMetadataColumnStats
+import org.apache.hudi.metadata.HoodieMetadataPayload
+import org.apache.hudi.metadata.stats.ValueMetadata.getValueMetadata
+
+import org.apache.spark.internal.Logging
+import org.apache.spark.sql.catalyst.analysis.UnresolvedAttribute
+import org.apache.spark.sql.catalyst.expressions.{And, Attribute, EqualTo, Expression, GreaterThan, GreaterThanOrEqual, IsNotNull, IsNull, LessThan, LessThanOrEqual, Literal, Not, Or, StartsWith}
+import org.apache.spark.sql.catalyst.util.DateTimeUtils
+import org.apache.spark.sql.types._
+import org.apache.spark.unsafe.types.UTF8String
+
+import java.util.{Arrays, BitSet, HashSet, LinkedHashMap}
+
+import scala.collection.mutable.ArrayBuffer
+
+/**
+ * Driver-local view of the Column Stats Index in the transposed layout (please check out scala-doc of
+ * [[ColumnStatsIndexSupport]]'s transpose method), where the statistics of every column are held in
+ * primitive-typed arrays indexed by the ordinal of the file (files are ordered by their names).
+ *
+ * The filter translated by [[org.apache.spark.sql.hudi.DataSkippingUtils]] is evaluated over the arrays
+ * in tight loops producing bitmaps of the matching files, w/o composing any [[org.apache.spark.sql.DataFrame]]
+ * or launching any Spark job. Evaluation follows SQL's three-valued logic, ie the file is only picked
+ * when the filter evaluates to true for it, the same as filtering the transposed [[org.apache.spark.sql.DataFrame]].
+ */
+class LocalColumnStatsIndex private(fileNames: Array[String],
+                                    columns: Map[String, LocalColumnStatsIndex.StatsVector]) {
+
+  import LocalColumnStatsIndex._
+
+  def numFiles: Int = fileNames.length
+
+  def containsFile(fileName: String): Boolean = Arrays.binarySearch(fileNames.asInstanceOf[Array[AnyRef]], fileName) >= 0
+
+  lazy val estimatedSizeInBytes: Long =
+    fileNames.foldLeft(16L + 8L * numFiles)((acc, name) => acc + 40 + 2L * name.length) +
+      columns.values.map(_.estimatedSizeInBytes).sum
+
+  /**
+   * Returns the names of the files matching provided Column Stats Index filter, or [[None]] if the filter
+   * could not be evaluated locally, in which case caller has to fall back to evaluate it through Spark.
+   */
+  def filter(indexFilter: Expression): Option[Seq[String]] = {
+    evaluate(indexFilter).map { predicate =>
+      val matched = ArrayBuffer[String]()
+      var i = predicate.isTrue.nextSetBit(0)
+      while (i >= 0) {
+        matched += fileNames(i)
+        i = predicate.isTrue.nextSetBit(i + 1)
+      }
+      matched.toSeq
+    }
+  }
+
+  private def evaluate(expr: Expression): Option[Predicate] = {
+    expr match {
+      case Literal(value: Boolean, BooleanType) => Some(Predicate.constant(numFiles, value))
+      case And(left, right) => for (l <- evaluate(left); r <- evaluate(right)) yield l.and(r)
+      case Or(left, right) => for (l <- evaluate(left); r <- evaluate(right)) yield l.or(r)
+      case Not(child) => evaluate(child).map(_.not)
+      case IsNull(ColumnRef(vector)) => Some(vector.isNullPredicate)
+      case IsNotNull(ColumnRef(vector)) => Some(vector.isNullPredicate.not)
+      case StartsWith(ColumnRef(vector: ObjectVector), Literal(prefix: UTF8String, StringType)) => vector.startsWith(prefix)
+      case EqualTo(left, right) => compare(left, right, EqualToOp)
+      case LessThan(left, right) => compare(left, right, LessThanOp)
+      case LessThanOrEqual(left, right) => compare(left, right, LessThanOrEqualOp)
+      case GreaterThan(left, right) => compare(left, right, GreaterThanOp)
+      case GreaterThanOrEqual(left, right) => compare(left, right, GreaterThanOrEqualOp)
+      case _ => None
+    }
+  }
+
+  private def compare(left: Expression, right: Expression, op: ComparisonOp): Option[Predicate] = {
+    (left, right) match {
+      case (ColumnRef(l), ColumnRef(r)) => l.compare(r, op)
+      case (ColumnRef(l), value) if value.foldable => l.compare(value.eval(), value.dataType, op)
+      case (value, ColumnRef(r)) if value.foldable => r.compare(value.eval(), value.dataType, op.flip)
+      case _ => None
+    }
+  }
+
+  private object ColumnRef {
+    def unapply(expr: Expression): Option[StatsVector] = expr match {
+      case attr: UnresolvedAttribute => columns.get(attr.nameParts.mkString("."))
+      case attr: Attribute => columns.get(attr.name)
+      case _ => None
+    }
+  }
+}
+
+object LocalColumnStatsIndex extends Logging {
+
+  private case class CacheKey(basePath: String, instantTime: String, columns: Seq[String])
+
+  // NOTE: Access-ordered to evict the least recently used indexes first
+  private val cache = new LinkedHashMap[CacheKey, LocalColumnStatsIndex](16, 0.75f, true)
+  // the keys of the indexes that could not be loaded locally, so the loading is not attempted for every query
+  private val unloadableKeys = new HashSet[CacheKey]()
+  private var cachedSizeInBytes = 0L
+
+  /**
+   * Returns the local index of provided columns for the table as of the metadata table's instant, loading
+   * (and caching it) if needed. Cached indexes are shared across the queries, since the Column Stats Index
+   * is immutable for a given instant of the metadata table.
+   *
+   * The loader returns [[None]] if the index is too large to be loaded on the driver, which is remembered
+   * for the instant, so the following queries go to the distributed evaluation right away.
+   */
+  def getOrLoad(basePath: String, instantTime: String, columns: Seq[String], maxCacheSizeInBytes: Long)
+               (loader: => Option[LocalColumnStatsIndex]): Option[LocalColumnStatsIndex] = {
+    val key = CacheKey(basePath, instantTime, columns)
+    val cached = cache.synchronized {
+      if (unloadableKeys.contains(key)) Some(None) else Option(cache.get(key)).map(Some(_))
+    }
+    if (cached.isDefined) {
+      cached.get
+    } else {
+      val indexOpt = loader
+      cache.synchronized {
+        // the indexes loaded as of previous instants of the same table will not be queried anymore
+        val it = cache.entrySet().iterator()
+        while (it.hasNext) {
+          val entry = it.next()
+          if (entry.getKey.basePath == basePath && entry.getKey.instantTime != instantTime) {
+            cachedSizeInBytes -= entry.getValue.estimatedSizeInBytes
+            it.remove()
+          }
+        }
+        unloadableKeys.removeIf(k => k.basePath == basePath && k.instantTime != instantTime)
+        indexOpt match {
+          case Some(index) =>
+            val sizeInBytes = index.estimatedSizeInBytes
+            if (sizeInBytes <= maxCacheSizeInBytes && !cache.containsKey(key)) {
+              cache.put(key, index)
+              cachedSizeInBytes += sizeInBytes
+              val lru = cache.entrySet().iterator()
+              while (cachedSizeInBytes > maxCacheSizeInBytes && lru.hasNext) {
+                cachedSizeInBytes -= lru.next().getValue.estimatedSizeInBytes
+                lru.remove()
+              }
+            }
+          case None =>
+            unloadableKeys.add(key)
+        }
+      }
+      indexOpt match {
+        case Some(index) =>
+          logInfo(s"Loaded local Column Stats Index of columns [${columns.mkString(",")}] for table $basePath as of "
+            + s"instant $instantTime: ${index.numFiles} files, ~${index.estimatedSizeInBytes} bytes")
+        case None =>
+          logInfo(s"Column Stats Index of columns [${columns.mkString(",")}] for table $basePath as of instant "
+            + s"$instantTime is too large to be loaded locally")
+      }
+      indexOpt
+    }
+  }
+
+  /**
+   * Returns the number of the indexes cached and their estimated size in bytes
+   */
+  private[hudi] def getCacheStats: (Int, Long) = cache.synchronized((cache.size(), cachedSizeInBytes))
+
+  /**
+   * Returns true if the statistics of the column of provided type could be evaluated locally
+   */
+  def isSupportedType(dataType: DataType): Boolean = createVector(dataType, 0).isDefined
+
+  /**
+   * Builds the index from raw Column Stats Index records of the target columns (of the provided data types),
+   * the columns of unsupported types are omitted and the filters referencing them are not evaluated locally.
+   */
+  def fromRecords(records: Seq[HoodieMetadataColumnStats], targetColumns: Seq[(String, DataType)]): LocalColumnStatsIndex = {
+    val targetColumnTypes = targetColumns.filter(c => isSupportedType(c._2)).toMap
+    val fileNames = records.map(_.getFileName).distinct.toArray
+    Arrays.sort(fileNames.asInstanceOf[Array[AnyRef]])
+
+    val numFiles = fileNames.length
+    val valueCounts = new LongVector(LongType, numFiles)
+    valueCounts.nulls.set(0, numFiles)
+    val vectors = targetColumnTypes.map { case (colName, dataType) =>
+      (colName, (createVector(dataType, numFiles).get, createVector(dataType, numFiles).get, new LongVector(LongType, numFiles)))
+    }
+    vectors.values.foreach { case (min, max, nullCount) =>
+      min.nulls.set(0, numFiles)
+      max.nulls.set(0, numFiles)
+      nullCount.nulls.set(0, numFiles)
+    }
+
+    records.foreach { r =>
+      vectors.get(r.getColumnName).foreach { case (min, max, nullCount) =>
+        val i = Arrays.binarySearch(fileNames.asInstanceOf[Array[AnyRef]], r.getFileName)
+        if (valueCounts.nulls.get(i) && r.getValueCount != null) {
+          valueCounts.set(i, r.getValueCount)
+        }
+        if (r.getNullCount != null) {
+          nullCount.set(i, r.getNullCount)
+        }
+        // NOTE: Both min/max are null in case column contains only null values, or for the stubbed record
+        if (r.getMinValue != null && r.getMaxValue != null) {
+          val dataType = targetColumnTypes(r.getColumnName)
+          val valueMetadata = getValueMetadata(r.getValueType)
+          min.set(i, extractColStatsValue(r.getMinValue, dataType, valueMetadata, useJava8api = false))
+          max.set(i, extractColStatsValue(r.getMaxValue, dataType, valueMetadata, useJava8api = false))
+        }
+      }
+    }
+
+    val columns = vectors.flatMap { case (colName, (min, max, nullCount)) =>
+      Seq(getMinColumnNameFor(colName) -> min, getMaxColumnNameFor(colName) -> max, getNullCountColumnNameFor(colName) -> nullCount)
+    } + (HoodieMetadataPayload.COLUMN_STATS_FIELD_VALUE_COUNT -> valueCounts)
+    new LocalColumnStatsIndex(fileNames, columns)
+  }
+
+  private def createVector(dataType: DataType, size: Int): Option[StatsVector] = {
+    dataType match {
+      case ByteType | ShortType | IntegerType | LongType | DateType | TimestampType | BooleanType => Some(new LongVector(dataType, size))
+      case dt if sparkAdapter.isTimestampNTZType(dt) => Some(new LongVector(dataType, size))
+      case FloatType | DoubleType => Some(new DoubleVector(dataType, size))
+      case StringType | _: DecimalType => Some(new ObjectVector(dataType, size))
+      case _ => None
+    }
+  }
+
+  /**
+   * Result of the predicate evaluated for every file: a file is either in [[isTrue]], in [[isFalse]],
+   * or in neither of them when the result is unknown (ie null).
+   */
+  private[hudi] class Predicate(val isTrue: BitSet, val isFalse: BitSet) {
+
+    def and(other: Predicate): Predicate = {
+      val t = isTrue.clone().asInstanceOf[BitSet]
+      t.and(other.isTrue)
+      val f = isFalse.clone().asInstanceOf[BitSet]
+      f.or(other.isFalse)
+      new Predicate(t, f)
+    }
+
+    def or(other: Predicate): Predicate = {
+      val t = isTrue.clone().asInstanceOf[BitSet]
+      t.or(other.isTrue)
+      val f = isFalse.clone().asInstanceOf[BitSet]
+      f.and(other.isFalse)
+      new Predicate(t, f)
+    }
+
+    def not: Predicate = new Predicate(isFalse, isTrue)
+  }
+
+  private[hudi] object Predicate {
+    def constant(size: Int, value: Boolean): Predicate = {
+      val bits = new BitSet(size)
+      bits.set(0, size)
+      if (value) new Predicate(bits, new BitSet(size)) else new Predicate(new BitSet(size), bits)
+    }
+
+    def unknown(size: Int): Predicate = new Predicate(new BitSet(size), new BitSet(size))
+  }
+
+  private[hudi] sealed abstract class ComparisonOp {
+    def test(cmp: Int): Boolean
+
+    def flip: ComparisonOp
+  }
+
+  private case object EqualToOp extends ComparisonOp {
+    override def test(cmp: Int): Boolean = cmp == 0
+    override def flip: ComparisonOp = EqualToOp
+  }
+
+  private case object LessThanOp extends ComparisonOp {
+    override def test(cmp: Int): Boolean = cmp < 0
+    override def flip: ComparisonOp = GreaterThanOp
+  }
+
+  private case object LessThanOrEqualOp extends ComparisonOp {
+    override def test(cmp: Int): Boolean = cmp <= 0
+    override def flip: ComparisonOp = GreaterThanOrEqualOp
+  }
+
+  private case object GreaterThanOp extends ComparisonOp {
+    override def test(cmp: Int): Boolean = cmp > 0
+    override def flip: ComparisonOp = LessThanOp
+  }
+
+  private case object GreaterThanOrEqualOp extends ComparisonOp {
+    override def test(cmp: Int): Boolean = cmp >= 0
+    override def flip: ComparisonOp = LessThanOrEqualOp
+  }
+
+  /**
+   * Values of single statistic (ie min-value of the column) of every file, nulls are tracked in the [[nulls]] bitmap.
+   */
+  private[hudi] abstract class StatsVector(val dataType: DataType, val size: Int) {
+    val nulls = new BitSet(size)
+
+    /**
+     * Sets the value of the file with provided ordinal, the value is either in Spark's external or internal representation.
+     */
+    def set(i: Int, value: Any): Unit
+
+    def estimatedSizeInBytes: Long
+
+    /**
+     * Compares the values against provided value (in Spark's internal representation) of provided type,
+     * returns [[None]] if the types are not comparable.
+     */
+    def compare(value: Any, valueType: DataType, op: ComparisonOp): Option[Predicate] = {
+      if (value == null) {
+        Some(Predicate.unknown(size))
+      } else {
+        compareNonNull(value, valueType, op)
+      }
+    }
+
+    protected def compareNonNull(value: Any, valueType: DataType, op: ComparisonOp): Option[Predicate]
+
+    def compare(other: StatsVector, op: ComparisonOp): Option[Predicate] = None
+
+    def isNullPredicate: Predicate = {
+      val isFalse = new BitSet(size)
+      isFalse.set(0, size)
+      isFalse.andNot(nulls)
+      new Predicate(nulls, isFalse)
+    }
+  }
+
+  /**
+   * Vector of the integral, date, timestamp and boolean values.
+   */
+  private[hudi] class LongVector(dataType: DataType, size: Int) extends StatsVector(dataType, size) {
+    val values = new Array[Long](size)
+
+    override def set(i: Int, value: Any): Unit = {
+      values(i) = value match {
+        case n: Number => n.longValue()
+        case b: Boolean => if (b) 1L else 0L
+        case d: java.sql.Date => DateTimeUtils.fromJavaDate(d)
+        case d: java.time.LocalDate => DateTimeUtils.localDateToDays(d)
+        case t: java.sql.Timestamp => DateTimeUtils.fromJavaTimestamp(t)
+        case t: java.time.Instant => DateTimeUtils.instantToMicros(t)
+        case t: java.time.LocalDateTime => DateTimeUtils.localDateTimeToMicros(t)
+        case other => throw new UnsupportedOperationException(s"Unexpected value ${other.getClass.getName} of type $dataType")
+      }
+      nulls.clear(i)
+    }
+
+    override def estimatedSizeInBytes: Long = 16L + 8L * size + size / 8
+
+    override protected def compareNonNull(value: Any, valueType: DataType, op: ComparisonOp): Option[Predicate] = {
+      if (valueType == dataType || (isIntegral(dataType) && isIntegral(valueType))) {
+        val v = value match {
+          case n: Number => n.longValue()
+          case b: Boolean => if (b) 1L else 0L
+        }
+        val isTrue = new BitSet(size)
+        val isFalse = new BitSet(size)
+        var i = nulls.nextClearBit(0)
+        while (i < size) {
+          if (op.test(java.lang.Long.compare(values(i), v))) isTrue.set(i) else isFalse.set(i)
+          i = nulls.nextClearBit(i + 1)
+        }
+        Some(new Predicate(isTrue, isFalse))
+      } else {
+        None
+      }
+    }
+
+    override def compare(other: StatsVector, op: ComparisonOp): Option[Predicate] = other match {
+      case o: LongVector if isIntegral(dataType) && isIntegral(o.dataType) =>
+        val isTrue = new BitSet(size)
+        val isFalse = new BitSet(size)
+        var i = 0
+        while (i < size) {
+          if (!nulls.get(i) && !o.nulls.get(i)) {
+            if (op.test(java.lang.Long.compare(values(i), o.values(i)))) isTrue.set(i) else isFalse.set(i)
+          }
+          i += 1
+        }
+        Some(new Predicate(isTrue, isFalse))
+      case _ => None
+    }
+
+    private def isIntegral(dt: DataType): Boolean = dt match {
+      case ByteType | ShortType | IntegerType | LongType => true
+      case _ => false
+    }
+  }
+
+  /**
+   * Vector of the floating point values, ordered the same way as Spark does (NaN is larger than any other value).
+   */
+  private[hudi] class DoubleVector(dataType: DataType, size: Int) extends StatsVector(dataType, size) {
+    val values = new Array[Double](size)
+
+    override def set(i: Int, value: Any): Unit = {
+      values(i) = value.asInstanceOf[Number].doubleValue()
+      nulls.clear(i)
+    }
+
+    override def estimatedSizeInBytes: Long = 16L + 8L * size + size / 8
+
+    override protected def compareNonNull(value: Any, valueType: DataType, op: ComparisonOp): Option[Predicate] = {
+      valueType match {
+        case FloatType | DoubleType =>
+          val v = value.asInstanceOf[Number].doubleValue()
+          val isTrue = new BitSet(size)
+          val isFalse = new BitSet(size)
+          var i = nulls.nextClearBit(0)
+          while (i < size) {
+            val cmp = if (values(i) == v) 0 else java.lang.Double.compare(values(i), v)
+            if (op.test(cmp)) isTrue.set(i) else isFalse.set(i)
+            i = nulls.nextClearBit(i + 1)
+          }
+          Some(new Predicate(isTrue, isFalse))
+        case _ => None
+      }
+    }
+  }
+
+  /**
+   * Vector of the string and decimal values, in Spark's internal representation.
+   */
+  private[hudi] class ObjectVector(dataType: DataType, size: Int) extends StatsVector(dataType, size) {
+    val values = new Array[AnyRef](size)
+
+    override def set(i: Int, value: Any): Unit = {
+      values(i) = (dataType, value) match {
+        case (StringType, s: UTF8String) => s
+        case (StringType, s) => UTF8String.fromString(s.toString)
+        case (_: DecimalType, d: Decimal) => d
+        case (_: DecimalType, d: java.math.BigDecimal) => Decimal(d)
+        case (_: DecimalType, d: BigDecimal) => Decimal(d)
+        case (_, other) => throw new UnsupportedOperationException(s"Unexpected value ${other.getClass.getName} of type $dataType")
+      }
+      nulls.clear(i)
+    }
+
+    override def estimatedSizeInBytes: Long = {
+      val sampleSize = values.find(_ != null) match {
+        case Some(s: UTF8String) => 48L + s.numBytes()
+        case _ => 64L
+      }
+      16L + (8L + sampleSize) * size + size / 8
+    }
+
+    override protected def compareNonNull(value: Any, valueType: DataType, op: ComparisonOp): Option[Predicate] = {
+      (dataType, valueType) match {
+        case (StringType, StringType) =>
+          val v = value.asInstanceOf[UTF8String]
+          Some(evaluate(s => op.test(s.asInstanceOf[UTF8String].compareTo(v))))
+        case (_: DecimalType, _: DecimalType) =>
+          val v = value.asInstanceOf[Decimal]
+          Some(evaluate(d => op.test(d.asInstanceOf[Decimal].compare(v))))
+        case _ => None
+      }
+    }
+
+    def startsWith(prefix: UTF8String): Option[Predicate] = dataType match {
+      case StringType => Some(evaluate(s => s.asInstanceOf[UTF8String].startsWith(prefix)))
+      case _ => None
+    }
+
+    private def evaluate(test: AnyRef => Boolean): Predicate = {
+      val isTrue = new BitSet(size)
+      val isFalse = new BitSet(size)
+      var i = nulls.nextClearBit(0)
+      while (i < size) {
+        if (test(values(i))) isTrue.set(i) else isFalse.set(i)
+        i = nulls.nextClearBit(i + 1)
+      }
+      new Predicate(isTrue, isFalse)
+    }
+  }
+}
@@ -36,7 +36,7 @@ import org.apache.hudi.metadata.HoodieTableMetadataUtil.PARTITION_NAME_RECORD_IN
 import org.apache.hudi.storage.StoragePath
 
 import org.apache.spark.sql.SparkSession
-import org.apache.spark.sql.catalyst.expressions.{And, AttributeReference, Cast, EqualTo, Expression, In, Literal}
+import org.apache.spark.sql.catalyst.expressions.{And, AttributeReference, Cast, EqualTo, Expression, In, InSet, Literal}
 import org.apache.spark.sql.hudi.HoodieSqlCommonUtils
 
 import scala.collection.JavaConverters._
@@ -255,6 +255,18 @@ object RecordLevelIndexSupport {
           (Option.empty, true)
         }
 
+      // IN lists longer than spark.sql.optimizer.inSetConversionThreshold, e.g. the key set of a small
+      // build side inlined into the query, are optimized into InSet holding the catalyst values
+      case inSetQuery: InSet =>
+        attributeFetcher.apply(inSetQuery.child) match {
+          case attribute: AttributeReference if attributeMatchesRecordKey(attribute.name, recordKeyOpt) =>
+            val literals = inSetQuery.hset.toList.filter(_ != null)
+              .map(value => literalGenerator.apply(attribute, Literal(value, inSetQuery.child.dataType)))
+            (Option.apply(InSet(attribute, inSetQuery.hset), literals), true)
+          case _ =>
+            (Option.empty, true)
+        }
+
       // Handle And expression (composite filter)
       case andQuery: And =>
         val leftResult = filterQueryWithRecordKey(andQuery.left, recordKeyOpt, literalGenerator, attributeFetcher)
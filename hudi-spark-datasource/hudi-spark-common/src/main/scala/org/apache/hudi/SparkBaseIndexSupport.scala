@@ -105,15 +105,7 @@ abstract class SparkBaseIndexSupport(spark: SparkSession,
   protected def getCandidateFiles(indexDf: DataFrame, queryFilters: Seq[Expression], fileNamesFromPrunedPartitions: Set[String],
                                   getValidIndexedColumnsFunc: HoodieIndexDefinition => Seq[String], isExpressionIndex: Boolean = false,
                                   indexDefinitionOpt: Option[HoodieIndexDefinition] = Option.empty): Set[String] = {
-    val indexDefinition : HoodieIndexDefinition = if (indexDefinitionOpt.isDefined) {
-      indexDefinitionOpt.get
-    } else {
-      metaClient.getIndexMetadata.get()
-        .getIndexDefinitions.get(PARTITION_NAME_COLUMN_STATS)
-    }
-
-    val validIndexedColumns = getValidIndexedColumnsFunc.apply(indexDefinition)
-    val indexFilter = queryFilters.map(translateIntoColumnStatsIndexFilterExpr(_, isExpressionIndex, validIndexedColumns)).reduce(And)
+    val indexFilter = translateIntoIndexFilter(queryFilters, getValidIndexedColumnsFunc, isExpressionIndex, indexDefinitionOpt)
     if (indexFilter.equals(TrueLiteral)) {
       // if there are any non indexed cols or we can't translate source expr, we have to read all files and may not benefit from col stats lookup.
        fileNamesFromPrunedPartitions
@@ -144,6 +136,24 @@ abstract class SparkBaseIndexSupport(spark: SparkSession,
     }
   }
 
+  /**
+   * Translates the query filters into the filter for the transposed Column Stats Index,
+   * returns [[TrueLiteral]] if none of the filters could be translated.
+   */
+  protected def translateIntoIndexFilter(queryFilters: Seq[Expression], getValidIndexedColumnsFunc: HoodieIndexDefinition => Seq[String],
+                                         isExpressionIndex: Boolean = false,
+                                         indexDefinitionOpt: Option[HoodieIndexDefinition] = Option.empty): Expression = {
+    val indexDefinition : HoodieIndexDefinition = if (indexDefinitionOpt.isDefined) {
+      indexDefinitionOpt.get
+    } else {
+      metaClient.getIndexMetadata.get()
+        .getIndexDefinitions.get(PARTITION_NAME_COLUMN_STATS)
+    }
+
+    val validIndexedColumns = getValidIndexedColumnsFunc.apply(indexDefinition)
+    queryFilters.map(translateIntoColumnStatsIndexFilterExpr(_, isExpressionIndex, validIndexedColumns)).reduce(And)
+  }
+
   /**
    * Determines whether it would be more optimal to read Column Stats Index a) in-memory of the invoking process,
    * or b) executing it on-cluster via Spark [[Dataset]] and [[RDD]] APIs
@@ -0,0 +1,59 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi
+
+import org.apache.hudi.common.table.HoodieTableMetaClient
+import org.apache.hudi.common.table.read.heat.ReadHeatTracker
+import org.apache.hudi.common.util.{Option => HOption}
+
+import org.apache.spark.TaskContext
+
+import java.util.concurrent.ConcurrentHashMap
+
+/**
+ * Scopes the [[ReadHeatTracker]] of a table to the Spark task reading it: the tracker is created by the first file group
+ * read of the task, and flushed and closed once the task completes.
+ */
+object SparkReadHeatTrackers {
+
+  private val trackers = new ConcurrentHashMap[(Long, String), ReadHeatTracker]()
+
+  /**
+   * Returns the tracker of the table for the running task, empty outside of a task.
+   */
+  def getOrCreate(metaClient: HoodieTableMetaClient): HOption[ReadHeatTracker] = {
+    Option(TaskContext.get()) match {
+      case Some(taskContext) =>
+        val key = (taskContext.taskAttemptId(), metaClient.getBasePath.toString)
+        var created = false
+        val tracker = trackers.computeIfAbsent(key, new java.util.function.Function[(Long, String), ReadHeatTracker] {
+          override def apply(k: (Long, String)): ReadHeatTracker = {
+            created = true
+            ReadHeatTracker.create(metaClient)
+          }
+        })
+        if (created) {
+          taskContext.addTaskCompletionListener[Unit](_ => Option(trackers.remove(key)).foreach(_.close()))
+        }
+        HOption.of(tracker)
+      case None => HOption.empty()
+    }
+  }
+}
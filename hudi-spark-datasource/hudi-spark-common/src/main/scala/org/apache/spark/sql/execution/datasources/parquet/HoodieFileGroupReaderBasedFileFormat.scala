@@ -17,7 +17,7 @@
 
 package org.apache.spark.sql.execution.datasources.parquet
 
-import org.apache.hudi.{HoodieFileIndex, HoodiePartitionCDCFileGroupMapping, HoodiePartitionFileSliceMapping, HoodieSchemaConversionUtils, HoodieSparkUtils, HoodieTableSchema, SparkAdapterSupport, SparkFileFormatInternalRowReaderContext}
+import org.apache.hudi.{HoodieColumnarBatchMergeIterator, HoodieFileIndex, HoodiePartitionCDCFileGroupMapping, HoodiePartitionFileSliceMapping, HoodieSchemaConversionUtils, HoodieSparkUtils, HoodieTableSchema, SparkAdapterSupport, SparkFileFormatInternalRowReaderContext, SparkReadHeatTrackers}
 import org.apache.hudi.cdc.{CDCFileGroupIterator, HoodieCDCFileGroupSplit, HoodieCDCFileIndex}
 import org.apache.hudi.client.common.HoodieSparkEngineContext
 import org.apache.hudi.client.utils.SparkInternalSchemaConverter
@@ -30,6 +30,7 @@ import org.apache.hudi.common.schema.HoodieSchemaUtils
 import org.apache.hudi.common.schema.internal.InternalSchema
 import org.apache.hudi.common.table.{HoodieTableConfig, HoodieTableMetaClient, ParquetTableSchemaResolver}
 import org.apache.hudi.common.table.read.{HoodieFileGroupReader, HoodieRecordReader}
+import org.apache.hudi.common.table.read.heat.ReadHeatTracker
 import org.apache.hudi.common.table.read.lsm.{HoodieLsmFileGroupReader, LsmReaderUtils}
 import org.apache.hudi.common.util.{ConfigUtils, Option => HOption}
 import org.apache.hudi.common.util.collection.ClosableIterator
@@ -86,6 +87,7 @@ class HoodieFileGroupReaderBasedFileFormat(tablePath: String,
                                            isIncremental: Boolean,
                                            validCommits: String,
                                            shouldUseRecordPosition: Boolean,
+                                           shouldUseColumnarMerge: Boolean,
                                            requiredFilters: Seq[Filter],
                                            isMultipleBaseFileFormatsEnabled: Boolean,
                                            hoodieFileFormat: HoodieFileFormat)
@@ -119,6 +121,11 @@ class HoodieFileGroupReaderBasedFileFormat(tablePath: String,
    */
   private var supportReturningBatch = false
 
+  /**
+   * Flag saying whether the file slices with log files are merged in columnar batches.
+   */
+  private var supportColumnarMerge = false
+
   /**
    * Cached result of vector column detection keyed by schema identity.
    * Avoids re-parsing metadata on repeated supportBatch / readBaseFile calls with the same schema.
@@ -143,7 +150,8 @@ class HoodieFileGroupReaderBasedFileFormat(tablePath: String,
    * because when there are any log file in a file slice, it needs to be read by the file group reader.
    * Since we are currently performing merges based on rows, the result returned by merging should be based on rows,
    * we cannot assume that all file slices have only base files.
-   * So we need to set the batch result back to false.
+   * So we need to set the batch result back to false, unless the file slices are merged in columnar batches
+   * by the record positions, see [[HoodieColumnarBatchMergeIterator]].
    *
    */
   override def supportBatch(sparkSession: SparkSession, schema: StructType): Boolean = {
@@ -152,6 +160,7 @@ class HoodieFileGroupReaderBasedFileFormat(tablePath: String,
     if (detectVectorColumnsCached(schema).nonEmpty) {
       supportVectorizedRead = false
       supportReturningBatch = false
+      supportColumnarMerge = false
       false
     } else if (schema.fields.exists(f => f.dataType.isInstanceOf[StructType]
         && sparkAdapter.isVariantProjectionStruct(f.dataType.asInstanceOf[StructType]))) {
@@ -161,12 +170,14 @@ class HoodieFileGroupReaderBasedFileFormat(tablePath: String,
       // mode (ParquetSchemaEvolutionUtils throws). Force row-based reading on this path.
       supportVectorizedRead = false
       supportReturningBatch = false
+      supportColumnarMerge = false
       false
     } else if (HoodieSparkUtils.gteqSpark4_1 && schema.fields.exists(f => sparkAdapter.isVariantType(f.dataType))) {
       // #18605: Spark 4.1's vectorized variant read produces UnsafeRow encodings that SIGBUS
       // during RangePartitioner sampling. Force row-based reads. Spark 4.0 unaffected.
       supportVectorizedRead = false
       supportReturningBatch = false
+      supportColumnarMerge = false
       false
     } else {
       val conf = sparkSession.sessionState.conf
@@ -189,9 +200,11 @@ class HoodieFileGroupReaderBasedFileFormat(tablePath: String,
         throw new HoodieNotSupportedException("Unsupported file format: " + hoodieFileFormat)
       }
       supportVectorizedRead = !isIncremental && !isBootstrap && supportBatch
-      supportReturningBatch = !isMOR && supportVectorizedRead
+      supportColumnarMerge = shouldUseColumnarMerge && isMOR && supportVectorizedRead && !isMultipleBaseFileFormatsEnabled &&
+        hoodieFileFormat == HoodieFileFormat.PARQUET && schema.forall(f => HoodieColumnarBatchMergeIterator.isSupportedType(f.dataType))
+      supportReturningBatch = (!isMOR || supportColumnarMerge) && supportVectorizedRead
       logDebug(s"supportReturningBatch: $supportReturningBatch, supportVectorizedRead: $supportVectorizedRead, isIncremental: $isIncremental, " +
-        s"isBootstrap: $isBootstrap, superSupportBatch: $supportBatch")
+        s"isBootstrap: $isBootstrap, superSupportBatch: $supportBatch, supportColumnarMerge: $supportColumnarMerge")
       supportReturningBatch
     }
   }
@@ -202,7 +215,10 @@ class HoodieFileGroupReaderBasedFileFormat(tablePath: String,
                            partitionSchema: StructType,
                            sqlConf: SQLConf): Option[Seq[String]] = {
     val originalVectorTypes = super.vectorTypes(requiredSchema, partitionSchema, sqlConf)
-    if (mandatoryFields.isEmpty) {
+    if (supportColumnarMerge) {
+      // the merged batches are made of the vectors of the base file reader and the vectors overwritten by the merging
+      None
+    } else if (mandatoryFields.isEmpty) {
       originalVectorTypes
     } else {
       val regularVectorType = if (!sqlConf.offHeapColumnVectorEnabled) {
@@ -275,7 +291,7 @@ class HoodieFileGroupReaderBasedFileFormat(tablePath: String,
     spark.sessionState.conf.setConfString("spark.sql.parquet.enableVectorizedReader", supportVectorizedRead.toString)
 
     val baseFileReader = spark.sparkContext.broadcast(buildBaseFileReader(spark, options, augmentedStorageConf.unwrap(), dataStructType, supportVectorizedRead))
-    val fileGroupBaseFileReader = if (isMOR && supportVectorizedRead) {
+    val fileGroupBaseFileReader = if (isMOR && supportVectorizedRead && !supportColumnarMerge) {
       // for file group reader to perform read, we always need to read the record without vectorized reader because our merging is based on row level.
       // TODO: please consider to support vectorized reader in file group reader
       spark.sparkContext.broadcast(buildBaseFileReader(spark, options, augmentedStorageConf.unwrap(), dataStructType, enableVectorizedRead = false))
@@ -288,6 +304,7 @@ class HoodieFileGroupReaderBasedFileFormat(tablePath: String,
 
     val engineContext = new HoodieSparkEngineContext(new JavaSparkContext(spark.sparkContext))
     val maxMemoryPerCompaction = MergeUtils.getMaxMemoryPerCompaction(engineContext.getTaskContextSupplier, options.asJava)
+    val columnarMergeBatchSize = spark.sessionState.conf.parquetVectorizedReaderBatchSize
 
     // Create metaclient on driver to avoid expensive operations on executors
     val metaClient: HoodieTableMetaClient = HoodieTableMetaClient
@@ -302,7 +319,7 @@ class HoodieFileGroupReaderBasedFileFormat(tablePath: String,
           val fileGroupName = FSUtils.getFileIdFromFilePath(sparkAdapter
             .getSparkPartitionedFileUtils.getPathFromPartitionedFile(file))
           fileSliceMapping.getSlice(fileGroupName) match {
-            case Some(fileSlice) if !isCount && (requiredSchema.nonEmpty || fileSlice.getLogFiles.findAny().isPresent) =>
+            case Some(fileSlice) if !isCount && (fileSlice.getLogFiles.findAny().isPresent || (requiredSchema.nonEmpty && !supportColumnarMerge)) =>
               val readerContext = new SparkFileFormatInternalRowReaderContext(
                 fileGroupBaseFileReader.value, filters, requiredFilters, storageConf, metaClient.getTableConfig,
                 sparkRequiredSchema = Some(requiredSchema))
@@ -334,6 +351,11 @@ class HoodieFileGroupReaderBasedFileFormat(tablePath: String,
                     .withLength(baseFileLength)
                     .build()
                 } else {
+                  val readHeatTracker = if (ConfigUtils.getBooleanWithAltKeys(props, HoodieReaderConfig.READ_HEAT_TRACKING_ENABLE)) {
+                    SparkReadHeatTrackers.getOrCreate(metaClient)
+                  } else {
+                    HOption.empty[ReadHeatTracker]()
+                  }
                   HoodieFileGroupReader.builder[InternalRow]()
                     .withReaderContext(readerContext)
                     .withHoodieTableMetaClient(metaClient)
@@ -348,16 +370,30 @@ class HoodieFileGroupReaderBasedFileFormat(tablePath: String,
                     .withStart(file.start)
                     .withLength(baseFileLength)
                     .withShouldUseRecordPosition(shouldUseRecordPosition)
+                    .withReadHeatTracker(readHeatTracker)
                     .build()
                 }
-              // Append partition values to rows and project to output schema
-              appendPartitionAndProject(
-                reader.getClosableIterator,
-                requestedStructType,
-                remainingPartitionSchema,
-                outputSchema,
-                fileSliceMapping.getPartitionValues,
-                fixedPartitionIndexes)
+              if (supportColumnarMerge) {
+                // Merge the base file batches with the log records and append partition values to the batches
+                val partitionValues = fileSliceMapping.getPartitionValues
+                val fixedPartitionValues = if (remainingPartitionSchema.length == partitionValues.numFields) {
+                  partitionValues
+                } else {
+                  getFixedPartitionValues(partitionValues, partitionSchema, fixedPartitionIndexes)
+                }
+                new HoodieColumnarBatchMergeIterator(reader, readerContext, requestedStructType,
+                  remainingPartitionSchema, fixedPartitionValues, outputSchema, columnarMergeBatchSize)
+                  .asInstanceOf[Iterator[InternalRow]]
+              } else {
+                // Append partition values to rows and project to output schema
+                appendPartitionAndProject(
+                  reader.getClosableIterator,
+                  requestedStructType,
+                  remainingPartitionSchema,
+                  outputSchema,
+                  fileSliceMapping.getPartitionValues,
+                  fixedPartitionIndexes)
+              }
 
             case _ =>
               readBaseFile(file, baseFileReader.value, requestedStructType, remainingPartitionSchema, fixedPartitionIndexes,
@@ -21,6 +21,7 @@ package org.apache.spark.sql.execution.datasources.parquet
 
 import org.apache.hudi.HoodieSparkUtils
 import org.apache.hudi.common.schema.internal.InternalSchema
+import org.apache.hudi.common.table.read.buffer.PositionBasedFileGroupRecordBuffer.ROW_INDEX_TEMPORARY_COLUMN_NAME
 import org.apache.hudi.common.util
 import org.apache.hudi.storage.StorageConfiguration
 
@@ -64,9 +65,16 @@ abstract class SparkParquetReaderBase(enableVectorizedReader: Boolean,
                  filters: Seq[Filter],
                  storageConf: StorageConfiguration[Configuration],
                  tableSchemaOpt: util.Option[org.apache.parquet.schema.MessageType] = util.Option.empty()): Iterator[InternalRow] = {
+    // NOTE: The row index column is not in the file but populated by the reader, the vectorized reader
+    //       rejects the non-nullable columns missing in the file
+    val readSchema = if (enableVectorizedReader && requiredSchema.fieldNames.contains(ROW_INDEX_TEMPORARY_COLUMN_NAME)) {
+      StructType(requiredSchema.map(f => if (f.name == ROW_INDEX_TEMPORARY_COLUMN_NAME) f.copy(nullable = true) else f))
+    } else {
+      requiredSchema
+    }
     val conf = storageConf.unwrapCopy()
-    conf.set(ParquetReadSupport.SPARK_ROW_REQUESTED_SCHEMA, requiredSchema.json)
-    conf.set(ParquetWriteSupport.SPARK_ROW_SCHEMA, requiredSchema.json)
+    conf.set(ParquetReadSupport.SPARK_ROW_REQUESTED_SCHEMA, readSchema.json)
+    conf.set(ParquetWriteSupport.SPARK_ROW_SCHEMA, readSchema.json)
 
     conf.setBoolean(SQLConf.NESTED_SCHEMA_PRUNING_ENABLED.key, false);
     conf.setBoolean(SQLConf.CASE_SENSITIVE.key, false);
@@ -80,8 +88,8 @@ abstract class SparkParquetReaderBase(enableVectorizedReader: Boolean,
       conf.setBooleanIfUnset("spark.sql.parquet.inferTimestampNTZ.enabled", true)
     }
 
-    ParquetWriteSupport.setSchema(requiredSchema, conf)
-    doRead(file, requiredSchema, partitionSchema, internalSchemaOpt, filters, conf, tableSchemaOpt)
+    ParquetWriteSupport.setSchema(readSchema, conf)
+    doRead(file, readSchema, partitionSchema, internalSchemaOpt, filters, conf, tableSchemaOpt)
   }
 
   /**
@@ -21,8 +21,9 @@ package org.apache.hudi
 
 import org.apache.hudi.common.model.HoodieRecord.HoodieMetadataField
 
-import org.apache.spark.sql.catalyst.expressions.{And, AttributeReference, EqualTo, Expression, FromUnixTime, GreaterThan, In, Literal, Not, Or}
+import org.apache.spark.sql.catalyst.expressions.{And, AttributeReference, EqualTo, Expression, FromUnixTime, GreaterThan, In, InSet, Literal, Not, Or}
 import org.apache.spark.sql.types.StringType
+import org.apache.spark.unsafe.types.UTF8String
 import org.junit.jupiter.api.Assertions.{assertEquals, assertTrue}
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.ValueSource
@@ -131,5 +132,21 @@ class TestRecordLevelIndexSupport {
     testFilter = And(rk1EqFilter, And(rk1InFilter, Or(rk1EqFilter, rk1EqFilter)))
     result = RecordLevelIndexSupport.filterQueryWithRecordKey(testFilter, Option.apply("rk1"), RecordLevelIndexSupport.getComplexKeyLiteralGenerator())
     assertTrue(result.isEmpty)
+
+    // Case 13: InSet filter, i.e. a long IN list optimized by Spark, on record key returns the literals of the catalyst values
+    testFilter = InSet(AttributeReference(filterColumnName, StringType, nullable = true)(), Set(UTF8String.fromString("xyz"), UTF8String.fromString("abc")))
+    result = RecordLevelIndexSupport.filterQueryWithRecordKey(testFilter, Option.apply(recordKeyField))
+    assertTrue(result.isDefined)
+    assertEquals(testFilter, result.get._1)
+    assertEquals(Set("xyz", "abc"), result.get._2.toSet)
+
+    // Case 14: InSet filter on fields other than record key returns empty result, and complex keys are prefixed with the field name
+    result = RecordLevelIndexSupport.filterQueryWithRecordKey(
+      InSet(AttributeReference("rk5", StringType, nullable = true)(), Set(UTF8String.fromString("a1"))), Option.apply("rk4"))
+    assertTrue(result.isEmpty)
+    result = RecordLevelIndexSupport.filterQueryWithRecordKey(
+      And(InSet(AttributeReference("rk1", StringType, nullable = true)(), Set(UTF8String.fromString("a1"))), rk2EqFilter),
+      Option.apply("rk1"), RecordLevelIndexSupport.getComplexKeyLiteralGenerator())
+    assertEquals(List("rk1:a1"), result.get._2)
   }
 }
@@ -28,13 +28,13 @@ import org.apache.hudi.common.schema.{HoodieSchema, HoodieSchemaUtils}
 import org.apache.hudi.common.schema.internal.InternalSchema
 import org.apache.hudi.common.table.{HoodieTableMetaClient, TableSchemaResolver}
 import org.apache.hudi.common.table.read.HoodieFileGroupReader
-import org.apache.hudi.common.table.view.HoodieTableFileSystemView
+import org.apache.hudi.common.table.view.{FileSystemViewManager, HoodieTableFileSystemView}
 import org.apache.hudi.common.util.{Option, ValidationUtils}
-import org.apache.hudi.config.{HoodieIndexConfig, HoodieInternalConfig}
+import org.apache.hudi.config.{HoodieIndexConfig, HoodieInternalConfig, HoodieWriteConfig}
 import org.apache.hudi.config.HoodieWriteConfig.ROLLBACK_USING_MARKERS_ENABLE
 import org.apache.hudi.data.CloseableIteratorListener
 import org.apache.hudi.exception.HoodieException
-import org.apache.hudi.index.bucket.partition.{PartitionBucketIndexCalculator, PartitionBucketIndexUtils}
+import org.apache.hudi.index.bucket.partition.{NumBucketsFunction, PartitionBucketIndexCalculator, PartitionBucketIndexResizer, PartitionBucketIndexUtils}
 import org.apache.hudi.storage.StoragePath
 
 import org.apache.spark.internal.Logging
@@ -68,7 +68,8 @@ class PartitionBucketIndexManager extends BaseProcedure
     ProcedureParameter.optional(6, "show_config", DataTypes.BooleanType, false),
     ProcedureParameter.optional(7, "rule", DataTypes.StringType, "regex"),
     // params => key=value, key2=value2
-    ProcedureParameter.optional(8, "options", DataTypes.StringType)
+    ProcedureParameter.optional(8, "options", DataTypes.StringType),
+    ProcedureParameter.optional(9, "resize", DataTypes.BooleanType, false)
   )
 
   private val OUTPUT_TYPE = new StructType(Array[StructField](
@@ -93,6 +94,7 @@ class PartitionBucketIndexManager extends BaseProcedure
     val showConfig = getArgValueOrDefault(args, PARAMETERS(6)).get.asInstanceOf[Boolean]
     val rule = getArgValueOrDefault(args, PARAMETERS(7)).orNull.asInstanceOf[String]
     val options = getArgValueOrDefault(args, PARAMETERS(8))
+    val resize = getArgValueOrDefault(args, PARAMETERS(9)).get.asInstanceOf[Boolean]
 
     try {
       // Get table metadata
@@ -124,6 +126,8 @@ class PartitionBucketIndexManager extends BaseProcedure
         handleOverwrite(config, context, metaClient, overwrite, bucketNumber, rule, dryRun)
       } else if (add != null) {
         handleAdd(config, context, metaClient, add, dryRun)
+      } else if (resize) {
+        handleResize(config, context, metaClient, bucketNumber, rule, dryRun)
       } else {
         Seq(Row("ERROR", "INVALID_OPERATION", "No valid operation specified"))
       }
@@ -292,6 +296,49 @@ class PartitionBucketIndexManager extends BaseProcedure
       hashingConfig.getRule, dryRun)
   }
 
+  /**
+   * Handle the resize operation, which overwrites the partitions whose average bucket size is out of
+   * the split and merge thresholds with the bucket numbers proposed by [[PartitionBucketIndexResizer]].
+   */
+  private def handleResize(config: Map[String, String],
+                           context: HoodieEngineContext,
+                           metaClient: HoodieTableMetaClient,
+                           bucketNumber: Int,
+                           rule: String,
+                           dryRun: Boolean): Seq[Row] = {
+    logInfo("Handle Resize Operation")
+    val basePath = metaClient.getBasePath
+    val writeConfig = HoodieWriteConfig.newBuilder().withPath(basePath.toString).withProps(config.asJava).build()
+    val usePartitionBucketIndexBefore = PartitionBucketIndexUtils.isPartitionSimpleBucketIndex(context.getStorageConf, basePath.toString)
+    val (latestExpression, defaultBucketNumber, latestRule) = if (usePartitionBucketIndexBefore) {
+      val hashingConfig = PartitionBucketIndexHashingConfig.loadingLatestHashingConfig(metaClient)
+      (hashingConfig.getExpressions, hashingConfig.getDefaultBucketNumber, hashingConfig.getRule)
+    } else {
+      ValidationUtils.checkArgument(bucketNumber != -1, "Please set original bucket number before resizing the buckets")
+      (null, bucketNumber, rule)
+    }
+    val numBucketsFunction = new NumBucketsFunction(latestExpression, latestRule, defaultBucketNumber)
+
+    val mdtEnable = metaClient.getStorage().exists(new StoragePath(metaClient.getBasePath, HoodieTableMetaClient.METADATA_TABLE_FOLDER_PATH))
+    val allPartitions = FSUtils.getAllPartitionPaths(context, metaClient, mdtEnable)
+    val view = FileSystemViewManager.createInMemoryFileSystemView(context, metaClient,
+      HoodieMetadataConfig.newBuilder.enable(mdtEnable).build)
+    val partitionSizes = try {
+      PartitionBucketIndexResizer.getPartitionSizes(view, allPartitions)
+    } finally {
+      view.close()
+    }
+    val targetBucketBytes = writeConfig.getMaxFileSize(metaClient.getTableConfig.getBaseFileFormat)
+    val partitionToBuckets = PartitionBucketIndexResizer.proposeBucketNumbers(writeConfig, targetBucketBytes,
+      numBucketsFunction, partitionSizes)
+    if (partitionToBuckets.isEmpty) {
+      Seq(Row("SUCCESS", "RESIZE", "No partition to resize"))
+    } else {
+      val expression = PartitionBucketIndexResizer.buildExpressions(partitionToBuckets, latestExpression)
+      handleOverwrite(config, context, metaClient, expression, defaultBucketNumber, latestRule, dryRun)
+    }
+  }
+
   /**
    * Handle the rollback operation.
    */
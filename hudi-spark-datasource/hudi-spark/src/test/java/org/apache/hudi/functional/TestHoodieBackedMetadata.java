@@ -2120,6 +2120,137 @@ public class TestHoodieBackedMetadata extends TestHoodieMetadataBase {
     }
   }
 
+  /**
+   * Initializing the record index on a metadata table that already has committed partitions tags the bootstrap records
+   * with the inflight file groups of the record index only.
+   */
+  @Test
+  public void testRecordIndexInitializationOnExistingMetadataTable() throws Exception {
+    init(COPY_ON_WRITE);
+    HoodieSparkEngineContext engineContext = new HoodieSparkEngineContext(jsc);
+
+    List<HoodieRecord> records;
+    try (SparkRDDWriteClient client = new SparkRDDWriteClient(engineContext, getWriteConfigBuilder(true, true, false).build())) {
+      String commitTime = client.startCommit();
+      records = dataGen.generateInserts(commitTime, 100);
+      List<WriteStatus> writeStatuses = client.insert(jsc.parallelize(records, 1), commitTime).collect();
+      assertNoWriteErrors(writeStatuses);
+      client.commit(commitTime, jsc.parallelize(writeStatuses));
+    }
+
+    HoodieWriteConfig riConfig = getWriteConfigBuilder(true, true, false)
+        .withMetadataConfig(HoodieMetadataConfig.newBuilder()
+            .enable(true)
+            .withEnableGlobalRecordLevelIndex(true)
+            .withRecordIndexFileGroupCount(3, 3)
+            .build())
+        .build();
+    try (SparkRDDWriteClient client = new SparkRDDWriteClient(engineContext, riConfig)) {
+      String commitTime = client.startCommit();
+      List<HoodieRecord> newRecords = dataGen.generateInserts(commitTime, 20);
+      List<WriteStatus> writeStatuses = client.insert(jsc.parallelize(newRecords, 1), commitTime).collect();
+      assertNoWriteErrors(writeStatuses);
+      client.commit(commitTime, jsc.parallelize(writeStatuses));
+      records.addAll(newRecords);
+
+      HoodieBackedTableMetadata metadataReader = (HoodieBackedTableMetadata) metadata(client, storage);
+      HoodieTableMetaClient metadataMetaClient = metadataReader.getMetadataMetaClient();
+      assertEquals(1, HoodieTableMetadataUtil.getPartitionLatestFileSlices(metadataMetaClient, Option.empty(), FILES.getPartitionPath()).size());
+      // every file group of the record index receives its bootstrap records as a base file
+      List<FileSlice> recordIndexSlices = HoodieTableMetadataUtil.getPartitionLatestFileSlices(metadataMetaClient, Option.empty(),
+          RECORD_INDEX.getPartitionPath());
+      assertEquals(3, recordIndexSlices.size());
+      assertTrue(recordIndexSlices.stream().allMatch(slice -> slice.getBaseFile().isPresent()));
+      assertRecordIndexLocations(metadataReader, records);
+      validateMetadata(client);
+    }
+  }
+
+  /**
+   * The table services of the metadata table reshard the record index once its file group grows beyond the max file group size,
+   * unless a write to the data table is pending. The lookups and the upserts resolve the keys against the new file groups.
+   */
+  @Test
+  public void testRecordIndexReshard() throws Exception {
+    init(COPY_ON_WRITE);
+    HoodieSparkEngineContext engineContext = new HoodieSparkEngineContext(jsc);
+    List<HoodieRecord> records;
+    // the record index grows beyond the max file group size w/o being resharded
+    try (SparkRDDWriteClient client = new SparkRDDWriteClient(engineContext, getRecordIndexReshardWriteConfig(false))) {
+      String commitTime = client.startCommit();
+      records = dataGen.generateInserts(commitTime, 200);
+      List<WriteStatus> writeStatuses = client.insert(jsc.parallelize(records, 1), commitTime).collect();
+      assertNoWriteErrors(writeStatuses);
+      client.commit(commitTime, jsc.parallelize(writeStatuses));
+      assertEquals(1, getRecordIndexFileGroupCount(client));
+    }
+
+    try (SparkRDDWriteClient client = new SparkRDDWriteClient(engineContext, getRecordIndexReshardWriteConfig(true))) {
+      // a pending write on the data table defers the resharding
+      String pendingCommitTime = WriteClientTestUtils.createNewInstantTime();
+      HoodieTestTable.of(metaClient).addRequestedCommit(pendingCommitTime);
+      upsertAndAssertUpdates(client, records);
+      assertEquals(1, getRecordIndexFileGroupCount(client));
+
+      // the table services run by the next write reshard the record index before its records are tagged
+      storage.deleteFile(new StoragePath(metaClient.getTimelinePath(),
+          metaClient.getInstantFileNameGenerator().makeRequestedCommitFileName(pendingCommitTime)));
+      upsertAndAssertUpdates(client, records);
+      assertEquals(4, getRecordIndexFileGroupCount(client));
+      upsertAndAssertUpdates(client, records);
+
+      HoodieBackedTableMetadata metadataReader = (HoodieBackedTableMetadata) metadata(client, storage);
+      assertRecordIndexLocations(metadataReader, records);
+      validateMetadata(client);
+    }
+  }
+
+  private HoodieWriteConfig getRecordIndexReshardWriteConfig(boolean reshardEnabled) {
+    return getWriteConfigBuilder(HoodieFailedWritesCleaningPolicy.LAZY, true, true, false)
+        .withIndexConfig(HoodieIndexConfig.newBuilder()
+            .withIndexType(HoodieIndex.IndexType.RECORD_INDEX)
+            .build())
+        .withMetadataConfig(HoodieMetadataConfig.newBuilder()
+            .enable(true)
+            .withEnableGlobalRecordLevelIndex(true)
+            .withRecordIndexFileGroupCount(1, 4)
+            .withRecordIndexMaxFileGroupSizeBytes(1024)
+            .withRecordIndexReshardEnabled(reshardEnabled)
+            .build())
+        .build();
+  }
+
+  private int getRecordIndexFileGroupCount(SparkRDDWriteClient client) {
+    HoodieBackedTableMetadata metadataReader = (HoodieBackedTableMetadata) metadata(client, storage);
+    return HoodieTableMetadataUtil.getPartitionLatestFileSlices(metadataReader.getMetadataMetaClient(), Option.empty(),
+        RECORD_INDEX.getPartitionPath()).size();
+  }
+
+  /**
+   * Upserts the updates of the given records, all of which must be tagged as updates by the record index.
+   */
+  private void upsertAndAssertUpdates(SparkRDDWriteClient client, List<HoodieRecord> records) throws IOException {
+    String commitTime = client.startCommit();
+    List<HoodieRecord> updates = dataGen.generateUpdates(commitTime, records);
+    List<WriteStatus> writeStatuses = client.upsert(jsc.parallelize(updates, 1), commitTime).collect();
+    assertNoWriteErrors(writeStatuses);
+    client.commit(commitTime, jsc.parallelize(writeStatuses));
+    assertEquals(0, writeStatuses.stream().mapToLong(status -> status.getStat().getNumInserts()).sum());
+    assertEquals(records.size(), writeStatuses.stream().mapToLong(status -> status.getStat().getNumUpdateWrites()).sum());
+  }
+
+  private void assertRecordIndexLocations(HoodieTableMetadata metadataReader, List<HoodieRecord> records) {
+    List<String> recordKeys = records.stream().map(HoodieRecord::getRecordKey).collect(Collectors.toList());
+    HoodiePairData<String, HoodieRecordGlobalLocation> recordIndexData = metadataReader
+        .readRecordIndexLocationsWithKeys(HoodieListData.eager(recordKeys));
+    try {
+      Map<String, HoodieRecordGlobalLocation> result = HoodieDataUtils.dedupeAndCollectAsMap(recordIndexData);
+      assertEquals(new HashSet<>(recordKeys), result.keySet());
+    } finally {
+      recordIndexData.unpersistWithDependencies();
+    }
+  }
+
   /**
    * First attempt at bootstrap failed but the file slices get created. The next bootstrap should continue successfully.
    */
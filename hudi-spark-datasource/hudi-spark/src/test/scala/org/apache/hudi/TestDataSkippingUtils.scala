@@ -19,6 +19,10 @@ package org.apache.hudi
 
 import org.apache.hudi.ColumnStatsIndexSupport.composeIndexSchema
 import org.apache.hudi.SparkAdapterSupport.sparkAdapter
+import org.apache.hudi.TestDataSkippingUtils.toColumnStatsRecord
+import org.apache.hudi.avro.model.HoodieMetadataColumnStats
+import org.apache.hudi.metadata.HoodieIndexVersion
+import org.apache.hudi.metadata.stats.SparkValueMetadataUtils
 import org.apache.hudi.testutils.HoodieSparkClientTestBase
 
 import org.apache.spark.sql.{Row, SparkSession}
@@ -29,11 +33,13 @@ import org.apache.spark.sql.catalyst.expressions.{Expression, InSet, Not}
 import org.apache.spark.sql.catalyst.optimizer.OptimizeIn
 import org.apache.spark.sql.catalyst.plans.logical.LogicalPlan
 import org.apache.spark.sql.catalyst.rules.Rule
+import org.apache.spark.sql.catalyst.util.DateTimeUtils
 import org.apache.spark.sql.functions.{col, lower}
 import org.apache.spark.sql.hudi.DataSkippingUtils
 import org.apache.spark.sql.internal.SQLConf.SESSION_LOCAL_TIMEZONE
 import org.apache.spark.sql.types._
-import org.junit.jupiter.api.Assertions.assertEquals
+import org.apache.spark.unsafe.types.UTF8String
+import org.junit.jupiter.api.Assertions.{assertEquals, assertFalse, assertTrue}
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.{Arguments, MethodSource}
@@ -140,6 +146,22 @@ class TestDataSkippingUtils extends HoodieSparkClientTestBase with SparkAdapterS
       .toSeq
 
     assertEquals(output, rows)
+    assertLocalFilterResult(lookupFilter, input, rows)
+  }
+
+  @ParameterizedTest
+  @MethodSource(Array("testLocalColumnStatsIndexSource"))
+  def testLocalColumnStatsIndex(sourceFilterExprStr: String, input: Seq[IndexRow], expectedOutput: Seq[String]): Unit = {
+    spark.sqlContext.setConf(SESSION_LOCAL_TIMEZONE.key, "UTC")
+
+    val resolvedFilterExpr: Expression = resolveExpr(spark, sourceFilterExprStr, sourceTableSchema)
+    val lookupFilter = DataSkippingUtils.translateIntoColumnStatsIndexFilterExpr(resolvedFilterExpr, indexedCols = indexedCols)
+    val localIndex = toLocalIndex(input)
+
+    assertEquals(input.size, localIndex.numFiles)
+    assertTrue(input.forall(row => localIndex.containsFile(row.fileName)))
+    assertFalse(localIndex.containsFile("file_x"))
+    assertEquals(Some(expectedOutput), localIndex.filter(lookupFilter))
   }
 
 
@@ -160,15 +182,103 @@ class TestDataSkippingUtils extends HoodieSparkClientTestBase with SparkAdapterS
 
     val indexDf = spark.createDataFrame(input.map(_.toRow).asJava, indexSchema)
 
-    indexDf.where(sparkAdapter.createColumnFromExpression(lookupFilter))
+    val rows = indexDf.where(sparkAdapter.createColumnFromExpression(lookupFilter))
       .select("fileName")
       .collect()
       .map(_.getString(0))
       .toSeq
+    assertLocalFilterResult(lookupFilter, input, rows)
+    rows
+  }
+
+  /**
+   * Local evaluation over the column stats arrays (if supported) has to match the evaluation through Spark
+   */
+  private def assertLocalFilterResult(lookupFilter: Expression, input: Seq[IndexRow], expectedOutput: Seq[String]): Unit = {
+    toLocalIndex(input).filter(lookupFilter)
+      .foreach(fileNames => assertEquals(expectedOutput.sorted, fileNames.sorted))
+  }
+
+  /**
+   * Builds the local index from the Column Stats Index records of the index rows, the same way as they are read
+   * from the metadata table
+   */
+  private def toLocalIndex(input: Seq[IndexRow]): LocalColumnStatsIndex = {
+    val records = input.flatMap { row =>
+      Seq(
+        toColumnStatsRecord(row.fileName, "A", LongType, row.A_minValue, row.A_maxValue, row.A_nullCount, row.valueCount),
+        toColumnStatsRecord(row.fileName, "B", StringType, Option(row.B_minValue).map(UTF8String.fromString).orNull,
+          Option(row.B_maxValue).map(UTF8String.fromString).orNull, row.B_nullCount, row.valueCount),
+        toColumnStatsRecord(row.fileName, "C", TimestampType, Option(row.C_minValue).map(DateTimeUtils.fromJavaTimestamp).orNull,
+          Option(row.C_maxValue).map(DateTimeUtils.fromJavaTimestamp).orNull, row.C_nullCount, row.valueCount))
+    }
+    LocalColumnStatsIndex.fromRecords(records, sourceTableSchema.fields.map(f => (f.name, f.dataType)).toSeq)
   }
 }
 
 object TestDataSkippingUtils {
+
+  /**
+   * Creates the Column Stats Index record of the column of the file, the min/max values are in Spark's
+   * internal representation.
+   */
+  def toColumnStatsRecord(fileName: String, columnName: String, dataType: DataType, minValue: Any, maxValue: Any,
+                          nullCount: java.lang.Long, valueCount: Long): HoodieMetadataColumnStats = {
+    val valueMetadata = SparkValueMetadataUtils.getValueMetadata(dataType, HoodieIndexVersion.V2)
+    def wrap(value: Any): AnyRef = value match {
+      case null => null
+      // the strings are kept as Java strings by the writer
+      case s: UTF8String => valueMetadata.wrapValue(s.toString)
+      case v => valueMetadata.wrapValue(SparkValueMetadataUtils.convertSparkToJava(valueMetadata, v))
+    }
+    HoodieMetadataColumnStats.newBuilder()
+      .setFileName(fileName)
+      .setColumnName(columnName)
+      .setMinValue(wrap(minValue))
+      .setMaxValue(wrap(maxValue))
+      .setNullCount(nullCount)
+      .setValueCount(valueCount)
+      .setTotalSize(0L)
+      .setTotalUncompressedSize(0L)
+      .setIsDeleted(false)
+      .setValueType(valueMetadata.getValueTypeInfo)
+      .build()
+  }
+
+  def testLocalColumnStatsIndexSource(): java.util.stream.Stream[Arguments] = {
+    java.util.stream.Stream.of(
+      arguments(
+        "A = 1 AND B >= 'abc'",
+        Seq(
+          IndexRow("file_3", valueCount = 2, A_minValue = 0, A_maxValue = 1, A_nullCount = 0, B_minValue = "aaa", B_maxValue = "abd", B_nullCount = 0),
+          IndexRow("file_1", valueCount = 2, A_minValue = 1, A_maxValue = 2, A_nullCount = 0, B_minValue = "aaa", B_maxValue = "aab", B_nullCount = 0),
+          IndexRow("file_2", valueCount = 2, A_minValue = 2, A_maxValue = 3, A_nullCount = 0, B_minValue = "xyz", B_maxValue = "xzz", B_nullCount = 0),
+          // stats of column B are missing
+          IndexRow("file_4", valueCount = 2, A_minValue = -1, A_maxValue = 1, A_nullCount = 0)
+        ),
+        Seq("file_3")),
+      arguments(
+        "A != 1 OR B IS NULL",
+        Seq(
+          IndexRow("file_1", valueCount = 2, A_minValue = 1, A_maxValue = 1, A_nullCount = 0, B_minValue = "aaa", B_maxValue = "abd", B_nullCount = 0),
+          IndexRow("file_2", valueCount = 2, A_minValue = 1, A_maxValue = 1, A_nullCount = 0, B_minValue = "aaa", B_maxValue = "aab", B_nullCount = 1),
+          IndexRow("file_3", valueCount = 2, A_minValue = 0, A_maxValue = 1, A_nullCount = 0, B_minValue = "xyz", B_maxValue = "xzz", B_nullCount = 0)
+        ),
+        Seq("file_2", "file_3")),
+      arguments(
+        "A IS NOT NULL AND C < TIMESTAMP '2022-01-01 00:00:00'",
+        Seq(
+          IndexRow("file_1", valueCount = 2, A_minValue = 1, A_maxValue = 1, A_nullCount = 2,
+            C_minValue = new Timestamp(0L), C_maxValue = new Timestamp(1L), C_nullCount = 0),
+          IndexRow("file_2", valueCount = 2, A_minValue = 1, A_maxValue = 1, A_nullCount = 1,
+            C_minValue = new Timestamp(0L), C_maxValue = new Timestamp(1L), C_nullCount = 0),
+          IndexRow("file_3", valueCount = 2, A_minValue = 1, A_maxValue = 1, A_nullCount = 1,
+            C_minValue = Timestamp.valueOf("2022-02-01 00:00:00"), C_maxValue = Timestamp.valueOf("2022-03-01 00:00:00"), C_nullCount = 0)
+        ),
+        Seq("file_2"))
+    )
+  }
+
   def testStringsLookupFilterExpressionsSource(): java.util.stream.Stream[Arguments] = {
     java.util.stream.Stream.of(
       arguments(
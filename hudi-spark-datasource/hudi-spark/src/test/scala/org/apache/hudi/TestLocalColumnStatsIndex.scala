@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi
+
+import org.apache.hudi.ColumnStatsIndexSupport.{getMaxColumnNameFor, getMinColumnNameFor, getNullCountColumnNameFor}
+import org.apache.hudi.TestDataSkippingUtils.toColumnStatsRecord
+
+import org.apache.spark.sql.catalyst.analysis.UnresolvedAttribute
+import org.apache.spark.sql.catalyst.expressions.{And, EqualTo, Expression, GreaterThan, IsNull, LessThan, Literal, Not}
+import org.apache.spark.sql.types._
+import org.apache.spark.unsafe.types.UTF8String
+import org.junit.jupiter.api.Assertions.{assertEquals, assertFalse, assertSame, assertTrue}
+import org.junit.jupiter.api.Test
+
+import java.util.UUID
+
+class TestLocalColumnStatsIndex {
+
+  private val columns: Seq[(String, DataType)] = Seq(
+    ("id", IntegerType),
+    ("price", DoubleType),
+    ("amount", DecimalType(10, 2)),
+    ("dt", DateType),
+    ("tags", ArrayType(StringType)))
+
+  @Test
+  def testFromRecords(): Unit = {
+    val records = Seq(
+      toColumnStatsRecord("file_2", "id", IntegerType, 10, 20, 0L, 10),
+      toColumnStatsRecord("file_2", "price", DoubleType, 1.5d, 2.5d, 0L, 10),
+      toColumnStatsRecord("file_2", "amount", DecimalType(10, 2), Decimal(BigDecimal("1.00"), 10, 2), Decimal(BigDecimal("9.99"), 10, 2), 0L, 10),
+      toColumnStatsRecord("file_2", "dt", DateType, 18000, 18010, 0L, 10),
+      toColumnStatsRecord("file_1", "id", IntegerType, 1, 5, 2L, 10),
+      // all the values of the column are null
+      toColumnStatsRecord("file_1", "price", DoubleType, null, null, 10L, 10),
+      toColumnStatsRecord("file_1", "amount", DecimalType(10, 2), Decimal(BigDecimal("10.00"), 10, 2), Decimal(BigDecimal("99.99"), 10, 2), 0L, 10),
+      // stats of unsupported types are ignored
+      toColumnStatsRecord("file_1", "tags", StringType, UTF8String.fromString("a"), UTF8String.fromString("b"), 0L, 10),
+      // stats of the other columns are missing
+      toColumnStatsRecord("file_3", "id", IntegerType, null, null, 5L, 5))
+    val localIndex = LocalColumnStatsIndex.fromRecords(records, columns)
+
+    assertEquals(3, localIndex.numFiles)
+    assertTrue(Seq("file_1", "file_2", "file_3").forall(localIndex.containsFile))
+    assertFalse(localIndex.containsFile("file_4"))
+
+    assertFiltered(localIndex, GreaterThan(maxValue("id"), Literal(7)), Seq("file_2"))
+    assertFiltered(localIndex, LessThan(minValue("id"), Literal(7)), Seq("file_1"))
+    // null count of the price column is 10 for file_1, while the stats of file_3 are missing
+    assertFiltered(localIndex, EqualTo(nullCount("price"), Literal(10L)), Seq("file_1"))
+    assertFiltered(localIndex, Not(IsNull(minValue("price"))), Seq("file_2"))
+    assertFiltered(localIndex, GreaterThan(maxValue("price"), Literal(2.0d)), Seq("file_2"))
+    assertFiltered(localIndex, GreaterThan(maxValue("amount"), Literal(Decimal(BigDecimal("10.00"), 10, 2))), Seq("file_1"))
+    assertFiltered(localIndex, And(LessThan(minValue("dt"), Literal(18005, DateType)), GreaterThan(maxValue("id"), Literal(15))), Seq("file_2"))
+    // the value counts are taken from any of the records of the file
+    assertFiltered(localIndex, EqualTo(nullCount("id"), UnresolvedAttribute.quoted("valueCount")), Seq("file_3"))
+    // the filters referencing the columns of unsupported types are not evaluated locally
+    assertEquals(None, localIndex.filter(IsNull(minValue("tags"))))
+    // neither are the comparisons of incompatible types
+    assertEquals(None, localIndex.filter(GreaterThan(maxValue("id"), Literal(UTF8String.fromString("7"), StringType))))
+  }
+
+  @Test
+  def testGetOrLoadCaching(): Unit = {
+    val basePath = s"/tmp/${UUID.randomUUID()}"
+    val index = localIndex(numFiles = 10)
+    var numLoads = 0
+    def load(instantTime: String, columns: Seq[String], maxSize: Long, loaded: Option[LocalColumnStatsIndex]): Option[LocalColumnStatsIndex] =
+      LocalColumnStatsIndex.getOrLoad(basePath, instantTime, columns, maxSize) {
+        numLoads += 1
+        loaded
+      }
+
+    val (numCached, cachedSize) = LocalColumnStatsIndex.getCacheStats
+    assertSame(index, load("001", Seq("id"), Long.MaxValue, Some(index)).get)
+    assertSame(index, load("001", Seq("id"), Long.MaxValue, Some(localIndex(numFiles = 10))).get)
+    assertEquals(1, numLoads)
+    assertEquals((numCached + 1, cachedSize + index.estimatedSizeInBytes), LocalColumnStatsIndex.getCacheStats)
+
+    // the index of another set of columns is cached separately
+    val otherIndex = localIndex(numFiles = 10)
+    assertSame(otherIndex, load("001", Seq("id", "price"), Long.MaxValue, Some(otherIndex)).get)
+    assertEquals(2, numLoads)
+    assertEquals(numCached + 2, LocalColumnStatsIndex.getCacheStats._1)
+
+    // the indexes of the previous instants are dropped once the index of a new instant is loaded
+    val newIndex = localIndex(numFiles = 11)
+    assertSame(newIndex, load("002", Seq("id"), Long.MaxValue, Some(newIndex)).get)
+    assertEquals(3, numLoads)
+    assertEquals((numCached + 1, cachedSize + newIndex.estimatedSizeInBytes), LocalColumnStatsIndex.getCacheStats)
+
+    // the index not fitting the cache is still returned, but not cached
+    val largeIndex = localIndex(numFiles = 1000)
+    assertSame(largeIndex, load("002", Seq("price"), largeIndex.estimatedSizeInBytes - 1, Some(largeIndex)).get)
+    assertSame(largeIndex, load("002", Seq("price"), largeIndex.estimatedSizeInBytes - 1, Some(largeIndex)).get)
+    assertEquals(5, numLoads)
+
+    // the index that could not be loaded is not loaded again for the same instant
+    assertEquals(None, load("002", Seq("amount"), Long.MaxValue, None))
+    assertEquals(None, load("002", Seq("amount"), Long.MaxValue, Some(index)))
+    assertEquals(6, numLoads)
+    assertSame(index, load("003", Seq("amount"), Long.MaxValue, Some(index)).get)
+    assertEquals(7, numLoads)
+    assertEquals((numCached + 1, cachedSize + index.estimatedSizeInBytes), LocalColumnStatsIndex.getCacheStats)
+  }
+
+  @Test
+  def testGetOrLoadEviction(): Unit = {
+    val basePath = s"/tmp/${UUID.randomUUID()}"
+    val indexes = (0 until 3).map(_ => localIndex(numFiles = 100))
+    val indexSize = indexes.head.estimatedSizeInBytes
+    // NOTE: the least recently used indexes cached by the other tests are evicted first
+    val maxCacheSize = 2 * indexSize
+    LocalColumnStatsIndex.getOrLoad(basePath, "001", Seq("c0"), maxCacheSize)(Some(indexes(0)))
+    LocalColumnStatsIndex.getOrLoad(basePath, "001", Seq("c1"), maxCacheSize)(Some(indexes(1)))
+    // access the first index so the second one is the least recently used
+    assertSame(indexes(0), LocalColumnStatsIndex.getOrLoad(basePath, "001", Seq("c0"), maxCacheSize)(None).get)
+    LocalColumnStatsIndex.getOrLoad(basePath, "001", Seq("c2"), maxCacheSize)(Some(indexes(2)))
+
+    assertEquals((2, 2 * indexSize), LocalColumnStatsIndex.getCacheStats)
+    assertSame(indexes(0), LocalColumnStatsIndex.getOrLoad(basePath, "001", Seq("c0"), maxCacheSize)(None).get)
+    assertSame(indexes(2), LocalColumnStatsIndex.getOrLoad(basePath, "001", Seq("c2"), maxCacheSize)(None).get)
+    assertEquals(None, LocalColumnStatsIndex.getOrLoad(basePath, "001", Seq("c1"), maxCacheSize)(None))
+  }
+
+  private def localIndex(numFiles: Int): LocalColumnStatsIndex =
+    LocalColumnStatsIndex.fromRecords((0 until numFiles).map(i => toColumnStatsRecord(s"file_$i", "id", IntegerType, i, i, 0L, 1)), columns)
+
+  private def assertFiltered(localIndex: LocalColumnStatsIndex, filter: Expression, expected: Seq[String]): Unit =
+    assertEquals(Some(expected), localIndex.filter(filter).map(_.sorted))
+
+  private def minValue(colName: String): Expression = UnresolvedAttribute.quoted(getMinColumnNameFor(colName))
+
+  private def maxValue(colName: String): Expression = UnresolvedAttribute.quoted(getMaxColumnNameFor(colName))
+
+  private def nullCount(colName: String): Expression = UnresolvedAttribute.quoted(getNullCountColumnNameFor(colName))
+}
@@ -18,7 +18,7 @@
 
 package org.apache.hudi.functional
 
-import org.apache.hudi.{AvroConversionUtils, ColumnStatsIndexSupport, DataSourceReadOptions, DataSourceWriteOptions, HoodieFileIndex, HoodieSchemaConversionUtils}
+import org.apache.hudi.{AvroConversionUtils, ColumnStatsIndexSupport, DataSourceReadOptions, DataSourceWriteOptions, HoodieFileIndex, HoodieSchemaConversionUtils, LocalColumnStatsIndex}
 import org.apache.hudi.DataSourceWriteOptions.{DELETE_OPERATION_OPT_VAL, RECORDKEY_FIELD}
 import org.apache.hudi.client.SparkRDDWriteClient
 import org.apache.hudi.client.common.HoodieSparkEngineContext
@@ -41,7 +41,7 @@ import org.apache.spark.sql.catalyst.analysis.UnresolvedAttribute
 import org.apache.spark.sql.catalyst.expressions.{And, AttributeReference, BitwiseOr, EqualTo, Expression, GreaterThan, GreaterThanOrEqual, LessThanOrEqual, Literal, Or}
 import org.apache.spark.sql.catalyst.expressions.Literal.TrueLiteral
 import org.apache.spark.sql.hudi.DataSkippingUtils
-import org.apache.spark.sql.types.StringType
+import org.apache.spark.sql.types.{DateType, ShortType, StringType}
 import org.junit.jupiter.api.{Tag, Test}
 import org.junit.jupiter.api.Assertions.{assertEquals, assertFalse, assertTrue}
 import org.junit.jupiter.params.ParameterizedTest
@@ -77,6 +77,68 @@ class TestColumnStatsIndexWithSQL extends ColumnStatIndexTestBase {
     verifyFileIndexAndSQLQueries(commonOpts)
   }
 
+  @ParameterizedTest
+  @MethodSource(Array("testMetadataColumnStatsIndexParamsInMemory"))
+  def testMetadataColumnStatsIndexWithLocalPruning(testCase: ColumnStatsTestCase): Unit = {
+    val metadataOpts = Map(
+      HoodieMetadataConfig.ENABLE.key -> "true",
+      HoodieMetadataConfig.ENABLE_METADATA_INDEX_COLUMN_STATS.key -> "true"
+    )
+
+    val commonOpts = Map(
+      "hoodie.insert.shuffle.parallelism" -> "4",
+      "hoodie.upsert.shuffle.parallelism" -> "4",
+      HoodieWriteConfig.TBL_NAME.key -> "hoodie_test",
+      DataSourceWriteOptions.TABLE_TYPE.key -> testCase.tableType.toString,
+      RECORDKEY_FIELD.key -> "c1",
+      HoodieTableConfig.ORDERING_FIELDS.key -> "c1",
+      HoodieTableConfig.POPULATE_META_FIELDS.key -> "true",
+      DataSourceReadOptions.ENABLE_DATA_SKIPPING.key -> "true"
+    ) ++ metadataOpts
+    setupTable(testCase, metadataOpts, commonOpts, shouldValidate = false)
+
+    val c5 = AttributeReference("c5", ShortType)()
+    val c6 = AttributeReference("c6", DateType)()
+    val dataFilters = Seq(
+      GreaterThan(c5, Literal(70.toShort)),
+      And(GreaterThan(c5, Literal(70.toShort)), GreaterThan(c6, Literal(java.sql.Date.valueOf("2020-03-28")))),
+      Or(LessThanOrEqual(c5, Literal(2.toShort)), GreaterThan(c5, Literal(90.toShort))))
+    val localPruningOpts = commonOpts + (HoodieMetadataConfig.COLUMN_STATS_INDEX_LOCAL_PRUNING_ENABLE.key -> "true")
+    val numCachedIndexes = LocalColumnStatsIndex.getCacheStats._1
+    dataFilters.foreach { dataFilter =>
+      val expectedFiles = listFileNames(commonOpts, dataFilter)
+      assertTrue(expectedFiles.size < getLatestDataFilesCount(commonOpts))
+      assertEquals(expectedFiles, listFileNames(localPruningOpts, dataFilter))
+    }
+    // the index of c5 and the index of (c5, c6) are loaded locally and cached
+    assertEquals(numCachedIndexes + 2, LocalColumnStatsIndex.getCacheStats._1)
+
+    // the index exceeding the max entries falls back to the distributed evaluation
+    val limitedOpts = localPruningOpts + (HoodieMetadataConfig.COLUMN_STATS_INDEX_LOCAL_PRUNING_MAX_ENTRIES.key -> "1")
+    dataFilters.foreach { dataFilter =>
+      assertEquals(listFileNames(commonOpts, dataFilter), listFileNames(limitedOpts, dataFilter))
+    }
+    assertEquals(numCachedIndexes + 2, LocalColumnStatsIndex.getCacheStats._1)
+
+    // the local index is reloaded as of the new instant of the metadata table
+    doWriteAndValidateColumnStats(ColumnStatsTestParams(testCase, metadataOpts, commonOpts,
+      dataSourcePath = "index/colstats/update-input-table-json",
+      expectedColStatsSourcePath = "",
+      operation = DataSourceWriteOptions.UPSERT_OPERATION_OPT_VAL,
+      saveMode = SaveMode.Append,
+      shouldValidateColStats = false))
+    metaClient = HoodieTableMetaClient.reload(metaClient)
+    dataFilters.foreach { dataFilter =>
+      assertEquals(listFileNames(commonOpts, dataFilter), listFileNames(localPruningOpts, dataFilter))
+    }
+    assertEquals(numCachedIndexes + 2, LocalColumnStatsIndex.getCacheStats._1)
+  }
+
+  private def listFileNames(opts: Map[String, String], dataFilter: Expression): Set[String] = {
+    val fileIndex = HoodieFileIndex(spark, metaClient, None, opts + ("path" -> basePath), includeLogFiles = true)
+    fileIndex.listFiles(Seq.empty, Seq(dataFilter)).flatMap(_.files).map(_.getPath.getName).toSet
+  }
+
   @ParameterizedTest
   @MethodSource(Array("testMetadataColumnStatsIndexParams"))
   def testMetadataColumnStatsIndexWithSQLWithLimitedIndexes(testCase: ColumnStatsTestCase): Unit = {
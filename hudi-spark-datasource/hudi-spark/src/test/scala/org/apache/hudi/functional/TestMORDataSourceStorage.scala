@@ -19,7 +19,7 @@
 
 package org.apache.hudi.functional
 
-import org.apache.hudi.{DataSourceReadOptions, DataSourceWriteOptions, HoodieDataSourceHelpers}
+import org.apache.hudi.{DataSourceReadOptions, DataSourceWriteOptions, HoodieDataSourceHelpers, HoodieSparkUtils}
 import org.apache.hudi.common.config.{HoodieMetadataConfig, HoodieReaderConfig}
 import org.apache.hudi.common.fs.FSUtils
 import org.apache.hudi.common.model.{HoodieLogFile, HoodieTableType, WriteConcurrencyMode}
@@ -42,9 +42,12 @@ import org.apache.hudi.testutils.SparkClientFunctionalTestHarness.getSparkSqlCon
 
 import org.apache.spark.SparkConf
 import org.apache.spark.sql._
+import org.apache.spark.sql.execution.FileSourceScanExec
 import org.apache.spark.sql.functions.{col, lit}
+import org.apache.spark.sql.internal.SQLConf
 import org.junit.jupiter.api.{Tag, Test}
 import org.junit.jupiter.api.Assertions.{assertEquals, assertFalse, assertTrue}
+import org.junit.jupiter.api.Assumptions.assumeTrue
 import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.CsvSource
 
@@ -195,6 +198,76 @@ class TestMORDataSourceStorage extends SparkClientFunctionalTestHarness {
     assertEquals(100, hudiDF1.count())
   }
 
+  @Test
+  def testColumnarBatchMerge(): Unit = {
+    // merging by positions is only supported since Spark 3.5
+    assumeTrue(HoodieSparkUtils.gteqSpark3_5)
+    val options = Map(
+      "hoodie.insert.shuffle.parallelism" -> "4",
+      "hoodie.upsert.shuffle.parallelism" -> "4",
+      "hoodie.delete.shuffle.parallelism" -> "1",
+      "hoodie.compact.inline" -> "false",
+      HoodieWriteConfig.WRITE_RECORD_POSITIONS.key -> "true",
+      DataSourceWriteOptions.RECORDKEY_FIELD.key -> "_row_key",
+      DataSourceWriteOptions.PARTITIONPATH_FIELD.key -> "partition_path",
+      HoodieTableConfig.ORDERING_FIELDS.key -> "timestamp",
+      HoodieWriteConfig.TBL_NAME.key -> "hoodie_test"
+    )
+    val dataGen = new HoodieTestDataGenerator(0xDEEF)
+    val records1 = recordsToStrings(dataGen.generateInserts("001", 100)).asScala.toList
+    spark.read.json(spark.sparkContext.parallelize(records1, 2)).write.format("org.apache.hudi")
+      .options(options)
+      .option(DataSourceWriteOptions.OPERATION.key, DataSourceWriteOptions.INSERT_OPERATION_OPT_VAL)
+      .option(DataSourceWriteOptions.TABLE_TYPE.key, DataSourceWriteOptions.MOR_TABLE_TYPE_OPT_VAL)
+      .mode(SaveMode.Overwrite)
+      .save(basePath)
+    // updates, deletes and inserts in the log files
+    val records2 = recordsToStrings(dataGen.generateUniqueUpdates("002", 30)).asScala.toList
+    spark.read.json(spark.sparkContext.parallelize(records2, 2)).write.format("org.apache.hudi")
+      .options(options)
+      .mode(SaveMode.Append)
+      .save(basePath)
+    val records3 = recordsToStrings(dataGen.generateUniqueUpdates("003", 20)).asScala.toList
+    spark.read.json(spark.sparkContext.parallelize(records3, 2)).write.format("org.apache.hudi")
+      .options(options)
+      .option(DataSourceWriteOptions.OPERATION.key, DataSourceWriteOptions.DELETE_OPERATION_OPT_VAL)
+      .mode(SaveMode.Append)
+      .save(basePath)
+    val records4 = recordsToStrings(dataGen.generateInserts("004", 10)).asScala.toList
+    spark.read.json(spark.sparkContext.parallelize(records4, 2)).write.format("org.apache.hudi")
+      .options(options)
+      .mode(SaveMode.Append)
+      .save(basePath)
+
+    def readSnapshot(useColumnarMerge: Boolean): DataFrame = spark.read.format("hudi")
+      .option(HoodieReaderConfig.MERGE_USE_RECORD_POSITIONS.key, "true")
+      .option(HoodieReaderConfig.MERGE_USE_COLUMNAR_BATCH.key, useColumnarMerge.toString)
+      .load(basePath)
+      .select("_row_key", "partition_path", "rider", "driver", "begin_lat", "timestamp")
+
+    val rowDF = readSnapshot(useColumnarMerge = false)
+    assertFalse(isColumnarScan(rowDF))
+    val expected = rowDF.collect().sortBy(_.getString(0)).toSeq
+    assertEquals(90, expected.size)
+    // small batches so the updates and deletes spread over many batches of every base file, while
+    // the vectorized reader reuses its vectors for the next batch
+    spark.conf.set(SQLConf.PARQUET_VECTORIZED_READER_BATCH_SIZE.key, "8")
+    try {
+      val columnarDF = readSnapshot(useColumnarMerge = true)
+      assertTrue(isColumnarScan(columnarDF))
+      assertEquals(expected, columnarDF.collect().sortBy(_.getString(0)).toSeq)
+      assertEquals(90, columnarDF.count())
+    } finally {
+      spark.conf.unset(SQLConf.PARQUET_VECTORIZED_READER_BATCH_SIZE.key)
+    }
+  }
+
+  private def isColumnarScan(df: DataFrame): Boolean = {
+    df.queryExecution.sparkPlan.collectFirst {
+      case scan: FileSourceScanExec => scan.supportsColumnar
+    }.getOrElse(false)
+  }
+
   @ParameterizedTest
   @CsvSource(value = Array("false,false", "true,true", "true,false"))
   def testAutoDisablingRecordPositionsUnderPendingCompaction(writeRecordPosition: Boolean,
@@ -31,8 +31,10 @@ import org.apache.hudi.config.{HoodieClusteringConfig, HoodieCompactionConfig, H
 import org.apache.hudi.core.transaction.lock.InProcessLockProvider
 import org.apache.hudi.exception.TableNotFoundException
 import org.apache.hudi.storage.{HoodieStorage, StoragePath}
+import org.apache.hudi.sync.common.{HoodieSyncConfig, HoodieSyncTool}
 import org.apache.hudi.testutils.{DataSourceTestUtils, HoodieSparkClientTestBase, HoodieSparkDeleteRecordMerger}
 
+import org.apache.hadoop.conf.Configuration
 import org.apache.spark.sql._
 import org.apache.spark.sql.streaming.{OutputMode, StreamingQuery, Trigger}
 import org.apache.spark.sql.types.StructType
@@ -42,6 +44,9 @@ import org.junit.jupiter.params.ParameterizedTest
 import org.junit.jupiter.params.provider.{CsvSource, EnumSource, ValueSource}
 import org.slf4j.LoggerFactory
 
+import java.util.Properties
+import java.util.concurrent.ConcurrentLinkedQueue
+
 import scala.collection.JavaConverters._
 import scala.concurrent.{Await, Future}
 import scala.concurrent.ExecutionContext.Implicits.global
@@ -554,6 +559,52 @@ class TestStructuredStreaming extends HoodieSparkClientTestBase {
     assertEquals(0, completedCommits)
   }
 
+  @Test
+  def testStructuredStreamingWithPipelinedMetaSync(): Unit = {
+    val (sourcePath, destPath) = initStreamingSourceAndDestPath("source", "dest")
+    TestingStreamingSyncTool.syncThreadNames.clear()
+    val opts = commonOpts ++ Map(
+      DataSourceWriteOptions.STREAMING_PIPELINED_META_SYNC.key -> "true",
+      HoodieSyncConfig.META_SYNC_ENABLED.key -> "true",
+      DataSourceWriteOptions.META_SYNC_CLIENT_TOOL_CLASS_NAME.key -> classOf[TestingStreamingSyncTool].getName
+    )
+
+    val records1 = recordsToStrings(dataGen.generateInsertsForPartition(
+      "000", 100, HoodieTestDataGenerator.DEFAULT_FIRST_PARTITION_PATH)).asScala.toList
+    val inputDF1 = spark.read.json(spark.sparkContext.parallelize(records1, 2))
+    inputDF1.coalesce(1).write.mode(SaveMode.Append).json(sourcePath)
+
+    val query = spark.readStream
+      .schema(inputDF1.schema)
+      .json(sourcePath)
+      .writeStream
+      .format("org.apache.hudi")
+      .options(opts)
+      .outputMode(OutputMode.Append)
+      .option(STREAMING_CHECKPOINT_IDENTIFIER.key(), "pipelined_identifier")
+      .option("checkpointLocation", s"$basePath/checkpoint_pipelined")
+      .start(destPath)
+    query.processAllAvailable()
+
+    val records2 = recordsToStrings(dataGen.generateUniqueUpdates("001", 50)).asScala.toList
+    spark.read.json(spark.sparkContext.parallelize(records2, 2)).coalesce(1).write.mode(SaveMode.Append).json(sourcePath)
+    query.processAllAvailable()
+    query.stop()
+
+    // the micro batches are committed with their checkpoints before they complete
+    val metaClient = HoodieTestUtils.createMetaClient(storage, destPath)
+    assertLatestCheckpointInfoMatched(metaClient, "pipelined_identifier", "1")
+    assertEquals(100, spark.read.format("hudi").load(destPath).count())
+
+    // the meta syncs run in the background, the ones queued together are coalesced
+    val beginTime = System.currentTimeMillis
+    while (TestingStreamingSyncTool.syncThreadNames.isEmpty && System.currentTimeMillis - beginTime < 30000) {
+      Thread.sleep(500)
+    }
+    assertTrue(TestingStreamingSyncTool.syncThreadNames.size() >= 1 && TestingStreamingSyncTool.syncThreadNames.size() <= 2)
+    TestingStreamingSyncTool.syncThreadNames.asScala.foreach(name => assertTrue(name.startsWith("hudi-streaming-meta-sync-")))
+  }
+
   @ParameterizedTest
   @CsvSource(Array(
     "COPY_ON_WRITE,EVENT_TIME_ORDERING",
@@ -614,3 +665,14 @@ class TestStructuredStreaming extends HoodieSparkClientTestBase {
     }
   }
 }
+
+class TestingStreamingSyncTool(props: Properties, hadoopConf: Configuration) extends HoodieSyncTool(props, hadoopConf) {
+
+  override def syncHoodieTable(): Unit = {
+    TestingStreamingSyncTool.syncThreadNames.add(Thread.currentThread().getName)
+  }
+}
+
+object TestingStreamingSyncTool {
+  val syncThreadNames = new ConcurrentLinkedQueue[String]()
+}
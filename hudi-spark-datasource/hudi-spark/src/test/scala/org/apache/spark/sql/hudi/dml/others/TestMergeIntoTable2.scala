@@ -1321,4 +1321,55 @@ class TestMergeIntoTable2 extends HoodieSparkSqlTestBase {
       }
     }
   }
+
+  test("Test MergeInto with the record index looked up on the driver") {
+    withTempDir { tmp =>
+      Seq("cow", "mor").foreach { tableType =>
+        // 0 shuffles the keys across the record index file groups, the default looks the keys up on the driver
+        Seq("0", "100000").foreach { driverLookupMaxRecords =>
+          val tableName = generateTableName
+          spark.sql(
+            s"""
+               |create table $tableName (
+               |  id int,
+               |  name string,
+               |  price double,
+               |  ts long,
+               |  dt string
+               |) using hudi
+               | tblproperties (
+               |  type = '$tableType',
+               |  primaryKey = 'id',
+               |  preCombineField = 'ts',
+               |  hoodie.metadata.record.index.enable = 'true',
+               |  hoodie.index.type = 'GLOBAL_RECORD_LEVEL_INDEX'
+               | )
+               | partitioned by(dt)
+               | location '${tmp.getCanonicalPath}/$tableName'
+               |""".stripMargin)
+          spark.sql(s"insert into $tableName values (1, 'a1', 10, 1000, '2021-03-21'), (2, 'a2', 20, 1000, '2021-03-22')")
+
+          withSQLConf("hoodie.record.index.driver.lookup.max.records" -> driverLookupMaxRecords) {
+            spark.sql(
+              s"""
+                 |merge into $tableName t
+                 |using (
+                 |  select 1 as id, 'a1_new' as name, 11 as price, 1001 as ts, '2021-03-21' as dt
+                 |  union all
+                 |  select 3, 'a3', 30, 1001, '2021-03-22'
+                 |) s
+                 |on t.id = s.id
+                 |when matched then update set *
+                 |when not matched then insert *
+                 |""".stripMargin)
+          }
+
+          checkAnswer(s"select id, name, price, ts, dt from $tableName order by id")(
+            Seq(1, "a1_new", 11.0, 1001, "2021-03-21"),
+            Seq(2, "a2", 20.0, 1000, "2021-03-22"),
+            Seq(3, "a3", 30.0, 1001, "2021-03-22"))
+        }
+      }
+    }
+  }
 }
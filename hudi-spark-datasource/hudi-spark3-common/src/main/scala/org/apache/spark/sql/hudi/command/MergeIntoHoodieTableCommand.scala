@@ -835,8 +835,14 @@ case class MergeIntoHoodieTableCommand(mergeInto: MergeIntoTable) extends Hoodie
       HoodieWriteConfig.COMBINE_BEFORE_UPSERT.key() -> (!StringUtils.isNullOrEmpty(orderingFieldsAsString)).toString
     )
 
+    // probe the record index on the driver for small source datasets instead of shuffling the keys
+    // across all the record index file groups, unless configured otherwise
+    val defaultOpts = Map(
+      HoodieIndexConfig.RECORD_INDEX_DRIVER_LOOKUP_MAX_RECORDS.key -> "100000"
+    )
+
     combineOptions(hoodieCatalogTable, tableConfig, sparkSession.sessionState.conf,
-      defaultOpts = Map.empty, overridingOpts = overridingOpts)
+      defaultOpts = defaultOpts, overridingOpts = overridingOpts)
   }
 
   def validate(props: Map[String, String]): Unit = {
@@ -127,22 +127,24 @@ public class HiveSyncConfigHolder {
       .defaultValue(false)
       .markAdvanced()
       .sinceVersion("1.3.0")
-      .withDocumentation("Only applies to HiveQL sync mode; has no effect in HMS or JDBC mode. When true, "
+      .withDocumentation("Applies to HiveQL and HMS sync modes; has no effect in JDBC mode. In HiveQL mode, when true, "
           + "ADD, TOUCH, and SET_LOCATION partition statements are dispatched in parallel across a pool of "
           + "Hive Driver workers, with ADD and TOUCH additionally split into batches of "
           + "`hoodie.datasource.hive_sync.batch_num` partitions per statement (ADD was already batched "
           + "before this flag existed; only its dispatch becomes parallel here). SET_LOCATION remains one "
           + "statement per partition, as Hive SQL has no multi-partition form. DROP remains serial. "
           + "Table-level statements (create/alter table, last commit time, writer version) continue to run "
-          + "on the single session Driver. Default off; the default HiveQL path is unchanged unless "
-          + "explicitly opted in.");
+          + "on the single session Driver. In HMS mode, when true, the batches of added and dropped partitions "
+          + "are dispatched in parallel across worker threads, each with its own metastore client, unless "
+          + "`hoodie.datasource.hive_sync.use_spark_catalog` is enabled. Default off; the default path is "
+          + "unchanged unless explicitly opted in.");
   public static final ConfigProperty<Integer> HIVE_SYNC_BATCHING_THREADS = ConfigProperty
       .key("hoodie.datasource.hive_sync.batching.threads")
       .defaultValue(4)
       .markAdvanced()
       .sinceVersion("1.3.0")
-      .withDocumentation("Pool size (number of Hive Driver workers) and worker-thread count for parallel "
-          + "HiveQL partition dispatch when `hoodie.datasource.hive_sync.batching.enabled` is true. "
+      .withDocumentation("Pool size (number of Hive Driver workers or metastore clients) and worker-thread count for "
+          + "parallel HiveQL or HMS partition dispatch when `hoodie.datasource.hive_sync.batching.enabled` is true. "
           + "Ignored otherwise.");
   public static final ConfigProperty<String> HIVE_SYNC_MODE = ConfigProperty
       .key("hoodie.datasource.hive_sync.mode")
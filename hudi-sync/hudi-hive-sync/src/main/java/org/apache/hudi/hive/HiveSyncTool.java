@@ -24,6 +24,7 @@ import org.apache.hudi.common.model.HoodieSyncTableStrategy;
 import org.apache.hudi.common.schema.HoodieSchema;
 import org.apache.hudi.common.table.HoodieTableMetaClient;
 import org.apache.hudi.common.table.timeline.HoodieInstant;
+import org.apache.hudi.common.table.timeline.HoodieTimeline;
 import org.apache.hudi.common.util.ConfigUtils;
 import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.VisibleForTesting;
@@ -36,6 +37,7 @@ import org.apache.hudi.sync.common.model.Partition;
 import org.apache.hudi.sync.common.model.PartitionEvent;
 import org.apache.hudi.sync.common.model.PartitionEvent.PartitionEventType;
 import org.apache.hudi.sync.common.util.SparkDataSourceTableUtils;
+import org.apache.hudi.sync.common.util.SyncedPartitionsSnapshot;
 
 import com.beust.jcommander.JCommander;
 import com.codahale.metrics.Timer;
@@ -45,6 +47,7 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hive.conf.HiveConf;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -79,6 +82,7 @@ import static org.apache.hudi.sync.common.HoodieSyncConfig.META_SYNC_CONDITIONAL
 import static org.apache.hudi.sync.common.HoodieSyncConfig.META_SYNC_FORCE_RECREATE_TABLE;
 import static org.apache.hudi.sync.common.HoodieSyncConfig.META_SYNC_INCREMENTAL;
 import static org.apache.hudi.sync.common.HoodieSyncConfig.META_SYNC_PARTITION_FIELDS;
+import static org.apache.hudi.sync.common.HoodieSyncConfig.META_SYNC_PARTITION_SNAPSHOT_ENABLED;
 import static org.apache.hudi.sync.common.HoodieSyncConfig.META_SYNC_SNAPSHOT_WITH_TABLE_NAME;
 import static org.apache.hudi.sync.common.HoodieSyncConfig.META_SYNC_SPARK_VERSION;
 import static org.apache.hudi.sync.common.HoodieSyncConfig.META_SYNC_TOUCH_PARTITIONS_ENABLED;
@@ -303,9 +307,10 @@ public class HiveSyncTool extends HoodieSyncTool implements AutoCloseable {
   @VisibleForTesting
   boolean isLastCommitTimeSyncedBehindTimelineMidpoint(String tableName) {
     Option<String> lastCommitTimeSynced = syncClient.getLastCommitTimeSynced(tableName);
-    if (!lastCommitTimeSynced.isPresent()) {
-      return false;
-    }
+    return lastCommitTimeSynced.isPresent() && isBehindTimelineMidpoint(lastCommitTimeSynced.get());
+  }
+
+  private boolean isBehindTimelineMidpoint(String instantTime) {
     // Completed commits only: getCommitsTimeline() excludes non-commit actions (clean, rollback),
     // and filterCompletedInstants() excludes inflight instants.
     List<HoodieInstant> completedCommits =
@@ -314,7 +319,7 @@ public class HiveSyncTool extends HoodieSyncTool implements AutoCloseable {
       return false;
     }
     String midpointInstantTime = completedCommits.get(completedCommits.size() / 2).requestedTime();
-    return compareTimestamps(lastCommitTimeSynced.get(), LESSER_THAN, midpointInstantTime);
+    return compareTimestamps(instantTime, LESSER_THAN, midpointInstantTime);
   }
 
   private boolean isAlreadySynced(String tableName) {
@@ -349,6 +354,9 @@ public class HiveSyncTool extends HoodieSyncTool implements AutoCloseable {
   }
 
   private boolean validateAndSyncPartitions(String tableName, boolean tableExists) {
+    if (config.getBooleanOrDefault(META_SYNC_PARTITION_SNAPSHOT_ENABLED)) {
+      return syncPartitionsWithSnapshot(tableName, tableExists);
+    }
     boolean syncIncremental = isIncrementalSync();
     Option<String> lastCommitTimeSynced = (tableExists && syncIncremental)
         ? syncClient.getLastCommitTimeSynced(tableName) : Option.empty();
@@ -417,7 +425,12 @@ public class HiveSyncTool extends HoodieSyncTool implements AutoCloseable {
     HoodieSchema schema = syncClient.getStorageSchema(!config.getBoolean(HIVE_SYNC_OMIT_METADATA_FIELDS));
     try {
       createOrReplaceTable(tableName, useRealtimeInputFormat, readAsOptimized, schema);
-      syncAllPartitions(tableName);
+      if (config.getBooleanOrDefault(META_SYNC_PARTITION_SNAPSHOT_ENABLED)) {
+        // the recreated table has no partition
+        syncPartitionsWithSnapshot(tableName, false);
+      } else {
+        syncAllPartitions(tableName);
+      }
       syncClient.updateLastCommitTimeSynced(tableName);
       syncClient.updateHoodieWriterVersion(tableName);
       if (Objects.nonNull(timerContext)) {
@@ -553,6 +566,88 @@ public class HiveSyncTool extends HoodieSyncTool implements AutoCloseable {
     }
   }
 
+  /**
+   * Syncs the partitions against the snapshot of the partitions synced to the metastore table, see
+   * {@link SyncedPartitionsSnapshot}. Only the partitions written or dropped since the snapshot instant are applied,
+   * or the difference with all the partitions on storage if the snapshot instant has been archived, the partitions
+   * are never fetched from the metastore unless there is no snapshot of an existing table yet.
+   *
+   * @param tableName   The table name in the metastore.
+   * @param tableExists Whether the table existed before this sync, a new table has no partition.
+   * @return {@code true} if one or more partition(s) are changed in the metastore;
+   * {@code false} otherwise.
+   */
+  private boolean syncPartitionsWithSnapshot(String tableName, boolean tableExists) {
+    if (config.shouldNotSyncPartitionMetadata() || config.getSplitStrings(META_SYNC_PARTITION_FIELDS).isEmpty()) {
+      return false;
+    }
+    HoodieTableMetaClient metaClient = syncClient.getMetaClient();
+    String syncTarget = getPartitionSnapshotSyncTarget(tableName);
+    Option<SyncedPartitionsSnapshot> snapshotOpt;
+    if (!tableExists) {
+      snapshotOpt = Option.of(SyncedPartitionsSnapshot.empty());
+    } else if (isIncrementalSync()) {
+      snapshotOpt = SyncedPartitionsSnapshot.read(metaClient, syncTarget);
+    } else {
+      log.info("Rebuilding the synced partitions snapshot of {} since {} is set to false", tableName, META_SYNC_INCREMENTAL.key());
+      snapshotOpt = Option.empty();
+    }
+    HoodieTimeline activeTimeline = syncClient.getActiveTimeline();
+    try {
+      Set<String> syncedPartitions;
+      boolean partitionsChanged;
+      boolean snapshotOutdated;
+      if (!snapshotOpt.isPresent()) {
+        log.info("No synced partitions snapshot found for {}, syncing all partitions", tableName);
+        List<String> allPartitionsOnStorage = syncClient.getAllPartitionPathsOnStorage();
+        partitionsChanged = syncPartitions(tableName,
+            syncClient.getPartitionEvents(syncClient.getAllPartitions(tableName), allPartitionsOnStorage));
+        syncedPartitions = new HashSet<>(allPartitionsOnStorage);
+        snapshotOutdated = true;
+      } else {
+        SyncedPartitionsSnapshot snapshot = snapshotOpt.get();
+        Option<String> snapshotInstant = snapshot.getInstantTime();
+        syncedPartitions = new HashSet<>(snapshot.getPartitions());
+        List<PartitionEvent> partitionEvents;
+        if (!snapshotInstant.isPresent() || activeTimeline.isBeforeTimelineStarts(snapshotInstant.get())) {
+          log.info("Syncing the difference of the partitions on storage with the synced partitions snapshot of {} as of {}",
+              tableName, snapshotInstant.orElse(null));
+          List<String> allPartitionsOnStorage = syncClient.getAllPartitionPathsOnStorage();
+          Set<String> droppedPartitions = new HashSet<>(syncedPartitions);
+          droppedPartitions.removeAll(allPartitionsOnStorage);
+          partitionEvents = syncClient.getPartitionEvents(syncedPartitions, allPartitionsOnStorage, droppedPartitions);
+          syncedPartitions = new HashSet<>(allPartitionsOnStorage);
+        } else {
+          List<String> writtenPartitions = syncClient.getWrittenPartitionsSince(snapshotInstant, snapshot.getCompletionTime());
+          Set<String> droppedPartitions = syncClient.getDroppedPartitionsSince(snapshotInstant, snapshot.getCompletionTime());
+          log.info("Partitions written since the synced partitions snapshot of {} as of {}: {}, dropped: {}",
+              tableName, snapshotInstant.get(), writtenPartitions.size(), droppedPartitions.size());
+          partitionEvents = syncClient.getPartitionEvents(syncedPartitions, writtenPartitions, droppedPartitions);
+          syncedPartitions.addAll(writtenPartitions);
+          syncedPartitions.removeAll(droppedPartitions);
+        }
+        partitionsChanged = syncPartitions(tableName, partitionEvents);
+        // the snapshot is not rewritten for every commit w/o partition change, its instant only needs to stay in the
+        // active timeline, so that the written partitions can still be read from the commit metadata
+        snapshotOutdated = !partitionEvents.isEmpty() || !snapshotInstant.isPresent() || isBehindTimelineMidpoint(snapshotInstant.get());
+      }
+      if (snapshotOutdated) {
+        new SyncedPartitionsSnapshot(activeTimeline.lastInstant().map(HoodieInstant::requestedTime),
+            activeTimeline.getLatestCompletionTime(), syncedPartitions).write(metaClient, syncTarget);
+      }
+      return partitionsChanged;
+    } catch (Exception e) {
+      throw new HoodieHiveSyncException("Failed to sync partitions with the synced partitions snapshot for table " + tableName, e);
+    }
+  }
+
+  /**
+   * Returns the name identifying the metastore table in the synced partitions snapshots of the Hudi table.
+   */
+  protected String getPartitionSnapshotSyncTarget(String tableName) {
+    return "hive_" + tableId(databaseName, tableName);
+  }
+
   /**
    * Syncs the list of storage partitions passed in (checks if the partition is in hive, if not adds it or if the
    * partition path does not match, it updates the partition path).
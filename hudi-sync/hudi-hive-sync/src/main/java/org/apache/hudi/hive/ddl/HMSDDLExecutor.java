@@ -27,6 +27,7 @@ import org.apache.hudi.hive.HiveSyncConfig;
 import org.apache.hudi.hive.HoodieHiveSyncException;
 import org.apache.hudi.hive.util.HivePartitionUtil;
 import org.apache.hudi.hive.util.HiveSchemaUtil;
+import org.apache.hudi.hive.util.IMetaStoreClientUtil;
 import org.apache.hudi.storage.StorageSchemes;
 import org.apache.hudi.sync.common.model.PartitionValueExtractor;
 
@@ -54,12 +55,22 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 import static org.apache.hudi.hive.HiveSyncConfigHolder.HIVE_BATCH_SYNC_PARTITION_NUM;
 import static org.apache.hudi.hive.HiveSyncConfigHolder.HIVE_CREATE_MANAGED_TABLE;
 import static org.apache.hudi.hive.HiveSyncConfigHolder.HIVE_SUPPORT_TIMESTAMP_TYPE;
+import static org.apache.hudi.hive.HiveSyncConfigHolder.HIVE_SYNC_BATCHING_ENABLED;
+import static org.apache.hudi.hive.HiveSyncConfigHolder.HIVE_SYNC_BATCHING_THREADS;
 import static org.apache.hudi.hive.HiveSyncConfigHolder.HIVE_SYNC_COMMENT;
+import static org.apache.hudi.hive.HiveSyncConfigHolder.HIVE_SYNC_USE_SPARK_CATALOG;
 import static org.apache.hudi.sync.common.HoodieSyncConfig.META_SYNC_BASE_PATH;
 import static org.apache.hudi.sync.common.HoodieSyncConfig.META_SYNC_DATABASE_NAME;
 import static org.apache.hudi.sync.common.HoodieSyncConfig.META_SYNC_PARTITION_EXTRACTOR_CLASS;
@@ -75,11 +86,15 @@ public class HMSDDLExecutor implements DDLExecutor {
   private final String databaseName;
   private final IMetaStoreClient client;
   private final PartitionValueExtractor partitionValueExtractor;
+  // the Spark catalog backed client can not be created per worker thread
+  private final int partitionBatchParallelism;
 
   public HMSDDLExecutor(HiveSyncConfig syncConfig, IMetaStoreClient metaStoreClient) throws HiveException, MetaException {
     this.syncConfig = syncConfig;
     this.databaseName = syncConfig.getStringOrDefault(META_SYNC_DATABASE_NAME);
     this.client = metaStoreClient;
+    this.partitionBatchParallelism = syncConfig.getBooleanOrDefault(HIVE_SYNC_BATCHING_ENABLED) && !syncConfig.getBooleanOrDefault(HIVE_SYNC_USE_SPARK_CATALOG)
+        ? syncConfig.getIntOrDefault(HIVE_SYNC_BATCHING_THREADS) : 1;
     try {
       this.partitionValueExtractor =
           (PartitionValueExtractor) Class.forName(syncConfig.getStringOrDefault(META_SYNC_PARTITION_EXTRACTOR_CLASS)).newInstance();
@@ -204,8 +219,7 @@ public class HMSDDLExecutor implements DDLExecutor {
     log.info("Adding partitions {} to table {}", partitionsToAdd.size(), tableName);
     try {
       StorageDescriptor sd = client.getTable(databaseName, tableName).getSd();
-      int batchSyncPartitionNum = syncConfig.getIntOrDefault(HIVE_BATCH_SYNC_PARTITION_NUM);
-      for (List<String> batch : CollectionUtils.batches(partitionsToAdd, batchSyncPartitionNum)) {
+      applyPartitionBatches(partitionsToAdd, (batchClient, batch) -> {
         List<Partition> partitionList = new ArrayList<>();
         batch.forEach(x -> {
           StorageDescriptor partitionSd = new StorageDescriptor();
@@ -219,9 +233,9 @@ public class HMSDDLExecutor implements DDLExecutor {
           partitionSd.setLocation(fullPartitionPath);
           partitionList.add(new Partition(partitionValues, databaseName, tableName, 0, 0, partitionSd, null));
         });
-        client.add_partitions(partitionList, true, false);
+        batchClient.add_partitions(partitionList, true, false);
         log.info("HMSDDLExecutor add a batch partitions done: {}", partitionList.size());
-      }
+      });
     } catch (TException e) {
       log.error("{}.{} add partition failed", databaseName, tableName, e);
       throw new HoodieHiveSyncException(databaseName + "." + tableName + " add partition failed", e);
@@ -257,14 +271,16 @@ public class HMSDDLExecutor implements DDLExecutor {
 
     log.info("Drop partitions {} on {}", partitionsToDrop.size(), tableName);
     try {
-      for (String dropPartition : partitionsToDrop) {
-        if (HivePartitionUtil.partitionExists(client, tableName, dropPartition, partitionValueExtractor, syncConfig)) {
-          String partitionClause =
-              HivePartitionUtil.getPartitionClauseForDrop(dropPartition, partitionValueExtractor, syncConfig);
-          client.dropPartition(databaseName, tableName, partitionClause, false);
+      applyPartitionBatches(partitionsToDrop, (batchClient, batch) -> {
+        for (String dropPartition : batch) {
+          if (HivePartitionUtil.partitionExists(batchClient, tableName, dropPartition, partitionValueExtractor, syncConfig)) {
+            String partitionClause =
+                HivePartitionUtil.getPartitionClauseForDrop(dropPartition, partitionValueExtractor, syncConfig);
+            batchClient.dropPartition(databaseName, tableName, partitionClause, false);
+          }
+          log.info("Drop partition {} on {}", dropPartition, tableName);
         }
-        log.info("Drop partition {} on {}", dropPartition, tableName);
-      }
+      });
     } catch (TException e) {
       log.error("{}.{} drop partition failed", databaseName, tableName, e);
       throw new HoodieHiveSyncException(databaseName + "." + tableName + " drop partition failed", e);
@@ -313,6 +329,71 @@ public class HMSDDLExecutor implements DDLExecutor {
     }
   }
 
+  /**
+   * Applies the partition operation to the batches of the partitions. When batching is enabled, the batches are
+   * dispatched to a bounded number of worker threads, each with its own metastore client since the client is not
+   * thread safe, and the remaining batches are skipped after the first failure.
+   */
+  private void applyPartitionBatches(List<String> partitions, PartitionBatchOperation operation) throws TException {
+    List<List<String>> batches = CollectionUtils.batches(partitions, syncConfig.getIntOrDefault(HIVE_BATCH_SYNC_PARTITION_NUM));
+    int parallelism = Math.min(partitionBatchParallelism, batches.size());
+    if (parallelism <= 1) {
+      for (List<String> batch : batches) {
+        operation.apply(client, batch);
+      }
+      return;
+    }
+    log.info("Applying {} partition batches with {} metastore clients", batches.size(), parallelism);
+    Queue<List<String>> pendingBatches = new ConcurrentLinkedQueue<>(batches);
+    AtomicBoolean aborted = new AtomicBoolean(false);
+    ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+    try {
+      List<Future<?>> futures = new ArrayList<>(parallelism);
+      for (int i = 0; i < parallelism; i++) {
+        futures.add(executor.submit(() -> {
+          // the metastore client is bound to the worker thread, and closed with it
+          IMetaStoreClient batchClient = IMetaStoreClientUtil.getMSC(syncConfig.getHiveConf());
+          try {
+            List<String> batch;
+            while (!aborted.get() && (batch = pendingBatches.poll()) != null) {
+              operation.apply(batchClient, batch);
+            }
+          } catch (Exception e) {
+            aborted.set(true);
+            throw e;
+          } finally {
+            Hive.closeCurrent();
+          }
+          return null;
+        }));
+      }
+      Throwable firstError = null;
+      for (Future<?> future : futures) {
+        try {
+          future.get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          aborted.set(true);
+          firstError = firstError == null ? e : firstError;
+        } catch (ExecutionException e) {
+          firstError = firstError == null ? e.getCause() : firstError;
+        }
+      }
+      if (firstError instanceof TException) {
+        throw (TException) firstError;
+      } else if (firstError != null) {
+        throw new HoodieHiveSyncException("Failed to apply the partition batches of " + databaseName, firstError);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @FunctionalInterface
+  private interface PartitionBatchOperation {
+    void apply(IMetaStoreClient batchClient, List<String> batch) throws TException;
+  }
+
   private void registerAlterPartitionEvent(String tableName, List<String> alteredPartitions) {
     try {
       StorageDescriptor sd = client.getTable(databaseName, tableName).getSd();
@@ -55,6 +55,7 @@ import org.apache.hudi.sync.common.model.FieldSchema;
 import org.apache.hudi.sync.common.model.Partition;
 import org.apache.hudi.sync.common.model.PartitionEvent;
 import org.apache.hudi.sync.common.model.PartitionEvent.PartitionEventType;
+import org.apache.hudi.sync.common.util.SyncedPartitionsSnapshot;
 
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.hive.metastore.IMetaStoreClient;
@@ -121,6 +122,7 @@ import static org.apache.hudi.sync.common.HoodieSyncConfig.META_SYNC_FORCE_RECRE
 import static org.apache.hudi.sync.common.HoodieSyncConfig.META_SYNC_INCREMENTAL;
 import static org.apache.hudi.sync.common.HoodieSyncConfig.META_SYNC_PARTITION_EXTRACTOR_CLASS;
 import static org.apache.hudi.sync.common.HoodieSyncConfig.META_SYNC_PARTITION_FIELDS;
+import static org.apache.hudi.sync.common.HoodieSyncConfig.META_SYNC_PARTITION_SNAPSHOT_ENABLED;
 import static org.apache.hudi.sync.common.HoodieSyncConfig.META_SYNC_SNAPSHOT_WITH_TABLE_NAME;
 import static org.apache.hudi.sync.common.HoodieSyncConfig.META_SYNC_TABLE_NAME;
 import static org.apache.hudi.sync.common.HoodieSyncConfig.META_SYNC_TOUCH_PARTITIONS_ENABLED;
@@ -639,6 +641,51 @@ public class TestHiveSyncTool {
     assertEquals(9, tablePartitions.size());
   }
 
+  @Test
+  public void testSyncPartitionsWithSnapshot() throws Exception {
+    hiveSyncProps.setProperty(HIVE_SYNC_MODE.key(), HiveSyncMode.HMS.name());
+    hiveSyncProps.setProperty(META_SYNC_PARTITION_SNAPSHOT_ENABLED.key(), "true");
+    hiveSyncProps.setProperty(HIVE_SYNC_BATCHING_ENABLED.key(), "true");
+    hiveSyncProps.setProperty(HIVE_SYNC_BATCHING_THREADS.key(), "3");
+    hiveSyncProps.setProperty(HIVE_BATCH_SYNC_PARTITION_NUM.key(), "2");
+
+    HiveTestUtil.createCOWTable("100", 5, true);
+    reInitHiveSyncClient();
+    reSyncHiveTable();
+    assertEquals(5, hiveClient.getAllPartitions(HiveTestUtil.TABLE_NAME).size(),
+        "All partitions should be added to the new table in parallel batches");
+    String syncTarget = hiveSyncTool.getPartitionSnapshotSyncTarget(HiveTestUtil.TABLE_NAME);
+    Option<SyncedPartitionsSnapshot> snapshot = SyncedPartitionsSnapshot.read(hiveClient.getMetaClient(), syncTarget);
+    assertTrue(snapshot.isPresent());
+    assertEquals(Option.of("100"), snapshot.get().getInstantTime());
+    assertEquals(5, snapshot.get().getPartitions().size());
+
+    // the partitions written since the snapshot instant are applied
+    HiveTestUtil.addCOWPartition("2050/01/01", true, true, "101");
+    HiveTestUtil.addCOWPartition("2050/01/02", true, true, "102");
+    reInitHiveSyncClient();
+    reSyncHiveTable();
+    assertEquals(7, hiveClient.getAllPartitions(HiveTestUtil.TABLE_NAME).size());
+    snapshot = SyncedPartitionsSnapshot.read(hiveClient.getMetaClient(), syncTarget);
+    assertEquals(Option.of("102"), snapshot.get().getInstantTime());
+    assertTrue(snapshot.get().contains("2050/01/02"));
+
+    // the snapshot instant is archived, the partitions on storage are diffed against the snapshot
+    HiveTestUtil.addCOWPartition("2050/01/03", true, true, "103");
+    HiveTestUtil.addCOWPartition("2050/01/04", true, true, "104");
+    HiveTestUtil.removeCommitFromActiveTimeline("100", COMMIT_ACTION);
+    HiveTestUtil.removeCommitFromActiveTimeline("101", COMMIT_ACTION);
+    HiveTestUtil.removeCommitFromActiveTimeline("102", COMMIT_ACTION);
+    HiveTestUtil.removeCommitFromActiveTimeline("103", COMMIT_ACTION);
+    reInitHiveSyncClient();
+    reSyncHiveTable();
+    assertEquals(9, hiveClient.getAllPartitions(HiveTestUtil.TABLE_NAME).size());
+    assertEquals(Option.of("104"), hiveClient.getLastCommitTimeSynced(HiveTestUtil.TABLE_NAME));
+    snapshot = SyncedPartitionsSnapshot.read(hiveClient.getMetaClient(), syncTarget);
+    assertEquals(Option.of("104"), snapshot.get().getInstantTime());
+    assertEquals(9, snapshot.get().getPartitions().size());
+  }
+
   @ParameterizedTest
   @MethodSource({"syncMode"})
   public void testSyncDataBase(String syncMode) throws Exception {
@@ -40,6 +40,7 @@ import org.apache.hadoop.fs.Path;
 
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -253,6 +254,39 @@ public abstract class HoodieSyncClient implements HoodieMetaSyncOperations, Auto
     return events;
   }
 
+  /**
+   * Gets the partition events for the partitions written or dropped on storage, against the partitions already synced
+   * to the metastore, w/o fetching the partitions from the metastore. The partition locations are derived from the
+   * base path, so no UPDATE event is generated.
+   *
+   * @param syncedPartitions           The relative paths of the partitions synced to the metastore.
+   * @param writtenPartitionsOnStorage Partitions written on storage since the partitions were synced.
+   * @param droppedPartitionsOnStorage Partitions dropped on storage since the partitions were synced.
+   * @return partition events for changed partitions.
+   */
+  public List<PartitionEvent> getPartitionEvents(Set<String> syncedPartitions,
+                                                 Collection<String> writtenPartitionsOnStorage,
+                                                 Set<String> droppedPartitionsOnStorage) {
+    List<PartitionEvent> events = new ArrayList<>();
+    for (String storagePartition : writtenPartitionsOnStorage) {
+      if (droppedPartitionsOnStorage.contains(storagePartition)
+          || partitionValueExtractor.extractPartitionValuesInPath(storagePartition).isEmpty()) {
+        continue;
+      }
+      if (!syncedPartitions.contains(storagePartition)) {
+        events.add(PartitionEvent.newPartitionAddEvent(storagePartition));
+      } else if (config.getBoolean(META_SYNC_TOUCH_PARTITIONS_ENABLED)) {
+        events.add(PartitionEvent.newPartitionTouchEvent(storagePartition));
+      }
+    }
+    for (String droppedPartition : droppedPartitionsOnStorage) {
+      if (syncedPartitions.contains(droppedPartition)) {
+        events.add(PartitionEvent.newPartitionDropEvent(droppedPartition));
+      }
+    }
+    return events;
+  }
+
   /**
    * Gets the partition values to the absolute path mapping based on the
    * partition information from the metastore.
@@ -192,6 +192,18 @@ public class HoodieSyncConfig extends HoodieConfig {
           + "and properties to the metastore, e.g. after the table drifted from the Hoodie table definition "
           + "out-of-band.");
 
+  public static final ConfigProperty<Boolean> META_SYNC_PARTITION_SNAPSHOT_ENABLED = ConfigProperty
+      .key("hoodie.meta.sync.partition.snapshot.enabled")
+      .defaultValue(false)
+      .sinceVersion("1.3.0")
+      .markAdvanced()
+      .withDocumentation("If true, the partitions synced to the metastore are kept in a sorted snapshot file under "
+          + "`.hoodie/.aux/.sync` per synced table, and each sync applies only the partitions written or dropped since the "
+          + "snapshot instant, w/o fetching the partitions from the metastore, even when the last synced commit has been "
+          + "archived. The first sync of an existing table w/o a snapshot falls back to a full partition sync. Partitions "
+          + "changed in the metastore out-of-band are not detected, a full sync with " + META_SYNC_INCREMENTAL.key()
+          + " set to false rebuilds the snapshot.");
+
   @Getter
   @Setter
   private Configuration hadoopConf;
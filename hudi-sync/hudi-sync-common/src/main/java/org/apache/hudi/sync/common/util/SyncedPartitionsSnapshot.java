@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.sync.common.util;
+
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.exception.HoodieIOException;
+import org.apache.hudi.storage.HoodieStorage;
+import org.apache.hudi.storage.StoragePath;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The partitions synced to a sync target (e.g. a metastore table), as of an instant of the data table.
+ *
+ * <p>The snapshot is persisted as a sorted partition file under {@code .hoodie/.aux/.sync}, one file per sync target,
+ * so that the next sync applies only the partitions written or dropped after the snapshot instant w/o listing the
+ * partitions of the sync target. The first line is the header {@code <version>,<count>,<instant>,<completion time>},
+ * followed by the relative partition paths in order. A snapshot with an unexpected header or a partition count that
+ * does not match the header, e.g. left by a failed write, is treated as absent.
+ */
+@Slf4j
+public class SyncedPartitionsSnapshot {
+
+  public static final String SYNC_FOLDER_NAME = ".sync";
+  private static final String SNAPSHOT_FILE_SUFFIX = ".partitions";
+  private static final String VERSION = "1";
+  private static final String SEPARATOR = ",";
+
+  /**
+   * The instant time of the latest commit the partitions are synced up to, empty if no commit is synced.
+   */
+  @Getter
+  private final Option<String> instantTime;
+  @Getter
+  private final Option<String> completionTime;
+  private final TreeSet<String> partitions;
+
+  public SyncedPartitionsSnapshot(Option<String> instantTime, Option<String> completionTime, Collection<String> partitions) {
+    this.instantTime = instantTime;
+    this.completionTime = completionTime;
+    this.partitions = new TreeSet<>(partitions);
+  }
+
+  public static SyncedPartitionsSnapshot empty() {
+    return new SyncedPartitionsSnapshot(Option.empty(), Option.empty(), Collections.emptyList());
+  }
+
+  public Set<String> getPartitions() {
+    return Collections.unmodifiableSet(partitions);
+  }
+
+  public boolean contains(String partition) {
+    return partitions.contains(partition);
+  }
+
+  /**
+   * Reads the snapshot of the given sync target, empty if it has never been written or can not be parsed.
+   */
+  public static Option<SyncedPartitionsSnapshot> read(HoodieTableMetaClient metaClient, String syncTarget) {
+    StoragePath snapshotPath = getSnapshotPath(metaClient, syncTarget);
+    HoodieStorage storage = metaClient.getStorage();
+    try {
+      if (!storage.exists(snapshotPath)) {
+        return Option.empty();
+      }
+      try (InputStream inputStream = storage.open(snapshotPath);
+           BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8))) {
+        String header = reader.readLine();
+        String[] fields = header == null ? new String[0] : header.split(SEPARATOR, -1);
+        if (fields.length != 4 || !VERSION.equals(fields[0])) {
+          log.warn("Ignoring the synced partitions snapshot {} with unexpected header: {}", snapshotPath, header);
+          return Option.empty();
+        }
+        long expectedCount = Long.parseLong(fields[1]);
+        TreeSet<String> partitions = new TreeSet<>();
+        String partition;
+        while ((partition = reader.readLine()) != null) {
+          partitions.add(partition);
+        }
+        if (partitions.size() != expectedCount) {
+          log.warn("Ignoring the incomplete synced partitions snapshot {}, expected {} partitions, found {}",
+              snapshotPath, expectedCount, partitions.size());
+          return Option.empty();
+        }
+        return Option.of(new SyncedPartitionsSnapshot(toOption(fields[2]), toOption(fields[3]), partitions));
+      }
+    } catch (IOException | NumberFormatException e) {
+      log.warn("Failed to read the synced partitions snapshot {}, ignoring it", snapshotPath, e);
+      return Option.empty();
+    }
+  }
+
+  /**
+   * Writes the snapshot of the given sync target, replacing the previous one.
+   */
+  public void write(HoodieTableMetaClient metaClient, String syncTarget) {
+    StoragePath snapshotPath = getSnapshotPath(metaClient, syncTarget);
+    try (OutputStream outputStream = metaClient.getStorage().create(snapshotPath, true);
+         BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8))) {
+      writer.write(String.join(SEPARATOR, VERSION, String.valueOf(partitions.size()), instantTime.orElse(""), completionTime.orElse("")));
+      writer.write("\n");
+      for (String partition : partitions) {
+        writer.write(partition);
+        writer.write("\n");
+      }
+    } catch (IOException e) {
+      throw new HoodieIOException("Failed to write the synced partitions snapshot " + snapshotPath, e);
+    }
+    log.info("Wrote the synced partitions snapshot {} with {} partitions as of {}", snapshotPath, partitions.size(), instantTime.orElse(null));
+  }
+
+  public static StoragePath getSnapshotPath(HoodieTableMetaClient metaClient, String syncTarget) {
+    return new StoragePath(new StoragePath(metaClient.getMetaAuxiliaryPath(), SYNC_FOLDER_NAME), syncTarget + SNAPSHOT_FILE_SUFFIX);
+  }
+
+  private static Option<String> toOption(String value) {
+    return value.isEmpty() ? Option.empty() : Option.of(value);
+  }
+}
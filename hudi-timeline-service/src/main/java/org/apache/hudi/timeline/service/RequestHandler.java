@@ -66,6 +66,7 @@ import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.stream.Collectors;
 
 /**
  * Main REST Handler class that handles and delegates calls to timeline relevant handlers.
@@ -150,6 +151,11 @@ public class RequestHandler {
     return ctx.queryParamAsClass(RemoteHoodieTableFileSystemView.FILEID_PARAM, String.class).getOrThrow(e -> new HoodieException("FILEID is invalid"));
   }
 
+  private static Set<String> getFileIdsParam(Context ctx) {
+    return Arrays.stream(ctx.queryParamAsClass(RemoteHoodieTableFileSystemView.FILEIDS_PARAM, String.class).getOrThrow(e -> new HoodieException("FILEIDS_PARAM is invalid"))
+        .split(RemoteHoodieTableFileSystemView.MULTI_VALUE_SEPARATOR)).collect(Collectors.toSet());
+  }
+
   private static List<String> getInstantsParam(Context ctx) {
     return Arrays.asList(ctx.queryParamAsClass(RemoteHoodieTableFileSystemView.INSTANTS_PARAM, String.class).getOrThrow(e -> new HoodieException("INSTANTS_PARAM is invalid"))
         .split(RemoteHoodieTableFileSystemView.MULTI_VALUE_SEPARATOR));
@@ -449,6 +455,15 @@ public class RequestHandler {
       writeValueAsString(ctx, dtos);
     }, true));
 
+    app.get(RemoteHoodieTableFileSystemView.FILEGROUPS_FOR_PARTITION_STATELESS_URL, new ViewHandler(ctx -> {
+      metricsRegistry.add("FILEGROUPS_FOR_PARTITION_STATELESS", 1);
+      List<FileGroupDTO> dtos = sliceHandler.getFileGroupsStateless(
+          getBasePathParam(ctx),
+          getPartitionParam(ctx),
+          getFileIdsParam(ctx));
+      writeValueAsString(ctx, dtos);
+    }, true));
+
     app.post(RemoteHoodieTableFileSystemView.REFRESH_TABLE_URL, new ViewHandler(ctx -> {
       metricsRegistry.add("REFRESH_TABLE", 1);
       boolean success = sliceHandler.refreshTable(getBasePathParam(ctx));
@@ -32,6 +32,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -140,6 +141,12 @@ public class FileSliceHandler extends Handler {
     return DTOUtils.fileGroupDTOsfromFileGroups(fileGroups);
   }
 
+  public List<FileGroupDTO> getFileGroupsStateless(String basePath, String partitionPath, Set<String> fileIds) {
+    List<HoodieFileGroup> fileGroups =  viewManager.getFileSystemView(basePath).getFileGroupsStateless(partitionPath, fileIds)
+        .collect(Collectors.toList());
+    return DTOUtils.fileGroupDTOsfromFileGroups(fileGroups);
+  }
+
   public List<FileGroupDTO> getReplacedFileGroupsBeforeOrOn(String basePath, String maxCommitTime, String partitionPath) {
     List<HoodieFileGroup> fileGroups =  viewManager.getFileSystemView(basePath).getReplacedFileGroupsBeforeOrOn(maxCommitTime, partitionPath)
         .collect(Collectors.toList());
@@ -30,6 +30,7 @@ import java.util.List;
 import static com.google.common.collect.ImmutableList.toImmutableList;
 import static io.airlift.units.DataSize.Unit.MEGABYTE;
 import static java.util.Locale.ENGLISH;
+import static java.util.concurrent.TimeUnit.HOURS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 @DefunctConfig({
@@ -48,6 +49,8 @@ public class HudiConfig
     private boolean sizeBasedSplitWeightsEnabled = true;
     private DataSize standardSplitWeightSize = DataSize.of(128, MEGABYTE);
     private double minimumAssignedSplitWeight = 0.05;
+    private double logFileSplitWeightMultiplier = 2.0;
+    private DataSize logFileSplitWeightOpenCost = DataSize.of(4, MEGABYTE);
     private DataSize targetSplitSize = DataSize.of(128, MEGABYTE);
     private int maxSplitsPerSecond = Integer.MAX_VALUE;
     private int maxOutstandingSplits = 10000;
@@ -57,7 +60,12 @@ public class HudiConfig
     private boolean queryPartitionFilterRequired;
     private boolean ignoreAbsentPartitions;
     private Duration dynamicFilteringWaitTimeout = new Duration(1, SECONDS);
+    private boolean dynamicFilteringIndexPruningEnabled = true;
     private boolean resolveColumnNameCasingEnabled;
+    private boolean tableMetadataCacheEnabled;
+    private DataSize tableMetadataCacheMaxSize = DataSize.of(256, MEGABYTE);
+    private Duration tableMetadataCacheTtl = new Duration(1, HOURS);
+    private Duration tableMetadataCacheRevalidationInterval = new Duration(5, SECONDS);
 
     // Internal configuration for debugging and testing
     private boolean isRecordLevelIndexEnabled = true;
@@ -212,6 +220,35 @@ public class HudiConfig
         return minimumAssignedSplitWeight;
     }
 
+    @Config("hudi.log-file-split-weight-multiplier")
+    @ConfigDescription("Multiplier applied to the size of the log files of a merge-on-read split when size based split weights are enabled, "
+            + "accounting for the cost of merging the log records compared to scanning the base file.")
+    public HudiConfig setLogFileSplitWeightMultiplier(double logFileSplitWeightMultiplier)
+    {
+        this.logFileSplitWeightMultiplier = logFileSplitWeightMultiplier;
+        return this;
+    }
+
+    @DecimalMin("1")
+    public double getLogFileSplitWeightMultiplier()
+    {
+        return logFileSplitWeightMultiplier;
+    }
+
+    @Config("hudi.log-file-split-weight-open-cost")
+    @ConfigDescription("Size added to the weight of a merge-on-read split for each of its log files when size based split weights are enabled.")
+    public HudiConfig setLogFileSplitWeightOpenCost(DataSize logFileSplitWeightOpenCost)
+    {
+        this.logFileSplitWeightOpenCost = logFileSplitWeightOpenCost;
+        return this;
+    }
+
+    @NotNull
+    public DataSize getLogFileSplitWeightOpenCost()
+    {
+        return logFileSplitWeightOpenCost;
+    }
+
     @Config("hudi.target-split-size")
     @ConfigDescription("The target split size")
     public HudiConfig setTargetSplitSize(DataSize targetSplitSize)
@@ -387,6 +424,19 @@ public class HudiConfig
         return dynamicFilteringWaitTimeout;
     }
 
+    @Config("hudi.dynamic-filtering.index-pruning-enabled")
+    @ConfigDescription("Prune the splits by the dynamic filters on the record key using the record level index or the bloom filters of the metadata table")
+    public HudiConfig setDynamicFilteringIndexPruningEnabled(boolean dynamicFilteringIndexPruningEnabled)
+    {
+        this.dynamicFilteringIndexPruningEnabled = dynamicFilteringIndexPruningEnabled;
+        return this;
+    }
+
+    public boolean isDynamicFilteringIndexPruningEnabled()
+    {
+        return dynamicFilteringIndexPruningEnabled;
+    }
+
     @Config("hudi.index.column-stats.wait-timeout")
     @ConfigDescription("Maximum timeout to wait for loading column stats, e.g. 1000ms, 20s")
     public HudiConfig setColumnStatsWaitTimeout(Duration columnStatusWaitTimeout)
@@ -467,4 +517,62 @@ public class HudiConfig
         this.resolveColumnNameCasingEnabled = resolveColumnNameCasingEnabled;
         return this;
     }
+
+    public boolean isTableMetadataCacheEnabled()
+    {
+        return tableMetadataCacheEnabled;
+    }
+
+    @Config("hudi.table-metadata-cache.enabled")
+    @ConfigDescription("Cache the meta clients, table schemas and metadata table file system views across queries on coordinator, "
+            + "revalidated against the latest completed instant of the timeline")
+    public HudiConfig setTableMetadataCacheEnabled(boolean tableMetadataCacheEnabled)
+    {
+        this.tableMetadataCacheEnabled = tableMetadataCacheEnabled;
+        return this;
+    }
+
+    @NotNull
+    @MinDataSize("0B")
+    public DataSize getTableMetadataCacheMaxSize()
+    {
+        return tableMetadataCacheMaxSize;
+    }
+
+    @Config("hudi.table-metadata-cache.max-size")
+    @ConfigDescription("Maximum estimated memory used by the cross-query table metadata cache")
+    public HudiConfig setTableMetadataCacheMaxSize(DataSize tableMetadataCacheMaxSize)
+    {
+        this.tableMetadataCacheMaxSize = tableMetadataCacheMaxSize;
+        return this;
+    }
+
+    @NotNull
+    public Duration getTableMetadataCacheTtl()
+    {
+        return tableMetadataCacheTtl;
+    }
+
+    @Config("hudi.table-metadata-cache.ttl")
+    @ConfigDescription("Duration after which the unused entries of the cross-query table metadata cache are evicted")
+    public HudiConfig setTableMetadataCacheTtl(Duration tableMetadataCacheTtl)
+    {
+        this.tableMetadataCacheTtl = tableMetadataCacheTtl;
+        return this;
+    }
+
+    @NotNull
+    public Duration getTableMetadataCacheRevalidationInterval()
+    {
+        return tableMetadataCacheRevalidationInterval;
+    }
+
+    @Config("hudi.table-metadata-cache.revalidation-interval")
+    @ConfigDescription("Minimum interval between the timeline listings that revalidate a cached table, "
+            + "the queries may see the table as of up to this interval ago")
+    public HudiConfig setTableMetadataCacheRevalidationInterval(Duration tableMetadataCacheRevalidationInterval)
+    {
+        this.tableMetadataCacheRevalidationInterval = tableMetadataCacheRevalidationInterval;
+        return this;
+    }
 }
@@ -25,6 +25,7 @@ import io.trino.metastore.Table;
 import io.trino.metastore.TableInfo;
 import io.trino.plugin.base.classloader.ClassLoaderSafeSystemTable;
 import io.trino.plugin.hive.HiveColumnHandle;
+import io.trino.plugin.hudi.cache.HudiTableMetadataCache;
 import io.trino.plugin.hudi.stats.HudiTableStatistics;
 import io.trino.plugin.hudi.stats.TableStatisticsReader;
 import io.trino.plugin.hudi.util.HudiTableTypeUtils;
@@ -91,8 +92,6 @@ import static io.trino.plugin.hudi.HudiSessionProperties.isResolveColumnNameCasi
 import static io.trino.plugin.hudi.HudiSessionProperties.isTableStatisticsEnabled;
 import static io.trino.plugin.hudi.HudiTableProperties.LOCATION_PROPERTY;
 import static io.trino.plugin.hudi.HudiTableProperties.PARTITIONED_BY_PROPERTY;
-import static io.trino.plugin.hudi.HudiUtil.buildTableMetaClient;
-import static io.trino.plugin.hudi.HudiUtil.getLatestTableSchema;
 import static io.trino.plugin.hudi.HudiSessionProperties.getRecordMergerImpls;
 import static io.trino.plugin.hudi.HudiUtil.getMergeRequiredColumnHandles;
 import static io.trino.spi.StandardErrorCode.NOT_SUPPORTED;
@@ -120,17 +119,20 @@ public class HudiMetadata
     private final TrinoFileSystemFactory fileSystemFactory;
     private final TypeManager typeManager;
     private final ExecutorService tableStatisticsExecutor;
+    private final HudiTableMetadataCache tableMetadataCache;
 
     public HudiMetadata(
             HiveMetastore metastore,
             TrinoFileSystemFactory fileSystemFactory,
             TypeManager typeManager,
-            ExecutorService tableStatisticsExecutor)
+            ExecutorService tableStatisticsExecutor,
+            HudiTableMetadataCache tableMetadataCache)
     {
         this.metastore = requireNonNull(metastore, "metastore is null");
         this.fileSystemFactory = requireNonNull(fileSystemFactory, "fileSystemFactory is null");
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
         this.tableStatisticsExecutor = requireNonNull(tableStatisticsExecutor, "tableStatisticsExecutor is null");
+        this.tableMetadataCache = requireNonNull(tableMetadataCache, "tableMetadataCache is null");
     }
 
     @Override
@@ -165,9 +167,9 @@ public class HudiMetadata
         TrinoFileSystem fileSystem = fileSystemFactory.create(session);
         String inputFormat = table.getStorage().getStorageFormat().getInputFormat();
         HoodieTableType hoodieTableType = HudiTableTypeUtils.fromInputFormat(inputFormat);
-        Lazy<HoodieTableMetaClient> lazyMetaClient = Lazy.lazily(() -> buildTableMetaClient(fileSystem, tableName.toString(), basePath));
+        Lazy<HoodieTableMetaClient> lazyMetaClient = Lazy.lazily(() -> tableMetadataCache.getMetaClient(fileSystem, tableName.toString(), basePath));
         Optional<Lazy<HoodieSchema>> hudiTableSchema = isResolveColumnNameCasingEnabled(session) ?
-                Optional.of(Lazy.lazily(() -> getLatestTableSchema(lazyMetaClient.get(), tableName.getTableName()))) : Optional.empty();
+                Optional.of(Lazy.lazily(() -> tableMetadataCache.getTableSchema(lazyMetaClient.get(), tableName.getTableName()))) : Optional.empty();
 
         return new HudiTableHandle(
                 table,
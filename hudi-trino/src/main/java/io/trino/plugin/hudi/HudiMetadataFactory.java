@@ -17,6 +17,7 @@ import com.google.inject.Inject;
 import io.trino.filesystem.TrinoFileSystemFactory;
 import io.trino.metastore.HiveMetastoreFactory;
 import io.trino.metastore.cache.CachingHiveMetastore;
+import io.trino.plugin.hudi.cache.HudiTableMetadataCache;
 import io.trino.plugin.hudi.stats.ForHudiTableStatistics;
 import io.trino.spi.security.ConnectorIdentity;
 import io.trino.spi.type.TypeManager;
@@ -34,6 +35,7 @@ public class HudiMetadataFactory
     private final TypeManager typeManager;
     private final long perTransactionMetastoreCacheMaximumSize;
     private final ExecutorService tableStatisticsExecutor;
+    private final HudiTableMetadataCache tableMetadataCache;
 
     @Inject
     public HudiMetadataFactory(
@@ -41,18 +43,20 @@ public class HudiMetadataFactory
             TrinoFileSystemFactory fileSystemFactory,
             TypeManager typeManager,
             HudiConfig hudiConfig,
-            @ForHudiTableStatistics ExecutorService tableStatisticsExecutor)
+            @ForHudiTableStatistics ExecutorService tableStatisticsExecutor,
+            HudiTableMetadataCache tableMetadataCache)
     {
         this.metastoreFactory = requireNonNull(metastoreFactory, "metastore is null");
         this.fileSystemFactory = requireNonNull(fileSystemFactory, "fileSystemFactory is null");
         this.typeManager = requireNonNull(typeManager, "typeManager is null");
         this.perTransactionMetastoreCacheMaximumSize = hudiConfig.getPerTransactionMetastoreCacheMaximumSize();
         this.tableStatisticsExecutor = requireNonNull(tableStatisticsExecutor, "tableStatisticsExecutor is null");
+        this.tableMetadataCache = requireNonNull(tableMetadataCache, "tableMetadataCache is null");
     }
 
     public HudiMetadata create(ConnectorIdentity identity)
     {
         CachingHiveMetastore cachingHiveMetastore = createPerTransactionCache(metastoreFactory.createMetastore(Optional.of(identity)), perTransactionMetastoreCacheMaximumSize);
-        return new HudiMetadata(cachingHiveMetastore, fileSystemFactory, typeManager, tableStatisticsExecutor);
+        return new HudiMetadata(cachingHiveMetastore, fileSystemFactory, typeManager, tableStatisticsExecutor, tableMetadataCache);
     }
 }
@@ -29,6 +29,7 @@ import io.trino.plugin.hive.HiveTransactionHandle;
 import io.trino.plugin.hive.parquet.ParquetReaderConfig;
 import io.trino.plugin.hive.parquet.ParquetWriterConfig;
 import io.trino.plugin.hudi.cache.HudiCacheKeyProvider;
+import io.trino.plugin.hudi.cache.HudiTableMetadataCache;
 import io.trino.plugin.hudi.stats.ForHudiTableStatistics;
 import io.trino.spi.connector.ConnectorNodePartitioningProvider;
 import io.trino.spi.connector.ConnectorPageSourceProvider;
@@ -71,6 +72,8 @@ public class HudiModule
         configBinder(binder).bindConfig(ParquetWriterConfig.class);
 
         binder.bind(HudiMetadataFactory.class).in(Scopes.SINGLETON);
+        binder.bind(HudiTableMetadataCache.class).in(Scopes.SINGLETON);
+        newExporter(binder).export(HudiTableMetadataCache.class).withGeneratedName();
 
         binder.bind(FileFormatDataSourceStats.class).in(Scopes.SINGLETON);
         newExporter(binder).export(FileFormatDataSourceStats.class).withGeneratedName();
@@ -59,6 +59,8 @@ public class HudiSessionProperties
     private static final String SIZE_BASED_SPLIT_WEIGHTS_ENABLED = "size_based_split_weights_enabled";
     private static final String STANDARD_SPLIT_WEIGHT_SIZE = "standard_split_weight_size";
     private static final String MINIMUM_ASSIGNED_SPLIT_WEIGHT = "minimum_assigned_split_weight";
+    private static final String LOG_FILE_SPLIT_WEIGHT_MULTIPLIER = "log_file_split_weight_multiplier";
+    private static final String LOG_FILE_SPLIT_WEIGHT_OPEN_COST = "log_file_split_weight_open_cost";
     private static final String TARGET_SPLIT_SIZE = "target_split_size";
     private static final String MAX_SPLITS_PER_SECOND = "max_splits_per_second";
     private static final String MAX_OUTSTANDING_SPLITS = "max_outstanding_splits";
@@ -66,6 +68,7 @@ public class HudiSessionProperties
     static final String QUERY_PARTITION_FILTER_REQUIRED = "query_partition_filter_required";
     private static final String IGNORE_ABSENT_PARTITIONS = "ignore_absent_partitions";
     static final String DYNAMIC_FILTERING_WAIT_TIMEOUT = "dynamic_filtering_wait_timeout";
+    static final String DYNAMIC_FILTERING_INDEX_PRUNING_ENABLED = "dynamic_filtering_index_pruning_enabled";
     static final String RESOLVE_COLUMN_NAME_CASING_ENABLED = "resolve_column_name_casing_enabled";
 
     // Internal configuration for debugging and testing
@@ -185,6 +188,21 @@ public class HudiSessionProperties
                             }
                         },
                         false),
+                doubleProperty(
+                        LOG_FILE_SPLIT_WEIGHT_MULTIPLIER,
+                        "Multiplier applied to the size of the log files of a merge-on-read split when size-based split weights are enabled",
+                        hudiConfig.getLogFileSplitWeightMultiplier(),
+                        value -> {
+                            if (!Double.isFinite(value) || value < 1) {
+                                throw new TrinoException(INVALID_SESSION_PROPERTY, format("%s must be >= 1.0: %s", LOG_FILE_SPLIT_WEIGHT_MULTIPLIER, value));
+                            }
+                        },
+                        false),
+                dataSizeProperty(
+                        LOG_FILE_SPLIT_WEIGHT_OPEN_COST,
+                        "Size added to the weight of a merge-on-read split for each of its log files when size-based split weights are enabled",
+                        hudiConfig.getLogFileSplitWeightOpenCost(),
+                        false),
                 dataSizeProperty(
                         TARGET_SPLIT_SIZE,
                         "The target split size",
@@ -256,6 +274,11 @@ public class HudiSessionProperties
                         "Duration to wait for completion of dynamic filters during split generation",
                         hudiConfig.getDynamicFilteringWaitTimeout(),
                         false),
+                booleanProperty(
+                        DYNAMIC_FILTERING_INDEX_PRUNING_ENABLED,
+                        "Prune the splits by the dynamic filters on the record key using the record level index or the bloom filters of the metadata table",
+                        hudiConfig.isDynamicFilteringIndexPruningEnabled(),
+                        false),
                 booleanProperty(
                         METADATA_PARTITION_LISTING_ENABLED,
                         "Enable metadata table based partition listing",
@@ -351,6 +374,16 @@ public class HudiSessionProperties
         return session.getProperty(MINIMUM_ASSIGNED_SPLIT_WEIGHT, Double.class);
     }
 
+    public static double getLogFileSplitWeightMultiplier(ConnectorSession session)
+    {
+        return session.getProperty(LOG_FILE_SPLIT_WEIGHT_MULTIPLIER, Double.class);
+    }
+
+    public static DataSize getLogFileSplitWeightOpenCost(ConnectorSession session)
+    {
+        return session.getProperty(LOG_FILE_SPLIT_WEIGHT_OPEN_COST, DataSize.class);
+    }
+
     public static DataSize getTargetSplitSize(ConnectorSession session)
     {
         return session.getProperty(TARGET_SPLIT_SIZE, DataSize.class);
@@ -416,6 +449,11 @@ public class HudiSessionProperties
         return session.getProperty(DYNAMIC_FILTERING_WAIT_TIMEOUT, Duration.class);
     }
 
+    public static boolean isDynamicFilteringIndexPruningEnabled(ConnectorSession session)
+    {
+        return session.getProperty(DYNAMIC_FILTERING_INDEX_PRUNING_ENABLED, Boolean.class);
+    }
+
     public static Duration getColumnStatsWaitTimeout(ConnectorSession session)
     {
         return session.getProperty(COLUMN_STATS_WAIT_TIMEOUT, Duration.class);
@@ -23,6 +23,7 @@ import io.trino.metastore.StorageFormat;
 import io.trino.plugin.base.classloader.ClassLoaderSafeConnectorSplitSource;
 import io.trino.plugin.hive.HiveColumnHandle;
 import io.trino.plugin.hive.HiveTransactionHandle;
+import io.trino.plugin.hudi.cache.HudiTableMetadataCache;
 import io.trino.spi.TrinoException;
 import io.trino.spi.connector.ConnectorSession;
 import io.trino.spi.connector.ConnectorSplitManager;
@@ -60,16 +61,19 @@ public class HudiSplitManager
     private final BiFunction<ConnectorIdentity, HiveTransactionHandle, HiveMetastore> metastoreProvider;
     private final ExecutorService executor;
     private final ScheduledExecutorService splitLoaderExecutorService;
+    private final HudiTableMetadataCache tableMetadataCache;
 
     @Inject
     public HudiSplitManager(
             BiFunction<ConnectorIdentity, HiveTransactionHandle, HiveMetastore> metastoreProvider,
             @ForHudiSplitManager ExecutorService executor,
-            @ForHudiSplitSource ScheduledExecutorService splitLoaderExecutorService)
+            @ForHudiSplitSource ScheduledExecutorService splitLoaderExecutorService,
+            HudiTableMetadataCache tableMetadataCache)
     {
         this.metastoreProvider = requireNonNull(metastoreProvider, "metastoreProvider is null");
         this.executor = requireNonNull(executor, "executor is null");
         this.splitLoaderExecutorService = requireNonNull(splitLoaderExecutorService, "splitLoaderExecutorService is null");
+        this.tableMetadataCache = requireNonNull(tableMetadataCache, "tableMetadataCache is null");
     }
 
     @Override
@@ -99,7 +103,8 @@ public class HudiSplitManager
                 getMaxOutstandingSplits(session),
                 lazyAllPartitions,
                 dynamicFilter,
-                getDynamicFilteringWaitTimeout(session));
+                getDynamicFilteringWaitTimeout(session),
+                tableMetadataCache);
         return new ClassLoaderSafeConnectorSplitSource(splitSource, HudiSplitManager.class.getClassLoader());
     }
 
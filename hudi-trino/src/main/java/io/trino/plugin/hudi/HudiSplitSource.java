@@ -25,8 +25,10 @@ import io.trino.plugin.hive.HivePartitionKey;
 import io.trino.plugin.hive.util.AsyncQueue;
 import io.trino.plugin.hive.util.HiveUtil;
 import io.trino.plugin.hive.util.ThrottledAsyncQueue;
+import io.trino.plugin.hudi.cache.HudiTableMetadataCache;
 import io.trino.plugin.hudi.query.HudiDirectoryLister;
 import io.trino.plugin.hudi.query.HudiSnapshotDirectoryLister;
+import io.trino.plugin.hudi.query.index.HudiDynamicFilterFilePruner;
 import io.trino.plugin.hudi.split.HudiBackgroundSplitLoader;
 import io.trino.plugin.hudi.split.HudiSplitWeightProvider;
 import io.trino.plugin.hudi.split.SizeBasedSplitWeightProvider;
@@ -50,6 +52,7 @@ import org.apache.hudi.common.util.Lazy;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.OptionalInt;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
@@ -62,8 +65,11 @@ import static com.google.common.collect.ImmutableList.toImmutableList;
 import static com.google.common.util.concurrent.MoreExecutors.directExecutor;
 import static io.airlift.concurrent.MoreFutures.toCompletableFuture;
 import static io.trino.plugin.hudi.HudiErrorCode.HUDI_CANNOT_OPEN_SPLIT;
+import static io.trino.plugin.hudi.HudiSessionProperties.getLogFileSplitWeightMultiplier;
+import static io.trino.plugin.hudi.HudiSessionProperties.getLogFileSplitWeightOpenCost;
 import static io.trino.plugin.hudi.HudiSessionProperties.getMinimumAssignedSplitWeight;
 import static io.trino.plugin.hudi.HudiSessionProperties.getStandardSplitWeightSize;
+import static io.trino.plugin.hudi.HudiSessionProperties.isDynamicFilteringIndexPruningEnabled;
 import static io.trino.plugin.hudi.HudiSessionProperties.isHudiMetadataTableEnabled;
 import static io.trino.plugin.hudi.HudiSessionProperties.isSizeBasedSplitWeightsEnabled;
 import static java.util.Objects.requireNonNull;
@@ -82,6 +88,12 @@ public class HudiSplitSource
     private final DynamicFilter dynamicFilter;
     private final long dynamicFilteringWaitTimeoutMillis;
     private final Stopwatch dynamicFilterWaitStopwatch;
+    private final HudiTableHandle tableHandle;
+    private final Lazy<HoodieTableMetadata> lazyTableMetadata;
+    private final boolean dynamicFilterIndexPruningEnabled;
+    private final ExecutorService executor;
+    private TupleDomain<HiveColumnHandle> dynamicFilterFilePrunerPredicate = TupleDomain.all();
+    private CompletableFuture<Optional<HudiDynamicFilterFilePruner>> dynamicFilterFilePruner = completedFuture(Optional.empty());
 
     public HudiSplitSource(
             ConnectorSession session,
@@ -92,7 +104,8 @@ public class HudiSplitSource
             int maxOutstandingSplits,
             Lazy<Map<String, Partition>> lazyPartitions,
             DynamicFilter dynamicFilter,
-            Duration dynamicFilteringWaitTimeoutMillis)
+            Duration dynamicFilteringWaitTimeoutMillis,
+            HudiTableMetadataCache tableMetadataCache)
     {
         boolean enableMetadataTable = isHudiMetadataTableEnabled(session);
         Lazy<HoodieTableMetadata> lazyTableMetadata = Lazy.lazily(() -> {
@@ -116,7 +129,8 @@ public class HudiSplitSource
                 session,
                 tableHandle,
                 enableMetadataTable,
-                lazyTableMetadata);
+                lazyTableMetadata,
+                tableMetadataCache);
 
         this.queue = new ThrottledAsyncQueue<>(maxSplitsPerSecond, maxOutstandingSplits, executor);
         HudiBackgroundSplitLoader splitLoader = new HudiBackgroundSplitLoader(
@@ -138,6 +152,10 @@ public class HudiSplitSource
         this.dynamicFilter = requireNonNull(dynamicFilter, "dynamicFilter is null");
         this.dynamicFilteringWaitTimeoutMillis = dynamicFilteringWaitTimeoutMillis.toMillis();
         this.dynamicFilterWaitStopwatch = Stopwatch.createStarted();
+        this.tableHandle = tableHandle;
+        this.lazyTableMetadata = lazyTableMetadata;
+        this.dynamicFilterIndexPruningEnabled = enableMetadataTable && isDynamicFilteringIndexPruningEnabled(session);
+        this.executor = requireNonNull(executor, "executor is null");
     }
 
     @Override
@@ -167,16 +185,36 @@ public class HudiSplitSource
             return CompletableFuture.failedFuture(throwable);
         }
 
-        return toCompletableFuture(Futures.transform(
+        CompletableFuture<List<ConnectorSplit>> filteredSplits = toCompletableFuture(Futures.transform(
                 queue.getBatchAsync(maxSize),
-                splits ->
-                {
-                    List<ConnectorSplit> filteredSplits = splits.stream()
-                            .filter(split -> partitionMatchesPredicate((HudiSplit) split, dynamicFilterPredicate))
-                            .collect(toImmutableList());
-                    return new ConnectorSplitBatch(filteredSplits, noMoreSplits);
-                },
+                splits -> splits.stream()
+                        .filter(split -> partitionMatchesPredicate((HudiSplit) split, dynamicFilterPredicate))
+                        .collect(toImmutableList()),
                 directExecutor()));
+        if (!dynamicFilterIndexPruningEnabled || dynamicFilterPredicate.isAll()) {
+            return filteredSplits.thenApply(splits -> new ConnectorSplitBatch(splits, noMoreSplits));
+        }
+        // the index lookups of the pruner run on the split executor, never on the thread asking for the next batch
+        return filteredSplits.thenCombineAsync(
+                getDynamicFilterFilePruner(dynamicFilterPredicate),
+                (splits, filePruner) -> new ConnectorSplitBatch(filePruner.map(pruner -> pruner.prune(splits)).orElse(splits), noMoreSplits),
+                executor);
+    }
+
+    /**
+     * Returns the pruner of the splits by the dynamic filter on the record key, built asynchronously on the split executor.
+     * The pruner is built again only when the dynamic filter narrows down, e.g. when it completes after the wait timeout,
+     * so that the index is looked up once for each version of the dynamic filter instead of once per batch.
+     */
+    private CompletableFuture<Optional<HudiDynamicFilterFilePruner>> getDynamicFilterFilePruner(TupleDomain<HiveColumnHandle> dynamicFilterPredicate)
+    {
+        if (!dynamicFilterPredicate.equals(dynamicFilterFilePrunerPredicate)) {
+            dynamicFilterFilePruner = CompletableFuture.supplyAsync(
+                    () -> HudiDynamicFilterFilePruner.create(tableHandle.getSchemaTableName(), tableHandle.getMetaClient(), lazyTableMetadata, dynamicFilterPredicate),
+                    executor);
+            dynamicFilterFilePrunerPredicate = dynamicFilterPredicate;
+        }
+        return dynamicFilterFilePruner;
     }
 
     @Override
@@ -196,7 +234,11 @@ public class HudiSplitSource
         if (isSizeBasedSplitWeightsEnabled(session)) {
             DataSize standardSplitWeightSize = getStandardSplitWeightSize(session);
             double minimumAssignedSplitWeight = getMinimumAssignedSplitWeight(session);
-            return new SizeBasedSplitWeightProvider(minimumAssignedSplitWeight, standardSplitWeightSize);
+            return new SizeBasedSplitWeightProvider(
+                    minimumAssignedSplitWeight,
+                    standardSplitWeightSize,
+                    getLogFileSplitWeightMultiplier(session),
+                    getLogFileSplitWeightOpenCost(session));
         }
         return HudiSplitWeightProvider.uniformStandardWeightProvider();
     }
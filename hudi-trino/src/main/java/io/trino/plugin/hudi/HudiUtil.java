@@ -74,6 +74,7 @@ import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.common.util.collection.Triple;
 import org.apache.hudi.exception.TableNotFoundException;
 import org.apache.hudi.metadata.HoodieTableMetadata;
+import org.apache.hudi.storage.HoodieStorage;
 import org.apache.hudi.storage.StoragePath;
 import org.apache.hudi.common.util.Lazy;
 
@@ -92,6 +93,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static io.airlift.slice.SizeOf.estimatedSizeOf;
@@ -253,12 +255,21 @@ public final class HudiUtil
             TrinoFileSystem fileSystem,
             String tableName,
             String basePath)
+    {
+        return buildTableMetaClient(fileSystem, tableName, basePath, storage -> HoodieTableMetaClient.builder()
+                .setStorage(storage)
+                .setBasePath(basePath)
+                .build());
+    }
+
+    public static <T extends HoodieTableMetaClient> T buildTableMetaClient(
+            TrinoFileSystem fileSystem,
+            String tableName,
+            String basePath,
+            Function<HoodieStorage, T> metaClientFactory)
     {
         try {
-            return HoodieTableMetaClient.builder()
-                    .setStorage(new HudiTrinoStorage(fileSystem, new TrinoStorageConfiguration()))
-                    .setBasePath(basePath)
-                    .build();
+            return metaClientFactory.apply(new HudiTrinoStorage(fileSystem, new TrinoStorageConfiguration()));
         }
         catch (TableNotFoundException e) {
             throw new TrinoException(HUDI_BAD_DATA,
@@ -0,0 +1,62 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.hudi.cache;
+
+import org.apache.hudi.common.config.HoodieTimeGeneratorConfig;
+import org.apache.hudi.common.fs.ConsistencyGuardConfig;
+import org.apache.hudi.common.fs.FileSystemRetryConfig;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.timeline.HoodieActiveTimeline;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.storage.HoodieStorage;
+
+/**
+ * Meta client of a table as of the time it is loaded, shared by the concurrent queries through {@link HudiTableMetadataCache}.
+ * <p>
+ * The table config, index definitions and active timeline are all loaded eagerly on construction and are never reloaded:
+ * the reloads return the loaded state, so the queries sharing the snapshot always see the same table. A newer version
+ * of the table is a new snapshot, created by the cache once the revalidation sees a new completed instant.
+ */
+final class HudiTableMetaClientSnapshot
+        extends HoodieTableMetaClient
+{
+    HudiTableMetaClientSnapshot(HoodieStorage storage, String basePath)
+    {
+        super(storage,
+                basePath,
+                true,
+                ConsistencyGuardConfig.newBuilder().build(),
+                Option.empty(),
+                HoodieTimeGeneratorConfig.newBuilder().withPath(basePath).build(),
+                FileSystemRetryConfig.newBuilder().build());
+    }
+
+    @Override
+    public synchronized void reload()
+    {
+        // immutable snapshot
+    }
+
+    @Override
+    public synchronized HoodieActiveTimeline reloadActiveTimeline()
+    {
+        return getActiveTimeline();
+    }
+
+    @Override
+    public synchronized void reloadTableConfig()
+    {
+        // immutable snapshot
+    }
+}
@@ -0,0 +1,322 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.hudi.cache;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.Weigher;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.inject.Inject;
+import io.airlift.log.Logger;
+import io.trino.cache.CacheStatsMBean;
+import io.trino.cache.EvictableCacheBuilder;
+import io.trino.filesystem.TrinoFileSystem;
+import io.trino.plugin.hudi.HudiConfig;
+import io.trino.spi.TrinoException;
+import org.apache.hudi.common.config.HoodieMetadataConfig;
+import org.apache.hudi.common.engine.HoodieLocalEngineContext;
+import org.apache.hudi.common.fs.FSUtils;
+import org.apache.hudi.common.schema.HoodieSchema;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.view.HoodieTableFileSystemView;
+import org.apache.hudi.common.util.HoodieTimer;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.metadata.HoodieTableMetadata;
+import org.apache.hudi.metadata.NativeTableMetadataFactory;
+import org.apache.hudi.storage.StoragePath;
+import org.apache.hudi.storage.StoragePathInfo;
+import org.weakref.jmx.Managed;
+import org.weakref.jmx.Nested;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.google.common.base.Throwables.throwIfInstanceOf;
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.slice.SizeOf.estimatedSizeOf;
+import static io.trino.cache.CacheUtils.uncheckedCacheGet;
+import static io.trino.plugin.hudi.HudiErrorCode.HUDI_FILESYSTEM_ERROR;
+import static io.trino.plugin.hudi.HudiUtil.buildTableMetaClient;
+import static io.trino.plugin.hudi.HudiUtil.getLatestTableSchema;
+import static java.util.Objects.requireNonNull;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Connector level cache of the table meta clients, table schemas and metadata table file listings, shared by the
+ * queries on coordinator so that the {@code .hoodie} folder is not re-read for every query.
+ * <p>
+ * Only immutable snapshots are cached. The meta clients are {@link HudiTableMetaClientSnapshot}s keyed by the table base
+ * path, which are never reloaded. A cached meta client is revalidated by listing the timeline and comparing the latest
+ * completion time of the completed instants, at most once per revalidation interval and by a single query at a time,
+ * while the other queries keep using the cached snapshot. The schemas and file listings are keyed by the base path and
+ * the latest completion time, so the entries of the stale versions are never hit again and are dropped with the
+ * invalidation or aged out. Each query builds its own file system view from the cached file listing.
+ * <p>
+ * The entries are weighed by the memory size estimated when they are loaded, the weigher does not walk the entries.
+ */
+public class HudiTableMetadataCache
+{
+    private static final Logger log = Logger.get(HudiTableMetadataCache.class);
+
+    // rough estimation of the retained sizes, the cache is bounded by memory only approximately
+    private static final long META_CLIENT_SIZE = 16 * 1024;
+    private static final long INSTANT_SIZE = 256;
+    private static final long PATH_INFO_SIZE = 128;
+
+    private final boolean enabled;
+    private final long revalidationIntervalNanos;
+    private final Ticker ticker;
+    private final Cache<CacheKey, CachedValue> cache;
+    private final CacheStatsMBean cacheStats;
+    private final AtomicLong revalidations = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    @Inject
+    public HudiTableMetadataCache(HudiConfig hudiConfig)
+    {
+        this(hudiConfig, Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    HudiTableMetadataCache(HudiConfig hudiConfig, Ticker ticker)
+    {
+        this.enabled = hudiConfig.isTableMetadataCacheEnabled();
+        this.revalidationIntervalNanos = hudiConfig.getTableMetadataCacheRevalidationInterval().roundTo(NANOSECONDS);
+        this.ticker = requireNonNull(ticker, "ticker is null");
+        this.cache = EvictableCacheBuilder.newBuilder()
+                .maximumWeight(enabled ? hudiConfig.getTableMetadataCacheMaxSize().toBytes() : 0)
+                .weigher((Weigher<CacheKey, CachedValue>) (key, value) -> (int) Math.min(Integer.MAX_VALUE, key.getRetainedSize() + value.retainedSize()))
+                .expireAfterAccess(hudiConfig.getTableMetadataCacheTtl().toMillis(), MILLISECONDS)
+                .ticker(ticker)
+                .shareNothingWhenDisabled()
+                .recordStats()
+                .build();
+        this.cacheStats = new CacheStatsMBean(cache);
+    }
+
+    /**
+     * Returns the meta client of the table, reusing the cached snapshot if no instant has completed since it was loaded.
+     * The returned meta client may be shared with the other queries, its active timeline is already loaded and is never reloaded.
+     */
+    public HoodieTableMetaClient getMetaClient(TrinoFileSystem fileSystem, String tableName, String basePath)
+    {
+        if (!enabled) {
+            return buildTableMetaClient(fileSystem, tableName, basePath);
+        }
+        CacheKey key = CacheKey.metaClient(basePath);
+        CachedMetaClient cached = (CachedMetaClient) cache.getIfPresent(key);
+        if (cached != null) {
+            if (!cached.tryStartRevalidation(ticker.read(), revalidationIntervalNanos)) {
+                // revalidated within the interval, or being revalidated by another query
+                return cached.metaClient();
+            }
+            revalidations.incrementAndGet();
+            HoodieTimer timer = HoodieTimer.start();
+            Option<String> latestCompletionTime = getLatestCompletionTime(cached.metaClient(), true);
+            if (latestCompletionTime.equals(cached.latestCompletionTime())) {
+                log.debug("Revalidated cached meta client of table %s in %s ms", tableName, timer.endTimer());
+                return cached.metaClient();
+            }
+            invalidations.incrementAndGet();
+            invalidate(basePath, cached);
+            log.info("Invalidated cached meta client of table %s, latest completion time changed from %s to %s",
+                    tableName, cached.latestCompletionTime().orElse(null), latestCompletionTime.orElse(null));
+        }
+        return ((CachedMetaClient) uncheckedCacheGet(cache, key, () -> loadMetaClient(fileSystem, tableName, basePath))).metaClient();
+    }
+
+    /**
+     * Returns the latest schema of the table as of the active timeline of the meta client.
+     */
+    public HoodieSchema getTableSchema(HoodieTableMetaClient metaClient, String tableName)
+    {
+        if (!enabled) {
+            return getLatestTableSchema(metaClient, tableName);
+        }
+        CacheKey key = CacheKey.schema(metaClient.getBasePath().toString(), getLatestCompletionTime(metaClient, false));
+        return ((CachedSchema) uncheckedCacheGet(cache, key, () -> {
+            HoodieSchema schema = getLatestTableSchema(metaClient, tableName);
+            return new CachedSchema(schema, estimatedSizeOf(schema.toString()));
+        })).schema();
+    }
+
+    /**
+     * Returns a new file system view of the table as of the active timeline of the meta client, with all the partitions
+     * loaded from the cached file listing of the metadata table. The view is owned by the caller and should be closed by it.
+     */
+    public HoodieTableFileSystemView getMetadataTableFileSystemView(HoodieTableMetaClient metaClient, String tableName)
+    {
+        CacheKey key = CacheKey.fileListing(metaClient.getBasePath().toString(), getLatestCompletionTime(metaClient, false));
+        CachedFileListing fileListing = (CachedFileListing) uncheckedCacheGet(cache, key, () -> loadFileListing(metaClient, tableName));
+        HoodieTableFileSystemView fileSystemView = new HoodieTableFileSystemView(
+                metaClient, metaClient.getActiveTimeline().getCommitsTimeline().filterCompletedInstants(), ImmutableList.of());
+        fileListing.partitionFiles().forEach(fileSystemView::addFilesToView);
+        return fileSystemView;
+    }
+
+    public boolean isEnabled()
+    {
+        return enabled;
+    }
+
+    @Managed
+    @Nested
+    public CacheStatsMBean getCacheStats()
+    {
+        return cacheStats;
+    }
+
+    @Managed
+    public long getRevalidationCount()
+    {
+        return revalidations.get();
+    }
+
+    @Managed
+    public long getInvalidationCount()
+    {
+        return invalidations.get();
+    }
+
+    @Managed
+    public long getEntryCount()
+    {
+        return cache.size();
+    }
+
+    @Managed
+    public void flushCache()
+    {
+        cache.invalidateAll();
+    }
+
+    private void invalidate(String basePath, CachedMetaClient cached)
+    {
+        // only the stale snapshot is dropped, a concurrent query may have loaded the new one already
+        cache.asMap().remove(CacheKey.metaClient(basePath), cached);
+        cache.invalidate(CacheKey.schema(basePath, cached.latestCompletionTime()));
+        cache.invalidate(CacheKey.fileListing(basePath, cached.latestCompletionTime()));
+    }
+
+    private CachedMetaClient loadMetaClient(TrinoFileSystem fileSystem, String tableName, String basePath)
+    {
+        HudiTableMetaClientSnapshot metaClient = buildTableMetaClient(fileSystem, tableName, basePath, storage -> new HudiTableMetaClientSnapshot(storage, basePath));
+        long retainedSize = META_CLIENT_SIZE + metaClient.getActiveTimeline().countInstants() * INSTANT_SIZE;
+        return new CachedMetaClient(metaClient, getLatestCompletionTime(metaClient, false), retainedSize, new AtomicLong(ticker.read() + revalidationIntervalNanos));
+    }
+
+    private static CachedFileListing loadFileListing(HoodieTableMetaClient metaClient, String tableName)
+    {
+        HoodieTimer timer = HoodieTimer.start();
+        StoragePath basePath = metaClient.getBasePath();
+        HoodieMetadataConfig metadataConfig = HoodieMetadataConfig.newBuilder().enable(true).build();
+        try (HoodieTableMetadata tableMetadata = NativeTableMetadataFactory.getInstance().create(
+                new HoodieLocalEngineContext(metaClient.getStorage().getConf()), metaClient.getStorage(), metadataConfig, basePath.toString(), false)) {
+            List<String> partitionPaths = tableMetadata.getAllPartitionPaths().stream()
+                    .map(partitionPath -> FSUtils.constructAbsolutePath(basePath, partitionPath).toString())
+                    .collect(toImmutableList());
+            ImmutableMap.Builder<String, List<StoragePathInfo>> partitionFiles = ImmutableMap.builder();
+            long retainedSize = 0;
+            for (Map.Entry<String, List<StoragePathInfo>> entry : tableMetadata.getAllFilesInPartitions(partitionPaths).entrySet()) {
+                partitionFiles.put(FSUtils.getRelativePartitionPath(basePath, new StoragePath(entry.getKey())), ImmutableList.copyOf(entry.getValue()));
+                for (StoragePathInfo pathInfo : entry.getValue()) {
+                    retainedSize += PATH_INFO_SIZE + estimatedSizeOf(pathInfo.getPath().toString());
+                }
+            }
+            log.info("Loaded file listing of table %s for the cache in %s ms", tableName, timer.endTimer());
+            return new CachedFileListing(partitionFiles.buildOrThrow(), retainedSize);
+        }
+        catch (Exception e) {
+            throwIfInstanceOf(e, TrinoException.class);
+            throw new TrinoException(HUDI_FILESYSTEM_ERROR, "Failed to list the files of table %s via the metadata table".formatted(tableName), e);
+        }
+    }
+
+    /**
+     * Returns the latest completion time of the completed instants, either of the loaded active timeline of the meta client,
+     * or of a newly listed timeline w/o touching the meta client which may be shared by the running queries.
+     */
+    private static Option<String> getLatestCompletionTime(HoodieTableMetaClient metaClient, boolean listTimeline)
+    {
+        return (listTimeline ? metaClient.getTableFormat().getTimelineFactory().createActiveTimeline(metaClient) : metaClient.getActiveTimeline())
+                .filterCompletedInstants()
+                .getLatestCompletionTime();
+    }
+
+    private enum EntryType
+    {
+        META_CLIENT,
+        SCHEMA,
+        FILE_LISTING
+    }
+
+    private record CacheKey(String basePath, EntryType type, Option<String> latestCompletionTime)
+    {
+        CacheKey
+        {
+            requireNonNull(basePath, "basePath is null");
+            requireNonNull(type, "type is null");
+            requireNonNull(latestCompletionTime, "latestCompletionTime is null");
+        }
+
+        static CacheKey metaClient(String basePath)
+        {
+            return new CacheKey(basePath, EntryType.META_CLIENT, Option.empty());
+        }
+
+        static CacheKey schema(String basePath, Option<String> latestCompletionTime)
+        {
+            return new CacheKey(basePath, EntryType.SCHEMA, latestCompletionTime);
+        }
+
+        static CacheKey fileListing(String basePath, Option<String> latestCompletionTime)
+        {
+            return new CacheKey(basePath, EntryType.FILE_LISTING, latestCompletionTime);
+        }
+
+        long getRetainedSize()
+        {
+            return estimatedSizeOf(basePath) + latestCompletionTime.map(time -> estimatedSizeOf(time)).orElse(0L);
+        }
+    }
+
+    private sealed interface CachedValue
+            permits CachedMetaClient, CachedSchema, CachedFileListing
+    {
+        long retainedSize();
+    }
+
+    private record CachedMetaClient(HoodieTableMetaClient metaClient, Option<String> latestCompletionTime, long retainedSize, AtomicLong nextRevalidationNanos)
+            implements CachedValue
+    {
+        /**
+         * Returns whether the calling query should revalidate the meta client, only one of the concurrent queries does.
+         */
+        boolean tryStartRevalidation(long nowNanos, long revalidationIntervalNanos)
+        {
+            long next = nextRevalidationNanos.get();
+            return nowNanos - next >= 0 && nextRevalidationNanos.compareAndSet(next, nowNanos + revalidationIntervalNanos);
+        }
+    }
+
+    private record CachedSchema(HoodieSchema schema, long retainedSize)
+            implements CachedValue {}
+
+    private record CachedFileListing(Map<String, List<StoragePathInfo>> partitionFiles, long retainedSize)
+            implements CachedValue {}
+}
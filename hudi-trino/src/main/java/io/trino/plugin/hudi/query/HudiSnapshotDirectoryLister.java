@@ -16,6 +16,7 @@ package io.trino.plugin.hudi.query;
 import com.google.common.collect.ImmutableList;
 import io.airlift.log.Logger;
 import io.trino.plugin.hudi.HudiTableHandle;
+import io.trino.plugin.hudi.cache.HudiTableMetadataCache;
 import io.trino.plugin.hudi.partition.HudiPartitionInfo;
 import io.trino.plugin.hudi.query.index.HudiIndexSupport;
 import io.trino.plugin.hudi.query.index.IndexSupportFactory;
@@ -48,7 +49,8 @@ public class HudiSnapshotDirectoryLister
             ConnectorSession session,
             HudiTableHandle tableHandle,
             boolean enableMetadataTable,
-            Lazy<HoodieTableMetadata> lazyTableMetadata)
+            Lazy<HoodieTableMetadata> lazyTableMetadata,
+            HudiTableMetadataCache tableMetadataCache)
     {
         this.tableHandle = tableHandle;
         SchemaTableName schemaTableName = tableHandle.getSchemaTableName();
@@ -57,9 +59,14 @@ public class HudiSnapshotDirectoryLister
             HoodieTableMetaClient metaClient = tableHandle.getMetaClient();
             HoodieTableFileSystemView fileSystemView;
             try {
-                fileSystemView = getFileSystemView(lazyTableMetadata.get(), metaClient);
-                if (enableMetadataTable) {
-                    fileSystemView.loadAllPartitions();
+                if (enableMetadataTable && tableMetadataCache.isEnabled()) {
+                    fileSystemView = tableMetadataCache.getMetadataTableFileSystemView(metaClient, schemaTableName.toString());
+                }
+                else {
+                    fileSystemView = getFileSystemView(lazyTableMetadata.get(), metaClient);
+                    if (enableMetadataTable) {
+                        fileSystemView.loadAllPartitions();
+                    }
                 }
             }
             catch (Exception e) {
@@ -0,0 +1,234 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.hudi.query.index;
+
+import com.google.common.annotations.VisibleForTesting;
+import io.airlift.log.Logger;
+import io.trino.plugin.hive.HiveColumnHandle;
+import io.trino.plugin.hudi.HudiSplit;
+import io.trino.plugin.hudi.file.HudiBaseFile;
+import io.trino.spi.connector.ConnectorSplit;
+import io.trino.spi.connector.SchemaTableName;
+import io.trino.spi.predicate.Domain;
+import io.trino.spi.predicate.TupleDomain;
+import org.apache.hudi.common.bloom.BloomFilter;
+import org.apache.hudi.common.data.HoodieListData;
+import org.apache.hudi.common.fs.FSUtils;
+import org.apache.hudi.common.model.HoodieRecordGlobalLocation;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.util.HoodieTimer;
+import org.apache.hudi.common.util.Lazy;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.collection.Pair;
+import org.apache.hudi.metadata.HoodieTableMetadata;
+import org.apache.hudi.storage.StoragePath;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static io.trino.plugin.hudi.HudiUtil.collectAsMap;
+import static io.trino.plugin.hudi.query.index.HudiRecordLevelIndexSupport.constructRecordKeys;
+import static io.trino.plugin.hudi.query.index.HudiRecordLevelIndexSupport.extractPredicatesForColumns;
+import static io.trino.plugin.hudi.util.TupleDomainUtils.areAllFieldsReferenced;
+import static io.trino.plugin.hudi.util.TupleDomainUtils.areDomainsInOrEqualOnly;
+import static java.util.Objects.requireNonNull;
+import static org.apache.hudi.metadata.HoodieTableMetadataUtil.PARTITION_NAME_BLOOM_FILTERS;
+import static org.apache.hudi.metadata.HoodieTableMetadataUtil.PARTITION_NAME_RECORD_INDEX;
+
+/**
+ * Prunes the splits of a table scan by the dynamic filter on the record key columns, i.e. the key set collected at
+ * runtime from the build side of a join. The record keys are looked up in the record level index when it is available,
+ * so that only the splits of the file groups holding the keys are kept. Otherwise, the record keys are probed against
+ * the bloom filters of the base files in the metadata table, the splits of file slices with log files are always kept
+ * since the bloom filters only cover the base files.
+ */
+public class HudiDynamicFilterFilePruner
+{
+    private static final Logger log = Logger.get(HudiDynamicFilterFilePruner.class);
+
+    // upper bound of the record keys to look up, a dynamic filter with more keys is only applied to the rows
+    static final int MAX_RECORD_KEYS = 10_000;
+
+    private final StoragePath basePath;
+    private final Lazy<HoodieTableMetadata> lazyTableMetadata;
+    private final List<String> recordKeys;
+    // the file ids holding the record keys by the record level index, empty if the bloom filters are probed instead
+    private final Optional<Set<String>> fileIds;
+
+    private HudiDynamicFilterFilePruner(StoragePath basePath, Lazy<HoodieTableMetadata> lazyTableMetadata, List<String> recordKeys, Optional<Set<String>> fileIds)
+    {
+        this.basePath = requireNonNull(basePath, "basePath is null");
+        this.lazyTableMetadata = requireNonNull(lazyTableMetadata, "lazyTableMetadata is null");
+        this.recordKeys = requireNonNull(recordKeys, "recordKeys is null");
+        this.fileIds = requireNonNull(fileIds, "fileIds is null");
+    }
+
+    /**
+     * Creates the pruner for the dynamic filter predicate, empty if the predicate does not constrain all the record key
+     * fields to a set of values, or neither the record level index nor the bloom filters are available. The record keys
+     * are looked up in the record level index eagerly, so the pruner is expected to be created off the split scheduling thread.
+     */
+    public static Optional<HudiDynamicFilterFilePruner> create(
+            SchemaTableName schemaTableName,
+            HoodieTableMetaClient metaClient,
+            Lazy<HoodieTableMetadata> lazyTableMetadata,
+            TupleDomain<HiveColumnHandle> dynamicFilterPredicate)
+    {
+        return create(
+                schemaTableName,
+                metaClient.getBasePath(),
+                metaClient.getTableConfig().getMetadataPartitions(),
+                metaClient.getTableConfig().getRecordKeyFields(),
+                lazyTableMetadata,
+                dynamicFilterPredicate);
+    }
+
+    @VisibleForTesting
+    static Optional<HudiDynamicFilterFilePruner> create(
+            SchemaTableName schemaTableName,
+            StoragePath basePath,
+            Set<String> metadataPartitions,
+            Option<String[]> recordKeyFieldsOpt,
+            Lazy<HoodieTableMetadata> lazyTableMetadata,
+            TupleDomain<HiveColumnHandle> dynamicFilterPredicate)
+    {
+        if (dynamicFilterPredicate.isAll() || dynamicFilterPredicate.getDomains().isEmpty()) {
+            return Optional.empty();
+        }
+        boolean recordIndexAvailable = metadataPartitions.contains(PARTITION_NAME_RECORD_INDEX);
+        if (!recordIndexAvailable && !metadataPartitions.contains(PARTITION_NAME_BLOOM_FILTERS)) {
+            return Optional.empty();
+        }
+        if (recordKeyFieldsOpt.isEmpty() || recordKeyFieldsOpt.get().length == 0) {
+            return Optional.empty();
+        }
+        List<String> recordKeyFields = Arrays.asList(recordKeyFieldsOpt.get());
+
+        Map<String, Domain> regularColumnDomains = new HashMap<>();
+        dynamicFilterPredicate.getDomains().get().forEach((column, domain) -> {
+            if (!column.isPartitionKey()) {
+                regularColumnDomains.put(column.getName(), domain);
+            }
+        });
+        TupleDomain<String> recordKeyPredicate = extractPredicatesForColumns(TupleDomain.withColumnDomains(regularColumnDomains), recordKeyFields);
+        if (!areAllFieldsReferenced(recordKeyPredicate, recordKeyFields) || !areDomainsInOrEqualOnly(recordKeyPredicate, recordKeyFields)) {
+            return Optional.empty();
+        }
+        long recordKeyCount = 1;
+        for (String recordKeyField : recordKeyFields) {
+            Domain domain = recordKeyPredicate.getDomains().get().get(recordKeyField);
+            recordKeyCount *= domain.isSingleValue() ? 1 : domain.getValues().getDiscreteSet().size();
+            if (recordKeyCount > MAX_RECORD_KEYS) {
+                log.debug("Dynamic filter on the record keys of table %s has more than %s keys, skipping file pruning", schemaTableName, MAX_RECORD_KEYS);
+                return Optional.empty();
+            }
+        }
+        List<String> recordKeys = constructRecordKeys(recordKeyPredicate, recordKeyFields);
+        if (recordKeys.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Optional<Set<String>> fileIds = Optional.empty();
+        if (recordIndexAvailable) {
+            HoodieTimer timer = HoodieTimer.start();
+            try {
+                Map<String, HoodieRecordGlobalLocation> recordIndex = collectAsMap(lazyTableMetadata.get().readRecordIndexLocationsWithKeys(HoodieListData.eager(recordKeys)));
+                if (recordIndex.isEmpty()) {
+                    // consistent with the record level index support of the static predicates, nothing is pruned
+                    return Optional.empty();
+                }
+                fileIds = Optional.of(recordIndex.values().stream()
+                        .map(HoodieRecordGlobalLocation::getFileId)
+                        .collect(toImmutableSet()));
+            }
+            catch (RuntimeException e) {
+                log.warn(e, "Failed to look up the record level index for the dynamic filter of table %s, skipping file pruning", schemaTableName);
+                return Optional.empty();
+            }
+            log.debug("Record level index lookup of %s dynamic filter keys of table %s took %s ms and identified %s file ids",
+                    recordKeys.size(), schemaTableName, timer.endTimer(), fileIds.get().size());
+        }
+        return Optional.of(new HudiDynamicFilterFilePruner(basePath, lazyTableMetadata, recordKeys, fileIds));
+    }
+
+    /**
+     * Returns the splits that may contain any of the record keys of the dynamic filter.
+     */
+    public List<ConnectorSplit> prune(List<ConnectorSplit> splits)
+    {
+        if (splits.isEmpty()) {
+            return splits;
+        }
+        if (fileIds.isPresent()) {
+            return splits.stream()
+                    .filter(split -> fileIds.get().contains(getFileId((HudiSplit) split)))
+                    .collect(toImmutableList());
+        }
+
+        // the bloom filters of all the base files of the batch are read with a single lookup
+        List<Pair<String, String>> partitionAndFileNames = splits.stream()
+                .map(HudiSplit.class::cast)
+                .filter(HudiDynamicFilterFilePruner::isBaseFileOnly)
+                .map(split -> getPartitionAndFileName(split.getBaseFile().get()))
+                .distinct()
+                .collect(toImmutableList());
+        if (partitionAndFileNames.isEmpty()) {
+            return splits;
+        }
+        Map<Pair<String, String>, BloomFilter> bloomFilters;
+        try {
+            bloomFilters = lazyTableMetadata.get().getBloomFilters(partitionAndFileNames);
+        }
+        catch (RuntimeException e) {
+            log.warn(e, "Failed to read the bloom filters of %s files, skipping file pruning", partitionAndFileNames.size());
+            return splits;
+        }
+        return splits.stream()
+                .filter(split -> {
+                    HudiSplit hudiSplit = (HudiSplit) split;
+                    if (!isBaseFileOnly(hudiSplit)) {
+                        return true;
+                    }
+                    BloomFilter bloomFilter = bloomFilters.get(getPartitionAndFileName(hudiSplit.getBaseFile().get()));
+                    // the file might contain any key if its bloom filter is missing
+                    return bloomFilter == null || recordKeys.stream().anyMatch(bloomFilter::mightContain);
+                })
+                .collect(toImmutableList());
+    }
+
+    private Pair<String, String> getPartitionAndFileName(HudiBaseFile baseFile)
+    {
+        StoragePath path = new StoragePath(baseFile.getPath());
+        return Pair.of(FSUtils.getRelativePartitionPath(basePath, path.getParent()), path.getName());
+    }
+
+    private static boolean isBaseFileOnly(HudiSplit split)
+    {
+        return split.getBaseFile().isPresent() && split.getLogFiles().isEmpty();
+    }
+
+    private static String getFileId(HudiSplit split)
+    {
+        if (split.getBaseFile().isPresent()) {
+            return FSUtils.getFileId(split.getBaseFile().get().getFileName());
+        }
+        return FSUtils.getFileIdFromLogPath(new StoragePath(split.getLogFiles().getFirst().getPath()));
+    }
+}
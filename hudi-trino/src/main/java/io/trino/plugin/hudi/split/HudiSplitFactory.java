@@ -24,6 +24,7 @@ import io.trino.spi.HostAddress;
 import io.trino.spi.TrinoException;
 import org.apache.hudi.common.model.FileSlice;
 import org.apache.hudi.common.model.HoodieBaseFile;
+import org.apache.hudi.common.model.HoodieLogFile;
 import org.apache.hudi.common.model.HoodieTableType;
 import org.apache.hudi.common.util.Option;
 
@@ -161,6 +162,8 @@ public class HudiSplitFactory
 
     /**
      * Creates a single split for a Merge-On-Read file slice, including the base file and log files.
+     * The split is weighed by the cost of merging the log files, so that the slices with a large log
+     * backlog are spread over the workers rather than stacked up as if they were plain scans.
      */
     private static List<HudiSplit> createSplitForMergeOnRead(
             HudiTableHandle hudiTableHandle,
@@ -172,14 +175,17 @@ public class HudiSplitFactory
         // NOTE: Some file slices may not have base files
         Option<HoodieBaseFile> baseFileOption = fileSlice.getBaseFile();
         List<HostAddress> addresses = ImmutableList.of();
+        List<HoodieLogFile> logFiles = fileSlice.getLogFiles().toList();
+        long baseFileSize = baseFileOption.map(HoodieBaseFile::getFileSize).orElse(0L);
+        long logFilesSize = logFiles.stream().mapToLong(HoodieLogFile::getFileSize).sum();
 
         HudiSplit split = new HudiSplit(
                 baseFileOption.map(HudiBaseFile::of).orElse(null),
-                fileSlice.getLogFiles().map(HudiLogFile::of).toList(),
+                logFiles.stream().map(HudiLogFile::of).toList(),
                 commitTime,
                 hudiTableHandle.getRegularPredicates(),
                 partitionKeys,
-                hudiSplitWeightProvider.calculateSplitWeight(fileSlice.getTotalFileSize()),
+                hudiSplitWeightProvider.calculateMergeOnReadSplitWeight(baseFileSize, logFilesSize, logFiles.size()),
                 addresses);
 
         return ImmutableList.of(split);
@@ -19,6 +19,15 @@ public interface HudiSplitWeightProvider
 {
     SplitWeight calculateSplitWeight(long splitSizeInBytes);
 
+    /**
+     * Calculates the weight of a split merging a base file with its log files. The log files are
+     * weighed as plain bytes unless the provider models the cost of merging them.
+     */
+    default SplitWeight calculateMergeOnReadSplitWeight(long baseFileSizeInBytes, long logFilesSizeInBytes, int logFileCount)
+    {
+        return calculateSplitWeight(baseFileSizeInBytes + logFilesSizeInBytes);
+    }
+
     static HudiSplitWeightProvider uniformStandardWeightProvider()
     {
         return splitSizeInBytes -> SplitWeight.standard();
@@ -23,10 +23,21 @@ import static java.util.Objects.requireNonNull;
 public class SizeBasedSplitWeightProvider
         implements HudiSplitWeightProvider
 {
+    // Merge-on-read splits cannot be divided, so a slice with a heavy log backlog may outweigh a standard split,
+    // bounded to keep a single slice from monopolizing the weight budget of a worker
+    static final double MAXIMUM_MERGE_ON_READ_WEIGHT = 4.0;
+
     private final double minimumWeight;
     private final double standardSplitSizeInBytes;
+    private final double logFileSizeMultiplier;
+    private final long logFileOpenCostInBytes;
 
     public SizeBasedSplitWeightProvider(double minimumWeight, DataSize standardSplitSize)
+    {
+        this(minimumWeight, standardSplitSize, 1.0, DataSize.ofBytes(0));
+    }
+
+    public SizeBasedSplitWeightProvider(double minimumWeight, DataSize standardSplitSize, double logFileSizeMultiplier, DataSize logFileOpenCost)
     {
         checkArgument(
                 Double.isFinite(minimumWeight) && minimumWeight > 0 && minimumWeight <= 1,
@@ -35,6 +46,11 @@ public class SizeBasedSplitWeightProvider
         long standardSplitSizeInBytesLong = requireNonNull(standardSplitSize, "standardSplitSize is null").toBytes();
         checkArgument(standardSplitSizeInBytesLong > 0, "standardSplitSize must be > 0, found: %s", standardSplitSize);
         this.standardSplitSizeInBytes = (double) standardSplitSizeInBytesLong;
+        checkArgument(
+                Double.isFinite(logFileSizeMultiplier) && logFileSizeMultiplier >= 1,
+                "logFileSizeMultiplier must be >= 1, found: %s", logFileSizeMultiplier);
+        this.logFileSizeMultiplier = logFileSizeMultiplier;
+        this.logFileOpenCostInBytes = requireNonNull(logFileOpenCost, "logFileOpenCost is null").toBytes();
     }
 
     @Override
@@ -44,4 +60,19 @@ public class SizeBasedSplitWeightProvider
         // Clamp the value between the minimum weight and 1.0 (standard weight)
         return SplitWeight.fromProportion(clamp(computedWeight, minimumWeight, 1.0));
     }
+
+    /**
+     * Weighs the log files by the cost of merging them rather than by their size only: every log byte is
+     * decoded and spilled into the merge buffer before the base file is scanned, and every log file adds
+     * the cost of opening it and scanning its block headers.
+     */
+    @Override
+    public SplitWeight calculateMergeOnReadSplitWeight(long baseFileSizeInBytes, long logFilesSizeInBytes, int logFileCount)
+    {
+        double effectiveSizeInBytes = baseFileSizeInBytes
+                + logFilesSizeInBytes * logFileSizeMultiplier
+                + (double) logFileCount * logFileOpenCostInBytes;
+        double computedWeight = effectiveSizeInBytes / standardSplitSizeInBytes;
+        return SplitWeight.fromProportion(clamp(computedWeight, minimumWeight, MAXIMUM_MERGE_ON_READ_WEIGHT));
+    }
 }
@@ -20,6 +20,7 @@ import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.exception.HoodieMetadataException;
 import org.apache.hudi.metadata.HoodieBackedTableMetadata;
 import org.apache.hudi.metadata.stats.HoodieColumnRangeMetadata;
+import org.apache.hudi.metadata.stats.HoodieDistinctCountSketch;
 import org.apache.hudi.metadata.stats.ValueMetadata;
 import org.apache.hudi.storage.HoodieStorage;
 
@@ -59,18 +60,18 @@ public class TableMetadataReader
                 .collect(Collectors.toMap(
                         Map.Entry::getKey,
                         e -> {
-                            long valueCount = 0L;
-                            long nullCount = 0L;
-                            long totalSize = 0L;
-                            long totalUncompressedSize = 0L;
+                            HoodieColumnRangeMetadata<Comparable> columnRange = null;
                             for (HoodieMetadataColumnStats stats : e.getValue()) {
-                                valueCount += stats.getValueCount();
-                                nullCount += stats.getNullCount();
-                                totalSize += stats.getTotalSize();
-                                totalUncompressedSize += stats.getTotalUncompressedSize();
+                                HoodieDistinctCountSketch distinctCountSketch = stats.getDistinctCountSketch() == null
+                                        ? null
+                                        : HoodieDistinctCountSketch.fromByteBuffer(stats.getDistinctCountSketch());
+                                // the min and max values are not needed, the merging keeps the sketches of all the files
+                                columnRange = HoodieColumnRangeMetadata.merge(columnRange, HoodieColumnRangeMetadata.<Comparable>create(
+                                                "", e.getKey(), null, null, stats.getNullCount(), stats.getValueCount(), stats.getTotalSize(),
+                                                stats.getTotalUncompressedSize(), ValueMetadata.NULL_METADATA)
+                                        .withDistinctCountSketch(distinctCountSketch));
                             }
-                            return HoodieColumnRangeMetadata.create(
-                                    "", e.getKey(), null, null, nullCount, valueCount, totalSize, totalUncompressedSize, ValueMetadata.NULL_METADATA);
+                            return columnRange;
                         }));
     }
 }
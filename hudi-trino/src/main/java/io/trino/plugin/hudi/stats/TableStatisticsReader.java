@@ -29,6 +29,7 @@ import org.apache.hudi.common.table.timeline.HoodieInstant;
 import org.apache.hudi.common.table.view.HoodieTableFileSystemView;
 import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.metadata.stats.HoodieColumnRangeMetadata;
+import org.apache.hudi.metadata.stats.HoodieDistinctCountSketch;
 
 import java.util.List;
 import java.util.Map;
@@ -96,6 +97,10 @@ public class TableStatisticsReader
             columnStatisticsBuilder.setNullsFraction(Estimate.of(
                     columnStats.getNullCount() / (double) totalCount));
             columnStatisticsBuilder.setDataSize(Estimate.of(columnStats.getTotalUncompressedSize() / (double) totalCount));
+            HoodieDistinctCountSketch distinctCountSketch = columnStats.getDistinctCountSketch();
+            if (distinctCountSketch != null) {
+                columnStatisticsBuilder.setDistinctValuesCount(Estimate.of(Math.min(distinctCountSketch.estimate(), columnStats.getValueCount())));
+            }
             columnHandleBuilder.put(columnHandle, columnStatisticsBuilder.build());
         }
         return new TableStatistics(Estimate.of(rowCount), columnHandleBuilder.buildOrThrow());
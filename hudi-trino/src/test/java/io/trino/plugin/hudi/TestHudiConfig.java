@@ -44,6 +44,8 @@ public class TestHudiConfig
                 .setSizeBasedSplitWeightsEnabled(true)
                 .setStandardSplitWeightSize(DataSize.of(128, MEGABYTE))
                 .setMinimumAssignedSplitWeight(0.05)
+                .setLogFileSplitWeightMultiplier(2.0)
+                .setLogFileSplitWeightOpenCost(DataSize.of(4, MEGABYTE))
                 .setTargetSplitSize(DataSize.of(128, MEGABYTE))
                 .setMaxSplitsPerSecond(Integer.MAX_VALUE)
                 .setMaxOutstandingSplits(10000)
@@ -57,12 +59,17 @@ public class TestHudiConfig
                 .setColumnStatsIndexEnabled(true)
                 .setPartitionStatsIndexEnabled(true)
                 .setDynamicFilteringWaitTimeout(Duration.valueOf("1s"))
+                .setDynamicFilteringIndexPruningEnabled(true)
                 .setColumnStatsWaitTimeout(Duration.valueOf("1s"))
                 .setRecordIndexWaitTimeout(Duration.valueOf("2s"))
                 .setSecondaryIndexWaitTimeout(Duration.valueOf("2s"))
                 .setMetadataPartitionListingEnabled(true)
                 .setMetadataCacheEnabled(true)
-                .setResolveColumnNameCasingEnabled(false));
+                .setResolveColumnNameCasingEnabled(false)
+                .setTableMetadataCacheEnabled(false)
+                .setTableMetadataCacheMaxSize(DataSize.of(256, MEGABYTE))
+                .setTableMetadataCacheTtl(Duration.valueOf("1h"))
+                .setTableMetadataCacheRevalidationInterval(Duration.valueOf("5s")));
     }
 
     @Test
@@ -79,6 +86,8 @@ public class TestHudiConfig
                 .put("hudi.size-based-split-weights-enabled", "false")
                 .put("hudi.standard-split-weight-size", "64MB")
                 .put("hudi.minimum-assigned-split-weight", "0.1")
+                .put("hudi.log-file-split-weight-multiplier", "3.5")
+                .put("hudi.log-file-split-weight-open-cost", "1MB")
                 .put("hudi.target-split-size", "32MB")
                 .put("hudi.max-splits-per-second", "100")
                 .put("hudi.max-outstanding-splits", "100")
@@ -92,12 +101,17 @@ public class TestHudiConfig
                 .put("hudi.index.column-stats-index-enabled", "false")
                 .put("hudi.index.partition-stats-index-enabled", "false")
                 .put("hudi.dynamic-filtering.wait-timeout", "2s")
+                .put("hudi.dynamic-filtering.index-pruning-enabled", "false")
                 .put("hudi.index.column-stats.wait-timeout", "2s")
                 .put("hudi.index.record-index.wait-timeout", "1s")
                 .put("hudi.index.secondary-index.wait-timeout", "1s")
                 .put("hudi.metadata.cache.enabled", "false")
                 .put("hudi.metadata.partition-listing.enabled", "false")
                 .put("hudi.table.resolve-column-name-casing.enabled", "true")
+                .put("hudi.table-metadata-cache.enabled", "true")
+                .put("hudi.table-metadata-cache.max-size", "64MB")
+                .put("hudi.table-metadata-cache.ttl", "10m")
+                .put("hudi.table-metadata-cache.revalidation-interval", "1m")
                 .buildOrThrow();
 
         HudiConfig expected = new HudiConfig()
@@ -111,6 +125,8 @@ public class TestHudiConfig
                 .setSizeBasedSplitWeightsEnabled(false)
                 .setStandardSplitWeightSize(DataSize.of(64, MEGABYTE))
                 .setMinimumAssignedSplitWeight(0.1)
+                .setLogFileSplitWeightMultiplier(3.5)
+                .setLogFileSplitWeightOpenCost(DataSize.of(1, MEGABYTE))
                 .setTargetSplitSize(DataSize.of(32, MEGABYTE))
                 .setMaxSplitsPerSecond(100)
                 .setMaxOutstandingSplits(100)
@@ -124,12 +140,17 @@ public class TestHudiConfig
                 .setColumnStatsIndexEnabled(false)
                 .setPartitionStatsIndexEnabled(false)
                 .setDynamicFilteringWaitTimeout(Duration.valueOf("2s"))
+                .setDynamicFilteringIndexPruningEnabled(false)
                 .setColumnStatsWaitTimeout(Duration.valueOf("2s"))
                 .setRecordIndexWaitTimeout(Duration.valueOf("1s"))
                 .setSecondaryIndexWaitTimeout(Duration.valueOf("1s"))
                 .setMetadataPartitionListingEnabled(false)
                 .setMetadataCacheEnabled(false)
-                .setResolveColumnNameCasingEnabled(true);
+                .setResolveColumnNameCasingEnabled(true)
+                .setTableMetadataCacheEnabled(true)
+                .setTableMetadataCacheMaxSize(DataSize.of(64, MEGABYTE))
+                .setTableMetadataCacheTtl(Duration.valueOf("10m"))
+                .setTableMetadataCacheRevalidationInterval(Duration.valueOf("1m"));
 
         assertFullMapping(properties, expected);
     }
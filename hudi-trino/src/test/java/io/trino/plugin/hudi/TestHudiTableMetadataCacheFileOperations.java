@@ -0,0 +1,88 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.hudi;
+
+import com.google.common.collect.ImmutableMap;
+import io.trino.plugin.hudi.testing.ResourceHudiTablesInitializer;
+import io.trino.plugin.hudi.util.FileOperationUtils;
+import io.trino.testing.AbstractTestQueryFramework;
+import io.trino.testing.DistributedQueryRunner;
+import io.trino.testing.MaterializedResult;
+import io.trino.testing.QueryRunner;
+import org.intellij.lang.annotations.Language;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.ResourceLock;
+
+import java.util.Map;
+
+import static io.trino.filesystem.tracing.CacheFileSystemTraceUtils.getFileLocation;
+import static io.trino.filesystem.tracing.CacheFileSystemTraceUtils.isTrinoSchemaOrPermissions;
+import static io.trino.plugin.hudi.testing.ResourceHudiTablesInitializer.TestingTable.HUDI_MULTI_FG_PT_V8_MOR;
+import static io.trino.plugin.hudi.util.FileOperationUtils.FileType.TABLE_PROPERTIES;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ResourceLock("HUDI_CACHE_SYSTEM")
+@Execution(ExecutionMode.SAME_THREAD)
+public class TestHudiTableMetadataCacheFileOperations
+        extends AbstractTestQueryFramework
+{
+    @Override
+    protected DistributedQueryRunner createQueryRunner()
+            throws Exception
+    {
+        Map<String, String> hudiProperties = ImmutableMap.<String, String>builder()
+                .put("hudi.metadata-enabled", "true")
+                .put("hudi.metadata.cache.enabled", "false")
+                .put("hudi.table-metadata-cache.enabled", "true")
+                .put("fs.cache.enabled", "false")
+                .put("hudi.table-statistics-enabled", "false")
+                .buildOrThrow();
+
+        return HudiQueryRunner.builder()
+                .addConnectorProperties(hudiProperties)
+                .setDataLoader(new ResourceHudiTablesInitializer())
+                .setWorkerCount(0)
+                .build();
+    }
+
+    @Test
+    public void testRepeatedQueryReusesTableMetadata()
+    {
+        @Language("SQL") String query = "SELECT * FROM " + HUDI_MULTI_FG_PT_V8_MOR + " WHERE country='SG'";
+        DistributedQueryRunner queryRunner = getDistributedQueryRunner();
+
+        MaterializedResult expected = queryRunner.executeWithPlan(queryRunner.getDefaultSession(), query).result();
+        int firstTablePropertiesReads = countFileOperations(queryRunner, TABLE_PROPERTIES);
+
+        // the meta client is revalidated by listing the timeline only, the table properties are not read again
+        // by the planning, while the results stay the same
+        MaterializedResult actual = queryRunner.executeWithPlan(queryRunner.getDefaultSession(), query).result();
+        int secondTablePropertiesReads = countFileOperations(queryRunner, TABLE_PROPERTIES);
+
+        assertThat(actual.getMaterializedRows()).containsExactlyInAnyOrderElementsOf(expected.getMaterializedRows());
+        assertThat(secondTablePropertiesReads).isLessThan(firstTablePropertiesReads);
+    }
+
+    private static int countFileOperations(QueryRunner queryRunner, FileOperationUtils.FileType fileType)
+    {
+        return (int) queryRunner.getSpans().stream()
+                .filter(span -> span.getName().startsWith("Input.") || span.getName().startsWith("InputFile."))
+                .filter(span -> !isTrinoSchemaOrPermissions(getFileLocation(span)))
+                .map(FileOperationUtils.FileOperation::create)
+                .filter(operation -> operation.fileType() == fileType)
+                .count();
+    }
+}
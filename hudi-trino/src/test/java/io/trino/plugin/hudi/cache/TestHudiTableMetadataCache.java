@@ -0,0 +1,235 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.hudi.cache;
+
+import io.airlift.testing.TestingTicker;
+import io.airlift.units.Duration;
+import io.trino.filesystem.Location;
+import io.trino.filesystem.TrinoFileSystem;
+import io.trino.filesystem.TrinoInputStream;
+import io.trino.filesystem.memory.MemoryFileSystem;
+import io.trino.plugin.hudi.HudiConfig;
+import io.trino.plugin.hudi.testing.HudiTableUnzipper;
+import org.apache.hudi.common.model.FileSlice;
+import org.apache.hudi.common.model.HoodieFileGroup;
+import org.apache.hudi.common.schema.HoodieSchema;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.view.HoodieTableFileSystemView;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import static com.google.common.collect.ImmutableSet.toImmutableSet;
+import static com.google.common.io.MoreFiles.deleteRecursively;
+import static com.google.common.io.RecursiveDeleteOption.ALLOW_INSECURE;
+import static io.trino.plugin.hudi.testing.ResourceHudiTablesInitializer.TestingTable.HUDI_MULTI_FG_PT_V8_MOR;
+import static io.trino.plugin.hudi.testing.ResourceHudiTablesInitializer.copyDir;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+
+@TestInstance(PER_CLASS)
+final class TestHudiTableMetadataCache
+{
+    private static final String TABLE_NAME = HUDI_MULTI_FG_PT_V8_MOR.getTableName();
+    private static final Location TABLE_LOCATION = Location.of("memory:///" + TABLE_NAME);
+    private static final String LATEST_COMMIT = "20250429145946675_20250429145948177.deltacommit";
+    private static final String LATEST_COMPLETION_TIME = "20250429145948177";
+    private static final String NEW_COMPLETION_TIME = "20250430000000100";
+
+    private Path resourceDirectory;
+
+    @BeforeAll
+    void setUp()
+            throws Exception
+    {
+        resourceDirectory = Files.createTempDirectory("hudi-table-metadata-cache");
+        HudiTableUnzipper.unzipAllItemsInResource("hudi-testing-data", resourceDirectory);
+    }
+
+    @AfterAll
+    void tearDown()
+            throws IOException
+    {
+        deleteRecursively(resourceDirectory, ALLOW_INSECURE);
+    }
+
+    @Test
+    void testCacheHit()
+            throws IOException
+    {
+        TrinoFileSystem fileSystem = createFileSystem();
+        HudiTableMetadataCache cache = new HudiTableMetadataCache(cacheConfig(new Duration(1, MINUTES)), new TestingTicker());
+
+        HoodieTableMetaClient metaClient = getMetaClient(cache, fileSystem);
+        HoodieSchema schema = cache.getTableSchema(metaClient, TABLE_NAME);
+        Set<String> fileSlices = getFileSlices(cache, metaClient);
+        assertThat(fileSlices).isNotEmpty();
+
+        // the snapshots are reused within the revalidation interval w/o listing the timeline
+        assertThat(getMetaClient(cache, fileSystem)).isSameAs(metaClient);
+        assertThat(cache.getTableSchema(metaClient, TABLE_NAME)).isSameAs(schema);
+        assertThat(getFileSlices(cache, metaClient)).isEqualTo(fileSlices);
+        assertThat(cache.getRevalidationCount()).isEqualTo(0);
+        assertThat(cache.getEntryCount()).isEqualTo(3);
+
+        // each query builds its own file system view from the cached file listing
+        HoodieTableFileSystemView fileSystemView = cache.getMetadataTableFileSystemView(metaClient, TABLE_NAME);
+        HoodieTableFileSystemView otherFileSystemView = cache.getMetadataTableFileSystemView(metaClient, TABLE_NAME);
+        assertThat(fileSystemView).isNotSameAs(otherFileSystemView);
+        fileSystemView.close();
+        assertThat(getFileSlices(otherFileSystemView)).isEqualTo(fileSlices);
+
+        // the shared snapshot is never reloaded
+        assertThat(metaClient.reloadActiveTimeline()).isSameAs(metaClient.getActiveTimeline());
+    }
+
+    @Test
+    void testInvalidationOnNewInstant()
+            throws IOException
+    {
+        TrinoFileSystem fileSystem = createFileSystem();
+        TestingTicker ticker = new TestingTicker();
+        HudiTableMetadataCache cache = new HudiTableMetadataCache(cacheConfig(new Duration(1, MINUTES)), ticker);
+
+        HoodieTableMetaClient metaClient = getMetaClient(cache, fileSystem);
+        cache.getTableSchema(metaClient, TABLE_NAME);
+        getFileSlices(cache, metaClient);
+        assertThat(getLatestCompletionTime(metaClient)).isEqualTo(LATEST_COMPLETION_TIME);
+
+        commitNewInstant(fileSystem);
+        // the new instant is not seen until the revalidation interval elapses
+        assertThat(getMetaClient(cache, fileSystem)).isSameAs(metaClient);
+        assertThat(cache.getRevalidationCount()).isEqualTo(0);
+
+        ticker.increment(1, MINUTES);
+        HoodieTableMetaClient newMetaClient = getMetaClient(cache, fileSystem);
+        assertThat(newMetaClient).isNotSameAs(metaClient);
+        assertThat(getLatestCompletionTime(newMetaClient)).isEqualTo(NEW_COMPLETION_TIME);
+        assertThat(cache.getRevalidationCount()).isEqualTo(1);
+        assertThat(cache.getInvalidationCount()).isEqualTo(1);
+        // the entries of the stale version are dropped, while the stale snapshot stays intact for the running queries
+        assertThat(cache.getEntryCount()).isEqualTo(1);
+        assertThat(getLatestCompletionTime(metaClient)).isEqualTo(LATEST_COMPLETION_TIME);
+
+        // the table does not change anymore
+        ticker.increment(1, MINUTES);
+        assertThat(getMetaClient(cache, fileSystem)).isSameAs(newMetaClient);
+        assertThat(cache.getRevalidationCount()).isEqualTo(2);
+        assertThat(cache.getInvalidationCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testConcurrentAccess()
+            throws Exception
+    {
+        TrinoFileSystem fileSystem = createFileSystem();
+        // every lookup revalidates the meta client, concurrently with the other queries
+        HudiTableMetadataCache cache = new HudiTableMetadataCache(cacheConfig(new Duration(0, SECONDS)), new TestingTicker());
+        HoodieTableMetaClient metaClient = getMetaClient(cache, fileSystem);
+        HoodieSchema schema = cache.getTableSchema(metaClient, TABLE_NAME);
+        Set<String> expectedFileSlices = getFileSlices(cache, metaClient);
+
+        ExecutorService executor = newFixedThreadPool(8);
+        try {
+            List<Future<Set<String>>> futures = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                futures.add(executor.submit(() -> {
+                    HoodieTableMetaClient sharedMetaClient = getMetaClient(cache, fileSystem);
+                    assertThat(sharedMetaClient).isSameAs(metaClient);
+                    assertThat(cache.getTableSchema(sharedMetaClient, TABLE_NAME)).isSameAs(schema);
+                    return getFileSlices(cache, sharedMetaClient);
+                }));
+            }
+            for (Future<Set<String>> future : futures) {
+                assertThat(future.get(1, MINUTES)).isEqualTo(expectedFileSlices);
+            }
+        }
+        finally {
+            executor.shutdownNow();
+        }
+        assertThat(cache.getInvalidationCount()).isEqualTo(0);
+        assertThat(cache.getEntryCount()).isEqualTo(3);
+    }
+
+    private TrinoFileSystem createFileSystem()
+            throws IOException
+    {
+        TrinoFileSystem fileSystem = new MemoryFileSystem();
+        copyDir(resourceDirectory.resolve(TABLE_NAME), fileSystem, TABLE_LOCATION);
+        return fileSystem;
+    }
+
+    private static HudiConfig cacheConfig(Duration revalidationInterval)
+    {
+        return new HudiConfig()
+                .setTableMetadataCacheEnabled(true)
+                .setTableMetadataCacheRevalidationInterval(revalidationInterval);
+    }
+
+    private static HoodieTableMetaClient getMetaClient(HudiTableMetadataCache cache, TrinoFileSystem fileSystem)
+    {
+        return cache.getMetaClient(fileSystem, TABLE_NAME, TABLE_LOCATION.toString());
+    }
+
+    private static String getLatestCompletionTime(HoodieTableMetaClient metaClient)
+    {
+        return metaClient.getActiveTimeline().filterCompletedInstants().getLatestCompletionTime().get();
+    }
+
+    private static Set<String> getFileSlices(HudiTableMetadataCache cache, HoodieTableMetaClient metaClient)
+    {
+        HoodieTableFileSystemView fileSystemView = cache.getMetadataTableFileSystemView(metaClient, TABLE_NAME);
+        try {
+            return getFileSlices(fileSystemView);
+        }
+        finally {
+            fileSystemView.close();
+        }
+    }
+
+    private static Set<String> getFileSlices(HoodieTableFileSystemView fileSystemView)
+    {
+        return fileSystemView.getAllFileGroups()
+                .flatMap(HoodieFileGroup::getAllFileSlices)
+                .map(FileSlice::toString)
+                .collect(toImmutableSet());
+    }
+
+    /**
+     * Completes a new delta commit with the metadata of the latest one.
+     */
+    private static void commitNewInstant(TrinoFileSystem fileSystem)
+            throws IOException
+    {
+        Location timeline = TABLE_LOCATION.appendPath(".hoodie/timeline");
+        byte[] commitMetadata;
+        try (TrinoInputStream inputStream = fileSystem.newInputFile(timeline.appendPath(LATEST_COMMIT)).newStream()) {
+            commitMetadata = inputStream.readAllBytes();
+        }
+        fileSystem.newOutputFile(timeline.appendPath("20250430000000000_" + NEW_COMPLETION_TIME + ".deltacommit")).createOrOverwrite(commitMetadata);
+    }
+}
@@ -0,0 +1,304 @@
+/*
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.trino.plugin.hudi.query.index;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.trino.metastore.HiveType;
+import io.trino.plugin.hive.HiveColumnHandle;
+import io.trino.plugin.hudi.HudiSplit;
+import io.trino.plugin.hudi.file.HudiBaseFile;
+import io.trino.plugin.hudi.file.HudiLogFile;
+import io.trino.spi.SplitWeight;
+import io.trino.spi.connector.ConnectorSplit;
+import io.trino.spi.connector.SchemaTableName;
+import io.trino.spi.predicate.Domain;
+import io.trino.spi.predicate.TupleDomain;
+import org.apache.hudi.common.bloom.BloomFilter;
+import org.apache.hudi.common.bloom.BloomFilterFactory;
+import org.apache.hudi.common.bloom.BloomFilterTypeCode;
+import org.apache.hudi.common.data.HoodieData;
+import org.apache.hudi.common.data.HoodieListPairData;
+import org.apache.hudi.common.model.HoodieRecordGlobalLocation;
+import org.apache.hudi.common.util.Lazy;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.collection.Pair;
+import org.apache.hudi.exception.HoodieMetadataException;
+import org.apache.hudi.metadata.HoodieTableMetadata;
+import org.apache.hudi.storage.StoragePath;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.google.common.collect.ImmutableList.toImmutableList;
+import static io.airlift.slice.Slices.utf8Slice;
+import static io.trino.plugin.hive.HiveColumnHandle.ColumnType.PARTITION_KEY;
+import static io.trino.plugin.hive.HiveColumnHandle.ColumnType.REGULAR;
+import static io.trino.plugin.hive.HiveColumnHandle.createBaseColumn;
+import static io.trino.plugin.hudi.query.index.HudiDynamicFilterFilePruner.MAX_RECORD_KEYS;
+import static io.trino.spi.type.VarcharType.VARCHAR;
+import static org.apache.hudi.metadata.HoodieTableMetadataUtil.PARTITION_NAME_BLOOM_FILTERS;
+import static org.apache.hudi.metadata.HoodieTableMetadataUtil.PARTITION_NAME_RECORD_INDEX;
+import static org.assertj.core.api.Assertions.assertThat;
+
+final class TestHudiDynamicFilterFilePruner
+{
+    private static final SchemaTableName TABLE_NAME = new SchemaTableName("test_schema", "test_table");
+    private static final StoragePath BASE_PATH = new StoragePath("memory:///test_table");
+    private static final HiveColumnHandle KEY_COLUMN = createBaseColumn("key", 0, HiveType.HIVE_STRING, VARCHAR, REGULAR, Optional.empty());
+    private static final HiveColumnHandle ID_COLUMN = createBaseColumn("id", 1, HiveType.HIVE_STRING, VARCHAR, REGULAR, Optional.empty());
+    private static final HiveColumnHandle PARTITION_COLUMN = createBaseColumn("dt", -1, HiveType.HIVE_STRING, VARCHAR, PARTITION_KEY, Optional.empty());
+    private static final Set<String> ALL_INDEXES = ImmutableSet.of(PARTITION_NAME_RECORD_INDEX, PARTITION_NAME_BLOOM_FILTERS);
+
+    @Test
+    void testRecordIndexPrunesFileGroups()
+    {
+        TestingTableMetadata tableMetadata = new TestingTableMetadata();
+        tableMetadata.recordIndex.put("k1", new HoodieRecordGlobalLocation("p1", "001", "fg1"));
+        tableMetadata.recordIndex.put("k2", new HoodieRecordGlobalLocation("p1", "001", "fg3"));
+
+        // the record level index is preferred over the bloom filters
+        HudiDynamicFilterFilePruner pruner = createPruner(ALL_INDEXES, tableMetadata, keyPredicate("k1", "k2", "k3")).orElseThrow();
+        assertThat(tableMetadata.recordIndexLookups).isEqualTo(1);
+
+        List<ConnectorSplit> splits = ImmutableList.of(
+                baseFileSplit("fg1"),
+                baseFileSplit("fg2"),
+                // the record level index covers the log files too
+                logFileSplit("fg3"),
+                logFileSplit("fg4"));
+        assertThat(fileIds(pruner.prune(splits))).containsExactly("fg1", "fg3");
+        assertThat(tableMetadata.bloomFilterLookups).isEqualTo(0);
+
+        // the index is looked up once per pruner, not per batch
+        assertThat(fileIds(pruner.prune(ImmutableList.of(baseFileSplit("fg2"), baseFileSplit("fg3"))))).containsExactly("fg3");
+        assertThat(tableMetadata.recordIndexLookups).isEqualTo(1);
+    }
+
+    @Test
+    void testBloomFiltersWithoutRecordIndex()
+    {
+        TestingTableMetadata tableMetadata = new TestingTableMetadata();
+        tableMetadata.bloomFilters.put(Pair.of("p1", baseFileName("fg1")), bloomFilter("k1"));
+        tableMetadata.bloomFilters.put(Pair.of("p1", baseFileName("fg2")), bloomFilter("k9"));
+        tableMetadata.bloomFilters.put(Pair.of("p1", baseFileName("fg3")), bloomFilter("k9"));
+
+        HudiDynamicFilterFilePruner pruner = createPruner(ImmutableSet.of(PARTITION_NAME_BLOOM_FILTERS), tableMetadata, keyPredicate("k1", "k2")).orElseThrow();
+        List<ConnectorSplit> splits = ImmutableList.of(
+                baseFileSplit("fg1"),
+                baseFileSplit("fg2"),
+                // the bloom filters only cover the base files, the splits with log files are kept
+                baseFileWithLogFilesSplit("fg3"),
+                logFileSplit("fg4"),
+                // the file might contain any key if its bloom filter is missing
+                baseFileSplit("fg5"));
+        assertThat(fileIds(pruner.prune(splits))).containsExactly("fg1", "fg3", "fg4", "fg5");
+        assertThat(tableMetadata.recordIndexLookups).isEqualTo(0);
+        // the bloom filters of the batch are read with a single lookup
+        assertThat(tableMetadata.bloomFilterLookups).isEqualTo(1);
+    }
+
+    @Test
+    void testMaxRecordKeys()
+    {
+        TestingTableMetadata tableMetadata = new TestingTableMetadata();
+        tableMetadata.recordIndex.put("k0", new HoodieRecordGlobalLocation("p1", "001", "fg1"));
+
+        assertThat(createPruner(ALL_INDEXES, tableMetadata, keyPredicate(keys(MAX_RECORD_KEYS)))).isPresent();
+        assertThat(createPruner(ALL_INDEXES, tableMetadata, keyPredicate(keys(MAX_RECORD_KEYS + 1)))).isEmpty();
+        assertThat(tableMetadata.recordIndexLookups).isEqualTo(1);
+
+        // the number of the keys of a composite record key is the product of the values of its fields
+        TupleDomain<HiveColumnHandle> compositeKeyPredicate = TupleDomain.withColumnDomains(ImmutableMap.of(
+                KEY_COLUMN, values(keys(101)),
+                ID_COLUMN, values(keys(100))));
+        assertThat(HudiDynamicFilterFilePruner.create(
+                TABLE_NAME, BASE_PATH, ALL_INDEXES, Option.of(new String[] {"key", "id"}), Lazy.eagerly(tableMetadata.proxy()), compositeKeyPredicate))
+                .isEmpty();
+        assertThat(tableMetadata.recordIndexLookups).isEqualTo(1);
+    }
+
+    @Test
+    void testRecordIndexLookupFailure()
+    {
+        TestingTableMetadata tableMetadata = new TestingTableMetadata();
+        tableMetadata.failing = true;
+
+        // nothing is pruned, the dynamic filter is still applied to the rows
+        assertThat(createPruner(ALL_INDEXES, tableMetadata, keyPredicate("k1"))).isEmpty();
+        assertThat(tableMetadata.recordIndexLookups).isEqualTo(1);
+    }
+
+    @Test
+    void testBloomFilterLookupFailure()
+    {
+        TestingTableMetadata tableMetadata = new TestingTableMetadata();
+        tableMetadata.failing = true;
+
+        HudiDynamicFilterFilePruner pruner = createPruner(ImmutableSet.of(PARTITION_NAME_BLOOM_FILTERS), tableMetadata, keyPredicate("k1")).orElseThrow();
+        List<ConnectorSplit> splits = ImmutableList.of(baseFileSplit("fg1"), baseFileSplit("fg2"));
+        assertThat(pruner.prune(splits)).isEqualTo(splits);
+        assertThat(tableMetadata.bloomFilterLookups).isEqualTo(1);
+    }
+
+    @Test
+    void testNotApplicable()
+    {
+        TestingTableMetadata tableMetadata = new TestingTableMetadata();
+        // no index to look up
+        assertThat(createPruner(ImmutableSet.of(), tableMetadata, keyPredicate("k1"))).isEmpty();
+        // no record key in the dynamic filter
+        assertThat(createPruner(ALL_INDEXES, tableMetadata, TupleDomain.withColumnDomains(ImmutableMap.of(PARTITION_COLUMN, values("p1"))))).isEmpty();
+        // not all the fields of the record key in the dynamic filter
+        assertThat(HudiDynamicFilterFilePruner.create(
+                TABLE_NAME, BASE_PATH, ALL_INDEXES, Option.of(new String[] {"key", "id"}), Lazy.eagerly(tableMetadata.proxy()), keyPredicate("k1")))
+                .isEmpty();
+        // the record keys are not found in the record level index
+        assertThat(createPruner(ALL_INDEXES, tableMetadata, keyPredicate("k1"))).isEmpty();
+        assertThat(tableMetadata.recordIndexLookups).isEqualTo(1);
+    }
+
+    private static Optional<HudiDynamicFilterFilePruner> createPruner(Set<String> metadataPartitions, TestingTableMetadata tableMetadata, TupleDomain<HiveColumnHandle> predicate)
+    {
+        return HudiDynamicFilterFilePruner.create(TABLE_NAME, BASE_PATH, metadataPartitions, Option.of(new String[] {"key"}), Lazy.eagerly(tableMetadata.proxy()), predicate);
+    }
+
+    private static TupleDomain<HiveColumnHandle> keyPredicate(String... keys)
+    {
+        return TupleDomain.withColumnDomains(ImmutableMap.of(KEY_COLUMN, values(keys)));
+    }
+
+    private static Domain values(String... values)
+    {
+        if (values.length == 1) {
+            return Domain.singleValue(VARCHAR, utf8Slice(values[0]));
+        }
+        return Domain.multipleValues(VARCHAR, Stream.of(values).map(value -> (Object) utf8Slice(value)).collect(toImmutableList()));
+    }
+
+    private static String[] keys(int count)
+    {
+        return IntStream.range(0, count).mapToObj(i -> "k" + i).toArray(String[]::new);
+    }
+
+    private static BloomFilter bloomFilter(String... keys)
+    {
+        BloomFilter bloomFilter = BloomFilterFactory.createBloomFilter(100, 0.000001, -1, BloomFilterTypeCode.SIMPLE.name());
+        for (String key : keys) {
+            bloomFilter.add(key);
+        }
+        return bloomFilter;
+    }
+
+    private static String baseFileName(String fileId)
+    {
+        return fileId + "_1-0-1_001.parquet";
+    }
+
+    private static HudiBaseFile baseFile(String fileId)
+    {
+        String fileName = baseFileName(fileId);
+        return new HudiBaseFile(BASE_PATH + "/p1/" + fileName, fileName, 1024, 0, 0, 1024);
+    }
+
+    private static HudiLogFile logFile(String fileId)
+    {
+        String fileName = "." + fileId + "_001.log.1_1-0-1";
+        return new HudiLogFile(BASE_PATH + "/p1/" + fileName, fileName, 1024, 0, 0, 1024);
+    }
+
+    private static ConnectorSplit baseFileSplit(String fileId)
+    {
+        return new HudiSplit(baseFile(fileId), ImmutableList.of(), "001", TupleDomain.all(), ImmutableList.of(), SplitWeight.standard());
+    }
+
+    private static ConnectorSplit baseFileWithLogFilesSplit(String fileId)
+    {
+        return new HudiSplit(baseFile(fileId), ImmutableList.of(logFile(fileId)), "001", TupleDomain.all(), ImmutableList.of(), SplitWeight.standard());
+    }
+
+    private static ConnectorSplit logFileSplit(String fileId)
+    {
+        return new HudiSplit(null, ImmutableList.of(logFile(fileId)), "001", TupleDomain.all(), ImmutableList.of(), SplitWeight.standard());
+    }
+
+    private static List<String> fileIds(List<ConnectorSplit> splits)
+    {
+        return splits.stream()
+                .map(HudiSplit.class::cast)
+                .map(split -> split.getBaseFile().map(HudiBaseFile::getFileName).orElseGet(() -> split.getLogFiles().getFirst().getFileName()))
+                .map(fileName -> fileName.startsWith(".") ? fileName.substring(1) : fileName)
+                .map(fileName -> fileName.substring(0, fileName.indexOf('_')))
+                .collect(toImmutableList());
+    }
+
+    /**
+     * Table metadata serving the record level index and the bloom filters from memory.
+     */
+    private static final class TestingTableMetadata
+            implements InvocationHandler
+    {
+        private final Map<String, HoodieRecordGlobalLocation> recordIndex = new HashMap<>();
+        private final Map<Pair<String, String>, BloomFilter> bloomFilters = new HashMap<>();
+        private boolean failing;
+        private int recordIndexLookups;
+        private int bloomFilterLookups;
+
+        HoodieTableMetadata proxy()
+        {
+            return (HoodieTableMetadata) Proxy.newProxyInstance(HoodieTableMetadata.class.getClassLoader(), new Class<?>[] {HoodieTableMetadata.class}, this);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Object invoke(Object proxy, Method method, Object[] args)
+        {
+            return switch (method.getName()) {
+                case "readRecordIndexLocationsWithKeys" -> {
+                    recordIndexLookups++;
+                    if (failing) {
+                        throw new HoodieMetadataException("Failed to read the record level index");
+                    }
+                    List<Pair<String, HoodieRecordGlobalLocation>> locations = ((HoodieData<String>) args[0]).collectAsList().stream()
+                            .filter(recordIndex::containsKey)
+                            .map(key -> Pair.of(key, recordIndex.get(key)))
+                            .collect(toImmutableList());
+                    yield HoodieListPairData.eager(locations);
+                }
+                case "getBloomFilters" -> {
+                    bloomFilterLookups++;
+                    if (failing) {
+                        throw new HoodieMetadataException("Failed to read the bloom filters");
+                    }
+                    Map<Pair<String, String>, BloomFilter> result = new HashMap<>();
+                    ((List<Pair<String, String>>) args[0]).stream()
+                            .filter(bloomFilters::containsKey)
+                            .forEach(partitionAndFileName -> result.put(partitionAndFileName, bloomFilters.get(partitionAndFileName)));
+                    yield result;
+                }
+                default -> throw new UnsupportedOperationException(method.getName());
+            };
+        }
+    }
+}
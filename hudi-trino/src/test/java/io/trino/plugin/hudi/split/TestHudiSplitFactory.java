@@ -18,6 +18,7 @@ import io.airlift.units.DataSize;
 import io.trino.plugin.hive.HivePartitionKey;
 import io.trino.plugin.hudi.HudiSplit;
 import io.trino.plugin.hudi.HudiTableHandle;
+import io.trino.spi.SplitWeight;
 import io.trino.spi.predicate.TupleDomain;
 import org.apache.hudi.common.model.FileSlice;
 import org.apache.hudi.common.model.HoodieBaseFile;
@@ -174,6 +175,38 @@ public class TestHudiSplitFactory
                         Pair.of(0L, DataSize.of(65, MEGABYTE))));
     }
 
+    @Test
+    public void testMergeOnReadSplitWeightAccountsForLogMergeCost()
+    {
+        // 32MB base file and 16MB log file, the log bytes count twice and the log file adds 4MB of open cost
+        // - (32 + 2 * 16 + 4) / 128 = 68 / 128
+        HudiSplitWeightProvider weightProvider = new SizeBasedSplitWeightProvider(
+                0.05, DataSize.of(128, MEGABYTE), 2.0, DataSize.of(4, MEGABYTE));
+        List<HudiSplit> splits = new HudiSplitFactory(createTableHandle(), weightProvider, DataSize.of(128, MEGABYTE))
+                .createSplits(PARTITION_KEYS, createFileSlice(DataSize.of(32, MEGABYTE), Option.of(DataSize.of(16, MEGABYTE))), COMMIT_TIME);
+
+        assertThat(splits).hasSize(1);
+        assertThat(splits.getFirst().getSplitWeight()).isEqualTo(SplitWeight.fromProportion(68.0 / 128));
+        // the same bytes read as a plain scan weigh less than the merge
+        assertThat(splits.getFirst().getSplitWeight().getRawValue())
+                .isGreaterThan(weightProvider.calculateSplitWeight(DataSize.of(48, MEGABYTE).toBytes()).getRawValue());
+    }
+
+    @Test
+    public void testMergeOnReadSplitWeightExceedsStandardWeight()
+    {
+        // A merge-on-read slice cannot be split, so a heavy log backlog weighs more than a standard split, up to the bound
+        HudiSplitWeightProvider weightProvider = new SizeBasedSplitWeightProvider(
+                0.05, DataSize.of(128, MEGABYTE), 2.0, DataSize.of(4, MEGABYTE));
+        assertThat(weightProvider.calculateMergeOnReadSplitWeight(DataSize.of(128, MEGABYTE).toBytes(), DataSize.of(64, MEGABYTE).toBytes(), 4))
+                .isEqualTo(SplitWeight.fromProportion((128 + 2 * 64 + 4 * 4) / 128.0));
+        assertThat(weightProvider.calculateMergeOnReadSplitWeight(DataSize.of(128, MEGABYTE).toBytes(), DataSize.of(1024, MEGABYTE).toBytes(), 10))
+                .isEqualTo(SplitWeight.fromProportion(SizeBasedSplitWeightProvider.MAXIMUM_MERGE_ON_READ_WEIGHT));
+        // base file only splits keep the standard weight as the upper bound
+        assertThat(weightProvider.calculateSplitWeight(DataSize.of(1024, MEGABYTE).toBytes()))
+                .isEqualTo(SplitWeight.standard());
+    }
+
     @Test
     public void testCreateHudiSplitsWithZeroSizeFile()
     {
@@ -0,0 +1,168 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.utilities;
+
+import org.apache.hudi.SparkAdapterSupport$;
+import org.apache.hudi.client.common.HoodieSparkEngineContext;
+import org.apache.hudi.common.config.HoodieMetadataConfig;
+import org.apache.hudi.common.config.TypedProperties;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.config.HoodieWriteConfig;
+import org.apache.hudi.exception.HoodieException;
+import org.apache.hudi.hadoop.fs.HadoopFSUtils;
+import org.apache.hudi.metadata.HoodieTableMetadataWriter;
+import org.apache.hudi.metadata.SparkMetadataWriterFactory;
+
+import com.beust.jcommander.JCommander;
+import com.beust.jcommander.Parameter;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.hadoop.fs.Path;
+import org.apache.spark.api.java.JavaSparkContext;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Utility class to run the table services of the metadata table, i.e. compaction, log compaction, clean and archive,
+ * out of band of the data table writers.
+ *
+ * <p>The writers of the data table must be configured with {@code hoodie.metadata.table.services.async.enable=true}
+ * so they only append the delta commits to the metadata table, and share the lock provider with this job.
+ *
+ * <p>Example command:
+ * <pre>
+ * spark-submit \
+ * --class org.apache.hudi.utilities.HoodieMetadataTableServiceJob \
+ * packaging/hudi-utilities-bundle/target/hudi-utilities-bundle_2.12-1.3.0-SNAPSHOT.jar \
+ * --base-path basePath \
+ * --continuous \
+ * --min-sync-interval-seconds 60 \
+ * --props /path/to/writer.properties
+ * </pre>
+ */
+@Slf4j
+public class HoodieMetadataTableServiceJob {
+
+  private final Config cfg;
+  private final TypedProperties props;
+  private final JavaSparkContext jsc;
+  private final HoodieTableMetaClient metaClient;
+
+  public HoodieMetadataTableServiceJob(JavaSparkContext jsc, Config cfg) {
+    this(jsc, cfg, UtilHelpers.buildProperties(jsc.hadoopConfiguration(), cfg.propsFilePath, cfg.configs),
+        UtilHelpers.createMetaClient(jsc, cfg.basePath, true));
+  }
+
+  public HoodieMetadataTableServiceJob(JavaSparkContext jsc, Config cfg, TypedProperties props, HoodieTableMetaClient metaClient) {
+    this.cfg = cfg;
+    this.jsc = jsc;
+    this.props = props;
+    this.metaClient = metaClient;
+    log.info("Creating metadata table service job with configs : {}", props.toString());
+    this.props.put(HoodieMetadataConfig.TABLE_SERVICES_ASYNC_ENABLE.key(), true);
+    // add default lock config options, the table services are coordinated with the writers by the lock
+    UtilHelpers.addLockOptions(cfg.basePath, this.metaClient.getBasePath().toUri().getScheme(), this.props);
+  }
+
+  public void run() {
+    if (!metaClient.getTableConfig().isMetadataTableAvailable()) {
+      log.info("Metadata table is not available for {}, skipping the table services", cfg.basePath);
+      return;
+    }
+    HoodieWriteConfig writeConfig = HoodieWriteConfig.newBuilder().withPath(cfg.basePath).withProps(props).build();
+    HoodieSparkEngineContext engineContext = new HoodieSparkEngineContext(jsc);
+    do {
+      long start = System.currentTimeMillis();
+      metaClient.reloadTableConfig();
+      try (HoodieTableMetadataWriter<?, ?> metadataWriter = SparkMetadataWriterFactory.create(
+          HadoopFSUtils.getStorageConfWithCopy(jsc.hadoopConfiguration()), writeConfig, engineContext, metaClient.getTableConfig())) {
+        metadataWriter.performTableServicesOutOfBand();
+      } catch (Exception e) {
+        throw new HoodieException("Failed to run the table services on the metadata table of " + cfg.basePath, e);
+      }
+      long toSleepMs = cfg.minSyncIntervalSeconds * 1000L - (System.currentTimeMillis() - start);
+      if (cfg.continuous && toSleepMs > 0) {
+        log.info("Last table services run took less than min sync interval, sleeping for {} ms", toSleepMs);
+        try {
+          Thread.sleep(toSleepMs);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new HoodieException("Interrupted while running the table services on the metadata table", e);
+        }
+      }
+    } while (cfg.continuous);
+  }
+
+  public static class Config implements Serializable {
+    @Parameter(names = {"--base-path", "-sp"}, description = "Base path for the data table", required = true)
+    public String basePath = null;
+    @Parameter(names = {"--spark-master", "-ms"}, description = "Spark master")
+    public String sparkMaster = null;
+    @Parameter(names = {"--spark-memory", "-sm"}, description = "spark memory to use", required = false)
+    public String sparkMemory = null;
+
+    @Parameter(names = {"--continuous"}, description = "Run the table services in continuous mode, "
+        + "once every --min-sync-interval-seconds at most.")
+    public Boolean continuous = false;
+
+    @Parameter(names = {"--min-sync-interval-seconds"}, description = "The min interval of each run of the table services "
+        + "in continuous mode.")
+    public Integer minSyncIntervalSeconds = 60;
+
+    @Parameter(names = {"--enable-hive-support", "-ehs"}, description = "Enables hive support during spark context initialization.", required = false)
+    public Boolean enableHiveSupport = false;
+
+    @Parameter(names = {"--help", "-h"}, help = true)
+    public Boolean help = false;
+
+    @Parameter(names = {"--props"}, description = "path to properties file on localfs or dfs, with configurations for "
+        + "hoodie client, the same as the writers of the data table")
+    public String propsFilePath = null;
+
+    @Parameter(names = {"--hoodie-conf"}, description = "Any configuration that can be set in the properties file "
+        + "(using the CLI parameter \"--props\") can also be passed command line using this parameter. This can be repeated",
+        splitter = IdentitySplitter.class)
+    public List<String> configs = new ArrayList<>();
+  }
+
+  public static void main(String[] args) {
+    final HoodieMetadataTableServiceJob.Config cfg = new HoodieMetadataTableServiceJob.Config();
+    JCommander cmd = new JCommander(cfg, null, args);
+    if (cfg.help || args.length == 0) {
+      cmd.usage();
+      throw new HoodieException("Failed to run the metadata table services for " + cfg.basePath);
+    }
+
+    String dirName = new Path(cfg.basePath).getName();
+    JavaSparkContext jssc = UtilHelpers.buildSparkContext("hoodie-metadata-table-service-job-" + dirName, cfg.sparkMaster, cfg.enableHiveSupport);
+
+    int exitCode = 0;
+    try {
+      new HoodieMetadataTableServiceJob(jssc, cfg).run();
+    } catch (Throwable throwable) {
+      exitCode = 1;
+      throw new HoodieException("Failed to run the metadata table services for " + cfg.basePath, throwable);
+    } finally {
+      SparkAdapterSupport$.MODULE$.sparkAdapter().stopSparkContext(jssc, exitCode);
+    }
+
+    log.info("Hoodie metadata table service job ran successfully");
+  }
+}